@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.internal.json.Json;
+import com.hazelcast.internal.json.JsonObject;
+import com.hazelcast.internal.json.JsonValue;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares the scores of a benchmark run against the scores of a baseline
+ * run. Both runs are read from the JSON result files JMH writes.
+ * <p>
+ * A score counts as a regression when it is worse than the baseline score
+ * by more than the threshold and the difference is also larger than the
+ * combined score errors of the two runs, so noisy benchmarks don't fail the
+ * comparison. Whether a higher or a lower score is worse depends on the mode
+ * of the benchmark.
+ */
+public final class BaselineComparison {
+
+    private static final double PERCENT = 100;
+
+    private final List<Difference> differences;
+
+    private BaselineComparison(List<Difference> differences) {
+        this.differences = differences;
+    }
+
+    /**
+     * Compares the results of a run against the baseline. Benchmarks which
+     * are only present in the baseline are ignored.
+     *
+     * @param baseline         the JMH JSON result of the baseline run
+     * @param current          the JMH JSON result of the compared run
+     * @param thresholdPercent the allowed slowdown in percent
+     * @return the comparison
+     * @throws IOException if any of the results can't be read
+     */
+    public static BaselineComparison compare(Reader baseline, Reader current, double thresholdPercent) throws IOException {
+        Map<String, Score> baselineScores = parse(baseline);
+        Map<String, Score> currentScores = parse(current);
+
+        List<Difference> differences = new ArrayList<Difference>(currentScores.size());
+        for (Map.Entry<String, Score> entry : currentScores.entrySet()) {
+            differences.add(new Difference(entry.getKey(), baselineScores.get(entry.getKey()), entry.getValue(),
+                    thresholdPercent));
+        }
+        return new BaselineComparison(differences);
+    }
+
+    public List<Difference> getDifferences() {
+        return Collections.unmodifiableList(differences);
+    }
+
+    public boolean hasRegressions() {
+        for (Difference difference : differences) {
+            if (difference.isRegression()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return a human readable table of the differences
+     */
+    public String report() {
+        StringBuilder sb = new StringBuilder();
+        for (Difference difference : differences) {
+            sb.append(difference).append('\n');
+        }
+        return sb.toString();
+    }
+
+    static Map<String, Score> parse(Reader reader) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<String, Score>();
+        for (JsonValue value : Json.parse(reader).asArray()) {
+            JsonObject result = value.asObject();
+            JsonObject primaryMetric = result.get("primaryMetric").asObject();
+            String mode = result.get("mode").asString();
+            Score score = new Score(mode, toDouble(primaryMetric.get("score")), toDouble(primaryMetric.get("scoreError")),
+                    primaryMetric.get("scoreUnit").asString());
+            scores.put(key(result, mode), score);
+        }
+        return scores;
+    }
+
+    private static String key(JsonObject result, String mode) {
+        StringBuilder key = new StringBuilder(result.get("benchmark").asString()).append(" (").append(mode);
+        JsonValue params = result.get("params");
+        if (params != null) {
+            // sorted, so the keys don't depend on the order of the params in the file
+            Map<String, String> sortedParams = new TreeMap<String, String>();
+            for (JsonObject.Member param : params.asObject()) {
+                sortedParams.put(param.getName(), param.getValue().asString());
+            }
+            for (Map.Entry<String, String> param : sortedParams.entrySet()) {
+                key.append(", ").append(param.getKey()).append('=').append(param.getValue());
+            }
+        }
+        return key.append(')').toString();
+    }
+
+    private static double toDouble(JsonValue value) {
+        // JMH writes NaN, e.g. the error of a single iteration, as a string
+        return value != null && value.isNumber() ? value.asDouble() : Double.NaN;
+    }
+
+    static final class Score {
+
+        final String mode;
+        final double score;
+        final double error;
+        final String unit;
+
+        Score(String mode, double score, double error, String unit) {
+            this.mode = mode;
+            this.score = score;
+            this.error = Double.isNaN(error) ? 0 : error;
+            this.unit = unit;
+        }
+
+        boolean higherIsBetter() {
+            return "thrpt".equals(mode);
+        }
+    }
+
+    /**
+     * The difference between the baseline score and the current score of a
+     * single benchmark with a single set of params.
+     */
+    public static final class Difference {
+
+        private final String benchmark;
+        private final Score baseline;
+        private final Score current;
+        private final double changePercent;
+        private final boolean regression;
+
+        Difference(String benchmark, Score baseline, Score current, double thresholdPercent) {
+            this.benchmark = benchmark;
+            this.baseline = baseline;
+            this.current = current;
+            if (baseline == null || baseline.score == 0) {
+                this.changePercent = Double.NaN;
+                this.regression = false;
+            } else {
+                this.changePercent = (current.score - baseline.score) * PERCENT / baseline.score;
+                double slowdownPercent = current.higherIsBetter() ? -changePercent : changePercent;
+                double difference = Math.abs(current.score - baseline.score);
+                this.regression = slowdownPercent > thresholdPercent && difference > baseline.error + current.error;
+            }
+        }
+
+        public String getBenchmark() {
+            return benchmark;
+        }
+
+        /**
+         * @return the change of the score relative to the baseline in
+         * percent, or {@code NaN} if the benchmark isn't in the baseline
+         */
+        public double getChangePercent() {
+            return changePercent;
+        }
+
+        public boolean isRegression() {
+            return regression;
+        }
+
+        @Override
+        public String toString() {
+            if (baseline == null) {
+                return String.format("%-100s %14.3f %-8s (new)", benchmark, current.score, current.unit);
+            }
+            return String.format("%-100s %14.3f -> %14.3f %-8s %+8.2f%%%s", benchmark, baseline.score, current.score,
+                    current.unit, changePercent, regression ? " REGRESSION" : "");
+        }
+    }
+}
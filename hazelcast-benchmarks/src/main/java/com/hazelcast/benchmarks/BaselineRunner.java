@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The main class of the benchmarks jar. Runs the benchmarks and optionally
+ * compares the results against the results of an earlier run, e.g. of the
+ * last release, to catch regressions before they get shipped.
+ * <pre>
+ * java -jar benchmarks.jar [-baseline &lt;file&gt;] [-threshold &lt;percent&gt;] [JMH options] [regexp*]
+ * java -jar benchmarks.jar -compare &lt;baseline file&gt; &lt;result file&gt; [-threshold &lt;percent&gt;]
+ * </pre>
+ * All the standard JMH options are supported. The results are always
+ * written as JSON, to the file given by {@code -rff} or by default to
+ * {@value #DEFAULT_RESULT_FILE}, so they can serve as the baseline of a later
+ * run. The process exits with a non-zero status if any benchmark regressed
+ * by more than the threshold, {@value #DEFAULT_THRESHOLD_PERCENT}% by default.
+ */
+public final class BaselineRunner {
+
+    static final String DEFAULT_RESULT_FILE = "benchmark-result.json";
+    static final double DEFAULT_THRESHOLD_PERCENT = 10;
+
+    private static final int EXIT_REGRESSION = 1;
+    private static final int EXIT_USAGE = 2;
+
+    private BaselineRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baselineFile = null;
+        String compareFile = null;
+        double thresholdPercent = DEFAULT_THRESHOLD_PERCENT;
+        List<String> jmhArgs = new ArrayList<String>();
+        for (int i = 0; i < args.length; i++) {
+            if ("-baseline".equals(args[i]) && i + 1 < args.length) {
+                baselineFile = args[++i];
+            } else if ("-compare".equals(args[i]) && i + 2 < args.length) {
+                baselineFile = args[++i];
+                compareFile = args[++i];
+            } else if ("-threshold".equals(args[i]) && i + 1 < args.length) {
+                thresholdPercent = Double.parseDouble(args[++i]);
+            } else {
+                jmhArgs.add(args[i]);
+            }
+        }
+
+        if (compareFile == null) {
+            compareFile = runBenchmarks(jmhArgs.toArray(new String[0]));
+            if (compareFile == null) {
+                System.exit(EXIT_USAGE);
+            }
+        }
+
+        if (baselineFile != null) {
+            BaselineComparison comparison = compare(baselineFile, compareFile, thresholdPercent);
+            System.out.println("Comparison against " + baselineFile + ", threshold " + thresholdPercent + "%:");
+            System.out.print(comparison.report());
+            if (comparison.hasRegressions()) {
+                System.exit(EXIT_REGRESSION);
+            }
+        }
+    }
+
+    /**
+     * @return the file the results were written to or {@code null} if only
+     * the usage was requested
+     */
+    private static String runBenchmarks(String[] jmhArgs) throws Exception {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(jmhArgs);
+        if (commandLineOptions.shouldHelp()) {
+            System.out.println("Usage: [-baseline <file>] [-threshold <percent>] [JMH options] [regexp*]");
+            System.out.println("       -compare <baseline file> <result file> [-threshold <percent>]");
+            commandLineOptions.showHelp();
+            return null;
+        }
+
+        String resultFile = commandLineOptions.getResult().orElse(DEFAULT_RESULT_FILE);
+        Options options = new OptionsBuilder()
+                .parent(commandLineOptions)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile)
+                .build();
+        new Runner(options).run();
+        return resultFile;
+    }
+
+    private static BaselineComparison compare(String baselineFile, String resultFile, double thresholdPercent)
+            throws IOException {
+        try (Reader baseline = new InputStreamReader(new FileInputStream(baselineFile), UTF_8);
+             Reader result = new InputStreamReader(new FileInputStream(resultFile), UTF_8)) {
+            return BaselineComparison.compare(baseline, result, thresholdPercent);
+        }
+    }
+}
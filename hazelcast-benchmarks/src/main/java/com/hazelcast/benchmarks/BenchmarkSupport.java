@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.instance.impl.HazelcastInstanceProxy;
+import com.hazelcast.instance.impl.Node;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+
+/**
+ * Utilities for the benchmarks which need a running member.
+ */
+public final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Starts a member which doesn't try to join other members, so
+     * benchmarks running on the same network don't cluster up.
+     *
+     * @param config the config of the member
+     * @return the started member
+     */
+    public static HazelcastInstance newStandaloneInstance(Config config) {
+        config.setProperty("hazelcast.phone.home.enabled", "false");
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getNetworkConfig().getJoin().getTcpIpConfig().setEnabled(false);
+        return Hazelcast.newHazelcastInstance(config);
+    }
+
+    public static Node getNode(HazelcastInstance instance) {
+        return ((HazelcastInstanceProxy) instance).getOriginal().node;
+    }
+
+    public static MapServiceContext getMapServiceContext(HazelcastInstance instance) {
+        MapService mapService = getNode(instance).getNodeEngine().getService(MapService.SERVICE_NAME);
+        return mapService.getMapServiceContext();
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cardinality.impl.hyperloglog.impl;
+
+import com.hazelcast.cardinality.impl.hyperloglog.HyperLogLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.util.HashUtil.MurmurHash3_fmix;
+
+/**
+ * Measures {@link HyperLogLog#add(long)} and {@link HyperLogLog#estimate()}
+ * for an estimator in the sparse and in the dense representation.
+ * <p>
+ * The estimate is cached until the next add which changes a register, so
+ * the estimate benchmark adds a new hash before each estimate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HyperLogLogBenchmark {
+
+    // a sparse estimator is converted to the dense one once it holds this many hashes
+    @Param({"100", "1000000"})
+    private int prefilledHashes;
+
+    private HyperLogLog hyperLogLog;
+    private long counter;
+
+    @Setup
+    public void setup() {
+        hyperLogLog = new HyperLogLogImpl();
+        for (int i = 0; i < prefilledHashes; i++) {
+            hyperLogLog.add(nextHash());
+        }
+    }
+
+    @Benchmark
+    public void add() {
+        hyperLogLog.add(nextHash());
+    }
+
+    @Benchmark
+    public long addAndEstimate() {
+        hyperLogLog.add(nextHash());
+        return hyperLogLog.estimate();
+    }
+
+    private long nextHash() {
+        return MurmurHash3_fmix(counter++);
+    }
+}
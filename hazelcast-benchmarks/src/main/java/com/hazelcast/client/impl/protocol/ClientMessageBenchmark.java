@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol;
+
+import com.hazelcast.client.impl.protocol.codec.MapPutCodec;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the encoding of a {@code map.put} request into its wire format
+ * and the decoding of the wire format back into the request parameters,
+ * which is the work done per request by the client and the member.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ClientMessageBenchmark {
+
+    private static final int BUFFER_SIZE = 65536;
+
+    @Param({"16", "1024"})
+    private int valueSize;
+
+    private final ClientMessageWriter writer = new ClientMessageWriter();
+    private final ClientMessageReader reader = new ClientMessageReader();
+
+    private Data key;
+    private Data value;
+    private ByteBuffer encodeBuffer;
+    private ByteBuffer decodeBuffer;
+
+    @Setup
+    public void setup() {
+        InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+        key = serializationService.toData("key");
+        value = serializationService.toData(new byte[valueSize]);
+
+        encodeBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+        decodeBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+        writer.writeTo(decodeBuffer, newRequest());
+        decodeBuffer.flip();
+    }
+
+    @Benchmark
+    public ByteBuffer encode() {
+        encodeBuffer.clear();
+        writer.writeTo(encodeBuffer, newRequest());
+        return encodeBuffer;
+    }
+
+    @Benchmark
+    public MapPutCodec.RequestParameters decode() {
+        decodeBuffer.rewind();
+        reader.readFrom(decodeBuffer);
+        ClientMessage clientMessage = ClientMessage.createForDecode(reader.getFrames());
+        reader.reset();
+        return MapPutCodec.decodeRequest(clientMessage);
+    }
+
+    private ClientMessage newRequest() {
+        return MapPutCodec.encodeRequest("map", key, value, 1, -1);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cp.internal.raft.impl.log;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link RaftLog#appendEntries(LogEntry...)} for single entries and
+ * batches of entries, the way a follower appends the entries of an append
+ * request. Whenever the log is full, a snapshot is taken to make room, as
+ * the Raft node does once the commit index reaches the snapshot threshold,
+ * so the cost of the truncation is amortized into the appends.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RaftLogBenchmark {
+
+    private static final int TERM = 1;
+    private static final int LOG_CAPACITY = 10000;
+
+    @Param({"1", "32"})
+    private int batchSize;
+
+    private final Object operation = new Object();
+    private RaftLog raftLog;
+
+    @Setup
+    public void setup() {
+        raftLog = new RaftLog(LOG_CAPACITY);
+    }
+
+    @Benchmark
+    public RaftLog append() {
+        if (!raftLog.checkAvailableCapacity(batchSize)) {
+            long lastIndex = raftLog.lastLogOrSnapshotIndex();
+            raftLog.setSnapshot(new SnapshotEntry(TERM, lastIndex, null, 0, Collections.emptySet()));
+        }
+
+        long index = raftLog.lastLogOrSnapshotIndex();
+        LogEntry[] entries = new LogEntry[batchSize];
+        for (int i = 0; i < batchSize; i++) {
+            entries[i] = new LogEntry(TERM, ++index, operation);
+        }
+        raftLog.appendEntries(entries);
+        return raftLog;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.nearcache.NearCache;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.spi.properties.HazelcastProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link NearCache#get(Object)} hits for both in-memory formats.
+ * <p>
+ * The benchmark is multi-threaded, since a Near Cache is read by all the
+ * user threads concurrently, and every read updates the access statistics
+ * of the record it hits.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class NearCacheGetBenchmark {
+
+    private static final int KEY_COUNT = 10000;
+
+    @Param({"BINARY", "OBJECT"})
+    private InMemoryFormat inMemoryFormat;
+
+    private NearCache<Integer, Object> nearCache;
+
+    @Setup
+    public void setup() {
+        InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+        NearCacheConfig nearCacheConfig = new NearCacheConfig("nearCache")
+                .setInMemoryFormat(inMemoryFormat);
+        nearCacheConfig.getEvictionConfig().setSize(KEY_COUNT);
+
+        // no expiration is configured, so no task scheduler is needed
+        nearCache = new DefaultNearCache<Integer, Object>(nearCacheConfig.getName(), nearCacheConfig,
+                serializationService, null, null, new HazelcastProperties(new Config()));
+        nearCache.initialize();
+
+        for (int i = 0; i < KEY_COUNT; i++) {
+            String value = "value-" + i;
+            nearCache.put(i, null, value, serializationService.toData(value));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        nearCache.destroy();
+    }
+
+    @Benchmark
+    public Object get(ThreadState state) {
+        return nearCache.get(state.nextKey());
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+
+        private int key;
+
+        int nextKey() {
+            key = key + 1 == KEY_COUNT ? 0 : key + 1;
+            return key;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the hashing of {@link HeapData}: the 32-bit hash used by the
+ * partitioning and the hash based collections, and the 64-bit hash used by
+ * e.g. the cardinality estimator, for a range of payload sizes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HeapDataHashBenchmark {
+
+    @Param({"8", "64", "1024"})
+    private int payloadSize;
+
+    private HeapData data;
+
+    @Setup
+    public void setup() {
+        byte[] payload = new byte[payloadSize];
+        new Random(0).nextBytes(payload);
+
+        InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+        data = (HeapData) serializationService.toData(payload);
+    }
+
+    @Benchmark
+    public int hashCode32() {
+        return data.hashCode();
+    }
+
+    @Benchmark
+    public long hash64() {
+        return data.hash64();
+    }
+
+    @Benchmark
+    public int partitionHash() {
+        return data.getPartitionHash();
+    }
+}
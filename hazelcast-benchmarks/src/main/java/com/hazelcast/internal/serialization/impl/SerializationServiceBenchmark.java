@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.nio.serialization.Portable;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.PortableWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link SerializationServiceV1#toData(Object)} and {@link
+ * SerializationServiceV1#toObject(Object)} for each kind of serializer: the
+ * constant serializers for primitives, strings and arrays, and the
+ * DataSerializable, IdentifiedDataSerializable, Portable, Serializable and
+ * Externalizable based serializers for a small object.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SerializationServiceBenchmark {
+
+    private static final int FACTORY_ID = 1;
+    private static final int CLASS_ID = 1;
+    private static final int STRING_LENGTH = 32;
+    private static final int BYTE_ARRAY_LENGTH = 128;
+
+    @Param({"int", "long", "string", "bytes", "DataSerializable", "IdentifiedDataSerializable",
+            "Portable", "Serializable", "Externalizable"})
+    private String type;
+
+    private InternalSerializationService serializationService;
+    private Object object;
+    private Data data;
+
+    @Setup
+    public void setup() {
+        serializationService = new DefaultSerializationServiceBuilder()
+                .addDataSerializableFactory(FACTORY_ID, classId -> new IdentifiedPerson())
+                .addPortableFactory(FACTORY_ID, classId -> new PortablePerson())
+                .build();
+        object = createObject(type);
+        data = serializationService.toData(object);
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializationService.dispose();
+    }
+
+    @Benchmark
+    public Data toData() {
+        return serializationService.toData(object);
+    }
+
+    @Benchmark
+    public Object toObject() {
+        return serializationService.toObject(data);
+    }
+
+    @SuppressWarnings({"checkstyle:cyclomaticcomplexity", "checkstyle:returncount"})
+    private static Object createObject(String type) {
+        switch (type) {
+            case "int":
+                return Integer.MAX_VALUE;
+            case "long":
+                return Long.MAX_VALUE;
+            case "string":
+                return newString();
+            case "bytes":
+                return new byte[BYTE_ARRAY_LENGTH];
+            case "DataSerializable":
+                return new DataSerializablePerson(newString(), Integer.MAX_VALUE);
+            case "IdentifiedDataSerializable":
+                return new IdentifiedPerson(newString(), Integer.MAX_VALUE);
+            case "Portable":
+                return new PortablePerson(newString(), Integer.MAX_VALUE);
+            case "Serializable":
+                return new SerializablePerson(newString(), Integer.MAX_VALUE);
+            case "Externalizable":
+                return new ExternalizablePerson(newString(), Integer.MAX_VALUE);
+            default:
+                throw new IllegalArgumentException("Unknown type: " + type);
+        }
+    }
+
+    private static String newString() {
+        StringBuilder sb = new StringBuilder(STRING_LENGTH);
+        for (int i = 0; i < STRING_LENGTH; i++) {
+            sb.append((char) ('a' + i % ('z' - 'a')));
+        }
+        return sb.toString();
+    }
+
+    public static class DataSerializablePerson implements DataSerializable {
+
+        private String name;
+        private int age;
+
+        public DataSerializablePerson() {
+        }
+
+        DataSerializablePerson(String name, int age) {
+            this.name = name;
+            this.age = age;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeUTF(name);
+            out.writeInt(age);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            name = in.readUTF();
+            age = in.readInt();
+        }
+    }
+
+    public static class IdentifiedPerson extends DataSerializablePerson implements IdentifiedDataSerializable {
+
+        public IdentifiedPerson() {
+        }
+
+        IdentifiedPerson(String name, int age) {
+            super(name, age);
+        }
+
+        @Override
+        public int getFactoryId() {
+            return FACTORY_ID;
+        }
+
+        @Override
+        public int getClassId() {
+            return CLASS_ID;
+        }
+    }
+
+    public static class PortablePerson implements Portable {
+
+        private String name;
+        private int age;
+
+        public PortablePerson() {
+        }
+
+        PortablePerson(String name, int age) {
+            this.name = name;
+            this.age = age;
+        }
+
+        @Override
+        public int getFactoryId() {
+            return FACTORY_ID;
+        }
+
+        @Override
+        public int getClassId() {
+            return CLASS_ID;
+        }
+
+        @Override
+        public void writePortable(PortableWriter writer) throws IOException {
+            writer.writeUTF("name", name);
+            writer.writeInt("age", age);
+        }
+
+        @Override
+        public void readPortable(PortableReader reader) throws IOException {
+            name = reader.readUTF("name");
+            age = reader.readInt("age");
+        }
+    }
+
+    public static class SerializablePerson implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private String name;
+        private int age;
+
+        SerializablePerson(String name, int age) {
+            this.name = name;
+            this.age = age;
+        }
+    }
+
+    public static class ExternalizablePerson implements Externalizable {
+
+        private String name;
+        private int age;
+
+        public ExternalizablePerson() {
+        }
+
+        ExternalizablePerson(String name, int age) {
+            this.name = name;
+            this.age = age;
+        }
+
+        @Override
+        public void writeExternal(ObjectOutput out) throws IOException {
+            out.writeUTF(name);
+            out.writeInt(age);
+        }
+
+        @Override
+        public void readExternal(ObjectInput in) throws IOException {
+            name = in.readUTF();
+            age = in.readInt();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.nio.serialization.Data;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.benchmarks.BenchmarkSupport.getMapServiceContext;
+import static com.hazelcast.benchmarks.BenchmarkSupport.getNode;
+import static com.hazelcast.benchmarks.BenchmarkSupport.newStandaloneInstance;
+
+/**
+ * Measures {@link DefaultRecordStore} get and put, i.e. the work a map
+ * operation does on the partition thread once it got there, without the
+ * invocation and the operation scheduling around it.
+ * <p>
+ * The benchmark thread accesses the record store of a single partition
+ * directly; nothing else touches that partition while the benchmark runs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DefaultRecordStoreBenchmark {
+
+    private static final String MAP_NAME = "map";
+    private static final int KEY_COUNT = 10000;
+    // use the TTL and max-idle of the map config
+    private static final long UNSET = -1;
+
+    @Param({"BINARY", "OBJECT"})
+    private InMemoryFormat inMemoryFormat;
+
+    private RecordStore recordStore;
+    private Data[] keys;
+    private Data value;
+    private int index;
+
+    @Setup
+    public void setup() {
+        Config config = new Config();
+        config.getMapConfig(MAP_NAME).setInMemoryFormat(inMemoryFormat);
+        HazelcastInstance instance = newStandaloneInstance(config);
+
+        InternalSerializationService serializationService = getNode(instance).getSerializationService();
+        recordStore = getMapServiceContext(instance).getRecordStore(0, MAP_NAME);
+        keys = new Data[KEY_COUNT];
+        value = serializationService.toData("value");
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys[i] = serializationService.toData(i);
+            recordStore.put(keys[i], value, UNSET, UNSET);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        Hazelcast.shutdownAll();
+    }
+
+    @Benchmark
+    public Object get() {
+        return recordStore.get(nextKey(), false, null);
+    }
+
+    @Benchmark
+    public Object put() {
+        return recordStore.put(nextKey(), value, UNSET, UNSET);
+    }
+
+    private Data nextKey() {
+        Data key = keys[index];
+        index = index + 1 == KEY_COUNT ? 0 : index + 1;
+        return key;
+    }
+}
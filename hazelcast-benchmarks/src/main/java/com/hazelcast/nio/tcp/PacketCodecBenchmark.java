@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.tcp;
+
+import com.hazelcast.internal.util.counters.SwCounter;
+import com.hazelcast.nio.Packet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Measures the {@link PacketEncoder} and {@link PacketDecoder} handlers,
+ * i.e. the member to member framing, for a batch of packets written to and
+ * read from a single buffer, the way the pipelines drive them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PacketCodecBenchmark {
+
+    private static final int PACKETS_PER_BATCH = 16;
+    private static final int MAX_HEADER_SIZE = 32;
+
+    @Param({"64", "1024"})
+    private int payloadSize;
+
+    private PacketEncoder encoder;
+    private PacketSource source;
+    private ByteBuffer encoderDst;
+
+    private PacketDecoder decoder;
+    private BlackholeConsumer consumer;
+    private ByteBuffer decoderSrc;
+    private byte[] encodedBatch;
+
+    @Setup
+    public void setup() {
+        Packet packet = new Packet(new byte[payloadSize]);
+        int bufferSize = PACKETS_PER_BATCH * (payloadSize + MAX_HEADER_SIZE);
+
+        source = new PacketSource(packet);
+        encoderDst = ByteBuffer.allocate(bufferSize);
+        encoderDst.flip();
+        encoder = new PacketEncoder();
+        encoder.src(source);
+        encoder.dst(encoderDst);
+
+        encoder.onWrite();
+        encodedBatch = new byte[encoderDst.remaining()];
+        encoderDst.get(encodedBatch);
+
+        consumer = new BlackholeConsumer();
+        decoderSrc = ByteBuffer.allocate(bufferSize);
+        decoder = new PacketDecoder(null, consumer);
+        decoder.setNormalPacketsRead(SwCounter.newSwCounter());
+        decoder.setPriorityPacketsRead(SwCounter.newSwCounter());
+        decoder.src(decoderSrc);
+    }
+
+    @Benchmark
+    public ByteBuffer encode() {
+        // the encoder compacts the buffer itself, so all the previous content has to be consumed
+        encoderDst.position(encoderDst.limit());
+        source.remaining = PACKETS_PER_BATCH;
+        encoder.onWrite();
+        return encoderDst;
+    }
+
+    @Benchmark
+    public void decode(Blackhole blackhole) throws Exception {
+        consumer.blackhole = blackhole;
+        decoderSrc.put(encodedBatch);
+        decoder.onRead();
+    }
+
+    static final class PacketSource implements Supplier<Packet> {
+
+        private final Packet packet;
+        private int remaining;
+
+        PacketSource(Packet packet) {
+            this.packet = packet;
+            this.remaining = PACKETS_PER_BATCH;
+        }
+
+        @Override
+        public Packet get() {
+            if (remaining == 0) {
+                return null;
+            }
+            remaining--;
+            return packet;
+        }
+    }
+
+    static final class BlackholeConsumer implements Consumer<Packet> {
+
+        private Blackhole blackhole;
+
+        @Override
+        public void accept(Packet packet) {
+            if (blackhole != null) {
+                blackhole.consume(packet);
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.config.MapIndexConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.benchmarks.BenchmarkSupport.getMapServiceContext;
+import static com.hazelcast.benchmarks.BenchmarkSupport.newStandaloneInstance;
+
+/**
+ * Measures point and range lookups on a single index of each type, for a
+ * low and a high cardinality attribute. Unlike a query through the map
+ * proxy, this doesn't include the invocation and the predicate evaluation,
+ * only the index lookup and the iteration over its result.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IndexLookupBenchmark {
+
+    private static final String MAP_NAME = "map";
+    private static final String ATTRIBUTE = "attribute";
+    private static final int ENTRY_COUNT = 100000;
+    private static final int PUT_ALL_BATCH_SIZE = 1000;
+
+    @Param({"HASH", "SORTED", "BITMAP"})
+    private IndexType indexType;
+
+    @Param({"10", "10000"})
+    private int distinctValues;
+
+    private InternalIndex index;
+    private int value;
+
+    @Setup
+    public void setup() {
+        Config config = new Config();
+        config.getMapConfig(MAP_NAME).addMapIndexConfig(new MapIndexConfig(ATTRIBUTE, indexType));
+        HazelcastInstance instance = newStandaloneInstance(config);
+
+        IMap<Integer, Value> map = instance.getMap(MAP_NAME);
+        Map<Integer, Value> batch = new HashMap<Integer, Value>();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            batch.put(i, new Value(i % distinctValues));
+            if (batch.size() == PUT_ALL_BATCH_SIZE) {
+                map.putAll(batch);
+                batch.clear();
+            }
+        }
+        map.putAll(batch);
+
+        index = getMapServiceContext(instance).getMapContainer(MAP_NAME).getIndexes().getIndex(ATTRIBUTE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        Hazelcast.shutdownAll();
+    }
+
+    @Benchmark
+    public int pointLookup() {
+        return index.getRecords(nextValue()).size();
+    }
+
+    @Benchmark
+    public int rangeLookup() {
+        return index.getRecords(Comparison.LESS, 1).size();
+    }
+
+    private int nextValue() {
+        value = value + 1 == distinctValues ? 0 : value + 1;
+        return value;
+    }
+
+    public static class Value implements DataSerializable {
+
+        private int attribute;
+
+        public Value() {
+        }
+
+        Value(int attribute) {
+            this.attribute = attribute;
+        }
+
+        public int getAttribute() {
+            return attribute;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeInt(attribute);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            attribute = in.readInt();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class BaselineComparisonTest {
+
+    @Test
+    public void whenAverageTimeIncreasedBeyondThreshold_thenRegression() throws IOException {
+        BaselineComparison comparison = compare(result("avgt", 100, 1), result("avgt", 120, 1));
+
+        assertTrue(comparison.hasRegressions());
+        assertEquals(20, comparison.getDifferences().get(0).getChangePercent(), 0.001);
+    }
+
+    @Test
+    public void whenAverageTimeDecreased_thenNoRegression() throws IOException {
+        BaselineComparison comparison = compare(result("avgt", 100, 1), result("avgt", 50, 1));
+
+        assertFalse(comparison.hasRegressions());
+    }
+
+    @Test
+    public void whenThroughputDecreasedBeyondThreshold_thenRegression() throws IOException {
+        BaselineComparison comparison = compare(result("thrpt", 100, 1), result("thrpt", 80, 1));
+
+        assertTrue(comparison.hasRegressions());
+    }
+
+    @Test
+    public void whenThroughputIncreased_thenNoRegression() throws IOException {
+        BaselineComparison comparison = compare(result("thrpt", 100, 1), result("thrpt", 200, 1));
+
+        assertFalse(comparison.hasRegressions());
+    }
+
+    @Test
+    public void whenChangeWithinThreshold_thenNoRegression() throws IOException {
+        BaselineComparison comparison = compare(result("avgt", 100, 1), result("avgt", 105, 1));
+
+        assertFalse(comparison.hasRegressions());
+    }
+
+    @Test
+    public void whenChangeWithinError_thenNoRegression() throws IOException {
+        BaselineComparison comparison = compare(result("avgt", 100, 15), result("avgt", 120, 15));
+
+        assertFalse(comparison.hasRegressions());
+    }
+
+    @Test
+    public void whenErrorIsNaN_thenTreatedAsZero() throws IOException {
+        String baseline = "[" + entry("avgt", "{\"type\":\"int\"}", "100", "\"NaN\"") + "]";
+        String current = "[" + entry("avgt", "{\"type\":\"int\"}", "120", "\"NaN\"") + "]";
+
+        assertTrue(compare(baseline, current).hasRegressions());
+    }
+
+    @Test
+    public void whenNewBenchmark_thenNoRegression() throws IOException {
+        String current = "[" + entry("avgt", "{\"type\":\"int\"}", "100", "1") + "]";
+
+        BaselineComparison comparison = compare("[]", current);
+
+        assertFalse(comparison.hasRegressions());
+        assertTrue(Double.isNaN(comparison.getDifferences().get(0).getChangePercent()));
+    }
+
+    @Test
+    public void whenParamsDiffer_thenComparedSeparately() throws IOException {
+        String baseline = "[" + entry("avgt", "{\"type\":\"int\"}", "100", "1") + ","
+                + entry("avgt", "{\"type\":\"long\"}", "100", "1") + "]";
+        String current = "[" + entry("avgt", "{\"type\":\"int\"}", "100", "1") + ","
+                + entry("avgt", "{\"type\":\"long\"}", "200", "1") + "]";
+
+        BaselineComparison comparison = compare(baseline, current);
+
+        assertEquals(2, comparison.getDifferences().size());
+        assertFalse(comparison.getDifferences().get(0).isRegression());
+        assertTrue(comparison.getDifferences().get(1).isRegression());
+    }
+
+    private static BaselineComparison compare(String baseline, String current) throws IOException {
+        return BaselineComparison.compare(new StringReader(baseline), new StringReader(current),
+                BaselineRunner.DEFAULT_THRESHOLD_PERCENT);
+    }
+
+    private static String result(String mode, double score, double error) {
+        return "[" + entry(mode, null, String.valueOf(score), String.valueOf(error)) + "]";
+    }
+
+    private static String entry(String mode, String params, String score, String error) {
+        return "{\"benchmark\":\"com.hazelcast.FooBenchmark.foo\",\"mode\":\"" + mode + "\","
+                + (params == null ? "" : "\"params\":" + params + ",")
+                + "\"primaryMetric\":{\"score\":" + score + ",\"scoreError\":" + error + ",\"scoreUnit\":\"ns/op\"}}";
+    }
+}
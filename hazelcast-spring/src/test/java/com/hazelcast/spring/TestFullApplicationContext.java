@@ -1434,6 +1434,9 @@ public class TestFullApplicationContext extends HazelcastTestSupport {
         assertEquals(250, raftAlgorithmConfig.getCommitIndexAdvanceCountToSnapshot());
         assertEquals(75, raftAlgorithmConfig.getUncommittedEntryCountToRejectNewAppends());
         assertEquals(50, raftAlgorithmConfig.getAppendRequestBackoffTimeoutInMillis());
+        assertEquals(4, raftAlgorithmConfig.getAppendRequestMaxInFlightCount());
+        assertEquals(250, raftAlgorithmConfig.getLeaderLeaseTimeoutInMillis());
+        assertEquals(40, raftAlgorithmConfig.getLeaderLeaseSafetyMarginInMillis());
         CPSemaphoreConfig cpSemaphoreConfig1 = cpSubsystemConfig.findSemaphoreConfig("sem1");
         CPSemaphoreConfig cpSemaphoreConfig2 = cpSubsystemConfig.findSemaphoreConfig("sem2");
         assertNotNull(cpSemaphoreConfig1);
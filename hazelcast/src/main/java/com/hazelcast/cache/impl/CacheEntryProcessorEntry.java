@@ -18,6 +18,7 @@ package com.hazelcast.cache.impl;
 
 import com.hazelcast.cache.impl.record.CacheRecord;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.impl.operationexecutor.impl.PartitionLoopThread;
 import com.hazelcast.spi.impl.operationexecutor.impl.PartitionOperationThread;
 
 import javax.cache.configuration.Factory;
@@ -144,7 +145,8 @@ public class CacheEntryProcessorEntry<K, V, R extends CacheRecord>
     }
 
     public R getRecord() {
-        assert (Thread.currentThread() instanceof PartitionOperationThread);
+        assert (Thread.currentThread() instanceof PartitionOperationThread
+                || Thread.currentThread() instanceof PartitionLoopThread);
         return record;
     }
 
@@ -54,6 +54,7 @@ import com.hazelcast.client.impl.spi.impl.ClientClusterServiceImpl;
 import com.hazelcast.client.impl.spi.impl.ClientExecutionServiceImpl;
 import com.hazelcast.client.impl.spi.impl.ClientInvocation;
 import com.hazelcast.client.impl.spi.impl.ClientPartitionServiceImpl;
+import com.hazelcast.client.impl.spi.impl.ClientSchemaService;
 import com.hazelcast.client.impl.spi.impl.ClientTransactionManagerServiceImpl;
 import com.hazelcast.client.impl.spi.impl.ClientUserCodeDeploymentService;
 import com.hazelcast.client.impl.spi.impl.NonSmartClientInvocationService;
@@ -204,6 +205,7 @@ public class HazelcastClientInstanceImpl implements HazelcastInstance, Serializa
     private final ClientLockReferenceIdGenerator lockReferenceIdGenerator;
     private final ClientExceptionFactory clientExceptionFactory;
     private final ClientUserCodeDeploymentService userCodeDeploymentService;
+    private final ClientSchemaService schemaService;
     private final ClientDiscoveryService clientDiscoveryService;
     private final ClientProxySessionManager proxySessionManager;
     private final CPSubsystemImpl cpSubsystem;
@@ -250,6 +252,8 @@ public class HazelcastClientInstanceImpl implements HazelcastInstance, Serializa
         clusterConnectorService = initClusterConnectorService();
         clusterService = new ClientClusterServiceImpl(this);
         invocationService = initInvocationService();
+        schemaService = new ClientSchemaService(this);
+        serializationService.getCompactStreamSerializer().setSchemaService(schemaService);
         listenerService = initListenerService();
         userContext = new ConcurrentHashMap<String, Object>();
         userContext.putAll(config.getUserContext());
@@ -458,6 +462,7 @@ public class HazelcastClientInstanceImpl implements HazelcastInstance, Serializa
         partitionService.listenPartitionTable(ownerConnection);
         clusterService.listenMembershipEvents(ownerConnection);
         userCodeDeploymentService.deploy(this, ownerConnection);
+        schemaService.sendAll(ownerConnection);
         proxyManager.createDistributedObjectsOnCluster(ownerConnection);
     }
 
@@ -748,6 +753,10 @@ public class HazelcastClientInstanceImpl implements HazelcastInstance, Serializa
         return userCodeDeploymentService;
     }
 
+    public ClientSchemaService getSchemaService() {
+        return schemaService;
+    }
+
     public ClientProxySessionManager getProxySessionManager() {
         return proxySessionManager;
     }
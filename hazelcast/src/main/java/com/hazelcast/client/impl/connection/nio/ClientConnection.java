@@ -38,6 +38,7 @@ import java.net.InetSocketAddress;
 import java.nio.channels.CancelledKeyException;
 import java.security.cert.Certificate;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
@@ -64,6 +65,8 @@ public class ClientConnection implements Connection {
     private volatile boolean isAuthenticatedAsOwner;
     @Probe(level = ProbeLevel.DEBUG)
     private final AtomicLong closedTime = new AtomicLong();
+    @Probe
+    private final AtomicInteger pendingInvocations = new AtomicInteger();
 
     private volatile Throwable closeCause;
     private volatile String closeReason;
@@ -109,6 +112,28 @@ public class ClientConnection implements Connection {
         return remoteEndpoint;
     }
 
+    /**
+     * Returns the number of invocations that hold a flow control credit of
+     * this connection.
+     */
+    public int getPendingInvocations() {
+        return pendingInvocations.get();
+    }
+
+    /**
+     * Takes a flow control credit for an invocation sent over this connection.
+     */
+    public void acquireInvocationCredit() {
+        pendingInvocations.incrementAndGet();
+    }
+
+    /**
+     * Returns a flow control credit taken with {@link #acquireInvocationCredit()}.
+     */
+    public void releaseInvocationCredit() {
+        pendingInvocations.decrementAndGet();
+    }
+
     @Override
     public boolean isAlive() {
         return closedTime.get() == 0;
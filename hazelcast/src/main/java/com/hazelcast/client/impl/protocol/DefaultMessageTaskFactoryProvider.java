@@ -1780,6 +1780,16 @@ public class DefaultMessageTaskFactoryProvider implements MessageTaskFactoryProv
                 return new IsFailoverSupportedMessageTask(clientMessage, node, connection);
             }
         });
+        factories.put(com.hazelcast.client.impl.protocol.codec.ClientSendSchemaCodec.REQUEST_MESSAGE_TYPE, new MessageTaskFactory() {
+            public MessageTask create(ClientMessage clientMessage, Connection connection) {
+                return new com.hazelcast.client.impl.protocol.task.SendSchemaMessageTask(clientMessage, node, connection);
+            }
+        });
+        factories.put(com.hazelcast.client.impl.protocol.codec.ClientFetchSchemaCodec.REQUEST_MESSAGE_TYPE, new MessageTaskFactory() {
+            public MessageTask create(ClientMessage clientMessage, Connection connection) {
+                return new com.hazelcast.client.impl.protocol.task.FetchSchemaMessageTask(clientMessage, node, connection);
+            }
+        });
 //endregion
 //region ----------  REGISTRATION FOR com.hazelcast.client.impl.protocol.task.queue
         factories.put(com.hazelcast.client.impl.protocol.codec.QueueCompareAndRemoveAllCodec.REQUEST_MESSAGE_TYPE, new MessageTaskFactory() {
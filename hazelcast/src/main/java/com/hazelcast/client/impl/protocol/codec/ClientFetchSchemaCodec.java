@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.codec;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.builtin.*;
+
+import java.util.ListIterator;
+
+import static com.hazelcast.client.impl.protocol.ClientMessage.*;
+import static com.hazelcast.client.impl.protocol.codec.builtin.FixedSizeTypesCodec.*;
+
+/**
+ * Fetches the schema of a compact serialized class with the given id from the cluster.
+ */
+public final class ClientFetchSchemaCodec {
+    //hex: 0x001600
+    public static final int REQUEST_MESSAGE_TYPE = 5632;
+    //hex: 0x001601
+    public static final int RESPONSE_MESSAGE_TYPE = 5633;
+    private static final int REQUEST_SCHEMA_ID_FIELD_OFFSET = PARTITION_ID_FIELD_OFFSET + INT_SIZE_IN_BYTES;
+    private static final int REQUEST_INITIAL_FRAME_SIZE = REQUEST_SCHEMA_ID_FIELD_OFFSET + LONG_SIZE_IN_BYTES;
+    private static final int RESPONSE_INITIAL_FRAME_SIZE = CORRELATION_ID_FIELD_OFFSET + LONG_SIZE_IN_BYTES;
+
+    private ClientFetchSchemaCodec() {
+    }
+
+    @edu.umd.cs.findbugs.annotations.SuppressFBWarnings({"URF_UNREAD_PUBLIC_OR_PROTECTED_FIELD"})
+    public static class RequestParameters {
+
+        /**
+         * id of the schema
+         */
+        public long schemaId;
+    }
+
+    public static ClientMessage encodeRequest(long schemaId) {
+        ClientMessage clientMessage = ClientMessage.createForEncode();
+        clientMessage.setRetryable(true);
+        clientMessage.setAcquiresResource(false);
+        clientMessage.setOperationName("Client.FetchSchema");
+        ClientMessage.Frame initialFrame = new ClientMessage.Frame(new byte[REQUEST_INITIAL_FRAME_SIZE], UNFRAGMENTED_MESSAGE);
+        encodeInt(initialFrame.content, TYPE_FIELD_OFFSET, REQUEST_MESSAGE_TYPE);
+        encodeLong(initialFrame.content, REQUEST_SCHEMA_ID_FIELD_OFFSET, schemaId);
+        clientMessage.add(initialFrame);
+        return clientMessage;
+    }
+
+    public static ClientFetchSchemaCodec.RequestParameters decodeRequest(ClientMessage clientMessage) {
+        ListIterator<ClientMessage.Frame> iterator = clientMessage.listIterator();
+        RequestParameters request = new RequestParameters();
+        ClientMessage.Frame initialFrame = iterator.next();
+        request.schemaId = decodeLong(initialFrame.content, REQUEST_SCHEMA_ID_FIELD_OFFSET);
+        return request;
+    }
+
+    @edu.umd.cs.findbugs.annotations.SuppressFBWarnings({"URF_UNREAD_PUBLIC_OR_PROTECTED_FIELD"})
+    public static class ResponseParameters {
+
+        /**
+         * the serialized schema or null if it is not known by the cluster
+         */
+        public com.hazelcast.nio.serialization.Data response;
+    }
+
+    public static ClientMessage encodeResponse(com.hazelcast.nio.serialization.Data response) {
+        ClientMessage clientMessage = ClientMessage.createForEncode();
+        ClientMessage.Frame initialFrame = new ClientMessage.Frame(new byte[RESPONSE_INITIAL_FRAME_SIZE], UNFRAGMENTED_MESSAGE);
+        encodeInt(initialFrame.content, TYPE_FIELD_OFFSET, RESPONSE_MESSAGE_TYPE);
+        clientMessage.add(initialFrame);
+
+        CodecUtil.encodeNullable(clientMessage, response, DataCodec::encode);
+        return clientMessage;
+    }
+
+    public static ClientFetchSchemaCodec.ResponseParameters decodeResponse(ClientMessage clientMessage) {
+        ListIterator<ClientMessage.Frame> iterator = clientMessage.listIterator();
+        ResponseParameters response = new ResponseParameters();
+        //empty initial frame
+        iterator.next();
+        response.response = CodecUtil.decodeNullable(iterator, DataCodec::decode);
+        return response;
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.codec;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.builtin.*;
+
+import java.util.ListIterator;
+
+import static com.hazelcast.client.impl.protocol.ClientMessage.*;
+import static com.hazelcast.client.impl.protocol.codec.builtin.FixedSizeTypesCodec.*;
+
+/**
+ * Sends the schema of a compact serialized class to the cluster. The response is
+ * sent after the schema is replicated to all members.
+ */
+public final class ClientSendSchemaCodec {
+    //hex: 0x001500
+    public static final int REQUEST_MESSAGE_TYPE = 5376;
+    //hex: 0x001501
+    public static final int RESPONSE_MESSAGE_TYPE = 5377;
+    private static final int REQUEST_INITIAL_FRAME_SIZE = PARTITION_ID_FIELD_OFFSET + INT_SIZE_IN_BYTES;
+    private static final int RESPONSE_INITIAL_FRAME_SIZE = CORRELATION_ID_FIELD_OFFSET + LONG_SIZE_IN_BYTES;
+
+    private ClientSendSchemaCodec() {
+    }
+
+    @edu.umd.cs.findbugs.annotations.SuppressFBWarnings({"URF_UNREAD_PUBLIC_OR_PROTECTED_FIELD"})
+    public static class RequestParameters {
+
+        /**
+         * the serialized schema
+         */
+        public com.hazelcast.nio.serialization.Data schema;
+    }
+
+    public static ClientMessage encodeRequest(com.hazelcast.nio.serialization.Data schema) {
+        ClientMessage clientMessage = ClientMessage.createForEncode();
+        clientMessage.setRetryable(true);
+        clientMessage.setAcquiresResource(false);
+        clientMessage.setOperationName("Client.SendSchema");
+        ClientMessage.Frame initialFrame = new ClientMessage.Frame(new byte[REQUEST_INITIAL_FRAME_SIZE], UNFRAGMENTED_MESSAGE);
+        encodeInt(initialFrame.content, TYPE_FIELD_OFFSET, REQUEST_MESSAGE_TYPE);
+        clientMessage.add(initialFrame);
+        DataCodec.encode(clientMessage, schema);
+        return clientMessage;
+    }
+
+    public static ClientSendSchemaCodec.RequestParameters decodeRequest(ClientMessage clientMessage) {
+        ListIterator<ClientMessage.Frame> iterator = clientMessage.listIterator();
+        RequestParameters request = new RequestParameters();
+        //empty initial frame
+        iterator.next();
+        request.schema = DataCodec.decode(iterator);
+        return request;
+    }
+
+    @edu.umd.cs.findbugs.annotations.SuppressFBWarnings({"URF_UNREAD_PUBLIC_OR_PROTECTED_FIELD"})
+    public static class ResponseParameters {
+    }
+
+    public static ClientMessage encodeResponse() {
+        ClientMessage clientMessage = ClientMessage.createForEncode();
+        ClientMessage.Frame initialFrame = new ClientMessage.Frame(new byte[RESPONSE_INITIAL_FRAME_SIZE], UNFRAGMENTED_MESSAGE);
+        encodeInt(initialFrame.content, TYPE_FIELD_OFFSET, RESPONSE_MESSAGE_TYPE);
+        clientMessage.add(initialFrame);
+
+        return clientMessage;
+    }
+
+    public static ClientSendSchemaCodec.ResponseParameters decodeResponse(ClientMessage clientMessage) {
+        ListIterator<ClientMessage.Frame> iterator = clientMessage.listIterator();
+        ResponseParameters response = new ResponseParameters();
+        //empty initial frame
+        iterator.next();
+        return response;
+    }
+
+}
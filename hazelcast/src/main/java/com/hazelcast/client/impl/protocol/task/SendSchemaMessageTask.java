@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.task;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.ClientSendSchemaCodec;
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.instance.impl.Node;
+import com.hazelcast.internal.serialization.impl.compact.MemberSchemaService;
+import com.hazelcast.internal.serialization.impl.compact.Schema;
+import com.hazelcast.nio.Connection;
+
+import java.security.Permission;
+
+public class SendSchemaMessageTask
+        extends AbstractMessageTask<ClientSendSchemaCodec.RequestParameters> implements ExecutionCallback<Object> {
+
+    public SendSchemaMessageTask(ClientMessage clientMessage, Node node, Connection connection) {
+        super(clientMessage, node, connection);
+    }
+
+    @Override
+    protected ClientSendSchemaCodec.RequestParameters decodeClientMessage(ClientMessage clientMessage) {
+        return ClientSendSchemaCodec.decodeRequest(clientMessage);
+    }
+
+    @Override
+    protected ClientMessage encodeResponse(Object response) {
+        return ClientSendSchemaCodec.encodeResponse();
+    }
+
+    @Override
+    protected void processMessage() {
+        Schema schema = serializationService.toObject(parameters.schema);
+        MemberSchemaService schemaService = getService(MemberSchemaService.SERVICE_NAME);
+        // the client sends binaries using the schema only after the whole cluster knows it
+        schemaService.putAsync(schema).andThen(this);
+    }
+
+    @Override
+    public void onResponse(Object response) {
+        sendResponse(null);
+    }
+
+    @Override
+    public void onFailure(Throwable t) {
+        handleProcessingFailure(t);
+    }
+
+    @Override
+    public String getServiceName() {
+        return MemberSchemaService.SERVICE_NAME;
+    }
+
+    @Override
+    public Permission getRequiredPermission() {
+        return null;
+    }
+
+    @Override
+    public String getDistributedObjectName() {
+        return null;
+    }
+
+    @Override
+    public String getMethodName() {
+        return null;
+    }
+
+    @Override
+    public Object[] getParameters() {
+        return null;
+    }
+
+}
@@ -19,6 +19,7 @@ package com.hazelcast.client.impl.protocol.task.map;
 import com.hazelcast.client.impl.protocol.ClientMessage;
 import com.hazelcast.client.impl.protocol.codec.MapAddIndexCodec;
 import com.hazelcast.client.impl.protocol.task.AbstractAllPartitionsMessageTask;
+import com.hazelcast.config.IndexType;
 import com.hazelcast.instance.impl.Node;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.map.impl.operation.AddIndexOperationFactory;
@@ -39,7 +40,8 @@ public class MapAddIndexMessageTask
 
     @Override
     protected OperationFactory createOperationFactory() {
-        return new AddIndexOperationFactory(parameters.name, parameters.attribute, parameters.ordered);
+        IndexType type = parameters.ordered ? IndexType.SORTED : IndexType.HASH;
+        return new AddIndexOperationFactory(parameters.name, parameters.attribute, type);
     }
 
     @Override
@@ -111,6 +111,7 @@ import com.hazelcast.core.ReadOnly;
 import com.hazelcast.internal.journal.EventJournalInitialSubscriberState;
 import com.hazelcast.internal.journal.EventJournalReader;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DataSlab;
 import com.hazelcast.internal.util.SimpleCompletedFuture;
 import com.hazelcast.internal.util.collection.ImmutableInflatableSet;
 import com.hazelcast.map.EntryProcessor;
@@ -138,6 +139,7 @@ import com.hazelcast.query.Predicate;
 import com.hazelcast.ringbuffer.ReadResultSet;
 import com.hazelcast.ringbuffer.impl.client.PortableReadResultSet;
 import com.hazelcast.spi.impl.UnmodifiableLazyList;
+import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.util.CollectionUtil;
 import com.hazelcast.util.IterationType;
@@ -156,6 +158,8 @@ import java.util.Set;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
+import static com.hazelcast.client.properties.ClientProperty.MAP_REQUEST_COALESCING_MAX_BATCH_SIZE;
+import static com.hazelcast.client.properties.ClientProperty.MAP_REQUEST_COALESCING_WINDOW_MICROS;
 import static com.hazelcast.config.MapIndexConfig.validateIndexAttribute;
 import static com.hazelcast.map.impl.ListenerAdapters.createListenerAdapter;
 import static com.hazelcast.map.impl.MapListenerFlagOperator.setAndGetListenerFlags;
@@ -199,6 +203,8 @@ public class ClientMapProxy<K, V> extends ClientProxy
 
     private ClientLockReferenceIdGenerator lockReferenceIdGenerator;
     private ClientQueryCacheContext queryCacheContext;
+    // null when request coalescing is disabled
+    private ClientMapRequestCoalescer requestCoalescer;
 
     public ClientMapProxy(String serviceName, String name, ClientContext context) {
         super(serviceName, name, context);
@@ -210,6 +216,13 @@ public class ClientMapProxy<K, V> extends ClientProxy
 
         lockReferenceIdGenerator = getClient().getLockReferenceIdGenerator();
         queryCacheContext = getContext().getQueryCacheContext();
+
+        HazelcastProperties properties = getClient().getProperties();
+        long coalescingWindowMicros = properties.getLong(MAP_REQUEST_COALESCING_WINDOW_MICROS);
+        if (coalescingWindowMicros > 0) {
+            requestCoalescer = new ClientMapRequestCoalescer(name, getClient(), coalescingWindowMicros,
+                    properties.getInteger(MAP_REQUEST_COALESCING_MAX_BATCH_SIZE));
+        }
     }
 
     @Override
@@ -220,9 +233,18 @@ public class ClientMapProxy<K, V> extends ClientProxy
     }
 
     protected boolean containsKeyInternal(Object key) {
-        Data keyData = toData(key);
-        ClientMessage message = MapContainsKeyCodec.encodeRequest(name, keyData, getThreadId());
-        ClientMessage result = invoke(message, keyData);
+        InternalSerializationService ss = getContext().getSerializationService();
+        ClientMessage message;
+        int partitionId;
+        DataSlab slab = ss.takeDataSlab();
+        try {
+            Data keyData = ss.toData(key, slab);
+            message = MapContainsKeyCodec.encodeRequest(name, keyData, getThreadId());
+            partitionId = getContext().getPartitionService().getPartitionId(keyData);
+        } finally {
+            ss.returnDataSlab(slab);
+        }
+        ClientMessage result = invokeOnPartition(message, partitionId);
         MapContainsKeyCodec.ResponseParameters resultParameters = MapContainsKeyCodec.decodeResponse(result);
         return resultParameters.response;
     }
@@ -246,9 +268,25 @@ public class ClientMapProxy<K, V> extends ClientProxy
     }
 
     protected Object getInternal(Object key) {
-        Data keyData = toData(key);
-        ClientMessage request = MapGetCodec.encodeRequest(name, keyData, getThreadId());
-        ClientMessage response = invoke(request, keyData);
+        if (requestCoalescer != null) {
+            // the coalescer keeps the key until the shared invocation completes
+            Data keyData = toData(key);
+            int partitionId = getContext().getPartitionService().getPartitionId(keyData);
+            return await(requestCoalescer.get(keyData, partitionId));
+        }
+
+        InternalSerializationService ss = getContext().getSerializationService();
+        ClientMessage request;
+        int partitionId;
+        DataSlab slab = ss.takeDataSlab();
+        try {
+            Data keyData = ss.toData(key, slab);
+            request = MapGetCodec.encodeRequest(name, keyData, getThreadId());
+            partitionId = getContext().getPartitionService().getPartitionId(keyData);
+        } finally {
+            ss.returnDataSlab(slab);
+        }
+        ClientMessage response = invokeOnPartition(request, partitionId);
         MapGetCodec.ResponseParameters resultParameters = MapGetCodec.decodeResponse(response);
         return resultParameters.response;
     }
@@ -282,9 +320,18 @@ public class ClientMapProxy<K, V> extends ClientProxy
     }
 
     protected MapRemoveCodec.ResponseParameters removeInternal(Object key) {
-        Data keyData = toData(key);
-        ClientMessage request = MapRemoveCodec.encodeRequest(name, keyData, getThreadId());
-        ClientMessage response = invoke(request, keyData);
+        InternalSerializationService ss = getContext().getSerializationService();
+        ClientMessage request;
+        int partitionId;
+        DataSlab slab = ss.takeDataSlab();
+        try {
+            Data keyData = ss.toData(key, slab);
+            request = MapRemoveCodec.encodeRequest(name, keyData, getThreadId());
+            partitionId = getContext().getPartitionService().getPartitionId(keyData);
+        } finally {
+            ss.returnDataSlab(slab);
+        }
+        ClientMessage response = invokeOnPartition(request, partitionId);
         return MapRemoveCodec.decodeResponse(response);
     }
 
@@ -326,9 +373,18 @@ public class ClientMapProxy<K, V> extends ClientProxy
     }
 
     protected void deleteInternal(Object key) {
-        Data keyData = toData(key);
-        ClientMessage request = MapDeleteCodec.encodeRequest(name, keyData, getThreadId());
-        invoke(request, keyData);
+        InternalSerializationService ss = getContext().getSerializationService();
+        ClientMessage request;
+        int partitionId;
+        DataSlab slab = ss.takeDataSlab();
+        try {
+            Data keyData = ss.toData(key, slab);
+            request = MapDeleteCodec.encodeRequest(name, keyData, getThreadId());
+            partitionId = getContext().getPartitionService().getPartitionId(keyData);
+        } finally {
+            ss.returnDataSlab(slab);
+        }
+        invokeOnPartition(request, partitionId);
     }
 
     @Override
@@ -355,6 +411,14 @@ public class ClientMapProxy<K, V> extends ClientProxy
         }
     }
 
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            throw rethrow(e);
+        }
+    }
+
     private ClientInvocationFuture invokeOnKeyOwner(ClientMessage request, Data keyData) {
         int partitionId = getContext().getPartitionService().getPartitionId(keyData);
         ClientInvocation clientInvocation = new ClientInvocation(getClient(), request, getName(), partitionId);
@@ -520,17 +584,25 @@ public class ClientMapProxy<K, V> extends ClientProxy
     }
 
     protected V putInternal(long ttl, TimeUnit ttlUnit, Long maxIdle, TimeUnit maxIdleUnit, Object key, Object value) {
-        Data keyData = toData(key);
-        Data valueData = toData(value);
         long ttlMillis = timeInMsOrOneIfResultIsZero(ttl, ttlUnit);
+        InternalSerializationService ss = getContext().getSerializationService();
         ClientMessage request;
-        if (maxIdle != null) {
-            request = MapPutWithMaxIdleCodec.encodeRequest(name, keyData, valueData,
-                    getThreadId(), ttlMillis, timeInMsOrOneIfResultIsZero(maxIdle, maxIdleUnit));
-        } else {
-            request = MapPutCodec.encodeRequest(name, keyData, valueData, getThreadId(), ttlMillis);
+        int partitionId;
+        DataSlab slab = ss.takeDataSlab();
+        try {
+            Data keyData = ss.toData(key, slab);
+            Data valueData = ss.toData(value, slab);
+            if (maxIdle != null) {
+                request = MapPutWithMaxIdleCodec.encodeRequest(name, keyData, valueData,
+                        getThreadId(), ttlMillis, timeInMsOrOneIfResultIsZero(maxIdle, maxIdleUnit));
+            } else {
+                request = MapPutCodec.encodeRequest(name, keyData, valueData, getThreadId(), ttlMillis);
+            }
+            partitionId = getContext().getPartitionService().getPartitionId(keyData);
+        } finally {
+            ss.returnDataSlab(slab);
         }
-        ClientMessage response = invoke(request, keyData);
+        ClientMessage response = invokeOnPartition(request, partitionId);
         MapPutCodec.ResponseParameters putResponse = MapPutCodec.decodeResponse(response);
         return toObject(putResponse.response);
     }
@@ -561,6 +633,13 @@ public class ClientMapProxy<K, V> extends ClientProxy
         Data keyData = toData(key);
         Data valueData = toData(value);
         long ttlMillis = timeInMsOrOneIfResultIsZero(ttl, timeunit);
+        if (requestCoalescer != null && ttlMillis == DEFAULT_TTL && maxIdle == null) {
+            // a set with the default ttl can be expressed as part of a putAll
+            int partitionId = getContext().getPartitionService().getPartitionId(keyData);
+            await(requestCoalescer.set(keyData, valueData, partitionId));
+            return;
+        }
+
         ClientMessage request;
         if (maxIdle != null) {
             request = MapPutTransientWithMaxIdleCodec.encodeRequest(name, keyData, valueData,
@@ -677,17 +756,25 @@ public class ClientMapProxy<K, V> extends ClientProxy
     }
 
     protected void setInternal(long ttl, TimeUnit timeunit, Long maxIdle, TimeUnit maxIdleUnit, Object key, Object value) {
-        Data keyData = toData(key);
-        Data valueData = toData(value);
         long ttlMillis = timeInMsOrOneIfResultIsZero(ttl, timeunit);
+        InternalSerializationService ss = getContext().getSerializationService();
         ClientMessage request;
-        if (maxIdle != null) {
-            request = MapSetWithMaxIdleCodec.encodeRequest(name, keyData, valueData, getThreadId(),
-                    ttlMillis, timeInMsOrOneIfResultIsZero(maxIdle, maxIdleUnit));
-        } else {
-            request = MapSetCodec.encodeRequest(name, keyData, valueData, getThreadId(), ttlMillis);
+        int partitionId;
+        DataSlab slab = ss.takeDataSlab();
+        try {
+            Data keyData = ss.toData(key, slab);
+            Data valueData = ss.toData(value, slab);
+            if (maxIdle != null) {
+                request = MapSetWithMaxIdleCodec.encodeRequest(name, keyData, valueData, getThreadId(),
+                        ttlMillis, timeInMsOrOneIfResultIsZero(maxIdle, maxIdleUnit));
+            } else {
+                request = MapSetCodec.encodeRequest(name, keyData, valueData, getThreadId(), ttlMillis);
+            }
+            partitionId = getContext().getPartitionService().getPartitionId(keyData);
+        } finally {
+            ss.returnDataSlab(slab);
         }
-        invoke(request, keyData);
+        invokeOnPartition(request, partitionId);
     }
 
     @Override
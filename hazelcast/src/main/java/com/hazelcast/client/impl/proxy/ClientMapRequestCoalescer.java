@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.proxy;
+
+import com.hazelcast.client.impl.clientside.HazelcastClientInstanceImpl;
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.MapGetAllCodec;
+import com.hazelcast.client.impl.protocol.codec.MapPutAllCodec;
+import com.hazelcast.client.impl.spi.ClientExecutionService;
+import com.hazelcast.client.impl.spi.impl.ClientInvocation;
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.internal.util.SimpleCompletableFuture;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.impl.InternalCompletableFuture;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.hazelcast.util.Preconditions.checkPositive;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+/**
+ * Coalesces the get and set requests of a single {@link ClientMapProxy} into
+ * {@link MapGetAllCodec getAll} and {@link MapPutAllCodec putAll} requests.
+ *
+ * A batch is created by the first request for a partition and is sent when
+ * the coalescing window expires or when the batch has reached its maximum
+ * size, whichever comes first. The response is demultiplexed into the futures
+ * of the individual requests. Requests are grouped by partition since the
+ * getAll and putAll requests are partition bound.
+ */
+final class ClientMapRequestCoalescer {
+
+    private final String name;
+    private final HazelcastClientInstanceImpl client;
+    private final ClientExecutionService executionService;
+    private final ILogger logger;
+    private final long windowMicros;
+    private final int maxBatchSize;
+    private final ConcurrentMap<Integer, Batch> getBatches = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, Batch> setBatches = new ConcurrentHashMap<>();
+
+    ClientMapRequestCoalescer(String name, HazelcastClientInstanceImpl client, long windowMicros, int maxBatchSize) {
+        this.name = name;
+        this.client = client;
+        this.executionService = client.getClientExecutionService();
+        this.logger = client.getLoggingService().getLogger(ClientMapRequestCoalescer.class);
+        this.windowMicros = checkPositive(windowMicros, "windowMicros should be positive");
+        this.maxBatchSize = checkPositive(maxBatchSize, "maxBatchSize should be positive");
+    }
+
+    /**
+     * Gets the value of the given key.
+     *
+     * @return the future that is completed with the value or null if there
+     * is no value for the key.
+     */
+    InternalCompletableFuture<Data> get(Data key, int partitionId) {
+        return add(getBatches, partitionId, key, null);
+    }
+
+    /**
+     * Sets the value of the given key.
+     *
+     * @return the future that is completed with null once the value is set.
+     */
+    InternalCompletableFuture<Data> set(Data key, Data value, int partitionId) {
+        return add(setBatches, partitionId, key, value);
+    }
+
+    private InternalCompletableFuture<Data> add(ConcurrentMap<Integer, Batch> batches, int partitionId,
+                                                Data key, Data value) {
+        SimpleCompletableFuture<Data> future = new SimpleCompletableFuture<>(executionService.getUserExecutor(), logger);
+        for (; ; ) {
+            Batch batch = batches.get(partitionId);
+            if (batch == null) {
+                Batch newBatch = new Batch(batches, partitionId);
+                batch = batches.putIfAbsent(partitionId, newBatch);
+                if (batch == null) {
+                    batch = newBatch;
+                    schedule(batch);
+                }
+            }
+
+            int size = batch.add(key, value, future);
+            if (size == -1) {
+                // the batch has been sent in the meantime, so we retry with a new batch
+                continue;
+            }
+
+            if (size >= maxBatchSize) {
+                batch.run();
+            }
+            return future;
+        }
+    }
+
+    private void schedule(Batch batch) {
+        try {
+            executionService.schedule(batch, windowMicros, MICROSECONDS);
+        } catch (RejectedExecutionException e) {
+            // the client is shutting down; the batch is sent immediately so
+            // the futures get completed with the appropriate exception
+            batch.run();
+        }
+    }
+
+    /**
+     * The requests for a single partition. Once sent, no more requests can be
+     * added, so the entries and futures can be safely read when processing
+     * the response.
+     */
+    private final class Batch implements Runnable, ExecutionCallback<ClientMessage> {
+
+        private final ConcurrentMap<Integer, Batch> batches;
+        private final int partitionId;
+        private final List<Map.Entry<Data, Data>> entries = new ArrayList<>();
+        private final List<SimpleCompletableFuture<Data>> futures = new ArrayList<>();
+        private boolean sent;
+
+        Batch(ConcurrentMap<Integer, Batch> batches, int partitionId) {
+            this.batches = batches;
+            this.partitionId = partitionId;
+        }
+
+        /**
+         * Adds a request to this batch.
+         *
+         * @return the number of requests in this batch, or -1 if the batch
+         * already has been sent.
+         */
+        synchronized int add(Data key, Data value, SimpleCompletableFuture<Data> future) {
+            if (sent) {
+                return -1;
+            }
+            entries.add(new AbstractMap.SimpleEntry<>(key, value));
+            futures.add(future);
+            return entries.size();
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                if (sent) {
+                    return;
+                }
+                sent = true;
+            }
+            batches.remove(partitionId, this);
+
+            try {
+                ClientMessage request = isSet() ? MapPutAllCodec.encodeRequest(name, entries) : newGetAllRequest();
+                new ClientInvocation(client, request, name, partitionId).invoke().andThen(this);
+            } catch (Throwable t) {
+                onFailure(t);
+            }
+        }
+
+        private boolean isSet() {
+            return batches == setBatches;
+        }
+
+        private ClientMessage newGetAllRequest() {
+            List<Data> keys = new ArrayList<>(entries.size());
+            for (Map.Entry<Data, Data> entry : entries) {
+                keys.add(entry.getKey());
+            }
+            return MapGetAllCodec.encodeRequest(name, keys);
+        }
+
+        @Override
+        public void onResponse(ClientMessage response) {
+            if (isSet()) {
+                for (SimpleCompletableFuture<Data> future : futures) {
+                    future.setResult(null);
+                }
+                return;
+            }
+
+            List<Map.Entry<Data, Data>> found = MapGetAllCodec.decodeResponse(response).response;
+            Map<Data, Data> values = new HashMap<>(found.size() * 2);
+            for (Map.Entry<Data, Data> entry : found) {
+                values.put(entry.getKey(), entry.getValue());
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                futures.get(i).setResult(values.get(entries.get(i).getKey()));
+            }
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            for (SimpleCompletableFuture<Data> future : futures) {
+                future.setResult(t);
+            }
+        }
+    }
+}
@@ -26,6 +26,7 @@ import com.hazelcast.client.impl.spi.ClientInvocationService;
 import com.hazelcast.client.impl.spi.ClientPartitionService;
 import com.hazelcast.client.impl.spi.EventHandler;
 import com.hazelcast.client.impl.spi.impl.listener.AbstractClientListenerService;
+import com.hazelcast.core.HazelcastOverloadException;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.spi.exception.TargetDisconnectedException;
@@ -33,6 +34,8 @@ import com.hazelcast.spi.impl.sequence.CallIdFactory;
 import com.hazelcast.spi.impl.sequence.CallIdSequence;
 import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.spi.properties.HazelcastProperty;
+import com.hazelcast.util.concurrent.BackoffIdleStrategy;
+import com.hazelcast.util.concurrent.IdleStrategy;
 
 import java.io.IOException;
 import java.util.Iterator;
@@ -45,11 +48,17 @@ import static com.hazelcast.client.properties.ClientProperty.BACKPRESSURE_BACKOF
 import static com.hazelcast.client.properties.ClientProperty.INVOCATION_RETRY_PAUSE_MILLIS;
 import static com.hazelcast.client.properties.ClientProperty.INVOCATION_TIMEOUT_SECONDS;
 import static com.hazelcast.client.properties.ClientProperty.MAX_CONCURRENT_INVOCATIONS;
+import static com.hazelcast.client.properties.ClientProperty.MAX_CONCURRENT_INVOCATIONS_PER_CONNECTION;
 import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 public abstract class AbstractClientInvocationService implements ClientInvocationService {
 
+    private static final int MAX_CREDIT_IDLE_MILLIS = 500;
+    private static final IdleStrategy CREDIT_IDLER = new BackoffIdleStrategy(
+            0, 0, MILLISECONDS.toNanos(1), MILLISECONDS.toNanos(MAX_CREDIT_IDLE_MILLIS));
+
     private static final HazelcastProperty CLEAN_RESOURCES_MILLIS
             = new HazelcastProperty("hazelcast.client.internal.clean.resources.millis", 100, MILLISECONDS);
 
@@ -69,6 +78,8 @@ public abstract class AbstractClientInvocationService implements ClientInvocatio
     private final long invocationTimeoutMillis;
     private final long invocationRetryPauseMillis;
     private final CallIdSequence callIdSequence;
+    private final int maxInvocationsPerConnection;
+    private final long backoffTimeoutNanos;
 
     public AbstractClientInvocationService(HazelcastClientInstanceImpl client) {
         this.client = client;
@@ -82,6 +93,8 @@ public abstract class AbstractClientInvocationService implements ClientInvocatio
                 properties.getInteger(MAX_CONCURRENT_INVOCATIONS),
                 properties.getLong(BACKPRESSURE_BACKOFF_TIMEOUT_MILLIS),
                 client.getConcurrencyDetection());
+        this.maxInvocationsPerConnection = properties.getInteger(MAX_CONCURRENT_INVOCATIONS_PER_CONNECTION);
+        this.backoffTimeoutNanos = MILLISECONDS.toNanos(properties.getLong(BACKPRESSURE_BACKOFF_TIMEOUT_MILLIS));
 
         client.getMetricsRegistry().scanAndRegister(this, "invocations");
     }
@@ -141,6 +154,7 @@ public abstract class AbstractClientInvocationService implements ClientInvocatio
         if (isShutdown) {
             throw new HazelcastClientNotActiveException("Client is shut down");
         }
+        acquireCredit(invocation, connection);
         registerInvocation(invocation);
 
         ClientMessage clientMessage = invocation.getClientMessage();
@@ -160,6 +174,37 @@ public abstract class AbstractClientInvocationService implements ClientInvocatio
         invocation.setSendConnection(connection);
     }
 
+    private void acquireCredit(ClientInvocation invocation, ClientConnection connection) {
+        if (maxInvocationsPerConnection == Integer.MAX_VALUE) {
+            // per connection flow control is disabled
+            return;
+        }
+
+        if (invocation.isFlowControlled() && connection.getPendingInvocations() >= maxInvocationsPerConnection) {
+            waitForCredit(connection);
+        }
+        // just like the call id sequence, the check and the acquire are racy; so the maximum
+        // can temporarily be exceeded by a few invocations.
+        connection.acquireInvocationCredit();
+        invocation.setCreditConnection(connection);
+    }
+
+    private void waitForCredit(ClientConnection connection) {
+        long start = System.nanoTime();
+        for (long idleCount = 0; ; idleCount++) {
+            long elapsedNanos = System.nanoTime() - start;
+            if (elapsedNanos > backoffTimeoutNanos) {
+                throw new HazelcastOverloadException(String.format("Timed out waiting for an invocation credit of "
+                                + "connection %s. maxConcurrentInvocationsPerConnection = %d, elapsed:%d msecs",
+                        connection, maxInvocationsPerConnection, NANOSECONDS.toMillis(elapsedNanos)));
+            }
+            CREDIT_IDLER.idle(idleCount);
+            if (connection.getPendingInvocations() < maxInvocationsPerConnection) {
+                return;
+            }
+        }
+    }
+
     private boolean writeToConnection(ClientConnection connection, ClientMessage clientMessage) {
         return connection.write(clientMessage);
     }
@@ -176,7 +221,11 @@ public abstract class AbstractClientInvocationService implements ClientInvocatio
     }
 
     ClientInvocation deregisterInvocation(long correlationId) {
-        return invocations.remove(correlationId);
+        ClientInvocation invocation = invocations.remove(correlationId);
+        if (invocation != null) {
+            invocation.releaseCredit();
+        }
+        return invocation;
     }
 
     public boolean isShutdown() {
@@ -190,6 +239,7 @@ public abstract class AbstractClientInvocationService implements ClientInvocatio
         while (iterator.hasNext()) {
             ClientInvocation invocation = iterator.next();
             iterator.remove();
+            invocation.releaseCredit();
             invocation.notifyException(new HazelcastClientNotActiveException("Client is shutting down"));
         }
     }
@@ -212,6 +262,7 @@ public abstract class AbstractClientInvocationService implements ClientInvocatio
                 }
 
                 iter.remove();
+                invocation.releaseCredit();
 
                 notifyException(invocation, connection);
             }
@@ -23,6 +23,7 @@ import com.hazelcast.client.impl.protocol.ClientMessage;
 import com.hazelcast.client.impl.spi.ClientClusterService;
 import com.hazelcast.client.impl.spi.ClientExecutionService;
 import com.hazelcast.client.impl.spi.EventHandler;
+import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.core.HazelcastInstanceNotActiveException;
 import com.hazelcast.core.HazelcastOverloadException;
 import com.hazelcast.core.LifecycleService;
@@ -30,16 +31,20 @@ import com.hazelcast.core.OperationTimeoutException;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.Connection;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
 import com.hazelcast.spi.exception.RetryableException;
 import com.hazelcast.spi.exception.TargetDisconnectedException;
 import com.hazelcast.spi.exception.TargetNotMemberException;
 import com.hazelcast.spi.impl.sequence.CallIdSequence;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.concurrent.Executor;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import static com.hazelcast.util.Clock.currentTimeMillis;
 import static com.hazelcast.util.StringUtil.timeToString;
@@ -57,6 +62,8 @@ public class ClientInvocation implements Runnable {
     private static final int UNASSIGNED_PARTITION = -1;
     private static final AtomicLongFieldUpdater<ClientInvocation> INVOKE_COUNT
             = AtomicLongFieldUpdater.newUpdater(ClientInvocation.class, "invokeCount");
+    private static final AtomicReferenceFieldUpdater<ClientInvocation, ClientConnection> CREDIT_CONNECTION
+            = AtomicReferenceFieldUpdater.newUpdater(ClientInvocation.class, ClientConnection.class, "creditConnection");
 
     private final ClientInvocationFuture clientInvocationFuture;
     private final ILogger logger;
@@ -64,6 +71,7 @@ public class ClientInvocation implements Runnable {
     private final ClientClusterService clientClusterService;
     private final AbstractClientInvocationService invocationService;
     private final ClientExecutionService executionService;
+    private final ClientSchemaService schemaService;
     private volatile ClientMessage clientMessage;
     private final CallIdSequence callIdSequence;
     private final Address address;
@@ -73,6 +81,11 @@ public class ClientInvocation implements Runnable {
     private final long retryPauseMillis;
     private final String objectName;
     private volatile ClientConnection sendConnection;
+    // the connection this invocation holds a flow control credit of
+    private volatile ClientConnection creditConnection;
+    private volatile boolean urgent;
+    // sent by an internal thread once the pending schema sends completed
+    private volatile boolean deferred;
     private EventHandler handler;
     private volatile long invokeCount;
     private volatile long invocationTimeoutMillis;
@@ -87,6 +100,7 @@ public class ClientInvocation implements Runnable {
         this.lifecycleService = client.getLifecycleService();
         this.invocationService = (AbstractClientInvocationService) client.getInvocationService();
         this.executionService = client.getClientExecutionService();
+        this.schemaService = client.getSchemaService();
         this.objectName = objectName;
         this.clientMessage = clientMessage;
         this.partitionId = partitionId;
@@ -143,17 +157,57 @@ public class ClientInvocation implements Runnable {
     public ClientInvocationFuture invoke() {
         assert (clientMessage != null);
         clientMessage.setCorrelationId(callIdSequence.next());
-        invokeOnSelection();
+        invokeAfterSchemasSent();
         return clientInvocationFuture;
     }
 
+    /**
+     * Urgent invocations are sent right away, they neither wait for a flow
+     * control credit nor for the pending schema sends.
+     */
     public ClientInvocationFuture invokeUrgent() {
         assert (clientMessage != null);
+        urgent = true;
         clientMessage.setCorrelationId(callIdSequence.forceNext());
         invokeOnSelection();
         return clientInvocationFuture;
     }
 
+    /**
+     * Sends the invocation once the cluster knows the compact schemas this
+     * client is still sending, since the message may carry binaries written
+     * with them. The serialization which registered a schema does not wait
+     * for the cluster, so the wait happens here without blocking the caller.
+     */
+    private void invokeAfterSchemasSent() {
+        Collection<ClientInvocationFuture> schemaSends = schemaService.getPendingSends();
+        if (schemaSends.isEmpty()) {
+            invokeOnSelection();
+            return;
+        }
+        deferred = true;
+        final AtomicInteger remaining = new AtomicInteger(schemaSends.size());
+        ExecutionCallback<ClientMessage> callback = new ExecutionCallback<ClientMessage>() {
+            @Override
+            public void onResponse(ClientMessage response) {
+                if (remaining.decrementAndGet() == 0) {
+                    invokeOnSelection();
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                if (remaining.getAndSet(-1) > 0) {
+                    clientInvocationFuture.complete(new HazelcastSerializationException(
+                            "Could not send the compact schemas the message may depend on", t));
+                }
+            }
+        };
+        for (ClientInvocationFuture schemaSend : schemaSends) {
+            schemaSend.andThen(callback);
+        }
+    }
+
     private void invokeOnSelection() {
         INVOKE_COUNT.incrementAndGet(this);
         try {
@@ -168,6 +222,8 @@ public class ClientInvocation implements Runnable {
             }
         } catch (Exception e) {
             if (e instanceof HazelcastOverloadException) {
+                // completing the future releases the call id
+                clientInvocationFuture.complete(e);
                 throw (HazelcastOverloadException) e;
             }
             notifyException(e);
@@ -296,6 +352,30 @@ public class ClientInvocation implements Runnable {
         this.handler = handler;
     }
 
+    /**
+     * Checks if sending this invocation should wait for a flow control
+     * credit. Only the first attempt of a non urgent invocation waits; a
+     * retry or an invocation deferred until the schemas are sent is done by
+     * an internal thread that should never be blocked.
+     */
+    boolean isFlowControlled() {
+        return !urgent && !deferred && invokeCount == 1;
+    }
+
+    void setCreditConnection(ClientConnection connection) {
+        this.creditConnection = connection;
+    }
+
+    /**
+     * Returns the flow control credit held by this invocation, if any.
+     */
+    void releaseCredit() {
+        ClientConnection connection = CREDIT_CONNECTION.getAndSet(this, null);
+        if (connection != null) {
+            connection.releaseInvocationCredit();
+        }
+    }
+
     public void setSendConnection(ClientConnection connection) {
         this.sendConnection = connection;
     }
@@ -31,6 +31,8 @@ import com.hazelcast.cluster.memberselector.MemberSelectors;
 import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.internal.cluster.impl.MemberSelectingCollection;
 import com.hazelcast.internal.partition.PartitionTableView;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DataSlab;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.Connection;
@@ -265,8 +267,17 @@ public final class ClientPartitionServiceImpl implements ClientPartitionService
 
     @Override
     public int getPartitionId(Object key) {
-        final Data data = client.getSerializationService().toData(key);
-        return getPartitionId(data);
+        if (key instanceof Data) {
+            return getPartitionId((Data) key);
+        }
+        InternalSerializationService serializationService = client.getSerializationService();
+        DataSlab slab = serializationService.takeDataSlab();
+        try {
+            final Data data = serializationService.toData(key, slab);
+            return getPartitionId(data);
+        } finally {
+            serializationService.returnDataSlab(slab);
+        }
     }
 
     @Override
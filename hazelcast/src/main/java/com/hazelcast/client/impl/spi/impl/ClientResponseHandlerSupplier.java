@@ -22,6 +22,7 @@ import com.hazelcast.client.impl.protocol.codec.builtin.ErrorCodec;
 import com.hazelcast.internal.util.ConcurrencyDetection;
 import com.hazelcast.internal.util.concurrent.MPSCQueue;
 import com.hazelcast.logging.ILogger;
+import com.hazelcast.spi.impl.operationexecutor.OperationHostileThread;
 import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.spi.properties.HazelcastProperty;
 import com.hazelcast.util.MutableInteger;
@@ -160,7 +161,12 @@ public class ClientResponseHandlerSupplier implements Supplier<Consumer<ClientMe
         }
     }
 
-    private class ResponseThread extends Thread {
+    /**
+     * The ResponseThread implements the OperationHostileThread interface, so
+     * the schema service does not block it on a schema fetch whose response
+     * it would have to process itself.
+     */
+    private class ResponseThread extends Thread implements OperationHostileThread {
         private final BlockingQueue<ClientMessage> responseQueue;
         private final AtomicBoolean started = new AtomicBoolean();
 
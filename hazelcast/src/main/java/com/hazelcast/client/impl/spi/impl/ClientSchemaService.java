@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.spi.impl;
+
+import com.hazelcast.client.impl.clientside.HazelcastClientInstanceImpl;
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.ClientFetchSchemaCodec;
+import com.hazelcast.client.impl.protocol.codec.ClientSendSchemaCodec;
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.compact.LocalSchemaService;
+import com.hazelcast.internal.serialization.impl.compact.Schema;
+import com.hazelcast.internal.util.SimpleCompletableFuture;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.nio.Connection;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.spi.impl.operationexecutor.OperationHostileThread;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * The client side schema service of the compact serialization.
+ * <p>
+ * A schema registered by this client is sent to the cluster in the background,
+ * the serialization which registered it does not wait for the cluster. The
+ * invocations started meanwhile are sent only after the cluster knows the
+ * schema, since they may carry binaries written with it, see
+ * {@link #getPendingSends()}. All known schemas are sent again when the client
+ * connects to a cluster, so a restarted cluster can read the binaries the
+ * client keeps sending.
+ * <p>
+ * Unknown schemas are fetched from the cluster. The fetch is shared by all
+ * threads asking for the same schema. The I/O and response threads never wait
+ * for it, since they may have to process its response themselves.
+ */
+public class ClientSchemaService extends LocalSchemaService {
+
+    private final ConcurrentMap<Long, ClientInvocationFuture> sends
+            = new ConcurrentHashMap<Long, ClientInvocationFuture>();
+    private final ConcurrentMap<Long, SimpleCompletableFuture<Schema>> fetches
+            = new ConcurrentHashMap<Long, SimpleCompletableFuture<Schema>>();
+    private final HazelcastClientInstanceImpl client;
+    private final ILogger logger;
+
+    public ClientSchemaService(HazelcastClientInstanceImpl client) {
+        this.client = client;
+        this.logger = client.getLoggingService().getLogger(ClientSchemaService.class);
+    }
+
+    @Override
+    public Schema get(long schemaId) {
+        Schema schema = getLocal(schemaId);
+        if (schema != null) {
+            return schema;
+        }
+        SimpleCompletableFuture<Schema> future = fetch(schemaId);
+        if (Thread.currentThread() instanceof OperationHostileThread) {
+            throw new HazelcastSerializationException("The schema with the id " + schemaId
+                    + " is being fetched from the cluster and can't be waited for on "
+                    + Thread.currentThread().getName());
+        }
+        return future.join();
+    }
+
+    /**
+     * Starts fetching the schema from the cluster, unless a fetch of the
+     * schema is already in progress.
+     *
+     * @return a future which is completed with the schema or with {@code null}
+     * if the cluster does not know the schema
+     */
+    private SimpleCompletableFuture<Schema> fetch(final long schemaId) {
+        SimpleCompletableFuture<Schema> future = fetches.get(schemaId);
+        if (future != null) {
+            return future;
+        }
+        final SimpleCompletableFuture<Schema> newFuture = new SimpleCompletableFuture<Schema>(
+                client.getClientExecutionService(), logger);
+        future = fetches.putIfAbsent(schemaId, newFuture);
+        if (future != null) {
+            return future;
+        }
+        ClientMessage request = ClientFetchSchemaCodec.encodeRequest(schemaId);
+        // urgent, so the fetch is not held back by the pending schema sends
+        new ClientInvocation(client, request, null).invokeUrgent().andThen(new ExecutionCallback<ClientMessage>() {
+            @Override
+            public void onResponse(ClientMessage response) {
+                Data schemaData = ClientFetchSchemaCodec.decodeResponse(response).response;
+                Schema schema = null;
+                if (schemaData != null) {
+                    InternalSerializationService serializationService = client.getSerializationService();
+                    schema = serializationService.toObject(schemaData);
+                    putLocal(schema);
+                }
+                fetches.remove(schemaId, newFuture);
+                newFuture.setResult(schema);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                fetches.remove(schemaId, newFuture);
+                newFuture.setResult(t);
+            }
+        });
+        return newFuture;
+    }
+
+    @Override
+    public void put(final Schema schema) {
+        final long schemaId = schema.getSchemaId();
+        if (getLocal(schemaId) != null) {
+            return;
+        }
+        final ClientInvocationFuture future = send(schema, null);
+        // registered before the schema becomes known locally, so no invocation misses the send
+        if (sends.putIfAbsent(schemaId, future) != null) {
+            return;
+        }
+        putLocal(schema);
+        future.andThen(new ExecutionCallback<ClientMessage>() {
+            @Override
+            public void onResponse(ClientMessage response) {
+                sends.remove(schemaId, future);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                // the invocations waiting for the send fail, the schema is sent again on reconnect
+                logger.warning("Could not send " + schema + " to the cluster", t);
+                sends.remove(schemaId, future);
+            }
+        });
+    }
+
+    /**
+     * Returns the sends of the schemas which are registered by this client but
+     * not known by the cluster yet. An invocation is sent once they are
+     * completed, since its message may carry binaries written with them.
+     *
+     * @return the pending sends, empty if there are none
+     */
+    Collection<ClientInvocationFuture> getPendingSends() {
+        if (sends.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<ClientInvocationFuture>(sends.values());
+    }
+
+    /**
+     * Sends all known schemas to the cluster the client is connected to.
+     *
+     * @param ownerConnection the connection to the cluster
+     */
+    public void sendAll(Connection ownerConnection) throws ExecutionException, InterruptedException {
+        for (Schema schema : getSchemas()) {
+            send(schema, ownerConnection).get();
+        }
+    }
+
+    /**
+     * Sends the schema as an urgent invocation, which is not held back by
+     * {@link #getPendingSends()}.
+     */
+    private ClientInvocationFuture send(Schema schema, Connection connection) {
+        Data schemaData = client.getSerializationService().toData(schema);
+        ClientMessage request = ClientSendSchemaCodec.encodeRequest(schemaData);
+        return new ClientInvocation(client, request, null, connection).invokeUrgent();
+    }
+}
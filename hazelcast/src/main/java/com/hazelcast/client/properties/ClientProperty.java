@@ -18,6 +18,7 @@ package com.hazelcast.client.properties;
 
 import com.hazelcast.spi.properties.HazelcastProperty;
 
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
@@ -113,6 +114,45 @@ public final class ClientProperty {
     public static final HazelcastProperty BACKPRESSURE_BACKOFF_TIMEOUT_MILLIS
             = new HazelcastProperty("hazelcast.client.invocation.backoff.timeout.millis", -1, MILLISECONDS);
 
+    /**
+     * The maximum number of concurrent invocations per connection. This is a credit based flow control on top of
+     * {@link #MAX_CONCURRENT_INVOCATIONS}: an invocation takes a credit from the connection it is sent over and
+     * returns it once its response has been received. This prevents a burst of asynchronous invocations from
+     * inflating the write queue of a single connection, e.g. one to a slow member.
+     * <p>
+     * If there is no credit left, the invoking thread waits for one until
+     * {@link #BACKPRESSURE_BACKOFF_TIMEOUT_MILLIS} has passed and then a
+     * {@link com.hazelcast.core.HazelcastOverloadException} is thrown. Retries of invocations and urgent
+     * invocations never wait for a credit.
+     * <p>
+     * By default it is configured as Integer.MaxValue, which disables the per connection flow control.
+     */
+    public static final HazelcastProperty MAX_CONCURRENT_INVOCATIONS_PER_CONNECTION
+            = new HazelcastProperty("hazelcast.client.max.concurrent.invocations.per.connection", Integer.MAX_VALUE);
+
+    /**
+     * The window in microseconds in which {@code IMap.get} and {@code IMap.set} (without ttl or max idle) calls on
+     * the same map and partition are coalesced into a single getAll or putAll request. This reduces the number of
+     * messages and syscalls when a client does many small concurrent map operations, at the cost of adding up to
+     * the window to the latency of these operations.
+     * <p>
+     * Coalesced requests don't wait for key locks held by other threads, so coalescing should not be enabled for
+     * maps that make use of locking.
+     * <p>
+     * The default is 0, which disables coalescing.
+     */
+    public static final HazelcastProperty MAP_REQUEST_COALESCING_WINDOW_MICROS
+            = new HazelcastProperty("hazelcast.client.map.request.coalescing.window.micros", 0, MICROSECONDS);
+
+    /**
+     * The maximum number of requests coalesced into a single request. If a batch reaches this size, it is sent
+     * without waiting for the coalescing window to expire.
+     *
+     * @see #MAP_REQUEST_COALESCING_WINDOW_MICROS
+     */
+    public static final HazelcastProperty MAP_REQUEST_COALESCING_MAX_BATCH_SIZE
+            = new HazelcastProperty("hazelcast.client.map.request.coalescing.max.batch.size", 128);
+
     /**
      * <p>Enables the Discovery SPI lookup over the old native implementations. This property is temporary and will
      * eventually be removed when the experimental marker is removed.</p>
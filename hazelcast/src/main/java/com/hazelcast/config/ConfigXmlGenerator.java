@@ -1110,7 +1110,11 @@ public class ConfigXmlGenerator {
         if (!mapIndexConfigs.isEmpty()) {
             gen.open("indexes");
             for (MapIndexConfig indexCfg : mapIndexConfigs) {
-                gen.node("index", indexCfg.getAttribute(), "ordered", indexCfg.isOrdered());
+                if (indexCfg.getType() == IndexType.BITMAP) {
+                    gen.node("index", indexCfg.getAttribute(), "type", indexCfg.getType());
+                } else {
+                    gen.node("index", indexCfg.getAttribute(), "ordered", indexCfg.isOrdered());
+                }
             }
             gen.close();
         }
@@ -1456,6 +1460,9 @@ public class ConfigXmlGenerator {
                 .node("uncommitted-entry-count-to-reject-new-appends",
                         raftAlgorithmConfig.getUncommittedEntryCountToRejectNewAppends())
                 .node("append-request-backoff-timeout-in-millis", raftAlgorithmConfig.getAppendRequestBackoffTimeoutInMillis())
+                .node("append-request-max-in-flight-count", raftAlgorithmConfig.getAppendRequestMaxInFlightCount())
+                .node("leader-lease-timeout-in-millis", raftAlgorithmConfig.getLeaderLeaseTimeoutInMillis())
+                .node("leader-lease-safety-margin-in-millis", raftAlgorithmConfig.getLeaderLeaseSafetyMarginInMillis())
                 .close();
 
         gen.open("semaphores");
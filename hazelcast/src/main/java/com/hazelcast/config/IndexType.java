@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.config;
+
+/**
+ * Type of a map index.
+ */
+public enum IndexType {
+
+    /**
+     * Unordered hash index supporting fast point queries.
+     */
+    HASH(0),
+
+    /**
+     * Ordered index supporting fast range queries.
+     */
+    SORTED(1),
+
+    /**
+     * Bitmap index suited for attributes with a small number of distinct
+     * values. Every distinct value maps to a compressed bitmap of entry ids,
+     * so conjunctions, disjunctions and negations of predicates on such
+     * attributes are evaluated as bitwise operations instead of as set
+     * intersections and unions.
+     */
+    BITMAP(2);
+
+    private final int id;
+
+    IndexType(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Returns enumeration id of this type. We use id field instead of
+     * {@link #ordinal()} because this value is used in serialized form.
+     * The ids for the known types must not be changed.
+     *
+     * @return id
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Returns the IndexType for the given ID.
+     *
+     * @return the IndexType found or {@code null} if not found
+     */
+    public static IndexType getById(final int id) {
+        for (IndexType type : values()) {
+            if (type.id == id) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
@@ -26,6 +26,7 @@ import java.io.IOException;
 
 import static com.hazelcast.query.QueryConstants.KEY_ATTRIBUTE_NAME;
 import static com.hazelcast.util.Preconditions.checkHasText;
+import static com.hazelcast.util.Preconditions.checkNotNull;
 
 /**
  * Contains the configuration for an index in a map. This class should be used in combination
@@ -37,7 +38,7 @@ public class MapIndexConfig implements IdentifiedDataSerializable {
     private static final ILogger LOG = Logger.getLogger(MapIndexConfig.class);
 
     private String attribute;
-    private boolean ordered;
+    private IndexType type = IndexType.HASH;
     private transient MapIndexConfigReadOnly readOnly;
 
     /**
@@ -59,9 +60,22 @@ public class MapIndexConfig implements IdentifiedDataSerializable {
         setOrdered(ordered);
     }
 
+    /**
+     * Creates a MapIndexConfig with the given attribute and index type.
+     *
+     * @param attribute the attribute that is going to be indexed
+     * @param type      the type of the index
+     * @see #setType(IndexType)
+     * @see #setAttribute(String)
+     */
+    public MapIndexConfig(String attribute, IndexType type) {
+        setAttribute(attribute);
+        setType(type);
+    }
+
     public MapIndexConfig(MapIndexConfig config) {
         attribute = config.getAttribute();
-        ordered = config.isOrdered();
+        type = config.getType();
     }
 
     /**
@@ -106,7 +120,7 @@ public class MapIndexConfig implements IdentifiedDataSerializable {
      * @see #setOrdered(boolean)
      */
     public boolean isOrdered() {
-        return ordered;
+        return type == IndexType.SORTED;
     }
 
     /**
@@ -118,13 +132,39 @@ public class MapIndexConfig implements IdentifiedDataSerializable {
      * @return the updated MapIndexConfig
      */
     public MapIndexConfig setOrdered(boolean ordered) {
-        this.ordered = ordered;
+        this.type = ordered ? IndexType.SORTED : IndexType.HASH;
+        return this;
+    }
+
+    /**
+     * Gets the type of the index, {@link IndexType#HASH} by default.
+     *
+     * @return the type of the index
+     * @see #setType(IndexType)
+     */
+    public IndexType getType() {
+        return type;
+    }
+
+    /**
+     * Sets the type of the index. Setting the type to {@link IndexType#SORTED}
+     * is equivalent to {@code setOrdered(true)}. A {@link IndexType#BITMAP}
+     * index is preferable for attributes having just a few distinct values,
+     * such as a status or a country code, especially if queries combine
+     * several of them with AND, OR and NOT.
+     *
+     * @param type the type of the index
+     * @return the updated MapIndexConfig
+     * @throws NullPointerException if type is {@code null}
+     */
+    public MapIndexConfig setType(IndexType type) {
+        this.type = checkNotNull(type, "Map index type must not be null");
         return this;
     }
 
     @Override
     public String toString() {
-        return "MapIndexConfig{attribute='" + attribute + "', ordered=" + ordered + '}';
+        return "MapIndexConfig{attribute='" + attribute + "', type=" + type + '}';
     }
 
     /**
@@ -158,13 +198,13 @@ public class MapIndexConfig implements IdentifiedDataSerializable {
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         out.writeUTF(attribute);
-        out.writeBoolean(ordered);
+        out.writeInt(type.getId());
     }
 
     @Override
     public void readData(ObjectDataInput in) throws IOException {
         attribute = in.readUTF();
-        ordered = in.readBoolean();
+        type = IndexType.getById(in.readInt());
     }
 
     @Override
@@ -177,7 +217,7 @@ public class MapIndexConfig implements IdentifiedDataSerializable {
         }
 
         MapIndexConfig that = (MapIndexConfig) o;
-        if (ordered != that.ordered) {
+        if (type != that.type) {
             return false;
         }
         return attribute != null ? attribute.equals(that.attribute) : that.attribute == null;
@@ -186,7 +226,7 @@ public class MapIndexConfig implements IdentifiedDataSerializable {
     @Override
     public final int hashCode() {
         int result = attribute != null ? attribute.hashCode() : 0;
-        result = 31 * result + (ordered ? 1 : 0);
+        result = 31 * result + (type != null ? type.getId() : 0);
         return result;
     }
 }
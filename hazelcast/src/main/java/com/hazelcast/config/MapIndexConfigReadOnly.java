@@ -36,4 +36,9 @@ public class MapIndexConfigReadOnly extends MapIndexConfig {
     public MapIndexConfig setOrdered(boolean ordered) {
         throw new UnsupportedOperationException("This config is read-only");
     }
+
+    @Override
+    public MapIndexConfig setType(IndexType type) {
+        throw new UnsupportedOperationException("This config is read-only");
+    }
 }
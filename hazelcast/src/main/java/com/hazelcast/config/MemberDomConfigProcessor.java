@@ -1970,10 +1970,8 @@ class MemberDomConfigProcessor extends AbstractDomConfigProcessor {
     protected void mapIndexesHandle(Node n, MapConfig mapConfig) {
         for (Node indexNode : childElements(n)) {
             if ("index".equals(cleanNodeName(indexNode))) {
-                NamedNodeMap attrs = indexNode.getAttributes();
-                boolean ordered = getBooleanValue(getTextContent(attrs.getNamedItem("ordered")));
                 String attribute = getTextContent(indexNode);
-                mapConfig.addMapIndexConfig(new MapIndexConfig(attribute, ordered));
+                mapConfig.addMapIndexConfig(createMapIndexConfig(attribute, indexNode.getAttributes()));
             }
         }
     }
@@ -1981,14 +1979,25 @@ class MemberDomConfigProcessor extends AbstractDomConfigProcessor {
     protected void queryCacheIndexesHandle(Node n, QueryCacheConfig queryCacheConfig) {
         for (Node indexNode : childElements(n)) {
             if ("index".equals(cleanNodeName(indexNode))) {
-                NamedNodeMap attrs = indexNode.getAttributes();
-                boolean ordered = getBooleanValue(getTextContent(attrs.getNamedItem("ordered")));
                 String attribute = getTextContent(indexNode);
-                queryCacheConfig.addIndexConfig(new MapIndexConfig(attribute, ordered));
+                queryCacheConfig.addIndexConfig(createMapIndexConfig(attribute, indexNode.getAttributes()));
             }
         }
     }
 
+    /**
+     * Creates an index config, the {@code type} attribute of an index takes
+     * precedence over its {@code ordered} attribute.
+     */
+    protected MapIndexConfig createMapIndexConfig(String attribute, NamedNodeMap attrs) {
+        Node type = attrs.getNamedItem("type");
+        if (type != null) {
+            return new MapIndexConfig(attribute, IndexType.valueOf(upperCaseInternal(getTextContent(type))));
+        }
+        boolean ordered = getBooleanValue(getTextContent(attrs.getNamedItem("ordered")));
+        return new MapIndexConfig(attribute, ordered);
+    }
+
     protected void mapAttributesHandle(Node n, MapConfig mapConfig) {
         for (Node extractorNode : childElements(n)) {
             if ("attribute".equals(cleanNodeName(extractorNode))) {
@@ -2908,6 +2917,12 @@ class MemberDomConfigProcessor extends AbstractDomConfigProcessor {
                 raftAlgorithmConfig.setUncommittedEntryCountToRejectNewAppends(Integer.parseInt(value));
             } else if ("append-request-backoff-timeout-in-millis".equals(nodeName)) {
                 raftAlgorithmConfig.setAppendRequestBackoffTimeoutInMillis(Long.parseLong(value));
+            } else if ("append-request-max-in-flight-count".equals(nodeName)) {
+                raftAlgorithmConfig.setAppendRequestMaxInFlightCount(Integer.parseInt(value));
+            } else if ("leader-lease-timeout-in-millis".equals(nodeName)) {
+                raftAlgorithmConfig.setLeaderLeaseTimeoutInMillis(Long.parseLong(value));
+            } else if ("leader-lease-safety-margin-in-millis".equals(nodeName)) {
+                raftAlgorithmConfig.setLeaderLeaseSafetyMarginInMillis(Long.parseLong(value));
             }
         }
     }
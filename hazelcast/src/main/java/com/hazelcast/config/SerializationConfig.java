@@ -17,6 +17,7 @@
 package com.hazelcast.config;
 
 import com.hazelcast.nio.serialization.ClassDefinition;
+import com.hazelcast.nio.serialization.CompactSerializer;
 import com.hazelcast.nio.serialization.DataSerializableFactory;
 import com.hazelcast.nio.serialization.PortableFactory;
 
@@ -49,6 +50,7 @@ public class SerializationConfig {
     private boolean enableSharedObject = true;
     private boolean allowUnsafe;
     private final Set<ClassDefinition> classDefinitions;
+    private final Collection<CompactSerializer> compactSerializers;
     private JavaSerializationFilterConfig javaSerializationFilterConfig;
 
     public SerializationConfig() {
@@ -58,6 +60,7 @@ public class SerializationConfig {
         portableFactories = new HashMap<Integer, PortableFactory>();
         serializerConfigs = new LinkedList<SerializerConfig>();
         classDefinitions = new HashSet<ClassDefinition>();
+        compactSerializers = new LinkedList<CompactSerializer>();
     }
 
     public SerializationConfig(SerializationConfig serializationConfig) {
@@ -79,6 +82,7 @@ public class SerializationConfig {
         enableSharedObject = serializationConfig.enableSharedObject;
         allowUnsafe = serializationConfig.allowUnsafe;
         classDefinitions = new HashSet<ClassDefinition>(serializationConfig.classDefinitions);
+        compactSerializers = new LinkedList<CompactSerializer>(serializationConfig.compactSerializers);
         javaSerializationFilterConfig = serializationConfig.javaSerializationFilterConfig == null
                 ? null : new JavaSerializationFilterConfig(serializationConfig.javaSerializationFilterConfig);
     }
@@ -330,6 +334,37 @@ public class SerializationConfig {
         return this;
     }
 
+    /**
+     * @return registered serializers of compact classes
+     * @see CompactSerializer
+     */
+    public Collection<CompactSerializer> getCompactSerializers() {
+        return compactSerializers;
+    }
+
+    /**
+     * @param compactSerializer the compact serializer to be registered
+     * @return configured {@link com.hazelcast.config.SerializerConfig} for chaining
+     * @see CompactSerializer
+     */
+    public SerializationConfig addCompactSerializer(CompactSerializer compactSerializer) {
+        isNotNull(compactSerializer, "compactSerializer");
+        getCompactSerializers().add(compactSerializer);
+        return this;
+    }
+
+    /**
+     * @param compactSerializers serializers of compact classes to be registered
+     * @return configured {@link com.hazelcast.config.SerializerConfig} for chaining
+     * @see CompactSerializer
+     */
+    public SerializationConfig setCompactSerializers(Collection<CompactSerializer> compactSerializers) {
+        isNotNull(compactSerializers, "compactSerializers");
+        this.compactSerializers.clear();
+        this.compactSerializers.addAll(compactSerializers);
+        return this;
+    }
+
     /**
      * Default value is {@code true} (enabled).
      * When enabled, serialization system will check for class definitions error at start and throw an Serialization
@@ -482,6 +517,7 @@ public class SerializationConfig {
                 + ", serializerConfigs=" + serializerConfigs
                 + ", checkClassDefErrors=" + checkClassDefErrors
                 + ", classDefinitions=" + classDefinitions
+                + ", compactSerializers=" + compactSerializers
                 + ", byteOrder=" + byteOrder
                 + ", useNativeByteOrder=" + useNativeByteOrder
                 + ", javaSerializationFilterConfig=" + javaSerializationFilterConfig
@@ -543,6 +579,9 @@ public class SerializationConfig {
         if (!classDefinitions.equals(that.classDefinitions)) {
             return false;
         }
+        if (!compactSerializers.equals(that.compactSerializers)) {
+            return false;
+        }
         return javaSerializationFilterConfig != null
                 ? javaSerializationFilterConfig.equals(that.javaSerializationFilterConfig)
                 : that.javaSerializationFilterConfig == null;
@@ -565,6 +604,7 @@ public class SerializationConfig {
         result = 31 * result + (enableSharedObject ? 1 : 0);
         result = 31 * result + (allowUnsafe ? 1 : 0);
         result = 31 * result + classDefinitions.hashCode();
+        result = 31 * result + compactSerializers.hashCode();
         result = 31 * result + (javaSerializationFilterConfig != null ? javaSerializationFilterConfig.hashCode() : 0);
         return result;
     }
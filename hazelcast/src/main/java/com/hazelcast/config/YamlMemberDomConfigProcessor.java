@@ -455,10 +455,8 @@ class YamlMemberDomConfigProcessor extends MemberDomConfigProcessor {
     @Override
     protected void mapIndexesHandle(Node n, MapConfig mapConfig) {
         for (Node indexNode : childElements(n)) {
-            NamedNodeMap attrs = indexNode.getAttributes();
-            boolean ordered = getBooleanValue(getTextContent(attrs.getNamedItem("ordered")));
             String attribute = indexNode.getNodeName();
-            mapConfig.addMapIndexConfig(new MapIndexConfig(attribute, ordered));
+            mapConfig.addMapIndexConfig(createMapIndexConfig(attribute, indexNode.getAttributes()));
         }
     }
 
@@ -509,10 +507,8 @@ class YamlMemberDomConfigProcessor extends MemberDomConfigProcessor {
     @Override
     protected void queryCacheIndexesHandle(Node n, QueryCacheConfig queryCacheConfig) {
         for (Node indexNode : childElements(n)) {
-            NamedNodeMap attrs = indexNode.getAttributes();
-            boolean ordered = getBooleanValue(getTextContent(attrs.getNamedItem("ordered")));
             String attribute = indexNode.getNodeName();
-            queryCacheConfig.addIndexConfig(new MapIndexConfig(attribute, ordered));
+            queryCacheConfig.addIndexConfig(createMapIndexConfig(attribute, indexNode.getAttributes()));
         }
     }
 
@@ -16,6 +16,7 @@
 
 package com.hazelcast.config.cp;
 
+import static com.hazelcast.util.Preconditions.checkNotNegative;
 import static com.hazelcast.util.Preconditions.checkPositive;
 
 /**
@@ -63,6 +64,23 @@ public class RaftAlgorithmConfig {
      */
     public static final long DEFAULT_APPEND_REQUEST_BACKOFF_TIMEOUT_IN_MILLIS = 100;
 
+    /**
+     * Default max number of in-flight append requests per follower.
+     * The default value disables append request pipelining.
+     */
+    public static final int DEFAULT_APPEND_REQUEST_MAX_IN_FLIGHT_COUNT = 1;
+
+    /**
+     * Default leader lease timeout in millis.
+     * The default value disables leader leases.
+     */
+    public static final long DEFAULT_LEADER_LEASE_TIMEOUT_IN_MILLIS = 0;
+
+    /**
+     * Default leader lease safety margin in millis.
+     */
+    public static final long DEFAULT_LEADER_LEASE_SAFETY_MARGIN_IN_MILLIS = 100;
+
     /**
      * Leader election timeout in milliseconds. If a candidate cannot win
      * majority of the votes in time, a new election round is initiated.
@@ -107,6 +125,34 @@ public class RaftAlgorithmConfig {
      */
     private long appendRequestBackoffTimeoutInMillis = DEFAULT_APPEND_REQUEST_BACKOFF_TIMEOUT_IN_MILLIS;
 
+    /**
+     * Maximum number of append requests carrying new log entries that
+     * the leader sends to a follower without waiting for their responses.
+     * When it is greater than 1, the leader pipelines append requests
+     * once it learns the match index of the follower.
+     */
+    private int appendRequestMaxInFlightCount = DEFAULT_APPEND_REQUEST_MAX_IN_FLIGHT_COUNT;
+
+    /**
+     * Duration in milliseconds of the lease the leader obtains when
+     * the majority of the group acknowledges its heartbeat round. While
+     * the lease is valid, the leader runs linearizable queries locally.
+     * Followers do not start a new leader election until they miss
+     * the leader for the leader election timeout, hence the lease timeout
+     * must be smaller than {@link #leaderElectionTimeoutInMillis}.
+     * 0 disables leader leases.
+     */
+    private long leaderLeaseTimeoutInMillis = DEFAULT_LEADER_LEASE_TIMEOUT_IN_MILLIS;
+
+    /**
+     * Duration in milliseconds subtracted from
+     * {@link #leaderLeaseTimeoutInMillis} when the leader extends its lease.
+     * It covers the clock rate drift between the members and the delays
+     * between a follower acknowledging the leader and the leader observing
+     * the acknowledgement. Must be smaller than the lease timeout.
+     */
+    private long leaderLeaseSafetyMarginInMillis = DEFAULT_LEADER_LEASE_SAFETY_MARGIN_IN_MILLIS;
+
     public RaftAlgorithmConfig() {
     }
 
@@ -118,6 +164,9 @@ public class RaftAlgorithmConfig {
         this.uncommittedEntryCountToRejectNewAppends = config.uncommittedEntryCountToRejectNewAppends;
         this.maxMissedLeaderHeartbeatCount = config.maxMissedLeaderHeartbeatCount;
         this.appendRequestBackoffTimeoutInMillis = config.appendRequestBackoffTimeoutInMillis;
+        this.appendRequestMaxInFlightCount = config.appendRequestMaxInFlightCount;
+        this.leaderLeaseTimeoutInMillis = config.leaderLeaseTimeoutInMillis;
+        this.leaderLeaseSafetyMarginInMillis = config.leaderLeaseSafetyMarginInMillis;
     }
 
     public long getLeaderElectionTimeoutInMillis() {
@@ -194,4 +243,34 @@ public class RaftAlgorithmConfig {
         this.appendRequestBackoffTimeoutInMillis = appendRequestBackoffTimeoutInMillis;
         return this;
     }
+
+    public int getAppendRequestMaxInFlightCount() {
+        return appendRequestMaxInFlightCount;
+    }
+
+    public RaftAlgorithmConfig setAppendRequestMaxInFlightCount(int appendRequestMaxInFlightCount) {
+        checkPositive(appendRequestMaxInFlightCount, "append request max in-flight count must be positive!");
+        this.appendRequestMaxInFlightCount = appendRequestMaxInFlightCount;
+        return this;
+    }
+
+    public long getLeaderLeaseTimeoutInMillis() {
+        return leaderLeaseTimeoutInMillis;
+    }
+
+    public RaftAlgorithmConfig setLeaderLeaseTimeoutInMillis(long leaderLeaseTimeoutInMillis) {
+        checkNotNegative(leaderLeaseTimeoutInMillis, "leader lease timeout cannot be negative!");
+        this.leaderLeaseTimeoutInMillis = leaderLeaseTimeoutInMillis;
+        return this;
+    }
+
+    public long getLeaderLeaseSafetyMarginInMillis() {
+        return leaderLeaseSafetyMarginInMillis;
+    }
+
+    public RaftAlgorithmConfig setLeaderLeaseSafetyMarginInMillis(long leaderLeaseSafetyMarginInMillis) {
+        checkNotNegative(leaderLeaseSafetyMarginInMillis, "leader lease safety margin cannot be negative!");
+        this.leaderLeaseSafetyMarginInMillis = leaderLeaseSafetyMarginInMillis;
+        return this;
+    }
 }
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.core;
+
+import com.hazelcast.map.IMap;
+import com.hazelcast.spi.annotation.Beta;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
+
+/**
+ * A variant of the {@link Pipelining} for streaming a large or unbounded
+ * number of asynchronous calls like {@link IMap#setAsync(Object, Object)},
+ * e.g. when bulk loading data.
+ *
+ * Just like the {@link Pipelining}, it bounds the number of calls in flight
+ * to the configured depth; adding a call blocks until one of the in flight
+ * calls has completed. But unlike the {@link Pipelining}, it doesn't retain
+ * the calls or their results. Each call gets its own {@link CompletionStage}
+ * so results and failures can be processed as they come in, and
+ * {@link #awaitCompletion()} can be used to wait till all calls have
+ * completed.
+ * <pre>
+ *     StreamingPipelining&lt;Void&gt; pipelining = new StreamingPipelining&lt;&gt;(100);
+ *     for (Map.Entry&lt;K, V&gt; entry : source) {
+ *         pipelining.add(() -&gt; map.setAsync(entry.getKey(), entry.getValue()));
+ *     }
+ *     pipelining.awaitCompletion();
+ * </pre>
+ *
+ * The StreamingPipelining is threadsafe, so multiple threads can add calls
+ * to the same StreamingPipelining; the depth is shared between them.
+ *
+ * Just like the {@link Pipelining}, it can be used by clients and members
+ * and it can be combined with the backpressure of the client/member.
+ *
+ * The CompletionStages are completed on the default callback executor of
+ * the calls, e.g. the user executor of the client or the async executor of
+ * the member, never on the threads processing the responses. Non-async
+ * dependent stages run on the same executor, so blocking in them delays
+ * the completion of the other calls; use the async variants with a
+ * dedicated executor for blocking work.
+ *
+ * @param <E> the result type of the calls.
+ */
+@Beta
+public class StreamingPipelining<E> {
+
+    private final int depth;
+    private final Semaphore permits;
+
+    /**
+     * Creates a StreamingPipelining with the given depth.
+     *
+     * @param depth the maximum number of concurrent calls allowed in this StreamingPipelining.
+     * @throws IllegalArgumentException if depth smaller than 1.
+     */
+    public StreamingPipelining(int depth) {
+        this.depth = checkPositive(depth, "depth must be positive");
+        this.permits = new Semaphore(depth);
+    }
+
+    /**
+     * Adds a call to this StreamingPipelining. Blocks until there is capacity
+     * before the call is made.
+     * <p>
+     * If the call itself throws an exception, the exception is propagated to
+     * the caller of this method and the call isn't counted as in flight.
+     *
+     * @param call the call to make.
+     * @return the CompletionStage that completes with the result of the call.
+     * @throws InterruptedException if the Thread got interrupted while waiting for capacity.
+     * @throws NullPointerException if call is null or if the call returned null.
+     */
+    public CompletionStage<E> add(Supplier<? extends ICompletableFuture<E>> call) throws InterruptedException {
+        checkNotNull(call, "call can't be null");
+
+        permits.acquire();
+        ICompletableFuture<E> future;
+        try {
+            future = checkNotNull(call.get(), "call returned null");
+        } catch (RuntimeException | Error e) {
+            permits.release();
+            throw e;
+        }
+
+        CompletableFuture<E> stage = new CompletableFuture<>();
+        future.andThen(new ExecutionCallback<E>() {
+            @Override
+            public void onResponse(E response) {
+                permits.release();
+                stage.complete(response);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                permits.release();
+                stage.completeExceptionally(t);
+            }
+        });
+        return stage;
+    }
+
+    /**
+     * Returns the number of calls currently in flight.
+     *
+     * @return the number of calls in flight.
+     */
+    public int inFlight() {
+        return depth - permits.availablePermits();
+    }
+
+    /**
+     * Waits till all calls in flight have completed. If other threads keep
+     * adding calls, this method can keep waiting. Calls that fail don't cause
+     * this method to fail; their failures are reported through the
+     * CompletionStage returned by {@link #add(Supplier)}.
+     *
+     * @throws InterruptedException if the Thread got interrupted while waiting.
+     */
+    public void awaitCompletion() throws InterruptedException {
+        permits.acquire(depth);
+        permits.release(depth);
+    }
+}
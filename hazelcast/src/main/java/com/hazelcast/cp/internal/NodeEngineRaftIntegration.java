@@ -86,9 +86,12 @@ final class NodeEngineRaftIntegration implements RaftIntegration {
     private final int partitionId;
     private final int threadId;
     private final boolean linearizableReadOptimizationEnabled;
+    private final RaftMessageBatcher messageBatcher;
 
-    NodeEngineRaftIntegration(NodeEngineImpl nodeEngine, CPGroupId groupId, CPMember localCPMember) {
+    NodeEngineRaftIntegration(NodeEngineImpl nodeEngine, CPGroupId groupId, CPMember localCPMember,
+                              RaftMessageBatcher messageBatcher) {
         this.nodeEngine = nodeEngine;
+        this.messageBatcher = messageBatcher;
         this.groupId = groupId;
         this.localCPMember = localCPMember;
         OperationServiceImpl operationService = (OperationServiceImpl) nodeEngine.getOperationService();
@@ -133,6 +136,11 @@ final class NodeEngineRaftIntegration implements RaftIntegration {
         return linearizableReadOptimizationEnabled;
     }
 
+    @Override
+    public boolean isMessageBatchingEnabled() {
+        return messageBatcher != null;
+    }
+
     @Override
     public ILogger getLogger(String name) {
         return nodeEngine.getLogger(name);
@@ -240,6 +248,12 @@ final class NodeEngineRaftIntegration implements RaftIntegration {
         }
 
         operation.setTargetMember(targetMember).setPartitionId(partitionId);
+        // snapshots are sent alone, since they can be much larger than the other messages
+        if (messageBatcher != null && !(operation instanceof InstallSnapshotOp)) {
+            messageBatcher.send(operation, targetMember.getAddress());
+            return true;
+        }
+
         return operationService.send(operation, targetMember.getAddress());
     }
 
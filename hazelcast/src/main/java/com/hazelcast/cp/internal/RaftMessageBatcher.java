@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cp.internal;
+
+import com.hazelcast.cp.internal.operation.integration.AsyncRaftOp;
+import com.hazelcast.cp.internal.operation.integration.RaftMessageBatchOp;
+import com.hazelcast.internal.util.counters.MwCounter;
+import com.hazelcast.nio.Address;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.impl.executionservice.TaskScheduler;
+import com.hazelcast.spi.impl.operationservice.impl.OperationServiceImpl;
+import com.hazelcast.util.ConstructorFunction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.util.ConcurrencyUtil.getOrPutIfAbsent;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Merges the Raft messages that the Raft nodes of different CP groups
+ * send to the same member into a single {@link RaftMessageBatchOp}.
+ * <p>
+ * The first message queued for a target member schedules a flush after
+ * the batch tick. The messages queued for the same member until the flush
+ * runs are sent together, hence the number of operations sent to a member
+ * does not grow with the number of CP groups.
+ */
+final class RaftMessageBatcher {
+
+    private final OperationServiceImpl operationService;
+    private final TaskScheduler taskScheduler;
+    private final long tickMillis;
+    private final ConcurrentMap<Address, Outbox> outboxes = new ConcurrentHashMap<>();
+    private final ConstructorFunction<Address, Outbox> outboxConstructor = Outbox::new;
+    private final MwCounter batchCount = newMwCounter();
+
+    RaftMessageBatcher(NodeEngineImpl nodeEngine, long tickMillis) {
+        this.operationService = nodeEngine.getOperationService();
+        this.taskScheduler = nodeEngine.getExecutionService().getGlobalTaskScheduler();
+        this.tickMillis = tickMillis;
+    }
+
+    /**
+     * Queues the given operation to be sent to the target member
+     * with the next batch.
+     */
+    void send(AsyncRaftOp op, Address target) {
+        getOrPutIfAbsent(outboxes, target, outboxConstructor).offer(op);
+    }
+
+    /**
+     * Drops the messages waiting to be sent to the given member.
+     */
+    void remove(Address target) {
+        outboxes.remove(target);
+    }
+
+    /**
+     * Returns the number of batches sent with multiple messages.
+     */
+    long getBatchCount() {
+        return batchCount.get();
+    }
+
+    private final class Outbox implements Runnable {
+
+        private final Address target;
+        private final Queue<AsyncRaftOp> ops = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+        Outbox(Address target) {
+            this.target = target;
+        }
+
+        void offer(AsyncRaftOp op) {
+            ops.offer(op);
+            if (flushScheduled.compareAndSet(false, true)) {
+                taskScheduler.schedule(this, tickMillis, MILLISECONDS);
+            }
+        }
+
+        @Override
+        public void run() {
+            // messages queued from now on will be sent with the next flush
+            flushScheduled.set(false);
+
+            List<AsyncRaftOp> batch = new ArrayList<>();
+            for (AsyncRaftOp op = ops.poll(); op != null; op = ops.poll()) {
+                batch.add(op);
+            }
+
+            if (batch.size() == 1) {
+                operationService.send(batch.get(0), target);
+            } else if (batch.size() > 1) {
+                batchCount.inc();
+                operationService.send(new RaftMessageBatchOp(batch), target);
+            }
+        }
+    }
+}
@@ -55,6 +55,7 @@ import com.hazelcast.cp.internal.raftop.metadata.RaftServicePreJoinOp;
 import com.hazelcast.cp.internal.raftop.metadata.RemoveCPMemberOp;
 import com.hazelcast.cluster.impl.MemberImpl;
 import com.hazelcast.internal.cluster.ClusterService;
+import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.util.SimpleCompletableFuture;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.internal.services.GracefulShutdownAwareService;
@@ -69,6 +70,7 @@ import com.hazelcast.internal.services.PreJoinAwareService;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.impl.operationservice.impl.OperationServiceImpl;
 import com.hazelcast.spi.impl.servicemanager.ServiceInfo;
+import com.hazelcast.spi.properties.GroupProperty;
 import com.hazelcast.util.Clock;
 import com.hazelcast.util.ExceptionUtil;
 import com.hazelcast.util.executor.ManagedExecutorService;
@@ -126,6 +128,7 @@ public class RaftService implements ManagedService, SnapshotAwareService<Metadat
     private final RaftInvocationManager invocationManager;
     private final MetadataRaftGroupManager metadataGroupManager;
     private final ConcurrentMap<CPMemberInfo, Long> missingMembers = new ConcurrentHashMap<>();
+    private final RaftMessageBatcher messageBatcher;
 
     public RaftService(NodeEngine nodeEngine) {
         this.nodeEngine = (NodeEngineImpl) nodeEngine;
@@ -135,10 +138,18 @@ public class RaftService implements ManagedService, SnapshotAwareService<Metadat
         checkCPSubsystemConfig(this.config);
         this.metadataGroupManager = new MetadataRaftGroupManager(nodeEngine, this, config);
         this.invocationManager = new RaftInvocationManager(nodeEngine, this);
+        this.messageBatcher = createMessageBatcher();
+    }
+
+    private RaftMessageBatcher createMessageBatcher() {
+        long tickMillis = nodeEngine.getProperties().getMillis(GroupProperty.CP_RAFT_MESSAGE_BATCH_TICK_MILLIS);
+        return tickMillis > 0 ? new RaftMessageBatcher(nodeEngine, tickMillis) : null;
     }
 
     @Override
     public void init(NodeEngine nodeEngine, Properties properties) {
+        this.nodeEngine.getMetricsRegistry().scanAndRegister(this, "cp");
+
         if (!metadataGroupManager.init()) {
             return;
         }
@@ -481,6 +492,9 @@ public class RaftService implements ManagedService, SnapshotAwareService<Metadat
 
     @Override
     public void memberRemoved(MembershipServiceEvent event) {
+        if (messageBatcher != null) {
+            messageBatcher.remove(event.getMember().getAddress());
+        }
         updateMissingMembers();
     }
 
@@ -593,6 +607,29 @@ public class RaftService implements ManagedService, SnapshotAwareService<Metadat
         return new ArrayList<>(nodes.values());
     }
 
+    @Probe
+    public long getLeaderLeaseQueryCount() {
+        long count = 0;
+        for (RaftNode node : nodes.values()) {
+            count += ((RaftNodeImpl) node).getLeaderLeaseQueryCount();
+        }
+        return count;
+    }
+
+    @Probe
+    public long getLeaderLeaseExpirationCount() {
+        long count = 0;
+        for (RaftNode node : nodes.values()) {
+            count += ((RaftNodeImpl) node).getLeaderLeaseExpirationCount();
+        }
+        return count;
+    }
+
+    @Probe
+    public long getRaftMessageBatchCount() {
+        return messageBatcher != null ? messageBatcher.getBatchCount() : 0;
+    }
+
     public RaftNode getRaftNode(CPGroupId groupId) {
         return nodes.get(groupId);
     }
@@ -659,7 +696,7 @@ public class RaftService implements ManagedService, SnapshotAwareService<Metadat
             steppedDownGroupIds.remove(groupId);
         }
 
-        RaftIntegration integration = new NodeEngineRaftIntegration(nodeEngine, groupId, localCPMember);
+        RaftIntegration integration = new NodeEngineRaftIntegration(nodeEngine, groupId, localCPMember, messageBatcher);
         RaftAlgorithmConfig raftAlgorithmConfig = config.getRaftAlgorithmConfig();
         RaftNodeImpl node = new RaftNodeImpl(groupId, localCPMember, (Collection) members, raftAlgorithmConfig, integration);
 
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cp.internal.operation.integration;
+
+import com.hazelcast.cp.internal.RaftService;
+import com.hazelcast.cp.internal.RaftServiceDataSerializerHook;
+import com.hazelcast.cp.internal.RaftSystemOperation;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.spi.impl.operationservice.Operation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Carries Raft RPCs of multiple CP groups sent to the same member
+ * in a single operation. Each RPC is handed over to the Raft node
+ * of its CP group, which runs it on its own partition thread.
+ */
+public class RaftMessageBatchOp extends Operation implements IdentifiedDataSerializable, RaftSystemOperation {
+
+    private List<AsyncRaftOp> ops;
+
+    public RaftMessageBatchOp() {
+    }
+
+    public RaftMessageBatchOp(List<AsyncRaftOp> ops) {
+        this.ops = ops;
+    }
+
+    @Override
+    public void run() {
+        RaftService service = getService();
+        for (AsyncRaftOp op : ops) {
+            op.setNodeEngine(getNodeEngine());
+            op.setService(service);
+            try {
+                op.run();
+            } catch (Exception e) {
+                getLogger().warning("Failure while handling " + op, e);
+            }
+        }
+    }
+
+    @Override
+    public final boolean returnsResponse() {
+        return false;
+    }
+
+    @Override
+    public final Object getResponse() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String getServiceName() {
+        return RaftService.SERVICE_NAME;
+    }
+
+    @Override
+    public final boolean validatesTarget() {
+        return false;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeInt(ops.size());
+        for (AsyncRaftOp op : ops) {
+            out.writeObject(op);
+        }
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        int size = in.readInt();
+        ops = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            AsyncRaftOp op = in.readObject();
+            ops.add(op);
+        }
+    }
+
+    @Override
+    public int getFactoryId() {
+        return RaftServiceDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return RaftServiceDataSerializerHook.RAFT_MESSAGE_BATCH_OP;
+    }
+
+    @Override
+    protected void toString(StringBuilder sb) {
+        super.toString(sb);
+        sb.append(", opCount=").append(ops.size());
+    }
+}
@@ -49,6 +49,11 @@ public enum QueryPolicy {
      * a log entry to Raft log or using the algorithm defined in
      * <i>6.4 Processing read-only queries more efficiently</i>
      * section of Raft dissertation.
+     * <p>
+     * If leader leases are enabled via
+     * {@link com.hazelcast.config.cp.RaftAlgorithmConfig#getLeaderLeaseTimeoutInMillis()},
+     * the leader runs the query locally while it holds a valid lease,
+     * assuming that clock drift between the members is bounded.
      */
     LINEARIZABLE
 }
@@ -202,6 +202,14 @@ public interface RaftIntegration {
      */
     boolean isLinearizableReadOptimizationEnabled();
 
+    /**
+     * Returns true if the Raft messages sent to the same member are batched
+     * with the Raft messages of the other Raft nodes running on the local
+     * member. If so, heartbeats are aligned to the heartbeat period so that
+     * heartbeats of different Raft nodes are sent in the same batch.
+     */
+    boolean isMessageBatchingEnabled();
+
     /**
      * Called when RaftNode status changes.
      * @param status new status
@@ -60,6 +60,7 @@ import com.hazelcast.cp.internal.raft.impl.task.ReplicateTask;
 import com.hazelcast.cp.internal.raft.impl.util.PostponedResponse;
 import com.hazelcast.cp.internal.util.Tuple2;
 import com.hazelcast.internal.util.SimpleCompletableFuture;
+import com.hazelcast.internal.util.counters.SwCounter;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.util.Clock;
 import com.hazelcast.util.RandomPicker;
@@ -79,6 +80,7 @@ import static com.hazelcast.cp.internal.raft.impl.RaftNodeStatus.TERMINATING;
 import static com.hazelcast.cp.internal.raft.impl.RaftNodeStatus.UPDATING_GROUP_MEMBER_LIST;
 import static com.hazelcast.cp.internal.raft.impl.RaftRole.FOLLOWER;
 import static com.hazelcast.cp.internal.raft.impl.RaftRole.LEADER;
+import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
 import static com.hazelcast.util.Preconditions.checkNotNull;
 import static java.lang.Math.min;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
@@ -107,13 +109,28 @@ public class RaftNodeImpl implements RaftNode {
     private final int commitIndexAdvanceCountToSnapshot;
     private final int maxMissedLeaderHeartbeatCount;
     private final long appendRequestBackoffTimeoutInMillis;
+    private final int appendRequestMaxInFlightCount;
+    private final long leaderLeaseDurationNanos;
+    private final long leaderElectionTimeoutNanos;
     private final int maxNumberOfLogsToKeepAfterSnapshot;
     private final Runnable appendRequestBackoffResetTask;
+    private final Runnable appendRequestBroadcastTask;
+    private final SwCounter leaderLeaseQueryCount = newSwCounter();
+    private final SwCounter leaderLeaseExpirationCount = newSwCounter();
 
     private long lastAppendEntriesTimestamp;
+    /**
+     * The {@link System#nanoTime()} value when the last append request is
+     * received from the leader. Unlike {@link #lastAppendEntriesTimestamp},
+     * it is not affected by wall clock changes, hence it is used for
+     * the leader lease.
+     */
+    private long lastAppendEntriesNanos;
     private boolean appendRequestBackoffResetTaskScheduled;
+    private boolean appendRequestBroadcastTaskSubmitted;
     private volatile RaftNodeStatus status = ACTIVE;
 
+    @SuppressWarnings("checkstyle:executablestatementcount")
     public RaftNodeImpl(CPGroupId groupId, Endpoint localMember, Collection<Endpoint> members,
                         RaftAlgorithmConfig raftAlgorithmConfig, RaftIntegration raftIntegration) {
         checkNotNull(groupId);
@@ -130,10 +147,18 @@ public class RaftNodeImpl implements RaftNode {
         this.maxMissedLeaderHeartbeatCount = raftAlgorithmConfig.getMaxMissedLeaderHeartbeatCount();
         this.maxNumberOfLogsToKeepAfterSnapshot = (int) (commitIndexAdvanceCountToSnapshot * RATIO_TO_KEEP_LOGS_AFTER_SNAPSHOT);
         this.appendRequestBackoffTimeoutInMillis = raftAlgorithmConfig.getAppendRequestBackoffTimeoutInMillis();
+        this.appendRequestMaxInFlightCount = raftAlgorithmConfig.getAppendRequestMaxInFlightCount();
+        this.leaderLeaseDurationNanos = raftAlgorithmConfig.getLeaderLeaseTimeoutInMillis() > 0
+                ? MILLISECONDS.toNanos(raftAlgorithmConfig.getLeaderLeaseTimeoutInMillis()
+                        - raftAlgorithmConfig.getLeaderLeaseSafetyMarginInMillis())
+                : 0;
+        this.leaderElectionTimeoutNanos = MILLISECONDS.toNanos(leaderElectionTimeout);
+        this.lastAppendEntriesNanos = System.nanoTime() - leaderElectionTimeoutNanos;
         int logCapacity = commitIndexAdvanceCountToSnapshot + maxUncommittedEntryCount + maxNumberOfLogsToKeepAfterSnapshot;
         this.state = new RaftState(groupId, localMember, members, logCapacity);
         this.logger = getLogger(RaftNode.class);
         this.appendRequestBackoffResetTask = new AppendRequestBackoffResetTask();
+        this.appendRequestBroadcastTask = new AppendRequestBroadcastTask();
     }
 
     public ILogger getLogger(Class clazz) {
@@ -397,6 +422,94 @@ public class RaftNodeImpl implements RaftNode {
         return queryState.queryCount() < maxUncommittedEntryCount;
     }
 
+    /**
+     * Runs the given query locally if the leader holds a valid lease
+     * and returns true, returns false otherwise. This method can be invoked
+     * only when the local Raft node is the leader and
+     * {@link #canQueryLinearizable()} returns true.
+     * <p>
+     * The leader obtains its lease when the majority of the group acknowledges
+     * a heartbeat round, and the lease lasts for
+     * {@link RaftAlgorithmConfig#getLeaderLeaseTimeoutInMillis()} minus
+     * {@link RaftAlgorithmConfig#getLeaderLeaseSafetyMarginInMillis()}
+     * starting from the beginning of that round. Since the followers
+     * acknowledging the round do not vote for another candidate until
+     * the leader election timeout elapses, no other leader can commit a new
+     * entry while the lease is valid. The lease is measured with
+     * {@link System#nanoTime()}, so wall clock changes do not extend it.
+     */
+    public boolean tryRunLeaderLeaseQuery(Object operation, SimpleCompletableFuture resultFuture) {
+        if (!isLeaderLeaseEnabled()) {
+            return false;
+        }
+
+        LeaderState leaderState = state.leaderState();
+        if (!leaderState.isLeaseHeld()) {
+            return false;
+        } else if (leaderState.leaseExpirationNanos() - System.nanoTime() <= 0) {
+            if (logger.isFineEnabled()) {
+                logger.fine("Leader lease expired in term: " + state.term());
+            }
+            leaderState.resetLease();
+            leaderLeaseExpirationCount.inc();
+            return false;
+        }
+
+        leaderLeaseQueryCount.inc();
+        runQuery(operation, resultFuture);
+        return true;
+    }
+
+    /**
+     * Extends the lease of the leader after the majority of the group
+     * acknowledges the heartbeat round started at the given
+     * {@link System#nanoTime()} value.
+     */
+    public void extendLeaderLease(long queryRoundStartNanos) {
+        if (isLeaderLeaseEnabled()) {
+            state.leaderState().extendLease(queryRoundStartNanos + leaderLeaseDurationNanos);
+        }
+    }
+
+    /**
+     * Returns true if leader leases are enabled and this node has received
+     * an append request from the leader within the leader election timeout.
+     * In this case, the leader may still hold a valid lease, hence this node
+     * must not start a new leader election.
+     */
+    public boolean isInLeaderLeasePeriod() {
+        return isLeaderLeaseEnabled()
+                && System.nanoTime() - lastAppendEntriesNanos < leaderElectionTimeoutNanos;
+    }
+
+    private boolean isLeaderLeaseEnabled() {
+        return leaderLeaseDurationNanos > 0;
+    }
+
+    /**
+     * Returns the number of linearizable queries run locally
+     * with a valid leader lease.
+     */
+    public long getLeaderLeaseQueryCount() {
+        return leaderLeaseQueryCount.get();
+    }
+
+    /**
+     * Returns the number of leader leases expired
+     * before the leader renewed them.
+     */
+    public long getLeaderLeaseExpirationCount() {
+        return leaderLeaseExpirationCount.get();
+    }
+
+    /**
+     * Returns true if multiple append requests can be in flight
+     * for a follower.
+     */
+    public boolean isAppendRequestPipeliningEnabled() {
+        return appendRequestMaxInFlightCount > 1;
+    }
+
     /**
      * Returns true if the linearizable read optimization is enabled.
      */
@@ -413,10 +526,18 @@ public class RaftNodeImpl implements RaftNode {
 
     /**
      * Schedules periodic heartbeat task when a new leader is elected.
+     * If the integration batches Raft messages, heartbeats are aligned to
+     * multiples of the heartbeat period, so that the leaders of different
+     * Raft groups running on the same member send their heartbeats
+     * at the same time and the integration can batch them.
      */
     private void scheduleHeartbeat() {
         broadcastAppendRequest();
-        schedule(new HeartbeatTask(), heartbeatPeriodInMillis);
+        long delay = heartbeatPeriodInMillis;
+        if (raftIntegration.isMessageBatchingEnabled()) {
+            delay -= Clock.currentTimeMillis() % heartbeatPeriodInMillis;
+        }
+        schedule(new HeartbeatTask(), delay);
     }
 
     public void send(PreVoteRequest request, Endpoint target) {
@@ -457,6 +578,22 @@ public class RaftNodeImpl implements RaftNode {
         updateLastAppendEntriesTimestamp();
     }
 
+    /**
+     * Submits a task to broadcast append-entries request to all group members,
+     * if there is not already one waiting to run. Log entries appended by
+     * the tasks queued before the broadcast task are sent in the same
+     * append request, hence the batch size follows the depth of the task queue
+     * instead of a batching timeout.
+     */
+    public void submitAppendRequestBroadcast() {
+        if (appendRequestBroadcastTaskSubmitted) {
+            return;
+        }
+
+        appendRequestBroadcastTaskSubmitted = true;
+        raftIntegration.execute(appendRequestBroadcastTask);
+    }
+
     /**
      * Sends an append-entries request to the follower member.
      * <p>
@@ -470,6 +607,10 @@ public class RaftNodeImpl implements RaftNode {
      * <p>
      * If log entries contains multiple membership change entries, then entries batch is split to send only a single
      * membership change in single append-entries request.
+     * <p>
+     * If {@link RaftAlgorithmConfig#getAppendRequestMaxInFlightCount()} is greater than 1 and leader knows follower's
+     * matchIndex, then follower's nextIndex is advanced right after the entries are sent, and the backoff is set only
+     * when the number of in-flight append requests reaches that limit.
      */
     @SuppressWarnings({"checkstyle:npathcomplexity", "checkstyle:cyclomaticcomplexity", "checkstyle:methodlength"})
     public void sendAppendRequest(Endpoint follower) {
@@ -530,6 +671,12 @@ public class RaftNodeImpl implements RaftNode {
                 // the leader should begin to send the actual entries
                 long end = min(nextIndex + appendRequestMaxEntryCount, raftLog.lastLogOrSnapshotIndex());
                 entries = raftLog.getEntriesBetween(nextIndex, end);
+                if (appendRequestMaxInFlightCount > 1) {
+                    // Pipeline the next append request right after this one,
+                    // unless we have enough append requests in flight
+                    int inFlightCount = followerState.appendRequestPipelined(end);
+                    setAppendRequestBackoff = inFlightCount >= appendRequestMaxInFlightCount;
+                }
             } else {
                 // The follower has caught up with the leader. Sending an empty append request as a heartbeat...
                 entries = new LogEntry[0];
@@ -659,6 +806,7 @@ public class RaftNodeImpl implements RaftNode {
 
     public void updateLastAppendEntriesTimestamp() {
         lastAppendEntriesTimestamp = Clock.currentTimeMillis();
+        lastAppendEntriesNanos = System.nanoTime();
     }
 
     public long lastAppendEntriesTimestamp() {
@@ -1050,6 +1198,26 @@ public class RaftNodeImpl implements RaftNode {
         }
     }
 
+    /**
+     * Broadcasts append-entries request for the log entries appended
+     * since the previous broadcast.
+     *
+     * @see #submitAppendRequestBroadcast()
+     */
+    private class AppendRequestBroadcastTask extends RaftNodeStatusAwareTask {
+        AppendRequestBroadcastTask() {
+            super(RaftNodeImpl.this);
+        }
+
+        @Override
+        protected void innerRun() {
+            appendRequestBroadcastTaskSubmitted = false;
+            if (state.role() == LEADER) {
+                broadcastAppendRequest();
+            }
+        }
+    }
+
     /**
      * If the append request backoff flag is set for any follower, this task resets
      * the flag, sends a new append request, and schedules itself again.
@@ -1073,7 +1241,11 @@ public class RaftNodeImpl implements RaftNode {
                     }
                     if (followerState.completeAppendRequestBackoffRound()) {
                         // This follower has not sent a response to the last append request.
-                        // Send another append request
+                        // Send another append request, starting again from
+                        // the match index if append requests are pipelined
+                        if (followerState.inFlightAppendRequestCount() > 0) {
+                            followerState.resetPipelinedAppendRequests();
+                        }
                         sendAppendRequest(entry.getKey());
                     }
                     // Schedule the task again, we still have backoff flag set followers
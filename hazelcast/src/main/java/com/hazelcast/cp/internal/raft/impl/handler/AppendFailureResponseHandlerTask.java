@@ -31,6 +31,8 @@ import static com.hazelcast.cp.internal.raft.impl.RaftRole.LEADER;
  * or {@link InstallSnapshotHandlerTask} after an install snapshot request.
  * <p>
  * Decrements {@code nextIndex} of the follower by 1 if the response is valid.
+ * If the response belongs to a pipelined append request, {@code nextIndex}
+ * is moved back to the entry after {@code matchIndex} of the follower.
  * <p>
  * See <i>5.3 Log replication</i> section of
  * <i>In Search of an Understandable Consensus Algorithm</i>
@@ -98,6 +100,17 @@ public class AppendFailureResponseHandlerTask extends AbstractResponseHandlerTas
             }
             followerState.nextIndex(nextIndex);
             return true;
+        } else if (matchIndex > 0 && resp.expectedNextIndex() > matchIndex + 1 && resp.expectedNextIndex() < nextIndex) {
+            // The follower has missed a pipelined append request
+            // and rejected the ones sent after it. Sending the entries after its match index again...
+            followerState.resetAppendRequestBackoff();
+            followerState.resetPipelinedAppendRequests();
+
+            if (logger.isFineEnabled()) {
+                logger.fine("Resetting next index: " + followerState.nextIndex() + " for follower: " + resp.follower()
+                        + " after pipelined append request failure");
+            }
+            return true;
         }
 
         return false;
@@ -104,12 +104,12 @@ public class AppendSuccessResponseHandlerTask extends AbstractResponseHandlerTas
             // Received a response for the last append request. Resetting the flag...
             followerState.resetAppendRequestBackoff();
 
-            long newNextIndex = followerLastLogIndex + 1;
-            followerState.matchIndex(followerLastLogIndex);
-            followerState.nextIndex(newNextIndex);
+            // The next index is not moved back if there are pipelined append requests
+            // sent after the one acknowledged with this response
+            followerState.appendRequestAcked(followerLastLogIndex);
 
             if (logger.isFineEnabled()) {
-                logger.fine("Updated match index: " + followerLastLogIndex + " and next index: " + newNextIndex
+                logger.fine("Updated match index: " + followerLastLogIndex + " and next index: " + followerState.nextIndex()
                         + " for follower: " + follower);
             }
 
@@ -191,6 +191,9 @@ public class AppendSuccessResponseHandlerTask extends AbstractResponseHandlerTas
             return;
         }
 
+        // The majority has acknowledged the leader after the current round is started
+        raftNode.extendLeaderLease(queryState.queryRoundStartNanos());
+
         Collection<Tuple2<Object, SimpleCompletableFuture>> operations = queryState.operations();
 
         if (logger.isFineEnabled()) {
@@ -207,8 +210,9 @@ public class AppendSuccessResponseHandlerTask extends AbstractResponseHandlerTas
 
     private void trySendAppendRequest(RaftState state) {
         long followerLastLogIndex = resp.lastLogIndex();
-        if (state.log().lastLogOrSnapshotIndex() > followerLastLogIndex || state.commitIndex() == followerLastLogIndex) {
-            // If the follower is still missing some log entries or has not learnt the latest commit index yet,
+        FollowerState followerState = state.leaderState().getFollowerState(resp.follower());
+        if (state.log().lastLogOrSnapshotIndex() >= followerState.nextIndex() || state.commitIndex() == followerLastLogIndex) {
+            // If there are log entries not sent to the follower yet or it has not learnt the latest commit index yet,
             // then send another append request.
             raftNode.sendAppendRequest(resp.follower());
         }
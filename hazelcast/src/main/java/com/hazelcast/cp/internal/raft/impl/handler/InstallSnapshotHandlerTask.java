@@ -83,6 +83,7 @@ public class InstallSnapshotHandlerTask extends RaftNodeStatusAwareTask implemen
         }
 
         if (raftNode.installSnapshot(snapshot)) {
+            raftNode.updateLastAppendEntriesTimestamp();
             raftNode.send(new AppendSuccessResponse(localMember(), req.term(), snapshot.index(), req.queryRound()), req.leader());
         }
     }
@@ -60,7 +60,8 @@ public class PreVoteRequestHandlerTask extends RaftNodeStatusAwareTask implement
         }
 
         // Reply false if last AppendEntries call was received less than election timeout ago (leader stickiness)
-        if (raftNode.lastAppendEntriesTimestamp() > Clock.currentTimeMillis() - raftNode.getLeaderElectionTimeoutInMillis()) {
+        if (raftNode.lastAppendEntriesTimestamp() > Clock.currentTimeMillis() - raftNode.getLeaderElectionTimeoutInMillis()
+                || raftNode.isInLeaderLeasePeriod()) {
             logger.info("Rejecting " + req + " since received append entries recently.");
             raftNode.send(new PreVoteResponse(localEndpoint, state.term(), false), req.candidate());
             return;
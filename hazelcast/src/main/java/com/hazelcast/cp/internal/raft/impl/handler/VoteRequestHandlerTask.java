@@ -56,7 +56,8 @@ public class VoteRequestHandlerTask extends RaftNodeStatusAwareTask implements R
         Endpoint localMember = localMember();
 
         // Reply false if last AppendEntries call was received less than election timeout ago (leader stickiness)
-        if (raftNode.lastAppendEntriesTimestamp() > Clock.currentTimeMillis() - raftNode.getLeaderElectionTimeoutInMillis()) {
+        if (raftNode.lastAppendEntriesTimestamp() > Clock.currentTimeMillis() - raftNode.getLeaderElectionTimeoutInMillis()
+                || raftNode.isInLeaderLeasePeriod()) {
             logger.info("Rejecting " + req + " since received append entries recently.");
             raftNode.send(new VoteResponse(localMember, state.term(), false), req.candidate());
             return;
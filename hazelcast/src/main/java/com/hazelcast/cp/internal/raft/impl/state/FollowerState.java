@@ -28,6 +28,8 @@ import static java.lang.Math.min;
  * on server (initialized to 0, increases monotonically)</li>
  * <li>{@code appendRequestBackoff}: a boolean flag indicating that leader is still
  * waiting for a response to the last sent append request</li>
+ * <li>{@code inFlightAppendRequestCount}: number of pipelined append requests
+ * sent to the follower, for which the leader has not received a response yet</li>
  * </ul>
  */
 public class FollowerState {
@@ -42,6 +44,8 @@ public class FollowerState {
 
     private int nextBackoffPower;
 
+    private int inFlightAppendRequestCount;
+
     FollowerState(long matchIndex, long nextIndex) {
         this.matchIndex = matchIndex;
         this.nextIndex = nextIndex;
@@ -75,6 +79,50 @@ public class FollowerState {
         this.nextIndex = nextIndex;
     }
 
+    /**
+     * Returns the number of pipelined append requests sent to the follower
+     * without receiving a response.
+     */
+    public int inFlightAppendRequestCount() {
+        return inFlightAppendRequestCount;
+    }
+
+    /**
+     * Records a pipelined append request sent to the follower
+     * and advances the next index beyond its last log entry
+     * without waiting for the response.
+     *
+     * @return number of in-flight append requests after this one
+     */
+    public int appendRequestPipelined(long lastEntryIndex) {
+        nextIndex = lastEntryIndex + 1;
+        return ++inFlightAppendRequestCount;
+    }
+
+    /**
+     * Updates the match index with a successful append response
+     * and completes the in-flight append requests it covers.
+     */
+    public void appendRequestAcked(long followerLastLogIndex) {
+        matchIndex = followerLastLogIndex;
+        if (followerLastLogIndex >= nextIndex - 1) {
+            nextIndex = followerLastLogIndex + 1;
+            inFlightAppendRequestCount = 0;
+        } else if (inFlightAppendRequestCount > 0) {
+            inFlightAppendRequestCount--;
+        }
+    }
+
+    /**
+     * Discards the pipelined append requests and rewinds the next index
+     * to the entry after the match index, so that the log entries
+     * of the discarded requests are sent again.
+     */
+    public void resetPipelinedAppendRequests() {
+        nextIndex = matchIndex + 1;
+        inFlightAppendRequestCount = 0;
+    }
+
     /**
      * Returns whether leader is waiting for response of the last append request.
      */
@@ -122,6 +170,7 @@ public class FollowerState {
     @Override
     public String toString() {
         return "FollowerState{" + "matchIndex=" + matchIndex + ", nextIndex=" + nextIndex + ", backoffRound=" + backoffRound
-                + ", nextBackoffRound=" + nextBackoffRound() + '}';
+                + ", nextBackoffRound=" + nextBackoffRound() + ", inFlightAppendRequestCount=" + inFlightAppendRequestCount
+                + '}';
     }
 }
@@ -33,6 +33,18 @@ public class LeaderState {
     private final Map<Endpoint, FollowerState> followerStates = new HashMap<>();
     private final QueryState queryState = new QueryState();
 
+    /**
+     * Whether the leader holds the lease obtained by the last completed
+     * heartbeat round.
+     */
+    private boolean leaseHeld;
+
+    /**
+     * The {@link System#nanoTime()} value at which the lease expires.
+     * Valid only if {@link #leaseHeld} is true.
+     */
+    private long leaseExpirationNanos;
+
     LeaderState(Collection<Endpoint> remoteMembers, long lastLogIndex) {
         for (Endpoint follower : remoteMembers) {
             followerStates.put(follower, new FollowerState(0L, lastLogIndex + 1));
@@ -87,6 +99,32 @@ public class LeaderState {
         return queryState;
     }
 
+    public boolean isLeaseHeld() {
+        return leaseHeld;
+    }
+
+    public long leaseExpirationNanos() {
+        return leaseExpirationNanos;
+    }
+
+    /**
+     * Extends the leader lease to the given {@link System#nanoTime()} value,
+     * if the current lease expires earlier.
+     */
+    public void extendLease(long leaseExpirationNanos) {
+        if (!leaseHeld || leaseExpirationNanos - this.leaseExpirationNanos > 0) {
+            this.leaseHeld = true;
+            this.leaseExpirationNanos = leaseExpirationNanos;
+        }
+    }
+
+    /**
+     * Drops the leader lease after it expires.
+     */
+    public void resetLease() {
+        leaseHeld = false;
+    }
+
     public long queryRound() {
         return queryState.queryRound();
     }
@@ -61,6 +61,13 @@ public class QueryState {
      */
     private long queryRound;
 
+    /**
+     * The {@link System#nanoTime()} value when the current heartbeat round
+     * is started. All AppendEntriesRPCs of the current round are sent
+     * after this time.
+     */
+    private long queryRoundStartNanos;
+
     /**
      * Queries waiting to be executed.
      */
@@ -91,6 +98,7 @@ public class QueryState {
         int size = operations.size();
         if (size == 1) {
             queryRound++;
+            queryRoundStartNanos = System.nanoTime();
         }
 
         return size;
@@ -137,6 +145,14 @@ public class QueryState {
         return queryRound;
     }
 
+    /**
+     * Returns the {@link System#nanoTime()} value when the current
+     * heartbeat round is started.
+     */
+    public long queryRoundStartNanos() {
+        return queryRoundStartNanos;
+    }
+
     /**
      * Returns {@code true} if there are queries waiting and acks are received
      * from the majority. Fails with {@link IllegalStateException} if
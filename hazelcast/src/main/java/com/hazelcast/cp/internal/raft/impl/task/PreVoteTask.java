@@ -52,6 +52,9 @@ public class PreVoteTask extends RaftNodeStatusAwareTask implements Runnable {
         } else if (state.term() != term) {
             logger.fine("No new pre-vote phase for term= " + term + " because of new term: " + state.term());
             return;
+        } else if (raftNode.isInLeaderLeasePeriod()) {
+            logger.fine("No new pre-vote phase, since the last leader may still hold its lease");
+            return;
         }
 
         Collection<Endpoint> remoteMembers = state.remoteMembers();
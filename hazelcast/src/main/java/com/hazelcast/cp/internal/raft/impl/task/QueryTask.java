@@ -122,6 +122,10 @@ public class QueryTask implements Runnable {
             return;
         }
 
+        if (raftNode.tryRunLeaderLeaseQuery(operation, resultFuture)) {
+            return;
+        }
+
         long commitIndex = state.commitIndex();
         QueryState queryState = state.leaderState().queryState();
 
@@ -94,7 +94,11 @@ public class ReplicateTask implements Runnable {
 
             preApplyRaftGroupCmd(newEntryLogIndex, operation);
 
-            raftNode.broadcastAppendRequest();
+            if (raftNode.isAppendRequestPipeliningEnabled()) {
+                raftNode.submitAppendRequestBroadcast();
+            } else {
+                raftNode.broadcastAppendRequest();
+            }
         } catch (Throwable t) {
             logger.severe(operation + " could not be replicated to leader: " + raftNode.getLocalMember(), t);
             resultFuture.setResult(new CPSubsystemException("Internal failure", raftNode.getLeader(), t));
@@ -25,6 +25,7 @@ import com.hazelcast.internal.networking.ChannelErrorHandler;
 import com.hazelcast.internal.networking.Networking;
 import com.hazelcast.internal.networking.ServerSocketRegistry;
 import com.hazelcast.internal.networking.nio.NioNetworking;
+import com.hazelcast.internal.networking.nio.NioThread;
 import com.hazelcast.internal.util.InstantiationUtils;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.LoggingServiceImpl;
@@ -165,6 +166,8 @@ public class DefaultNodeContext implements NodeContext {
 
         HazelcastProperties props = node.getProperties();
 
+        NioThread[] partitionLoops = node.nodeEngine.getOperationService().getOperationExecutor().getPartitionLoops();
+
         return new NioNetworking(
                 new NioNetworking.Context()
                         .loggingService(loggingService)
@@ -175,6 +178,7 @@ public class DefaultNodeContext implements NodeContext {
                         .outputThreadCount(props.getInteger(IO_OUTPUT_THREAD_COUNT))
                         .balancerIntervalSeconds(props.getInteger(IO_BALANCER_INTERVAL_SECONDS))
                         .writeThroughEnabled(props.getBoolean(IO_WRITE_THROUGH_ENABLED))
-                        .concurrencyDetection(node.nodeEngine.getConcurrencyDetection()));
+                        .concurrencyDetection(node.nodeEngine.getConcurrencyDetection())
+                        .sharedInputThreads(partitionLoops.length > 0 ? partitionLoops : null));
     }
 }
@@ -270,7 +270,8 @@ public class DefaultNodeExtension implements NodeExtension {
     @Override
     public OutboundHandler[] createOutboundHandlers(EndpointQualifier qualifier,
             TcpIpConnection connection, IOService ioService) {
-        return new OutboundHandler[]{new PacketEncoder()};
+        int gatheringWriteThreshold = node.getProperties().getInteger(GroupProperty.SOCKET_GATHERING_WRITE_THRESHOLD);
+        return new OutboundHandler[]{new PacketEncoder(gatheringWriteThreshold * IOService.KILO_BYTE)};
     }
 
     @Override
@@ -44,6 +44,7 @@ import com.hazelcast.config.ServerSocketEndpointConfig;
 import com.hazelcast.config.WanBatchReplicationPublisherConfig;
 import com.hazelcast.config.WanReplicationConfig;
 import com.hazelcast.config.cp.CPSubsystemConfig;
+import com.hazelcast.config.cp.RaftAlgorithmConfig;
 import com.hazelcast.instance.EndpointQualifier;
 import com.hazelcast.instance.ProtocolType;
 import com.hazelcast.internal.eviction.EvictionPolicyComparator;
@@ -112,11 +113,10 @@ public final class ConfigValidator {
     public static void checkMapConfig(MapConfig mapConfig, NativeMemoryConfig nativeMemoryConfig,
                                       SplitBrainMergePolicyProvider mergePolicyProvider,
                                       HazelcastProperties properties) {
-        checkNotNativeWhenOpenSource(mapConfig.getInMemoryFormat());
+        checkNativeConfig(mapConfig, nativeMemoryConfig);
 
         boolean enterprise = getBuildInfo().isEnterprise();
         if (enterprise) {
-            checkNativeConfig(mapConfig, nativeMemoryConfig);
             checkHotRestartSpecificConfig(mapConfig, properties);
         }
         checkMapMergePolicy(mapConfig, mergePolicyProvider);
@@ -254,12 +254,15 @@ public final class ConfigValidator {
      */
     public static void checkNearCacheConfig(String mapName, NearCacheConfig nearCacheConfig,
                                             NativeMemoryConfig nativeMemoryConfig, boolean isClient) {
-        checkNotNativeWhenOpenSource(nearCacheConfig.getInMemoryFormat());
+        // clients keep NATIVE Near Caches in their own off-heap record store
+        if (!isClient) {
+            checkNotNativeWhenOpenSource(nearCacheConfig.getInMemoryFormat());
+        }
         checkLocalUpdatePolicy(mapName, nearCacheConfig.getLocalUpdatePolicy());
         checkEvictionConfig(nearCacheConfig.getEvictionConfig(), true);
         checkOnHeapNearCacheMaxSizePolicy(nearCacheConfig);
         checkNearCacheNativeMemoryConfig(nearCacheConfig.getInMemoryFormat(),
-                nativeMemoryConfig, getBuildInfo().isEnterprise());
+                nativeMemoryConfig, isClient || getBuildInfo().isEnterprise());
 
         if (isClient && nearCacheConfig.isCacheLocalEntries()) {
             throw new IllegalArgumentException("The Near Cache option `cache-local-entries` is not supported in "
@@ -318,11 +321,12 @@ public final class ConfigValidator {
      *
      * @param inMemoryFormat     the {@link InMemoryFormat} of the Near Cache
      * @param nativeMemoryConfig the {@link NativeMemoryConfig} of the Hazelcast instance
-     * @param isEnterprise       {@code true} if the Hazelcast instance is EE, {@code false} otherwise
+     * @param nativeSupported    {@code true} if NATIVE Near Caches are supported, which is the case
+     *                           on clients and on Hazelcast EE, {@code false} otherwise
      */
     static void checkNearCacheNativeMemoryConfig(InMemoryFormat inMemoryFormat, NativeMemoryConfig nativeMemoryConfig,
-                                                 boolean isEnterprise) {
-        if (!isEnterprise) {
+                                                 boolean nativeSupported) {
+        if (!nativeSupported) {
             return;
         }
         if (inMemoryFormat != NATIVE) {
@@ -520,6 +524,14 @@ public final class ConfigValidator {
         checkTrue(config.getMissingCPMemberAutoRemovalSeconds() == 0
                         || config.getSessionTimeToLiveSeconds() <= config.getMissingCPMemberAutoRemovalSeconds(),
                 "Session TTL must be smaller than or equal to missing CP member auto-removal seconds!");
+
+        RaftAlgorithmConfig raftAlgorithmConfig = config.getRaftAlgorithmConfig();
+        checkTrue(raftAlgorithmConfig.getLeaderLeaseTimeoutInMillis() < raftAlgorithmConfig.getLeaderElectionTimeoutInMillis(),
+                "Leader lease timeout must be smaller than leader election timeout!");
+        checkTrue(raftAlgorithmConfig.getLeaderLeaseTimeoutInMillis() == 0
+                        || raftAlgorithmConfig.getLeaderLeaseSafetyMarginInMillis()
+                        < raftAlgorithmConfig.getLeaderLeaseTimeoutInMillis(),
+                "Leader lease safety margin must be smaller than leader lease timeout!");
     }
 
     /**
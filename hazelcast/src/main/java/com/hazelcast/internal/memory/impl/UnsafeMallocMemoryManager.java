@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.internal.memory.ConcurrentMemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM_AVAILABLE;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE_AVAILABLE;
+import static com.hazelcast.util.Preconditions.checkPositive;
+import static com.hazelcast.util.Preconditions.checkState;
+
+/**
+ * {@link MemoryManager} which allocates blocks straight from the native address space through
+ * {@code sun.misc.Unsafe} and accesses them through the global {@link MemoryAccessor}.
+ * <p>
+ * The manager enforces an upper bound on the total number of allocated bytes and
+ * throws {@link NativeOutOfMemoryError} when an allocation request would exceed it.
+ * It does not keep track of individual blocks, so every block has to be freed by
+ * its owner before the manager is disposed.
+ */
+public class UnsafeMallocMemoryManager implements MemoryManager {
+
+    private final long maxMemory;
+    private final AtomicLong usedMemory = new AtomicLong();
+    private final Allocator malloc = new Allocator();
+
+    private volatile boolean disposed;
+
+    public UnsafeMallocMemoryManager(long maxMemory) {
+        checkState(UNSAFE_AVAILABLE && MEM_AVAILABLE, "sun.misc.Unsafe is not available on this JVM");
+        this.maxMemory = checkPositive(maxMemory, "maxMemory must be positive");
+    }
+
+    @Override
+    public MemoryAllocator getAllocator() {
+        return malloc;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Blocks are allocated aligned to 8 bytes, so the returned accessor also
+     * supports atomic operations on naturally aligned words inside a block.
+     */
+    @Override
+    public ConcurrentMemoryAccessor getAccessor() {
+        return MEM;
+    }
+
+    /**
+     * @return the number of bytes currently allocated through this manager
+     */
+    public long getUsedMemory() {
+        return usedMemory.get();
+    }
+
+    /**
+     * @return the maximum number of bytes this manager is allowed to allocate
+     */
+    public long getMaxMemory() {
+        return maxMemory;
+    }
+
+    /**
+     * @return the number of bytes which can still be allocated through this manager
+     */
+    public long getFreeMemory() {
+        return Math.max(0, maxMemory - usedMemory.get());
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+    }
+
+    private void reserve(long size) {
+        checkState(!disposed, "UnsafeMallocMemoryManager is already disposed");
+        for (; ; ) {
+            long used = usedMemory.get();
+            long newUsed = used + size;
+            if (newUsed > maxMemory) {
+                throw new NativeOutOfMemoryError("Not enough native memory to allocate " + size
+                        + " bytes. Used: " + used + ", max: " + maxMemory);
+            }
+            if (usedMemory.compareAndSet(used, newUsed)) {
+                return;
+            }
+        }
+    }
+
+    private final class Allocator implements MemoryAllocator {
+
+        @Override
+        public long allocate(long size) {
+            reserve(size);
+            long address;
+            try {
+                address = UNSAFE.allocateMemory(size);
+            } catch (OutOfMemoryError e) {
+                usedMemory.addAndGet(-size);
+                throw new NativeOutOfMemoryError("Cannot allocate " + size + " bytes of native memory", e);
+            }
+            UNSAFE.setMemory(address, size, (byte) 0);
+            return address;
+        }
+
+        @Override
+        public long reallocate(long address, long currentSize, long newSize) {
+            long diff = newSize - currentSize;
+            if (diff > 0) {
+                reserve(diff);
+            }
+            long newAddress;
+            try {
+                newAddress = UNSAFE.reallocateMemory(address, newSize);
+            } catch (OutOfMemoryError e) {
+                if (diff > 0) {
+                    usedMemory.addAndGet(-diff);
+                }
+                throw new NativeOutOfMemoryError("Cannot reallocate " + newSize + " bytes of native memory", e);
+            }
+            if (diff > 0) {
+                UNSAFE.setMemory(newAddress + currentSize, diff, (byte) 0);
+            } else {
+                usedMemory.addAndGet(diff);
+            }
+            return newAddress;
+        }
+
+        @Override
+        public void free(long address, long size) {
+            UNSAFE.freeMemory(address);
+            usedMemory.addAndGet(-size);
+        }
+
+        @Override
+        public void dispose() {
+            UnsafeMallocMemoryManager.this.dispose();
+        }
+    }
+}
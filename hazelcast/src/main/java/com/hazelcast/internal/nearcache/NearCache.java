@@ -55,6 +55,34 @@ public interface NearCache<K, V> extends InitializingObject {
             = new HazelcastProperty(PROP_EXPIRATION_TASK_PERIOD_SECONDS,
             DEFAULT_EXPIRATION_TASK_PERIOD_SECONDS);
 
+    String PROP_TINY_LFU_ENABLED
+            = "hazelcast.internal.nearcache.tinylfu.enabled";
+
+    /**
+     * Bounds on-heap Near Caches with the Window TinyLFU admission and eviction policy
+     * instead of sampling entries with the configured {@link com.hazelcast.config.EvictionPolicy}.
+     * <p>
+     * Only applies to Near Caches with the {@code BINARY} or {@code OBJECT} in-memory-format
+     * and an eviction policy other than {@code NONE}.
+     */
+    HazelcastProperty TINY_LFU_ENABLED
+            = new HazelcastProperty(PROP_TINY_LFU_ENABLED, false);
+
+    String PROP_PRELOADER_SNAPSHOT_ENABLED
+            = "hazelcast.internal.nearcache.preloader.snapshot.enabled";
+
+    /**
+     * Makes the Near Cache pre-loader store the values and the invalidation metadata
+     * together with the keys, in a file which is mapped into memory after a restart.
+     * The values are then served from the file on Near Cache misses, as long as the
+     * invalidation metadata proves them to be up to date, instead of fetching all
+     * keys from the cluster.
+     * <p>
+     * Only applies to Near Caches with an enabled pre-loader and invalidations.
+     */
+    HazelcastProperty PRELOADER_SNAPSHOT_ENABLED
+            = new HazelcastProperty(PROP_PRELOADER_SNAPSHOT_ENABLED, false);
+
     /**
      * NULL Object
      */
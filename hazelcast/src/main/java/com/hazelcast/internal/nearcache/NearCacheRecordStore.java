@@ -140,6 +140,13 @@ public interface NearCacheRecordStore<K, V> extends InitializingObject {
      */
     void storeKeys();
 
+    /**
+     * Persists the keys, the values and the invalidation metadata of the Near Cache.
+     *
+     * @see NearCache#PRELOADER_SNAPSHOT_ENABLED
+     */
+    void storeSnapshot();
+
     /**
      * @see StaleReadDetector
      */
@@ -16,13 +16,17 @@
 
 package com.hazelcast.internal.nearcache.impl;
 
+import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.internal.adapter.DataStructureAdapter;
 import com.hazelcast.internal.nearcache.NearCache;
+import com.hazelcast.internal.memory.impl.UnsafeMallocMemoryManager;
 import com.hazelcast.internal.nearcache.NearCacheRecordStore;
+import com.hazelcast.internal.nearcache.impl.store.NativeNearCacheRecordStore;
 import com.hazelcast.internal.nearcache.impl.store.NearCacheDataRecordStore;
 import com.hazelcast.internal.nearcache.impl.store.NearCacheObjectRecordStore;
+import com.hazelcast.internal.nearcache.impl.store.TinyLfuNearCacheRecordStore;
 import com.hazelcast.monitor.NearCacheStats;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.spi.impl.executionservice.TaskScheduler;
@@ -48,6 +52,7 @@ public class DefaultNearCache<K, V> implements NearCache<K, V> {
 
     private final boolean serializeKeys;
     private final HazelcastProperties properties;
+    private final UnsafeMallocMemoryManager memoryManager;
 
     private volatile boolean preloadDone;
 
@@ -62,6 +67,16 @@ public class DefaultNearCache<K, V> implements NearCache<K, V> {
                             NearCacheRecordStore<K, V> nearCacheRecordStore,
                             SerializationService serializationService, TaskScheduler scheduler,
                             ClassLoader classLoader, HazelcastProperties properties) {
+        this(name, nearCacheConfig, nearCacheRecordStore,
+                serializationService, scheduler, classLoader, properties, null);
+    }
+
+    @SuppressWarnings("checkstyle:parameternumber")
+    public DefaultNearCache(String name, NearCacheConfig nearCacheConfig,
+                            NearCacheRecordStore<K, V> nearCacheRecordStore,
+                            SerializationService serializationService, TaskScheduler scheduler,
+                            ClassLoader classLoader, HazelcastProperties properties,
+                            UnsafeMallocMemoryManager memoryManager) {
         this.name = name;
         this.nearCacheConfig = nearCacheConfig;
         this.serializationService = serializationService;
@@ -70,6 +85,7 @@ public class DefaultNearCache<K, V> implements NearCache<K, V> {
         this.nearCacheRecordStore = nearCacheRecordStore;
         this.serializeKeys = nearCacheConfig.isSerializeKeys();
         this.properties = properties;
+        this.memoryManager = memoryManager;
     }
 
     @Override
@@ -87,16 +103,32 @@ public class DefaultNearCache<K, V> implements NearCache<K, V> {
         if (inMemoryFormat == null) {
             inMemoryFormat = DEFAULT_MEMORY_FORMAT;
         }
+        if (isTinyLfuEnabled(inMemoryFormat, nearCacheConfig)) {
+            return new TinyLfuNearCacheRecordStore<K, V>(name, nearCacheConfig, serializationService, classLoader);
+        }
         switch (inMemoryFormat) {
             case BINARY:
                 return new NearCacheDataRecordStore<K, V>(name, nearCacheConfig, serializationService, classLoader);
             case OBJECT:
                 return new NearCacheObjectRecordStore<K, V>(name, nearCacheConfig, serializationService, classLoader);
+            case NATIVE:
+                if (memoryManager == null) {
+                    throw new IllegalArgumentException(
+                            "Enable native memory config to use NATIVE in-memory-format for Near Cache");
+                }
+                return new NativeNearCacheRecordStore<K, V>(name, nearCacheConfig, serializationService, classLoader,
+                        memoryManager);
             default:
                 throw new IllegalArgumentException("Invalid in memory format: " + inMemoryFormat);
         }
     }
 
+    private boolean isTinyLfuEnabled(InMemoryFormat inMemoryFormat, NearCacheConfig nearCacheConfig) {
+        return (inMemoryFormat == InMemoryFormat.BINARY || inMemoryFormat == InMemoryFormat.OBJECT)
+                && nearCacheConfig.getEvictionConfig().getEvictionPolicy() != EvictionPolicy.NONE
+                && properties.getBoolean(TINY_LFU_ENABLED);
+    }
+
     private ScheduledFuture createAndScheduleExpirationTask() {
         if (nearCacheConfig.getMaxIdleSeconds() > 0L || nearCacheConfig.getTimeToLiveSeconds() > 0L) {
             ExpirationTask expirationTask = new ExpirationTask();
@@ -170,7 +202,12 @@ public class DefaultNearCache<K, V> implements NearCache<K, V> {
     @Override
     public void storeKeys() {
         // we don't store new keys, until the pre-loader is done
-        if (preloadDone) {
+        if (!preloadDone) {
+            return;
+        }
+        if (properties.getBoolean(PRELOADER_SNAPSHOT_ENABLED)) {
+            nearCacheRecordStore.storeSnapshot();
+        } else {
             nearCacheRecordStore.storeKeys();
         }
     }
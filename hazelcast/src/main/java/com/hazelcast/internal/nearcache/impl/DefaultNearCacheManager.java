@@ -16,9 +16,12 @@
 
 package com.hazelcast.internal.nearcache.impl;
 
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.NativeMemoryConfig;
 import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.config.NearCachePreloaderConfig;
 import com.hazelcast.internal.adapter.DataStructureAdapter;
+import com.hazelcast.internal.memory.impl.UnsafeMallocMemoryManager;
 import com.hazelcast.internal.nearcache.NearCache;
 import com.hazelcast.internal.nearcache.NearCacheManager;
 import com.hazelcast.monitor.NearCacheStats;
@@ -44,14 +47,27 @@ public class DefaultNearCacheManager implements NearCacheManager {
     protected final HazelcastProperties properties;
     protected final SerializationService serializationService;
 
+    private final NativeMemoryConfig nativeMemoryConfig;
     private final Object mutex = new Object();
     private final Queue<ScheduledFuture> preloadTaskFutures = new ConcurrentLinkedQueue<ScheduledFuture>();
     private final ConcurrentMap<String, NearCache> nearCacheMap = new ConcurrentHashMap<String, NearCache>();
 
     private volatile ScheduledFuture storageTaskFuture;
+    private volatile UnsafeMallocMemoryManager memoryManager;
 
     public DefaultNearCacheManager(SerializationService ss, TaskScheduler es,
                                    ClassLoader classLoader, HazelcastProperties properties) {
+        this(ss, es, classLoader, properties, null);
+    }
+
+    /**
+     * @param nativeMemoryConfig the native memory config which bounds the memory
+     *                           of Near Caches with {@link InMemoryFormat#NATIVE}
+     *                           in-memory-format, can be {@code null}
+     */
+    public DefaultNearCacheManager(SerializationService ss, TaskScheduler es,
+                                   ClassLoader classLoader, HazelcastProperties properties,
+                                   NativeMemoryConfig nativeMemoryConfig) {
         assert ss != null;
         assert es != null;
 
@@ -59,6 +75,7 @@ public class DefaultNearCacheManager implements NearCacheManager {
         this.scheduler = es;
         this.classLoader = classLoader;
         this.properties = properties;
+        this.nativeMemoryConfig = nativeMemoryConfig;
     }
 
     @Override
@@ -99,8 +116,24 @@ public class DefaultNearCacheManager implements NearCacheManager {
     }
 
     protected <K, V> NearCache<K, V> createNearCache(String name, NearCacheConfig nearCacheConfig) {
-        return new DefaultNearCache<K, V>(name, nearCacheConfig, serializationService,
-                scheduler, classLoader, properties);
+        return new DefaultNearCache<K, V>(name, nearCacheConfig, null, serializationService,
+                scheduler, classLoader, properties, getMemoryManager(nearCacheConfig));
+    }
+
+    /**
+     * Returns the memory manager shared by all Near Caches with {@link InMemoryFormat#NATIVE}
+     * in-memory-format, or {@code null} if the given Near Cache doesn't need one or native
+     * memory is not enabled. Must be called while holding the mutex.
+     */
+    private UnsafeMallocMemoryManager getMemoryManager(NearCacheConfig nearCacheConfig) {
+        if (nearCacheConfig.getInMemoryFormat() != InMemoryFormat.NATIVE
+                || nativeMemoryConfig == null || !nativeMemoryConfig.isEnabled()) {
+            return null;
+        }
+        if (memoryManager == null) {
+            memoryManager = new UnsafeMallocMemoryManager(nativeMemoryConfig.getSize().bytes());
+        }
+        return memoryManager;
     }
 
     @Override
@@ -153,6 +186,13 @@ public class DefaultNearCacheManager implements NearCacheManager {
         if (storageTaskFuture != null) {
             storageTaskFuture.cancel(true);
         }
+
+        synchronized (mutex) {
+            if (memoryManager != null) {
+                memoryManager.dispose();
+                memoryManager = null;
+            }
+        }
     }
 
     private void createAndSchedulePreloadTask(NearCache nearCache, DataStructureAdapter adapter) {
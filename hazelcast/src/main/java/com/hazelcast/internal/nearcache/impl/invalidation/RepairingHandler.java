@@ -80,6 +80,12 @@ public final class RepairingHandler {
      * Handles a single invalidation
      */
     public void handle(Data key, String sourceUuid, UUID partitionUuid, long sequence) {
+        // the metadata is updated before the invalidation is applied, so a concurrent
+        // load from a Near Cache snapshot either sees the new sequence or is invalidated
+        int partitionId = getPartitionIdOrDefault(key);
+        checkOrRepairUuid(partitionId, partitionUuid);
+        checkOrRepairSequence(partitionId, sequence, false);
+
         // apply invalidation if it's not originated by local member/client (because local
         // Near Caches are invalidated immediately there is no need to invalidate them twice)
         if (!localUuid.equals(sourceUuid)) {
@@ -90,10 +96,6 @@ public final class RepairingHandler {
                 nearCache.invalidate(serializeKeys ? key : serializationService.toObject(key));
             }
         }
-
-        int partitionId = getPartitionIdOrDefault(key);
-        checkOrRepairUuid(partitionId, partitionUuid);
-        checkOrRepairSequence(partitionId, sequence, false);
     }
 
     private int getPartitionIdOrDefault(Data key) {
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.maxsize;
+
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionConfig.MaxSizePolicy;
+import com.hazelcast.internal.eviction.EvictionChecker;
+import com.hazelcast.internal.memory.impl.UnsafeMallocMemoryManager;
+import com.hazelcast.monitor.NearCacheStats;
+
+import static com.hazelcast.memory.MemoryUnit.MEGABYTES;
+
+/**
+ * Near Cache max-size policy implementation for Near Caches with
+ * {@link com.hazelcast.config.InMemoryFormat#NATIVE} in-memory-format.
+ * <p>
+ * Supports {@link MaxSizePolicy#ENTRY_COUNT} and the native memory based max-size policies.
+ * The used memory policies check the memory owned by the Near Cache, whereas the free memory
+ * policies check the memory which is left in the shared native memory manager.
+ *
+ * @see EvictionChecker
+ */
+public class NativeMemoryNearCacheEvictionChecker implements EvictionChecker {
+
+    private static final int ONE_HUNDRED_PERCENT = 100;
+
+    private final MaxSizePolicy maxSizePolicy;
+    private final long size;
+    private final UnsafeMallocMemoryManager memoryManager;
+    private final NearCacheStats nearCacheStats;
+
+    public NativeMemoryNearCacheEvictionChecker(EvictionConfig evictionConfig, UnsafeMallocMemoryManager memoryManager,
+                                                NearCacheStats nearCacheStats) {
+        this.maxSizePolicy = evictionConfig.getMaximumSizePolicy();
+        this.size = evictionConfig.getSize();
+        this.memoryManager = memoryManager;
+        this.nearCacheStats = nearCacheStats;
+    }
+
+    @Override
+    public boolean isEvictionRequired() {
+        switch (maxSizePolicy) {
+            case ENTRY_COUNT:
+                return nearCacheStats.getOwnedEntryCount() >= size;
+            case USED_NATIVE_MEMORY_SIZE:
+                return nearCacheStats.getOwnedEntryMemoryCost() >= MEGABYTES.toBytes(size);
+            case USED_NATIVE_MEMORY_PERCENTAGE:
+                return nearCacheStats.getOwnedEntryMemoryCost() * ONE_HUNDRED_PERCENT
+                        >= memoryManager.getMaxMemory() * size;
+            case FREE_NATIVE_MEMORY_SIZE:
+                return memoryManager.getFreeMemory() < MEGABYTES.toBytes(size);
+            case FREE_NATIVE_MEMORY_PERCENTAGE:
+                return memoryManager.getFreeMemory() * ONE_HUNDRED_PERCENT < memoryManager.getMaxMemory() * size;
+            default:
+                throw new IllegalArgumentException("Invalid max-size policy for native Near Cache: " + maxSizePolicy);
+        }
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.preloader;
+
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.nio.serialization.Data;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+import static com.hazelcast.internal.serialization.impl.HeapData.HEAP_DATA_OVERHEAD;
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.nio.IOUtil.closeResource;
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+import static java.lang.String.format;
+
+/**
+ * Read-only view of a Near Cache snapshot file, which is mapped into memory.
+ * <p>
+ * Besides the keys, a snapshot contains the values and the invalidation
+ * metadata of the Near Cache records, so a restarted Near Cache can serve
+ * values from the snapshot instead of fetching them from the cluster.
+ * The file layout is:
+ * <pre>
+ * header:  magic bytes (int), file format (int), entry count (int),
+ *          index capacity (int), index offset (long)
+ * entries: key size (int), value size (int), expiration time (long),
+ *          partition ID (int), sequence (long), partition UUID (2 longs),
+ *          key bytes, value bytes
+ * index:   index capacity slots of key hash (long) and entry offset (long),
+ *          an open addressing hash table with linear probing
+ * </pre>
+ * All numbers are big-endian. An entry offset of zero marks an empty slot.
+ * <p>
+ * The entries and the index are validated when the file is mapped, so a
+ * corrupt snapshot is rejected up front instead of failing single lookups.
+ */
+public final class MappedNearCacheSnapshot {
+
+    static final int ENTRY_COUNT_OFFSET = 2 * INT_SIZE_IN_BYTES;
+    static final int INDEX_CAPACITY_OFFSET = ENTRY_COUNT_OFFSET + INT_SIZE_IN_BYTES;
+    static final int INDEX_OFFSET_OFFSET = INDEX_CAPACITY_OFFSET + INT_SIZE_IN_BYTES;
+    static final int HEADER_SIZE = INDEX_OFFSET_OFFSET + LONG_SIZE_IN_BYTES;
+
+    static final int ENTRY_HEADER_SIZE = 4 * LONG_SIZE_IN_BYTES + 3 * INT_SIZE_IN_BYTES;
+    private static final int INDEX_SLOT_SIZE = 2 * LONG_SIZE_IN_BYTES;
+
+    private static final int KEY_SIZE_OFFSET = 0;
+    private static final int VALUE_SIZE_OFFSET = KEY_SIZE_OFFSET + INT_SIZE_IN_BYTES;
+    private static final int EXPIRATION_TIME_OFFSET = VALUE_SIZE_OFFSET + INT_SIZE_IN_BYTES;
+    private static final int PARTITION_ID_OFFSET = EXPIRATION_TIME_OFFSET + LONG_SIZE_IN_BYTES;
+    private static final int SEQUENCE_OFFSET = PARTITION_ID_OFFSET + INT_SIZE_IN_BYTES;
+    private static final int UUID_MOST_SIG_BITS_OFFSET = SEQUENCE_OFFSET + LONG_SIZE_IN_BYTES;
+    private static final int UUID_LEAST_SIG_BITS_OFFSET = UUID_MOST_SIG_BITS_OFFSET + LONG_SIZE_IN_BYTES;
+
+    private final ByteBuffer buffer;
+    private final int entryCount;
+    private final int indexCapacity;
+    private final int indexOffset;
+
+    private MappedNearCacheSnapshot(ByteBuffer buffer, int entryCount, int indexCapacity, int indexOffset) {
+        this.buffer = buffer;
+        this.entryCount = entryCount;
+        this.indexCapacity = indexCapacity;
+        this.indexOffset = indexOffset;
+    }
+
+    /**
+     * Maps the given snapshot file into memory. The file header has to be
+     * checked by the caller.
+     *
+     * @param file the snapshot file
+     * @return the mapped snapshot
+     * @throws IOException if the file cannot be mapped or is corrupt
+     */
+    static MappedNearCacheSnapshot map(File file) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = raf.getChannel();
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException(format("Invalid size of Near Cache snapshot %s (%d bytes)", file, size));
+            }
+            // the mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int entryCount = buffer.getInt(ENTRY_COUNT_OFFSET);
+            int indexCapacity = buffer.getInt(INDEX_CAPACITY_OFFSET);
+            long indexOffset = buffer.getLong(INDEX_OFFSET_OFFSET);
+            if (entryCount < 0 || indexCapacity != nextPowerOfTwo(indexCapacity) || indexCapacity < entryCount
+                    || indexOffset < HEADER_SIZE || indexOffset + (long) indexCapacity * INDEX_SLOT_SIZE != size) {
+                throw new IOException(format("Found corrupt index in Near Cache snapshot %s", file));
+            }
+            int[] entryOffsets = readEntryOffsets(buffer, entryCount, (int) indexOffset);
+            if (entryOffsets == null || !isValidIndex(buffer, entryOffsets, indexCapacity, (int) indexOffset)) {
+                throw new IOException(format("Found corrupt entries in Near Cache snapshot %s", file));
+            }
+            return new MappedNearCacheSnapshot(buffer, entryCount, indexCapacity, (int) indexOffset);
+        } finally {
+            closeResource(raf);
+        }
+    }
+
+    /**
+     * Walks over the entries and checks that each of them fits into the
+     * entry region and that the entries fill the region exactly.
+     *
+     * @return the ascending entry offsets or {@code null} if an entry is corrupt
+     */
+    private static int[] readEntryOffsets(ByteBuffer buffer, int entryCount, int indexOffset) {
+        int[] entryOffsets = new int[entryCount];
+        long entryOffset = HEADER_SIZE;
+        for (int i = 0; i < entryCount; i++) {
+            if (entryOffset + ENTRY_HEADER_SIZE > indexOffset) {
+                return null;
+            }
+            int keySize = buffer.getInt((int) entryOffset + KEY_SIZE_OFFSET);
+            int valueSize = buffer.getInt((int) entryOffset + VALUE_SIZE_OFFSET);
+            if (!isValidDataSize(keySize) || !isValidDataSize(valueSize)) {
+                return null;
+            }
+            entryOffsets[i] = (int) entryOffset;
+            entryOffset += ENTRY_HEADER_SIZE + (long) keySize + valueSize;
+        }
+        return entryOffset == indexOffset ? entryOffsets : null;
+    }
+
+    private static boolean isValidDataSize(int size) {
+        return size == 0 || size >= HEAP_DATA_OVERHEAD;
+    }
+
+    /**
+     * Checks that every used index slot points to the start of an entry and
+     * that the index references as many slots as there are entries.
+     */
+    private static boolean isValidIndex(ByteBuffer buffer, int[] entryOffsets, int indexCapacity, int indexOffset) {
+        int usedSlots = 0;
+        for (int slot = 0; slot < indexCapacity; slot++) {
+            long entryOffset = buffer.getLong(indexOffset + slot * INDEX_SLOT_SIZE + LONG_SIZE_IN_BYTES);
+            if (entryOffset == 0) {
+                continue;
+            }
+            if (entryOffset >= indexOffset || Arrays.binarySearch(entryOffsets, (int) entryOffset) < 0) {
+                return false;
+            }
+            usedSlots++;
+        }
+        return usedSlots == entryOffsets.length;
+    }
+
+    /**
+     * @return the number of entries in this snapshot
+     */
+    public int size() {
+        return entryCount;
+    }
+
+    /**
+     * Looks up the entry of the given key.
+     *
+     * @param key the serialized key
+     * @return the entry or {@code null} if the snapshot doesn't contain the key
+     */
+    public Entry get(Data key) {
+        long hash = key.hash64();
+        byte[] keyBytes = key.toByteArray();
+        int mask = indexCapacity - 1;
+        for (int i = 0, slot = (int) hash & mask; i < indexCapacity; i++, slot = (slot + 1) & mask) {
+            int slotOffset = indexOffset + slot * INDEX_SLOT_SIZE;
+            long entryOffset = buffer.getLong(slotOffset + LONG_SIZE_IN_BYTES);
+            if (entryOffset == 0) {
+                return null;
+            }
+            if (buffer.getLong(slotOffset) == hash && keyEquals((int) entryOffset, keyBytes)) {
+                return readEntry((int) entryOffset);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return an iterator over the serialized keys of this snapshot
+     */
+    Iterator<Data> keys() {
+        return new KeyIterator();
+    }
+
+    private boolean keyEquals(int entryOffset, byte[] keyBytes) {
+        int keySize = buffer.getInt(entryOffset + KEY_SIZE_OFFSET);
+        if (keySize != keyBytes.length) {
+            return false;
+        }
+        int keyOffset = entryOffset + ENTRY_HEADER_SIZE;
+        for (int i = 0; i < keySize; i++) {
+            if (buffer.get(keyOffset + i) != keyBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Entry readEntry(int entryOffset) {
+        int keySize = buffer.getInt(entryOffset + KEY_SIZE_OFFSET);
+        int valueSize = buffer.getInt(entryOffset + VALUE_SIZE_OFFSET);
+        byte[] valueBytes = readBytes(entryOffset + ENTRY_HEADER_SIZE + keySize, valueSize);
+        UUID uuid = new UUID(buffer.getLong(entryOffset + UUID_MOST_SIG_BITS_OFFSET),
+                buffer.getLong(entryOffset + UUID_LEAST_SIG_BITS_OFFSET));
+        return new Entry(new HeapData(valueBytes), buffer.getLong(entryOffset + EXPIRATION_TIME_OFFSET),
+                buffer.getInt(entryOffset + PARTITION_ID_OFFSET), uuid, buffer.getLong(entryOffset + SEQUENCE_OFFSET));
+    }
+
+    private byte[] readBytes(int offset, int length) {
+        byte[] bytes = new byte[length];
+        ByteBuffer duplicate = buffer.duplicate();
+        duplicate.position(offset);
+        duplicate.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Value and invalidation metadata of a Near Cache record in a snapshot.
+     */
+    public static final class Entry {
+
+        private final Data value;
+        private final long expirationTime;
+        private final int partitionId;
+        private final UUID uuid;
+        private final long sequence;
+
+        Entry(Data value, long expirationTime, int partitionId, UUID uuid, long sequence) {
+            this.value = value;
+            this.expirationTime = expirationTime;
+            this.partitionId = partitionId;
+            this.uuid = uuid;
+            this.sequence = sequence;
+        }
+
+        public Data getValue() {
+            return value;
+        }
+
+        public long getExpirationTime() {
+            return expirationTime;
+        }
+
+        public int getPartitionId() {
+            return partitionId;
+        }
+
+        public UUID getUuid() {
+            return uuid;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+    }
+
+    /**
+     * Iterates over the keys in the order of the entries in the file.
+     */
+    private final class KeyIterator implements Iterator<Data> {
+
+        private int entryOffset = HEADER_SIZE;
+
+        @Override
+        public boolean hasNext() {
+            return entryOffset < indexOffset;
+        }
+
+        @Override
+        public Data next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int keySize = buffer.getInt(entryOffset + KEY_SIZE_OFFSET);
+            int valueSize = buffer.getInt(entryOffset + VALUE_SIZE_OFFSET);
+            Data key = new HeapData(readBytes(entryOffset + ENTRY_HEADER_SIZE, keySize));
+            entryOffset += ENTRY_HEADER_SIZE + keySize + valueSize;
+            return key;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
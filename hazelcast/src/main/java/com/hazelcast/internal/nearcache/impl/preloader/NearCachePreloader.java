@@ -18,6 +18,10 @@ package com.hazelcast.internal.nearcache.impl.preloader;
 
 import com.hazelcast.config.NearCachePreloaderConfig;
 import com.hazelcast.internal.adapter.DataStructureAdapter;
+import com.hazelcast.internal.nearcache.NearCacheRecord;
+import com.hazelcast.internal.nearcache.NearCacheRecordStore;
+import com.hazelcast.internal.nearcache.impl.invalidation.MetaDataContainer;
+import com.hazelcast.internal.nearcache.impl.invalidation.StaleReadDetector;
 import com.hazelcast.internal.serialization.impl.HeapData;
 import com.hazelcast.internal.util.BufferingInputStream;
 import com.hazelcast.internal.util.collection.InflatableSet;
@@ -36,7 +40,13 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
 
+import static com.hazelcast.internal.nearcache.NearCacheRecord.NOT_RESERVED;
+import static com.hazelcast.internal.nearcache.NearCacheRecord.READ_PERMITTED;
+import static com.hazelcast.internal.nearcache.NearCacheRecord.TIME_NOT_SET;
+import static com.hazelcast.internal.nearcache.impl.invalidation.StaleReadDetector.ALWAYS_FRESH;
 import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
 import static com.hazelcast.nio.Bits.readIntB;
 import static com.hazelcast.nio.Bits.writeIntB;
@@ -46,6 +56,7 @@ import static com.hazelcast.nio.IOUtil.getPath;
 import static com.hazelcast.nio.IOUtil.readFullyOrNothing;
 import static com.hazelcast.nio.IOUtil.rename;
 import static com.hazelcast.nio.IOUtil.toFileName;
+import static com.hazelcast.util.Clock.currentTimeMillis;
 import static com.hazelcast.util.StringUtil.isNullOrEmpty;
 import static java.lang.String.format;
 import static java.nio.ByteBuffer.allocate;
@@ -53,6 +64,11 @@ import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * Loads and stores the keys from a Near Cache into a file.
+ * <p>
+ * Alternatively the keys can be stored together with the values and the
+ * invalidation metadata into a {@link MappedNearCacheSnapshot}. After a
+ * restart, the values of such a snapshot are served lazily on Near Cache
+ * misses, instead of fetching all keys from the cluster.
  *
  * @param <K> type of the {@link com.hazelcast.internal.nearcache.NearCacheRecord} keys
  */
@@ -62,7 +78,8 @@ public class NearCachePreloader<K> {
      * File format for the file header.
      */
     private enum FileFormat {
-        INTERLEAVED_LENGTH_FIELD
+        INTERLEAVED_LENGTH_FIELD,
+        MAPPED_SNAPSHOT
     }
 
     /**
@@ -99,6 +116,9 @@ public class NearCachePreloader<K> {
     private int lastWrittenBytes;
     private int lastKeyCount;
 
+    private volatile MappedNearCacheSnapshot snapshot;
+    private volatile boolean snapshotMapped;
+
     public NearCachePreloader(String nearCacheName, NearCachePreloaderConfig preloaderConfig,
                               NearCacheStatsImpl nearCacheStats, SerializationService serializationService) {
         this.nearCacheName = nearCacheName;
@@ -112,6 +132,8 @@ public class NearCachePreloader<K> {
     }
 
     public void destroy() {
+        // the mapping is released when the snapshot is garbage collected
+        snapshot = null;
         lock.release();
     }
 
@@ -121,6 +143,21 @@ public class NearCachePreloader<K> {
      * @param adapter the {@link DataStructureAdapter} to load the values from
      */
     public void loadKeys(DataStructureAdapter<Object, ?> adapter) {
+        loadKeys(adapter, false);
+    }
+
+    /**
+     * Loads the values via a stored key file into the supplied {@link DataStructureAdapter}.
+     * <p>
+     * If the file is a snapshot and {@code serveSnapshot} is {@code true}, nothing is fetched.
+     * The snapshot is mapped into memory instead and its values are loaded on demand by
+     * {@link #loadFromSnapshot(NearCacheRecordStore, Object, StaleReadDetector)}.
+     *
+     * @param adapter       the {@link DataStructureAdapter} to load the values from
+     * @param serveSnapshot {@code true} if the values of a snapshot can be validated
+     *                      with the invalidation metadata, {@code false} otherwise
+     */
+    public void loadKeys(DataStructureAdapter<Object, ?> adapter, boolean serveSnapshot) {
         if (!storeFile.exists()) {
             logger.info(format("Skipped loading keys of Near Cache %s since storage file doesn't exist (%s)", nearCacheName,
                     storeFile.getAbsolutePath()));
@@ -131,7 +168,13 @@ public class NearCachePreloader<K> {
         BufferingInputStream bis = null;
         try {
             bis = new BufferingInputStream(new FileInputStream(storeFile), BUFFER_SIZE);
-            if (!checkHeader(bis)) {
+            int fileFormat = checkHeader(bis);
+            if (fileFormat == FileFormat.MAPPED_SNAPSHOT.ordinal()) {
+                closeResource(bis);
+                loadSnapshot(adapter, serveSnapshot);
+                return;
+            }
+            if (fileFormat < 0) {
                 return;
             }
 
@@ -146,19 +189,141 @@ public class NearCachePreloader<K> {
         }
     }
 
-    private boolean checkHeader(BufferingInputStream bis) throws IOException {
+    /**
+     * @return the file format or {@code -1} if the header is invalid
+     */
+    private int checkHeader(BufferingInputStream bis) throws IOException {
         int magicBytes = readInt(bis);
         if (magicBytes != MAGIC_BYTES) {
             logger.warning(format("Found invalid header for Near Cache %s (%s)", nearCacheName, storeFile.getAbsolutePath()));
-            return false;
+            return -1;
         }
         int fileFormat = readInt(bis);
         if (fileFormat < 0 || fileFormat > FileFormat.values().length - 1) {
             logger.warning(format("Found invalid file format for Near Cache %s (%s)", nearCacheName,
                     storeFile.getAbsolutePath()));
-            return false;
+            return -1;
+        }
+        return fileFormat;
+    }
+
+    private void loadSnapshot(DataStructureAdapter<Object, ?> adapter, boolean serveSnapshot) throws IOException {
+        long startedNanos = System.nanoTime();
+        if (serveSnapshot) {
+            MappedNearCacheSnapshot mappedSnapshot = getSnapshot();
+            if (mappedSnapshot != null) {
+                logger.info(format("Mapped snapshot with %d entries of Near Cache %s in %d ms", mappedSnapshot.size(),
+                        nearCacheName, getElapsedMillis(startedNanos)));
+            }
+            return;
+        }
+
+        // the values cannot be validated, so we just fetch the keys of the snapshot
+        int loadedKeys = 0;
+        Builder<Object> builder = InflatableSet.newBuilder(LOAD_BATCH_SIZE);
+        Iterator<Data> keys = MappedNearCacheSnapshot.map(storeFile).keys();
+        while (keys.hasNext()) {
+            builder.add(serializationService.toObject(keys.next()));
+            if (builder.size() == LOAD_BATCH_SIZE) {
+                adapter.getAll(builder.build());
+                builder = InflatableSet.newBuilder(LOAD_BATCH_SIZE);
+            }
+            loadedKeys++;
+        }
+        if (builder.size() > 0) {
+            adapter.getAll(builder.build());
+        }
+        logger.info(format("Loaded %d keys of Near Cache %s from snapshot in %d ms", loadedKeys, nearCacheName,
+                getElapsedMillis(startedNanos)));
+    }
+
+    /**
+     * Loads the value of the given key from the snapshot into the supplied record store.
+     * <p>
+     * A snapshot entry is only used if it is neither expired nor stale. It's stale if the
+     * partition UUID has changed or if the partition has received invalidations after the
+     * snapshot was stored, according to the {@link MetaDataContainer} of the partition.
+     * The value is published via a reservation, so an invalidation which is received in
+     * the meantime removes it again.
+     *
+     * @param recordStore       the record store to load the value into
+     * @param key               the key to load
+     * @param staleReadDetector the {@link StaleReadDetector} of the record store
+     * @param <T>               the type of the keys in the record store
+     * @param <V>               the type of the values in the record store
+     * @return the loaded value or {@code null} if the snapshot doesn't contain a valid value
+     */
+    @SuppressWarnings("unchecked")
+    public <T, V> V loadFromSnapshot(NearCacheRecordStore<T, V> recordStore, T key, StaleReadDetector staleReadDetector) {
+        if (staleReadDetector == ALWAYS_FRESH) {
+            return null;
+        }
+        MappedNearCacheSnapshot mappedSnapshot = getSnapshot();
+        if (mappedSnapshot == null) {
+            return null;
+        }
+        Data keyData = serializationService.toData(key);
+        MappedNearCacheSnapshot.Entry entry = mappedSnapshot.get(keyData);
+        if (entry == null || isExpired(entry.getExpirationTime())
+                || entry.getPartitionId() != staleReadDetector.getPartitionId(keyData)) {
+            return null;
+        }
+
+        long reservationId = recordStore.tryReserveForUpdate(key, keyData);
+        if (reservationId == NOT_RESERVED) {
+            return null;
+        }
+        // the metadata is checked after the reservation, so we either see the sequence
+        // of a concurrent invalidation or the invalidation removes the reserved record
+        MetaDataContainer metaDataContainer = staleReadDetector.getMetaDataContainer(entry.getPartitionId());
+        if (!entry.getUuid().equals(metaDataContainer.getUuid())
+                || entry.getSequence() < metaDataContainer.getSequence()) {
+            recordStore.invalidate(key);
+            return null;
+        }
+        return recordStore.tryPublishReserved(key, (V) entry.getValue(), reservationId, true);
+    }
+
+    /**
+     * Returns the mapped snapshot of a previous run, if the store file is a snapshot.
+     * The store file is only checked once.
+     */
+    private MappedNearCacheSnapshot getSnapshot() {
+        if (snapshotMapped) {
+            return snapshot;
+        }
+        synchronized (this) {
+            if (!snapshotMapped) {
+                snapshot = mapSnapshot();
+                snapshotMapped = true;
+            }
+            return snapshot;
+        }
+    }
+
+    private MappedNearCacheSnapshot mapSnapshot() {
+        if (!storeFile.exists()) {
+            return null;
+        }
+        BufferingInputStream bis = null;
+        try {
+            bis = new BufferingInputStream(new FileInputStream(storeFile), INT_SIZE_IN_BYTES * 2);
+            if (checkHeader(bis) != FileFormat.MAPPED_SNAPSHOT.ordinal()) {
+                return null;
+            }
+            closeResource(bis);
+            return MappedNearCacheSnapshot.map(storeFile);
+        } catch (Exception e) {
+            logger.warning(format("Could not map snapshot of Near Cache %s (%s)", nearCacheName,
+                    storeFile.getAbsolutePath()), e);
+            return null;
+        } finally {
+            closeResource(bis);
         }
-        return true;
+    }
+
+    private static boolean isExpired(long expirationTime) {
+        return expirationTime != TIME_NOT_SET && expirationTime <= currentTimeMillis();
     }
 
     /**
@@ -203,6 +368,79 @@ public class NearCachePreloader<K> {
         }
     }
 
+    /**
+     * Stores the Near Cache keys together with their values and invalidation
+     * metadata into a snapshot, which can be mapped into memory after a restart.
+     * <p>
+     * Only records which can be validated after a restart are stored, so stale
+     * records and records without invalidation metadata are skipped. If the
+     * Near Cache doesn't receive invalidations, only the keys are stored.
+     *
+     * @param iterator          {@link Iterator} over the records of a
+     *                          {@link com.hazelcast.internal.nearcache.NearCacheRecordStore}
+     * @param staleReadDetector the {@link StaleReadDetector} of the record store
+     */
+    public void storeSnapshot(Iterator<? extends Map.Entry<K, ? extends NearCacheRecord>> iterator,
+                              StaleReadDetector staleReadDetector) {
+        if (staleReadDetector == ALWAYS_FRESH) {
+            storeKeys(new KeyIterator<K>(iterator));
+            return;
+        }
+
+        long startedNanos = System.nanoTime();
+        NearCacheSnapshotWriter writer = null;
+        try {
+            writer = new NearCacheSnapshotWriter(tmpStoreFile, MAGIC_BYTES, FileFormat.MAPPED_SNAPSHOT.ordinal(),
+                    BUFFER_SIZE);
+            while (iterator.hasNext()) {
+                Map.Entry<K, ? extends NearCacheRecord> entry = iterator.next();
+                writeSnapshotEntry(writer, entry.getKey(), entry.getValue(), staleReadDetector);
+            }
+            lastKeyCount = writer.getEntryCount();
+            lastWrittenBytes = (int) Math.min(writer.getWrittenBytes(), Integer.MAX_VALUE);
+
+            // cleanup if no entries have been written
+            if (lastKeyCount == 0) {
+                writer.close();
+                deleteQuietly(storeFile);
+                updatePersistenceStats(startedNanos);
+                return;
+            }
+
+            writer.finish();
+            rename(tmpStoreFile, storeFile);
+
+            updatePersistenceStats(startedNanos);
+        } catch (Exception e) {
+            logger.warning(format("Could not store snapshot of Near Cache %s (%s)", nearCacheName,
+                    storeFile.getAbsolutePath()), e);
+
+            nearCacheStats.addPersistenceFailure(e);
+        } finally {
+            if (writer != null) {
+                writer.close();
+            }
+            deleteQuietly(tmpStoreFile);
+        }
+    }
+
+    private void writeSnapshotEntry(NearCacheSnapshotWriter writer, K key, NearCacheRecord record,
+                                    StaleReadDetector staleReadDetector) throws IOException {
+        if (record.getRecordState() != READ_PERMITTED || isExpired(record.getExpirationTime())
+                || staleReadDetector.isStaleRead(key, record)) {
+            return;
+        }
+        Data value = serializationService.toData(record.getValue());
+        MetaDataContainer metaDataContainer = staleReadDetector.getMetaDataContainer(record.getPartitionId());
+        UUID uuid = metaDataContainer.getUuid();
+        if (value == null || uuid == null) {
+            return;
+        }
+        // the record is fresh, so it's valid up to the last received sequence of its partition
+        writer.write(serializationService.toData(key), value, record.getExpirationTime(), record.getPartitionId(),
+                uuid, metaDataContainer.getSequence());
+    }
+
     private void updatePersistenceStats(long startedNanos) {
         long elapsedMillis = getElapsedMillis(startedNanos);
         nearCacheStats.addPersistence(elapsedMillis, lastWrittenBytes, lastKeyCount);
@@ -290,6 +528,33 @@ public class NearCachePreloader<K> {
         buf.clear();
     }
 
+    /**
+     * Iterates over the keys of an {@link Iterator} over Near Cache records.
+     */
+    private static final class KeyIterator<K> implements Iterator<K> {
+
+        private final Iterator<? extends Map.Entry<K, ?>> iterator;
+
+        KeyIterator(Iterator<? extends Map.Entry<K, ?>> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public K next() {
+            return iterator.next().getKey();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
     private static String getFilename(String directory, String nearCacheName) {
         String filename = toFileName("nearCache-" + nearCacheName + ".store");
         if (isNullOrEmpty(directory)) {
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.preloader;
+
+import com.hazelcast.nio.serialization.Data;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static com.hazelcast.internal.nearcache.impl.preloader.MappedNearCacheSnapshot.ENTRY_COUNT_OFFSET;
+import static com.hazelcast.internal.nearcache.impl.preloader.MappedNearCacheSnapshot.ENTRY_HEADER_SIZE;
+import static com.hazelcast.internal.nearcache.impl.preloader.MappedNearCacheSnapshot.HEADER_SIZE;
+import static com.hazelcast.nio.IOUtil.closeResource;
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * Writes a Near Cache snapshot file in the format read by {@link MappedNearCacheSnapshot}.
+ * <p>
+ * The entries are streamed to the file, the index is built in memory and
+ * appended after the last entry. The entry count and the location of the
+ * index are written into the header when the writer is closed.
+ */
+class NearCacheSnapshotWriter {
+
+    private static final int INITIAL_INDEX_SIZE = 1024;
+
+    private final FileOutputStream fos;
+    private final DataOutputStream out;
+
+    private long[] hashes = new long[INITIAL_INDEX_SIZE];
+    private long[] offsets = new long[INITIAL_INDEX_SIZE];
+    private int entryCount;
+    private long position;
+
+    NearCacheSnapshotWriter(File file, int magicBytes, int fileFormat, int bufferSize) throws IOException {
+        this.fos = new FileOutputStream(file, false);
+        this.out = new DataOutputStream(new BufferedOutputStream(fos, bufferSize));
+        out.writeInt(magicBytes);
+        out.writeInt(fileFormat);
+        // entry count, index capacity and index offset are written on close
+        out.write(new byte[HEADER_SIZE - ENTRY_COUNT_OFFSET]);
+        position = HEADER_SIZE;
+    }
+
+    void write(Data key, Data value, long expirationTime, int partitionId, UUID uuid, long sequence) throws IOException {
+        int keySize = key.totalSize();
+        int valueSize = value.totalSize();
+        out.writeInt(keySize);
+        out.writeInt(valueSize);
+        out.writeLong(expirationTime);
+        out.writeInt(partitionId);
+        out.writeLong(sequence);
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+        out.write(key.toByteArray(), 0, keySize);
+        out.write(value.toByteArray(), 0, valueSize);
+
+        if (entryCount == hashes.length) {
+            hashes = Arrays.copyOf(hashes, entryCount * 2);
+            offsets = Arrays.copyOf(offsets, entryCount * 2);
+        }
+        hashes[entryCount] = key.hash64();
+        offsets[entryCount] = position;
+        entryCount++;
+        position += ENTRY_HEADER_SIZE + keySize + valueSize;
+    }
+
+    int getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * @return the number of bytes written so far, without the index
+     */
+    long getWrittenBytes() {
+        return position;
+    }
+
+    /**
+     * Appends the index, completes the header and closes the file.
+     */
+    void finish() throws IOException {
+        // a load factor of at most 0.5 keeps the probe sequences short
+        int indexCapacity = nextPowerOfTwo(Math.max(entryCount, 1) * 2);
+        long[] index = new long[indexCapacity * 2];
+        int mask = indexCapacity - 1;
+        for (int i = 0; i < entryCount; i++) {
+            int slot = (int) hashes[i] & mask;
+            while (index[slot * 2 + 1] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            index[slot * 2] = hashes[i];
+            index[slot * 2 + 1] = offsets[i];
+        }
+        for (long value : index) {
+            out.writeLong(value);
+        }
+        out.flush();
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE - ENTRY_COUNT_OFFSET);
+        header.putInt(entryCount);
+        header.putInt(indexCapacity);
+        header.putLong(position);
+        header.flip();
+        FileChannel channel = fos.getChannel();
+        while (header.hasRemaining()) {
+            channel.write(header, ENTRY_COUNT_OFFSET + header.position());
+        }
+        close();
+    }
+
+    void close() {
+        closeResource(out);
+    }
+}
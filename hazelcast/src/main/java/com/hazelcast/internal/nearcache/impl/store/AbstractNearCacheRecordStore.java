@@ -156,6 +156,16 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
 
     protected abstract boolean containsRecordKey(K key);
 
+    /**
+     * Loads the value of a missing key from a Near Cache snapshot.
+     *
+     * @param key the key of the missing record
+     * @return the loaded value or {@code null} if there is no snapshot or it doesn't contain a valid value
+     */
+    protected V loadFromSnapshot(K key) {
+        return null;
+    }
+
     protected void checkAvailable() {
         if (!isAvailable()) {
             throw new IllegalStateException(nearCacheConfig.getName() + " named Near Cache record store is not available");
@@ -262,6 +272,11 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
                 onGet(key, value, record);
                 return value;
             } else {
+                value = loadFromSnapshot(key);
+                if (value != null) {
+                    nearCacheStats.incrementHits();
+                    return value;
+                }
                 nearCacheStats.incrementMisses();
                 return null;
             }
@@ -31,6 +31,7 @@ import com.hazelcast.internal.serialization.SerializationService;
 import java.util.Map;
 import java.util.function.BiFunction;
 
+import static com.hazelcast.internal.nearcache.impl.invalidation.StaleReadDetector.ALWAYS_FRESH;
 import static java.lang.String.format;
 
 /**
@@ -115,7 +116,7 @@ public abstract class BaseHeapNearCacheRecordStore<K, V, R extends NearCacheReco
     @Override
     public void loadKeys(DataStructureAdapter<Object, ?> adapter) {
         if (nearCachePreloader != null) {
-            nearCachePreloader.loadKeys(adapter);
+            nearCachePreloader.loadKeys(adapter, staleReadDetector != ALWAYS_FRESH);
         }
     }
 
@@ -126,6 +127,21 @@ public abstract class BaseHeapNearCacheRecordStore<K, V, R extends NearCacheReco
         }
     }
 
+    @Override
+    public void storeSnapshot() {
+        if (nearCachePreloader != null) {
+            nearCachePreloader.storeSnapshot(records.entrySet().iterator(), staleReadDetector);
+        }
+    }
+
+    @Override
+    protected V loadFromSnapshot(K key) {
+        if (nearCachePreloader == null) {
+            return null;
+        }
+        return nearCachePreloader.loadFromSnapshot(this, key, staleReadDetector);
+    }
+
     @Override
     public void destroy() {
         super.destroy();
@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.store;
+
+import com.hazelcast.internal.memory.ConcurrentMemoryAccessor;
+import com.hazelcast.internal.nearcache.NearCacheRecord;
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.UUID;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.LONG_SIZE_IN_BYTES;
+
+/**
+ * Flyweight {@link NearCacheRecord} view over a record block which is allocated
+ * and owned by a {@link NativeNearCacheRecordStore}.
+ * <p>
+ * Record block layout:
+ * <pre>
+ * +-----------------+---------------+-------------+-----------------+--------------+
+ * | value addr. (8) | creation time | access time | expiration time | record state |
+ * +-----------------+---------------+-------------+-----------------+--------------+
+ * ... | invalidation sequence | UUID (16) | access hit (4) | partition ID (4) | key length (4) + padding | key |
+ * </pre>
+ * The serialized key is stored inline at the end of the record block. The
+ * value is kept in a separate block, which starts with the length of the
+ * serialized blob as an {@code int}, followed by the bytes of the {@link Data}.
+ * A {@link MemoryAllocator#NULL_ADDRESS NULL_ADDRESS} value address stands
+ * for a {@code null} value.
+ * <p>
+ * Instances are cheap to create and must only be used while holding the lock
+ * of the segment which owns the record block. Readers share the segment lock,
+ * so the access time and access hit words they touch are updated with CAS.
+ *
+ * @see com.hazelcast.internal.memory.MemoryAllocator
+ */
+@SuppressWarnings("checkstyle:methodcount")
+final class NativeNearCacheRecord implements NearCacheRecord<Data> {
+
+    static final int VALUE_ADDRESS_OFFSET = 0;
+    static final int CREATION_TIME_OFFSET = VALUE_ADDRESS_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int ACCESS_TIME_OFFSET = CREATION_TIME_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int EXPIRATION_TIME_OFFSET = ACCESS_TIME_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int RECORD_STATE_OFFSET = EXPIRATION_TIME_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int SEQUENCE_OFFSET = RECORD_STATE_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int UUID_MOST_SIG_BITS_OFFSET = SEQUENCE_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int UUID_LEAST_SIG_BITS_OFFSET = UUID_MOST_SIG_BITS_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int ACCESS_HIT_OFFSET = UUID_LEAST_SIG_BITS_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int PARTITION_ID_OFFSET = ACCESS_HIT_OFFSET + INT_SIZE_IN_BYTES;
+    static final int KEY_LENGTH_OFFSET = PARTITION_ID_OFFSET + INT_SIZE_IN_BYTES;
+    static final int KEY_OFFSET = KEY_LENGTH_OFFSET + LONG_SIZE_IN_BYTES;
+
+    private final NativeNearCacheRecordStore store;
+    private final ConcurrentMemoryAccessor mem;
+    private final long address;
+
+    NativeNearCacheRecord(NativeNearCacheRecordStore store, ConcurrentMemoryAccessor mem, long address) {
+        this.store = store;
+        this.mem = mem;
+        this.address = address;
+    }
+
+    long address() {
+        return address;
+    }
+
+    long valueAddress() {
+        return mem.getLong(address + VALUE_ADDRESS_OFFSET);
+    }
+
+    void setValueAddress(long valueAddress) {
+        mem.putLong(address + VALUE_ADDRESS_OFFSET, valueAddress);
+    }
+
+    int keyLength() {
+        return mem.getInt(address + KEY_LENGTH_OFFSET);
+    }
+
+    UUID getUuid() {
+        long mostSigBits = mem.getLong(address + UUID_MOST_SIG_BITS_OFFSET);
+        long leastSigBits = mem.getLong(address + UUID_LEAST_SIG_BITS_OFFSET);
+        return mostSigBits == 0 && leastSigBits == 0 ? null : new UUID(mostSigBits, leastSigBits);
+    }
+
+    @Override
+    public Data getValue() {
+        long valueAddress = valueAddress();
+        return valueAddress == NULL_ADDRESS ? null : store.readBlob(valueAddress);
+    }
+
+    @Override
+    public void setValue(Data value) {
+        store.replaceValue(this, value);
+    }
+
+    @Override
+    public long getCreationTime() {
+        return mem.getLong(address + CREATION_TIME_OFFSET);
+    }
+
+    @Override
+    public void setCreationTime(long time) {
+        mem.putLong(address + CREATION_TIME_OFFSET, time);
+    }
+
+    @Override
+    public long getLastAccessTime() {
+        return mem.getLong(address + ACCESS_TIME_OFFSET);
+    }
+
+    @Override
+    public void setAccessTime(long time) {
+        mem.putLong(address + ACCESS_TIME_OFFSET, time);
+    }
+
+    /**
+     * Moves the access time forward to the given time, unless a concurrent
+     * reader has already stored a later one.
+     *
+     * @param time the access time to store
+     */
+    void updateAccessTime(long time) {
+        long fieldAddress = address + ACCESS_TIME_OFFSET;
+        long current;
+        do {
+            current = mem.getLongVolatile(fieldAddress);
+            if (current >= time) {
+                return;
+            }
+        } while (!mem.compareAndSwapLong(fieldAddress, current, time));
+    }
+
+    @Override
+    public long getExpirationTime() {
+        return mem.getLong(address + EXPIRATION_TIME_OFFSET);
+    }
+
+    @Override
+    public void setExpirationTime(long expirationTime) {
+        mem.putLong(address + EXPIRATION_TIME_OFFSET, expirationTime);
+    }
+
+    @Override
+    public int getAccessHit() {
+        return mem.getInt(address + ACCESS_HIT_OFFSET);
+    }
+
+    @Override
+    public void setAccessHit(int hit) {
+        mem.putInt(address + ACCESS_HIT_OFFSET, hit);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Safe to call from concurrent readers which share the segment lock.
+     */
+    @Override
+    public void incrementAccessHit() {
+        long fieldAddress = address + ACCESS_HIT_OFFSET;
+        int current;
+        do {
+            current = mem.getIntVolatile(fieldAddress);
+        } while (!mem.compareAndSwapInt(fieldAddress, current, current + 1));
+    }
+
+    @Override
+    public void resetAccessHit() {
+        setAccessHit(0);
+    }
+
+    @Override
+    public boolean isExpiredAt(long now) {
+        long expirationTime = getExpirationTime();
+        return (expirationTime > TIME_NOT_SET) && (expirationTime <= now);
+    }
+
+    @Override
+    public boolean isIdleAt(long maxIdleMilliSeconds, long now) {
+        if (maxIdleMilliSeconds > 0) {
+            long accessTime = getLastAccessTime();
+            if (accessTime > TIME_NOT_SET) {
+                return accessTime + maxIdleMilliSeconds < now;
+            } else {
+                return getCreationTime() + maxIdleMilliSeconds < now;
+            }
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public long getRecordState() {
+        return mem.getLong(address + RECORD_STATE_OFFSET);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The record state is only changed while holding the write lock of the
+     * owning segment, so a plain compare and set is atomic.
+     */
+    @Override
+    public boolean casRecordState(long expect, long update) {
+        if (getRecordState() != expect) {
+            return false;
+        }
+        mem.putLong(address + RECORD_STATE_OFFSET, update);
+        return true;
+    }
+
+    @Override
+    public int getPartitionId() {
+        return mem.getInt(address + PARTITION_ID_OFFSET);
+    }
+
+    @Override
+    public void setPartitionId(int partitionId) {
+        mem.putInt(address + PARTITION_ID_OFFSET, partitionId);
+    }
+
+    @Override
+    public long getInvalidationSequence() {
+        return mem.getLong(address + SEQUENCE_OFFSET);
+    }
+
+    @Override
+    public void setInvalidationSequence(long sequence) {
+        mem.putLong(address + SEQUENCE_OFFSET, sequence);
+    }
+
+    @Override
+    public void setUuid(UUID uuid) {
+        mem.putLong(address + UUID_MOST_SIG_BITS_OFFSET, uuid == null ? 0 : uuid.getMostSignificantBits());
+        mem.putLong(address + UUID_LEAST_SIG_BITS_OFFSET, uuid == null ? 0 : uuid.getLeastSignificantBits());
+    }
+
+    @Override
+    public boolean hasSameUuid(UUID thatUuid) {
+        UUID uuid = getUuid();
+        return uuid != null && thatUuid != null && uuid.equals(thatUuid);
+    }
+
+    @Override
+    public String toString() {
+        return "NativeNearCacheRecord{"
+                + "address=" + address
+                + ", creationTime=" + getCreationTime()
+                + ", sequence=" + getInvalidationSequence()
+                + ", uuid=" + getUuid()
+                + ", expirationTime=" + getExpirationTime()
+                + ", accessTime=" + getLastAccessTime()
+                + ", accessHit=" + getAccessHit()
+                + ", recordState=" + getRecordState()
+                + '}';
+    }
+}
@@ -0,0 +1,969 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.store;
+
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.config.NearCachePreloaderConfig;
+import com.hazelcast.internal.adapter.DataStructureAdapter;
+import com.hazelcast.internal.eviction.EvictionCandidate;
+import com.hazelcast.internal.eviction.EvictionChecker;
+import com.hazelcast.internal.eviction.impl.evaluator.EvictionPolicyEvaluator;
+import com.hazelcast.internal.memory.ConcurrentMemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.impl.UnsafeMallocMemoryManager;
+import com.hazelcast.internal.nearcache.NearCacheRecord;
+import com.hazelcast.internal.nearcache.NearCacheRecordStore;
+import com.hazelcast.internal.nearcache.impl.invalidation.MetaDataContainer;
+import com.hazelcast.internal.nearcache.impl.invalidation.StaleReadDetector;
+import com.hazelcast.internal.nearcache.impl.maxsize.NativeMemoryNearCacheEvictionChecker;
+import com.hazelcast.internal.nearcache.impl.preloader.NearCachePreloader;
+import com.hazelcast.internal.nearcache.impl.record.AbstractNearCacheRecord;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+import com.hazelcast.monitor.NearCacheStats;
+import com.hazelcast.monitor.impl.NearCacheStatsImpl;
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.hazelcast.internal.eviction.EvictionPolicyEvaluatorProvider.getEvictionPolicyEvaluator;
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.internal.nearcache.NearCache.CACHED_AS_NULL;
+import static com.hazelcast.internal.nearcache.NearCacheRecord.NOT_RESERVED;
+import static com.hazelcast.internal.nearcache.NearCacheRecord.READ_PERMITTED;
+import static com.hazelcast.internal.nearcache.NearCacheRecord.RESERVED;
+import static com.hazelcast.internal.nearcache.NearCacheRecord.TIME_NOT_SET;
+import static com.hazelcast.internal.nearcache.NearCacheRecord.UPDATE_STARTED;
+import static com.hazelcast.internal.nearcache.impl.invalidation.StaleReadDetector.ALWAYS_FRESH;
+import static com.hazelcast.internal.nearcache.impl.store.NativeNearCacheRecord.KEY_LENGTH_OFFSET;
+import static com.hazelcast.internal.nearcache.impl.store.NativeNearCacheRecord.KEY_OFFSET;
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.util.Clock.currentTimeMillis;
+import static com.hazelcast.util.EmptyStatement.ignore;
+
+/**
+ * {@link NearCacheRecordStore} implementation for Near Caches with
+ * {@link com.hazelcast.config.InMemoryFormat#NATIVE} in-memory-format.
+ * <p>
+ * Serialized keys, serialized values and the record metadata live in blocks
+ * allocated from an {@link UnsafeMallocMemoryManager}, so even a Near Cache of
+ * several gigabytes adds next to nothing to the Java heap. The records are
+ * spread over a fixed number of segments. Every segment indexes its records
+ * by the 64-bit hash of the serialized key in a {@link NativeNearCacheSlotArray}
+ * and is guarded by a read-write lock. Record blocks are only touched while
+ * holding the lock of their segment and values are copied to the heap before
+ * the lock is released, so blocks can be freed as soon as a record is removed.
+ * <p>
+ * Two keys with the same 64-bit hash cannot be cached at the same time; the
+ * later one replaces the earlier one, which is counted as an eviction. When
+ * the native memory is exhausted, records of the same segment are evicted to
+ * make room. If that is not possible, the value is just not cached.
+ *
+ * @param <K> the type of the key stored in Near Cache
+ * @param <V> the type of the value stored in Near Cache
+ */
+@SuppressWarnings("checkstyle:methodcount")
+public class NativeNearCacheRecordStore<K, V> implements NearCacheRecordStore<K, V> {
+
+    static final int BLOB_HEADER_SIZE = INT_SIZE_IN_BYTES;
+
+    private static final int SEGMENT_COUNT = 16;
+    private static final int SAMPLE_COUNT = 15;
+    private static final long MILLI_SECONDS_IN_A_SECOND = 1000;
+
+    private final long timeToLiveMillis;
+    private final long maxIdleMillis;
+    private final boolean evictionDisabled;
+    private final ClassLoader classLoader;
+    private final NearCacheConfig nearCacheConfig;
+    private final NearCacheStatsImpl nearCacheStats = new NearCacheStatsImpl();
+    private final SerializationService serializationService;
+    private final UnsafeMallocMemoryManager memoryManager;
+    private final MemoryAllocator malloc;
+    private final ConcurrentMemoryAccessor mem;
+    private final NearCachePreloader<Data> nearCachePreloader;
+    private final AtomicLong reservationIds = new AtomicLong();
+
+    private volatile Segment[] segments;
+    private volatile StaleReadDetector staleReadDetector = ALWAYS_FRESH;
+
+    private EvictionChecker evictionChecker;
+    private EvictionPolicyEvaluator<Data, NativeNearCacheRecord> evictionPolicyEvaluator;
+
+    public NativeNearCacheRecordStore(String name, NearCacheConfig nearCacheConfig, SerializationService serializationService,
+                                      ClassLoader classLoader, UnsafeMallocMemoryManager memoryManager) {
+        this.nearCacheConfig = nearCacheConfig;
+        this.timeToLiveMillis = nearCacheConfig.getTimeToLiveSeconds() * MILLI_SECONDS_IN_A_SECOND;
+        this.maxIdleMillis = nearCacheConfig.getMaxIdleSeconds() * MILLI_SECONDS_IN_A_SECOND;
+        this.evictionDisabled = nearCacheConfig.getEvictionConfig().getEvictionPolicy() == EvictionPolicy.NONE;
+        this.serializationService = serializationService;
+        this.classLoader = classLoader;
+        this.memoryManager = memoryManager;
+        this.malloc = memoryManager.getAllocator();
+        this.mem = memoryManager.getAccessor();
+
+        NearCachePreloaderConfig preloaderConfig = nearCacheConfig.getPreloaderConfig();
+        this.nearCachePreloader = preloaderConfig.isEnabled()
+                ? new NearCachePreloader<Data>(name, preloaderConfig, nearCacheStats, serializationService) : null;
+    }
+
+    @Override
+    public void initialize() {
+        EvictionConfig evictionConfig = nearCacheConfig.getEvictionConfig();
+        this.evictionChecker = new NativeMemoryNearCacheEvictionChecker(evictionConfig, memoryManager, nearCacheStats);
+        if (!evictionDisabled) {
+            this.evictionPolicyEvaluator = getEvictionPolicyEvaluator(evictionConfig, classLoader);
+        }
+        Segment[] newSegments = new Segment[SEGMENT_COUNT];
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            newSegments[i] = new Segment(new NativeNearCacheSlotArray(memoryManager));
+        }
+        this.segments = newSegments;
+    }
+
+    @Override
+    public void setStaleReadDetector(StaleReadDetector staleReadDetector) {
+        this.staleReadDetector = staleReadDetector;
+    }
+
+    // only used for testing purposes
+    public StaleReadDetector getStaleReadDetector() {
+        return staleReadDetector;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        Segment[] segments = checkAvailable();
+        Data keyData = toData(key);
+        long hash = keyData.hash64();
+        Segment segment = segmentFor(segments, hash);
+
+        Data value = null;
+        boolean missing = false;
+        boolean hit = false;
+        boolean stale = false;
+        Lock lock = segment.readLock();
+        lock.lock();
+        try {
+            NativeNearCacheRecord record = getRecord(segment, keyData, hash);
+            if (record == null) {
+                missing = true;
+            } else if (record.getRecordState() != READ_PERMITTED) {
+                return null;
+            } else {
+                stale = staleReadDetector.isStaleRead(key, record);
+                if (!stale && !isRecordExpired(record)) {
+                    // readers share the segment lock, so both updates go through CAS
+                    record.updateAccessTime(currentTimeMillis());
+                    record.incrementAccessHit();
+                    value = record.getValue();
+                    hit = true;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (missing) {
+            // the snapshot lookup reserves the key, so it must not run under the segment read lock
+            return getMissing(key);
+        }
+        if (hit) {
+            nearCacheStats.incrementHits();
+            return value == null ? (V) CACHED_AS_NULL : (V) serializationService.toObject(value);
+        }
+        invalidate(key);
+        if (stale) {
+            nearCacheStats.incrementMisses();
+        } else {
+            nearCacheStats.incrementExpirations();
+        }
+        return null;
+    }
+
+    private V getMissing(K key) {
+        V value = nearCachePreloader != null ? nearCachePreloader.loadFromSnapshot(this, key, staleReadDetector) : null;
+        if (value != null) {
+            nearCacheStats.incrementHits();
+            return value;
+        }
+        nearCacheStats.incrementMisses();
+        return null;
+    }
+
+    @Override
+    public void put(K key, Data keyData, V value, Data valueData) {
+        Segment[] segments = checkAvailable();
+        Data nativeKey = keyData != null ? keyData : toData(key);
+        long hash = nativeKey.hash64();
+        Segment segment = segmentFor(segments, hash);
+        // if there is no eviction configured we return if the Near Cache is full and it's a new key
+        // (we have to check the key, otherwise we might lose updates on existing keys)
+        if (evictionDisabled && evictionChecker.isEvictionRequired() && !containsKey(segment, nativeKey, hash)) {
+            return;
+        }
+
+        Data nativeValue = valueData != null ? valueData : toData(value);
+        Lock lock = segment.writeLock();
+        lock.lock();
+        try {
+            NativeNearCacheRecord record = createRecord(segment, key, nativeKey, nativeValue);
+            putRecord(segment, hash, record);
+            nearCacheStats.incrementOwnedEntryCount();
+            nearCacheStats.incrementOwnedEntryMemoryCost(getRecordCost(record));
+        } catch (NativeOutOfMemoryError e) {
+            // the value doesn't fit into the native memory, so it's just not cached
+            ignore(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long tryReserveForUpdate(K key, Data keyData) {
+        Segment[] segments = checkAvailable();
+        Data nativeKey = keyData != null ? keyData : toData(key);
+        long hash = nativeKey.hash64();
+        Segment segment = segmentFor(segments, hash);
+        // if there is no eviction configured we return if the Near Cache is full and it's a new key
+        // (we have to check the key, otherwise we might lose updates on existing keys)
+        if (evictionDisabled && evictionChecker.isEvictionRequired() && !containsKey(segment, nativeKey, hash)) {
+            return NOT_RESERVED;
+        }
+
+        Lock lock = segment.writeLock();
+        lock.lock();
+        try {
+            NativeNearCacheRecord record = getRecord(segment, nativeKey, hash);
+            if (record == null) {
+                record = createRecord(segment, key, nativeKey, null);
+                record.casRecordState(READ_PERMITTED, RESERVED);
+                putRecord(segment, hash, record);
+            }
+            long reservationId = reservationIds.incrementAndGet();
+            return record.casRecordState(RESERVED, reservationId) ? reservationId : NOT_RESERVED;
+        } catch (NativeOutOfMemoryError e) {
+            ignore(e);
+            return NOT_RESERVED;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V tryPublishReserved(K key, V value, long reservationId, boolean deserialize) {
+        Segment[] segments = checkAvailable();
+        Data keyData = toData(key);
+        long hash = keyData.hash64();
+        Segment segment = segmentFor(segments, hash);
+
+        Data cachedValue;
+        Lock lock = segment.writeLock();
+        lock.lock();
+        try {
+            NativeNearCacheRecord record = getRecord(segment, keyData, hash);
+            if (record == null) {
+                return null;
+            }
+            if (record.casRecordState(reservationId, UPDATE_STARTED)) {
+                if (!publish(segment, hash, record, value)) {
+                    return null;
+                }
+            }
+            if (!deserialize) {
+                return null;
+            }
+            cachedValue = record.getValue();
+        } finally {
+            lock.unlock();
+        }
+        return (V) serializationService.toObject(cachedValue);
+    }
+
+    @Override
+    public void invalidate(K key) {
+        Segment[] segments = checkAvailable();
+        Data keyData = toData(key);
+        long hash = keyData.hash64();
+        Segment segment = segmentFor(segments, hash);
+
+        Lock lock = segment.writeLock();
+        lock.lock();
+        try {
+            NativeNearCacheRecord record = getRecord(segment, keyData, hash);
+            if (record != null) {
+                if (canUpdateStats(record)) {
+                    nearCacheStats.incrementInvalidations();
+                }
+                removeRecord(segment, hash, record);
+            }
+        } finally {
+            lock.unlock();
+        }
+        nearCacheStats.incrementInvalidationRequests();
+    }
+
+    @Override
+    public void clear() {
+        Segment[] segments = checkAvailable();
+        long size = 0;
+        for (Segment segment : segments) {
+            Lock lock = segment.writeLock();
+            lock.lock();
+            try {
+                size += clear(segment);
+            } finally {
+                lock.unlock();
+            }
+        }
+        nearCacheStats.setOwnedEntryCount(0);
+        nearCacheStats.setOwnedEntryMemoryCost(0L);
+        nearCacheStats.incrementInvalidations(size);
+        nearCacheStats.incrementInvalidationRequests();
+    }
+
+    @Override
+    public void destroy() {
+        clear();
+        Segment[] segments = this.segments;
+        this.segments = null;
+        for (Segment segment : segments) {
+            Lock lock = segment.writeLock();
+            lock.lock();
+            try {
+                segment.slots.dispose();
+            } finally {
+                lock.unlock();
+            }
+        }
+        if (nearCachePreloader != null) {
+            nearCachePreloader.destroy();
+        }
+    }
+
+    @Override
+    public int size() {
+        Segment[] segments = this.segments;
+        if (segments == null) {
+            // a destroyed store doesn't hold any records
+            return 0;
+        }
+        long size = 0;
+        for (Segment segment : segments) {
+            Lock lock = segment.readLock();
+            lock.lock();
+            try {
+                size += segment.slots.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Returns a detached on-heap copy of the record, since the native
+     * record block may be freed as soon as the segment lock is released.
+     * Changes to the returned record are not reflected in the store.
+     */
+    @Override
+    public NearCacheRecord getRecord(K key) {
+        Segment[] segments = checkAvailable();
+        Data keyData = toData(key);
+        long hash = keyData.hash64();
+        Segment segment = segmentFor(segments, hash);
+
+        Lock lock = segment.readLock();
+        lock.lock();
+        try {
+            NativeNearCacheRecord record = getRecord(segment, keyData, hash);
+            return record == null ? null : copyToHeap(record);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public NearCacheStats getNearCacheStats() {
+        checkAvailable();
+        return nearCacheStats;
+    }
+
+    @Override
+    public void doExpiration() {
+        Segment[] segments = checkAvailable();
+        for (Segment segment : segments) {
+            Lock lock = segment.writeLock();
+            lock.lock();
+            try {
+                expire(segment);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void doEviction(boolean withoutMaxSizeCheck) {
+        Segment[] segments = checkAvailable();
+        if (evictionDisabled || (!withoutMaxSizeCheck && !evictionChecker.isEvictionRequired())) {
+            return;
+        }
+        // start at a random segment and move on until a record could be evicted
+        int start = ThreadLocalRandom.current().nextInt(SEGMENT_COUNT);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            Segment segment = segments[(start + i) & (SEGMENT_COUNT - 1)];
+            Lock lock = segment.writeLock();
+            lock.lock();
+            try {
+                if (evictOne(segment)) {
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void loadKeys(DataStructureAdapter<Object, ?> adapter) {
+        if (nearCachePreloader != null) {
+            nearCachePreloader.loadKeys(adapter, staleReadDetector != ALWAYS_FRESH);
+        }
+    }
+
+    @Override
+    public void storeKeys() {
+        if (nearCachePreloader != null) {
+            nearCachePreloader.storeKeys(new KeyIterator(checkAvailable()));
+        }
+    }
+
+    @Override
+    public void storeSnapshot() {
+        if (nearCachePreloader != null) {
+            nearCachePreloader.storeSnapshot(new RecordIterator(checkAvailable()), staleReadDetector);
+        }
+    }
+
+    Data readBlob(long blobAddress) {
+        int length = mem.getInt(blobAddress);
+        byte[] bytes = new byte[length];
+        if (length > 0) {
+            mem.copyToByteArray(blobAddress + BLOB_HEADER_SIZE, bytes, 0, length);
+        }
+        return new HeapData(bytes);
+    }
+
+    /**
+     * Replaces the value of the given record. Must be called while holding
+     * the write lock of the segment which owns the record.
+     */
+    void replaceValue(NativeNearCacheRecord record, Data value) {
+        long oldValueAddress = record.valueAddress();
+        long oldValueSize = oldValueAddress == NULL_ADDRESS ? 0 : blobSize(oldValueAddress);
+        long newValueAddress = value == null ? NULL_ADDRESS : writeBlob(value);
+        record.setValueAddress(newValueAddress);
+        if (oldValueAddress != NULL_ADDRESS) {
+            malloc.free(oldValueAddress, oldValueSize);
+        }
+        if (canUpdateStats(record)) {
+            long newValueSize = newValueAddress == NULL_ADDRESS ? 0 : blobSize(newValueAddress);
+            nearCacheStats.incrementOwnedEntryMemoryCost(newValueSize - oldValueSize);
+        }
+    }
+
+    private Segment[] checkAvailable() {
+        Segment[] segments = this.segments;
+        if (segments == null) {
+            throw new IllegalStateException(nearCacheConfig.getName() + " named Near Cache record store is not available");
+        }
+        return segments;
+    }
+
+    private static Segment segmentFor(Segment[] segments, long hash) {
+        return segments[(int) (hash ^ (hash >>> Integer.SIZE)) & (SEGMENT_COUNT - 1)];
+    }
+
+    private Data toData(Object obj) {
+        return obj instanceof Data ? (Data) obj : serializationService.toData(obj);
+    }
+
+    private boolean isRecordExpired(NativeNearCacheRecord record) {
+        long now = currentTimeMillis();
+        return record.isExpiredAt(now) || record.isIdleAt(maxIdleMillis, now);
+    }
+
+    private static boolean canUpdateStats(NativeNearCacheRecord record) {
+        return record.getRecordState() == READ_PERMITTED;
+    }
+
+    private boolean containsKey(Segment segment, Data keyData, long hash) {
+        Lock lock = segment.readLock();
+        lock.lock();
+        try {
+            return getRecord(segment, keyData, hash) != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private NativeNearCacheRecord getRecord(Segment segment, Data keyData, long hash) {
+        long address = segment.slots.getRecordAddress(hash);
+        if (address == NULL_ADDRESS || !keyEquals(address, keyData)) {
+            return null;
+        }
+        return new NativeNearCacheRecord(this, mem, address);
+    }
+
+    private boolean keyEquals(long recordAddress, Data keyData) {
+        int length = mem.getInt(recordAddress + KEY_LENGTH_OFFSET);
+        if (length != keyData.totalSize()) {
+            return false;
+        }
+        byte[] bytes = keyData.toByteArray();
+        long base = recordAddress + KEY_OFFSET;
+        // compare from the end: the beginning of the key holds the
+        // partition hash and the type ID, which rarely differ
+        for (int i = length - 1; i >= 0; i--) {
+            if (mem.getByte(base + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Data readKey(long recordAddress) {
+        int length = mem.getInt(recordAddress + KEY_LENGTH_OFFSET);
+        byte[] bytes = new byte[length];
+        mem.copyToByteArray(recordAddress + KEY_OFFSET, bytes, 0, length);
+        return new HeapData(bytes);
+    }
+
+    private NativeNearCacheRecord createRecord(Segment segment, K key, Data keyData, Data value) {
+        int keyLength = keyData.totalSize();
+        long address = allocate(segment, KEY_OFFSET + keyLength);
+        mem.putInt(address + KEY_LENGTH_OFFSET, keyLength);
+        mem.copyFromByteArray(keyData.toByteArray(), 0, address + KEY_OFFSET, keyLength);
+
+        NativeNearCacheRecord record = new NativeNearCacheRecord(this, mem, address);
+        long creationTime = currentTimeMillis();
+        record.setCreationTime(creationTime);
+        record.setAccessTime(TIME_NOT_SET);
+        record.setExpirationTime(timeToLiveMillis > 0 ? creationTime + timeToLiveMillis : TIME_NOT_SET);
+        record.casRecordState(0, READ_PERMITTED);
+        if (value != null) {
+            try {
+                record.setValueAddress(writeBlob(segment, value));
+            } catch (NativeOutOfMemoryError e) {
+                malloc.free(address, KEY_OFFSET + keyLength);
+                throw e;
+            }
+        }
+        initInvalidationMetaData(record, key, keyData);
+        return record;
+    }
+
+    private void initInvalidationMetaData(NativeNearCacheRecord record, K key, Data keyData) {
+        if (staleReadDetector == ALWAYS_FRESH) {
+            // means invalidation event creation is disabled for this Near Cache
+            return;
+        }
+
+        int partitionId = staleReadDetector.getPartitionId(keyData == null ? toData(key) : keyData);
+        MetaDataContainer metaDataContainer = staleReadDetector.getMetaDataContainer(partitionId);
+        record.setPartitionId(partitionId);
+        record.setInvalidationSequence(metaDataContainer.getSequence());
+        record.setUuid(metaDataContainer.getUuid());
+    }
+
+    /**
+     * Maps the hash to the given record and releases the record which was
+     * mapped before, either the previous record of the same key or the record
+     * of a different key with the same hash.
+     */
+    private void putRecord(Segment segment, long hash, NativeNearCacheRecord record) {
+        long oldAddress;
+        try {
+            oldAddress = segment.slots.putRecordAddress(hash, record.address());
+        } catch (NativeOutOfMemoryError e) {
+            freeRecord(record.address());
+            throw e;
+        }
+        if (oldAddress == NULL_ADDRESS) {
+            return;
+        }
+        NativeNearCacheRecord oldRecord = new NativeNearCacheRecord(this, mem, oldAddress);
+        if (canUpdateStats(oldRecord)) {
+            nearCacheStats.decrementOwnedEntryCount();
+            nearCacheStats.decrementOwnedEntryMemoryCost(getRecordCost(oldRecord));
+            if (!keyEquals(oldAddress, readKey(record.address()))) {
+                nearCacheStats.incrementEvictions();
+            }
+        }
+        freeRecord(oldAddress);
+    }
+
+    private boolean publish(Segment segment, long hash, NativeNearCacheRecord record, V value) {
+        try {
+            Data nativeValue = toData(value);
+            if (nativeValue != null) {
+                record.setValueAddress(writeBlob(segment, nativeValue));
+            }
+        } catch (NativeOutOfMemoryError e) {
+            ignore(e);
+            removeRecord(segment, hash, record);
+            return false;
+        }
+        record.casRecordState(UPDATE_STARTED, READ_PERMITTED);
+        nearCacheStats.incrementOwnedEntryMemoryCost(getRecordCost(record));
+        nearCacheStats.incrementOwnedEntryCount();
+        return true;
+    }
+
+    /**
+     * Removes the given record from its segment, updates the owned entry
+     * statistics and frees its memory.
+     */
+    private void removeRecord(Segment segment, long hash, NativeNearCacheRecord record) {
+        segment.slots.remove(hash);
+        if (canUpdateStats(record)) {
+            nearCacheStats.decrementOwnedEntryCount();
+            nearCacheStats.decrementOwnedEntryMemoryCost(getRecordCost(record));
+        }
+        freeRecord(record.address());
+    }
+
+    private long clear(Segment segment) {
+        NativeNearCacheSlotArray slots = segment.slots;
+        long size = slots.size();
+        long capacity = slots.capacity();
+        for (long slot = 0; slot < capacity; slot++) {
+            long address = slots.getRecordAddressAtSlot(slot);
+            if (address != NULL_ADDRESS) {
+                freeRecord(address);
+            }
+        }
+        slots.clear();
+        return size;
+    }
+
+    private void expire(Segment segment) {
+        NativeNearCacheSlotArray slots = segment.slots;
+        // collect the hashes first, since removals shift the slots
+        List<Long> expiredHashes = new ArrayList<Long>();
+        long capacity = slots.capacity();
+        for (long slot = 0; slot < capacity; slot++) {
+            long address = slots.getRecordAddressAtSlot(slot);
+            if (address != NULL_ADDRESS) {
+                NativeNearCacheRecord record = new NativeNearCacheRecord(this, mem, address);
+                if (canUpdateStats(record) && isRecordExpired(record)) {
+                    expiredHashes.add(slots.getHashAtSlot(slot));
+                }
+            }
+        }
+        for (long hash : expiredHashes) {
+            long address = slots.getRecordAddress(hash);
+            removeRecord(segment, hash, new NativeNearCacheRecord(this, mem, address));
+            nearCacheStats.incrementInvalidations();
+            nearCacheStats.incrementInvalidationRequests();
+            nearCacheStats.incrementExpirations();
+        }
+    }
+
+    /**
+     * Samples records of the given segment, starting at a random slot, and
+     * evicts the one selected by the configured eviction policy.
+     *
+     * @return {@code true} if a record was evicted, {@code false} otherwise
+     */
+    private boolean evictOne(Segment segment) {
+        NativeNearCacheSlotArray slots = segment.slots;
+        if (evictionDisabled || slots.size() == 0) {
+            return false;
+        }
+        long capacity = slots.capacity();
+        long start = ThreadLocalRandom.current().nextLong(capacity);
+        List<Candidate> candidates = new ArrayList<Candidate>(SAMPLE_COUNT);
+        for (long i = 0; i < capacity && candidates.size() < SAMPLE_COUNT; i++) {
+            long slot = (start + i) & (capacity - 1);
+            long address = slots.getRecordAddressAtSlot(slot);
+            if (address != NULL_ADDRESS) {
+                NativeNearCacheRecord record = new NativeNearCacheRecord(this, mem, address);
+                if (canUpdateStats(record)) {
+                    candidates.add(new Candidate(slots.getHashAtSlot(slot), record));
+                }
+            }
+        }
+        Candidate victim = evictionPolicyEvaluator.evaluate(candidates);
+        if (victim == null) {
+            return false;
+        }
+        removeRecord(segment, victim.hash, victim.record);
+        nearCacheStats.incrementEvictions();
+        return true;
+    }
+
+    /**
+     * Allocates a block of the given size and evicts records of the given
+     * segment as long as the native memory is exhausted.
+     */
+    private long allocate(Segment segment, long size) {
+        for (; ; ) {
+            try {
+                return malloc.allocate(size);
+            } catch (NativeOutOfMemoryError e) {
+                if (!evictOne(segment)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private long writeBlob(Data data) {
+        return writeBlob(null, data);
+    }
+
+    private long writeBlob(Segment segment, Data data) {
+        int length = data.totalSize();
+        long size = BLOB_HEADER_SIZE + length;
+        long address = segment == null ? malloc.allocate(size) : allocate(segment, size);
+        mem.putInt(address, length);
+        if (length > 0) {
+            mem.copyFromByteArray(data.toByteArray(), 0, address + BLOB_HEADER_SIZE, length);
+        }
+        return address;
+    }
+
+    private long blobSize(long blobAddress) {
+        return BLOB_HEADER_SIZE + mem.getInt(blobAddress);
+    }
+
+    private long getRecordCost(NativeNearCacheRecord record) {
+        long valueAddress = record.valueAddress();
+        return KEY_OFFSET + record.keyLength() + (valueAddress == NULL_ADDRESS ? 0 : blobSize(valueAddress));
+    }
+
+    private void freeRecord(long address) {
+        long valueAddress = mem.getLong(address + NativeNearCacheRecord.VALUE_ADDRESS_OFFSET);
+        if (valueAddress != NULL_ADDRESS) {
+            malloc.free(valueAddress, blobSize(valueAddress));
+        }
+        malloc.free(address, KEY_OFFSET + mem.getInt(address + KEY_LENGTH_OFFSET));
+    }
+
+    private NearCacheRecord copyToHeap(NativeNearCacheRecord record) {
+        RecordSnapshot copy = new RecordSnapshot(record.getValue(), record.getCreationTime(), record.getExpirationTime());
+        copy.setAccessTime(record.getLastAccessTime());
+        copy.setAccessHit(record.getAccessHit());
+        copy.setPartitionId(record.getPartitionId());
+        copy.setInvalidationSequence(record.getInvalidationSequence());
+        copy.setUuid(record.getUuid());
+        copy.casRecordState(READ_PERMITTED, record.getRecordState());
+        return copy;
+    }
+
+    /**
+     * A segment of the record store: a hash slot array guarded by a read-write lock.
+     */
+    private static final class Segment {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final NativeNearCacheSlotArray slots;
+
+        Segment(NativeNearCacheSlotArray slots) {
+            this.slots = slots;
+            slots.gotoNew();
+        }
+
+        Lock readLock() {
+            return lock.readLock();
+        }
+
+        Lock writeLock() {
+            return lock.writeLock();
+        }
+    }
+
+    /**
+     * Detached on-heap copy of a {@link NativeNearCacheRecord}.
+     */
+    private static final class RecordSnapshot extends AbstractNearCacheRecord<Data> {
+
+        RecordSnapshot(Data value, long creationTime, long expirationTime) {
+            super(value, creationTime, expirationTime);
+        }
+
+        @Override
+        public String toString() {
+            return "RecordSnapshot{" + super.toString() + '}';
+        }
+    }
+
+    /**
+     * {@link EvictionCandidate} for the records sampled from a segment.
+     */
+    private final class Candidate implements EvictionCandidate<Data, NativeNearCacheRecord> {
+
+        private final long hash;
+        private final NativeNearCacheRecord record;
+
+        Candidate(long hash, NativeNearCacheRecord record) {
+            this.hash = hash;
+            this.record = record;
+        }
+
+        @Override
+        public Data getAccessor() {
+            return readKey(record.address());
+        }
+
+        @Override
+        public NativeNearCacheRecord getEvictable() {
+            return record;
+        }
+
+        @Override
+        public Object getKey() {
+            return serializationService.toObject(getAccessor());
+        }
+
+        @Override
+        public Object getValue() {
+            return serializationService.toObject(record.getValue());
+        }
+
+        @Override
+        public long getCreationTime() {
+            return record.getCreationTime();
+        }
+
+        @Override
+        public long getLastAccessTime() {
+            return record.getLastAccessTime();
+        }
+
+        @Override
+        public long getAccessHit() {
+            return record.getAccessHit();
+        }
+    }
+
+    /**
+     * Iterates over the records of all segments. The records of a segment are
+     * copied to the heap under its read lock when the iterator reaches it.
+     */
+    private abstract class SegmentIterator<E> implements Iterator<E> {
+
+        private final Segment[] segments;
+
+        private int segmentIndex;
+        private Iterator<E> current = Collections.<E>emptyList().iterator();
+
+        SegmentIterator(Segment[] segments) {
+            this.segments = segments;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext() && segmentIndex < segments.length) {
+                current = readSegment(segments[segmentIndex++]).iterator();
+            }
+            return current.hasNext();
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        abstract E read(long address, NativeNearCacheRecord record);
+
+        private List<E> readSegment(Segment segment) {
+            Lock lock = segment.readLock();
+            lock.lock();
+            try {
+                NativeNearCacheSlotArray slots = segment.slots;
+                List<E> elements = new ArrayList<E>((int) slots.size());
+                long capacity = slots.capacity();
+                for (long slot = 0; slot < capacity; slot++) {
+                    long address = slots.getRecordAddressAtSlot(slot);
+                    if (address == NULL_ADDRESS) {
+                        continue;
+                    }
+                    NativeNearCacheRecord record = new NativeNearCacheRecord(NativeNearCacheRecordStore.this, mem, address);
+                    if (canUpdateStats(record)) {
+                        elements.add(read(address, record));
+                    }
+                }
+                return elements;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private final class KeyIterator extends SegmentIterator<Data> {
+
+        KeyIterator(Segment[] segments) {
+            super(segments);
+        }
+
+        @Override
+        Data read(long address, NativeNearCacheRecord record) {
+            return readKey(address);
+        }
+    }
+
+    private final class RecordIterator extends SegmentIterator<Map.Entry<Data, NearCacheRecord>> {
+
+        RecordIterator(Segment[] segments) {
+            super(segments);
+        }
+
+        @Override
+        Map.Entry<Data, NearCacheRecord> read(long address, NativeNearCacheRecord record) {
+            return new AbstractMap.SimpleImmutableEntry<Data, NearCacheRecord>(readKey(address), copyToHeap(record));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.store;
+
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.util.hashslot.SlotAssignmentResult;
+import com.hazelcast.internal.util.hashslot.impl.HashSlotArray8byteKeyImpl;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.nio.Bits.LONG_SIZE_IN_BYTES;
+
+/**
+ * Hash slot array which maps the 64-bit hash of a serialized key to the
+ * address of a {@link NativeNearCacheRecord} block.
+ * <p>
+ * The value part of every slot holds the record address, which is never
+ * {@link com.hazelcast.internal.memory.MemoryAllocator#NULL_ADDRESS NULL_ADDRESS}
+ * and therefore doubles as the unassigned sentinel. Different keys with the
+ * same hash share a slot; the caller has to compare the key stored in the
+ * record block.
+ */
+final class NativeNearCacheSlotArray extends HashSlotArray8byteKeyImpl {
+
+    private static final int KEY_SIZE = LONG_SIZE_IN_BYTES;
+    private static final int VALUE_SIZE = LONG_SIZE_IN_BYTES;
+
+    NativeNearCacheSlotArray(MemoryManager memoryManager) {
+        super(NULL_ADDRESS, memoryManager, VALUE_SIZE);
+    }
+
+    /**
+     * @return the address of the record block mapped by the given hash or
+     * {@code NULL_ADDRESS} if there is no such mapping
+     */
+    long getRecordAddress(long hash) {
+        long valueAddress = get(hash);
+        return valueAddress == NULL_ADDRESS ? NULL_ADDRESS : mem().getLong(valueAddress);
+    }
+
+    /**
+     * Maps the given hash to the given record address.
+     *
+     * @return the address of the record block which was mapped by the hash
+     * before or {@code NULL_ADDRESS} if there was no such mapping
+     */
+    long putRecordAddress(long hash, long recordAddress) {
+        SlotAssignmentResult result = ensure(hash);
+        long oldRecordAddress = result.isNew() ? NULL_ADDRESS : mem().getLong(result.address());
+        mem().putLong(result.address(), recordAddress);
+        return oldRecordAddress;
+    }
+
+    /**
+     * @return the address of the record block in the given slot or
+     * {@code NULL_ADDRESS} if the slot is not assigned
+     */
+    long getRecordAddressAtSlot(long slot) {
+        long baseAddress = address();
+        if (!isAssigned(baseAddress, slot)) {
+            return NULL_ADDRESS;
+        }
+        return mem().getLong(slotBase(baseAddress, slot) + KEY_SIZE);
+    }
+
+    /**
+     * @return the hash which is mapped in the given slot, only valid for assigned slots
+     */
+    long getHashAtSlot(long slot) {
+        return key1OfSlot(address(), slot);
+    }
+}
@@ -44,6 +44,15 @@ public class NearCacheDataRecordStore<K, V> extends BaseHeapNearCacheRecordStore
 
     @Override
     protected long getKeyStorageMemoryCost(K key) {
+        return getDataKeyStorageMemoryCost(key);
+    }
+
+    @Override
+    protected long getRecordStorageMemoryCost(NearCacheDataRecord record) {
+        return getDataRecordStorageMemoryCost(record);
+    }
+
+    static long getDataKeyStorageMemoryCost(Object key) {
         if (key instanceof Data) {
             return
                     // reference to this key data inside map ("store" field)
@@ -56,8 +65,7 @@ public class NearCacheDataRecordStore<K, V> extends BaseHeapNearCacheRecordStore
         }
     }
 
-    @Override
-    protected long getRecordStorageMemoryCost(NearCacheDataRecord record) {
+    static long getDataRecordStorageMemoryCost(NearCacheDataRecord record) {
         if (record == null) {
             return 0L;
         }
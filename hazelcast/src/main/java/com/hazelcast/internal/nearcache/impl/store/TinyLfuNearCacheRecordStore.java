@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.store;
+
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.nearcache.NearCacheRecord;
+import com.hazelcast.internal.nearcache.impl.record.NearCacheDataRecord;
+import com.hazelcast.internal.nearcache.impl.record.NearCacheObjectRecord;
+import com.hazelcast.internal.nearcache.impl.tinylfu.WindowTinyLfuPolicy;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.hazelcast.internal.nearcache.NearCacheRecord.TIME_NOT_SET;
+import static com.hazelcast.internal.nearcache.impl.store.NearCacheDataRecordStore.getDataKeyStorageMemoryCost;
+import static com.hazelcast.internal.nearcache.impl.store.NearCacheDataRecordStore.getDataRecordStorageMemoryCost;
+import static com.hazelcast.util.Clock.currentTimeMillis;
+
+/**
+ * {@link com.hazelcast.internal.nearcache.NearCacheRecordStore} implementation for on-heap Near Caches
+ * which are bounded by a {@link WindowTinyLfuPolicy} instead of sampling based eviction.
+ * <p>
+ * Supports the {@link InMemoryFormat#BINARY} and {@link InMemoryFormat#OBJECT} in-memory-formats.
+ * Every new key is offered to the policy when it is added, which keeps the
+ * Near Cache at its configured entry count and evicts the victim chosen by
+ * the TinyLFU admission filter right away. Reads record their hits on a
+ * best-effort basis: if another thread holds the policy lock, the hit is
+ * only counted in the statistics.
+ *
+ * @param <K> the type of the key stored in Near Cache
+ * @param <V> the type of the value stored in Near Cache
+ */
+@SuppressWarnings("unchecked")
+public class TinyLfuNearCacheRecordStore<K, V> extends BaseHeapNearCacheRecordStore<K, V, NearCacheRecord> {
+
+    private final Lock policyLock = new ReentrantLock();
+    private final WindowTinyLfuPolicy<K> policy;
+
+    public TinyLfuNearCacheRecordStore(String name,
+                                       NearCacheConfig nearCacheConfig,
+                                       SerializationService serializationService,
+                                       ClassLoader classLoader) {
+        super(name, nearCacheConfig, serializationService, classLoader);
+        this.policy = new WindowTinyLfuPolicy<K>(nearCacheConfig.getEvictionConfig().getSize(), nearCacheStats);
+    }
+
+    @Override
+    protected long getKeyStorageMemoryCost(K key) {
+        return inMemoryFormat == InMemoryFormat.BINARY ? getDataKeyStorageMemoryCost(key) : 0L;
+    }
+
+    @Override
+    protected long getRecordStorageMemoryCost(NearCacheRecord record) {
+        // memory cost for "OBJECT" in memory format is totally not supported, so just return zero
+        return inMemoryFormat == InMemoryFormat.BINARY ? getDataRecordStorageMemoryCost((NearCacheDataRecord) record) : 0L;
+    }
+
+    @Override
+    protected NearCacheRecord createRecord(V value) {
+        long creationTime = currentTimeMillis();
+        long expiryTime = timeToLiveMillis > 0 ? creationTime + timeToLiveMillis : TIME_NOT_SET;
+        if (inMemoryFormat == InMemoryFormat.BINARY) {
+            return new NearCacheDataRecord(toData(value), creationTime, expiryTime);
+        }
+        return new NearCacheObjectRecord<V>(toValue(value), creationTime, expiryTime);
+    }
+
+    @Override
+    protected void updateRecordValue(NearCacheRecord record, V value) {
+        record.setValue(inMemoryFormat == InMemoryFormat.BINARY ? toData(value) : toValue(value));
+    }
+
+    @Override
+    protected void onGet(K key, V value, NearCacheRecord record) {
+        if (policyLock.tryLock()) {
+            try {
+                policy.recordAccess(key);
+            } finally {
+                policyLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    protected NearCacheRecord putRecord(K key, NearCacheRecord record) {
+        policyLock.lock();
+        try {
+            NearCacheRecord oldRecord = super.putRecord(key, record);
+            if (oldRecord == null) {
+                evict(policy.onAdd(key));
+            }
+            return oldRecord;
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    @Override
+    protected NearCacheRecord getOrCreateToReserve(K key, Data keyData) {
+        policyLock.lock();
+        try {
+            NearCacheRecord record = records.get(key);
+            if (record == null) {
+                record = super.getOrCreateToReserve(key, keyData);
+                evict(policy.onAdd(key));
+            }
+            return record;
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    @Override
+    public void invalidate(K key) {
+        policyLock.lock();
+        try {
+            super.invalidate(key);
+            policy.onRemove(key);
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    @Override
+    public void onEvict(K key, NearCacheRecord record, boolean wasExpired) {
+        super.onEvict(key, record, wasExpired);
+        policyLock.lock();
+        try {
+            policy.onRemove(key);
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        policyLock.lock();
+        try {
+            super.clear();
+            policy.clear();
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    @Override
+    public void doEviction(boolean withoutMaxSizeCheck) {
+        // the policy already keeps the Near Cache within its maximum size when keys are added,
+        // so we only have to fall back to sampling when the caller wants to evict regardless
+        if (withoutMaxSizeCheck) {
+            super.doEviction(true);
+        }
+    }
+
+    // just for testing
+    WindowTinyLfuPolicy<K> getPolicy() {
+        return policy;
+    }
+
+    private void evict(K victim) {
+        if (victim == null) {
+            return;
+        }
+        NearCacheRecord record = records.remove(victim);
+        if (canUpdateStats(record)) {
+            onEvict(victim, record, false);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.tinylfu;
+
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * A count-min sketch estimating how often a key has been seen recently.
+ * <p>
+ * The sketch packs sixteen 4-bit counters into every {@code long} of its
+ * table. A key selects one group of four counters per table slot and is
+ * hashed onto four slots; its frequency is the minimum of the four counters
+ * so a collision can only ever overestimate it. Once the number of recorded
+ * increments reaches ten times the maximum size, all counters are halved,
+ * which lets the sketch forget keys that were popular a long time ago.
+ * <p>
+ * This class is not thread-safe; callers must guard it with a lock.
+ */
+public final class FrequencySketch {
+
+    /**
+     * The maximum value of a single 4-bit counter.
+     */
+    public static final int MAX_FREQUENCY = 15;
+
+    private static final int SAMPLE_SIZE_FACTOR = 10;
+    private static final int MIN_TABLE_SIZE = 8;
+    private static final int COUNTER_BITS = 4;
+    private static final int COUNTER_GROUP_MASK = 3;
+    private static final int DEPTH = 4;
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L,
+    };
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+
+    private int size;
+
+    public FrequencySketch(int maximumSize) {
+        int tableSize = nextPowerOfTwo(Math.max(maximumSize, MIN_TABLE_SIZE));
+        this.table = new long[tableSize];
+        this.tableMask = tableSize - 1;
+        this.sampleSize = (int) Math.min((long) maximumSize * SAMPLE_SIZE_FACTOR, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the estimated number of occurrences of the given hash code,
+     * capped at {@link #MAX_FREQUENCY}.
+     *
+     * @param hashCode the hash code of the key
+     * @return the estimated frequency
+     */
+    public int frequency(int hashCode) {
+        int hash = spread(hashCode);
+        int start = (hash & COUNTER_GROUP_MASK) << 2;
+        int frequency = MAX_FREQUENCY;
+        for (int i = 0; i < DEPTH; i++) {
+            int offset = (start + i) * COUNTER_BITS;
+            int count = (int) ((table[indexOf(hash, i)] >>> offset) & MAX_FREQUENCY);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Increments the counters of the given hash code if they are not
+     * saturated yet and ages the whole sketch once the sample size is reached.
+     *
+     * @param hashCode the hash code of the key
+     */
+    public void increment(int hashCode) {
+        int hash = spread(hashCode);
+        int start = (hash & COUNTER_GROUP_MASK) << 2;
+        boolean added = false;
+        for (int i = 0; i < DEPTH; i++) {
+            added |= incrementAt(indexOf(hash, i), start + i);
+        }
+        if (added) {
+            size++;
+            if (size >= sampleSize) {
+                reset();
+            }
+        }
+    }
+
+    /**
+     * Resets all counters to zero.
+     */
+    public void clear() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = 0L;
+        }
+        size = 0;
+    }
+
+    // just for testing
+    int size() {
+        return size;
+    }
+
+    private boolean incrementAt(int index, int counter) {
+        int offset = counter * COUNTER_BITS;
+        long mask = (long) MAX_FREQUENCY << offset;
+        if ((table[index] & mask) != mask) {
+            table[index] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size >>>= 1;
+    }
+
+    private int indexOf(int hash, int depth) {
+        long seed = SEEDS[depth];
+        long h = (hash + seed) * seed;
+        h += h >>> Integer.SIZE;
+        return (int) h & tableMask;
+    }
+
+    @SuppressWarnings("checkstyle:magicnumber")
+    private static int spread(int hashCode) {
+        int h = ((hashCode >>> 16) ^ hashCode) * 0x45d9f3b;
+        h = ((h >>> 16) ^ h) * 0x45d9f3b;
+        return (h >>> 16) ^ h;
+    }
+}
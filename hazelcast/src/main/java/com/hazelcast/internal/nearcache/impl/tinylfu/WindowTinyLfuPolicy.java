@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.tinylfu;
+
+import com.hazelcast.monitor.impl.NearCacheStatsImpl;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.hazelcast.util.Preconditions.checkPositive;
+
+/**
+ * Window TinyLFU policy deciding which keys of a bounded Near Cache are kept.
+ * <p>
+ * New keys enter a small LRU window of about 1% of the maximum size, so a
+ * burst of fresh keys can build up some frequency before it competes for a
+ * place in the main region. The main region is a segmented LRU: keys start
+ * in the probation segment and are promoted to the protected segment (80% of
+ * the main region) when they are accessed again.
+ * <p>
+ * When the window overflows, its least recently used key becomes a candidate
+ * for the main region. If the main region is full, the candidate is only
+ * admitted when the {@link FrequencySketch} estimates it to be more popular
+ * than the least recently used key of the main region, which is then evicted
+ * instead. That way a scan over many one-hit keys cannot flush the frequently
+ * used ones out of the Near Cache.
+ * <p>
+ * This class is not thread-safe; callers must guard it with a lock.
+ *
+ * @param <K> the type of the key stored in Near Cache
+ */
+public final class WindowTinyLfuPolicy<K> {
+
+    private static final int PERCENTAGE = 100;
+    private static final int WINDOW_PERCENTAGE = 1;
+    private static final int PROTECTED_PERCENTAGE = 80;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final int windowCapacity;
+    private final int mainCapacity;
+    private final int protectedCapacity;
+    private final FrequencySketch sketch;
+    private final NearCacheStatsImpl nearCacheStats;
+
+    private final LinkedHashMap<K, Boolean> window = new LinkedHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, true);
+    private final LinkedHashMap<K, Boolean> probation = new LinkedHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, true);
+    private final LinkedHashMap<K, Boolean> protectedSegment = new LinkedHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, true);
+
+    public WindowTinyLfuPolicy(int maximumSize, NearCacheStatsImpl nearCacheStats) {
+        checkPositive(maximumSize, "maximumSize must be positive");
+        this.windowCapacity = Math.max(1, (int) ((long) maximumSize * WINDOW_PERCENTAGE / PERCENTAGE));
+        this.mainCapacity = maximumSize - windowCapacity;
+        this.protectedCapacity = (int) ((long) mainCapacity * PROTECTED_PERCENTAGE / PERCENTAGE);
+        this.sketch = new FrequencySketch(maximumSize);
+        this.nearCacheStats = nearCacheStats;
+    }
+
+    /**
+     * Records a read hit on the given key.
+     * <p>
+     * The hit is counted by the frequency sketch and moves the key to the
+     * most recently used position of its segment. A hit on a probation key
+     * promotes it to the protected segment.
+     *
+     * @param key the accessed key
+     */
+    public void recordAccess(K key) {
+        sketch.increment(key.hashCode());
+        if (window.get(key) != null || protectedSegment.get(key) != null) {
+            return;
+        }
+        if (probation.remove(key) != null) {
+            protectedSegment.put(key, Boolean.TRUE);
+            demoteProtected();
+        }
+    }
+
+    /**
+     * Adds a new key to the window.
+     * <p>
+     * If this pushes a candidate out of the window while the main region is
+     * full, either the candidate or the victim of the main region is
+     * returned and has to be removed from the Near Cache by the caller.
+     *
+     * @param key the added key
+     * @return the key to evict or {@code null} if nothing has to be evicted
+     */
+    public K onAdd(K key) {
+        if (contains(key)) {
+            recordAccess(key);
+            return null;
+        }
+        sketch.increment(key.hashCode());
+        window.put(key, Boolean.TRUE);
+        if (window.size() <= windowCapacity) {
+            return null;
+        }
+
+        K candidate = removeEldest(window);
+        if (probation.size() + protectedSegment.size() < mainCapacity) {
+            probation.put(candidate, Boolean.TRUE);
+            return null;
+        }
+
+        Map<K, Boolean> victimSegment = probation.isEmpty() ? protectedSegment : probation;
+        if (victimSegment.isEmpty()) {
+            return candidate;
+        }
+        K victim = victimSegment.keySet().iterator().next();
+        if (sketch.frequency(candidate.hashCode()) > sketch.frequency(victim.hashCode())) {
+            victimSegment.remove(victim);
+            probation.put(candidate, Boolean.TRUE);
+            return victim;
+        }
+        nearCacheStats.incrementAdmissionRejections();
+        return candidate;
+    }
+
+    /**
+     * Stops tracking the given key, e.g. after it has been invalidated.
+     *
+     * @param key the removed key
+     */
+    public void onRemove(K key) {
+        if (window.remove(key) == null && probation.remove(key) == null) {
+            protectedSegment.remove(key);
+        }
+    }
+
+    /**
+     * Stops tracking all keys and resets the frequency sketch.
+     */
+    public void clear() {
+        window.clear();
+        probation.clear();
+        protectedSegment.clear();
+        sketch.clear();
+    }
+
+    public boolean contains(K key) {
+        return window.containsKey(key) || probation.containsKey(key) || protectedSegment.containsKey(key);
+    }
+
+    public int size() {
+        return window.size() + probation.size() + protectedSegment.size();
+    }
+
+    // just for testing
+    boolean isProtected(K key) {
+        return protectedSegment.containsKey(key);
+    }
+
+    private void demoteProtected() {
+        if (protectedSegment.size() > protectedCapacity) {
+            probation.put(removeEldest(protectedSegment), Boolean.TRUE);
+        }
+    }
+
+    private static <K> K removeEldest(Map<K, Boolean> segment) {
+        Iterator<K> iterator = segment.keySet().iterator();
+        K eldest = iterator.next();
+        iterator.remove();
+        return eldest;
+    }
+}
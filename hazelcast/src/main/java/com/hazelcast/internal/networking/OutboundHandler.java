@@ -49,6 +49,14 @@ import static com.hazelcast.nio.IOUtil.newByteBuffer;
  * in reading mode and it is the responsibility of the OutboundHandler
  * in front to put that buffer in reading mode.
  *
+ * <h1>Gathering writes</h1>
+ * The last OutboundHandler in the pipeline writes its dst straight to the
+ * socket. Such a handler can avoid copying large payloads into its dst by
+ * returning them from {@link #pendingPayload()}; the pipeline will then write
+ * the dst and the payload using a single gathering write. The handler should
+ * not write anything to its dst while the payload has remaining bytes since
+ * that would change the order in which the bytes end up on the socket.
+ *
  * @param <S> the type of the source. E.g. a ByteBuffer or a
  *            {@link java.util.function.Supplier}.
  * @param <D> the type of the destination. E.g. a ByteBuffer or a
@@ -61,6 +69,8 @@ import static com.hazelcast.nio.IOUtil.newByteBuffer;
  */
 public abstract class OutboundHandler<S, D> extends ChannelHandler<OutboundHandler, S, D> {
 
+    private boolean gatheringWriteAllowed;
+
     /**
      * A callback to indicate that this OutboundHandler should be
      * processed.
@@ -75,6 +85,40 @@ public abstract class OutboundHandler<S, D> extends ChannelHandler<OutboundHandl
      */
     public abstract HandlerStatus onWrite() throws Exception;
 
+    /**
+     * Returns the buffer that should be written to the socket directly after
+     * the dst buffer.
+     *
+     * This method is only called by the pipeline when this handler is allowed
+     * to make use of gathering writes; see {@link #isGatheringWriteAllowed()}.
+     *
+     * @return the pending payload in reading mode, or null if there is none.
+     */
+    public ByteBuffer pendingPayload() {
+        return null;
+    }
+
+    /**
+     * Sets if this OutboundHandler is allowed to make use of gathering writes.
+     * This is done by the pipeline and is only the case for the last handler
+     * in the pipeline.
+     *
+     * @param gatheringWriteAllowed true if gathering writes are allowed.
+     */
+    public final void setGatheringWriteAllowed(boolean gatheringWriteAllowed) {
+        this.gatheringWriteAllowed = gatheringWriteAllowed;
+    }
+
+    /**
+     * Checks if this OutboundHandler is allowed to return a payload from
+     * {@link #pendingPayload()}.
+     *
+     * @return true if gathering writes are allowed.
+     */
+    protected final boolean isGatheringWriteAllowed() {
+        return gatheringWriteAllowed;
+    }
+
     /**
      * Initializes the dst ByteBuffer with the value for {@link ChannelOption#SO_SNDBUF}.
      *
@@ -80,6 +80,13 @@ import static java.util.logging.Level.FINE;
  * 'selectNow' mode that makes it spinning on the selector. This is an experimental
  * feature and will cause the io threads to run hot. For this reason, when this feature
  * is enabled, the number of io threads should be reduced (preferably 1).
+ * <p>
+ * The input threads can also be {@link Context#sharedInputThreads(NioThread[])
+ * shared} with another component, e.g. the thread-per-core operation executor.
+ * The lifecycle of the shared threads is not managed by the networking. The
+ * output threads are never shared: the inbound and the outbound pipeline of a
+ * channel can't be served by the same thread since a channel is registered
+ * only once with a selector.
  */
 public final class NioNetworking implements Networking {
 
@@ -102,6 +109,7 @@ public final class NioNetworking implements Networking {
     private volatile ExecutorService closeListenerExecutor;
     private final ConcurrencyDetection concurrencyDetection;
     private final boolean writeThroughEnabled;
+    private final NioThread[] sharedInputThreads;
     private volatile IOBalancer ioBalancer;
     private volatile NioThread[] inputThreads;
     private volatile NioThread[] outputThreads;
@@ -134,6 +142,7 @@ public final class NioNetworking implements Networking {
         metricsRegistry.scanAndRegister(this, "tcp");
         this.concurrencyDetection = ctx.concurrencyDetection;
         this.writeThroughEnabled = ctx.writeThroughEnabled;
+        this.sharedInputThreads = ctx.sharedInputThreads;
     }
 
     @SuppressFBWarnings(value = "EI_EXPOSE_REP", justification = "used only for testing")
@@ -178,21 +187,14 @@ public final class NioNetworking implements Networking {
             return t;
         });
 
-        NioThread[] inThreads = new NioThread[inputThreadCount];
-        for (int i = 0; i < inThreads.length; i++) {
-            NioThread thread = new NioThread(
-                    createThreadPoolName(threadNamePrefix, "IO") + "in-" + i,
-                    loggingService.getLogger(NioThread.class),
-                    errorHandler,
-                    selectorMode,
-                    idleStrategy);
-            thread.id = i;
-            thread.setSelectorWorkaroundTest(selectorWorkaroundTest);
-            inThreads[i] = thread;
-            metricsRegistry.scanAndRegister(thread, "tcp.inputThread[" + thread.getName() + "]");
-            thread.start();
+        if (sharedInputThreads != null) {
+            for (NioThread thread : sharedInputThreads) {
+                metricsRegistry.scanAndRegister(thread, "tcp.inputThread[" + thread.getName() + "]");
+            }
+            this.inputThreads = sharedInputThreads;
+        } else {
+            startInputThreads();
         }
-        this.inputThreads = inThreads;
 
         NioThread[] outThreads = new NioThread[outputThreadCount];
         for (int i = 0; i < outThreads.length; i++) {
@@ -213,6 +215,24 @@ public final class NioNetworking implements Networking {
         startIOBalancer();
     }
 
+    private void startInputThreads() {
+        NioThread[] inThreads = new NioThread[inputThreadCount];
+        for (int i = 0; i < inThreads.length; i++) {
+            NioThread thread = new NioThread(
+                    createThreadPoolName(threadNamePrefix, "IO") + "in-" + i,
+                    loggingService.getLogger(NioThread.class),
+                    errorHandler,
+                    selectorMode,
+                    idleStrategy);
+            thread.id = i;
+            thread.setSelectorWorkaroundTest(selectorWorkaroundTest);
+            inThreads[i] = thread;
+            metricsRegistry.scanAndRegister(thread, "tcp.inputThread[" + thread.getName() + "]");
+            thread.start();
+        }
+        this.inputThreads = inThreads;
+    }
+
     private void startIOBalancer() {
         ioBalancer = new IOBalancer(inputThreads, outputThreads, threadNamePrefix, balancerIntervalSeconds, loggingService);
         ioBalancer.start();
@@ -245,9 +265,15 @@ public final class NioNetworking implements Networking {
             logger.finest("Shutting down IO Threads... Total: " + (inputThreads.length + outputThreads.length));
         }
 
-        shutdown(inputThreads);
-        inputThreads = null;
+        if (sharedInputThreads != null) {
+            for (NioThread thread : sharedInputThreads) {
+                metricsRegistry.deregister(thread);
+            }
+        } else {
+            shutdown(inputThreads);
+        }
         shutdown(outputThreads);
+        inputThreads = null;
         outputThreads = null;
         closeListenerExecutor.shutdown();
         closeListenerExecutor = null;
@@ -293,11 +319,11 @@ public final class NioNetworking implements Networking {
     }
 
     private NioOutboundPipeline newOutboundPipeline(NioChannel channel) {
-        int index = hashToIndex(nextOutputThreadIndex.getAndIncrement(), outputThreadCount);
         NioThread[] threads = outputThreads;
         if (threads == null) {
             throw new IllegalStateException("NioNetworking is shutdown!");
         }
+        int index = hashToIndex(nextOutputThreadIndex.getAndIncrement(), threads.length);
 
         return new NioOutboundPipeline(
                 channel,
@@ -310,11 +336,11 @@ public final class NioNetworking implements Networking {
     }
 
     private NioInboundPipeline newInboundPipeline(NioChannel channel) {
-        int index = hashToIndex(nextInputThreadIndex.getAndIncrement(), inputThreadCount);
         NioThread[] threads = inputThreads;
         if (threads == null) {
             throw new IllegalStateException("NioNetworking is shutdown!");
         }
+        int index = hashToIndex(nextInputThreadIndex.getAndIncrement(), threads.length);
 
         return new NioInboundPipeline(
                 channel,
@@ -404,6 +430,7 @@ public final class NioNetworking implements Networking {
         private SelectorMode selectorMode = SelectorMode.getConfiguredValue();
         private boolean selectorWorkaroundTest = Boolean.getBoolean("hazelcast.io.selector.workaround.test");
         private ConcurrencyDetection concurrencyDetection;
+        private NioThread[] sharedInputThreads;
 
         // if the calling thread is allowed to write through to the socket if that is possible.
         // this is an optimization that can speed up low threaded setups
@@ -470,5 +497,16 @@ public final class NioNetworking implements Networking {
             this.balancerIntervalSeconds = balancerIntervalSeconds;
             return this;
         }
+
+        /**
+         * Makes the networking use the given already running threads as the
+         * input threads instead of creating its own ones. The input thread
+         * count is ignored then.
+         */
+        @SuppressFBWarnings("EI_EXPOSE_REP2")
+        public Context sharedInputThreads(NioThread[] sharedInputThreads) {
+            this.sharedInputThreads = sharedInputThreads;
+            return this;
+        }
     }
 }
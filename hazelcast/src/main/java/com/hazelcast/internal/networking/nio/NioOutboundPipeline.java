@@ -101,6 +101,8 @@ public final class NioOutboundPipeline
 
     private OutboundHandler[] handlers = new OutboundHandler[0];
     private ByteBuffer sendBuffer;
+    private OutboundHandler lastHandler;
+    private final ByteBuffer[] gatheringBuffers = new ByteBuffer[2];
 
     private final AtomicReference<State> scheduled = new AtomicReference<>(State.SCHEDULED);
     @Probe(name = "bytesWritten")
@@ -109,6 +111,8 @@ public final class NioOutboundPipeline
     private final SwCounter normalFramesWritten = newSwCounter();
     @Probe(name = "priorityFramesWritten")
     private final SwCounter priorityFramesWritten = newSwCounter();
+    @Probe(name = "gatheringWrites", level = DEBUG)
+    private final SwCounter gatheringWrites = newSwCounter();
 
     private volatile long lastWriteTime;
 
@@ -285,7 +289,7 @@ public final class NioOutboundPipeline
             }
         }
 
-        flushToSocket();
+        boolean flushed = flushToSocket();
 
         if (migrationRequested()) {
             startMigration();
@@ -294,7 +298,7 @@ public final class NioOutboundPipeline
             return;
         }
 
-        if (sendBuffer.remaining() > 0) {
+        if (!flushed) {
             pipelineStatus = DIRTY;
         }
 
@@ -398,11 +402,32 @@ public final class NioOutboundPipeline
         }
     }
 
-    private void flushToSocket() throws IOException {
+    /**
+     * Writes the sendBuffer and, if the last handler has one, its pending
+     * payload to the socket.
+     *
+     * @return true if everything got written, false otherwise.
+     */
+    private boolean flushToSocket() throws IOException {
         lastWriteTime = currentTimeMillis();
-        int written = socketChannel.write(sendBuffer);
-        bytesWritten.inc(written);
-        //System.out.println(channel + " bytes written:" + written);
+        ByteBuffer payload = lastHandler.pendingPayload();
+        if (payload == null) {
+            int written = socketChannel.write(sendBuffer);
+            bytesWritten.inc(written);
+            return !sendBuffer.hasRemaining();
+        }
+
+        gatheringBuffers[0] = sendBuffer;
+        gatheringBuffers[1] = payload;
+        try {
+            long written = socketChannel.write(gatheringBuffers);
+            bytesWritten.inc(written);
+            gatheringWrites.inc();
+        } finally {
+            gatheringBuffers[0] = null;
+            gatheringBuffers[1] = null;
+        }
+        return !sendBuffer.hasRemaining() && !payload.hasRemaining();
     }
 
     void drainWriteQueues() {
@@ -472,10 +497,12 @@ public final class NioOutboundPipeline
 
     private void updatePipeline(OutboundHandler[] newHandlers) {
         this.handlers = newHandlers;
-        this.sendBuffer = newHandlers.length == 0 ? null : (ByteBuffer) newHandlers[newHandlers.length - 1].dst();
+        this.lastHandler = newHandlers.length == 0 ? null : newHandlers[newHandlers.length - 1];
+        this.sendBuffer = lastHandler == null ? null : (ByteBuffer) lastHandler.dst();
 
         OutboundHandler prev = null;
         for (OutboundHandler handler : handlers) {
+            handler.setGatheringWriteAllowed(handler == lastHandler);
             if (prev == null) {
                 handler.src(this);
             } else {
@@ -18,6 +18,7 @@ package com.hazelcast.internal.partition;
 
 import com.hazelcast.internal.partition.impl.PartitionDataSerializerHook;
 import com.hazelcast.nio.Address;
+import com.hazelcast.nio.BufferObjectDataOutput;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
@@ -42,6 +43,8 @@ public class ReplicaFragmentMigrationState implements IdentifiedDataSerializable
 
     private Collection<Operation> migrationOperations;
 
+    private transient volatile int serializedSize = -1;
+
     public ReplicaFragmentMigrationState() {
     }
 
@@ -59,6 +62,13 @@ public class ReplicaFragmentMigrationState implements IdentifiedDataSerializable
         return migrationOperations;
     }
 
+    /**
+     * Returns the size in bytes of the last serialized form of this state or {@code -1} if it is not known.
+     */
+    public int getSerializedSize() {
+        return serializedSize;
+    }
+
     @Override
     public int getFactoryId() {
         return PartitionDataSerializerHook.F_ID;
@@ -71,6 +81,7 @@ public class ReplicaFragmentMigrationState implements IdentifiedDataSerializable
 
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
+        int start = out instanceof BufferObjectDataOutput ? ((BufferObjectDataOutput) out).position() : -1;
         out.writeInt(namespaces.size());
         for (Map.Entry<ServiceNamespace, long[]> e : namespaces.entrySet()) {
             out.writeObject(e.getKey());
@@ -80,6 +91,9 @@ public class ReplicaFragmentMigrationState implements IdentifiedDataSerializable
         for (Operation operation : migrationOperations) {
             out.writeObject(operation);
         }
+        if (start >= 0) {
+            serializedSize = ((BufferObjectDataOutput) out).position() - start;
+        }
     }
 
     @Override
@@ -43,6 +43,8 @@ import com.hazelcast.internal.partition.operation.FetchPartitionStateOperation;
 import com.hazelcast.internal.partition.operation.PartitionStateOperation;
 import com.hazelcast.internal.partition.operation.PartitionStateVersionCheckOperation;
 import com.hazelcast.internal.partition.operation.ShutdownRequestOperation;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DataSlab;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.serialization.Data;
@@ -946,7 +948,17 @@ public class InternalPartitionServiceImpl implements InternalPartitionService,
 
     @Override
     public final int getPartitionId(Object key) {
-        return getPartitionId(nodeEngine.toData(key));
+        if (key instanceof Data) {
+            return getPartitionId((Data) key);
+        }
+        // the key is only serialized to get its partition hash, so it does not need its own byte-array
+        InternalSerializationService serializationService = node.getSerializationService();
+        DataSlab slab = serializationService.takeDataSlab();
+        try {
+            return getPartitionId((Data) serializationService.toData(key, slab));
+        } finally {
+            serializationService.returnDataSlab(slab);
+        }
     }
 
     @Override
@@ -44,6 +44,7 @@ import com.hazelcast.internal.partition.operation.PromotionCommitOperation;
 import com.hazelcast.internal.partition.operation.PublishCompletedMigrationsOperation;
 import com.hazelcast.internal.partition.operation.ShutdownResponseOperation;
 import com.hazelcast.logging.ILogger;
+import com.hazelcast.memory.MemoryUnit;
 import com.hazelcast.nio.Address;
 import com.hazelcast.spi.impl.executionservice.ExecutionService;
 import com.hazelcast.spi.impl.InternalCompletableFuture;
@@ -86,6 +87,13 @@ import static com.hazelcast.spi.partition.IPartitionService.SERVICE_NAME;
 
 /**
  * Maintains migration system state and manages migration operations performed within the cluster.
+ * <p>
+ * Migrations are executed one at a time by the {@link MigrationThread} of the master. Each migration
+ * is planned and committed against the single partition state version of the cluster, and every member
+ * tracks at most one active migration, which is also part of the {@link PartitionRuntimeState}. Running
+ * migrations concurrently, bounded per source and destination member, needs per-partition state versions
+ * and a set of active migrations in that protocol first. Until then the transfer rate of a single
+ * migration is bounded by the {@link MigrationThrottle} of its source.
  */
 @SuppressWarnings({"checkstyle:classdataabstractioncoupling", "checkstyle:methodcount", "checkstyle:classfanoutcomplexity"})
 public class MigrationManager {
@@ -111,6 +119,7 @@ public class MigrationManager {
     private final LinkedHashSet<MigrationInfo> completedMigrations = new LinkedHashSet<>();
     private final AtomicBoolean promotionPermit = new AtomicBoolean(false);
     private final MigrationStats stats = new MigrationStats();
+    private final MigrationThrottle migrationThrottle;
     private volatile MigrationInterceptor migrationInterceptor = new MigrationInterceptor.NopMigrationInterceptor();
     private final Lock partitionServiceLock;
     private final MigrationPlanner migrationPlanner;
@@ -129,6 +138,8 @@ public class MigrationManager {
         partitionMigrationInterval = properties.getPositiveMillisOrDefault(GroupProperty.PARTITION_MIGRATION_INTERVAL, 0);
         partitionMigrationTimeout = properties.getMillis(GroupProperty.PARTITION_MIGRATION_TIMEOUT);
         fragmentedMigrationEnabled = properties.getBoolean(GroupProperty.PARTITION_FRAGMENTED_MIGRATION_ENABLED);
+        migrationThrottle = new MigrationThrottle(
+                MemoryUnit.MEGABYTES.toBytes(properties.getInteger(GroupProperty.PARTITION_MIGRATION_MAX_BANDWIDTH_MB)));
         partitionStateManager = partitionService.getPartitionStateManager();
         ILogger migrationThreadLogger = node.getLogger(MigrationThread.class);
         String hzName = nodeEngine.getHazelcastInstance().getName();
@@ -665,6 +676,20 @@ public class MigrationManager {
         return stats;
     }
 
+    public MigrationThrottle getMigrationThrottle() {
+        return migrationThrottle;
+    }
+
+    /**
+     * Records the size of a migration fragment sent by this member as the migration source.
+     *
+     * @param bytes the serialized size of the fragment
+     */
+    public void onMigrationDataSent(long bytes) {
+        migrationThrottle.onSent(bytes);
+        stats.recordSentMigrationData(bytes);
+    }
+
     /**
      * Invoked on the master node. Rearranges the partition table if there is no recent activity in the cluster after
      * this task has been scheduled, schedules migrations and syncs the partition state.
@@ -786,6 +811,7 @@ public class MigrationManager {
             }
             partitionService.publishPartitionRuntimeState();
 
+            stats.setPlannedMigrations(migrationCount.value);
             if (migrationCount.value > 0) {
                 scheduleMigrations(migrations);
                 // Schedule a task to publish completed migrations after all migrations tasks are completed.
@@ -23,6 +23,8 @@ import java.util.Date;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
+import static java.lang.Math.max;
+
 /**
  * Collection of stats for partition migration tasks.
  */
@@ -31,6 +33,9 @@ public class MigrationStats {
     @Probe
     private final AtomicLong lastRepartitionTime = new AtomicLong();
 
+    @Probe
+    private final AtomicLong plannedMigrations = new AtomicLong();
+
     @Probe
     private final AtomicLong completedMigrations = new AtomicLong();
 
@@ -55,6 +60,9 @@ public class MigrationStats {
     @Probe
     private final AtomicLong totalElapsedMigrationTime = new AtomicLong();
 
+    @Probe
+    private final AtomicLong totalSentMigrationData = new AtomicLong();
+
     /**
      * Marks start of new repartitioning.
      * Resets stats from previous repartitioning round.
@@ -65,6 +73,11 @@ public class MigrationStats {
         elapsedDestinationCommitTime.set(0);
         elapsedMigrationTime.set(0);
         completedMigrations.set(0);
+        plannedMigrations.set(0);
+    }
+
+    void setPlannedMigrations(int migrations) {
+        plannedMigrations.set(migrations);
     }
 
     void incrementCompletedMigrations() {
@@ -87,6 +100,10 @@ public class MigrationStats {
         totalElapsedMigrationTime.addAndGet(time);
     }
 
+    void recordSentMigrationData(long bytes) {
+        totalSentMigrationData.addAndGet(bytes);
+    }
+
     /**
      * Returns the last repartition time.
      */
@@ -94,6 +111,36 @@ public class MigrationStats {
         return new Date(lastRepartitionTime.get());
     }
 
+    /**
+     * Returns the number of migrations planned on the latest repartitioning round.
+     */
+    public long getPlannedMigrations() {
+        return plannedMigrations.get();
+    }
+
+    /**
+     * Returns the number of planned migrations not completed yet on the latest repartitioning round.
+     */
+    @Probe
+    public long getRemainingMigrations() {
+        return max(0, plannedMigrations.get() - completedMigrations.get());
+    }
+
+    /**
+     * Returns the estimated time to complete the remaining migrations of the latest repartitioning round,
+     * in milliseconds, based on the average time of the migrations completed so far.
+     * Returns {@code -1} if no migration has been completed yet.
+     */
+    @Probe
+    public long getEstimatedRemainingMigrationTime() {
+        long completed = completedMigrations.get();
+        if (completed == 0) {
+            return getRemainingMigrations() == 0 ? 0 : -1;
+        }
+        long elapsed = max(0, Clock.currentTimeMillis() - lastRepartitionTime.get());
+        return elapsed * getRemainingMigrations() / completed;
+    }
+
     /**
      * Returns the number of completed migrations on the latest repartitioning round.
      */
@@ -156,9 +203,18 @@ public class MigrationStats {
         return TimeUnit.NANOSECONDS.toMillis(totalElapsedMigrationTime.get());
     }
 
+    /**
+     * Returns the total size of the migration data sent by this member as the migration source,
+     * in bytes, since the beginning.
+     */
+    public long getTotalSentMigrationData() {
+        return totalSentMigrationData.get();
+    }
+
     public String formatToString(boolean detailed) {
         StringBuilder s = new StringBuilder();
         s.append("lastRepartitionTime=").append(getLastRepartitionTime())
+                .append(", plannedMigrations=").append(getPlannedMigrations())
                 .append(", completedMigrations=").append(getCompletedMigrations())
                 .append(", totalCompletedMigrations=").append(getTotalCompletedMigrations());
 
@@ -166,7 +222,8 @@ public class MigrationStats {
             s.append(", elapsedMigrationOperationTime=").append(getElapsedMigrationOperationTime()).append("ms")
                     .append(", totalElapsedMigrationOperationTime=").append(getTotalElapsedMigrationOperationTime()).append("ms")
                     .append(", elapsedDestinationCommitTime=").append(getElapsedDestinationCommitTime()).append("ms")
-                    .append(", totalElapsedDestinationCommitTime=").append(getTotalElapsedDestinationCommitTime()).append("ms");
+                    .append(", totalElapsedDestinationCommitTime=").append(getTotalElapsedDestinationCommitTime()).append("ms")
+                    .append(", totalSentMigrationData=").append(getTotalSentMigrationData()).append("bytes");
         }
 
         s.append(", elapsedMigrationTime=").append(getElapsedMigrationTime()).append("ms")
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.partition.impl;
+
+import static java.lang.Math.max;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Limits the rate of partition migration data sent by this member to a number of bytes per second.
+ * <p>
+ * The sent data is accounted on a virtual timeline: each sent fragment moves the time at which the
+ * budget becomes available again forward by the time needed to transfer it at the configured rate.
+ * The next fragment should be sent only after {@link #getDelayNanos()} elapses.
+ *
+ * @see com.hazelcast.spi.properties.GroupProperty#PARTITION_MIGRATION_MAX_BANDWIDTH_MB
+ */
+public final class MigrationThrottle {
+
+    private static final long NANOS_PER_SECOND = SECONDS.toNanos(1);
+
+    private final long bytesPerSecond;
+
+    // guarded by this
+    private long nextSendNanos;
+
+    MigrationThrottle(long bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+    }
+
+    /**
+     * Returns {@code true} if the rate is limited, {@code false} otherwise.
+     */
+    public boolean isEnabled() {
+        return bytesPerSecond > 0;
+    }
+
+    /**
+     * Records that the given number of bytes has been sent.
+     *
+     * @param bytes number of sent bytes, ignored if not positive
+     */
+    public void onSent(long bytes) {
+        if (!isEnabled() || bytes <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        synchronized (this) {
+            nextSendNanos = max(now, nextSendNanos) + bytes * NANOS_PER_SECOND / bytesPerSecond;
+        }
+    }
+
+    /**
+     * Returns the time in nanoseconds to wait before sending the next fragment, zero if it can be sent immediately.
+     */
+    public long getDelayNanos() {
+        if (!isEnabled()) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        synchronized (this) {
+            return max(0, nextSendNanos - now);
+        }
+    }
+}
@@ -26,6 +26,7 @@ import com.hazelcast.internal.partition.ReplicaFragmentMigrationState;
 import com.hazelcast.internal.partition.impl.MigrationInterceptor.MigrationParticipant;
 import com.hazelcast.internal.partition.impl.InternalPartitionServiceImpl;
 import com.hazelcast.internal.partition.impl.MigrationManager;
+import com.hazelcast.internal.partition.impl.MigrationThrottle;
 import com.hazelcast.internal.partition.impl.PartitionDataSerializerHook;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Address;
@@ -33,6 +34,7 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.spi.impl.operationservice.CallStatus;
 import com.hazelcast.spi.impl.operationservice.ExceptionAction;
+import com.hazelcast.spi.partition.ChunkedMigrationAwareService;
 import com.hazelcast.spi.partition.FragmentedMigrationAwareService;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.partition.PartitionMigrationEvent;
@@ -48,8 +50,11 @@ import com.hazelcast.spi.impl.SimpleExecutionCallback;
 import com.hazelcast.spi.impl.operationservice.impl.OperationServiceImpl;
 import com.hazelcast.spi.impl.servicemanager.ServiceInfo;
 import com.hazelcast.spi.partition.MigrationEndpoint;
+import com.hazelcast.spi.properties.GroupProperty;
+import com.hazelcast.spi.properties.HazelcastProperties;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -59,6 +64,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 import static java.util.Collections.singleton;
@@ -69,11 +75,15 @@ import static java.util.Collections.singleton;
  * sending them to the destination. A response with a value equal to {@link Boolean#TRUE} indicates a successful migration.
  * It runs on the migration source and transfers the partition with multiple shots.
  * It divides the partition data into fragments and send a group of fragments within each shot.
+ * Data of a fragment owned by a {@link ChunkedMigrationAwareService} is sent in multiple bounded chunks,
+ * one chunk within each shot, and the replica versions of the fragment are sent with its last chunk.
  */
 public class MigrationRequestOperation extends BaseMigrationOperation {
 
     private boolean fragmentedMigrationEnabled;
     private transient ServiceNamespacesContext namespacesContext;
+    private transient boolean chunkedMigrationEnabled;
+    private transient int maxChunkSize;
 
     public MigrationRequestOperation() {
     }
@@ -104,23 +114,54 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
 
         @Override
         public void start() {
-            NodeEngineImpl nodeEngine = (NodeEngineImpl) getNodeEngine();
-            try {
-                executeBeforeMigrations();
-                namespacesContext = new ServiceNamespacesContext(nodeEngine, getPartitionReplicationEvent());
-                ReplicaFragmentMigrationState migrationState = fragmentedMigrationEnabled
-                        ? createNextReplicaFragmentMigrationState()
-                        : createAllReplicaFragmentsMigrationState();
-                invokeMigrationOperation(migrationState, true);
-            } catch (Throwable e) {
-                logThrowable(e);
-                completeMigration(false);
-            } finally {
-                migrationInfo.doneProcessing();
+            long delayNanos = getMigrationThrottle().getDelayNanos();
+            if (delayNanos > 0) {
+                // the first fragment waits for the migration bandwidth budget as well
+                executeOnPartitionThread(new StartMigrationRunnable(), delayNanos);
+            } else {
+                startMigration();
             }
         }
     }
 
+    private void startMigration() {
+        NodeEngineImpl nodeEngine = (NodeEngineImpl) getNodeEngine();
+        try {
+            executeBeforeMigrations();
+            HazelcastProperties properties = nodeEngine.getProperties();
+            chunkedMigrationEnabled = properties.getBoolean(GroupProperty.PARTITION_CHUNKED_MIGRATION_ENABLED);
+            maxChunkSize = properties.getInteger(GroupProperty.PARTITION_MIGRATION_CHUNK_SIZE);
+            namespacesContext = new ServiceNamespacesContext(nodeEngine, getPartitionReplicationEvent());
+            ReplicaFragmentMigrationState migrationState = fragmentedMigrationEnabled
+                    ? createNextReplicaFragmentMigrationState()
+                    : createAllReplicaFragmentsMigrationState();
+            invokeMigrationOperation(migrationState, true);
+        } catch (Throwable e) {
+            logThrowable(e);
+            completeMigration(false);
+        } finally {
+            migrationInfo.doneProcessing();
+        }
+    }
+
+    private MigrationThrottle getMigrationThrottle() {
+        InternalPartitionServiceImpl partitionService = getService();
+        return partitionService.getMigrationManager().getMigrationThrottle();
+    }
+
+    /**
+     * Executes the task on the partition thread after the given delay.
+     */
+    private void executeOnPartitionThread(PartitionSpecificRunnable task, long delayNanos) {
+        OperationServiceImpl operationService = (OperationServiceImpl) getNodeEngine().getOperationService();
+        if (delayNanos > 0) {
+            getNodeEngine().getExecutionService()
+                    .schedule(() -> operationService.execute(task), delayNanos, TimeUnit.NANOSECONDS);
+        } else {
+            operationService.execute(task);
+        }
+    }
+
     @Override
     void executeBeforeMigrations() throws Exception {
         NodeEngine nodeEngine = getNodeEngine();
@@ -137,7 +178,8 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
      * Invokes the {@link MigrationOperation} on the migration destination.
      */
     private void invokeMigrationOperation(ReplicaFragmentMigrationState migrationState, boolean firstFragment) {
-        boolean lastFragment = !fragmentedMigrationEnabled || !namespacesContext.hasNext();
+        boolean lastFragment = !fragmentedMigrationEnabled
+                || (!namespacesContext.hasNext() && !namespacesContext.hasPendingChunks());
         Operation operation = new MigrationOperation(migrationInfo,
                 firstFragment ? completedMigrations : Collections.emptyList(),
                 partitionStateVersion, migrationState, firstFragment, lastFragment);
@@ -162,6 +204,12 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
                 .setTryCount(InternalPartitionService.MIGRATION_RETRY_COUNT)
                 .setTryPauseMillis(InternalPartitionService.MIGRATION_RETRY_PAUSE)
                 .invoke();
+
+        // the operation has been serialized while being sent to the destination
+        int sentBytes = migrationState != null ? migrationState.getSerializedSize() : -1;
+        if (sentBytes > 0) {
+            partitionService.getMigrationManager().onMigrationDataSent(sentBytes);
+        }
     }
 
     private void trySendNewFragment() {
@@ -194,6 +242,10 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
     private ReplicaFragmentMigrationState createNextReplicaFragmentMigrationState() {
         assert fragmentedMigrationEnabled : "Fragmented migration should be enabled!";
 
+        if (namespacesContext.hasPendingChunks()) {
+            return createNextChunkMigrationState();
+        }
+
         if (!namespacesContext.hasNext()) {
             return null;
         }
@@ -202,9 +254,61 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
         if (namespace.equals(NonFragmentedServiceNamespace.INSTANCE)) {
             return createNonFragmentedReplicaFragmentMigrationState();
         }
+
+        String chunkedServiceName = chunkedMigrationEnabled ? getChunkedServiceName(namespace) : null;
+        if (chunkedServiceName != null) {
+            ChunkedMigrationAwareService service = getNodeEngine().getService(chunkedServiceName);
+            Iterator<Operation> chunks = service.prepareReplicationChunks(getPartitionReplicationEvent(),
+                    namespace, maxChunkSize);
+            namespacesContext.startChunks(namespace, chunkedServiceName, chunks);
+            return createNextChunkMigrationState();
+        }
         return createReplicaFragmentMigrationStateFor(namespace);
     }
 
+    /**
+     * Returns the name of the single {@link ChunkedMigrationAwareService} among the services of the given namespace,
+     * or {@code null} if there is none or more than one.
+     */
+    private String getChunkedServiceName(ServiceNamespace ns) {
+        String chunkedServiceName = null;
+        for (String serviceName : namespacesContext.getServiceNames(ns)) {
+            if (getNodeEngine().getService(serviceName) instanceof ChunkedMigrationAwareService) {
+                if (chunkedServiceName != null) {
+                    return null;
+                }
+                chunkedServiceName = serviceName;
+            }
+        }
+        return chunkedServiceName;
+    }
+
+    private ReplicaFragmentMigrationState createNextChunkMigrationState() {
+        ServiceNamespace namespace = namespacesContext.chunkNamespace;
+        String chunkedServiceName = namespacesContext.chunkedServiceName;
+        Iterator<Operation> chunks = namespacesContext.chunks;
+
+        Operation chunk = chunks.hasNext() ? chunks.next() : null;
+        if (chunk != null) {
+            chunk.setServiceName(chunkedServiceName);
+        }
+        if (chunks.hasNext()) {
+            // replica versions of the namespace are applied on the destination only after its last chunk
+            return new ReplicaFragmentMigrationState(Collections.emptyMap(), singleton(chunk));
+        }
+        namespacesContext.finishChunks();
+
+        // state of the other services sharing the namespace (e.g. locks of map entries) is sent with the last chunk
+        Collection<String> otherServiceNames = new HashSet<>(namespacesContext.getServiceNames(namespace));
+        otherServiceNames.remove(chunkedServiceName);
+        Collection<Operation> operations = new ArrayList<>();
+        if (chunk != null) {
+            operations.add(chunk);
+        }
+        operations.addAll(createFragmentReplicationOperations(getPartitionReplicationEvent(), namespace, otherServiceNames));
+        return createReplicaFragmentMigrationState(singleton(namespace), operations);
+    }
+
     private ReplicaFragmentMigrationState createNonFragmentedReplicaFragmentMigrationState() {
         PartitionReplicationEvent event = getPartitionReplicationEvent();
         Collection<Operation> operations = createNonFragmentedReplicationOperations(event);
@@ -316,8 +420,7 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
         public void notify(Object result) {
             if (Boolean.TRUE.equals(result)) {
                 if (fragmentedMigrationEnabled) {
-                    OperationServiceImpl operationService = (OperationServiceImpl) getNodeEngine().getOperationService();
-                    operationService.execute(new SendNewMigrationFragmentRunnable());
+                    executeOnPartitionThread(new SendNewMigrationFragmentRunnable(), getMigrationThrottle().getDelayNanos());
                 } else {
                     completeMigration(true);
                 }
@@ -345,12 +448,31 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
 
     }
 
+    private final class StartMigrationRunnable implements PartitionSpecificRunnable, UrgentSystemOperation {
+
+        @Override
+        public int getPartitionId() {
+            return MigrationRequestOperation.this.getPartitionId();
+        }
+
+        @Override
+        public void run() {
+            startMigration();
+        }
+
+    }
+
     private static class ServiceNamespacesContext {
         final Collection<ServiceNamespace> allNamespaces = new HashSet<>();
         final Map<ServiceNamespace, Collection<String>> namespaceToServices = new HashMap<>();
 
         final Iterator<ServiceNamespace> namespaceIterator;
 
+        // namespace, service and operations of the fragment currently sent in chunks
+        ServiceNamespace chunkNamespace;
+        String chunkedServiceName;
+        Iterator<Operation> chunks;
+
         ServiceNamespacesContext(NodeEngineImpl nodeEngine, PartitionReplicationEvent event) {
             Collection<ServiceInfo> services = nodeEngine.getServiceInfos(FragmentedMigrationAwareService.class);
             for (ServiceInfo serviceInfo : services) {
@@ -392,6 +514,22 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
             return namespaceIterator.next();
         }
 
+        void startChunks(ServiceNamespace ns, String serviceName, Iterator<Operation> operations) {
+            chunkNamespace = ns;
+            chunkedServiceName = serviceName;
+            chunks = operations;
+        }
+
+        boolean hasPendingChunks() {
+            return chunks != null;
+        }
+
+        void finishChunks() {
+            chunkNamespace = null;
+            chunkedServiceName = null;
+            chunks = null;
+        }
+
         Collection<String> getServiceNames(ServiceNamespace ns) {
             return namespaceToServices.get(ns);
         }
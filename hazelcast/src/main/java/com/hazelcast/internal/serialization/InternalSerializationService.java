@@ -17,6 +17,8 @@
 package com.hazelcast.internal.serialization;
 
 import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.internal.serialization.impl.DataSlab;
+import com.hazelcast.internal.serialization.impl.compact.CompactStreamSerializer;
 import com.hazelcast.partition.PartitioningStrategy;
 import com.hazelcast.nio.BufferObjectDataInput;
 import com.hazelcast.nio.BufferObjectDataOutput;
@@ -66,6 +68,34 @@ public interface InternalSerializationService extends SerializationService, Disp
      */
     byte[] toBytes(Object obj, int leftPadding, boolean insertPartitionHash);
 
+    /**
+     * Serializes the obj into the given slab using the global partitioning strategy and returns a {@link Data} view on
+     * the written region, so no byte-array is allocated for the Data.
+     * <p>
+     * The returned Data is only valid until the slab is returned with {@link #returnDataSlab(DataSlab)}. See
+     * {@link DataSlab} for the lifecycle rules.
+     *
+     * @param obj  the object to serialize
+     * @param slab the slab to write to, taken with {@link #takeDataSlab()}
+     * @return the Data view, {@code obj} itself if it already is a Data, or {@code null} if obj is {@code null}
+     */
+    <B extends Data> B toData(Object obj, DataSlab slab);
+
+    /**
+     * Takes a {@link DataSlab} from the buffer pool of the calling thread.
+     *
+     * @return the taken DataSlab.
+     */
+    DataSlab takeDataSlab();
+
+    /**
+     * Returns a {@link DataSlab} to the buffer pool of the calling thread. All Data views created on the slab become
+     * invalid.
+     *
+     * @param slab the DataSlab.
+     */
+    void returnDataSlab(DataSlab slab);
+
     <B extends Data> B toData(Object obj, DataType type);
 
     <B extends Data> B toData(Object obj, DataType type, PartitioningStrategy strategy);
@@ -92,6 +122,14 @@ public interface InternalSerializationService extends SerializationService, Disp
 
     PortableContext getPortableContext();
 
+    /**
+     * Returns the serializer of the classes configured with a
+     * {@link com.hazelcast.nio.serialization.CompactSerializer}.
+     *
+     * @return the compact stream serializer
+     */
+    CompactStreamSerializer getCompactStreamSerializer();
+
     ClassLoader getClassLoader();
 
     /**
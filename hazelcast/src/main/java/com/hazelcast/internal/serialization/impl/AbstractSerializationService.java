@@ -31,6 +31,7 @@ import com.hazelcast.nio.BufferObjectDataInput;
 import com.hazelcast.nio.BufferObjectDataOutput;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.ClassNameFilter;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.DataSerializable;
 import com.hazelcast.nio.serialization.HazelcastSerializationException;
@@ -38,6 +39,7 @@ import com.hazelcast.nio.serialization.Portable;
 import com.hazelcast.nio.serialization.Serializer;
 
 import java.io.Externalizable;
+import java.io.IOException;
 import java.io.Serializable;
 import java.nio.ByteOrder;
 import java.util.IdentityHashMap;
@@ -142,16 +144,7 @@ public abstract class AbstractSerializationService implements InternalSerializat
         BufferObjectDataOutput out = pool.takeOutputBuffer();
         try {
             out.position(leftPadding);
-
-            SerializerAdapter serializer = serializerFor(obj);
-            if (writeHash) {
-                int partitionHash = calculatePartitionHash(obj, strategy);
-                out.writeInt(partitionHash, BIG_ENDIAN);
-            }
-
-            out.writeInt(serializer.getTypeId(), serializerTypeIdByteOrder);
-
-            serializer.write(out, obj);
+            write(out, obj, writeHash, strategy, serializerTypeIdByteOrder);
             return out.toByteArray();
         } catch (Throwable e) {
             throw handleSerializeException(obj, e);
@@ -160,6 +153,50 @@ public abstract class AbstractSerializationService implements InternalSerializat
         }
     }
 
+    private void write(BufferObjectDataOutput out, Object obj, boolean writeHash, PartitioningStrategy strategy,
+                       ByteOrder serializerTypeIdByteOrder) throws IOException {
+        SerializerAdapter serializer = serializerFor(obj);
+        if (writeHash) {
+            int partitionHash = calculatePartitionHash(obj, strategy);
+            out.writeInt(partitionHash, BIG_ENDIAN);
+        }
+
+        out.writeInt(serializer.getTypeId(), serializerTypeIdByteOrder);
+
+        serializer.write(out, obj);
+    }
+
+    @Override
+    public final <B extends Data> B toData(Object obj, DataSlab slab) {
+        if (obj == null) {
+            return null;
+        }
+        if (obj instanceof Data) {
+            return (B) obj;
+        }
+
+        slab.checkInUse();
+        int offset = slab.size();
+        try {
+            write(slab.out, obj, true, globalPartitioningStrategy, BIG_ENDIAN);
+        } catch (Throwable e) {
+            // drop the partially written object so the slab can still be used
+            slab.out.position(offset);
+            throw handleSerializeException(obj, e);
+        }
+        return (B) slab.view(offset);
+    }
+
+    @Override
+    public DataSlab takeDataSlab() {
+        return bufferPoolThreadLocal.get().takeDataSlab();
+    }
+
+    @Override
+    public void returnDataSlab(DataSlab slab) {
+        bufferPoolThreadLocal.get().returnDataSlab(slab);
+    }
+
     @Override
     public final <T> T toObject(final Object object) {
         if (!(object instanceof Data)) {
@@ -428,6 +465,14 @@ public abstract class AbstractSerializationService implements InternalSerializat
         constantTypeIds[indexForDefaultType(serializer.getTypeId())] = serializer;
     }
 
+    /**
+     * Registers a constant serializer for deserialization only, the types it
+     * serializes are registered separately with {@link #registerConstant(Class, SerializerAdapter)}.
+     */
+    protected final void registerConstantTypeId(SerializerAdapter serializer) {
+        constantTypeIds[indexForDefaultType(serializer.getTypeId())] = serializer;
+    }
+
     private SerializerAdapter registerFromSuperType(final Class type, final Class superType) {
         final SerializerAdapter serializer = typeMap.get(superType);
         if (serializer != null) {
@@ -501,6 +546,22 @@ public abstract class AbstractSerializationService implements InternalSerializat
         return constantTypesMap.get(type);
     }
 
+    /**
+     * Returns the filter of the classes which may be loaded by name during deserialization, or {@code null} if
+     * there is no restriction.
+     */
+    ClassNameFilter getClassNameFilter() {
+        return null;
+    }
+
+    /**
+     * Returns the serializer registered by the user for the given type or one of its super types, or
+     * {@code null} if there is no such serializer.
+     */
+    final SerializerAdapter customSerializerFor(Class type) {
+        return lookupCustomSerializer(type);
+    }
+
     private SerializerAdapter lookupCustomSerializer(Class type) {
         SerializerAdapter serializer = typeMap.get(type);
         if (serializer != null) {
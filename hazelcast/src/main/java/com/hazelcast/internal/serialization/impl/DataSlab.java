@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl;
+
+import com.hazelcast.nio.BufferObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+
+import static com.hazelcast.util.Preconditions.checkInstanceOf;
+
+/**
+ * A pooled, append-only buffer that {@link Data} instances can be serialized into without allocating a byte-array
+ * per instance.
+ * <p>
+ * {@link com.hazelcast.internal.serialization.InternalSerializationService#toData(Object, DataSlab)} writes the
+ * serialized object at the end of the slab and returns a view on that region instead of copying it into a
+ * {@link HeapData}. This removes the per-call garbage for short-lived Data, e.g. a key that is only serialized to
+ * calculate its partition or to be encoded into a client request message.
+ * <p>
+ * Lifecycle rules:
+ * <ol>
+ * <li>A slab is taken with {@code takeDataSlab()} and given back with {@code returnDataSlab(slab)} once the operation
+ * that uses its Data has completed, typically in a finally block. After it is returned, the slab must not be used to
+ * serialize anything.</li>
+ * <li>A Data view is valid until its slab is returned. Any access afterwards fails with an
+ * {@link IllegalStateException} instead of silently reading the bytes of an unrelated object.</li>
+ * <li>A Data view must not be retained beyond the operation: it must not be stored in a record store, cached or
+ * handed to an operation that may execute after the slab is returned. Writing a view to an
+ * {@link com.hazelcast.nio.ObjectDataOutput} copies its bytes, and
+ * {@link com.hazelcast.internal.util.ToHeapDataConverter#toHeapData(Data)} creates a copy that can be retained.</li>
+ * <li>A slab and its views are not thread-safe; they are confined to one thread at a time.</li>
+ * </ol>
+ */
+public final class DataSlab {
+
+    final ByteArrayObjectDataOutput out;
+
+    private int generation;
+    private boolean inUse;
+
+    public DataSlab(BufferObjectDataOutput out) {
+        this.out = checkInstanceOf(ByteArrayObjectDataOutput.class, out);
+    }
+
+    /**
+     * Returns the number of bytes currently used by this slab.
+     */
+    public int size() {
+        return out.pos;
+    }
+
+    /**
+     * Marks this slab as taken from the pool.
+     */
+    public void acquire() {
+        inUse = true;
+    }
+
+    /**
+     * Discards the content of this slab and invalidates all Data views created on it.
+     */
+    public void clear() {
+        inUse = false;
+        generation++;
+        out.clear();
+    }
+
+    void checkInUse() {
+        if (!inUse) {
+            throw new IllegalStateException("DataSlab has been returned to the pool");
+        }
+    }
+
+    Data view(int offset) {
+        return new SlabData(this, generation, offset, out.pos - offset);
+    }
+
+    byte[] buffer(int viewGeneration) {
+        if (viewGeneration != generation) {
+            throw new IllegalStateException("Data is accessed after its DataSlab has been returned to the pool");
+        }
+        // the buffer may have been replaced by a larger one, but the existing content keeps its offset
+        return out.buffer;
+    }
+
+    @Override
+    public String toString() {
+        return "DataSlab{"
+                + "size=" + out.pos
+                + ", generation=" + generation
+                + ", inUse=" + inUse
+                + '}';
+    }
+}
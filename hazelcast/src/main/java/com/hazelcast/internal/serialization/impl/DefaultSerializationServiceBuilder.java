@@ -33,6 +33,7 @@ import com.hazelcast.nio.ClassLoaderUtil;
 import com.hazelcast.nio.serialization.ClassNameFilter;
 import com.hazelcast.nio.serialization.SerializationClassNameFilter;
 import com.hazelcast.nio.serialization.ClassDefinition;
+import com.hazelcast.nio.serialization.CompactSerializer;
 import com.hazelcast.nio.serialization.DataSerializableFactory;
 import com.hazelcast.nio.serialization.HazelcastSerializationException;
 import com.hazelcast.nio.serialization.PortableFactory;
@@ -42,6 +43,8 @@ import com.hazelcast.spi.properties.GroupProperty;
 import com.hazelcast.util.StringUtil;
 
 import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -67,6 +70,8 @@ public class DefaultSerializationServiceBuilder implements SerializationServiceB
 
     protected final Set<ClassDefinition> classDefinitions = new HashSet<ClassDefinition>();
 
+    protected final Collection<CompactSerializer> compactSerializers = new ArrayList<CompactSerializer>();
+
     protected ClassLoader classLoader;
     protected SerializationConfig config;
 
@@ -231,6 +236,7 @@ public class DefaultSerializationServiceBuilder implements SerializationServiceB
             addConfigDataSerializableFactories(dataSerializableFactories, config, classLoader);
             addConfigPortableFactories(portableFactories, config, classLoader);
             classDefinitions.addAll(config.getClassDefinitions());
+            compactSerializers.addAll(config.getCompactSerializers());
         }
 
         InputOutputFactory inputOutputFactory = createInputOutputFactory();
@@ -296,6 +302,7 @@ public class DefaultSerializationServiceBuilder implements SerializationServiceB
                     .withEnableSharedObject(enableSharedObject)
                     .withNotActiveExceptionSupplier(notActiveExceptionSupplier)
                     .withClassNameFilter(classNameFilter)
+                    .withCompactSerializers(compactSerializers)
                     .build();
                 serializationServiceV1.registerClassDefinitions(classDefinitions, checkClassDefErrors);
                 return serializationServiceV1;
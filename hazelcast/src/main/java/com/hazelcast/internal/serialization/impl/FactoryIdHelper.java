@@ -149,6 +149,9 @@ public final class FactoryIdHelper {
     public static final String PN_COUNTER_DS_FACTORY = "hazelcast.serialization.ds.pn_counter";
     public static final int PN_COUNTER_DS_FACTORY_ID = -48;
 
+    public static final String COMPACT_DS_FACTORY = "hazelcast.serialization.ds.compact";
+    public static final int COMPACT_DS_FACTORY_ID = -49;
+
     // =========================== portables =============================================
 
     public static final String SPI_PORTABLE_FACTORY = "hazelcast.serialization.portable.spi";
@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl;
+
+import com.hazelcast.nio.ClassLoaderUtil;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.ClassNameFilter;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.nio.serialization.StreamSerializer;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.internal.serialization.impl.SerializationConstants.JAVA_DEFAULT_TYPE_POJO;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+
+/**
+ * Serializes plain Java objects field by field through {@link MethodHandle}s that are created when the serializer is
+ * registered, instead of falling back to {@link java.io.ObjectOutputStream}.
+ * <p>
+ * It is meant for classes that cannot implement {@link com.hazelcast.nio.serialization.DataSerializable} or one of the
+ * other Hazelcast serialization interfaces. The class is registered with a
+ * {@link com.hazelcast.config.SerializerConfig}, e.g.:
+ * <pre>
+ * config.getSerializationConfig().addSerializerConfig(new SerializerConfig()
+ *         .setTypeClass(Person.class)
+ *         .setClassName(PojoSerializer.class.getName()));
+ * </pre>
+ * The class must have a no-arg constructor, which may be private. All non-static, non-transient fields of the class
+ * and its super classes are written: primitive fields directly and all other fields with
+ * {@link ObjectDataOutput#writeObject(Object)}. There is no schema evolution, the class must be the same on the
+ * writing and reading side. Subclasses of a registered class are serialized with the fields of the subclass.
+ * <p>
+ * Class names read from the data are checked against the
+ * {@link com.hazelcast.config.JavaSerializationFilterConfig Java serialization filter} before they are loaded.
+ */
+public final class PojoSerializer implements StreamSerializer<Object> {
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+    private final Class<?> type;
+    private final ConcurrentMap<Class<?>, PojoClass> classes = new ConcurrentHashMap<Class<?>, PojoClass>();
+
+    public PojoSerializer(Class<?> type) {
+        this.type = checkNotNull(type, "type can't be null");
+        // fail fast on registration if the class can't be handled
+        classes.put(type, new PojoClass(type));
+    }
+
+    @Override
+    public int getTypeId() {
+        return JAVA_DEFAULT_TYPE_POJO;
+    }
+
+    @Override
+    public void write(ObjectDataOutput out, Object object) throws IOException {
+        PojoClass pojoClass = pojoClass(object.getClass());
+        out.writeUTF(pojoClass.clazz.getName());
+        pojoClass.write(out, object);
+    }
+
+    @Override
+    public Object read(ObjectDataInput in) throws IOException {
+        String className = in.readUTF();
+        if (className.equals(type.getName())) {
+            return pojoClass(type).read(in);
+        }
+
+        // all pojo classes share the type ID, so the data may belong to a class that is registered with another
+        // instance; only classes registered for a PojoSerializer are instantiated
+        AbstractSerializationService serializationService = (AbstractSerializationService) in.getSerializationService();
+        ClassNameFilter classFilter = serializationService.getClassNameFilter();
+        if (classFilter != null) {
+            classFilter.filter(className);
+        }
+        Class<?> clazz;
+        try {
+            clazz = ClassLoaderUtil.loadClass(in.getClassLoader(), className);
+        } catch (ClassNotFoundException e) {
+            throw new HazelcastSerializationException(e);
+        }
+        SerializerAdapter adapter = serializationService.customSerializerFor(clazz);
+        if (adapter == null || !(adapter.getImpl() instanceof PojoSerializer)) {
+            throw new HazelcastSerializationException("There is no PojoSerializer registered for " + className);
+        }
+        return ((PojoSerializer) adapter.getImpl()).pojoClass(clazz).read(in);
+    }
+
+    @Override
+    public void destroy() {
+    }
+
+    private PojoClass pojoClass(Class<?> clazz) {
+        PojoClass pojoClass = classes.get(clazz);
+        if (pojoClass == null) {
+            pojoClass = new PojoClass(clazz);
+            PojoClass current = classes.putIfAbsent(clazz, pojoClass);
+            pojoClass = current == null ? pojoClass : current;
+        }
+        return pojoClass;
+    }
+
+    @Override
+    public String toString() {
+        return "PojoSerializer{type=" + type.getName() + '}';
+    }
+
+    /**
+     * The constructor and field accessors of a single class.
+     */
+    private static final class PojoClass {
+
+        private final Class<?> clazz;
+        private final MethodHandle constructor;
+        private final FieldAccessor[] fields;
+
+        PojoClass(Class<?> clazz) {
+            this.clazz = clazz;
+            try {
+                Constructor<?> declaredConstructor = clazz.getDeclaredConstructor();
+                declaredConstructor.setAccessible(true);
+                this.constructor = MethodHandles.lookup().unreflectConstructor(declaredConstructor).asType(CONSTRUCTOR_TYPE);
+            } catch (NoSuchMethodException e) {
+                throw new HazelcastSerializationException(clazz.getName() + " has no no-arg constructor", e);
+            } catch (Exception e) {
+                throw new HazelcastSerializationException("Cannot access the no-arg constructor of " + clazz.getName(), e);
+            }
+            this.fields = createFieldAccessors(clazz);
+        }
+
+        void write(ObjectDataOutput out, Object object) throws IOException {
+            out.writeInt(fields.length);
+            try {
+                for (FieldAccessor field : fields) {
+                    field.write(out, object);
+                }
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        Object read(ObjectDataInput in) throws IOException {
+            int fieldCount = in.readInt();
+            if (fieldCount != fields.length) {
+                throw new HazelcastSerializationException(clazz.getName() + " has " + fields.length
+                        + " serializable fields, but " + fieldCount + " fields have been written");
+            }
+            try {
+                Object object = (Object) constructor.invokeExact();
+                for (FieldAccessor field : fields) {
+                    field.read(in, object);
+                }
+                return object;
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        private static FieldAccessor[] createFieldAccessors(Class<?> clazz) {
+            List<Class<?>> hierarchy = new ArrayList<Class<?>>();
+            for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+                hierarchy.add(0, c);
+            }
+
+            List<FieldAccessor> accessors = new ArrayList<FieldAccessor>();
+            for (Class<?> c : hierarchy) {
+                Field[] declaredFields = c.getDeclaredFields();
+                // the order of declared fields is not specified, so it is fixed here for all members
+                Arrays.sort(declaredFields, new Comparator<Field>() {
+                    @Override
+                    public int compare(Field f1, Field f2) {
+                        return f1.getName().compareTo(f2.getName());
+                    }
+                });
+                for (Field field : declaredFields) {
+                    int modifiers = field.getModifiers();
+                    if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                        continue;
+                    }
+                    accessors.add(new FieldAccessor(field));
+                }
+            }
+            return accessors.toArray(new FieldAccessor[0]);
+        }
+
+        private static IOException rethrow(Throwable t) throws IOException {
+            if (t instanceof IOException) {
+                throw (IOException) t;
+            }
+            if (t instanceof RuntimeException) {
+                throw (RuntimeException) t;
+            }
+            if (t instanceof Error) {
+                throw (Error) t;
+            }
+            throw new HazelcastSerializationException(t);
+        }
+    }
+
+    /**
+     * Reads and writes a single field. The handles are adapted to the primitive type of the field, so primitive
+     * values are not boxed.
+     */
+    private static final class FieldAccessor {
+
+        private final Class<?> type;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        FieldAccessor(Field field) {
+            this.type = field.getType().isPrimitive() ? field.getType() : Object.class;
+            try {
+                field.setAccessible(true);
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                this.getter = lookup.unreflectGetter(field).asType(MethodType.methodType(type, Object.class));
+                this.setter = lookup.unreflectSetter(field).asType(MethodType.methodType(void.class, Object.class, type));
+            } catch (Exception e) {
+                throw new HazelcastSerializationException("Cannot access field " + field, e);
+            }
+        }
+
+        @SuppressWarnings("checkstyle:cyclomaticcomplexity")
+        void write(ObjectDataOutput out, Object object) throws Throwable {
+            if (type == Object.class) {
+                out.writeObject((Object) getter.invokeExact(object));
+            } else if (type == int.class) {
+                out.writeInt((int) getter.invokeExact(object));
+            } else if (type == long.class) {
+                out.writeLong((long) getter.invokeExact(object));
+            } else if (type == boolean.class) {
+                out.writeBoolean((boolean) getter.invokeExact(object));
+            } else if (type == double.class) {
+                out.writeDouble((double) getter.invokeExact(object));
+            } else if (type == float.class) {
+                out.writeFloat((float) getter.invokeExact(object));
+            } else if (type == short.class) {
+                out.writeShort((short) getter.invokeExact(object));
+            } else if (type == byte.class) {
+                out.writeByte((byte) getter.invokeExact(object));
+            } else {
+                out.writeChar((char) getter.invokeExact(object));
+            }
+        }
+
+        @SuppressWarnings("checkstyle:cyclomaticcomplexity")
+        void read(ObjectDataInput in, Object object) throws Throwable {
+            if (type == Object.class) {
+                setter.invokeExact(object, (Object) in.readObject());
+            } else if (type == int.class) {
+                setter.invokeExact(object, in.readInt());
+            } else if (type == long.class) {
+                setter.invokeExact(object, in.readLong());
+            } else if (type == boolean.class) {
+                setter.invokeExact(object, in.readBoolean());
+            } else if (type == double.class) {
+                setter.invokeExact(object, in.readDouble());
+            } else if (type == float.class) {
+                setter.invokeExact(object, in.readFloat());
+            } else if (type == short.class) {
+                setter.invokeExact(object, in.readShort());
+            } else if (type == byte.class) {
+                setter.invokeExact(object, in.readByte());
+            } else {
+                setter.invokeExact(object, in.readChar());
+            }
+        }
+    }
+}
@@ -122,14 +122,17 @@ public final class SerializationConstants {
 
     public static final int JAVA_DEFAULT_TYPE_LINKED_TRANSFER_QUEUE = -46;
 
+    public static final int CONSTANT_TYPE_COMPACT = -47;
+
     // NUMBER OF CONSTANT SERIALIZERS...
-    public static final int CONSTANT_SERIALIZERS_LENGTH = 47;
+    public static final int CONSTANT_SERIALIZERS_LENGTH = 48;
 
     // ------------------------------------------------------------
     // JAVA SERIALIZATION
 
     public static final int JAVA_DEFAULT_TYPE_SERIALIZABLE = -100;
     public static final int JAVA_DEFAULT_TYPE_EXTERNALIZABLE = -101;
+    public static final int JAVA_DEFAULT_TYPE_POJO = -102;
 
     // ------------------------------------------------------------
     // LANGUAGE SPECIFIC SERIALIZERS
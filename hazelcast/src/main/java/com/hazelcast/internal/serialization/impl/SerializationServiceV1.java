@@ -21,11 +21,13 @@ import com.hazelcast.internal.serialization.PortableContext;
 import com.hazelcast.internal.serialization.impl.ConstantSerializers.BooleanSerializer;
 import com.hazelcast.internal.serialization.impl.ConstantSerializers.ByteSerializer;
 import com.hazelcast.internal.serialization.impl.ConstantSerializers.StringArraySerializer;
+import com.hazelcast.internal.serialization.impl.compact.CompactStreamSerializer;
 import com.hazelcast.core.HazelcastJsonValue;
 import com.hazelcast.nio.BufferObjectDataInput;
 import com.hazelcast.nio.serialization.ClassNameFilter;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.serialization.ClassDefinition;
+import com.hazelcast.nio.serialization.CompactSerializer;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.DataSerializable;
 import com.hazelcast.nio.serialization.DataSerializableFactory;
@@ -105,9 +107,12 @@ public class SerializationServiceV1 extends AbstractSerializationService {
 
     private final PortableContextImpl portableContext;
     private final PortableSerializer portableSerializer;
+    private final CompactStreamSerializer compactStreamSerializer;
+    private final ClassNameFilter classNameFilter;
 
     SerializationServiceV1(AbstractBuilder<?> builder) {
         super(builder);
+        classNameFilter = builder.classNameFilter;
         PortableHookLoader loader = new PortableHookLoader(builder.portableFactories, builder.getClassLoader());
         portableContext = new PortableContextImpl(this, builder.portableVersion);
         for (ClassDefinition cd : loader.getDefinitions()) {
@@ -123,8 +128,10 @@ public class SerializationServiceV1 extends AbstractSerializationService {
                 new JavaSerializer(builder.enableSharedObject, builder.enableCompression, builder.classNameFilter), this);
         javaExternalizableAdapter = createSerializerAdapter(
                 new JavaDefaultSerializers.ExternalizableSerializer(builder.enableCompression, builder.classNameFilter), this);
+        compactStreamSerializer = new CompactStreamSerializer(this, builder.compactSerializers);
         registerConstantSerializers();
         registerJavaTypeSerializers();
+        registerCompactSerializers();
     }
 
     @Override
@@ -163,6 +170,11 @@ public class SerializationServiceV1 extends AbstractSerializationService {
         return portableContext;
     }
 
+    @Override
+    public CompactStreamSerializer getCompactStreamSerializer() {
+        return compactStreamSerializer;
+    }
+
     private void registerConstantSerializers() {
         registerConstant(null, nullSerializerAdapter);
         registerConstant(DataSerializable.class, dataSerializerAdapter);
@@ -226,6 +238,14 @@ public class SerializationServiceV1 extends AbstractSerializationService {
         safeRegister(HazelcastJsonValue.class, new HazelcastJsonValueSerializer());
     }
 
+    private void registerCompactSerializers() {
+        SerializerAdapter compactSerializerAdapter = createSerializerAdapter(compactStreamSerializer, this);
+        registerConstantTypeId(compactSerializerAdapter);
+        for (Class clazz : compactStreamSerializer.getCompactClasses()) {
+            registerConstant(clazz, compactSerializerAdapter);
+        }
+    }
+
     public void registerClassDefinitions(Collection<ClassDefinition> classDefinitions, boolean checkClassDefErrors) {
         final Map<Integer, ClassDefinition> classDefMap = createHashMap(classDefinitions.size());
         for (ClassDefinition cd : classDefinitions) {
@@ -296,6 +316,11 @@ public class SerializationServiceV1 extends AbstractSerializationService {
         }
     }
 
+    @Override
+    ClassNameFilter getClassNameFilter() {
+        return classNameFilter;
+    }
+
     public abstract static class AbstractBuilder<T extends AbstractBuilder<T>> extends AbstractSerializationService.Builder<T> {
 
         private int portableVersion;
@@ -304,6 +329,7 @@ public class SerializationServiceV1 extends AbstractSerializationService {
         private boolean enableCompression;
         private boolean enableSharedObject;
         private ClassNameFilter classNameFilter;
+        private Collection<CompactSerializer> compactSerializers = Collections.emptyList();
 
         protected AbstractBuilder() {
         }
@@ -342,6 +368,11 @@ public class SerializationServiceV1 extends AbstractSerializationService {
             this.classNameFilter = classNameFilter;
             return self();
         }
+
+        public final T withCompactSerializers(Collection<CompactSerializer> compactSerializers) {
+            this.compactSerializers = compactSerializers;
+            return self();
+        }
     }
 
     public static final class Builder extends AbstractBuilder<Builder> {
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl;
+
+import com.hazelcast.nio.Bits;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.util.HashUtil;
+
+import static com.hazelcast.internal.serialization.impl.HeapData.DATA_OFFSET;
+import static com.hazelcast.internal.serialization.impl.HeapData.HEAP_DATA_OVERHEAD;
+import static com.hazelcast.internal.serialization.impl.HeapData.PARTITION_HASH_OFFSET;
+import static com.hazelcast.internal.serialization.impl.HeapData.TYPE_OFFSET;
+import static com.hazelcast.util.JVMUtil.REFERENCE_COST_IN_BYTES;
+
+/**
+ * A {@link Data} view on a region of a {@link DataSlab}. The layout of the region is the same as the payload of a
+ * {@link HeapData}.
+ * <p>
+ * The view is only valid as long as its slab has not been returned to the pool, see the {@link DataSlab} lifecycle
+ * rules.
+ */
+final class SlabData implements Data {
+
+    private static final int INT_COST_IN_BYTES = 4;
+
+    private final DataSlab slab;
+    private final int generation;
+    private final int offset;
+    private final int length;
+
+    SlabData(DataSlab slab, int generation, int offset, int length) {
+        this.slab = slab;
+        this.generation = generation;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public byte[] toByteArray() {
+        byte[] bytes = new byte[length];
+        copyTo(bytes, 0);
+        return bytes;
+    }
+
+    @Override
+    public int getType() {
+        return Bits.readIntB(buffer(), offset + TYPE_OFFSET);
+    }
+
+    @Override
+    public int totalSize() {
+        return length;
+    }
+
+    @Override
+    public void copyTo(byte[] dest, int destPos) {
+        System.arraycopy(buffer(), offset, dest, destPos, length);
+    }
+
+    @Override
+    public int dataSize() {
+        return length - HEAP_DATA_OVERHEAD;
+    }
+
+    @Override
+    public int getHeapCost() {
+        // the bytes are owned by the slab, a view only costs its own fields
+        return REFERENCE_COST_IN_BYTES + 3 * INT_COST_IN_BYTES;
+    }
+
+    @Override
+    public int getPartitionHash() {
+        if (hasPartitionHash()) {
+            return Bits.readIntB(buffer(), offset + PARTITION_HASH_OFFSET);
+        }
+        return hashCode();
+    }
+
+    @Override
+    public boolean hasPartitionHash() {
+        return Bits.readIntB(buffer(), offset + PARTITION_HASH_OFFSET) != 0;
+    }
+
+    @Override
+    public long hash64() {
+        return HashUtil.MurmurHash3_x64_64(buffer(), offset + DATA_OFFSET, dataSize());
+    }
+
+    @Override
+    public boolean isPortable() {
+        return SerializationConstants.CONSTANT_TYPE_PORTABLE == getType();
+    }
+
+    @Override
+    public boolean isJson() {
+        return SerializationConstants.JAVASCRIPT_JSON_SERIALIZATION_TYPE == getType();
+    }
+
+    @Override
+    public boolean isCompact() {
+        return SerializationConstants.CONSTANT_TYPE_COMPACT == getType();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Data)) {
+            return false;
+        }
+
+        Data data = (Data) o;
+        if (getType() != data.getType()) {
+            return false;
+        }
+
+        int dataSize = dataSize();
+        if (dataSize != data.dataSize()) {
+            return false;
+        }
+
+        byte[] buffer = buffer();
+        byte[] other = data.toByteArray();
+        for (int i = dataSize - 1; i >= 0; i--) {
+            if (buffer[offset + DATA_OFFSET + i] != other[DATA_OFFSET + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return HashUtil.MurmurHash3_x86_32(buffer(), offset + DATA_OFFSET, dataSize());
+    }
+
+    @Override
+    public String toString() {
+        return "SlabData{"
+                + "offset=" + offset
+                + ", totalSize=" + length
+                + ", slab=" + slab
+                + '}';
+    }
+
+    private byte[] buffer() {
+        return slab.buffer(generation);
+    }
+}
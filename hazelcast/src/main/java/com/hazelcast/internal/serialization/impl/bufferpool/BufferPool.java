@@ -16,6 +16,7 @@
 
 package com.hazelcast.internal.serialization.impl.bufferpool;
 
+import com.hazelcast.internal.serialization.impl.DataSlab;
 import com.hazelcast.nio.BufferObjectDataInput;
 import com.hazelcast.nio.BufferObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
@@ -63,4 +64,21 @@ public interface BufferPool {
      * @param in the BufferObjectDataInput.
      */
     void returnInputBuffer(BufferObjectDataInput in);
+
+    /**
+     * Takes a DataSlab from the pool.
+     *
+     * @return the taken DataSlab.
+     */
+    DataSlab takeDataSlab();
+
+    /**
+     * Returns a DataSlab back to the pool. The content of the slab is discarded and the Data views created on it
+     * become invalid.
+     *
+     * The implementation is free to not return the instance to the pool but just discard it.
+     *
+     * @param slab the DataSlab.
+     */
+    void returnDataSlab(DataSlab slab);
 }
@@ -17,6 +17,7 @@
 package com.hazelcast.internal.serialization.impl.bufferpool;
 
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DataSlab;
 import com.hazelcast.internal.serialization.impl.HeapData;
 import com.hazelcast.nio.BufferObjectDataInput;
 import com.hazelcast.nio.BufferObjectDataOutput;
@@ -41,6 +42,7 @@ public class BufferPoolImpl implements BufferPool {
     // accessible for testing.
     final Queue<BufferObjectDataOutput> outputQueue = new ArrayDeque<BufferObjectDataOutput>(MAX_POOLED_ITEMS);
     final Queue<BufferObjectDataInput> inputQueue = new ArrayDeque<BufferObjectDataInput>(MAX_POOLED_ITEMS);
+    final Queue<DataSlab> slabQueue = new ArrayDeque<DataSlab>(MAX_POOLED_ITEMS);
 
     public BufferPoolImpl(InternalSerializationService serializationService) {
         this.serializationService = serializationService;
@@ -87,6 +89,29 @@ public class BufferPoolImpl implements BufferPool {
         offerOrClose(inputQueue, in);
     }
 
+    @Override
+    public DataSlab takeDataSlab() {
+        DataSlab slab = slabQueue.poll();
+        if (slab == null) {
+            slab = new DataSlab(serializationService.createObjectDataOutput());
+        }
+        slab.acquire();
+        return slab;
+    }
+
+    @Override
+    public void returnDataSlab(DataSlab slab) {
+        if (slab == null) {
+            return;
+        }
+
+        slab.clear();
+
+        if (slabQueue.size() < MAX_POOLED_ITEMS) {
+            slabQueue.offer(slab);
+        }
+    }
+
     private static <C extends Closeable> void offerOrClose(Queue<C> queue, C item) {
         if (queue.size() == MAX_POOLED_ITEMS) {
             closeResource(item);
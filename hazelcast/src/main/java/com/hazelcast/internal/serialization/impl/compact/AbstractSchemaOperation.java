@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.spi.impl.operationservice.Operation;
+
+/**
+ * Base class of the operations of the {@link MemberSchemaService}.
+ */
+abstract class AbstractSchemaOperation extends Operation implements IdentifiedDataSerializable {
+
+    @Override
+    public int getFactoryId() {
+        return CompactDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public String getServiceName() {
+        return MemberSchemaService.SERVICE_NAME;
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.nio.Bits;
+import com.hazelcast.nio.BufferObjectDataInput;
+import com.hazelcast.nio.BufferObjectDataOutput;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.CompactSerializer;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.nio.serialization.StreamSerializer;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.internal.serialization.impl.SerializationConstants.CONSTANT_TYPE_COMPACT;
+import static com.hazelcast.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.nio.IOUtil.closeResource;
+
+/**
+ * Serializes the classes registered with a {@link CompactSerializer} into the
+ * compact format described in {@link Schema}.
+ * <p>
+ * The schema of a class is built on its first serialization and registered
+ * with the {@link SchemaService} before the first binary using it is
+ * returned, so any member can resolve the schema id found in a binary,
+ * either from its own schemas or by asking the cluster.
+ */
+public final class CompactStreamSerializer implements StreamSerializer<Object> {
+
+    private final InternalSerializationService serializationService;
+    private final Map<Class, CompactSerializer> classToSerializer = new HashMap<Class, CompactSerializer>();
+    private final Map<String, CompactSerializer> typeNameToSerializer = new HashMap<String, CompactSerializer>();
+    private final ConcurrentMap<Class, Schema> classToSchema = new ConcurrentHashMap<Class, Schema>();
+    private volatile SchemaService schemaService = new LocalSchemaService();
+
+    public CompactStreamSerializer(InternalSerializationService serializationService,
+                                   Collection<CompactSerializer> serializers) {
+        this.serializationService = serializationService;
+        for (CompactSerializer serializer : serializers) {
+            Class clazz = serializer.getCompactClass();
+            String typeName = serializer.getTypeName();
+            if (clazz == null || typeName == null) {
+                throw new HazelcastSerializationException("Compact serializer " + serializer
+                        + " must define both the class and the type name");
+            }
+            if (classToSerializer.put(clazz, serializer) != null) {
+                throw new HazelcastSerializationException("Duplicate compact serializer registration for " + clazz);
+            }
+            if (typeNameToSerializer.put(typeName, serializer) != null) {
+                throw new HazelcastSerializationException("Duplicate compact serializer registration for type name "
+                        + typeName);
+            }
+        }
+    }
+
+    /**
+     * @return the classes which have a registered compact serializer
+     */
+    public Set<Class> getCompactClasses() {
+        return Collections.unmodifiableSet(classToSerializer.keySet());
+    }
+
+    public SchemaService getSchemaService() {
+        return schemaService;
+    }
+
+    /**
+     * Replaces the schema service, e.g. with a cluster-aware one once the
+     * owning member or client is started. The schemas known by the previous
+     * service are registered with the new one.
+     *
+     * @param schemaService the new schema service
+     */
+    public void setSchemaService(SchemaService schemaService) {
+        SchemaService previous = this.schemaService;
+        this.schemaService = schemaService;
+        if (previous instanceof LocalSchemaService) {
+            for (Schema schema : ((LocalSchemaService) previous).getSchemas()) {
+                schemaService.put(schema);
+            }
+        }
+    }
+
+    @Override
+    public int getTypeId() {
+        return CONSTANT_TYPE_COMPACT;
+    }
+
+    @Override
+    public void write(ObjectDataOutput out, Object object) throws IOException {
+        writeCompact(out, object);
+    }
+
+    @Override
+    public Object read(ObjectDataInput in) throws IOException {
+        return readCompact(in);
+    }
+
+    @Override
+    public void destroy() {
+    }
+
+    @SuppressWarnings("unchecked")
+    void writeCompact(ObjectDataOutput out, Object object) throws IOException {
+        CompactSerializer serializer = classToSerializer.get(object.getClass());
+        if (serializer == null) {
+            throw new HazelcastSerializationException("No compact serializer is registered for " + object.getClass());
+        }
+        Schema schema = getOrCreateSchema(serializer, object);
+        if (out instanceof BufferObjectDataOutput) {
+            DefaultCompactWriter writer = new DefaultCompactWriter(this, (BufferObjectDataOutput) out, schema);
+            serializer.write(writer, object);
+            writer.end();
+        } else {
+            BufferObjectDataOutput buffer = serializationService.createObjectDataOutput();
+            try {
+                DefaultCompactWriter writer = new DefaultCompactWriter(this, buffer, schema);
+                serializer.write(writer, object);
+                writer.end();
+                out.write(buffer.toByteArray());
+            } finally {
+                closeResource(buffer);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Schema getOrCreateSchema(CompactSerializer serializer, Object object) throws IOException {
+        Class clazz = object.getClass();
+        Schema schema = classToSchema.get(clazz);
+        if (schema == null) {
+            SchemaWriter schemaWriter = new SchemaWriter(serializer.getTypeName());
+            serializer.write(schemaWriter, object);
+            schema = schemaWriter.build();
+            // readers of the binary ask this process for the schema until it is replicated
+            schemaService.put(schema);
+            classToSchema.put(clazz, schema);
+        }
+        return schema;
+    }
+
+    Object readCompact(ObjectDataInput in) throws IOException {
+        if (in instanceof BufferObjectDataInput) {
+            return readCompact((BufferObjectDataInput) in);
+        }
+        long schemaId = in.readLong();
+        int length = in.readInt();
+        byte[] bytes = new byte[length];
+        boolean bigEndian = serializationService.getByteOrder() == ByteOrder.BIG_ENDIAN;
+        Bits.writeLong(bytes, 0, schemaId, bigEndian);
+        Bits.writeInt(bytes, LONG_SIZE_IN_BYTES, length, bigEndian);
+        in.readFully(bytes, Schema.HEADER_SIZE, length - Schema.HEADER_SIZE);
+        BufferObjectDataInput buffer = serializationService.createObjectDataInput(bytes);
+        try {
+            return readCompact(buffer);
+        } finally {
+            closeResource(buffer);
+        }
+    }
+
+    private Object readCompact(BufferObjectDataInput in) throws IOException {
+        int base = in.position();
+        Schema schema = getSchema(in.readLong(base));
+        int length = in.readInt(base + LONG_SIZE_IN_BYTES);
+        CompactSerializer serializer = typeNameToSerializer.get(schema.getTypeName());
+        if (serializer == null) {
+            throw new HazelcastSerializationException("No compact serializer is registered for the type name "
+                    + schema.getTypeName());
+        }
+        Object object = serializer.read(new DefaultCompactReader(this, in, schema, base));
+        in.position(base + length);
+        return object;
+    }
+
+    /**
+     * Reads a single field of the compact binary starting at the given position.
+     *
+     * @param in         input containing the binary
+     * @param base       position of the binary in the input
+     * @param schema     schema of the binary
+     * @param descriptor the field to read
+     * @return the boxed field value
+     * @throws IOException if the binary is malformed
+     */
+    public Object readField(BufferObjectDataInput in, int base, Schema schema, FieldDescriptor descriptor)
+            throws IOException {
+        return new DefaultCompactReader(this, in, schema, base).read(descriptor);
+    }
+
+    /**
+     * @param schemaId id of the schema
+     * @return the schema with the given id
+     * @throws HazelcastSerializationException if the schema is not known to the cluster
+     */
+    public Schema getSchema(long schemaId) {
+        Schema schema = schemaService.get(schemaId);
+        if (schema == null) {
+            throw new HazelcastSerializationException("The schema with the id " + schemaId
+                    + " is not known to the cluster");
+        }
+        return schema;
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.nio.BufferObjectDataInput;
+import com.hazelcast.nio.serialization.CompactReader;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+
+import java.io.IOException;
+
+/**
+ * Reads the fields of a compact binary directly from their positions defined
+ * by the {@link Schema}, so fields can be read in any order and unread fields
+ * cost nothing.
+ */
+final class DefaultCompactReader implements CompactReader {
+
+    private final CompactStreamSerializer serializer;
+    private final BufferObjectDataInput in;
+    private final Schema schema;
+    private final int base;
+
+    DefaultCompactReader(CompactStreamSerializer serializer, BufferObjectDataInput in, Schema schema, int base) {
+        this.serializer = serializer;
+        this.in = in;
+        this.schema = schema;
+        this.base = base;
+    }
+
+    @Override
+    public boolean hasField(String fieldName) {
+        return schema.getField(fieldName) != null;
+    }
+
+    /**
+     * Reads the given field of the schema as an object.
+     *
+     * @param descriptor field of the schema of this reader
+     * @return the boxed field value, may be {@code null} for variable-size fields
+     * @throws IOException if the binary is malformed
+     */
+    @SuppressWarnings({"checkstyle:cyclomaticcomplexity", "checkstyle:returncount"})
+    Object read(FieldDescriptor descriptor) throws IOException {
+        String name = descriptor.getName();
+        switch (descriptor.getKind()) {
+            case BOOLEAN:
+                return readBoolean(name);
+            case BYTE:
+                return readByte(name);
+            case CHAR:
+                return readChar(name);
+            case SHORT:
+                return readShort(name);
+            case INT:
+                return readInt(name);
+            case LONG:
+                return readLong(name);
+            case FLOAT:
+                return readFloat(name);
+            case DOUBLE:
+                return readDouble(name);
+            case COMPACT:
+                return readCompact(name);
+            default:
+                return readVariableField(descriptor);
+        }
+    }
+
+    @SuppressWarnings({"checkstyle:cyclomaticcomplexity", "checkstyle:returncount"})
+    private Object readVariableField(FieldDescriptor descriptor) throws IOException {
+        if (!moveToVariableField(descriptor)) {
+            return null;
+        }
+        switch (descriptor.getKind()) {
+            case UTF:
+                return in.readUTF();
+            case BYTE_ARRAY:
+                return in.readByteArray();
+            case BOOLEAN_ARRAY:
+                return in.readBooleanArray();
+            case CHAR_ARRAY:
+                return in.readCharArray();
+            case SHORT_ARRAY:
+                return in.readShortArray();
+            case INT_ARRAY:
+                return in.readIntArray();
+            case LONG_ARRAY:
+                return in.readLongArray();
+            case FLOAT_ARRAY:
+                return in.readFloatArray();
+            case DOUBLE_ARRAY:
+                return in.readDoubleArray();
+            case UTF_ARRAY:
+                return in.readUTFArray();
+            default:
+                throw new IllegalArgumentException("Not a variable-size field: " + descriptor);
+        }
+    }
+
+    private FieldDescriptor getField(String fieldName, FieldKind kind) {
+        FieldDescriptor descriptor = schema.getField(fieldName);
+        if (descriptor == null) {
+            throw new HazelcastSerializationException("Unknown field '" + fieldName + "' for " + schema);
+        }
+        if (descriptor.getKind() != kind) {
+            throw new HazelcastSerializationException("Field '" + fieldName + "' of " + schema.getTypeName()
+                    + " is " + descriptor.getKind() + ", not " + kind);
+        }
+        return descriptor;
+    }
+
+    private int fixedPosition(String fieldName, FieldKind kind) {
+        return base + schema.getFixedFieldPosition(getField(fieldName, kind));
+    }
+
+    /**
+     * Moves the input to the data of the variable-size field.
+     *
+     * @return {@code false} if the field is {@code null}
+     */
+    private boolean moveToVariableField(FieldDescriptor descriptor) throws IOException {
+        int offset = in.readInt(base + schema.getOffsetSlotPosition(descriptor));
+        if (offset < 0) {
+            return false;
+        }
+        in.position(base + offset);
+        return true;
+    }
+
+    @Override
+    public boolean readBoolean(String fieldName) throws IOException {
+        return in.readBoolean(fixedPosition(fieldName, FieldKind.BOOLEAN));
+    }
+
+    @Override
+    public byte readByte(String fieldName) throws IOException {
+        return in.readByte(fixedPosition(fieldName, FieldKind.BYTE));
+    }
+
+    @Override
+    public char readChar(String fieldName) throws IOException {
+        return in.readChar(fixedPosition(fieldName, FieldKind.CHAR));
+    }
+
+    @Override
+    public short readShort(String fieldName) throws IOException {
+        return in.readShort(fixedPosition(fieldName, FieldKind.SHORT));
+    }
+
+    @Override
+    public int readInt(String fieldName) throws IOException {
+        return in.readInt(fixedPosition(fieldName, FieldKind.INT));
+    }
+
+    @Override
+    public long readLong(String fieldName) throws IOException {
+        return in.readLong(fixedPosition(fieldName, FieldKind.LONG));
+    }
+
+    @Override
+    public float readFloat(String fieldName) throws IOException {
+        return in.readFloat(fixedPosition(fieldName, FieldKind.FLOAT));
+    }
+
+    @Override
+    public double readDouble(String fieldName) throws IOException {
+        return in.readDouble(fixedPosition(fieldName, FieldKind.DOUBLE));
+    }
+
+    @Override
+    public String readUTF(String fieldName) throws IOException {
+        return moveToVariableField(getField(fieldName, FieldKind.UTF)) ? in.readUTF() : null;
+    }
+
+    @Override
+    public byte[] readByteArray(String fieldName) throws IOException {
+        return moveToVariableField(getField(fieldName, FieldKind.BYTE_ARRAY)) ? in.readByteArray() : null;
+    }
+
+    @Override
+    public boolean[] readBooleanArray(String fieldName) throws IOException {
+        return moveToVariableField(getField(fieldName, FieldKind.BOOLEAN_ARRAY)) ? in.readBooleanArray() : null;
+    }
+
+    @Override
+    public char[] readCharArray(String fieldName) throws IOException {
+        return moveToVariableField(getField(fieldName, FieldKind.CHAR_ARRAY)) ? in.readCharArray() : null;
+    }
+
+    @Override
+    public short[] readShortArray(String fieldName) throws IOException {
+        return moveToVariableField(getField(fieldName, FieldKind.SHORT_ARRAY)) ? in.readShortArray() : null;
+    }
+
+    @Override
+    public int[] readIntArray(String fieldName) throws IOException {
+        return moveToVariableField(getField(fieldName, FieldKind.INT_ARRAY)) ? in.readIntArray() : null;
+    }
+
+    @Override
+    public long[] readLongArray(String fieldName) throws IOException {
+        return moveToVariableField(getField(fieldName, FieldKind.LONG_ARRAY)) ? in.readLongArray() : null;
+    }
+
+    @Override
+    public float[] readFloatArray(String fieldName) throws IOException {
+        return moveToVariableField(getField(fieldName, FieldKind.FLOAT_ARRAY)) ? in.readFloatArray() : null;
+    }
+
+    @Override
+    public double[] readDoubleArray(String fieldName) throws IOException {
+        return moveToVariableField(getField(fieldName, FieldKind.DOUBLE_ARRAY)) ? in.readDoubleArray() : null;
+    }
+
+    @Override
+    public String[] readUTFArray(String fieldName) throws IOException {
+        return moveToVariableField(getField(fieldName, FieldKind.UTF_ARRAY)) ? in.readUTFArray() : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T readCompact(String fieldName) throws IOException {
+        return moveToVariableField(getField(fieldName, FieldKind.COMPACT)) ? (T) serializer.readCompact(in) : null;
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.nio.BufferObjectDataOutput;
+import com.hazelcast.nio.serialization.CompactWriter;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+
+import java.io.IOException;
+
+import static com.hazelcast.nio.Bits.LONG_SIZE_IN_BYTES;
+
+/**
+ * Writes the fields of a compact object to their positions defined by the
+ * {@link Schema}. The fixed-size section and the offset table are reserved
+ * up front, fixed-size fields are written in place and variable-size fields
+ * are appended to the end of the binary.
+ */
+final class DefaultCompactWriter implements CompactWriter {
+
+    private final CompactStreamSerializer serializer;
+    private final BufferObjectDataOutput out;
+    private final Schema schema;
+    private final int base;
+
+    DefaultCompactWriter(CompactStreamSerializer serializer, BufferObjectDataOutput out, Schema schema)
+            throws IOException {
+        this.serializer = serializer;
+        this.out = out;
+        this.schema = schema;
+        this.base = out.position();
+        out.writeLong(schema.getSchemaId());
+        // total length, patched by end()
+        out.writeInt(0);
+        out.writeZeroBytes(schema.getFixedSize());
+        for (int i = 0; i < schema.getVariableFieldCount(); i++) {
+            out.writeInt(-1);
+        }
+    }
+
+    /**
+     * Completes the binary by writing its total length.
+     */
+    void end() throws IOException {
+        out.writeInt(base + LONG_SIZE_IN_BYTES, out.position() - base);
+    }
+
+    private FieldDescriptor getField(String fieldName, FieldKind kind) {
+        FieldDescriptor descriptor = schema.getField(fieldName);
+        if (descriptor == null) {
+            throw new HazelcastSerializationException("Field '" + fieldName + "' is not in the schema of "
+                    + schema.getTypeName() + ", every write must contain the same fields");
+        }
+        if (descriptor.getKind() != kind) {
+            throw new HazelcastSerializationException("Field '" + fieldName + "' of " + schema.getTypeName()
+                    + " is " + descriptor.getKind() + ", not " + kind);
+        }
+        return descriptor;
+    }
+
+    private int fixedPosition(String fieldName, FieldKind kind) {
+        return base + schema.getFixedFieldPosition(getField(fieldName, kind));
+    }
+
+    /**
+     * Points the offset table slot of the field to the current position.
+     *
+     * @return {@code false} if the value is {@code null} and nothing should be written
+     */
+    private boolean startVariableField(String fieldName, FieldKind kind, Object value) throws IOException {
+        FieldDescriptor descriptor = getField(fieldName, kind);
+        if (value == null) {
+            return false;
+        }
+        out.writeInt(base + schema.getOffsetSlotPosition(descriptor), out.position() - base);
+        return true;
+    }
+
+    @Override
+    public void writeBoolean(String fieldName, boolean value) throws IOException {
+        out.writeBoolean(fixedPosition(fieldName, FieldKind.BOOLEAN), value);
+    }
+
+    @Override
+    public void writeByte(String fieldName, byte value) throws IOException {
+        out.writeByte(fixedPosition(fieldName, FieldKind.BYTE), value);
+    }
+
+    @Override
+    public void writeChar(String fieldName, char value) throws IOException {
+        out.writeChar(fixedPosition(fieldName, FieldKind.CHAR), value);
+    }
+
+    @Override
+    public void writeShort(String fieldName, short value) throws IOException {
+        out.writeShort(fixedPosition(fieldName, FieldKind.SHORT), value);
+    }
+
+    @Override
+    public void writeInt(String fieldName, int value) throws IOException {
+        out.writeInt(fixedPosition(fieldName, FieldKind.INT), value);
+    }
+
+    @Override
+    public void writeLong(String fieldName, long value) throws IOException {
+        out.writeLong(fixedPosition(fieldName, FieldKind.LONG), value);
+    }
+
+    @Override
+    public void writeFloat(String fieldName, float value) throws IOException {
+        out.writeFloat(fixedPosition(fieldName, FieldKind.FLOAT), value);
+    }
+
+    @Override
+    public void writeDouble(String fieldName, double value) throws IOException {
+        out.writeDouble(fixedPosition(fieldName, FieldKind.DOUBLE), value);
+    }
+
+    @Override
+    public void writeUTF(String fieldName, String value) throws IOException {
+        if (startVariableField(fieldName, FieldKind.UTF, value)) {
+            out.writeUTF(value);
+        }
+    }
+
+    @Override
+    public void writeByteArray(String fieldName, byte[] value) throws IOException {
+        if (startVariableField(fieldName, FieldKind.BYTE_ARRAY, value)) {
+            out.writeByteArray(value);
+        }
+    }
+
+    @Override
+    public void writeBooleanArray(String fieldName, boolean[] value) throws IOException {
+        if (startVariableField(fieldName, FieldKind.BOOLEAN_ARRAY, value)) {
+            out.writeBooleanArray(value);
+        }
+    }
+
+    @Override
+    public void writeCharArray(String fieldName, char[] value) throws IOException {
+        if (startVariableField(fieldName, FieldKind.CHAR_ARRAY, value)) {
+            out.writeCharArray(value);
+        }
+    }
+
+    @Override
+    public void writeShortArray(String fieldName, short[] value) throws IOException {
+        if (startVariableField(fieldName, FieldKind.SHORT_ARRAY, value)) {
+            out.writeShortArray(value);
+        }
+    }
+
+    @Override
+    public void writeIntArray(String fieldName, int[] value) throws IOException {
+        if (startVariableField(fieldName, FieldKind.INT_ARRAY, value)) {
+            out.writeIntArray(value);
+        }
+    }
+
+    @Override
+    public void writeLongArray(String fieldName, long[] value) throws IOException {
+        if (startVariableField(fieldName, FieldKind.LONG_ARRAY, value)) {
+            out.writeLongArray(value);
+        }
+    }
+
+    @Override
+    public void writeFloatArray(String fieldName, float[] value) throws IOException {
+        if (startVariableField(fieldName, FieldKind.FLOAT_ARRAY, value)) {
+            out.writeFloatArray(value);
+        }
+    }
+
+    @Override
+    public void writeDoubleArray(String fieldName, double[] value) throws IOException {
+        if (startVariableField(fieldName, FieldKind.DOUBLE_ARRAY, value)) {
+            out.writeDoubleArray(value);
+        }
+    }
+
+    @Override
+    public void writeUTFArray(String fieldName, String[] value) throws IOException {
+        if (startVariableField(fieldName, FieldKind.UTF_ARRAY, value)) {
+            out.writeUTFArray(value);
+        }
+    }
+
+    @Override
+    public void writeCompact(String fieldName, Object value) throws IOException {
+        if (startVariableField(fieldName, FieldKind.COMPACT, value)) {
+            serializer.writeCompact(out, value);
+        }
+    }
+}
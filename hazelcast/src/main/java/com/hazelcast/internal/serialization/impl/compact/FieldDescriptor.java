@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+/**
+ * Describes a single field of a {@link Schema}.
+ * <p>
+ * Fixed-size fields have an {@link #getOffset() offset} inside the fixed-size
+ * section of the binary, variable-size fields have an {@link #getIndex() index}
+ * into the offset table which points to their data.
+ */
+public final class FieldDescriptor {
+
+    private final String name;
+    private final FieldKind kind;
+    private final int offset;
+    private final int index;
+
+    FieldDescriptor(String name, FieldKind kind, int offset, int index) {
+        this.name = name;
+        this.kind = kind;
+        this.offset = offset;
+        this.index = index;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public FieldKind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return offset of a fixed-size field relative to the start of the fixed-size section,
+     * {@code -1} for variable-size fields
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return index of a variable-size field in the offset table, {@code -1} for fixed-size fields
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return "FieldDescriptor{"
+                + "name='" + name + '\''
+                + ", kind=" + kind
+                + ", offset=" + offset
+                + ", index=" + index
+                + '}';
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import static com.hazelcast.nio.Bits.BOOLEAN_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.BYTE_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.CHAR_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.DOUBLE_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.FLOAT_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.SHORT_SIZE_IN_BYTES;
+
+/**
+ * Kinds of the fields a compact schema consists of. The ids are part of the
+ * schema id and of the replicated schema, so they must never change.
+ */
+public enum FieldKind {
+
+    BOOLEAN(0, BOOLEAN_SIZE_IN_BYTES),
+    BYTE(1, BYTE_SIZE_IN_BYTES),
+    CHAR(2, CHAR_SIZE_IN_BYTES),
+    SHORT(3, SHORT_SIZE_IN_BYTES),
+    INT(4, INT_SIZE_IN_BYTES),
+    LONG(5, LONG_SIZE_IN_BYTES),
+    FLOAT(6, FLOAT_SIZE_IN_BYTES),
+    DOUBLE(7, DOUBLE_SIZE_IN_BYTES),
+    UTF(8),
+    BOOLEAN_ARRAY(9),
+    BYTE_ARRAY(10),
+    CHAR_ARRAY(11),
+    SHORT_ARRAY(12),
+    INT_ARRAY(13),
+    LONG_ARRAY(14),
+    FLOAT_ARRAY(15),
+    DOUBLE_ARRAY(16),
+    UTF_ARRAY(17),
+    COMPACT(18);
+
+    private static final FieldKind[] ALL = values();
+
+    private final int id;
+    private final int size;
+
+    FieldKind(int id) {
+        this(id, -1);
+    }
+
+    FieldKind(int id, int size) {
+        this.id = id;
+        this.size = size;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * @return the size of the field in bytes, {@code -1} for variable-size fields
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return {@code true} if the field has a fixed offset in the binary
+     */
+    public boolean isFixedSize() {
+        return size > 0;
+    }
+
+    public static FieldKind get(int id) {
+        if (id < 0 || id >= ALL.length) {
+            throw new IllegalArgumentException("Unknown field kind id: " + id);
+        }
+        return ALL[id];
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A {@link SchemaService} that keeps the schemas in memory without sharing
+ * them with anyone. Used by serialization services which are not connected
+ * to a cluster.
+ */
+public class LocalSchemaService implements SchemaService {
+
+    private final ConcurrentMap<Long, Schema> schemas = new ConcurrentHashMap<Long, Schema>();
+
+    @Override
+    public Schema get(long schemaId) {
+        return getLocal(schemaId);
+    }
+
+    /**
+     * @param schemaId id of the schema
+     * @return the locally known schema with the given id or {@code null}
+     */
+    public Schema getLocal(long schemaId) {
+        return schemas.get(schemaId);
+    }
+
+    @Override
+    public void put(Schema schema) {
+        putLocal(schema);
+    }
+
+    /**
+     * Registers the schema locally.
+     *
+     * @param schema the schema to register
+     * @return {@code true} if the schema was not known before
+     */
+    public boolean putLocal(Schema schema) {
+        return schemas.putIfAbsent(schema.getSchemaId(), schema) == null;
+    }
+
+    /**
+     * @return all locally known schemas
+     */
+    public Collection<Schema> getSchemas() {
+        return schemas.values();
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.cluster.Member;
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.internal.services.CoreService;
+import com.hazelcast.internal.services.PreJoinAwareService;
+import com.hazelcast.internal.util.SimpleCompletableFuture;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.exception.RetryableHazelcastException;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.impl.executionservice.ExecutionService;
+import com.hazelcast.spi.impl.operationexecutor.OperationHostileThread;
+import com.hazelcast.spi.impl.operationexecutor.impl.OperationThread;
+import com.hazelcast.spi.impl.operationservice.Operation;
+
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import static com.hazelcast.cluster.memberselector.MemberSelectors.NON_LOCAL_MEMBER_SELECTOR;
+import static com.hazelcast.internal.util.InvocationUtil.invokeOnStableClusterSerial;
+import static com.hazelcast.nio.Bits.readInt;
+import static com.hazelcast.nio.Bits.readLong;
+
+/**
+ * The member side {@link SchemaService}.
+ * <p>
+ * A schema registered on this member is replicated to every member of the
+ * cluster in the background, joining members receive all known schemas with
+ * the pre-join operation. Neither path blocks the (de)serialization which
+ * registers or resolves a schema.
+ * <p>
+ * If a schema is still missing, e.g. because its replication has not arrived
+ * yet or a member joined from a split-brain, it is fetched asynchronously
+ * from the other members. Operation threads, partition loop threads and the
+ * other {@link OperationHostileThread}s (I/O, response threads) never wait for
+ * the fetch: the fetch response may have to be processed by the waiting
+ * thread itself. They fail with a {@link RetryableHazelcastException}, so the
+ * invocation is retried once the schema is known. Other threads wait for the
+ * fetch.
+ * <p>
+ * Operations applying several binaries check them with
+ * {@link #isSchemaKnown(Object)} before applying the first one, so a missing schema fails them before any side
+ * effect instead of halfway through.
+ */
+public class MemberSchemaService extends LocalSchemaService implements CoreService, PreJoinAwareService {
+
+    /**
+     * Name of the schema service.
+     */
+    public static final String SERVICE_NAME = "hz:impl:schemaService";
+
+    private static final int MAX_PUBLISH_ATTEMPT_COUNT = 100;
+
+    private final ConcurrentMap<Long, SimpleCompletableFuture<Schema>> fetches
+            = new ConcurrentHashMap<Long, SimpleCompletableFuture<Schema>>();
+    private final NodeEngine nodeEngine;
+    private final ILogger logger;
+
+    public MemberSchemaService(NodeEngine nodeEngine) {
+        this.nodeEngine = nodeEngine;
+        this.logger = nodeEngine.getLogger(MemberSchemaService.class);
+    }
+
+    @Override
+    public Schema get(long schemaId) {
+        Schema schema = getLocal(schemaId);
+        if (schema != null) {
+            return schema;
+        }
+        SimpleCompletableFuture<Schema> future = fetch(schemaId);
+        if (!canWaitForFetch()) {
+            throw newSchemaBeingFetchedException(schemaId);
+        }
+        return future.join();
+    }
+
+    /**
+     * Checks that the schema of the given binary and the schemas of its
+     * nested compact objects are known locally. Missing schemas are fetched in
+     * the background.
+     * <p>
+     * Operations applying several binaries check all of them before applying
+     * the first one and fail with {@link #newSchemasNotKnownException()} if a
+     * schema is missing. So they fail before any side effect and the retry
+     * does not apply an entry twice.
+     *
+     * @param binary the binary to check
+     * @return {@code true} if the schemas are known or the binary is not an
+     * on-heap compact binary
+     */
+    public boolean isSchemaKnown(Object binary) {
+        if (!(binary instanceof HeapData) || !((Data) binary).isCompact()) {
+            return true;
+        }
+        boolean bigEndian = ((InternalSerializationService) nodeEngine.getSerializationService()).getByteOrder()
+                == ByteOrder.BIG_ENDIAN;
+        return isKnown(((Data) binary).toByteArray(), HeapData.DATA_OFFSET, bigEndian);
+    }
+
+    /**
+     * @return the exception failing an operation whose binaries have schemas
+     * which are not known yet, see {@link #isSchemaKnown(Object)}
+     */
+    public static RetryableHazelcastException newSchemasNotKnownException() {
+        return new RetryableHazelcastException("The schemas of the binaries are being fetched from the cluster");
+    }
+
+    /**
+     * Checks that the schemas of the compact binary starting at the given
+     * position are known and starts fetching the missing ones.
+     */
+    private boolean isKnown(byte[] bytes, int base, boolean bigEndian) {
+        long schemaId = readLong(bytes, base, bigEndian);
+        Schema schema = getLocal(schemaId);
+        if (schema == null) {
+            fetch(schemaId);
+            return false;
+        }
+        boolean known = true;
+        for (FieldDescriptor descriptor : schema.getFields()) {
+            if (descriptor.getKind() != FieldKind.COMPACT) {
+                continue;
+            }
+            int offset = readInt(bytes, base + schema.getOffsetSlotPosition(descriptor), bigEndian);
+            if (offset >= 0) {
+                known &= isKnown(bytes, base + offset, bigEndian);
+            }
+        }
+        return known;
+    }
+
+    private static boolean canWaitForFetch() {
+        // the I/O, partition loop and response threads are operation hostile
+        Thread thread = Thread.currentThread();
+        return !(thread instanceof OperationThread || thread instanceof OperationHostileThread);
+    }
+
+    private static RetryableHazelcastException newSchemaBeingFetchedException(long schemaId) {
+        return new RetryableHazelcastException("The schema with the id " + schemaId
+                + " is being fetched from the cluster");
+    }
+
+    /**
+     * Starts fetching the schema from the other members, unless a fetch of
+     * the schema is already in progress.
+     *
+     * @return a future which is completed with the schema or with {@code null}
+     * if no member knows the schema
+     */
+    private SimpleCompletableFuture<Schema> fetch(final long schemaId) {
+        SimpleCompletableFuture<Schema> future = fetches.get(schemaId);
+        if (future != null) {
+            return future;
+        }
+        final SimpleCompletableFuture<Schema> newFuture = new SimpleCompletableFuture<Schema>(nodeEngine);
+        future = fetches.putIfAbsent(schemaId, newFuture);
+        if (future != null) {
+            return future;
+        }
+        final Collection<Member> members = nodeEngine.getClusterService().getMembers(NON_LOCAL_MEMBER_SELECTOR);
+        if (Thread.currentThread() instanceof OperationHostileThread) {
+            // operation hostile threads are not allowed to invoke operations
+            nodeEngine.getExecutionService().execute(ExecutionService.ASYNC_EXECUTOR, new Runnable() {
+                @Override
+                public void run() {
+                    fetchFrom(schemaId, members.iterator(), newFuture);
+                }
+            });
+        } else {
+            fetchFrom(schemaId, members.iterator(), newFuture);
+        }
+        return newFuture;
+    }
+
+    private void fetchFrom(final long schemaId, final Iterator<Member> members, final SimpleCompletableFuture<Schema> future) {
+        if (!members.hasNext()) {
+            fetches.remove(schemaId, future);
+            future.setResult(null);
+            return;
+        }
+        final Member member = members.next();
+        ICompletableFuture<Schema> invocation = nodeEngine.getOperationService()
+                .invokeOnTarget(SERVICE_NAME, new FetchSchemaOperation(schemaId), member.getAddress());
+        invocation.andThen(new ExecutionCallback<Schema>() {
+            @Override
+            public void onResponse(Schema schema) {
+                if (schema == null) {
+                    fetchFrom(schemaId, members, future);
+                    return;
+                }
+                putLocal(schema);
+                fetches.remove(schemaId, future);
+                future.setResult(schema);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                logger.fine("Could not fetch the schema " + schemaId + " from " + member, t);
+                fetchFrom(schemaId, members, future);
+            }
+        });
+    }
+
+    @Override
+    public void put(Schema schema) {
+        if (putLocal(schema)) {
+            replicate(schema);
+        }
+    }
+
+    /**
+     * Registers the schema and replicates it to the cluster, even if it is
+     * already known locally.
+     *
+     * @param schema the schema to register
+     * @return a future which is completed once every member knows the schema
+     */
+    public ICompletableFuture<Object> putAsync(Schema schema) {
+        putLocal(schema);
+        return replicate(schema);
+    }
+
+    private ICompletableFuture<Object> replicate(final Schema schema) {
+        ICompletableFuture<Object> future = invokeOnStableClusterSerial(nodeEngine, new Supplier<Operation>() {
+            @Override
+            public Operation get() {
+                return new SendSchemaOperation(schema);
+            }
+        }, MAX_PUBLISH_ATTEMPT_COUNT);
+        future.andThen(new ExecutionCallback<Object>() {
+            @Override
+            public void onResponse(Object response) {
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                // the readers fall back to fetching the schema from this member
+                logger.warning("Could not replicate " + schema + " to the whole cluster", t);
+            }
+        });
+        return future;
+    }
+
+    @Override
+    public Operation getPreJoinOperation() {
+        Collection<Schema> schemas = getSchemas();
+        if (schemas.isEmpty()) {
+            return null;
+        }
+        return new SchemaPreJoinOperation(new ArrayList<Schema>(schemas));
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.util.HashUtil.MurmurHash3_x64_64;
+import static com.hazelcast.util.StringUtil.UTF8_CHARSET;
+
+/**
+ * The schema of a compact class: its type name and the names and kinds of its
+ * fields. The layout of a compact binary is fully determined by its schema:
+ * <pre>
+ * | schema id (long) | total length (int) | fixed-size fields | variable field offsets (int each) | variable field data |
+ * </pre>
+ * Fields are sorted by name; fixed-size fields are stored at fixed offsets
+ * and every variable-size field has a slot in the offset table holding the
+ * position of its data relative to the start of the binary, or {@code -1}
+ * for {@code null}.
+ * <p>
+ * The schema id is a 64-bit hash of the type name and the fields, so the same
+ * schema gets the same id on every member and client without coordination.
+ */
+public final class Schema implements IdentifiedDataSerializable {
+
+    /**
+     * Size of the schema id and total length preceding the fields.
+     */
+    public static final int HEADER_SIZE = LONG_SIZE_IN_BYTES + INT_SIZE_IN_BYTES;
+
+    private String typeName;
+    private Map<String, FieldDescriptor> fields;
+    private int fixedSize;
+    private int variableFieldCount;
+    private long schemaId;
+
+    public Schema() {
+    }
+
+    public Schema(String typeName, Map<String, FieldKind> fieldKinds) {
+        init(typeName, fieldKinds);
+    }
+
+    private void init(String name, Map<String, FieldKind> fieldKinds) {
+        Map<String, FieldKind> sorted = new TreeMap<String, FieldKind>(fieldKinds);
+        Map<String, FieldDescriptor> descriptors = new TreeMap<String, FieldDescriptor>();
+        int offset = 0;
+        int index = 0;
+        for (Map.Entry<String, FieldKind> entry : sorted.entrySet()) {
+            FieldKind kind = entry.getValue();
+            FieldDescriptor descriptor;
+            if (kind.isFixedSize()) {
+                descriptor = new FieldDescriptor(entry.getKey(), kind, offset, -1);
+                offset += kind.getSize();
+            } else {
+                descriptor = new FieldDescriptor(entry.getKey(), kind, -1, index++);
+            }
+            descriptors.put(entry.getKey(), descriptor);
+        }
+        this.typeName = name;
+        this.fields = Collections.unmodifiableMap(descriptors);
+        this.fixedSize = offset;
+        this.variableFieldCount = index;
+        this.schemaId = computeSchemaId(name, descriptors.values());
+    }
+
+    private static long computeSchemaId(String typeName, Collection<FieldDescriptor> descriptors) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(typeName.length()).append(':').append(typeName);
+        for (FieldDescriptor descriptor : descriptors) {
+            String name = descriptor.getName();
+            sb.append(',').append(name.length()).append(':').append(name)
+              .append(':').append(descriptor.getKind().getId());
+        }
+        byte[] bytes = sb.toString().getBytes(UTF8_CHARSET);
+        return MurmurHash3_x64_64(bytes, 0, bytes.length);
+    }
+
+    public long getSchemaId() {
+        return schemaId;
+    }
+
+    public String getTypeName() {
+        return typeName;
+    }
+
+    /**
+     * @param fieldName name of the field
+     * @return the descriptor of the field or {@code null} if the schema has no such field
+     */
+    public FieldDescriptor getField(String fieldName) {
+        return fields.get(fieldName);
+    }
+
+    /**
+     * @return the fields sorted by name
+     */
+    public Collection<FieldDescriptor> getFields() {
+        return fields.values();
+    }
+
+    public int getFieldCount() {
+        return fields.size();
+    }
+
+    /**
+     * @return the total size of the fixed-size fields in bytes
+     */
+    public int getFixedSize() {
+        return fixedSize;
+    }
+
+    public int getVariableFieldCount() {
+        return variableFieldCount;
+    }
+
+    /**
+     * @param descriptor a fixed-size field of this schema
+     * @return position of the field relative to the start of the binary
+     */
+    public int getFixedFieldPosition(FieldDescriptor descriptor) {
+        return HEADER_SIZE + descriptor.getOffset();
+    }
+
+    /**
+     * @param descriptor a variable-size field of this schema
+     * @return position of the offset table slot of the field relative to the start of the binary
+     */
+    public int getOffsetSlotPosition(FieldDescriptor descriptor) {
+        return HEADER_SIZE + fixedSize + descriptor.getIndex() * INT_SIZE_IN_BYTES;
+    }
+
+    /**
+     * @return size of a binary with this schema without the variable-size data
+     */
+    public int getDataStart() {
+        return HEADER_SIZE + fixedSize + variableFieldCount * INT_SIZE_IN_BYTES;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return CompactDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return CompactDataSerializerHook.SCHEMA;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(typeName);
+        out.writeInt(fields.size());
+        for (FieldDescriptor descriptor : fields.values()) {
+            out.writeUTF(descriptor.getName());
+            out.writeInt(descriptor.getKind().getId());
+        }
+        out.writeLong(schemaId);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        String name = in.readUTF();
+        int fieldCount = in.readInt();
+        Map<String, FieldKind> fieldKinds = new TreeMap<String, FieldKind>();
+        for (int i = 0; i < fieldCount; i++) {
+            fieldKinds.put(in.readUTF(), FieldKind.get(in.readInt()));
+        }
+        init(name, fieldKinds);
+        long expectedSchemaId = in.readLong();
+        if (expectedSchemaId != schemaId) {
+            throw new HazelcastSerializationException("Schema id mismatch for type " + name
+                    + ", expected: " + expectedSchemaId + ", computed: " + schemaId);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Schema that = (Schema) o;
+        if (schemaId != that.schemaId || !typeName.equals(that.typeName) || fields.size() != that.fields.size()) {
+            return false;
+        }
+        for (FieldDescriptor descriptor : fields.values()) {
+            FieldDescriptor other = that.fields.get(descriptor.getName());
+            if (other == null || other.getKind() != descriptor.getKind()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (schemaId ^ (schemaId >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return "Schema{"
+                + "typeName='" + typeName + '\''
+                + ", schemaId=" + schemaId
+                + ", fields=" + fields.values()
+                + '}';
+    }
+}
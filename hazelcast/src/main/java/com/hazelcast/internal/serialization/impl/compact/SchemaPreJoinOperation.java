@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Sends all schemas known by the master to a joining member.
+ */
+public class SchemaPreJoinOperation extends AbstractSchemaOperation {
+
+    private Collection<Schema> schemas;
+
+    public SchemaPreJoinOperation() {
+    }
+
+    public SchemaPreJoinOperation(Collection<Schema> schemas) {
+        this.schemas = schemas;
+    }
+
+    @Override
+    public void run() {
+        MemberSchemaService service = getService();
+        for (Schema schema : schemas) {
+            service.putLocal(schema);
+        }
+    }
+
+    @Override
+    public int getClassId() {
+        return CompactDataSerializerHook.SCHEMA_PRE_JOIN_OPERATION;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        out.writeInt(schemas.size());
+        for (Schema schema : schemas) {
+            schema.writeData(out);
+        }
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        int size = in.readInt();
+        schemas = new ArrayList<Schema>(size);
+        for (int i = 0; i < size; i++) {
+            Schema schema = new Schema();
+            schema.readData(in);
+            schemas.add(schema);
+        }
+    }
+}
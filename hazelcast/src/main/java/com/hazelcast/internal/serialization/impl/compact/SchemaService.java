@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+/**
+ * Stores the {@link Schema schemas} of compact binaries.
+ * <p>
+ * A binary carries only the id of its schema, so the schema must be known by
+ * everyone reading the binary. Implementations share a registered schema
+ * with the cluster and ask the cluster for schemas they don't know yet.
+ */
+public interface SchemaService {
+
+    /**
+     * Returns the schema with the given id, asking the cluster for it if it is
+     * not known locally.
+     *
+     * @param schemaId id of the schema
+     * @return the schema or {@code null} if it is not known
+     */
+    Schema get(long schemaId);
+
+    /**
+     * Registers the schema and makes it available to the readers of binaries
+     * written with it.
+     *
+     * @param schema the schema to register
+     */
+    void put(Schema schema);
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+
+import java.io.IOException;
+
+/**
+ * Registers a schema on the target member.
+ */
+public class SendSchemaOperation extends AbstractSchemaOperation {
+
+    private Schema schema;
+
+    public SendSchemaOperation() {
+    }
+
+    public SendSchemaOperation(Schema schema) {
+        this.schema = schema;
+    }
+
+    @Override
+    public void run() {
+        MemberSchemaService service = getService();
+        service.putLocal(schema);
+    }
+
+    @Override
+    public int getClassId() {
+        return CompactDataSerializerHook.SEND_SCHEMA_OPERATION;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        schema.writeData(out);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        schema = new Schema();
+        schema.readData(in);
+    }
+}
@@ -20,6 +20,7 @@ import com.hazelcast.config.CacheDeserializedValues;
 import com.hazelcast.config.Config;
 import com.hazelcast.config.EventJournalConfig;
 import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.IndexType;
 import com.hazelcast.config.InvalidConfigurationException;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.WanConsumerConfig;
@@ -226,6 +227,7 @@ public class MapContainer {
         return notUsedArg -> {
             switch (mapConfig.getInMemoryFormat()) {
                 case BINARY:
+                case NATIVE:
                     return new DataRecordFactory(mapConfig, serializationService, partitioningStrategy);
                 case OBJECT:
                     return new ObjectRecordFactory(mapConfig, serializationService);
@@ -425,16 +427,16 @@ public class MapContainer {
         return objectNamespace;
     }
 
-    public Map<String, Boolean> getIndexDefinitions() {
-        Map<String, Boolean> definitions = new HashMap<>();
+    public Map<String, IndexType> getIndexDefinitions() {
+        Map<String, IndexType> definitions = new HashMap<>();
         if (isGlobalIndexEnabled()) {
             for (Index index : globalIndexes.getIndexes()) {
-                definitions.put(index.getName(), index.isOrdered());
+                definitions.put(index.getName(), index.getType());
             }
         } else {
             for (PartitionContainer container : mapServiceContext.getPartitionContainers()) {
                 for (Index index : container.getIndexes(name).getIndexes()) {
-                    definitions.put(index.getName(), index.isOrdered());
+                    definitions.put(index.getName(), index.getType());
                 }
             }
         }
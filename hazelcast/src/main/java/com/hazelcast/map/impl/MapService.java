@@ -44,7 +44,7 @@ import com.hazelcast.spi.impl.eventservice.EventFilter;
 import com.hazelcast.spi.impl.eventservice.EventPublishingService;
 import com.hazelcast.spi.impl.eventservice.EventRegistration;
 import com.hazelcast.spi.impl.operationservice.Operation;
-import com.hazelcast.spi.partition.FragmentedMigrationAwareService;
+import com.hazelcast.spi.partition.ChunkedMigrationAwareService;
 import com.hazelcast.spi.partition.IPartitionLostEvent;
 import com.hazelcast.spi.partition.PartitionAwareService;
 import com.hazelcast.spi.partition.PartitionMigrationEvent;
@@ -54,6 +54,7 @@ import com.hazelcast.transaction.impl.Transaction;
 import com.hazelcast.wan.WanReplicationEvent;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Properties;
 
@@ -76,7 +77,8 @@ import static com.hazelcast.core.EntryEventType.INVALIDATION;
  * @see MapClientAwareService
  * @see MapServiceContext
  */
-public class MapService implements ManagedService, FragmentedMigrationAwareService,
+@SuppressWarnings("checkstyle:methodcount")
+public class MapService implements ManagedService, ChunkedMigrationAwareService,
         TransactionalService, RemoteService, EventPublishingService<Object, ListenerAdapter>,
         PostJoinAwareService, SplitBrainHandlerService, ReplicationSupportingService, StatisticsAwareService<LocalMapStats>,
         PartitionAwareService, ClientAwareService, QuorumAwareService, NotifiableEventListener, ClusterStateListener,
@@ -142,6 +144,12 @@ public class MapService implements ManagedService, FragmentedMigrationAwareServi
         return migrationAwareService.prepareReplicationOperation(event, namespaces);
     }
 
+    @Override
+    public Iterator<Operation> prepareReplicationChunks(PartitionReplicationEvent event, ServiceNamespace namespace,
+                                                        int maxChunkSize) {
+        return migrationAwareService.prepareReplicationChunks(event, namespace, maxChunkSize);
+    }
+
     @Override
     public void beforeMigration(PartitionMigrationEvent event) {
         migrationAwareService.beforeMigration(event);
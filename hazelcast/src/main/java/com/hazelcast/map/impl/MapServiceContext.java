@@ -21,6 +21,7 @@ import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.PartitioningStrategyConfig;
 import com.hazelcast.internal.eviction.ExpirationManager;
+import com.hazelcast.internal.memory.impl.UnsafeMallocMemoryManager;
 import com.hazelcast.internal.util.comparators.ValueComparator;
 import com.hazelcast.map.impl.event.MapEventPublisher;
 import com.hazelcast.map.impl.eviction.MapClearExpiredRecordsTask;
@@ -196,4 +197,13 @@ public interface MapServiceContext extends MapServiceContextInterceptorSupport,
     Collection<RecordStoreMutationObserver<Record>> createRecordStoreMutationObservers(String mapName, int partitionId);
 
     ValueComparator getValueComparatorOf(InMemoryFormat inMemoryFormat);
+
+    /**
+     * Returns the member-wide memory manager used by the record stores of maps
+     * configured with {@link InMemoryFormat#NATIVE}. The manager is created
+     * on first use and is bounded by the configured native memory size.
+     *
+     * @return the native memory manager of this member
+     */
+    UnsafeMallocMemoryManager getNativeMemoryManager();
 }
@@ -20,8 +20,10 @@ import com.hazelcast.cluster.ClusterState;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.MetadataPolicy;
+import com.hazelcast.config.NativeMemoryConfig;
 import com.hazelcast.config.PartitioningStrategyConfig;
 import com.hazelcast.internal.eviction.ExpirationManager;
+import com.hazelcast.internal.memory.impl.UnsafeMallocMemoryManager;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.util.InvocationUtil;
 import com.hazelcast.internal.util.LocalRetryableExecution;
@@ -157,6 +159,7 @@ class MapServiceContextImpl implements MapServiceContext {
     private final AtomicInteger writeBehindQueueItemCounter = new AtomicInteger(0);
 
     private MapService mapService;
+    private volatile UnsafeMallocMemoryManager nativeMemoryManager;
 
     @SuppressWarnings("checkstyle:executablestatementcount")
     MapServiceContextImpl(NodeEngine nodeEngine) {
@@ -428,6 +431,9 @@ class MapServiceContextImpl implements MapServiceContext {
         mapNearCacheManager.shutdown();
         mapContainers.clear();
         expirationManager.onShutdown();
+        if (nativeMemoryManager != null) {
+            nativeMemoryManager.dispose();
+        }
     }
 
     @Override
@@ -837,9 +843,29 @@ class MapServiceContextImpl implements MapServiceContext {
 
     @Override
     public ValueComparator getValueComparatorOf(InMemoryFormat inMemoryFormat) {
+        if (inMemoryFormat == InMemoryFormat.NATIVE) {
+            // values of NATIVE maps are read back from the off-heap storage as heap data
+            return ValueComparatorUtil.getValueComparatorOf(InMemoryFormat.BINARY);
+        }
         return ValueComparatorUtil.getValueComparatorOf(inMemoryFormat);
     }
 
+    @Override
+    public UnsafeMallocMemoryManager getNativeMemoryManager() {
+        UnsafeMallocMemoryManager memoryManager = nativeMemoryManager;
+        if (memoryManager == null) {
+            synchronized (this) {
+                memoryManager = nativeMemoryManager;
+                if (memoryManager == null) {
+                    NativeMemoryConfig nativeMemoryConfig = nodeEngine.getConfig().getNativeMemoryConfig();
+                    memoryManager = new UnsafeMallocMemoryManager(nativeMemoryConfig.getSize().bytes());
+                    nativeMemoryManager = memoryManager;
+                }
+            }
+        }
+        return memoryManager;
+    }
+
     InternalSerializationService getSerializationService() {
         return serializationService;
     }
@@ -54,6 +54,7 @@ public class EvictionChecker {
     private final PartitionContainer[] containers;
     private final MemoryInfoAccessor memoryInfoAccessor;
     private final MapNearCacheManager mapNearCacheManager;
+    private final MapServiceContext mapServiceContext;
     private final AtomicBoolean misconfiguredPerNodeMaxSizeWarningLogged;
 
     public EvictionChecker(MemoryInfoAccessor givenMemoryInfoAccessor, MapServiceContext mapServiceContext) {
@@ -67,6 +68,7 @@ public class EvictionChecker {
         this.partitionCount = nodeEngine.getPartitionService().getPartitionCount();
         this.mapNearCacheManager = mapServiceContext.getMapNearCacheManager();
         this.memoryInfoAccessor = givenMemoryInfoAccessor;
+        this.mapServiceContext = mapServiceContext;
 
         if (logger.isFinestEnabled()) {
             logger.finest("Used memoryInfoAccessor=" + this.memoryInfoAccessor.getClass().getCanonicalName());
@@ -100,6 +102,22 @@ public class EvictionChecker {
                 return (usedHeapInBytes(mapName) * ONE_HUNDRED / Math.max(maxMemoryInBytes(), 1)) > maxConfiguredSize;
             case FREE_HEAP_PERCENTAGE:
                 return (availableMemoryInBytes() * ONE_HUNDRED / Math.max(maxMemoryInBytes(), 1)) < maxConfiguredSize;
+            default:
+                return checkNativeMemoryEvictable(mapName, maxSizePolicy, maxConfiguredSize);
+        }
+    }
+
+    private boolean checkNativeMemoryEvictable(String mapName, MaxSizeConfig.MaxSizePolicy maxSizePolicy,
+                                               int maxConfiguredSize) {
+        switch (maxSizePolicy) {
+            case USED_NATIVE_MEMORY_SIZE:
+                return usedHeapInBytes(mapName) > MEGABYTES.toBytes(maxConfiguredSize);
+            case FREE_NATIVE_MEMORY_SIZE:
+                return freeNativeMemoryInBytes() < MEGABYTES.toBytes(maxConfiguredSize);
+            case USED_NATIVE_MEMORY_PERCENTAGE:
+                return (usedHeapInBytes(mapName) * ONE_HUNDRED / Math.max(maxNativeMemoryInBytes(), 1)) > maxConfiguredSize;
+            case FREE_NATIVE_MEMORY_PERCENTAGE:
+                return (freeNativeMemoryInBytes() * ONE_HUNDRED / Math.max(maxNativeMemoryInBytes(), 1)) < maxConfiguredSize;
             default:
                 throw new IllegalArgumentException("Not an appropriate max size policy [" + maxSizePolicy + ']');
         }
@@ -173,6 +191,14 @@ public class EvictionChecker {
         return memoryInfoAccessor.getMaxMemory();
     }
 
+    private long freeNativeMemoryInBytes() {
+        return mapServiceContext.getNativeMemoryManager().getFreeMemory();
+    }
+
+    private long maxNativeMemoryInBytes() {
+        return mapServiceContext.getNativeMemoryManager().getMaxMemory();
+    }
+
     private long availableMemoryInBytes() {
         return freeMemoryInBytes() + maxMemoryInBytes() - totalMemoryInBytes();
     }
@@ -16,6 +16,7 @@
 
 package com.hazelcast.map.impl.operation;
 
+import com.hazelcast.config.IndexType;
 import com.hazelcast.map.impl.MapDataSerializerHook;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.nio.ObjectDataInput;
@@ -28,15 +29,15 @@ import java.io.IOException;
 public class AddIndexBackupOperation extends MapOperation implements BackupOperation {
 
     private String attributeName;
-    private boolean ordered;
+    private IndexType type;
 
     public AddIndexBackupOperation() {
     }
 
-    public AddIndexBackupOperation(String name, String attributeName, boolean ordered) {
+    public AddIndexBackupOperation(String name, String attributeName, IndexType type) {
         super(name);
         this.attributeName = attributeName;
-        this.ordered = ordered;
+        this.type = type;
     }
 
     @Override
@@ -49,7 +50,7 @@ public class AddIndexBackupOperation extends MapOperation implements BackupOpera
         int partitionId = getPartitionId();
 
         Indexes indexes = mapContainer.getIndexes(partitionId);
-        indexes.recordIndexDefinition(attributeName, ordered);
+        indexes.recordIndexDefinition(attributeName, type);
     }
 
     @Override
@@ -61,14 +62,14 @@ public class AddIndexBackupOperation extends MapOperation implements BackupOpera
     protected void writeInternal(ObjectDataOutput out) throws IOException {
         super.writeInternal(out);
         out.writeUTF(attributeName);
-        out.writeBoolean(ordered);
+        out.writeInt(type.getId());
     }
 
     @Override
     protected void readInternal(ObjectDataInput in) throws IOException {
         super.readInternal(in);
         attributeName = in.readUTF();
-        ordered = in.readBoolean();
+        type = IndexType.getById(in.readInt());
     }
 
     @Override
@@ -16,6 +16,7 @@
 
 package com.hazelcast.map.impl.operation;
 
+import com.hazelcast.config.IndexType;
 import com.hazelcast.map.impl.MapDataSerializerHook;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.map.impl.record.Record;
@@ -41,15 +42,15 @@ import java.util.Iterator;
 public class AddIndexOperation extends MapOperation implements PartitionAwareOperation, MutatingOperation, BackupAwareOperation {
 
     private String attributeName;
-    private boolean ordered;
+    private IndexType type;
 
     public AddIndexOperation() {
     }
 
-    public AddIndexOperation(String name, String attributeName, boolean ordered) {
+    public AddIndexOperation(String name, String attributeName, IndexType type) {
         super(name);
         this.attributeName = attributeName;
-        this.ordered = ordered;
+        this.type = type;
     }
 
     @Override
@@ -69,7 +70,7 @@ public class AddIndexOperation extends MapOperation implements PartitionAwareOpe
 
     @Override
     public Operation getBackupOperation() {
-        return new AddIndexBackupOperation(name, attributeName, ordered);
+        return new AddIndexBackupOperation(name, attributeName, type);
     }
 
     @Override
@@ -83,7 +84,7 @@ public class AddIndexOperation extends MapOperation implements PartitionAwareOpe
 
         Indexes indexes = mapContainer.getIndexes(partitionId);
         RecordStoreAdapter recordStoreAdapter = new RecordStoreAdapter(recordStore);
-        InternalIndex index = indexes.addOrGetIndex(attributeName, ordered, indexes.isGlobal() ? null : recordStoreAdapter);
+        InternalIndex index = indexes.addOrGetIndex(attributeName, type, indexes.isGlobal() ? null : recordStoreAdapter);
         if (index.hasPartitionIndexed(partitionId)) {
             return;
         }
@@ -117,14 +118,14 @@ public class AddIndexOperation extends MapOperation implements PartitionAwareOpe
     protected void writeInternal(ObjectDataOutput out) throws IOException {
         super.writeInternal(out);
         out.writeUTF(attributeName);
-        out.writeBoolean(ordered);
+        out.writeInt(type.getId());
     }
 
     @Override
     protected void readInternal(ObjectDataInput in) throws IOException {
         super.readInternal(in);
         attributeName = in.readUTF();
-        ordered = in.readBoolean();
+        type = IndexType.getById(in.readInt());
     }
 
     @Override
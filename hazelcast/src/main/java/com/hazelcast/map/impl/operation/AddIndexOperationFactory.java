@@ -16,6 +16,7 @@
 
 package com.hazelcast.map.impl.operation;
 
+import com.hazelcast.config.IndexType;
 import com.hazelcast.map.impl.MapDataSerializerHook;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
@@ -27,34 +28,34 @@ public class AddIndexOperationFactory extends AbstractMapOperationFactory {
 
     private String name;
     private String attributeName;
-    private boolean ordered;
+    private IndexType type;
 
     public AddIndexOperationFactory() {
     }
 
-    public AddIndexOperationFactory(String name, String attributeName, boolean ordered) {
+    public AddIndexOperationFactory(String name, String attributeName, IndexType type) {
         this.name = name;
         this.attributeName = attributeName;
-        this.ordered = ordered;
+        this.type = type;
     }
 
     @Override
     public Operation createOperation() {
-        return new AddIndexOperation(name, attributeName, ordered);
+        return new AddIndexOperation(name, attributeName, type);
     }
 
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         out.writeUTF(name);
         out.writeUTF(attributeName);
-        out.writeBoolean(ordered);
+        out.writeInt(type.getId());
     }
 
     @Override
     public void readData(ObjectDataInput in) throws IOException {
         name = in.readUTF();
         attributeName = in.readUTF();
-        ordered = in.readBoolean();
+        type = IndexType.getById(in.readInt());
     }
 
     @Override
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.services.ObjectNamespace;
+import com.hazelcast.internal.services.ServiceNamespace;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.PartitionContainer;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.RecordReplicationInfo;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.map.impl.recordstore.Storage;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.impl.operationservice.Operation;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over the records of a single map of a partition with the storage cursor used by
+ * {@link Storage#fetchEntries} and creates a {@link MapReplicationOperation} for each chunk
+ * of records, each carrying approximately at most {@code maxChunkSize} bytes of keys and values.
+ * <p>
+ * Always creates at least one operation for an existing record store, so the replica is reset
+ * and the indexes, write-behind and near cache state are replicated even if the map is empty.
+ * Must be advanced on the partition thread.
+ */
+public class MapReplicationChunkIterator implements Iterator<Operation> {
+
+    private static final int FETCH_SIZE = 100;
+
+    private final PartitionContainer container;
+    private final ServiceNamespace namespace;
+    private final int replicaIndex;
+    private final int maxChunkSize;
+    private final MapService mapService;
+    private final NodeEngine nodeEngine;
+    private final RecordStore recordStore;
+    private final boolean skipped;
+
+    private int tableIndex = Integer.MAX_VALUE;
+    private boolean firstChunk = true;
+    private boolean exhausted;
+
+    public MapReplicationChunkIterator(PartitionContainer container, ServiceNamespace namespace, int replicaIndex,
+                                       int maxChunkSize, MapService mapService, NodeEngine nodeEngine) {
+        this.container = container;
+        this.namespace = namespace;
+        this.replicaIndex = replicaIndex;
+        this.maxChunkSize = maxChunkSize;
+        this.mapService = mapService;
+        this.nodeEngine = nodeEngine;
+        String mapName = ((ObjectNamespace) namespace).getObjectName();
+        this.recordStore = container.getExistingRecordStore(mapName);
+        // same conditions as MapReplicationStateHolder.prepare
+        this.skipped = recordStore == null
+                || recordStore.getMapContainer().getMapConfig().getTotalBackupCount() < replicaIndex;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !skipped && (firstChunk || !exhausted);
+    }
+
+    @Override
+    public Operation next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        SerializationService ss = nodeEngine.getSerializationService();
+        Storage<?, Record> storage = recordStore.getStorage();
+        List<RecordReplicationInfo> chunk = new ArrayList<>();
+        List<Record> records = new ArrayList<>(FETCH_SIZE);
+        long chunkSize = 0;
+        while (!exhausted && chunkSize < maxChunkSize) {
+            records.clear();
+            tableIndex = storage.fetchRecords(tableIndex, FETCH_SIZE, records);
+            exhausted = tableIndex < 0;
+            for (Record record : records) {
+                RecordReplicationInfo replicationInfo = MapReplicationOperation.toReplicationInfo(record, ss);
+                Data value = replicationInfo.getValue();
+                chunkSize += replicationInfo.getKey().totalSize() + (value != null ? value.totalSize() : 0);
+                chunk.add(replicationInfo);
+            }
+        }
+
+        Operation operation = new MapReplicationOperation(container, namespace, container.getPartitionId(),
+                replicaIndex, chunk, firstChunk, exhausted);
+        operation.setService(mapService);
+        operation.setNodeEngine(nodeEngine);
+        firstChunk = false;
+        return operation;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+}
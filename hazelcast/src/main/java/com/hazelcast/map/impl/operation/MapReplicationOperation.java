@@ -35,9 +35,11 @@ import com.hazelcast.internal.serialization.SerializationService;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 
 import static com.hazelcast.map.impl.record.Records.buildRecordInfo;
+import static java.util.Collections.singleton;
 
 /**
  * Replicates all IMap-states of this partition to a replica partition.
@@ -71,6 +73,24 @@ public class MapReplicationOperation extends Operation
         this.mapNearCacheStateHolder.prepare(container, namespaces, replicaIndex);
     }
 
+    /**
+     * Creates an operation replicating a single chunk of the records of the given map namespace.
+     * The record store is reset on the replica only by the first chunk; the write-behind and
+     * near cache state is replicated only by the last chunk.
+     *
+     * @see MapReplicationChunkIterator
+     */
+    public MapReplicationOperation(PartitionContainer container, ServiceNamespace namespace, int partitionId,
+                                   int replicaIndex, Collection<RecordReplicationInfo> chunk,
+                                   boolean firstChunk, boolean lastChunk) {
+        setPartitionId(partitionId).setReplicaIndex(replicaIndex);
+        Collection<ServiceNamespace> namespaces = lastChunk
+                ? singleton(namespace) : Collections.<ServiceNamespace>emptyList();
+        this.mapReplicationStateHolder.prepareChunk(container, namespace, replicaIndex, chunk, firstChunk);
+        this.writeBehindStateHolder.prepare(container, namespaces, replicaIndex);
+        this.mapNearCacheStateHolder.prepare(container, namespaces, replicaIndex);
+    }
+
     @Override
     public void run() {
         try {
@@ -142,7 +162,7 @@ public class MapReplicationOperation extends Operation
         mapNearCacheStateHolder.readData(in);
     }
 
-    RecordReplicationInfo toReplicationInfo(Record record, SerializationService ss) {
+    static RecordReplicationInfo toReplicationInfo(Record record, SerializationService ss) {
         RecordInfo info = buildRecordInfo(record);
         Data dataValue = ss.toData(record.getValue());
         return new RecordReplicationInfo(record.getKey(), dataValue, info);
@@ -16,6 +16,7 @@
 
 package com.hazelcast.map.impl.operation;
 
+import com.hazelcast.config.IndexType;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.map.impl.StoreAdapter;
 import com.hazelcast.map.impl.MapContainer;
@@ -55,6 +56,7 @@ import static com.hazelcast.map.impl.record.Records.getValueOrCachedValue;
 import static com.hazelcast.map.impl.recordstore.RecordStore.DEFAULT_MAX_IDLE;
 import static com.hazelcast.map.impl.recordstore.RecordStore.DEFAULT_TTL;
 import static com.hazelcast.util.MapUtil.createHashMap;
+import static java.util.Collections.singleton;
 
 /**
  * Holder for raw IMap key-value pairs and their metadata.
@@ -79,6 +81,12 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable {
     // operations, which meant that the index did not include some data.
     protected transient List<MapIndexInfo> mapIndexInfos;
 
+    // records of a single chunk of a chunked migration, null if all records of the record stores are replicated
+    protected transient Collection<RecordReplicationInfo> chunk;
+
+    // false for all but the first chunk of a chunked migration, record stores are reset only before the first chunk
+    protected transient boolean firstChunk = true;
+
     private MapReplicationOperation operation;
 
     /**
@@ -119,14 +127,14 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable {
             if (mapContainer.isGlobalIndexEnabled()) {
                 // global-index
                 for (Index index : mapContainer.getIndexes().getIndexes()) {
-                    indexInfos.add(new IndexInfo(index.getName(), index.isOrdered()));
+                    indexInfos.add(new IndexInfo(index.getName(), index.getType()));
                 }
             } else {
                 // partitioned-index
                 final Indexes indexes = mapContainer.getIndexes(container.getPartitionId());
                 if (indexes != null && indexes.haveAtLeastOneIndex()) {
                     for (Index index : indexes.getIndexes()) {
-                        indexInfos.add(new IndexInfo(index.getName(), index.isOrdered()));
+                        indexInfos.add(new IndexInfo(index.getName(), index.getType()));
                     }
                 }
             }
@@ -136,7 +144,14 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable {
         }
     }
 
-    @SuppressWarnings("checkstyle:npathcomplexity")
+    void prepareChunk(PartitionContainer container, ServiceNamespace namespace, int replicaIndex,
+                      Collection<RecordReplicationInfo> chunk, boolean firstChunk) {
+        prepare(container, singleton(namespace), replicaIndex);
+        this.chunk = chunk;
+        this.firstChunk = firstChunk;
+    }
+
+    @SuppressWarnings({"checkstyle:npathcomplexity", "checkstyle:cyclomaticcomplexity"})
     void applyState() {
         ThreadUtil.assertRunningOnPartitionThread();
 
@@ -147,14 +162,16 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable {
                 Collection<RecordReplicationInfo> recordReplicationInfos = dataEntry.getValue();
                 final String mapName = dataEntry.getKey();
                 RecordStore recordStore = operation.getRecordStore(mapName);
-                recordStore.reset();
+                if (firstChunk) {
+                    recordStore.reset();
+                }
                 recordStore.setPreMigrationLoadedStatus(loaded.get(mapName));
                 StoreAdapter storeAdapter = new RecordStoreAdapter(recordStore);
 
                 MapContainer mapContainer = recordStore.getMapContainer();
                 PartitionContainer partitionContainer = recordStore.getMapContainer().getMapServiceContext()
                         .getPartitionContainer(operation.getPartitionId());
-                for (Map.Entry<String, Boolean> indexDefinition : mapContainer.getIndexDefinitions().entrySet()) {
+                for (Map.Entry<String, IndexType> indexDefinition : mapContainer.getIndexDefinitions().entrySet()) {
                     Indexes indexes = mapContainer.getIndexes(partitionContainer.getPartitionId());
                     indexes.addOrGetIndex(indexDefinition.getKey(), indexDefinition.getValue(),
                             indexes.isGlobal() ? null : storeAdapter);
@@ -164,7 +181,7 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable {
                 final SerializationService serializationService = mapContainer.getMapServiceContext().getNodeEngine()
                         .getSerializationService();
                 final boolean indexesMustBePopulated = indexesMustBePopulated(indexes, operation);
-                if (indexesMustBePopulated) {
+                if (indexesMustBePopulated && firstChunk) {
                     // defensively clear possible stale leftovers in non-global indexes from the previous failed promotion attempt
                     indexes.clearAll();
                 }
@@ -226,14 +243,14 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable {
 
                 // optimisation not to synchronize each partition thread on the addOrGetIndex method
                 if (indexes.getIndex(indexInfo.getName()) == null) {
-                    indexes.addOrGetIndex(indexInfo.getName(), indexInfo.isOrdered(), recordStoreAdapter);
+                    indexes.addOrGetIndex(indexInfo.getName(), indexInfo.getType(), recordStoreAdapter);
                 }
             }
         } else {
             Indexes indexes = mapContainer.getIndexes(operation.getPartitionId());
             StoreAdapter recordStoreAdapter = indexes.isGlobal() ? null : new RecordStoreAdapter(recordStore);
             for (IndexInfo indexInfo : indexInfos) {
-                indexes.addOrGetIndex(indexInfo.getName(), indexInfo.isOrdered(), recordStoreAdapter);
+                indexes.addOrGetIndex(indexInfo.getName(), indexInfo.getType(), recordStoreAdapter);
             }
         }
     }
@@ -249,12 +266,19 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable {
             SerializationService ss = getSerializationService(recordStore);
 
             out.writeUTF(mapName);
+            if (chunk != null) {
+                out.writeInt(chunk.size());
+                for (RecordReplicationInfo replicationInfo : chunk) {
+                    out.writeObject(replicationInfo);
+                }
+                continue;
+            }
             out.writeInt(recordStore.size());
 
             Iterator<Record> iterator = recordStore.iterator();
             while (iterator.hasNext()) {
                 Record record = iterator.next();
-                RecordReplicationInfo replicationInfo = operation.toReplicationInfo(record, ss);
+                RecordReplicationInfo replicationInfo = MapReplicationOperation.toReplicationInfo(record, ss);
                 out.writeObject(replicationInfo);
             }
         }
@@ -269,6 +293,7 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable {
         for (MapIndexInfo mapIndexInfo : mapIndexInfos) {
             out.writeObject(mapIndexInfo);
         }
+        out.writeBoolean(firstChunk);
     }
 
     private static SerializationService getSerializationService(RecordStore recordStore) {
@@ -304,6 +329,7 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable {
             MapIndexInfo mapIndexInfo = in.readObject();
             mapIndexInfos.add(mapIndexInfo);
         }
+        firstChunk = in.readBoolean();
     }
 
     @Override
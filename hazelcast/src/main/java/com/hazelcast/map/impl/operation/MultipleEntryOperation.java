@@ -17,9 +17,11 @@
 package com.hazelcast.map.impl.operation;
 
 import com.hazelcast.core.ManagedContext;
+import com.hazelcast.internal.serialization.impl.compact.MemberSchemaService;
 import com.hazelcast.map.EntryProcessor;
 import com.hazelcast.map.impl.MapDataSerializerHook;
 import com.hazelcast.map.impl.MapEntries;
+import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
@@ -69,6 +71,7 @@ public class MultipleEntryOperation extends MapOperation
         if (keys.isEmpty()) {
             return;
         }
+        checkSchemasKnown();
 
         EntryOperator operator = operator(this, entryProcessor, getPredicate());
         for (Data key : keys) {
@@ -79,6 +82,26 @@ public class MultipleEntryOperation extends MapOperation
         }
     }
 
+    /**
+     * Fails before the entry processor runs on the first entry if a compact
+     * schema of the keys or their values is not known yet, so the retry does
+     * not process an entry twice.
+     */
+    private void checkSchemasKnown() {
+        MemberSchemaService schemaService = getNodeEngine().getService(MemberSchemaService.SERVICE_NAME);
+        boolean known = true;
+        for (Data key : keys) {
+            known &= schemaService.isSchemaKnown(key);
+            Record record = recordStore.getRecord(key);
+            if (record != null) {
+                known &= schemaService.isSchemaKnown(record.getValue());
+            }
+        }
+        if (!known) {
+            throw MemberSchemaService.newSchemasNotKnownException();
+        }
+    }
+
     protected Predicate getPredicate() {
         return null;
     }
@@ -19,6 +19,7 @@ package com.hazelcast.map.impl.operation;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.core.EntryEventType;
 import com.hazelcast.core.ManagedContext;
+import com.hazelcast.internal.serialization.impl.compact.MemberSchemaService;
 import com.hazelcast.map.EntryProcessor;
 import com.hazelcast.map.impl.MapDataSerializerHook;
 import com.hazelcast.map.impl.MapEntries;
@@ -138,6 +139,7 @@ public class PartitionWideEntryOperation extends MapOperation
     }
 
     private void runWithPartitionScan() {
+        checkSchemasKnown();
         responses = new MapEntries(recordStore.size());
         operator = operator(this, entryProcessor, getPredicate());
         Iterator<Record> iterator = recordStore.iterator(Clock.currentTimeMillis(), false);
@@ -152,6 +154,25 @@ public class PartitionWideEntryOperation extends MapOperation
         }
     }
 
+    /**
+     * Fails before the entry processor runs on the first entry if a compact
+     * schema of the partition's entries is not known yet, so the retry does
+     * not process an entry twice.
+     */
+    private void checkSchemasKnown() {
+        MemberSchemaService schemaService = getNodeEngine().getService(MemberSchemaService.SERVICE_NAME);
+        boolean known = true;
+        Iterator<Record> iterator = recordStore.iterator(Clock.currentTimeMillis(), false);
+        while (iterator.hasNext()) {
+            Record record = iterator.next();
+            known &= schemaService.isSchemaKnown(record.getKey());
+            known &= schemaService.isSchemaKnown(record.getValue());
+        }
+        if (!known) {
+            throw MemberSchemaService.newSchemasNotKnownException();
+        }
+    }
+
     // TODO unify this method with `runWithPartitionScan`
     private void runWithPartitionScanForNative() {
         // if we reach here, it means we didn't manage to leverage index and we fall-back to full-partition scan
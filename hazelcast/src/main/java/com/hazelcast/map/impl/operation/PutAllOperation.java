@@ -17,6 +17,7 @@
 package com.hazelcast.map.impl.operation;
 
 import com.hazelcast.core.EntryEventType;
+import com.hazelcast.internal.serialization.impl.compact.MemberSchemaService;
 import com.hazelcast.map.IMap;
 import com.hazelcast.map.impl.MapDataSerializerHook;
 import com.hazelcast.map.impl.MapEntries;
@@ -76,6 +77,9 @@ public class PutAllOperation extends MapOperation
         hasWanReplication = mapContainer.isWanReplicationEnabled();
         hasBackups = hasBackups();
         hasInvalidation = mapContainer.hasInvalidationListener();
+        if (currentIndex == 0) {
+            checkSchemasKnown();
+        }
 
         if (hasBackups) {
             backupRecordInfos = new ArrayList<>(mapEntries.size());
@@ -96,6 +100,22 @@ public class PutAllOperation extends MapOperation
         }
     }
 
+    /**
+     * Fails before the first entry is put if a compact schema of the entries
+     * is not known yet, so the retry does not put an entry twice.
+     */
+    private void checkSchemasKnown() {
+        MemberSchemaService schemaService = getNodeEngine().getService(MemberSchemaService.SERVICE_NAME);
+        boolean known = true;
+        for (int i = 0; i < mapEntries.size(); i++) {
+            known &= schemaService.isSchemaKnown(mapEntries.getKey(i));
+            known &= schemaService.isSchemaKnown(mapEntries.getValue(i));
+        }
+        if (!known) {
+            throw MemberSchemaService.newSchemasNotKnownException();
+        }
+    }
+
     private boolean hasBackups() {
         return (mapContainer.getTotalBackupCount() > 0);
     }
@@ -18,6 +18,7 @@ package com.hazelcast.map.impl.proxy;
 
 import com.hazelcast.aggregation.Aggregator;
 import com.hazelcast.config.EntryListenerConfig;
+import com.hazelcast.config.IndexType;
 import com.hazelcast.config.ListenerConfig;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.MapIndexConfig;
@@ -305,7 +306,7 @@ abstract class MapProxySupport<K, V>
     private void initializeIndexes() {
         for (MapIndexConfig index : mapConfig.getMapIndexConfigs()) {
             if (index.getAttribute() != null) {
-                addIndex(index.getAttribute(), index.isOrdered());
+                addIndex(index.getAttribute(), index.getType());
             }
         }
     }
@@ -1245,9 +1246,13 @@ abstract class MapProxySupport<K, V>
 
     @Override
     public void addIndex(@Nonnull String attribute, boolean ordered) {
+        addIndex(attribute, ordered ? IndexType.SORTED : IndexType.HASH);
+    }
+
+    private void addIndex(String attribute, IndexType type) {
         validateIndexAttribute(attribute);
         try {
-            AddIndexOperation addIndexOperation = new AddIndexOperation(name, attribute, ordered);
+            AddIndexOperation addIndexOperation = new AddIndexOperation(name, attribute, type);
             operationService.invokeOnAllPartitions(SERVICE_NAME, new BinaryOperationFactory(addIndexOperation, getNodeEngine()));
         } catch (Throwable t) {
             throw rethrow(t);
@@ -35,9 +35,11 @@ import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.query.Metadata;
 import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.AttributeColumn;
 import com.hazelcast.query.impl.QueryableEntriesSegment;
 import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.query.impl.predicates.BatchEvaluablePredicate;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.impl.operationservice.OperationService;
 import com.hazelcast.spi.partition.IPartitionService;
@@ -51,6 +53,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 
 import static com.hazelcast.query.PagingPredicateAccessor.getNearestAnchorEntry;
+import static com.hazelcast.spi.properties.GroupProperty.QUERY_PARTITION_SCAN_BATCH_SIZE;
 import static com.hazelcast.util.SortingUtil.compareAnchor;
 
 /**
@@ -65,6 +68,7 @@ public class PartitionScanRunner {
     protected final IPartitionService partitionService;
     protected final OperationService operationService;
     protected final ClusterService clusterService;
+    protected final int batchSize;
 
     public PartitionScanRunner(MapServiceContext mapServiceContext) {
         this.mapServiceContext = mapServiceContext;
@@ -74,6 +78,7 @@ public class PartitionScanRunner {
         this.logger = nodeEngine.getLogger(getClass());
         this.operationService = nodeEngine.getOperationService();
         this.clusterService = nodeEngine.getClusterService();
+        this.batchSize = nodeEngine.getProperties().getInteger(QUERY_PARTITION_SCAN_BATCH_SIZE);
     }
 
     @SuppressWarnings("unchecked")
@@ -87,6 +92,12 @@ public class PartitionScanRunner {
         Map.Entry<Integer, Map.Entry> nearestAnchorEntry = getNearestAnchorEntry(pagingPredicate);
         boolean useCachedValues = isUseCachedDeserializedValuesEnabled(mapContainer, partitionId);
         Extractors extractors = mapServiceContext.getExtractors(mapName);
+        if (pagingPredicate == null && batchSize > 0 && predicate instanceof BatchEvaluablePredicate) {
+            runBatched((BatchEvaluablePredicate) predicate, recordStore, iterator, useCachedValues, extractors, result);
+            result.orderAndLimit(null, nearestAnchorEntry);
+            return;
+        }
+
         LazyMapEntry queryEntry = new LazyMapEntry();
         StoreAdapter storeAdapter = new RecordStoreAdapter(recordStore);
         while (iterator.hasNext()) {
@@ -115,6 +126,59 @@ public class PartitionScanRunner {
         result.orderAndLimit(pagingPredicate, nearestAnchorEntry);
     }
 
+    /**
+     * Collects the entries into batches, extracts the predicate attribute for
+     * the whole batch into an {@link AttributeColumn} and evaluates the
+     * predicate over it. Entries which are not added to the result are reused
+     * by the following batches.
+     */
+    private void runBatched(BatchEvaluablePredicate predicate, RecordStore recordStore, Iterator<Record> iterator,
+                            boolean useCachedValues, Extractors extractors, Result result) {
+        int capacity = Math.max(1, Math.min(batchSize, recordStore.size()));
+        LazyMapEntry[] entries = new LazyMapEntry[capacity];
+        AttributeColumn column = new AttributeColumn(capacity);
+        StoreAdapter storeAdapter = new RecordStoreAdapter(recordStore);
+        int count = 0;
+        while (iterator.hasNext()) {
+            Record record = iterator.next();
+            Data key = (Data) toData(record.getKey());
+            Metadata metadata = getMetadataFromRecord(recordStore, record);
+            Object value = toData(
+                    useCachedValues ? Records.getValueOrCachedValue(record, serializationService) : record.getValue());
+            if (value == null) {
+                continue;
+            }
+
+            LazyMapEntry queryEntry = entries[count];
+            if (queryEntry == null) {
+                queryEntry = new LazyMapEntry();
+                entries[count] = queryEntry;
+            }
+            queryEntry.init(serializationService, key, value, extractors);
+            queryEntry.setMetadata(metadata);
+            queryEntry.setRecord(record);
+            queryEntry.setStoreAdapter(storeAdapter);
+            if (++count == capacity) {
+                applyBatch(predicate, entries, count, column, result);
+                count = 0;
+            }
+        }
+        if (count > 0) {
+            applyBatch(predicate, entries, count, column, result);
+        }
+    }
+
+    private static void applyBatch(BatchEvaluablePredicate predicate, LazyMapEntry[] entries, int count,
+                                   AttributeColumn column, Result result) {
+        column.fill(entries, count, predicate.getAttribute());
+        predicate.applyBatch(column);
+        for (int i = column.nextMatch(0); i >= 0; i = column.nextMatch(i + 1)) {
+            result.add(entries[i]);
+            // the matched entry is now owned by the result
+            entries[i] = null;
+        }
+    }
+
     // overridden in ee
     protected Metadata getMetadataFromRecord(RecordStore recordStore, Record record) {
         return record.getMetadata();
@@ -45,17 +45,20 @@ public abstract class AbstractRecord<V> implements Record<V> {
      */
     public static final long EPOCH_TIME = zeroOutMs(1514764800000L);
 
-    private static final int NUMBER_OF_LONGS = 2;
-    private static final int NUMBER_OF_INTS = 5;
+    private static final int NUMBER_OF_LONGS = 1;
+    private static final int NUMBER_OF_INTS = 6;
 
     protected Data key;
     protected long version;
     protected int ttl;
     protected int maxIdle;
 
-    @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT",
-            justification = "Record can be accessed by only its own partition thread.")
-    protected volatile long hits;
+    /**
+     * Hit count is kept as an int rather than a long, together with the int
+     * based time fields this saves one 8-byte alignment slot per record.
+     * The counter saturates at {@link Integer#MAX_VALUE} instead of overflowing.
+     */
+    protected volatile int hits;
     private volatile int lastAccessTime = NOT_AVAILABLE;
     private volatile int lastUpdateTime = NOT_AVAILABLE;
     private int creationTime = NOT_AVAILABLE;
@@ -150,7 +153,7 @@ public abstract class AbstractRecord<V> implements Record<V> {
 
     @Override
     public void setHits(long hits) {
-        this.hits = hits;
+        this.hits = hits > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) hits;
     }
 
     @Override
@@ -170,8 +173,12 @@ public abstract class AbstractRecord<V> implements Record<V> {
     }
 
     @Override
+    @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT",
+            justification = "Record can be accessed by only its own partition thread.")
     public void onAccess(long now) {
-        hits++;
+        if (hits != Integer.MAX_VALUE) {
+            hits++;
+        }
         onAccessSafe(now);
     }
 
@@ -268,7 +275,7 @@ public abstract class AbstractRecord<V> implements Record<V> {
         result = 31 * result + ttl;
         result = 31 * result + maxIdle;
         result = 31 * result + creationTime;
-        result = 31 * result + (int) (hits ^ (hits >>> 32));
+        result = 31 * result + hits;
         result = 31 * result + lastAccessTime;
         result = 31 * result + lastUpdateTime;
         return result;
@@ -20,6 +20,14 @@ import com.hazelcast.nio.serialization.Data;
 
 /**
  * Factory for creating records. Created for every partition.
+ * <p>
+ * The record class is chosen from the map config: the in-memory format and
+ * {@link com.hazelcast.config.CacheDeserializedValues} select the value
+ * holder, and the statistics setting selects whether the record also tracks
+ * the expiration and last stored times. The remaining fields cannot be
+ * dropped based on the map config: TTL and max-idle can be set per entry
+ * through the API even if the map config does not set them, and the hit
+ * count and last access time are used by eviction and max-idle expiration.
  *
  * @param <T> the type of object which is going to be created.
  */
@@ -174,7 +174,7 @@ public final class Records {
     }
 
     static boolean shouldCache(Object value) {
-        return value instanceof Data && !((Data) value).isPortable();
+        return value instanceof Data && !((Data) value).isPortable() && !((Data) value).isCompact();
     }
 
 
@@ -122,6 +122,10 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
 
     @Override
     public Storage createStorage(RecordFactory recordFactory, InMemoryFormat memoryFormat) {
+        if (memoryFormat == InMemoryFormat.NATIVE) {
+            return new NativeStorageImpl(recordFactory, mapServiceContext.getNativeMemoryManager(),
+                    mapContainer.getMapConfig().isStatisticsEnabled(), serializationService);
+        }
         return new StorageImpl(recordFactory, memoryFormat, serializationService);
     }
 
@@ -162,7 +166,7 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
     protected Record putNewRecord(Data key, Object value, long ttlMillis, long maxIdleMillis, long now) {
         Record record = createRecord(key, value, ttlMillis, maxIdleMillis, now);
         runMapStore(record, key, value, now);
-        storage.put(key, record);
+        record = storage.put(key, record);
         mutationObserver.onPutRecord(key, record);
         return record;
     }
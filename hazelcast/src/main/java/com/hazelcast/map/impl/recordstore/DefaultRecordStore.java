@@ -154,9 +154,9 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
     @Override
     public void putRecord(Data key, Record record) {
         markRecordStoreExpirable(record.getTtl(), record.getMaxIdle());
-        storage.put(key, record);
-        mutationObserver.onReplicationPutRecord(key, record);
-        updateStatsOnPut(record.getHits());
+        Record storedRecord = storage.put(key, record);
+        mutationObserver.onReplicationPutRecord(key, storedRecord);
+        updateStatsOnPut(storedRecord.getHits());
     }
 
     @Override
@@ -172,7 +172,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         Record record = getRecordOrNull(key, now, true);
         if (record == null) {
             record = createRecord(key, value, ttl, maxIdle, now);
-            storage.put(key, record);
+            record = storage.put(key, record);
             mutationObserver.onPutRecord(key, record);
         } else {
             updateRecord(key, record, value, now, true, ttl, maxIdle, false);
@@ -336,7 +336,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         }
         record = createRecord(key, value, ttl, DEFAULT_MAX_IDLE, getNow());
         markRecordStoreExpirable(ttl, DEFAULT_MAX_IDLE);
-        storage.put(key, record);
+        record = storage.put(key, record);
         mutationObserver.onLoadRecord(key, record);
         if (!backup) {
             saveIndex(record, null);
@@ -765,7 +765,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             newValue = persistenceEnabledFor(provenance)
                     ? mapDataStore.add(key, newValue, record.getExpirationTime(), now) : newValue;
             recordFactory.setValue(record, newValue);
-            storage.put(key, record);
+            record = storage.put(key, record);
             mutationObserver.onPutRecord(key, record);
         } else {
             oldValue = record.getValue();
@@ -865,7 +865,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         if (record == null) {
             value = mapServiceContext.interceptPut(name, null, value);
             record = createRecord(key, value, ttl, maxIdle, now);
-            storage.put(key, record);
+            record = storage.put(key, record);
             mutationObserver.onPutRecord(key, record);
         } else {
             oldValue = record.getValue();
@@ -931,7 +931,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         if (record == null) {
             value = mapServiceContext.interceptPut(name, null, value);
             record = createRecord(key, value, ttl, maxIdle, now);
-            storage.put(key, record);
+            record = storage.put(key, record);
             mutationObserver.onLoadRecord(key, record);
             entryEventType = LOADED;
         } else {
@@ -985,7 +985,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             oldValue = mapDataStore.load(key);
             if (oldValue != null) {
                 record = createRecord(key, oldValue, DEFAULT_TTL, DEFAULT_MAX_IDLE, now);
-                storage.put(key, record);
+                record = storage.put(key, record);
 
                 mutationObserver.onPutRecord(key, record);
                 mapEventPublisher.publishEvent(callerAddress, name, EntryEventType.LOADED, key, null, oldValue);
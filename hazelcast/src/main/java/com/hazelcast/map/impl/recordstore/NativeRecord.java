@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.Metadata;
+import com.hazelcast.util.Clock;
+
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.LONG_SIZE_IN_BYTES;
+
+/**
+ * Flyweight {@link Record} view over a record block which is allocated and
+ * owned by a {@link NativeStorageImpl}.
+ * <p>
+ * Record block layout:
+ * <pre>
+ * +-----------------+-----------------+---------+-----+----------+--------------+
+ * | key address (8) | value addr. (8) | version | ttl | max-idle | creation ... |
+ * +-----------------+-----------------+---------+-----+----------+--------------+
+ * ... | last-access | last-update | hits | last-stored | expiration | key hash (4) + padding |
+ * </pre>
+ * The key and the value are kept in separate blocks which start with the
+ * length of the serialized blob as an {@code int}, followed by the bytes of
+ * the {@link Data}.
+ * <p>
+ * Instances are cheap to create and are only valid until the record is
+ * removed from the storage and its deferred blocks are disposed.
+ */
+@SuppressWarnings("checkstyle:methodcount")
+final class NativeRecord implements Record<Data> {
+
+    static final int KEY_ADDRESS_OFFSET = 0;
+    static final int VALUE_ADDRESS_OFFSET = KEY_ADDRESS_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int VERSION_OFFSET = VALUE_ADDRESS_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int TTL_OFFSET = VERSION_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int MAX_IDLE_OFFSET = TTL_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int CREATION_TIME_OFFSET = MAX_IDLE_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int LAST_ACCESS_TIME_OFFSET = CREATION_TIME_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int LAST_UPDATE_TIME_OFFSET = LAST_ACCESS_TIME_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int HITS_OFFSET = LAST_UPDATE_TIME_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int LAST_STORED_TIME_OFFSET = HITS_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int EXPIRATION_TIME_OFFSET = LAST_STORED_TIME_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int KEY_HASH_OFFSET = EXPIRATION_TIME_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int RECORD_SIZE = KEY_HASH_OFFSET + LONG_SIZE_IN_BYTES;
+
+    static final int BLOB_HEADER_SIZE = INT_SIZE_IN_BYTES;
+
+    private final NativeStorageImpl storage;
+    private final long address;
+
+    private Data key;
+
+    NativeRecord(NativeStorageImpl storage, long address) {
+        this.storage = storage;
+        this.address = address;
+    }
+
+    long address() {
+        return address;
+    }
+
+    NativeStorageImpl storage() {
+        return storage;
+    }
+
+    @Override
+    public Data getKey() {
+        if (key == null) {
+            key = storage.readBlob(storage.getLong(address, KEY_ADDRESS_OFFSET));
+        }
+        return key;
+    }
+
+    @Override
+    public void setKey(Data key) {
+        throw new UnsupportedOperationException("Key of a native record cannot be changed");
+    }
+
+    @Override
+    public Data getValue() {
+        return storage.readBlob(storage.getLong(address, VALUE_ADDRESS_OFFSET));
+    }
+
+    @Override
+    public void setValue(Data value) {
+        storage.replaceValue(address, value);
+    }
+
+    @Override
+    public void onAccess(long now) {
+        setHits(getHits() + 1);
+        onAccessSafe(now);
+    }
+
+    @Override
+    public void onAccessSafe(long now) {
+        setLastAccessTime(now);
+    }
+
+    @Override
+    public void onUpdate(long now) {
+        setVersion(getVersion() + 1);
+        setLastUpdateTime(now);
+    }
+
+    @Override
+    public void onStore() {
+        if (storage.isStatisticsEnabled()) {
+            setLastStoredTime(Clock.currentTimeMillis());
+        }
+    }
+
+    @Override
+    public long getCost() {
+        return storage.getRecordCost(address);
+    }
+
+    @Override
+    public long getVersion() {
+        return storage.getLong(address, VERSION_OFFSET);
+    }
+
+    @Override
+    public void setVersion(long version) {
+        storage.putLong(address, VERSION_OFFSET, version);
+    }
+
+    @Override
+    public Object getCachedValueUnsafe() {
+        return Record.NOT_CACHED;
+    }
+
+    @Override
+    public boolean casCachedValue(Object expectedValue, Object newValue) {
+        return true;
+    }
+
+    @Override
+    public long getTtl() {
+        return storage.getLong(address, TTL_OFFSET);
+    }
+
+    @Override
+    public void setTtl(long ttl) {
+        storage.putLong(address, TTL_OFFSET, ttl);
+    }
+
+    @Override
+    public long getMaxIdle() {
+        return storage.getLong(address, MAX_IDLE_OFFSET);
+    }
+
+    @Override
+    public void setMaxIdle(long maxIdle) {
+        storage.putLong(address, MAX_IDLE_OFFSET, maxIdle);
+    }
+
+    @Override
+    public long getLastAccessTime() {
+        return storage.getLong(address, LAST_ACCESS_TIME_OFFSET);
+    }
+
+    @Override
+    public void setLastAccessTime(long lastAccessTime) {
+        storage.putLong(address, LAST_ACCESS_TIME_OFFSET, lastAccessTime);
+    }
+
+    @Override
+    public long getLastUpdateTime() {
+        return storage.getLong(address, LAST_UPDATE_TIME_OFFSET);
+    }
+
+    @Override
+    public void setLastUpdateTime(long lastUpdateTime) {
+        storage.putLong(address, LAST_UPDATE_TIME_OFFSET, lastUpdateTime);
+    }
+
+    @Override
+    public long getCreationTime() {
+        return storage.getLong(address, CREATION_TIME_OFFSET);
+    }
+
+    @Override
+    public void setCreationTime(long creationTime) {
+        storage.putLong(address, CREATION_TIME_OFFSET, creationTime);
+    }
+
+    @Override
+    public long getHits() {
+        return storage.getLong(address, HITS_OFFSET);
+    }
+
+    @Override
+    public void setHits(long hits) {
+        storage.putLong(address, HITS_OFFSET, hits);
+    }
+
+    @Override
+    public long getExpirationTime() {
+        if (!storage.isStatisticsEnabled()) {
+            return NOT_AVAILABLE;
+        }
+        return storage.getLong(address, EXPIRATION_TIME_OFFSET);
+    }
+
+    @Override
+    public void setExpirationTime(long expirationTime) {
+        if (storage.isStatisticsEnabled()) {
+            storage.putLong(address, EXPIRATION_TIME_OFFSET, expirationTime);
+        }
+    }
+
+    @Override
+    public long getLastStoredTime() {
+        if (!storage.isStatisticsEnabled()) {
+            return NOT_AVAILABLE;
+        }
+        return storage.getLong(address, LAST_STORED_TIME_OFFSET);
+    }
+
+    @Override
+    public void setLastStoredTime(long lastStoredTime) {
+        if (storage.isStatisticsEnabled()) {
+            storage.putLong(address, LAST_STORED_TIME_OFFSET, lastStoredTime);
+        }
+    }
+
+    @Override
+    public long getSequence() {
+        return NOT_AVAILABLE;
+    }
+
+    @Override
+    public void setSequence(long sequence) {
+    }
+
+    @Override
+    public void setMetadata(Metadata metadata) {
+        storage.setMetadata(address, metadata);
+    }
+
+    @Override
+    public Metadata getMetadata() {
+        return storage.getMetadata(address);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof NativeRecord)) {
+            return false;
+        }
+        NativeRecord that = (NativeRecord) o;
+        return address == that.address && storage == that.storage;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (address ^ (address >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return "NativeRecord{address=" + address + '}';
+    }
+}
@@ -0,0 +1,671 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.map.impl.EntryCostEstimator;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.RecordFactory;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.Metadata;
+import com.hazelcast.util.collection.Long2ObjectHashMap;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.internal.util.hashslot.impl.CapacityUtil.DEFAULT_CAPACITY;
+import static com.hazelcast.internal.util.hashslot.impl.CapacityUtil.DEFAULT_LOAD_FACTOR;
+import static com.hazelcast.internal.util.hashslot.impl.CapacityUtil.nextCapacity;
+import static com.hazelcast.map.impl.recordstore.NativeRecord.BLOB_HEADER_SIZE;
+import static com.hazelcast.map.impl.recordstore.NativeRecord.CREATION_TIME_OFFSET;
+import static com.hazelcast.map.impl.recordstore.NativeRecord.EXPIRATION_TIME_OFFSET;
+import static com.hazelcast.map.impl.recordstore.NativeRecord.HITS_OFFSET;
+import static com.hazelcast.map.impl.recordstore.NativeRecord.KEY_ADDRESS_OFFSET;
+import static com.hazelcast.map.impl.recordstore.NativeRecord.KEY_HASH_OFFSET;
+import static com.hazelcast.map.impl.recordstore.NativeRecord.LAST_ACCESS_TIME_OFFSET;
+import static com.hazelcast.map.impl.recordstore.NativeRecord.LAST_STORED_TIME_OFFSET;
+import static com.hazelcast.map.impl.recordstore.NativeRecord.LAST_UPDATE_TIME_OFFSET;
+import static com.hazelcast.map.impl.recordstore.NativeRecord.MAX_IDLE_OFFSET;
+import static com.hazelcast.map.impl.recordstore.NativeRecord.RECORD_SIZE;
+import static com.hazelcast.map.impl.recordstore.NativeRecord.TTL_OFFSET;
+import static com.hazelcast.map.impl.recordstore.NativeRecord.VALUE_ADDRESS_OFFSET;
+import static com.hazelcast.map.impl.recordstore.NativeRecord.VERSION_OFFSET;
+import static com.hazelcast.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.util.HashUtil.fastIntMix;
+
+/**
+ * {@link Storage} implementation which keeps keys, values and record metadata
+ * in blocks allocated from a {@link MemoryAllocator}, outside of the Java heap.
+ * <p>
+ * Records are indexed by an open-addressing hash table with linear probing,
+ * which is itself allocated from the same allocator. Each table slot holds the
+ * address of a record block and the key hash is cached in the record block, so
+ * neither lookups nor resizes need to deserialize the keys. Removals use
+ * backward-shift deletion, so the table never contains tombstones.
+ * <p>
+ * Records are handed out as {@link NativeRecord} flyweights. Blocks which
+ * become unreachable while an operation is running (removed records and
+ * replaced values) are not freed immediately but deferred until
+ * {@link #disposeDeferredBlocks()} is called after the operation, so the
+ * flyweights stay readable for the rest of the operation.
+ * <p>
+ * This class is not thread-safe and is accessed only by its partition thread.
+ */
+@SuppressWarnings("checkstyle:methodcount")
+public class NativeStorageImpl implements Storage<Data, Record> {
+
+    private static final int SLOT_LENGTH = LONG_SIZE_IN_BYTES;
+
+    private final RecordFactory<Data> recordFactory;
+    private final MemoryAllocator malloc;
+    private final MemoryAccessor mem;
+    private final boolean statisticsEnabled;
+    private final SerializationService serializationService;
+    private final Long2ObjectHashMap<Metadata> metadataStore = new Long2ObjectHashMap<>();
+
+    private long tableAddress = NULL_ADDRESS;
+    private int capacity;
+    private int mask;
+    private int expandAt;
+    private volatile int size;
+
+    private long[] deferredBlocks = new long[DEFAULT_CAPACITY];
+    private int deferredBlocksLength;
+
+    // not final for testing purposes.
+    private EntryCostEstimator entryCostEstimator = new NativeEntryCostEstimator();
+
+    public NativeStorageImpl(RecordFactory<Data> recordFactory, MemoryManager memoryManager,
+                             boolean statisticsEnabled, SerializationService serializationService) {
+        this.recordFactory = recordFactory;
+        this.malloc = memoryManager.getAllocator();
+        this.mem = memoryManager.getAccessor();
+        this.statisticsEnabled = statisticsEnabled;
+        this.serializationService = serializationService;
+    }
+
+    @Override
+    public Record put(Data key, Record record) {
+        if (record instanceof NativeRecord && ((NativeRecord) record).storage() == this) {
+            // the record is already backed by this storage
+            return record;
+        }
+
+        record.setKey(key);
+        Data value = toData(record.getValue());
+        int hash = key.hashCode();
+        int slot = findSlot(key, hash);
+        if (slot >= 0) {
+            long address = slotValue(slot);
+            replaceValue(address, value);
+            copyRecordFields(record, address);
+            setMetadata(address, record.getMetadata());
+            return new NativeRecord(this, address);
+        }
+
+        long address = allocateRecord(key, value, hash);
+        copyRecordFields(record, address);
+        insert(address, hash);
+        setMetadata(address, record.getMetadata());
+        updateCostEstimate(getRecordCost(address));
+        return new NativeRecord(this, address);
+    }
+
+    @Override
+    public void updateRecordValue(Data key, Record record, Object value) {
+        recordFactory.setValue(record, value);
+    }
+
+    @Override
+    public Record get(Data key) {
+        int slot = findSlot(key, key.hashCode());
+        return slot < 0 ? null : new NativeRecord(this, slotValue(slot));
+    }
+
+    @Override
+    public Record getIfSameKey(Data key) {
+        return get(key);
+    }
+
+    @Override
+    public void removeRecord(Record record) {
+        if (record == null) {
+            return;
+        }
+
+        int slot = findSlot(record.getKey(), record.getKey().hashCode());
+        if (slot < 0) {
+            return;
+        }
+
+        long address = slotValue(slot);
+        removeSlot(slot);
+        updateCostEstimate(-getRecordCost(address));
+        metadataStore.remove(address);
+        long keyAddress = getLong(address, KEY_ADDRESS_OFFSET);
+        long valueAddress = getLong(address, VALUE_ADDRESS_OFFSET);
+        deferFree(keyAddress, blobSize(keyAddress));
+        deferFree(valueAddress, blobSize(valueAddress));
+        deferFree(address, RECORD_SIZE);
+    }
+
+    @Override
+    public boolean containsKey(Data key) {
+        return findSlot(key, key.hashCode()) >= 0;
+    }
+
+    @Override
+    public Collection<Record> values() {
+        if (size == 0) {
+            return Collections.emptyList();
+        }
+        List<Record> values = new ArrayList<>(size);
+        for (int slot = 0; slot < capacity; slot++) {
+            long address = slotValue(slot);
+            if (address != NULL_ADDRESS) {
+                values.add(new NativeRecord(this, address));
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public Iterator<Record> mutationTolerantIterator() {
+        return new RecordIterator();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear(boolean isDuringShutdown) {
+        for (int slot = 0; slot < capacity; slot++) {
+            long address = slotValue(slot);
+            if (address != NULL_ADDRESS) {
+                freeRecord(address);
+            }
+        }
+        if (tableAddress != NULL_ADDRESS) {
+            malloc.free(tableAddress, (long) capacity * SLOT_LENGTH);
+        }
+        tableAddress = NULL_ADDRESS;
+        capacity = 0;
+        mask = 0;
+        expandAt = 0;
+        size = 0;
+        metadataStore.clear();
+        disposeDeferredBlocks();
+
+        entryCostEstimator.reset();
+    }
+
+    @Override
+    public void destroy(boolean isDuringShutdown) {
+        clear(isDuringShutdown);
+    }
+
+    @Override
+    public EntryCostEstimator getEntryCostEstimator() {
+        return entryCostEstimator;
+    }
+
+    @Override
+    public void setEntryCostEstimator(EntryCostEstimator entryCostEstimator) {
+        this.entryCostEstimator = entryCostEstimator;
+    }
+
+    @Override
+    public void disposeDeferredBlocks() {
+        for (int i = 0; i < deferredBlocksLength; i += 2) {
+            malloc.free(deferredBlocks[i], deferredBlocks[i + 1]);
+        }
+        deferredBlocksLength = 0;
+    }
+
+    @Override
+    public Iterable<EntryView> getRandomSamples(int sampleCount) {
+        if (sampleCount < 0) {
+            throw new IllegalArgumentException("Sample count cannot be a negative value.");
+        }
+        if (sampleCount == 0 || size == 0) {
+            return Collections.emptyList();
+        }
+
+        List<EntryView> samples = new ArrayList<>(Math.min(sampleCount, size));
+        int start = ThreadLocalRandom.current().nextInt(capacity);
+        for (int i = 0; i < capacity && samples.size() < sampleCount; i++) {
+            long address = slotValue((start + i) & mask);
+            if (address != NULL_ADDRESS) {
+                samples.add(new LazyEntryViewFromRecord<>(new NativeRecord(this, address), serializationService));
+            }
+        }
+        return samples;
+    }
+
+    @Override
+    public MapKeysWithCursor fetchKeys(int tableIndex, int size) {
+        List<Data> keys = new ArrayList<>(size);
+        int nextTableIndex = startTableIndex(tableIndex);
+        while (nextTableIndex >= 0 && keys.size() < size) {
+            long address = slotValue(nextTableIndex--);
+            if (address != NULL_ADDRESS) {
+                keys.add(readBlob(getLong(address, KEY_ADDRESS_OFFSET)));
+            }
+        }
+        return new MapKeysWithCursor(keys, nextTableIndex);
+    }
+
+    @Override
+    public MapEntriesWithCursor fetchEntries(int tableIndex, int size, SerializationService serializationService) {
+        List<Map.Entry<Data, Data>> entries = new ArrayList<>(size);
+        int nextTableIndex = startTableIndex(tableIndex);
+        while (nextTableIndex >= 0 && entries.size() < size) {
+            long address = slotValue(nextTableIndex--);
+            if (address != NULL_ADDRESS) {
+                Data key = readBlob(getLong(address, KEY_ADDRESS_OFFSET));
+                Data value = readBlob(getLong(address, VALUE_ADDRESS_OFFSET));
+                entries.add(new AbstractMap.SimpleEntry<>(key, value));
+            }
+        }
+        return new MapEntriesWithCursor(entries, nextTableIndex);
+    }
+
+    @Override
+    public int fetchRecords(int tableIndex, int size, List<Record> records) {
+        int nextTableIndex = startTableIndex(tableIndex);
+        int counter = 0;
+        while (nextTableIndex >= 0 && counter < size) {
+            long address = slotValue(nextTableIndex--);
+            if (address != NULL_ADDRESS) {
+                records.add(new NativeRecord(this, address));
+                counter++;
+            }
+        }
+        return nextTableIndex;
+    }
+
+    @Override
+    public Record extractRecordFromLazy(EntryView entryView) {
+        return ((LazyEntryViewFromRecord) entryView).getRecord();
+    }
+
+    boolean isStatisticsEnabled() {
+        return statisticsEnabled;
+    }
+
+    long getLong(long recordAddress, int offset) {
+        return mem.getLong(recordAddress + offset);
+    }
+
+    void putLong(long recordAddress, int offset, long value) {
+        mem.putLong(recordAddress + offset, value);
+    }
+
+    long getRecordCost(long recordAddress) {
+        return RECORD_SIZE + SLOT_LENGTH
+                + blobSize(getLong(recordAddress, KEY_ADDRESS_OFFSET))
+                + blobSize(getLong(recordAddress, VALUE_ADDRESS_OFFSET));
+    }
+
+    Metadata getMetadata(long recordAddress) {
+        return metadataStore.get(recordAddress);
+    }
+
+    void setMetadata(long recordAddress, Metadata metadata) {
+        if (metadata == null) {
+            metadataStore.remove(recordAddress);
+        } else {
+            metadataStore.put(recordAddress, metadata);
+        }
+    }
+
+    /**
+     * Replaces the value blob of the given record. The previous blob is freed
+     * when the deferred blocks are disposed.
+     */
+    void replaceValue(long recordAddress, Data value) {
+        long oldValueAddress = getLong(recordAddress, VALUE_ADDRESS_OFFSET);
+        long newValueAddress = writeBlob(toData(value));
+        putLong(recordAddress, VALUE_ADDRESS_OFFSET, newValueAddress);
+        updateCostEstimate(blobSize(newValueAddress));
+        if (oldValueAddress != NULL_ADDRESS) {
+            long oldValueSize = blobSize(oldValueAddress);
+            updateCostEstimate(-oldValueSize);
+            deferFree(oldValueAddress, oldValueSize);
+        }
+    }
+
+    Data readBlob(long blobAddress) {
+        int length = mem.getInt(blobAddress);
+        byte[] bytes = new byte[length];
+        if (length > 0) {
+            mem.copyToByteArray(blobAddress + BLOB_HEADER_SIZE, bytes, 0, length);
+        }
+        return new HeapData(bytes);
+    }
+
+    private long writeBlob(Data data) {
+        int length = data.totalSize();
+        long address = malloc.allocate(BLOB_HEADER_SIZE + length);
+        mem.putInt(address, length);
+        if (length > 0) {
+            mem.copyFromByteArray(data.toByteArray(), 0, address + BLOB_HEADER_SIZE, length);
+        }
+        return address;
+    }
+
+    private long blobSize(long blobAddress) {
+        return BLOB_HEADER_SIZE + mem.getInt(blobAddress);
+    }
+
+    private boolean blobEquals(long blobAddress, Data data) {
+        int length = mem.getInt(blobAddress);
+        if (length != data.totalSize()) {
+            return false;
+        }
+        byte[] bytes = data.toByteArray();
+        long base = blobAddress + BLOB_HEADER_SIZE;
+        // compare from the end: the beginning of the blob holds the
+        // partition hash and the type id, which rarely differ
+        for (int i = length - 1; i >= 0; i--) {
+            if (mem.getByte(base + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Data toData(Object value) {
+        return value instanceof Data ? (Data) value : serializationService.toData(value);
+    }
+
+    private long allocateRecord(Data key, Data value, int hash) {
+        long address = malloc.allocate(RECORD_SIZE);
+        try {
+            putLong(address, KEY_ADDRESS_OFFSET, writeBlob(key));
+            putLong(address, VALUE_ADDRESS_OFFSET, writeBlob(value));
+        } catch (NativeOutOfMemoryError e) {
+            freeRecord(address);
+            throw e;
+        }
+        mem.putInt(address + KEY_HASH_OFFSET, hash);
+        return address;
+    }
+
+    private void freeRecord(long address) {
+        long keyAddress = getLong(address, KEY_ADDRESS_OFFSET);
+        if (keyAddress != NULL_ADDRESS) {
+            malloc.free(keyAddress, blobSize(keyAddress));
+        }
+        long valueAddress = getLong(address, VALUE_ADDRESS_OFFSET);
+        if (valueAddress != NULL_ADDRESS) {
+            malloc.free(valueAddress, blobSize(valueAddress));
+        }
+        malloc.free(address, RECORD_SIZE);
+    }
+
+    private void copyRecordFields(Record from, long address) {
+        putLong(address, VERSION_OFFSET, from.getVersion());
+        putLong(address, TTL_OFFSET, from.getTtl());
+        putLong(address, MAX_IDLE_OFFSET, from.getMaxIdle());
+        putLong(address, CREATION_TIME_OFFSET, from.getCreationTime());
+        putLong(address, LAST_ACCESS_TIME_OFFSET, from.getLastAccessTime());
+        putLong(address, LAST_UPDATE_TIME_OFFSET, from.getLastUpdateTime());
+        putLong(address, HITS_OFFSET, from.getHits());
+        putLong(address, LAST_STORED_TIME_OFFSET, from.getLastStoredTime());
+        putLong(address, EXPIRATION_TIME_OFFSET, from.getExpirationTime());
+    }
+
+    private void deferFree(long address, long size) {
+        if (deferredBlocksLength == deferredBlocks.length) {
+            long[] newDeferredBlocks = new long[deferredBlocks.length << 1];
+            System.arraycopy(deferredBlocks, 0, newDeferredBlocks, 0, deferredBlocksLength);
+            deferredBlocks = newDeferredBlocks;
+        }
+        deferredBlocks[deferredBlocksLength++] = address;
+        deferredBlocks[deferredBlocksLength++] = size;
+    }
+
+    private void updateCostEstimate(long entrySize) {
+        entryCostEstimator.adjustEstimateBy(entrySize);
+    }
+
+    // hash table internals
+
+    private long slotValue(int slot) {
+        return mem.getLong(tableAddress + (long) slot * SLOT_LENGTH);
+    }
+
+    private void setSlotValue(int slot, long recordAddress) {
+        mem.putLong(tableAddress + (long) slot * SLOT_LENGTH, recordAddress);
+    }
+
+    private int keyHash(long recordAddress) {
+        return mem.getInt(recordAddress + KEY_HASH_OFFSET);
+    }
+
+    private int idealSlot(int hash) {
+        return fastIntMix(hash) & mask;
+    }
+
+    private int findSlot(Data key, int hash) {
+        if (tableAddress == NULL_ADDRESS) {
+            return -1;
+        }
+        for (int slot = idealSlot(hash); ; slot = (slot + 1) & mask) {
+            long address = slotValue(slot);
+            if (address == NULL_ADDRESS) {
+                return -1;
+            }
+            if (keyHash(address) == hash && blobEquals(getLong(address, KEY_ADDRESS_OFFSET), key)) {
+                return slot;
+            }
+        }
+    }
+
+    private void insert(long recordAddress, int hash) {
+        if (tableAddress == NULL_ADDRESS) {
+            allocateTable(DEFAULT_CAPACITY);
+        } else if (size >= expandAt) {
+            resize(nextCapacity(capacity));
+        }
+        int slot = idealSlot(hash);
+        while (slotValue(slot) != NULL_ADDRESS) {
+            slot = (slot + 1) & mask;
+        }
+        setSlotValue(slot, recordAddress);
+        size++;
+    }
+
+    private void allocateTable(int newCapacity) {
+        tableAddress = malloc.allocate((long) newCapacity * SLOT_LENGTH);
+        capacity = newCapacity;
+        mask = newCapacity - 1;
+        expandAt = (int) (newCapacity * DEFAULT_LOAD_FACTOR);
+    }
+
+    private void resize(int newCapacity) {
+        long oldTableAddress = tableAddress;
+        int oldCapacity = capacity;
+        allocateTable(newCapacity);
+        for (int oldSlot = 0; oldSlot < oldCapacity; oldSlot++) {
+            long address = mem.getLong(oldTableAddress + (long) oldSlot * SLOT_LENGTH);
+            if (address == NULL_ADDRESS) {
+                continue;
+            }
+            int slot = idealSlot(keyHash(address));
+            while (slotValue(slot) != NULL_ADDRESS) {
+                slot = (slot + 1) & mask;
+            }
+            setSlotValue(slot, address);
+        }
+        malloc.free(oldTableAddress, (long) oldCapacity * SLOT_LENGTH);
+    }
+
+    /**
+     * Removes the mapping in the given slot with backward-shift deletion:
+     * subsequent entries of the same probe sequence are moved back so that
+     * lookups never stop early at the created hole.
+     */
+    private void removeSlot(int slot) {
+        int hole = slot;
+        for (int next = (hole + 1) & mask; ; next = (next + 1) & mask) {
+            long address = slotValue(next);
+            if (address == NULL_ADDRESS) {
+                break;
+            }
+            int ideal = idealSlot(keyHash(address));
+            if (((next - ideal) & mask) >= ((next - hole) & mask)) {
+                setSlotValue(hole, address);
+                hole = next;
+            }
+        }
+        setSlotValue(hole, NULL_ADDRESS);
+        size--;
+    }
+
+    /**
+     * Cursors walk the table from the highest slot index downwards, like
+     * {@link com.hazelcast.util.SampleableConcurrentHashMap} does.
+     */
+    private int startTableIndex(int tableIndex) {
+        return tableIndex >= 0 && tableIndex < capacity ? tableIndex : capacity - 1;
+    }
+
+    /**
+     * Iterates over the slots of the table allocated when the iterator is created.
+     * It re-reads the slots on every step and does not cache records between
+     * {@link #hasNext()} and {@link #next()}, so it stays valid across removals
+     * done by other operations.
+     * <p>
+     * The walk starts right after an empty slot, so no probe sequence wraps around
+     * the end of the walk. Backward-shift deletion moves entries only towards the
+     * start of their probe sequence, so when the last returned record is removed,
+     * the entry shifted into its slot has not been returned yet and the slot is
+     * visited again.
+     * <p>
+     * A resize or a clear moves the records to a new table, and the slot positions
+     * of the walk become meaningless. The iteration ends in that case instead of
+     * skipping or repeating records, as allowed by
+     * {@link Storage#mutationTolerantIterator()}. Callers that need to visit the
+     * remaining records start a new iterator.
+     */
+    private final class RecordIterator implements Iterator<Record> {
+
+        private final long table;
+        private final int start;
+        private int offset;
+        private int lastSlot = -1;
+        private long lastAddress;
+
+        RecordIterator() {
+            int emptySlot = 0;
+            while (emptySlot < capacity && slotValue(emptySlot) != NULL_ADDRESS) {
+                emptySlot++;
+            }
+            this.table = tableAddress;
+            this.start = emptySlot + 1;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (tableAddress != table) {
+                return false;
+            }
+            if (lastSlot != -1 && slotValue(lastSlot) != lastAddress) {
+                // the last returned record was removed, an unvisited entry may have been shifted into its slot
+                offset--;
+                lastSlot = -1;
+            }
+            while (offset < capacity && slotValue(slot()) == NULL_ADDRESS) {
+                offset++;
+            }
+            return offset < capacity;
+        }
+
+        @Override
+        public Record next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastSlot = slot();
+            lastAddress = slotValue(lastSlot);
+            offset++;
+            return new NativeRecord(NativeStorageImpl.this, lastAddress);
+        }
+
+        private int slot() {
+            return (start + offset) & mask;
+        }
+    }
+
+    /**
+     * Reports the number of native memory bytes owned by the records of this storage.
+     */
+    private static final class NativeEntryCostEstimator implements EntryCostEstimator<Data, Record> {
+
+        private long estimate;
+
+        @Override
+        public long getEstimate() {
+            return estimate;
+        }
+
+        @Override
+        public void adjustEstimateBy(long adjustment) {
+            estimate += adjustment;
+        }
+
+        @Override
+        public long calculateValueCost(Record record) {
+            return record.getCost();
+        }
+
+        @Override
+        public long calculateEntryCost(Data key, Record record) {
+            return record.getCost();
+        }
+
+        @Override
+        public void reset() {
+            estimate = 0;
+        }
+    }
+}
@@ -25,6 +25,7 @@ import com.hazelcast.internal.serialization.SerializationService;
 
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * Represents actual storage layer behind a {@link RecordStore}.
@@ -35,7 +36,18 @@ import java.util.Iterator;
  */
 public interface Storage<K, R> {
 
-    void put(K key, R record);
+    /**
+     * Puts the record into this storage.
+     * <p>
+     * Storages that copy the record into their own memory return the copy,
+     * so callers should continue working with the returned record instead of
+     * the one passed in.
+     *
+     * @param key    the key of the record
+     * @param record the record to put
+     * @return the record held by this storage after the put
+     */
+    R put(K key, R record);
 
     void updateRecordValue(K key, R record, Object value);
 
@@ -120,5 +132,17 @@ public interface Storage<K, R> {
      */
     MapEntriesWithCursor fetchEntries(int tableIndex, int size, SerializationService serializationService);
 
+    /**
+     * Fetch minimally {@code size} records from the {@code tableIndex} position, with the same
+     * resumption semantics as {@link #fetchEntries(int, int, SerializationService)}. The records are
+     * not copied, they are only valid as long as the storage is not mutated.
+     *
+     * @param tableIndex the index (position) from which to resume
+     * @param size       the minimal count of returned items
+     * @param records    the list to add the fetched records to
+     * @return the table index for records AFTER the last returned record, negative if there are no more records
+     */
+    int fetchRecords(int tableIndex, int size, List<R> records);
+
     Record extractRecordFromLazy(EntryView entryView);
 }
@@ -72,7 +72,7 @@ public class StorageImpl<R extends Record> implements Storage<Data, R> {
     }
 
     @Override
-    public void put(Data key, R record) {
+    public R put(Data key, R record) {
 
         record.setKey(key);
 
@@ -84,6 +84,8 @@ public class StorageImpl<R extends Record> implements Storage<Data, R> {
             updateCostEstimate(-entryCostEstimator.calculateValueCost(previousRecord));
             updateCostEstimate(entryCostEstimator.calculateValueCost(record));
         }
+
+        return record;
     }
 
     @Override
@@ -179,6 +181,16 @@ public class StorageImpl<R extends Record> implements Storage<Data, R> {
         return new MapEntriesWithCursor(entriesData, newTableIndex);
     }
 
+    @Override
+    public int fetchRecords(int tableIndex, int size, List<R> fetchedRecords) {
+        List<Map.Entry<Data, R>> entries = new ArrayList<>(size);
+        int newTableIndex = records.fetchEntries(tableIndex, size, entries);
+        for (Map.Entry<Data, R> entry : entries) {
+            fetchedRecords.add(entry.getValue());
+        }
+        return newTableIndex;
+    }
+
     @Override
     public Record extractRecordFromLazy(EntryView entryView) {
         return ((LazyEntryViewFromRecord) entryView).getRecord();
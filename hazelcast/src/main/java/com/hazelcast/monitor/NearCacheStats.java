@@ -64,6 +64,24 @@ public interface NearCacheStats extends LocalInstanceStats {
      */
     double getRatio();
 
+    /**
+     * Returns the fraction of Near Cache lookups which were hits, between {@code 0} and {@code 1}.
+     * <p>
+     * Unlike {@link #getRatio()} this compares the hits to all lookups, so it stays bounded
+     * and can be compared directly between eviction policies.
+     *
+     * @return the hit ratio of Near Cache lookups or {@link Double#NaN} if there were no lookups yet
+     */
+    double getHitRatio();
+
+    /**
+     * Returns the number of new Near Cache entries which were rejected by the TinyLFU admission
+     * filter, because they were less frequently used than the entry they would have replaced.
+     *
+     * @return number of rejected admissions of Near Cache entries owned by this member
+     */
+    long getAdmissionRejections();
+
     /**
      * Returns the number of evictions of Near Cache entries owned by this member.
      *
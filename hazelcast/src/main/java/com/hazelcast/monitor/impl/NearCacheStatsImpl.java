@@ -44,6 +44,8 @@ public class NearCacheStatsImpl implements NearCacheStats {
             newUpdater(NearCacheStatsImpl.class, "evictions");
     private static final AtomicLongFieldUpdater<NearCacheStatsImpl> EXPIRATIONS =
             newUpdater(NearCacheStatsImpl.class, "expirations");
+    private static final AtomicLongFieldUpdater<NearCacheStatsImpl> ADMISSION_REJECTIONS =
+            newUpdater(NearCacheStatsImpl.class, "admissionRejections");
     private static final AtomicLongFieldUpdater<NearCacheStatsImpl> INVALIDATIONS =
             newUpdater(NearCacheStatsImpl.class, "invalidations");
     private static final AtomicLongFieldUpdater<NearCacheStatsImpl> INVALIDATION_REQUESTS =
@@ -65,6 +67,8 @@ public class NearCacheStatsImpl implements NearCacheStats {
     private volatile long evictions;
     @Probe
     private volatile long expirations;
+    @Probe
+    private volatile long admissionRejections;
 
     @Probe
     private volatile long invalidations;
@@ -96,6 +100,7 @@ public class NearCacheStatsImpl implements NearCacheStats {
         misses = stats.misses;
         evictions = stats.evictions;
         expirations = stats.expirations;
+        admissionRejections = stats.admissionRejections;
         invalidations = stats.invalidations;
         invalidationRequests = stats.invalidationRequests;
 
@@ -187,6 +192,14 @@ public class NearCacheStatsImpl implements NearCacheStats {
         }
     }
 
+    @Probe
+    @Override
+    public double getHitRatio() {
+        long currentHits = hits;
+        long lookups = currentHits + misses;
+        return lookups == 0 ? Double.NaN : (double) currentHits / lookups;
+    }
+
     @Override
     public long getEvictions() {
         return evictions;
@@ -205,6 +218,15 @@ public class NearCacheStatsImpl implements NearCacheStats {
         EXPIRATIONS.incrementAndGet(this);
     }
 
+    @Override
+    public long getAdmissionRejections() {
+        return admissionRejections;
+    }
+
+    public void incrementAdmissionRejections() {
+        ADMISSION_REJECTIONS.incrementAndGet(this);
+    }
+
     @Override
     public long getInvalidations() {
         return invalidations;
@@ -292,6 +314,7 @@ public class NearCacheStatsImpl implements NearCacheStats {
         root.add("misses", misses);
         root.add("evictions", evictions);
         root.add("expirations", expirations);
+        root.add("admissionRejections", admissionRejections);
         root.add("invalidations", invalidations);
         root.add("invalidationEvents", invalidationRequests);
         root.add("persistenceCount", persistenceCount);
@@ -312,6 +335,7 @@ public class NearCacheStatsImpl implements NearCacheStats {
         misses = getLong(json, "misses", -1L);
         evictions = getLong(json, "evictions", -1L);
         expirations = getLong(json, "expirations", -1L);
+        admissionRejections = getLong(json, "admissionRejections", -1L);
         invalidations = getLong(json, "invalidations", -1L);
         invalidationRequests = getLong(json, "invalidationEvents", -1L);
         persistenceCount = getLong(json, "persistenceCount", -1L);
@@ -331,8 +355,10 @@ public class NearCacheStatsImpl implements NearCacheStats {
                 + ", hits=" + hits
                 + ", misses=" + misses
                 + ", ratio=" + format("%.1f%%", getRatio())
+                + ", hitRatio=" + format("%.3f", getHitRatio())
                 + ", evictions=" + evictions
                 + ", expirations=" + expirations
+                + ", admissionRejections=" + admissionRejections
                 + ", invalidations=" + invalidations
                 + ", lastPersistenceTime=" + lastPersistenceTime
                 + ", persistenceCount=" + persistenceCount
@@ -61,11 +61,8 @@ public class PacketIOHelper {
                 return false;
             }
 
-            dst.put(VERSION);
-            dst.putChar(packet.getFlags());
-            dst.putInt(packet.getPartitionId());
+            writeHeader(packet, dst);
             size = packet.totalSize();
-            dst.putInt(size);
             headerComplete = true;
         }
 
@@ -77,6 +74,33 @@ public class PacketIOHelper {
         }
     }
 
+    /**
+     * Writes only the header of the packet to the supplied {@code ByteBuffer}. The caller is responsible for writing
+     * the packet's payload ({@link Packet#toByteArray()}) directly after the header.
+     *
+     * This method should not be called while a packet is partially written using {@link #writeTo(Packet, ByteBuffer)}.
+     *
+     * @param dst the destination byte buffer
+     * @return {@code true} if the header got written; {@code false} if there wasn't enough space in the buffer.
+     */
+    public boolean writeHeaderTo(Packet packet, ByteBuffer dst) {
+        assert !headerComplete : "a packet is partially written";
+
+        if (dst.remaining() < HEADER_SIZE) {
+            return false;
+        }
+
+        writeHeader(packet, dst);
+        return true;
+    }
+
+    private static void writeHeader(Packet packet, ByteBuffer dst) {
+        dst.put(VERSION);
+        dst.putChar(packet.getFlags());
+        dst.putInt(packet.getPartitionId());
+        dst.putInt(packet.totalSize());
+    }
+
     private boolean writeValue(Packet packet, ByteBuffer dst) {
         if (size > 0) {
             // the number of bytes that can be written to the bb.
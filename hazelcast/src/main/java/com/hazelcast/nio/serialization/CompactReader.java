@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.serialization;
+
+import java.io.IOException;
+
+/**
+ * Provides a mean of reading compact fields from a binary in form of java primitives,
+ * arrays of java primitives, strings and nested compact objects.
+ * <p>
+ * Fields can be read in any order. Reading a field that does not exist in the
+ * schema of the binary, or reading it with a different kind than it was written with,
+ * throws {@link HazelcastSerializationException}; use {@link #hasField(String)} to
+ * stay compatible with binaries written by older versions of a class.
+ *
+ * @see CompactSerializer
+ */
+public interface CompactReader {
+
+    /**
+     * @param fieldName name of the field
+     * @return {@code true} if the schema of the binary being read contains the field
+     */
+    boolean hasField(String fieldName);
+
+    /**
+     * Reads a primitive boolean.
+     *
+     * @param fieldName name of the field
+     * @return the boolean value read
+     * @throws IOException
+     */
+    boolean readBoolean(String fieldName) throws IOException;
+
+    /**
+     * Reads a primitive byte.
+     *
+     * @param fieldName name of the field
+     * @return the byte value read
+     * @throws IOException
+     */
+    byte readByte(String fieldName) throws IOException;
+
+    /**
+     * Reads a primitive char.
+     *
+     * @param fieldName name of the field
+     * @return the char value read
+     * @throws IOException
+     */
+    char readChar(String fieldName) throws IOException;
+
+    /**
+     * Reads a primitive short.
+     *
+     * @param fieldName name of the field
+     * @return the short value read
+     * @throws IOException
+     */
+    short readShort(String fieldName) throws IOException;
+
+    /**
+     * Reads a primitive int.
+     *
+     * @param fieldName name of the field
+     * @return the int value read
+     * @throws IOException
+     */
+    int readInt(String fieldName) throws IOException;
+
+    /**
+     * Reads a primitive long.
+     *
+     * @param fieldName name of the field
+     * @return the long value read
+     * @throws IOException
+     */
+    long readLong(String fieldName) throws IOException;
+
+    /**
+     * Reads a primitive float.
+     *
+     * @param fieldName name of the field
+     * @return the float value read
+     * @throws IOException
+     */
+    float readFloat(String fieldName) throws IOException;
+
+    /**
+     * Reads a primitive double.
+     *
+     * @param fieldName name of the field
+     * @return the double value read
+     * @throws IOException
+     */
+    double readDouble(String fieldName) throws IOException;
+
+    /**
+     * Reads an UTF string.
+     *
+     * @param fieldName name of the field
+     * @return the String value read
+     * @throws IOException
+     */
+    String readUTF(String fieldName) throws IOException;
+
+    /**
+     * Reads an array of primitive bytes.
+     *
+     * @param fieldName name of the field
+     * @return the byte[] value read
+     * @throws IOException
+     */
+    byte[] readByteArray(String fieldName) throws IOException;
+
+    /**
+     * Reads an array of primitive booleans.
+     *
+     * @param fieldName name of the field
+     * @return the boolean[] value read
+     * @throws IOException
+     */
+    boolean[] readBooleanArray(String fieldName) throws IOException;
+
+    /**
+     * Reads an array of primitive chars.
+     *
+     * @param fieldName name of the field
+     * @return the char[] value read
+     * @throws IOException
+     */
+    char[] readCharArray(String fieldName) throws IOException;
+
+    /**
+     * Reads an array of primitive shorts.
+     *
+     * @param fieldName name of the field
+     * @return the short[] value read
+     * @throws IOException
+     */
+    short[] readShortArray(String fieldName) throws IOException;
+
+    /**
+     * Reads an array of primitive ints.
+     *
+     * @param fieldName name of the field
+     * @return the int[] value read
+     * @throws IOException
+     */
+    int[] readIntArray(String fieldName) throws IOException;
+
+    /**
+     * Reads an array of primitive longs.
+     *
+     * @param fieldName name of the field
+     * @return the long[] value read
+     * @throws IOException
+     */
+    long[] readLongArray(String fieldName) throws IOException;
+
+    /**
+     * Reads an array of primitive floats.
+     *
+     * @param fieldName name of the field
+     * @return the float[] value read
+     * @throws IOException
+     */
+    float[] readFloatArray(String fieldName) throws IOException;
+
+    /**
+     * Reads an array of primitive doubles.
+     *
+     * @param fieldName name of the field
+     * @return the double[] value read
+     * @throws IOException
+     */
+    double[] readDoubleArray(String fieldName) throws IOException;
+
+    /**
+     * Reads an array of UTF strings.
+     *
+     * @param fieldName name of the field
+     * @return the String[] value read
+     * @throws IOException
+     */
+    String[] readUTFArray(String fieldName) throws IOException;
+
+    /**
+     * Reads a nested compact object.
+     *
+     * @param fieldName name of the field
+     * @param <T>       type of the nested object
+     * @return the nested object, may be {@code null}
+     * @throws IOException
+     */
+    <T> T readCompact(String fieldName) throws IOException;
+}
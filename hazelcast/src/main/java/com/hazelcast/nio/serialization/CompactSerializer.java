@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.serialization;
+
+import java.io.IOException;
+
+/**
+ * Serializes and deserializes a class in the compact binary format.
+ * <p>
+ * Unlike {@link Portable}, the user class does not need to implement any
+ * Hazelcast interface: the serializer is registered for the class via
+ * {@link com.hazelcast.config.SerializationConfig#addCompactSerializer(CompactSerializer)}.
+ * The schema of the class (field names and kinds) is derived from the first
+ * {@link #write(CompactWriter, Object)} call and replicated to the cluster, so
+ * the serialized form carries only a schema id instead of field metadata.
+ * <p>
+ * Fixed-size fields are laid out at fixed offsets inside the binary, which lets
+ * queries and indexes read a single field without deserializing the object.
+ * <p>
+ * Every call to {@link #write(CompactWriter, Object)} must write the same set of
+ * fields with the same kinds, regardless of the field values. Field order does
+ * not matter.
+ *
+ * @param <T> type of the serialized class
+ */
+public interface CompactSerializer<T> {
+
+    /**
+     * Returns the type name of the serialized class. The type name identifies
+     * the schema across the cluster and across languages, so it should stay
+     * stable when the class is renamed or moved.
+     *
+     * @return the type name
+     */
+    String getTypeName();
+
+    /**
+     * Returns the class handled by this serializer.
+     *
+     * @return the compact class
+     */
+    Class<T> getCompactClass();
+
+    /**
+     * Writes the fields of the given object.
+     *
+     * @param writer writer to write the fields to
+     * @param object object to serialize
+     * @throws IOException in case of any exceptional case
+     */
+    void write(CompactWriter writer, T object) throws IOException;
+
+    /**
+     * Reads an object from the given reader.
+     *
+     * @param reader reader to read the fields from
+     * @return the deserialized object
+     * @throws IOException in case of any exceptional case
+     */
+    T read(CompactReader reader) throws IOException;
+}
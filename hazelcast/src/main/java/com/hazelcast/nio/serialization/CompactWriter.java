@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.serialization;
+
+import java.io.IOException;
+
+/**
+ * Provides a mean of writing compact fields to a binary in form of java primitives,
+ * arrays of java primitives, strings and nested compact objects.
+ * <p>
+ * Fixed-size fields are written to the offset assigned to them by the schema,
+ * the others are appended to the variable-size section of the binary.
+ *
+ * @see CompactSerializer
+ */
+public interface CompactWriter {
+
+    /**
+     * Writes a primitive boolean.
+     *
+     * @param fieldName name of the field
+     * @param value     boolean value to be written
+     * @throws IOException
+     */
+    void writeBoolean(String fieldName, boolean value) throws IOException;
+
+    /**
+     * Writes a primitive byte.
+     *
+     * @param fieldName name of the field
+     * @param value     byte value to be written
+     * @throws IOException
+     */
+    void writeByte(String fieldName, byte value) throws IOException;
+
+    /**
+     * Writes a primitive char.
+     *
+     * @param fieldName name of the field
+     * @param value     char value to be written
+     * @throws IOException
+     */
+    void writeChar(String fieldName, char value) throws IOException;
+
+    /**
+     * Writes a primitive short.
+     *
+     * @param fieldName name of the field
+     * @param value     short value to be written
+     * @throws IOException
+     */
+    void writeShort(String fieldName, short value) throws IOException;
+
+    /**
+     * Writes a primitive int.
+     *
+     * @param fieldName name of the field
+     * @param value     int value to be written
+     * @throws IOException
+     */
+    void writeInt(String fieldName, int value) throws IOException;
+
+    /**
+     * Writes a primitive long.
+     *
+     * @param fieldName name of the field
+     * @param value     long value to be written
+     * @throws IOException
+     */
+    void writeLong(String fieldName, long value) throws IOException;
+
+    /**
+     * Writes a primitive float.
+     *
+     * @param fieldName name of the field
+     * @param value     float value to be written
+     * @throws IOException
+     */
+    void writeFloat(String fieldName, float value) throws IOException;
+
+    /**
+     * Writes a primitive double.
+     *
+     * @param fieldName name of the field
+     * @param value     double value to be written
+     * @throws IOException
+     */
+    void writeDouble(String fieldName, double value) throws IOException;
+
+    /**
+     * Writes an UTF string.
+     *
+     * @param fieldName name of the field
+     * @param value     String value to be written
+     * @throws IOException
+     */
+    void writeUTF(String fieldName, String value) throws IOException;
+
+    /**
+     * Writes an array of primitive bytes.
+     *
+     * @param fieldName name of the field
+     * @param value     byte[] value to be written
+     * @throws IOException
+     */
+    void writeByteArray(String fieldName, byte[] value) throws IOException;
+
+    /**
+     * Writes an array of primitive booleans.
+     *
+     * @param fieldName name of the field
+     * @param value     boolean[] value to be written
+     * @throws IOException
+     */
+    void writeBooleanArray(String fieldName, boolean[] value) throws IOException;
+
+    /**
+     * Writes an array of primitive chars.
+     *
+     * @param fieldName name of the field
+     * @param value     char[] value to be written
+     * @throws IOException
+     */
+    void writeCharArray(String fieldName, char[] value) throws IOException;
+
+    /**
+     * Writes an array of primitive shorts.
+     *
+     * @param fieldName name of the field
+     * @param value     short[] value to be written
+     * @throws IOException
+     */
+    void writeShortArray(String fieldName, short[] value) throws IOException;
+
+    /**
+     * Writes an array of primitive ints.
+     *
+     * @param fieldName name of the field
+     * @param value     int[] value to be written
+     * @throws IOException
+     */
+    void writeIntArray(String fieldName, int[] value) throws IOException;
+
+    /**
+     * Writes an array of primitive longs.
+     *
+     * @param fieldName name of the field
+     * @param value     long[] value to be written
+     * @throws IOException
+     */
+    void writeLongArray(String fieldName, long[] value) throws IOException;
+
+    /**
+     * Writes an array of primitive floats.
+     *
+     * @param fieldName name of the field
+     * @param value     float[] value to be written
+     * @throws IOException
+     */
+    void writeFloatArray(String fieldName, float[] value) throws IOException;
+
+    /**
+     * Writes an array of primitive doubles.
+     *
+     * @param fieldName name of the field
+     * @param value     double[] value to be written
+     * @throws IOException
+     */
+    void writeDoubleArray(String fieldName, double[] value) throws IOException;
+
+    /**
+     * Writes an array of UTF strings.
+     *
+     * @param fieldName name of the field
+     * @param value     String[] value to be written
+     * @throws IOException
+     */
+    void writeUTFArray(String fieldName, String[] value) throws IOException;
+
+    /**
+     * Writes a nested compact object. The class of the object must have a
+     * registered {@link CompactSerializer}.
+     *
+     * @param fieldName name of the field
+     * @param value     compact object to be written, may be {@code null}
+     * @throws IOException
+     */
+    void writeCompact(String fieldName, Object value) throws IOException;
+}
@@ -122,4 +122,17 @@ public interface Data {
      */
     boolean isJson();
 
+    /**
+     * Returns true if this Data is created from an object serialized with a
+     * {@link com.hazelcast.nio.serialization.CompactSerializer}, false otherwise.
+     *
+     * The default implementation returns {@code false}, so implementations
+     * which predate the compact format don't need to implement it.
+     *
+     * @return true if source object is serialized in the compact format, false otherwise.
+     */
+    default boolean isCompact() {
+        return false;
+    }
+
 }
@@ -27,6 +27,8 @@ import java.util.function.Supplier;
 import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
 import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
 import static com.hazelcast.nio.IOUtil.compactOrClear;
+import static com.hazelcast.util.Preconditions.checkNotNegative;
+import static java.lang.Math.min;
 
 /**
  * A {@link OutboundHandler} that for member to member communication.
@@ -37,23 +39,58 @@ import static com.hazelcast.nio.IOUtil.compactOrClear;
  * multiple connections. The flyweight contains the actual 'position' state of
  * what has been written.
  *
+ * If a gathering write threshold is configured and this encoder is the last
+ * handler in the pipeline, the payload of a packet of at least that size isn't
+ * copied into the dst buffer. Only the header is written to the dst and the
+ * payload byte-array is wrapped and handed to the pipeline using
+ * {@link #pendingPayload()}. To keep the JDK from allocating a temporary direct
+ * buffer for the full payload, the wrapped payload is exposed in chunks of at
+ * most the size of the dst buffer.
+ *
  * @see PacketDecoder
  */
 public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer> {
 
     private final PacketIOHelper packetWriter = new PacketIOHelper();
+    private final int gatheringWriteThreshold;
 
     private Packet packet;
+    private ByteBuffer payload;
+
+    public PacketEncoder() {
+        this(0);
+    }
+
+    /**
+     * Creates a PacketEncoder.
+     *
+     * @param gatheringWriteThreshold the minimum payload size in bytes for a packet to be written using a
+     *                                gathering write. 0 disables gathering writes.
+     */
+    public PacketEncoder(int gatheringWriteThreshold) {
+        this.gatheringWriteThreshold = checkNotNegative(gatheringWriteThreshold,
+                "gatheringWriteThreshold can't be smaller than 0");
+    }
 
     @Override
     public void handlerAdded() {
         initDstBuffer();
     }
 
+    @Override
+    public ByteBuffer pendingPayload() {
+        return payload;
+    }
+
     @Override
     public HandlerStatus onWrite() {
         compactOrClear(dst);
         try {
+            if (hasPendingPayload()) {
+                // nothing can be written to the dst before the payload has been written completely
+                return DIRTY;
+            }
+
             for (; ; ) {
                 if (packet == null) {
                     packet = src.get();
@@ -64,6 +101,19 @@ public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer>
                     }
                 }
 
+                if (isGatheringWriteCandidate(packet)) {
+                    if (!packetWriter.writeHeaderTo(packet, dst)) {
+                        // there is no space for the header, so we are done.
+                        return DIRTY;
+                    }
+
+                    payload = ByteBuffer.wrap(packet.toByteArray());
+                    payload.limit(min(payload.capacity(), dst.capacity()));
+                    packet = null;
+                    // the payload needs to be written before anything else can be written to the dst.
+                    return DIRTY;
+                }
+
                 if (packetWriter.writeTo(packet, dst)) {
                     // packet got written, lets see if another packet can be written
                     packet = null;
@@ -76,4 +126,29 @@ public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer>
             dst.flip();
         }
     }
+
+    private boolean isGatheringWriteCandidate(Packet packet) {
+        return gatheringWriteThreshold > 0
+                && isGatheringWriteAllowed()
+                && packet.totalSize() >= gatheringWriteThreshold;
+    }
+
+    /**
+     * Checks if there is a payload that still needs to be written. If so, the
+     * limit of the payload is moved up to expose the next chunk.
+     */
+    private boolean hasPendingPayload() {
+        if (payload == null) {
+            return false;
+        }
+
+        int position = payload.position();
+        if (position == payload.capacity()) {
+            payload = null;
+            return false;
+        }
+
+        payload.limit(min(payload.capacity(), position + dst.capacity()));
+        return true;
+    }
 }
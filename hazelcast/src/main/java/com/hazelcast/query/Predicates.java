@@ -19,6 +19,7 @@ package com.hazelcast.query;
 import com.hazelcast.query.impl.predicates.FalsePredicate;
 import com.hazelcast.query.impl.PredicateBuilderImpl;
 import com.hazelcast.query.impl.predicates.AndPredicate;
+import com.hazelcast.query.impl.predicates.AttributeComparator;
 import com.hazelcast.query.impl.predicates.BetweenPredicate;
 import com.hazelcast.query.impl.predicates.EqualPredicate;
 import com.hazelcast.query.impl.predicates.GreaterLessPredicate;
@@ -512,6 +513,21 @@ public final class Predicates {
         return new PagingPredicateImpl<>(predicate, comparator, pageSize);
     }
 
+    /**
+     * Creates a comparator ordering entries by the value of the given attribute, entries having {@code null} values go
+     * first in the ascending order and last in the descending order.
+     * <p>
+     * When used with a paging predicate on a map having a sorted index on the attribute, every member reads only the
+     * entries of the requested page directly from the index instead of fetching and sorting all the matching entries.
+     *
+     * @param attribute  the attribute to order the entries by
+     * @param descending {@code true} to order the entries in the descending order of the attribute values
+     * @throws IllegalArgumentException if attribute is {@code null} or empty
+     */
+    public static <K, V> Comparator<Map.Entry<K, V>> attributeComparator(String attribute, boolean descending) {
+        return new AttributeComparator<>(attribute, descending);
+    }
+
     /**
      * Creates a new partition predicate that restricts the execution of the target predicate to a single partition.
      *
@@ -16,6 +16,7 @@
 
 package com.hazelcast.query.impl;
 
+import com.hazelcast.config.IndexType;
 import com.hazelcast.core.TypeConverter;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.map.impl.StoreAdapter;
@@ -29,11 +30,13 @@ import com.hazelcast.query.impl.getters.MultiResult;
 import com.hazelcast.query.impl.predicates.PredicateDataSerializerHook;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
+import java.util.Iterator;
 import java.util.Set;
 
 import static com.hazelcast.query.impl.CompositeValue.NEGATIVE_INFINITY;
 import static com.hazelcast.query.impl.TypeConverters.NULL_CONVERTER;
 import static com.hazelcast.util.SetUtil.createHashSet;
+import static java.util.Collections.emptyIterator;
 import static java.util.Collections.emptySet;
 
 /**
@@ -52,11 +55,13 @@ public abstract class AbstractIndex implements InternalIndex {
     protected final Extractors extractors;
     protected final IndexStore indexStore;
     protected final IndexCopyBehavior copyBehavior;
+    protected final EntryIdRegistry entryIds;
 
     private final String name;
     private final String[] components;
-    private final boolean ordered;
+    private final IndexType type;
     private final PerIndexStats stats;
+    private final IndexStatistics statistics = new IndexStatistics();
 
     /**
      * Reference to the store if it is bound to the same partition as the index (local index), {@code null} otherwise.
@@ -69,19 +74,37 @@ public abstract class AbstractIndex implements InternalIndex {
     public AbstractIndex(String name, String[] components, boolean ordered, InternalSerializationService ss,
                          Extractors extractors, IndexCopyBehavior copyBehavior, PerIndexStats stats,
                          StoreAdapter partitionStoreAdapter) {
+        this(name, components, ordered ? IndexType.SORTED : IndexType.HASH, null, ss, extractors, copyBehavior, stats,
+                partitionStoreAdapter);
+    }
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public AbstractIndex(String name, String[] components, IndexType type, EntryIdRegistry entryIds,
+                         InternalSerializationService ss, Extractors extractors, IndexCopyBehavior copyBehavior,
+                         PerIndexStats stats, StoreAdapter partitionStoreAdapter) {
         this.name = name;
         this.components = components;
-        this.ordered = ordered;
+        this.type = type;
         this.ss = ss;
         this.extractors = extractors;
         this.copyBehavior = copyBehavior;
+        this.entryIds = entryIds;
         this.partitionStoreAdapter = partitionStoreAdapter;
-        this.indexStore = createIndexStore(ordered, stats);
+        this.indexStore = createIndexStore(type, stats);
         this.stats = stats;
     }
 
     protected abstract IndexStore createIndexStore(boolean ordered, PerIndexStats stats);
 
+    /**
+     * Creates an index store for the given index type. Index implementations
+     * not supporting {@link IndexType#BITMAP} indexes fall back to unordered
+     * index stores for them.
+     */
+    protected IndexStore createIndexStore(IndexType type, PerIndexStats stats) {
+        return createIndexStore(type == IndexType.SORTED, stats);
+    }
+
     @Override
     public String getName() {
         return name;
@@ -95,7 +118,12 @@ public abstract class AbstractIndex implements InternalIndex {
 
     @Override
     public boolean isOrdered() {
-        return ordered;
+        return type == IndexType.SORTED;
+    }
+
+    @Override
+    public IndexType getType() {
+        return type;
     }
 
     @Override
@@ -126,10 +154,12 @@ public abstract class AbstractIndex implements InternalIndex {
         Object newAttributeValue = extractAttributeValue(entry.getKeyData(), entry.getTargetObject(false));
         if (oldValue == null) {
             indexStore.insert(newAttributeValue, entry, operationStats);
+            statistics.onInsert(newAttributeValue);
             stats.onInsert(timestamp, operationStats, operationSource);
         } else {
             Object oldAttributeValue = extractAttributeValue(entry.getKeyData(), oldValue);
             indexStore.update(oldAttributeValue, newAttributeValue, entry, operationStats);
+            statistics.onUpdate(newAttributeValue);
             stats.onUpdate(timestamp, operationStats, operationSource);
         }
     }
@@ -141,6 +171,7 @@ public abstract class AbstractIndex implements InternalIndex {
 
         Object attributeValue = extractAttributeValue(key, value);
         indexStore.remove(attributeValue, key, operationStats);
+        statistics.onRemove();
         stats.onRemove(timestamp, operationStats, operationSource);
     }
 
@@ -209,9 +240,23 @@ public abstract class AbstractIndex implements InternalIndex {
         return result;
     }
 
+    @Override
+    public Iterator<Set<QueryableEntry>> getSortedRecords(Comparable from, boolean descending) {
+        if (components != null || !(indexStore instanceof OrderedIndexStore)) {
+            return null;
+        }
+        if (converter == null) {
+            return emptyIterator();
+        }
+
+        Comparable convertedFrom = from == null ? null : convert(from);
+        return ((OrderedIndexStore) indexStore).getSortedRecords(convertedFrom, descending);
+    }
+
     @Override
     public void clear() {
         indexStore.clear();
+        statistics.clear();
         converter = null;
         stats.onClear();
     }
@@ -226,6 +271,11 @@ public abstract class AbstractIndex implements InternalIndex {
         return indexStore.canonicalizeQueryArgumentScalar(value);
     }
 
+    @Override
+    public IndexStatistics getStatistics() {
+        return statistics;
+    }
+
     @Override
     public PerIndexStats getPerIndexStats() {
         return stats;
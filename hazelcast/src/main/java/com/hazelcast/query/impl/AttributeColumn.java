@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import java.util.Arrays;
+
+import static com.hazelcast.query.impl.Numbers.isDoubleRepresentable;
+import static com.hazelcast.query.impl.Numbers.isLongRepresentable;
+
+/**
+ * A column of attribute values extracted from a batch of entries during a
+ * partition scan, along with a bitmap of the positions matched so far.
+ * <p>
+ * If all the values in the batch are non-null numbers of the same class,
+ * they are additionally exposed as primitive longs or doubles, so the
+ * predicates may evaluate the whole batch in a tight loop without going
+ * through the per-entry conversion and comparison logic.
+ */
+public final class AttributeColumn {
+
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+
+    private final Object[] values;
+    private final long[] longs;
+    private final double[] doubles;
+    private final long[] matches;
+
+    private int size;
+    private Class valueClass;
+
+    public AttributeColumn(int capacity) {
+        this.values = new Object[capacity];
+        this.longs = new long[capacity];
+        this.doubles = new double[capacity];
+        this.matches = new long[(capacity + Long.SIZE - 1) >>> ADDRESS_BITS_PER_WORD];
+    }
+
+    /**
+     * Extracts the values of the given attribute from the first {@code count}
+     * entries and clears the matches left from the previous batch.
+     *
+     * @param entries       the entries to extract the values from.
+     * @param count         the number of entries in the batch.
+     * @param attributeName the name of the attribute to extract.
+     */
+    public void fill(Extractable[] entries, int count, String attributeName) {
+        assert count <= values.length;
+
+        Class commonClass = null;
+        boolean homogeneous = true;
+        for (int i = 0; i < count; i++) {
+            Object value = entries[i].getAttributeValue(attributeName);
+            values[i] = value;
+            if (!homogeneous) {
+                continue;
+            }
+            if (value == null) {
+                homogeneous = false;
+            } else if (commonClass == null) {
+                commonClass = value.getClass();
+            } else if (commonClass != value.getClass()) {
+                homogeneous = false;
+            }
+        }
+        if (count < size) {
+            Arrays.fill(values, count, size, null);
+        }
+
+        size = count;
+        valueClass = homogeneous ? commonClass : null;
+        if (isLongColumn()) {
+            for (int i = 0; i < count; i++) {
+                longs[i] = ((Number) values[i]).longValue();
+            }
+        } else if (isDoubleColumn()) {
+            for (int i = 0; i < count; i++) {
+                doubles[i] = ((Number) values[i]).doubleValue();
+            }
+        }
+        Arrays.fill(matches, 0L);
+    }
+
+    /**
+     * @return the number of values in this column.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the class shared by all the values of this column or {@code null}
+     * if the column contains {@code null}s or values of different classes.
+     */
+    public Class getValueClass() {
+        return valueClass;
+    }
+
+    /**
+     * @return {@code true} if all the values are available via {@link #getLong}.
+     */
+    public boolean isLongColumn() {
+        return valueClass != null && isLongRepresentable(valueClass);
+    }
+
+    /**
+     * @return {@code true} if all the values are available via {@link #getDouble}.
+     */
+    public boolean isDoubleColumn() {
+        return valueClass != null && isDoubleRepresentable(valueClass);
+    }
+
+    /**
+     * @return the value extracted for the entry at the given position, as
+     * returned by {@link Extractable#getAttributeValue}.
+     */
+    public Object getValue(int index) {
+        return values[index];
+    }
+
+    public long getLong(int index) {
+        return longs[index];
+    }
+
+    public double getDouble(int index) {
+        return doubles[index];
+    }
+
+    /**
+     * Marks the entry at the given position as matching.
+     */
+    public void setMatch(int index) {
+        matches[index >>> ADDRESS_BITS_PER_WORD] |= 1L << index;
+    }
+
+    public boolean isMatch(int index) {
+        return (matches[index >>> ADDRESS_BITS_PER_WORD] & (1L << index)) != 0;
+    }
+
+    /**
+     * Returns the position of the first matching entry at or after the given
+     * position.
+     *
+     * @param fromIndex the position to start the search from.
+     * @return the position of the next match or {@code -1} if there is none.
+     */
+    public int nextMatch(int fromIndex) {
+        if (fromIndex >= size) {
+            return -1;
+        }
+        int wordIndex = fromIndex >>> ADDRESS_BITS_PER_WORD;
+        long word = matches[wordIndex] & (-1L << fromIndex);
+        while (true) {
+            if (word != 0) {
+                int index = (wordIndex << ADDRESS_BITS_PER_WORD) + Long.numberOfTrailingZeros(word);
+                return index < size ? index : -1;
+            }
+            if (++wordIndex == matches.length) {
+                return -1;
+            }
+            word = matches[wordIndex];
+        }
+    }
+}
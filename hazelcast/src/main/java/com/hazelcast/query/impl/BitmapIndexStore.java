@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.util.Clock;
+import com.hazelcast.util.collection.Long2ObjectHashMap;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+
+/**
+ * Store indexes as compressed bitmaps of entry ids.
+ * <p>
+ * Every distinct attribute value is mapped to a bitmap of ids of the entries
+ * having that value, the ids are assigned by an {@link EntryIdRegistry}
+ * shared by all bitmap indexes of the same {@link Indexes}. Queries return
+ * {@link BitmapResultSet}s which can be combined with other bitmap results
+ * using bitwise operations before any entry is resolved.
+ * <p>
+ * Suitable for attributes with a small number of distinct values: range
+ * queries have to visit every distinct value, and composite values are not
+ * supported.
+ */
+public class BitmapIndexStore extends BaseIndexStore {
+
+    private final EntryIdRegistry entryIds;
+
+    private final Map<Comparable, SparseBitmap> bitmaps = new HashMap<>();
+    private final Map<Data, IndexedEntry> entriesByKey = new HashMap<>();
+    private final Long2ObjectHashMap<IndexedEntry> entriesById = new Long2ObjectHashMap<>();
+    private final SparseBitmap allIds = new SparseBitmap();
+
+    public BitmapIndexStore(EntryIdRegistry entryIds) {
+        // results never expose the internal maps, copying is not needed
+        super(IndexCopyBehavior.NEVER);
+        this.entryIds = entryIds == null ? new EntryIdRegistry() : entryIds;
+    }
+
+    @Override
+    Object insertInternal(Comparable value, QueryableEntry record) {
+        markIndexStoreExpirableIfNecessary(record);
+
+        Data key = record.getKeyData();
+        IndexedEntry entry = entriesByKey.get(key);
+        if (entry == null) {
+            entry = new IndexedEntry(entryIds.retain(key), record);
+            entriesByKey.put(key, entry);
+            entriesById.put(entry.id, entry);
+            allIds.add(entry.id);
+        }
+        QueryableEntry oldRecord = entry.record;
+        entry.record = record;
+
+        SparseBitmap bitmap = bitmaps.get(value);
+        if (bitmap == null) {
+            bitmap = new SparseBitmap();
+            bitmaps.put(value, bitmap);
+        }
+        if (bitmap.add(entry.id)) {
+            entry.valueCount++;
+            return null;
+        }
+        return oldRecord;
+    }
+
+    @Override
+    Object removeInternal(Comparable value, Data recordKey) {
+        IndexedEntry entry = entriesByKey.get(recordKey);
+        if (entry == null) {
+            return null;
+        }
+
+        SparseBitmap bitmap = bitmaps.get(value);
+        if (bitmap == null || !bitmap.remove(entry.id)) {
+            return null;
+        }
+        if (bitmap.isEmpty()) {
+            bitmaps.remove(value);
+        }
+
+        if (--entry.valueCount == 0) {
+            entriesByKey.remove(recordKey);
+            entriesById.remove(entry.id);
+            allIds.remove(entry.id);
+            entryIds.release(recordKey);
+        }
+        return entry.record;
+    }
+
+    @Override
+    public Comparable canonicalizeQueryArgumentScalar(Comparable value) {
+        return canonicalizeScalarForStorage(value);
+    }
+
+    @Override
+    Comparable canonicalizeScalarForStorage(Comparable value) {
+        // Bitmaps are looked up by hash, mixed-type numeric values must
+        // have the same representation.
+        return Comparables.canonicalizeForHashLookup(value);
+    }
+
+    @Override
+    public void clear() {
+        takeWriteLock();
+        try {
+            for (Data key : entriesByKey.keySet()) {
+                entryIds.release(key);
+            }
+            bitmaps.clear();
+            entriesByKey.clear();
+            entriesById.clear();
+            allIds.clear();
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable value) {
+        takeReadLock();
+        try {
+            return toResultSet(bitmaps.get(canonicalize(value)));
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Set<Comparable> values) {
+        takeReadLock();
+        try {
+            SparseBitmap result = new SparseBitmap();
+            for (Comparable value : values) {
+                // value is already canonicalized by the associated index
+                SparseBitmap bitmap = bitmaps.get(value);
+                if (bitmap != null) {
+                    result = result.or(bitmap);
+                }
+            }
+            return new BitmapResultSet(this, result);
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Unlike other index stores, {@link Comparison#NOT_EQUAL} matches entries
+     * having {@code null} attribute values as {@link
+     * com.hazelcast.query.impl.predicates.NotEqualPredicate NotEqualPredicate}
+     * does, since it's the only kind of index used to evaluate it.
+     */
+    @Override
+    public Set<QueryableEntry> getRecords(Comparison comparison, Comparable value) {
+        takeReadLock();
+        try {
+            if (comparison == Comparison.NOT_EQUAL) {
+                SparseBitmap bitmap = bitmaps.get(canonicalize(value));
+                return new BitmapResultSet(this, bitmap == null ? allIds.copy() : allIds.andNot(bitmap));
+            }
+
+            SparseBitmap result = new SparseBitmap();
+            for (Map.Entry<Comparable, SparseBitmap> bitmapEntry : bitmaps.entrySet()) {
+                Comparable indexedValue = bitmapEntry.getKey();
+                if (indexedValue != NULL && matches(comparison, Comparables.compare(value, indexedValue))) {
+                    result = result.or(bitmapEntry.getValue());
+                }
+            }
+            return new BitmapResultSet(this, result);
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        takeReadLock();
+        try {
+            int fromBound = fromInclusive ? 0 : +1;
+            int toBound = toInclusive ? 0 : -1;
+            SparseBitmap result = new SparseBitmap();
+            for (Map.Entry<Comparable, SparseBitmap> bitmapEntry : bitmaps.entrySet()) {
+                Comparable value = bitmapEntry.getKey();
+                if (value != NULL && Comparables.compare(value, from) >= fromBound
+                        && Comparables.compare(value, to) <= toBound) {
+                    result = result.or(bitmapEntry.getValue());
+                }
+            }
+            return new BitmapResultSet(this, result);
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    /**
+     * @return the result set of all the entries known to this index store.
+     */
+    BitmapResultSet getAllRecords() {
+        takeReadLock();
+        try {
+            return new BitmapResultSet(this, allIds.copy());
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    EntryIdRegistry getEntryIds() {
+        return entryIds;
+    }
+
+    /**
+     * Resolves the given ids to the entries currently indexed by this store.
+     *
+     * @param ids     the ids to resolve.
+     * @param entries the list to add the resolved entries to.
+     * @return the ids not known to this store, either never indexed by it or
+     * removed since the given ids were obtained.
+     */
+    SparseBitmap resolve(SparseBitmap ids, List<QueryableEntry> entries) {
+        SparseBitmap unresolved = new SparseBitmap();
+        takeReadLock();
+        try {
+            boolean expirable = isExpirable();
+            long now = expirable ? Clock.currentTimeMillis() : 0;
+            SparseBitmap.IdIterator iterator = ids.iterator();
+            while (iterator.hasNext()) {
+                long id = iterator.next();
+                IndexedEntry entry = entriesById.get(id);
+                if (entry == null) {
+                    unresolved.add(id);
+                    continue;
+                }
+                if (expirable) {
+                    entry.record.getRecord().onAccessSafe(now);
+                }
+                entries.add(entry.record);
+            }
+        } finally {
+            releaseReadLock();
+        }
+        return unresolved;
+    }
+
+    private BitmapResultSet toResultSet(SparseBitmap bitmap) {
+        return new BitmapResultSet(this, bitmap == null ? new SparseBitmap() : bitmap.copy());
+    }
+
+    private Comparable canonicalize(Comparable value) {
+        if (value instanceof CompositeValue) {
+            throw new IllegalArgumentException("Composite values are not supported by bitmap indexes");
+        }
+        return canonicalizeScalarForStorage(value);
+    }
+
+    private static boolean matches(Comparison comparison, int result) {
+        switch (comparison) {
+            case LESS:
+                return result > 0;
+            case LESS_OR_EQUAL:
+                return result >= 0;
+            case GREATER:
+                return result < 0;
+            case GREATER_OR_EQUAL:
+                return result <= 0;
+            default:
+                throw new IllegalStateException("Unrecognized comparison: " + comparison);
+        }
+    }
+
+    /**
+     * An entry indexed by this store.
+     */
+    private static final class IndexedEntry {
+
+        final long id;
+        QueryableEntry record;
+        /**
+         * The number of distinct values of the entry, multi-value attributes
+         * may have several of them.
+         */
+        int valueCount;
+
+        IndexedEntry(long id, QueryableEntry record) {
+            this.id = id;
+            this.record = record;
+        }
+
+    }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Result set of a query executed against a {@link BitmapIndexStore}.
+ * <p>
+ * The result is kept as a bitmap of entry ids until it's iterated, so the
+ * results of several bitmap indexes sharing the same {@link EntryIdRegistry}
+ * can be intersected, united and subtracted without touching the entries.
+ * The entries are resolved once the iteration starts, the entries removed
+ * from the indexes after the result was produced are skipped; hence {@link
+ * #size()} is an upper bound of the number of entries actually iterated.
+ */
+public final class BitmapResultSet extends AbstractSet<QueryableEntry> {
+
+    private final BitmapIndexStore[] stores;
+    private final SparseBitmap ids;
+
+    private List<QueryableEntry> entries;
+
+    BitmapResultSet(BitmapIndexStore store, SparseBitmap ids) {
+        this(new BitmapIndexStore[]{store}, ids);
+    }
+
+    private BitmapResultSet(BitmapIndexStore[] stores, SparseBitmap ids) {
+        this.stores = stores;
+        this.ids = ids;
+    }
+
+    /**
+     * @return {@code true} if the given result set can be combined with this
+     * one using {@link #and}, {@link #or} and {@link #andNot}.
+     */
+    public boolean isCombinableWith(BitmapResultSet other) {
+        return stores[0].getEntryIds() == other.stores[0].getEntryIds();
+    }
+
+    /**
+     * @return the result set of the entries present in both this and the
+     * given result set.
+     */
+    public BitmapResultSet and(BitmapResultSet other) {
+        assert isCombinableWith(other);
+        // every id of the intersection is known to the stores of each side
+        BitmapIndexStore[] resultStores = stores.length <= other.stores.length ? stores : other.stores;
+        return new BitmapResultSet(resultStores, ids.and(other.ids));
+    }
+
+    /**
+     * @return the result set of the entries present in either this or the
+     * given result set.
+     */
+    public BitmapResultSet or(BitmapResultSet other) {
+        assert isCombinableWith(other);
+        return new BitmapResultSet(unionOf(stores, other.stores), ids.or(other.ids));
+    }
+
+    /**
+     * @return the result set of the entries present in this result set but
+     * absent in the given one.
+     */
+    public BitmapResultSet andNot(BitmapResultSet other) {
+        assert isCombinableWith(other);
+        return new BitmapResultSet(stores, ids.andNot(other.ids));
+    }
+
+    /**
+     * @return the result set of the entries known to the bitmap index which
+     * produced this result set but absent in this result set.
+     */
+    public BitmapResultSet complement() {
+        return stores[0].getAllRecords().andNot(this);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof QueryableEntry)) {
+            return false;
+        }
+        Data key = ((QueryableEntry) o).getKeyData();
+        long id = stores[0].getEntryIds().idOf(key);
+        return id != -1 && ids.contains(id);
+    }
+
+    @Override
+    public Iterator<QueryableEntry> iterator() {
+        return resolve().iterator();
+    }
+
+    @Override
+    public int size() {
+        return entries == null ? (int) Math.min(ids.cardinality(), Integer.MAX_VALUE) : entries.size();
+    }
+
+    private List<QueryableEntry> resolve() {
+        if (entries == null) {
+            List<QueryableEntry> resolved = new ArrayList<>(size());
+            SparseBitmap unresolved = ids;
+            for (BitmapIndexStore store : stores) {
+                unresolved = store.resolve(unresolved, resolved);
+                if (unresolved.isEmpty()) {
+                    break;
+                }
+            }
+            entries = resolved;
+        }
+        return entries;
+    }
+
+    private static BitmapIndexStore[] unionOf(BitmapIndexStore[] left, BitmapIndexStore[] right) {
+        List<BitmapIndexStore> union = new ArrayList<>(Arrays.asList(left));
+        for (BitmapIndexStore store : right) {
+            if (!union.contains(store)) {
+                union.add(store);
+            }
+        }
+        return union.toArray(new BitmapIndexStore[0]);
+    }
+
+}
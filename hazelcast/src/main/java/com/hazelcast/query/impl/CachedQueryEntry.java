@@ -95,14 +95,14 @@ public class CachedQueryEntry<K, V> extends QueryableEntry<K, V> {
         Object targetObject;
         if (key) {
             // keyData is never null
-            if (keyData.isPortable() || keyData.isJson()) {
+            if (keyData.isPortable() || keyData.isJson() || keyData.isCompact()) {
                 targetObject = keyData;
             } else {
                 targetObject = getKey();
             }
         } else {
             if (valueObject == null) {
-                if (valueData.isPortable() || valueData.isJson()) {
+                if (valueData.isPortable() || valueData.isJson() || valueData.isCompact()) {
                     targetObject = valueData;
                 } else {
                     targetObject = getValue();
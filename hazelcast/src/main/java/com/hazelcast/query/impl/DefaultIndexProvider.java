@@ -16,6 +16,7 @@
 
 package com.hazelcast.query.impl;
 
+import com.hazelcast.config.IndexType;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.map.impl.StoreAdapter;
 import com.hazelcast.monitor.impl.PerIndexStats;
@@ -33,4 +34,12 @@ public class DefaultIndexProvider implements IndexProvider {
         return new IndexImpl(name, components, ordered, ss, extractors, copyBehavior, stats);
     }
 
+    @Override
+    @SuppressWarnings("checkstyle:parameternumber")
+    public InternalIndex createIndex(String name, String[] components, IndexType type, EntryIdRegistry entryIds,
+                                     Extractors extractors, InternalSerializationService ss, IndexCopyBehavior copyBehavior,
+                                     PerIndexStats stats, StoreAdapter partitionStoreAdapter) {
+        return new IndexImpl(name, components, type, entryIds, ss, extractors, copyBehavior, stats);
+    }
+
 }
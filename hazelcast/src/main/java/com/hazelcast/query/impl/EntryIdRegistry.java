@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Assigns numeric ids to the entries indexed by bitmap indexes.
+ * <p>
+ * A single registry is shared by all bitmap indexes of an {@link Indexes}
+ * instance, so an entry gets the same id in all of them and the bitmaps
+ * produced by different indexes can be combined with bitwise operations.
+ * <p>
+ * Every bitmap index holding an entry retains its id, the id is released
+ * once no index references the entry anymore. Ids are never reused: a
+ * bitmap snapshot taken by a query never resolves to an entry which was
+ * inserted after the snapshot under a recycled id.
+ */
+public final class EntryIdRegistry {
+
+    private final ConcurrentMap<Data, Registration> registrations = new ConcurrentHashMap<>();
+    private final AtomicLong idGenerator = new AtomicLong();
+
+    /**
+     * Retains the id of the entry with the given key, assigning a new id if
+     * the entry has none yet.
+     *
+     * @param key the key of the entry.
+     * @return the id of the entry.
+     */
+    long retain(Data key) {
+        return registrations.compute(key, (k, registration) -> {
+            if (registration == null) {
+                return new Registration(idGenerator.getAndIncrement());
+            }
+            registration.references++;
+            return registration;
+        }).id;
+    }
+
+    /**
+     * Releases the id of the entry with the given key previously retained by
+     * {@link #retain}.
+     *
+     * @param key the key of the entry.
+     */
+    void release(Data key) {
+        registrations.computeIfPresent(key, (k, registration) -> --registration.references == 0 ? null : registration);
+    }
+
+    /**
+     * @param key the key of the entry.
+     * @return the id of the entry with the given key or {@code -1} if the
+     * entry is not referenced by any bitmap index.
+     */
+    long idOf(Data key) {
+        Registration registration = registrations.get(key);
+        return registration == null ? -1 : registration.id;
+    }
+
+    private static final class Registration {
+
+        final long id;
+        int references = 1;
+
+        Registration(long id) {
+            this.id = id;
+        }
+
+    }
+
+}
@@ -16,12 +16,14 @@
 
 package com.hazelcast.query.impl;
 
+import com.hazelcast.config.IndexType;
 import com.hazelcast.core.TypeConverter;
 import com.hazelcast.monitor.impl.PerIndexStats;
 import com.hazelcast.nio.serialization.Data;
 
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Set;
 
 /**
@@ -104,6 +106,11 @@ public class GlobalQueryContextWithStats extends QueryContext {
             return delegate.isOrdered();
         }
 
+        @Override
+        public IndexType getType() {
+            return delegate.getType();
+        }
+
         @Override
         public TypeConverter getConverter() {
             return delegate.getConverter();
@@ -147,6 +154,18 @@ public class GlobalQueryContextWithStats extends QueryContext {
             return result;
         }
 
+        @Override
+        public Iterator<Set<QueryableEntry>> getSortedRecords(Comparable from, boolean descending) {
+            Iterator<Set<QueryableEntry>> result = delegate.getSortedRecords(from, descending);
+            hasQueries = true;
+            return result;
+        }
+
+        @Override
+        public IndexStatistics getStatistics() {
+            return delegate.getStatistics();
+        }
+
         @Override
         public void clear() {
             delegate.clear();
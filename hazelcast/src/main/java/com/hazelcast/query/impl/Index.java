@@ -16,11 +16,13 @@
 
 package com.hazelcast.query.impl;
 
+import com.hazelcast.config.IndexType;
 import com.hazelcast.core.TypeConverter;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.query.QueryException;
 import com.hazelcast.query.impl.predicates.PredicateUtils;
 
+import java.util.Iterator;
 import java.util.Set;
 
 /**
@@ -58,6 +60,14 @@ public interface Index {
      */
     boolean isOrdered();
 
+    /**
+     * @return the type of this index. By default, derived from {@link
+     * #isOrdered()}, indexes of other types must override this method.
+     */
+    default IndexType getType() {
+        return isOrdered() ? IndexType.SORTED : IndexType.HASH;
+    }
+
     /**
      * @return the converter associated with this index; or {@code null} if the
      * converter is not known because there were no saves to this index and
@@ -130,6 +140,33 @@ public interface Index {
      */
     Set<QueryableEntry> getRecords(Comparison comparison, Comparable value);
 
+    /**
+     * Produces the entries of this index grouped by their attribute values, the
+     * groups are produced lazily in the order of the values. Entries having
+     * {@code null} attribute values are considered to be less than any other
+     * entries.
+     *
+     * @param from       the value to start from, inclusive; {@code null} to
+     *                   start from the beginning of the index.
+     * @param descending {@code true} to produce the groups in the descending
+     *                   order of the values, {@code false} for the ascending
+     *                   order.
+     * @return the iterator over the entry groups or {@code null} if this index
+     * is not able to produce its entries in order.
+     */
+    default Iterator<Set<QueryableEntry>> getSortedRecords(Comparable from, boolean descending) {
+        return null;
+    }
+
+    /**
+     * @return the statistics of the values stored in this index used to
+     * estimate the selectivity of predicates; or {@code null} if this index
+     * doesn't maintain any statistics.
+     */
+    default IndexStatistics getStatistics() {
+        return null;
+    }
+
     /**
      * Clears out all entries from this index.
      */
@@ -16,6 +16,7 @@
 
 package com.hazelcast.query.impl;
 
+import com.hazelcast.config.IndexType;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.monitor.impl.PerIndexStats;
 import com.hazelcast.query.impl.getters.Extractors;
@@ -37,11 +38,25 @@ public class IndexImpl extends AbstractIndex {
         super(name, components, ordered, ss, extractors, copyBehavior, stats, null);
     }
 
+    public IndexImpl(String name, String[] components, IndexType type, EntryIdRegistry entryIds,
+                     InternalSerializationService ss, Extractors extractors, IndexCopyBehavior copyBehavior,
+                     PerIndexStats stats) {
+        super(name, components, type, entryIds, ss, extractors, copyBehavior, stats, null);
+    }
+
     @Override
     protected IndexStore createIndexStore(boolean ordered, PerIndexStats stats) {
         return ordered ? new OrderedIndexStore(copyBehavior) : new UnorderedIndexStore(copyBehavior);
     }
 
+    @Override
+    protected IndexStore createIndexStore(IndexType type, PerIndexStats stats) {
+        if (type == IndexType.BITMAP) {
+            return new BitmapIndexStore(entryIds);
+        }
+        return createIndexStore(type == IndexType.SORTED, stats);
+    }
+
     @Override
     public void clear() {
         super.clear();
@@ -16,6 +16,7 @@
 
 package com.hazelcast.query.impl;
 
+import com.hazelcast.config.IndexType;
 import com.hazelcast.map.impl.MapDataSerializerHook;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
@@ -26,26 +27,30 @@ import java.io.IOException;
 public class IndexInfo implements IdentifiedDataSerializable, Comparable<IndexInfo> {
 
     private String name;
-    private boolean ordered;
+    private IndexType type;
 
     public IndexInfo() {
     }
 
     public IndexInfo(String name, boolean ordered) {
+        this(name, ordered ? IndexType.SORTED : IndexType.HASH);
+    }
+
+    public IndexInfo(String name, IndexType type) {
         this.name = name;
-        this.ordered = ordered;
+        this.type = type;
     }
 
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         out.writeUTF(name);
-        out.writeBoolean(ordered);
+        out.writeInt(type.getId());
     }
 
     @Override
     public void readData(ObjectDataInput in) throws IOException {
         name = in.readUTF();
-        ordered = in.readBoolean();
+        type = IndexType.getById(in.readInt());
     }
 
     public String getName() {
@@ -53,7 +58,11 @@ public class IndexInfo implements IdentifiedDataSerializable, Comparable<IndexIn
     }
 
     public boolean isOrdered() {
-        return ordered;
+        return type == IndexType.SORTED;
+    }
+
+    public IndexType getType() {
+        return type;
     }
 
     @Override
@@ -76,7 +85,7 @@ public class IndexInfo implements IdentifiedDataSerializable, Comparable<IndexIn
         }
 
         IndexInfo indexInfo = (IndexInfo) o;
-        if (ordered != indexInfo.ordered) {
+        if (type != indexInfo.type) {
             return false;
         }
         return name != null ? name.equals(indexInfo.name) : indexInfo.name == null;
@@ -86,7 +95,7 @@ public class IndexInfo implements IdentifiedDataSerializable, Comparable<IndexIn
     @Override
     public int hashCode() {
         int result = name != null ? name.hashCode() : 0;
-        result = 31 * result + (ordered ? 1 : 0);
+        result = 31 * result + (type != null ? type.getId() : 0);
         return result;
     }
 
@@ -94,7 +103,7 @@ public class IndexInfo implements IdentifiedDataSerializable, Comparable<IndexIn
     public int compareTo(IndexInfo other) {
         int attributeNameCompareResult = name.compareTo(other.name);
         if (attributeNameCompareResult == 0) {
-            return Boolean.valueOf(ordered).compareTo(other.ordered);
+            return Integer.compare(type.getId(), other.type.getId());
         }
         return attributeNameCompareResult;
     }
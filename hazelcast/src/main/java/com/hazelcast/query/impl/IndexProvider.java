@@ -16,6 +16,7 @@
 
 package com.hazelcast.query.impl;
 
+import com.hazelcast.config.IndexType;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.map.impl.StoreAdapter;
 import com.hazelcast.monitor.impl.PerIndexStats;
@@ -50,4 +51,23 @@ public interface IndexProvider {
                               InternalSerializationService ss, IndexCopyBehavior copyBehavior, PerIndexStats stats,
                               StoreAdapter storeAdapter);
 
+    /**
+     * Creates a new index of the given type with the given name.
+     * <p>
+     * Providers not supporting {@link IndexType#BITMAP} indexes may leave
+     * this method as is, it creates an unordered index for them.
+     *
+     * @param type     the type of the index to create.
+     * @param entryIds the registry of entry ids shared by all bitmap indexes
+     *                 of the same {@link Indexes} instance.
+     * @see #createIndex(String, String[], boolean, Extractors, InternalSerializationService, IndexCopyBehavior,
+     * PerIndexStats, StoreAdapter)
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    default InternalIndex createIndex(String name, String[] components, IndexType type, EntryIdRegistry entryIds,
+                                      Extractors extractors, InternalSerializationService ss, IndexCopyBehavior copyBehavior,
+                                      PerIndexStats stats, StoreAdapter storeAdapter) {
+        return createIndex(name, components, type == IndexType.SORTED, extractors, ss, copyBehavior, stats, storeAdapter);
+    }
+
 }
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.cardinality.impl.hyperloglog.HyperLogLog;
+import com.hazelcast.cardinality.impl.hyperloglog.impl.HyperLogLogImpl;
+import com.hazelcast.query.impl.getters.MultiResult;
+
+import static com.hazelcast.util.HashUtil.MurmurHash3_fmix;
+
+/**
+ * Keeps cheap statistics of the values stored in an index, which are used by
+ * the query planner to estimate the selectivity of predicates.
+ * <p>
+ * The number of distinct values is estimated with a {@link HyperLogLog}
+ * sketch. The sketch can't forget values, so after removals the number of
+ * distinct values may be overestimated until the index is cleared; that
+ * makes the index look more selective than it is, which is the behaviour
+ * the planner had before the statistics were introduced.
+ * <p>
+ * The statistics are updated concurrently by partition threads in case of
+ * global indexes, so all the methods are synchronized. The contention is
+ * negligible compared to the index store updates which take an exclusive
+ * lock anyway.
+ */
+public final class IndexStatistics {
+
+    /**
+     * Indicates that a selectivity can't be estimated.
+     */
+    public static final double UNKNOWN_SELECTIVITY = -1.0;
+
+    /**
+     * The selectivity assumed for range predicates, there are no histograms
+     * to estimate it better.
+     */
+    public static final double RANGE_SELECTIVITY = 1.0 / 3.0;
+
+    /**
+     * Indexes having fewer entries are not worth planning for, queries on them
+     * are cheap anyway, so selectivities are not estimated for them.
+     */
+    public static final long MIN_ESTIMATED_ENTRY_COUNT = 100;
+
+    /**
+     * 2^12 registers, the sketch occupies at most 4 KB per index and the
+     * standard error is about 1.6%, which is more than enough for planning.
+     */
+    private static final int HLL_PRECISION = 12;
+
+    /**
+     * Hashes of the values are 32-bit, so a 64-bit constant never collides.
+     */
+    private static final long NULL_HASH = MurmurHash3_fmix(Long.MIN_VALUE);
+
+    private HyperLogLog distinctValues = new HyperLogLogImpl(HLL_PRECISION);
+    private long entryCount;
+
+    /**
+     * Accounts an insertion of a new entry having the given attribute value.
+     */
+    public synchronized void onInsert(Object value) {
+        ++entryCount;
+        addValue(value);
+    }
+
+    /**
+     * Accounts an update of an existing entry to the given attribute value.
+     */
+    public synchronized void onUpdate(Object newValue) {
+        addValue(newValue);
+    }
+
+    /**
+     * Accounts a removal of an entry.
+     */
+    public synchronized void onRemove() {
+        if (entryCount > 0) {
+            --entryCount;
+        }
+    }
+
+    /**
+     * Resets the statistics.
+     */
+    public synchronized void clear() {
+        distinctValues = new HyperLogLogImpl(HLL_PRECISION);
+        entryCount = 0;
+    }
+
+    /**
+     * @return the number of entries in the index.
+     */
+    public synchronized long getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * @return the estimated number of distinct values in the index, never
+     * greater than the number of entries and never less than one for a
+     * non-empty index.
+     */
+    public synchronized long getDistinctValueCount() {
+        if (entryCount == 0) {
+            return 0;
+        }
+        return Math.max(1, Math.min(entryCount, distinctValues.estimate()));
+    }
+
+    /**
+     * @return the estimated fraction of the entries having an attribute value
+     * equal to some value, assuming the values are distributed uniformly;
+     * or {@link #UNKNOWN_SELECTIVITY} if the index is too small to estimate.
+     */
+    public double estimateEqualSelectivity() {
+        return estimateInSelectivity(1);
+    }
+
+    /**
+     * @return the estimated fraction of the entries having an attribute value
+     * equal to one of the given number of values; or {@link
+     * #UNKNOWN_SELECTIVITY} if the index is too small to estimate.
+     */
+    public double estimateInSelectivity(int valueCount) {
+        long distinctValueCount = getEstimatableDistinctValueCount();
+        if (distinctValueCount == 0) {
+            return UNKNOWN_SELECTIVITY;
+        }
+        return Math.min(1.0, (double) valueCount / distinctValueCount);
+    }
+
+    /**
+     * @return the estimated fraction of the entries having an attribute value
+     * not equal to some value; or {@link #UNKNOWN_SELECTIVITY} if the index
+     * is too small to estimate.
+     */
+    public double estimateNotEqualSelectivity() {
+        long distinctValueCount = getEstimatableDistinctValueCount();
+        if (distinctValueCount == 0) {
+            return UNKNOWN_SELECTIVITY;
+        }
+        return 1.0 - 1.0 / distinctValueCount;
+    }
+
+    /**
+     * @return the estimated fraction of the entries matching a range
+     * predicate; or {@link #UNKNOWN_SELECTIVITY} if the index is too small to
+     * estimate.
+     */
+    public double estimateRangeSelectivity() {
+        return getEntryCount() < MIN_ESTIMATED_ENTRY_COUNT ? UNKNOWN_SELECTIVITY : RANGE_SELECTIVITY;
+    }
+
+    private synchronized long getEstimatableDistinctValueCount() {
+        return entryCount < MIN_ESTIMATED_ENTRY_COUNT ? 0 : getDistinctValueCount();
+    }
+
+    private void addValue(Object value) {
+        if (value instanceof MultiResult) {
+            for (Object result : ((MultiResult<?>) value).getResults()) {
+                distinctValues.add(hash(result));
+            }
+        } else {
+            distinctValues.add(hash(value));
+        }
+    }
+
+    private static long hash(Object value) {
+        if (value == null) {
+            return NULL_HASH;
+        }
+        Object canonical = value instanceof Comparable ? Comparables.canonicalizeForHashLookup((Comparable) value) : value;
+        return MurmurHash3_fmix((long) canonical.hashCode());
+    }
+
+}
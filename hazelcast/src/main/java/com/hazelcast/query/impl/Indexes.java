@@ -16,6 +16,7 @@
 
 package com.hazelcast.query.impl;
 
+import com.hazelcast.config.IndexType;
 import com.hazelcast.core.TypeConverter;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.map.impl.StoreAdapter;
@@ -57,7 +58,8 @@ public class Indexes {
     private final Map<String, InternalIndex> indexesByName = new ConcurrentHashMap<String, InternalIndex>(3);
     private final AttributeIndexRegistry attributeIndexRegistry = new AttributeIndexRegistry();
     private final ConverterCache converterCache = new ConverterCache(this);
-    private final Map<String, Boolean> definitions = new ConcurrentHashMap<String, Boolean>();
+    private final EntryIdRegistry entryIds = new EntryIdRegistry();
+    private final Map<String, IndexType> definitions = new ConcurrentHashMap<String, IndexType>();
 
     private volatile InternalIndex[] indexes = EMPTY_INDEXES;
     private volatile InternalIndex[] compositeIndexes = EMPTY_INDEXES;
@@ -121,7 +123,25 @@ public class Indexes {
      * @param partitionStoreAdapter the reference to the store adapter. {@code null} if the index is global.
      * @return the existing or created index.
      */
-    public synchronized InternalIndex addOrGetIndex(String name, boolean ordered, StoreAdapter partitionStoreAdapter) {
+    public InternalIndex addOrGetIndex(String name, boolean ordered, StoreAdapter partitionStoreAdapter) {
+        return addOrGetIndex(name, ordered ? IndexType.SORTED : IndexType.HASH, partitionStoreAdapter);
+    }
+
+    /**
+     * Obtains the existing index or creates a new one (if an index doesn't exist
+     * yet) for the given name in this indexes instance.
+     *
+     * @param name                  the name of the index; the passed value might
+     *                              not represent a canonical index name (as
+     *                              specified by {@link Index#getName()}, in this
+     *                              case the method canonicalizes it.
+     * @param type                  the type of the new index.
+     * @param partitionStoreAdapter the reference to the store adapter. {@code
+     *                              null} if the index is global.
+     * @return the existing or created index.
+     * @throws IllegalArgumentException if a composite bitmap index is requested.
+     */
+    public synchronized InternalIndex addOrGetIndex(String name, IndexType type, StoreAdapter partitionStoreAdapter) {
         InternalIndex index = indexesByName.get(name);
         if (index != null) {
             return index;
@@ -139,8 +159,13 @@ public class Indexes {
             return index;
         }
 
-        index = indexProvider.createIndex(name, components, ordered, extractors, serializationService, indexCopyBehavior,
-                stats.createPerIndexStats(ordered, usesCachedQueryableEntries), partitionStoreAdapter);
+        if (components != null && type == IndexType.BITMAP) {
+            throw new IllegalArgumentException("Composite bitmap indexes are not supported: " + name);
+        }
+
+        index = indexProvider.createIndex(name, components, type, entryIds, extractors, serializationService,
+                indexCopyBehavior, stats.createPerIndexStats(type == IndexType.SORTED, usesCachedQueryableEntries),
+                partitionStoreAdapter);
 
         indexesByName.put(name, index);
         attributeIndexRegistry.register(index);
@@ -168,6 +193,19 @@ public class Indexes {
      *                false} otherwise.
      */
     public void recordIndexDefinition(String name, boolean ordered) {
+        recordIndexDefinition(name, ordered ? IndexType.SORTED : IndexType.HASH);
+    }
+
+    /**
+     * Records the given index definition in this indexes without creating an
+     * index.
+     *
+     * @param name the name of the index; the passed value might not represent
+     *             a canonical index name (as specified by {@link
+     *             Index#getName()), in this case the method canonicalizes it.
+     * @param type the type of the index.
+     */
+    public void recordIndexDefinition(String name, IndexType type) {
         if (definitions.containsKey(name) || indexesByName.containsKey(name)) {
             return;
         }
@@ -182,7 +220,7 @@ public class Indexes {
             return;
         }
 
-        definitions.put(name, ordered);
+        definitions.put(name, type);
     }
 
     /**
@@ -190,7 +228,7 @@ public class Indexes {
      * indexes.
      */
     public void createIndexesFromRecordedDefinitions(StoreAdapter partitionStoreAdapter) {
-        for (Map.Entry<String, Boolean> definition : definitions.entrySet()) {
+        for (Map.Entry<String, IndexType> definition : definitions.entrySet()) {
             addOrGetIndex(definition.getKey(), definition.getValue(), partitionStoreAdapter);
         }
         definitions.clear();
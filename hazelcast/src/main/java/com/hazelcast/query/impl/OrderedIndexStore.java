@@ -20,7 +20,10 @@ import com.hazelcast.nio.serialization.Data;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.concurrent.ConcurrentHashMap;
@@ -192,6 +195,46 @@ public class OrderedIndexStore extends BaseIndexStore {
         }
     }
 
+    /**
+     * Produces the records of this index grouped by their attribute values,
+     * the groups are produced in the order of the values. Records with
+     * {@code null} values are considered to be less than any other records.
+     * <p>
+     * The groups are fetched lazily from the underlying concurrent map, so a
+     * consumer that stops after a few groups doesn't pay for the rest of the
+     * index.
+     *
+     * @param from       the value to start from, inclusive; {@code null} to
+     *                   start from the very beginning (or the very end, if
+     *                   {@code descending}) of the index.
+     * @param descending {@code true} to produce the groups in the descending
+     *                   order of the values, {@code false} for the ascending
+     *                   order.
+     * @return the iterator over the record groups.
+     */
+    public Iterator<Set<QueryableEntry>> getSortedRecords(Comparable from, boolean descending) {
+        NavigableMap<Comparable, Map<Data, QueryableEntry>> subMap;
+        if (from == null || from == NULL) {
+            subMap = recordMap;
+        } else {
+            subMap = descending ? recordMap.headMap(from, true) : recordMap.tailMap(from, true);
+        }
+        if (descending) {
+            subMap = subMap.descendingMap();
+        }
+
+        // nulls go first in the ascending order, so they are skipped if there
+        // is a non-null value to start from; in the descending order nulls go
+        // last and are the only records produced if null is the value to
+        // start from
+        boolean nullsFirst = !descending && (from == null || from == NULL);
+        boolean nullsLast = descending;
+        if (descending && from == NULL) {
+            subMap = Collections.emptyNavigableMap();
+        }
+        return new SortedRecordsIterator(subMap.values().iterator(), nullsFirst, nullsLast);
+    }
+
     /**
      * Adds entry to the given index map without copying it.
      * Needs to be invoked in a thread-safe way.
@@ -313,4 +356,50 @@ public class OrderedIndexStore extends BaseIndexStore {
 
     }
 
+    /**
+     * Lazily produces the record groups of the sorted records sub-map,
+     * optionally preceded or followed by the records with null values.
+     */
+    private class SortedRecordsIterator implements Iterator<Set<QueryableEntry>> {
+
+        private final Iterator<Map<Data, QueryableEntry>> groups;
+        private boolean nullsFirst;
+        private boolean nullsLast;
+
+        SortedRecordsIterator(Iterator<Map<Data, QueryableEntry>> groups, boolean nullsFirst, boolean nullsLast) {
+            this.groups = groups;
+            this.nullsFirst = nullsFirst;
+            this.nullsLast = nullsLast;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nullsFirst || groups.hasNext() || nullsLast;
+        }
+
+        @Override
+        public Set<QueryableEntry> next() {
+            Map<Data, QueryableEntry> records;
+            if (nullsFirst) {
+                nullsFirst = false;
+                records = recordsWithNullValue;
+            } else if (groups.hasNext()) {
+                records = groups.next();
+            } else if (nullsLast) {
+                nullsLast = false;
+                records = recordsWithNullValue;
+            } else {
+                throw new NoSuchElementException();
+            }
+
+            takeReadLock();
+            try {
+                return toSingleResultSet(records);
+            } finally {
+                releaseReadLock();
+            }
+        }
+
+    }
+
 }
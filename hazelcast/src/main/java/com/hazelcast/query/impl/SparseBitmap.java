@@ -0,0 +1,527 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.util.collection.Long2ObjectHashMap;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * A compressed bitmap of non-negative long ids.
+ * <p>
+ * The id space is split into chunks of 2^16 ids. Each non-empty chunk is
+ * stored either as a sorted array of the low 16 bits of its ids, while the
+ * chunk is sparse, or as a plain 2^16-bit bitset, once the array would take
+ * more space than the bitset. Empty chunks are not stored at all.
+ * <p>
+ * Not thread-safe.
+ */
+final class SparseBitmap {
+
+    private static final int CHUNK_SHIFT = 16;
+    private static final int LOW_MASK = (1 << CHUNK_SHIFT) - 1;
+    private static final int WORD_SHIFT = 6;
+    private static final int WORDS_PER_CHUNK = (1 << CHUNK_SHIFT) >>> WORD_SHIFT;
+    /**
+     * An array chunk of this many ids takes exactly as much space as a bitset
+     * chunk: 4096 chars vs. 1024 longs.
+     */
+    private static final int MAX_ARRAY_CARDINALITY = WORDS_PER_CHUNK * (Long.SIZE / Character.SIZE);
+    private static final int INITIAL_ARRAY_CAPACITY = 4;
+
+    private final Long2ObjectHashMap<Chunk> chunks;
+    private long cardinality;
+
+    SparseBitmap() {
+        this.chunks = new Long2ObjectHashMap<>();
+    }
+
+    private SparseBitmap(int expectedChunks) {
+        this.chunks = new Long2ObjectHashMap<>(Math.max(Long2ObjectHashMap.DEFAULT_INITIAL_CAPACITY, expectedChunks));
+    }
+
+    /**
+     * Adds the given id to this bitmap.
+     *
+     * @return {@code true} if the id was not in this bitmap before.
+     */
+    boolean add(long id) {
+        assert id >= 0;
+        long key = id >>> CHUNK_SHIFT;
+        Chunk chunk = chunks.get(key);
+        if (chunk == null) {
+            chunk = new ArrayChunk();
+            chunks.put(key, chunk);
+        }
+        int low = (int) id & LOW_MASK;
+        if (chunk.contains(low)) {
+            return false;
+        }
+        Chunk updated = chunk.add(low);
+        if (updated != chunk) {
+            chunks.put(key, updated);
+        }
+        cardinality++;
+        return true;
+    }
+
+    /**
+     * Removes the given id from this bitmap.
+     *
+     * @return {@code true} if the id was in this bitmap.
+     */
+    boolean remove(long id) {
+        long key = id >>> CHUNK_SHIFT;
+        Chunk chunk = chunks.get(key);
+        int low = (int) id & LOW_MASK;
+        if (chunk == null || !chunk.contains(low)) {
+            return false;
+        }
+        Chunk updated = chunk.remove(low);
+        if (updated == null) {
+            chunks.remove(key);
+        } else if (updated != chunk) {
+            chunks.put(key, updated);
+        }
+        cardinality--;
+        return true;
+    }
+
+    boolean contains(long id) {
+        Chunk chunk = chunks.get(id >>> CHUNK_SHIFT);
+        return chunk != null && chunk.contains((int) id & LOW_MASK);
+    }
+
+    long cardinality() {
+        return cardinality;
+    }
+
+    boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    void clear() {
+        chunks.clear();
+        cardinality = 0;
+    }
+
+    SparseBitmap copy() {
+        SparseBitmap copy = new SparseBitmap(chunks.size());
+        for (Map.Entry<Long, Chunk> entry : chunks.entrySet()) {
+            copy.chunks.put(entry.getKey().longValue(), entry.getValue().copy());
+        }
+        copy.cardinality = cardinality;
+        return copy;
+    }
+
+    /**
+     * @return a new bitmap containing the ids present in both this and the
+     * given bitmap.
+     */
+    SparseBitmap and(SparseBitmap other) {
+        SparseBitmap smaller = chunks.size() <= other.chunks.size() ? this : other;
+        SparseBitmap larger = smaller == this ? other : this;
+        SparseBitmap result = new SparseBitmap(smaller.chunks.size());
+        for (Map.Entry<Long, Chunk> entry : smaller.chunks.entrySet()) {
+            long key = entry.getKey();
+            Chunk otherChunk = larger.chunks.get(key);
+            if (otherChunk != null) {
+                result.putIfNotEmpty(key, entry.getValue().and(otherChunk));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return a new bitmap containing the ids present in either this or the
+     * given bitmap.
+     */
+    SparseBitmap or(SparseBitmap other) {
+        SparseBitmap result = new SparseBitmap(chunks.size() + other.chunks.size());
+        for (Map.Entry<Long, Chunk> entry : chunks.entrySet()) {
+            long key = entry.getKey();
+            Chunk otherChunk = other.chunks.get(key);
+            result.putIfNotEmpty(key, otherChunk == null ? entry.getValue().copy() : entry.getValue().or(otherChunk));
+        }
+        for (Map.Entry<Long, Chunk> entry : other.chunks.entrySet()) {
+            long key = entry.getKey();
+            if (!chunks.containsKey(key)) {
+                result.putIfNotEmpty(key, entry.getValue().copy());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return a new bitmap containing the ids present in this bitmap but
+     * absent in the given bitmap.
+     */
+    SparseBitmap andNot(SparseBitmap other) {
+        SparseBitmap result = new SparseBitmap(chunks.size());
+        for (Map.Entry<Long, Chunk> entry : chunks.entrySet()) {
+            long key = entry.getKey();
+            Chunk otherChunk = other.chunks.get(key);
+            result.putIfNotEmpty(key, otherChunk == null ? entry.getValue().copy() : entry.getValue().andNot(otherChunk));
+        }
+        return result;
+    }
+
+    /**
+     * @return an iterator over the ids of this bitmap, the iteration order is
+     * unspecified. The bitmap must not be modified during the iteration.
+     */
+    IdIterator iterator() {
+        return new IdIterator();
+    }
+
+    private void putIfNotEmpty(long key, Chunk chunk) {
+        if (chunk != null && chunk.cardinality() > 0) {
+            chunks.put(key, chunk);
+            cardinality += chunk.cardinality();
+        }
+    }
+
+    /**
+     * Iterates over the ids of a bitmap without boxing them.
+     */
+    final class IdIterator {
+
+        private final Long2ObjectHashMap<Chunk>.KeyIterator keys = chunks.keySet().iterator();
+        private long chunkBase;
+        private Chunk chunk;
+        private int low = -1;
+
+        boolean hasNext() {
+            return advance() >= 0;
+        }
+
+        long next() {
+            int next = advance();
+            if (next < 0) {
+                throw new NoSuchElementException();
+            }
+            low = next;
+            return chunkBase | next;
+        }
+
+        private int advance() {
+            while (true) {
+                if (chunk != null) {
+                    int next = chunk.nextAfter(low);
+                    if (next >= 0) {
+                        return next;
+                    }
+                }
+                if (!keys.hasNext()) {
+                    chunk = null;
+                    return -1;
+                }
+                long key = keys.nextLong();
+                chunk = chunks.get(key);
+                chunkBase = key << CHUNK_SHIFT;
+                low = -1;
+            }
+        }
+    }
+
+    /**
+     * A set of 16-bit values.
+     */
+    private abstract static class Chunk {
+
+        abstract int cardinality();
+
+        abstract boolean contains(int value);
+
+        /**
+         * Adds the given absent value, returns the chunk to use from now on.
+         */
+        abstract Chunk add(int value);
+
+        /**
+         * Removes the given present value, returns the chunk to use from now
+         * on or {@code null} if the chunk became empty.
+         */
+        abstract Chunk remove(int value);
+
+        /**
+         * @return the smallest value greater than the given one or {@code -1}.
+         */
+        abstract int nextAfter(int value);
+
+        abstract Chunk copy();
+
+        abstract BitsetChunk toBitset();
+
+        Chunk and(Chunk other) {
+            if (this instanceof ArrayChunk) {
+                return ((ArrayChunk) this).filter(other, true);
+            } else if (other instanceof ArrayChunk) {
+                return ((ArrayChunk) other).filter(this, true);
+            } else {
+                return ((BitsetChunk) this).combine((BitsetChunk) other, Op.AND);
+            }
+        }
+
+        Chunk or(Chunk other) {
+            if (this instanceof BitsetChunk && other instanceof BitsetChunk) {
+                return ((BitsetChunk) this).combine((BitsetChunk) other, Op.OR);
+            }
+            // at least one side is an array, merge its values into a bitset
+            Chunk array = this instanceof ArrayChunk ? this : other;
+            Chunk rest = array == this ? other : this;
+            BitsetChunk result = rest instanceof BitsetChunk ? (BitsetChunk) rest.copy() : rest.toBitset();
+            for (int value = array.nextAfter(-1); value >= 0; value = array.nextAfter(value)) {
+                result.set(value);
+            }
+            return result.shrinkIfSparse();
+        }
+
+        Chunk andNot(Chunk other) {
+            if (this instanceof ArrayChunk) {
+                return ((ArrayChunk) this).filter(other, false);
+            } else if (other instanceof BitsetChunk) {
+                return ((BitsetChunk) this).combine((BitsetChunk) other, Op.AND_NOT);
+            } else {
+                BitsetChunk result = (BitsetChunk) copy();
+                for (int value = other.nextAfter(-1); value >= 0; value = other.nextAfter(value)) {
+                    result.clear(value);
+                }
+                return result.shrinkIfSparse();
+            }
+        }
+    }
+
+    private enum Op {
+        AND, OR, AND_NOT
+    }
+
+    private static final class ArrayChunk extends Chunk {
+
+        private char[] values;
+        private int size;
+
+        ArrayChunk() {
+            this.values = new char[INITIAL_ARRAY_CAPACITY];
+        }
+
+        ArrayChunk(char[] values, int size) {
+            this.values = values;
+            this.size = size;
+        }
+
+        @Override
+        int cardinality() {
+            return size;
+        }
+
+        @Override
+        boolean contains(int value) {
+            return Arrays.binarySearch(values, 0, size, (char) value) >= 0;
+        }
+
+        @Override
+        Chunk add(int value) {
+            if (size == MAX_ARRAY_CARDINALITY) {
+                BitsetChunk bitset = toBitset();
+                bitset.set(value);
+                return bitset;
+            }
+            int index = -Arrays.binarySearch(values, 0, size, (char) value) - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.min(MAX_ARRAY_CARDINALITY, size * 2));
+            }
+            System.arraycopy(values, index, values, index + 1, size - index);
+            values[index] = (char) value;
+            size++;
+            return this;
+        }
+
+        @Override
+        Chunk remove(int value) {
+            if (size == 1) {
+                return null;
+            }
+            int index = Arrays.binarySearch(values, 0, size, (char) value);
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+            size--;
+            return this;
+        }
+
+        @Override
+        int nextAfter(int value) {
+            if (value + 1 > LOW_MASK) {
+                return -1;
+            }
+            int index = Arrays.binarySearch(values, 0, size, (char) (value + 1));
+            if (index < 0) {
+                index = -index - 1;
+            }
+            return index < size ? values[index] : -1;
+        }
+
+        @Override
+        Chunk copy() {
+            return new ArrayChunk(Arrays.copyOf(values, size), size);
+        }
+
+        @Override
+        BitsetChunk toBitset() {
+            BitsetChunk bitset = new BitsetChunk();
+            for (int i = 0; i < size; i++) {
+                bitset.set(values[i]);
+            }
+            return bitset;
+        }
+
+        ArrayChunk filter(Chunk other, boolean keepContained) {
+            char[] result = new char[size];
+            int resultSize = 0;
+            for (int i = 0; i < size; i++) {
+                if (other.contains(values[i]) == keepContained) {
+                    result[resultSize++] = values[i];
+                }
+            }
+            return new ArrayChunk(result, resultSize);
+        }
+    }
+
+    private static final class BitsetChunk extends Chunk {
+
+        private final long[] words;
+        private int cardinality;
+
+        BitsetChunk() {
+            this.words = new long[WORDS_PER_CHUNK];
+        }
+
+        BitsetChunk(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(int value) {
+            return (words[value >>> WORD_SHIFT] & (1L << value)) != 0;
+        }
+
+        @Override
+        Chunk add(int value) {
+            set(value);
+            return this;
+        }
+
+        @Override
+        Chunk remove(int value) {
+            clear(value);
+            return cardinality == 0 ? null : shrinkIfSparse();
+        }
+
+        @Override
+        int nextAfter(int value) {
+            int from = value + 1;
+            if (from > LOW_MASK) {
+                return -1;
+            }
+            int wordIndex = from >>> WORD_SHIFT;
+            long word = words[wordIndex] & (-1L << from);
+            while (true) {
+                if (word != 0) {
+                    return (wordIndex << WORD_SHIFT) + Long.numberOfTrailingZeros(word);
+                }
+                if (++wordIndex == WORDS_PER_CHUNK) {
+                    return -1;
+                }
+                word = words[wordIndex];
+            }
+        }
+
+        @Override
+        Chunk copy() {
+            return new BitsetChunk(words.clone(), cardinality);
+        }
+
+        @Override
+        BitsetChunk toBitset() {
+            return this;
+        }
+
+        void set(int value) {
+            long mask = 1L << value;
+            int index = value >>> WORD_SHIFT;
+            if ((words[index] & mask) == 0) {
+                words[index] |= mask;
+                cardinality++;
+            }
+        }
+
+        void clear(int value) {
+            long mask = 1L << value;
+            int index = value >>> WORD_SHIFT;
+            if ((words[index] & mask) != 0) {
+                words[index] &= ~mask;
+                cardinality--;
+            }
+        }
+
+        Chunk combine(BitsetChunk other, Op op) {
+            long[] result = new long[WORDS_PER_CHUNK];
+            int resultCardinality = 0;
+            for (int i = 0; i < WORDS_PER_CHUNK; i++) {
+                long word;
+                switch (op) {
+                    case AND:
+                        word = words[i] & other.words[i];
+                        break;
+                    case OR:
+                        word = words[i] | other.words[i];
+                        break;
+                    default:
+                        word = words[i] & ~other.words[i];
+                        break;
+                }
+                result[i] = word;
+                resultCardinality += Long.bitCount(word);
+            }
+            return new BitsetChunk(result, resultCardinality).shrinkIfSparse();
+        }
+
+        /**
+         * Converts the chunk back to an array once it takes less than a half
+         * of the bitset space, the hysteresis avoids flipping between the
+         * representations on every add/remove around the threshold.
+         */
+        Chunk shrinkIfSparse() {
+            if (cardinality > MAX_ARRAY_CARDINALITY / 2) {
+                return this;
+            }
+            char[] values = new char[cardinality];
+            int size = 0;
+            for (int value = nextAfter(-1); value >= 0; value = nextAfter(value)) {
+                values[size++] = (char) value;
+            }
+            return new ArrayChunk(values, size);
+        }
+    }
+}
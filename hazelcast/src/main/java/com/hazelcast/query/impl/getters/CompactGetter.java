@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.getters;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.internal.serialization.impl.compact.CompactStreamSerializer;
+import com.hazelcast.internal.serialization.impl.compact.FieldDescriptor;
+import com.hazelcast.internal.serialization.impl.compact.FieldKind;
+import com.hazelcast.internal.serialization.impl.compact.Schema;
+import com.hazelcast.nio.BufferObjectDataInput;
+import com.hazelcast.nio.serialization.Data;
+
+import java.nio.ByteOrder;
+
+import static com.hazelcast.nio.Bits.readChar;
+import static com.hazelcast.nio.Bits.readInt;
+import static com.hazelcast.nio.Bits.readLong;
+import static com.hazelcast.nio.Bits.readShort;
+import static com.hazelcast.nio.IOUtil.closeResource;
+
+/**
+ * Extracts fields from compact binaries without deserializing them. Fixed-size
+ * fields, including the ones of nested compact objects (separated by dots in
+ * the attribute path), are read straight from the byte array at the offset
+ * given by the schema.
+ */
+final class CompactGetter extends Getter {
+
+    private final InternalSerializationService serializationService;
+
+    CompactGetter(InternalSerializationService serializationService) {
+        super(null);
+        this.serializationService = serializationService;
+    }
+
+    @Override
+    Object getValue(Object target, String fieldPath) throws Exception {
+        CompactStreamSerializer serializer = serializationService.getCompactStreamSerializer();
+        boolean bigEndian = serializationService.getByteOrder() == ByteOrder.BIG_ENDIAN;
+        byte[] bytes = ((Data) target).toByteArray();
+        int base = HeapData.DATA_OFFSET;
+        Schema schema = serializer.getSchema(readLong(bytes, base, bigEndian));
+
+        int start = 0;
+        int end = fieldPath.indexOf('.');
+        while (end != -1) {
+            FieldDescriptor descriptor = schema.getField(fieldPath.substring(start, end));
+            if (descriptor == null || descriptor.getKind() != FieldKind.COMPACT) {
+                return null;
+            }
+            int offset = readInt(bytes, base + schema.getOffsetSlotPosition(descriptor), bigEndian);
+            if (offset < 0) {
+                return null;
+            }
+            base += offset;
+            schema = serializer.getSchema(readLong(bytes, base, bigEndian));
+            start = end + 1;
+            end = fieldPath.indexOf('.', start);
+        }
+
+        FieldDescriptor descriptor = schema.getField(start == 0 ? fieldPath : fieldPath.substring(start));
+        if (descriptor == null) {
+            return null;
+        }
+        if (descriptor.getKind().isFixedSize()) {
+            return readFixedSizeField(bytes, base + schema.getFixedFieldPosition(descriptor), descriptor.getKind(),
+                    bigEndian);
+        }
+        BufferObjectDataInput in = serializationService.createObjectDataInput(bytes);
+        try {
+            return serializer.readField(in, base, schema, descriptor);
+        } finally {
+            closeResource(in);
+        }
+    }
+
+    private static Object readFixedSizeField(byte[] bytes, int position, FieldKind kind, boolean bigEndian) {
+        switch (kind) {
+            case BOOLEAN:
+                return bytes[position] != 0;
+            case BYTE:
+                return bytes[position];
+            case CHAR:
+                return readChar(bytes, position, bigEndian);
+            case SHORT:
+                return readShort(bytes, position, bigEndian);
+            case INT:
+                return readInt(bytes, position, bigEndian);
+            case LONG:
+                return readLong(bytes, position, bigEndian);
+            case FLOAT:
+                return Float.intBitsToFloat(readInt(bytes, position, bigEndian));
+            case DOUBLE:
+                return Double.longBitsToDouble(readLong(bytes, position, bigEndian));
+            default:
+                throw new IllegalArgumentException("Not a fixed-size field kind: " + kind);
+        }
+    }
+
+    @Override
+    Object getValue(Object obj) throws Exception {
+        throw new IllegalArgumentException("Path agnostic value extraction unsupported");
+    }
+
+    @Override
+    Class getReturnType() {
+        throw new IllegalArgumentException("Non applicable for CompactGetter");
+    }
+
+    @Override
+    boolean isCacheable() {
+        // generic getter, a singleton is used instead, see PortableGetter
+        return false;
+    }
+}
@@ -16,11 +16,21 @@
 
 package com.hazelcast.query.impl.getters;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+import static com.hazelcast.util.ExceptionUtil.rethrow;
 
 public final class FieldGetter extends AbstractMultiValueGetter {
 
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
     private final Field field;
+    // null if the field is not accessible through a method handle, then reflection is used
+    private final MethodHandle handle;
 
     // for testing purposes only
     public FieldGetter(Getter parent, Field field, String modifier, Class elementType) {
@@ -30,14 +40,37 @@ public final class FieldGetter extends AbstractMultiValueGetter {
     public FieldGetter(Getter parent, Field field, String modifier, Class type, Class elementType) {
         super(parent, modifier, type, elementType);
         this.field = field;
+        this.handle = createHandle(field);
     }
 
     @Override
     protected Object extractFrom(Object object) throws IllegalAccessException {
+        if (handle == null) {
+            try {
+                return field.get(object);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(composeAttributeValueExtractionFailedMessage(field), e);
+            }
+        }
+
+        if (!field.getDeclaringClass().isInstance(object)) {
+            throw new IllegalArgumentException(composeAttributeValueExtractionFailedMessage(field));
+        }
+        try {
+            return (Object) handle.invokeExact(object);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    private static MethodHandle createHandle(Field field) {
+        if (Modifier.isStatic(field.getModifiers())) {
+            return null;
+        }
         try {
-            return field.get(object);
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException(composeAttributeValueExtractionFailedMessage(field), e);
+            return MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            return null;
         }
     }
 
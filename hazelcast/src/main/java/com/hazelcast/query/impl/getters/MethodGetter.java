@@ -16,12 +16,20 @@
 
 package com.hazelcast.query.impl.getters;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 
 public final class MethodGetter extends AbstractMultiValueGetter {
 
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
     private final Method method;
+    // null if the method is not accessible through a method handle, then reflection is used
+    private final MethodHandle handle;
 
     // for testing purposes only
     public MethodGetter(Getter parent, Method method, String modifier, Class elementType) {
@@ -31,14 +39,38 @@ public final class MethodGetter extends AbstractMultiValueGetter {
     public MethodGetter(Getter parent, Method method, String modifier, Class type, Class elementType) {
         super(parent, modifier, type, elementType);
         this.method = method;
+        this.handle = createHandle(method);
     }
 
     @Override
     protected Object extractFrom(Object object) throws IllegalAccessException, InvocationTargetException {
+        if (handle == null) {
+            try {
+                return method.invoke(object);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(composeAttributeValueExtractionFailedMessage(method), e);
+            }
+        }
+
+        if (!method.getDeclaringClass().isInstance(object)) {
+            throw new IllegalArgumentException(composeAttributeValueExtractionFailedMessage(method));
+        }
+        try {
+            return (Object) handle.invokeExact(object);
+        } catch (Throwable t) {
+            // same as reflection: exceptions thrown by the method itself are wrapped
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    private static MethodHandle createHandle(Method method) {
+        if (method.getParameterCount() != 0 || Modifier.isStatic(method.getModifiers())) {
+            return null;
+        }
         try {
-            return method.invoke(object);
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException(composeAttributeValueExtractionFailedMessage(method), e);
+            return MethodHandles.lookup().unreflect(method).asType(GETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            return null;
         }
     }
 
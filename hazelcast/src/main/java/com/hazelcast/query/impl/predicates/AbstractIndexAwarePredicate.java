@@ -16,8 +16,10 @@
 
 package com.hazelcast.query.impl.predicates;
 
+import com.hazelcast.config.IndexType;
 import com.hazelcast.nio.serialization.BinaryInterface;
 import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.IndexStatistics;
 import com.hazelcast.query.impl.QueryContext;
 
 @BinaryInterface
@@ -38,9 +40,32 @@ public abstract class AbstractIndexAwarePredicate<K, V> extends AbstractPredicat
         return queryContext.matchIndex(attributeName, matchHint);
     }
 
+    /**
+     * Matches a bitmap index to evaluate a negation on the attribute of this
+     * predicate. Unlike other index types, bitmap indexes evaluate negations
+     * as cheaply as the predicates themselves; the match fails if there is
+     * another, preferred, index on the attribute.
+     */
+    protected Index matchBitmapIndex(QueryContext queryContext) {
+        Index index = matchIndex(queryContext, QueryContext.IndexMatchHint.PREFER_ORDERED);
+        return index != null && index.getType() == IndexType.BITMAP ? index : null;
+    }
+
     @Override
     public boolean isIndexed(QueryContext queryContext) {
         return getIndex(queryContext) != null;
     }
 
+    /**
+     * Matches the statistics of the index which is used to evaluate this
+     * predicate.
+     *
+     * @return the matched statistics or {@code null} if there is no index
+     * or the index maintains no statistics.
+     */
+    protected IndexStatistics matchIndexStatistics(QueryContext queryContext, QueryContext.IndexMatchHint matchHint) {
+        Index index = matchIndex(queryContext, matchHint);
+        return index == null ? null : index.getStatistics();
+    }
+
 }
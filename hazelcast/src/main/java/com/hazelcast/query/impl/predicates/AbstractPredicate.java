@@ -24,6 +24,7 @@ import com.hazelcast.nio.serialization.BinaryInterface;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.QueryException;
+import com.hazelcast.query.impl.AttributeColumn;
 import com.hazelcast.query.impl.AttributeType;
 import com.hazelcast.query.impl.Extractable;
 import com.hazelcast.query.impl.QueryableEntry;
@@ -36,6 +37,7 @@ import java.util.List;
 import java.util.Map;
 
 import static com.hazelcast.internal.serialization.impl.FactoryIdHelper.PREDICATE_DS_FACTORY_ID;
+import static com.hazelcast.query.impl.Numbers.isLongRepresentable;
 import static com.hazelcast.query.impl.predicates.PredicateUtils.canonicalizeAttribute;
 import static com.hazelcast.query.impl.predicates.PredicateUtils.isNull;
 
@@ -59,7 +61,96 @@ public abstract class AbstractPredicate<K, V> implements Predicate<K, V>, Identi
 
     @Override
     public boolean apply(Map.Entry<K, V> mapEntry) {
-        Object attributeValue = readAttributeValue(mapEntry);
+        return applyForAttributeValue(readAttributeValue(mapEntry));
+    }
+
+    /**
+     * Evaluates this predicate for every value of the given column one by one
+     * and marks the matching positions.
+     */
+    void applyForEachValue(AttributeColumn column) {
+        for (int i = 0; i < column.size(); i++) {
+            if (applyForAttributeValue(column.getValue(i))) {
+                column.setMatch(i);
+            }
+        }
+    }
+
+    /**
+     * Matches the primitive values of the given column against the given
+     * already converted bounds, a {@code null} bound means the range is
+     * unbounded on that side.
+     * <p>
+     * The comparison follows {@link com.hazelcast.query.impl.Comparables#compare}: long values are
+     * compared as longs, double values as in {@link Double#compare}.
+     *
+     * @return {@code true} if the column was evaluated, {@code false} if the
+     * column or the bounds have no suitable primitive representation.
+     */
+    static boolean applyRangeToPrimitives(AttributeColumn column, Comparable from, boolean fromInclusive,
+                                          Comparable to, boolean toInclusive) {
+        if (column.isLongColumn()) {
+            if (!isLongBound(from) || !isLongBound(to)) {
+                return false;
+            }
+            applyRangeToLongs(column, from, fromInclusive, to, toInclusive);
+            return true;
+        } else if (column.isDoubleColumn()) {
+            Class valueClass = column.getValueClass();
+            if (!isBoundOfClass(from, valueClass) || !isBoundOfClass(to, valueClass)) {
+                return false;
+            }
+            applyRangeToDoubles(column, from, fromInclusive, to, toInclusive);
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isLongBound(Comparable bound) {
+        return bound == null || isLongRepresentable(bound.getClass());
+    }
+
+    private static boolean isBoundOfClass(Comparable bound, Class valueClass) {
+        return bound == null || bound.getClass() == valueClass;
+    }
+
+    private static void applyRangeToLongs(AttributeColumn column, Comparable from, boolean fromInclusive,
+                                          Comparable to, boolean toInclusive) {
+        // a missing bound is the inclusive extreme of the long range
+        long lower = from == null ? Long.MIN_VALUE : ((Number) from).longValue();
+        long upper = to == null ? Long.MAX_VALUE : ((Number) to).longValue();
+        boolean lowerInclusive = from == null || fromInclusive;
+        boolean upperInclusive = to == null || toInclusive;
+        for (int i = 0; i < column.size(); i++) {
+            long value = column.getLong(i);
+            boolean aboveLower = lowerInclusive ? value >= lower : value > lower;
+            boolean belowUpper = upperInclusive ? value <= upper : value < upper;
+            if (aboveLower && belowUpper) {
+                column.setMatch(i);
+            }
+        }
+    }
+
+    private static void applyRangeToDoubles(AttributeColumn column, Comparable from, boolean fromInclusive,
+                                            Comparable to, boolean toInclusive) {
+        // there is no inclusive extreme for doubles since NaN is above the infinity
+        boolean hasFrom = from != null;
+        boolean hasTo = to != null;
+        double lower = hasFrom ? ((Number) from).doubleValue() : 0;
+        double upper = hasTo ? ((Number) to).doubleValue() : 0;
+        for (int i = 0; i < column.size(); i++) {
+            double value = column.getDouble(i);
+            int lowerOrder = hasFrom ? Double.compare(value, lower) : 1;
+            int upperOrder = hasTo ? Double.compare(value, upper) : -1;
+            boolean aboveLower = fromInclusive ? lowerOrder >= 0 : lowerOrder > 0;
+            boolean belowUpper = toInclusive ? upperOrder <= 0 : upperOrder < 0;
+            if (aboveLower && belowUpper) {
+                column.setMatch(i);
+            }
+        }
+    }
+
+    private boolean applyForAttributeValue(Object attributeValue) {
         if (attributeValue instanceof MultiResult) {
             return applyForMultiResult((MultiResult) attributeValue);
         } else if (attributeValue instanceof Collection || attributeValue instanceof Object[]) {
@@ -22,6 +22,8 @@ import com.hazelcast.nio.serialization.BinaryInterface;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.impl.AndResultSet;
+import com.hazelcast.query.impl.BitmapResultSet;
+import com.hazelcast.query.impl.IndexStatistics;
 import com.hazelcast.query.impl.Indexes;
 import com.hazelcast.query.impl.QueryContext;
 import com.hazelcast.query.impl.QueryableEntry;
@@ -29,6 +31,7 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -46,6 +49,14 @@ public final class AndPredicate
 
     private static final long serialVersionUID = 1L;
 
+    /**
+     * An indexed sub-predicate expected to match more than this fraction of
+     * the entries filters out too little to pay for fetching and probing its
+     * index result. Unless it's the most selective sub-predicate, it's
+     * evaluated directly on the candidate entries instead.
+     */
+    private static final double UNSELECTIVE_PREDICATE_THRESHOLD = 0.5;
+
     protected Predicate[] predicates;
 
     public AndPredicate() {
@@ -68,35 +79,84 @@ public final class AndPredicate
 
     @Override
     public Set<QueryableEntry> filter(QueryContext queryContext) {
-        Set<QueryableEntry> smallestResultSet = null;
-        List<Set<QueryableEntry>> otherResultSets = null;
+        List<EstimatedPredicate> indexedPredicates = null;
         List<Predicate> unindexedPredicates = null;
 
         for (Predicate predicate : predicates) {
             if (isIndexedPredicate(predicate, queryContext)) {
-                Set<QueryableEntry> currentResultSet = ((IndexAwarePredicate) predicate).filter(queryContext);
-                if (smallestResultSet == null) {
-                    smallestResultSet = currentResultSet;
-                } else if (estimatedSizeOf(currentResultSet) < estimatedSizeOf(smallestResultSet)) {
-                    otherResultSets = initOrGetListOf(otherResultSets);
-                    otherResultSets.add(smallestResultSet);
-                    smallestResultSet = currentResultSet;
-                } else {
-                    otherResultSets = initOrGetListOf(otherResultSets);
-                    otherResultSets.add(currentResultSet);
-                }
+                indexedPredicates = initOrGetListOf(indexedPredicates);
+                indexedPredicates.add(new EstimatedPredicate((IndexAwarePredicate) predicate, queryContext));
             } else {
                 unindexedPredicates = initOrGetListOf(unindexedPredicates);
                 unindexedPredicates.add(predicate);
             }
         }
 
-        if (smallestResultSet == null) {
+        if (indexedPredicates == null) {
             return null;
         }
+
+        // The most selective predicate drives the evaluation, other indexed
+        // predicates are probed in the order of their selectivity. Predicates
+        // matching most of the entries are just evaluated on the candidates.
+        indexedPredicates.sort(EstimatedPredicate.BY_SELECTIVITY);
+        List<Set<QueryableEntry>> resultSets = new LinkedList<Set<QueryableEntry>>();
+        for (EstimatedPredicate indexedPredicate : indexedPredicates) {
+            if (resultSets.isEmpty() || !indexedPredicate.isUnselective(queryContext)) {
+                resultSets.add(indexedPredicate.predicate.filter(queryContext));
+            } else {
+                unindexedPredicates = initOrGetListOf(unindexedPredicates);
+                unindexedPredicates.add(indexedPredicate.predicate);
+            }
+        }
+        return intersect(resultSets, unindexedPredicates);
+    }
+
+    private static Set<QueryableEntry> intersect(List<Set<QueryableEntry>> resultSets, List<Predicate> unindexedPredicates) {
+        resultSets = intersectBitmapResultSets(resultSets);
+        if (resultSets.size() == 1 && unindexedPredicates == null && resultSets.get(0) instanceof BitmapResultSet) {
+            return resultSets.get(0);
+        }
+
+        Set<QueryableEntry> smallestResultSet = null;
+        List<Set<QueryableEntry>> otherResultSets = null;
+        for (Set<QueryableEntry> currentResultSet : resultSets) {
+            if (smallestResultSet == null) {
+                smallestResultSet = currentResultSet;
+            } else if (estimatedSizeOf(currentResultSet) < estimatedSizeOf(smallestResultSet)) {
+                otherResultSets = initOrGetListOf(otherResultSets);
+                otherResultSets.add(0, smallestResultSet);
+                smallestResultSet = currentResultSet;
+            } else {
+                otherResultSets = initOrGetListOf(otherResultSets);
+                otherResultSets.add(currentResultSet);
+            }
+        }
         return new AndResultSet(smallestResultSet, otherResultSets, unindexedPredicates);
     }
 
+    /**
+     * Intersects the results of bitmap indexes with bitwise operations, so
+     * they are not probed entry by entry.
+     */
+    private static List<Set<QueryableEntry>> intersectBitmapResultSets(List<Set<QueryableEntry>> resultSets) {
+        BitmapResultSet intersection = null;
+        List<Set<QueryableEntry>> result = new LinkedList<Set<QueryableEntry>>();
+        for (Set<QueryableEntry> resultSet : resultSets) {
+            if (resultSet instanceof BitmapResultSet
+                    && (intersection == null || intersection.isCombinableWith((BitmapResultSet) resultSet))) {
+                BitmapResultSet bitmapResultSet = (BitmapResultSet) resultSet;
+                intersection = intersection == null ? bitmapResultSet : intersection.and(bitmapResultSet);
+            } else {
+                result.add(resultSet);
+            }
+        }
+        if (intersection != null) {
+            result.add(intersection);
+        }
+        return result;
+    }
+
     private static boolean isIndexedPredicate(Predicate predicate, QueryContext queryContext) {
         return predicate instanceof IndexAwarePredicate && ((IndexAwarePredicate) predicate).isIndexed(queryContext);
     }
@@ -121,6 +181,26 @@ public final class AndPredicate
         return false;
     }
 
+    /**
+     * Estimates the selectivity of this predicate as a product of the
+     * selectivities of its indexed sub-predicates, that is assuming the
+     * attributes are independent. Sub-predicates which can't be estimated are
+     * assumed to match all the entries.
+     */
+    @Override
+    public double estimateSelectivity(QueryContext queryContext) {
+        double selectivity = IndexStatistics.UNKNOWN_SELECTIVITY;
+        for (Predicate predicate : predicates) {
+            if (isIndexedPredicate(predicate, queryContext)) {
+                double predicateSelectivity = ((IndexAwarePredicate) predicate).estimateSelectivity(queryContext);
+                if (predicateSelectivity >= 0.0) {
+                    selectivity = selectivity < 0.0 ? predicateSelectivity : selectivity * predicateSelectivity;
+                }
+            }
+        }
+        return selectivity;
+    }
+
     @Override
     public boolean apply(Map.Entry mapEntry) {
         for (Predicate predicate : predicates) {
@@ -236,4 +316,39 @@ public final class AndPredicate
     public int hashCode() {
         return Arrays.hashCode(predicates);
     }
+
+    /**
+     * An indexed sub-predicate along with its estimated selectivity. When
+     * ordered by selectivity, sub-predicates which can't be estimated are
+     * placed as if they had a selectivity right at the
+     * {@link #UNSELECTIVE_PREDICATE_THRESHOLD threshold}, but they are never
+     * considered unselective. Neither are predicates backed by bitmap indexes.
+     */
+    private static final class EstimatedPredicate {
+
+        static final Comparator<EstimatedPredicate> BY_SELECTIVITY =
+                Comparator.comparingDouble(EstimatedPredicate::orderingSelectivity);
+
+        final IndexAwarePredicate predicate;
+        final double selectivity;
+
+        EstimatedPredicate(IndexAwarePredicate predicate, QueryContext queryContext) {
+            this.predicate = predicate;
+            this.selectivity = predicate.estimateSelectivity(queryContext);
+        }
+
+        boolean isUnselective(QueryContext queryContext) {
+            if (selectivity <= UNSELECTIVE_PREDICATE_THRESHOLD) {
+                return false;
+            }
+            // bitmap results are intersected without touching the entries
+            return !(predicate instanceof AbstractIndexAwarePredicate
+                    && ((AbstractIndexAwarePredicate) predicate).matchBitmapIndex(queryContext) != null);
+        }
+
+        double orderingSelectivity() {
+            return selectivity < 0.0 ? UNSELECTIVE_PREDICATE_THRESHOLD : selectivity;
+        }
+
+    }
 }
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.query.QueryException;
+import com.hazelcast.query.impl.Comparables;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.TypeConverters;
+import com.hazelcast.query.impl.getters.ReflectionHelper;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.Map;
+
+import static com.hazelcast.internal.serialization.impl.FactoryIdHelper.PREDICATE_DS_FACTORY_ID;
+import static com.hazelcast.query.QueryConstants.KEY_ATTRIBUTE_NAME;
+import static com.hazelcast.query.impl.predicates.PredicateUtils.canonicalizeAttribute;
+import static com.hazelcast.util.Preconditions.checkHasText;
+
+/**
+ * Orders map entries by the value of a single attribute. Entries having
+ * {@code null} attribute values go before (or after, if the order is
+ * descending) any other entries.
+ * <p>
+ * Unlike arbitrary comparators, this one is understood by the query engine:
+ * if a {@link com.hazelcast.query.PagingPredicate paging predicate} uses it
+ * and the attribute is covered by a sorted index, members read their part of
+ * the page directly from the index in order instead of fetching and sorting
+ * all the matching entries.
+ * <p>
+ * Values are compared in the same way sorted indexes compare them: numbers of
+ * different types are compared by their numeric values and enums are compared
+ * by their names.
+ *
+ * @param <K> the entry key type
+ * @param <V> the entry value type
+ */
+public class AttributeComparator<K, V> implements Comparator<Map.Entry<K, V>>, IdentifiedDataSerializable {
+
+    private static final String KEY_ATTRIBUTE_PREFIX = KEY_ATTRIBUTE_NAME.value() + ".";
+
+    private String attribute;
+    private boolean descending;
+
+    public AttributeComparator() {
+    }
+
+    public AttributeComparator(String attribute, boolean descending) {
+        this.attribute = canonicalizeAttribute(checkHasText(attribute, "attribute must not be empty"));
+        this.descending = descending;
+    }
+
+    /**
+     * @return the canonical name of the attribute the entries are ordered by.
+     */
+    public String getAttribute() {
+        return attribute;
+    }
+
+    /**
+     * @return {@code true} if the entries are ordered in the descending order
+     * of the attribute values, {@code false} otherwise.
+     */
+    public boolean isDescending() {
+        return descending;
+    }
+
+    @Override
+    public int compare(Map.Entry<K, V> entry1, Map.Entry<K, V> entry2) {
+        int order = compareValues(readAttribute(entry1), readAttribute(entry2));
+        return descending ? -order : order;
+    }
+
+    /**
+     * Reads the attribute value of the given entry in the form it's compared
+     * by this comparator.
+     *
+     * @param entry the entry to read the attribute value of.
+     * @return the read value, may be {@code null}.
+     * @throws IllegalArgumentException if the attribute value is not
+     *                                  {@link Comparable}.
+     * @throws QueryException           if the attribute can't be read.
+     */
+    public Comparable readAttribute(Map.Entry<K, V> entry) {
+        Object value;
+        if (entry instanceof QueryableEntry) {
+            value = ((QueryableEntry) entry).getAttributeValue(attribute);
+        } else {
+            value = extractAttribute(entry);
+        }
+
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof Comparable)) {
+            throw new IllegalArgumentException("Not comparable " + value);
+        }
+        Comparable comparable = (Comparable) value;
+        return comparable.getClass().isEnum() ? TypeConverters.ENUM_CONVERTER.convert(comparable) : comparable;
+    }
+
+    private Object extractAttribute(Map.Entry<K, V> entry) {
+        Object target = entry.getValue();
+        String path = attribute;
+        if (KEY_ATTRIBUTE_NAME.value().equals(attribute)) {
+            return entry.getKey();
+        } else if (attribute.startsWith(KEY_ATTRIBUTE_PREFIX)) {
+            target = entry.getKey();
+            path = attribute.substring(KEY_ATTRIBUTE_PREFIX.length());
+        }
+
+        if (target == null) {
+            return null;
+        }
+        try {
+            return ReflectionHelper.extractValue(target, path);
+        } catch (QueryException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new QueryException(e);
+        }
+    }
+
+    private static int compareValues(Comparable value1, Comparable value2) {
+        if (value1 == null) {
+            return value2 == null ? 0 : -1;
+        }
+        if (value2 == null) {
+            return 1;
+        }
+        return Comparables.compare(value1, value2);
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(attribute);
+        out.writeBoolean(descending);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        attribute = in.readUTF();
+        descending = in.readBoolean();
+    }
+
+    @Override
+    public int getFactoryId() {
+        return PREDICATE_DS_FACTORY_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return PredicateDataSerializerHook.ATTRIBUTE_COMPARATOR;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        AttributeComparator<?, ?> that = (AttributeComparator<?, ?>) o;
+        return descending == that.descending && attribute.equals(that.attribute);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * attribute.hashCode() + (descending ? 1 : 0);
+    }
+
+    @Override
+    public String toString() {
+        return attribute + (descending ? " DESC" : " ASC");
+    }
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.AttributeColumn;
+
+/**
+ * Predicates can implement this interface if they act on a single attribute
+ * and are able to evaluate a whole batch of its values at once.
+ * <p>
+ * Used by the partition scan to avoid the per-entry predicate dispatch.
+ */
+public interface BatchEvaluablePredicate extends Predicate {
+
+    /**
+     * @return the attribute on which this predicate acts.
+     */
+    String getAttribute();
+
+    /**
+     * Evaluates this predicate for all the values of the given column and
+     * marks the matching positions via {@link AttributeColumn#setMatch}.
+     *
+     * @param column the column of the attribute values to evaluate.
+     */
+    void applyBatch(AttributeColumn column);
+}
@@ -20,8 +20,10 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.BinaryInterface;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.AttributeColumn;
 import com.hazelcast.query.impl.Comparables;
 import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.IndexStatistics;
 import com.hazelcast.query.impl.Indexes;
 import com.hazelcast.query.impl.QueryContext;
 import com.hazelcast.query.impl.QueryableEntry;
@@ -33,7 +35,8 @@ import java.util.Set;
  * Between Predicate
  */
 @BinaryInterface
-public class BetweenPredicate extends AbstractIndexAwarePredicate implements VisitablePredicate, RangePredicate {
+public class BetweenPredicate extends AbstractIndexAwarePredicate implements VisitablePredicate, RangePredicate,
+        BatchEvaluablePredicate {
 
     private static final long serialVersionUID = 1L;
 
@@ -67,12 +70,32 @@ public class BetweenPredicate extends AbstractIndexAwarePredicate implements Vis
                 && Comparables.compare(attributeValue, toConvertedValue) <= 0;
     }
 
+    @Override
+    public void applyBatch(AttributeColumn column) {
+        if (column.isLongColumn() || column.isDoubleColumn()) {
+            Comparable firstValue = (Comparable) column.getValue(0);
+            Comparable fromConvertedValue = convert(firstValue, from);
+            Comparable toConvertedValue = convert(firstValue, to);
+            if (fromConvertedValue != null && toConvertedValue != null
+                    && applyRangeToPrimitives(column, fromConvertedValue, true, toConvertedValue, true)) {
+                return;
+            }
+        }
+        applyForEachValue(column);
+    }
+
     @Override
     public Set<QueryableEntry> filter(QueryContext queryContext) {
         Index index = matchIndex(queryContext, QueryContext.IndexMatchHint.PREFER_ORDERED);
         return index.getRecords(from, true, to, true);
     }
 
+    @Override
+    public double estimateSelectivity(QueryContext queryContext) {
+        IndexStatistics statistics = matchIndexStatistics(queryContext, QueryContext.IndexMatchHint.PREFER_ORDERED);
+        return statistics == null ? IndexStatistics.UNKNOWN_SELECTIVITY : statistics.estimateRangeSelectivity();
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         super.writeData(out);
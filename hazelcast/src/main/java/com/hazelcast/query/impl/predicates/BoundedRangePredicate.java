@@ -18,6 +18,7 @@ package com.hazelcast.query.impl.predicates;
 
 import com.hazelcast.query.impl.Comparables;
 import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.IndexStatistics;
 import com.hazelcast.query.impl.QueryContext;
 import com.hazelcast.query.impl.QueryableEntry;
 
@@ -70,6 +71,12 @@ public class BoundedRangePredicate extends AbstractIndexAwarePredicate implement
         return index.getRecords(from, fromInclusive, to, toInclusive);
     }
 
+    @Override
+    public double estimateSelectivity(QueryContext queryContext) {
+        IndexStatistics statistics = matchIndexStatistics(queryContext, QueryContext.IndexMatchHint.PREFER_ORDERED);
+        return statistics == null ? IndexStatistics.UNKNOWN_SELECTIVITY : statistics.estimateRangeSelectivity();
+    }
+
     @Override
     protected boolean applyForSingleAttributeValue(Comparable value) {
         if (value == null) {
@@ -19,6 +19,7 @@ package com.hazelcast.query.impl.predicates;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.impl.CompositeValue;
 import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.IndexStatistics;
 import com.hazelcast.query.impl.InternalIndex;
 import com.hazelcast.query.impl.QueryContext;
 import com.hazelcast.query.impl.QueryableEntry;
@@ -85,6 +86,13 @@ public class CompositeEqualPredicate implements IndexAwarePredicate {
         return index.getRecords(value);
     }
 
+    @Override
+    public double estimateSelectivity(QueryContext queryContext) {
+        Index index = queryContext.matchIndex(indexName, QueryContext.IndexMatchHint.EXACT_NAME);
+        IndexStatistics statistics = index == null ? null : index.getStatistics();
+        return statistics == null ? IndexStatistics.UNKNOWN_SELECTIVITY : statistics.estimateEqualSelectivity();
+    }
+
     @Override
     public String toString() {
         return Arrays.toString(components) + " = " + value;
@@ -19,6 +19,7 @@ package com.hazelcast.query.impl.predicates;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.impl.CompositeValue;
 import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.IndexStatistics;
 import com.hazelcast.query.impl.InternalIndex;
 import com.hazelcast.query.impl.QueryContext;
 import com.hazelcast.query.impl.QueryableEntry;
@@ -120,6 +121,13 @@ public class CompositeRangePredicate implements IndexAwarePredicate {
         return index.getRecords(from, fromInclusive, to, toInclusive);
     }
 
+    @Override
+    public double estimateSelectivity(QueryContext queryContext) {
+        Index index = queryContext.matchIndex(indexName, QueryContext.IndexMatchHint.EXACT_NAME);
+        IndexStatistics statistics = index == null ? null : index.getStatistics();
+        return statistics == null ? IndexStatistics.UNKNOWN_SELECTIVITY : statistics.estimateRangeSelectivity();
+    }
+
     @Override
     public boolean isIndexed(QueryContext queryContext) {
         return true;
@@ -20,8 +20,10 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.BinaryInterface;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.AttributeColumn;
 import com.hazelcast.query.impl.Comparables;
 import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.IndexStatistics;
 import com.hazelcast.query.impl.QueryContext;
 import com.hazelcast.query.impl.QueryableEntry;
 
@@ -35,7 +37,8 @@ import static com.hazelcast.query.impl.predicates.PredicateUtils.isNull;
  * Equal Predicate
  */
 @BinaryInterface
-public class EqualPredicate extends AbstractIndexAwarePredicate implements NegatablePredicate, RangePredicate {
+public class EqualPredicate extends AbstractIndexAwarePredicate implements NegatablePredicate, RangePredicate,
+        BatchEvaluablePredicate {
 
     private static final long serialVersionUID = 1L;
 
@@ -59,6 +62,12 @@ public class EqualPredicate extends AbstractIndexAwarePredicate implements Negat
         return index.getRecords(value);
     }
 
+    @Override
+    public double estimateSelectivity(QueryContext queryContext) {
+        IndexStatistics statistics = matchIndexStatistics(queryContext, QueryContext.IndexMatchHint.PREFER_UNORDERED);
+        return statistics == null ? IndexStatistics.UNKNOWN_SELECTIVITY : statistics.estimateEqualSelectivity();
+    }
+
     protected boolean applyForSingleAttributeValue(Comparable attributeValue) {
         if (attributeValue == null) {
             return isNull(value);
@@ -68,6 +77,18 @@ public class EqualPredicate extends AbstractIndexAwarePredicate implements Negat
         return Comparables.equal(attributeValue, value);
     }
 
+    @Override
+    public void applyBatch(AttributeColumn column) {
+        if (column.isLongColumn() || column.isDoubleColumn()) {
+            value = convert((Comparable) column.getValue(0), value);
+            // null is a value to match here rather than a missing bound
+            if (value != null && applyRangeToPrimitives(column, value, true, value, true)) {
+                return;
+            }
+        }
+        applyForEachValue(column);
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         super.writeData(out);
@@ -58,6 +58,11 @@ public class FalsePredicate<K, V> implements IdentifiedDataSerializable, IndexAw
         return Collections.emptySet();
     }
 
+    @Override
+    public double estimateSelectivity(QueryContext queryContext) {
+        return 0.0;
+    }
+
     @Override
     public boolean isIndexed(QueryContext queryContext) {
         return true;
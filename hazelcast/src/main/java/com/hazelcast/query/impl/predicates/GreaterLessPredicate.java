@@ -20,9 +20,11 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.BinaryInterface;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.AttributeColumn;
 import com.hazelcast.query.impl.Comparables;
 import com.hazelcast.query.impl.Comparison;
 import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.IndexStatistics;
 import com.hazelcast.query.impl.QueryContext;
 import com.hazelcast.query.impl.QueryableEntry;
 
@@ -33,7 +35,8 @@ import java.util.Set;
  * Greater Less Predicate
  */
 @BinaryInterface
-public final class GreaterLessPredicate extends AbstractIndexAwarePredicate implements NegatablePredicate, RangePredicate {
+public final class GreaterLessPredicate extends AbstractIndexAwarePredicate implements NegatablePredicate, RangePredicate,
+        BatchEvaluablePredicate {
 
     private static final long serialVersionUID = 1L;
 
@@ -67,6 +70,23 @@ public final class GreaterLessPredicate extends AbstractIndexAwarePredicate impl
         return equal && result == 0 || (less ? (result < 0) : (result > 0));
     }
 
+    @Override
+    public void applyBatch(AttributeColumn column) {
+        if (column.isLongColumn() || column.isDoubleColumn()) {
+            Comparable givenValue = convert((Comparable) column.getValue(0), value);
+            if (givenValue != null && applyRangeToPrimitives(column, givenValue)) {
+                return;
+            }
+        }
+        applyForEachValue(column);
+    }
+
+    private boolean applyRangeToPrimitives(AttributeColumn column, Comparable givenValue) {
+        return less
+                ? applyRangeToPrimitives(column, null, false, givenValue, equal)
+                : applyRangeToPrimitives(column, givenValue, equal, null, false);
+    }
+
     @Override
     public Set<QueryableEntry> filter(QueryContext queryContext) {
         Index index = matchIndex(queryContext, QueryContext.IndexMatchHint.PREFER_ORDERED);
@@ -79,6 +99,12 @@ public final class GreaterLessPredicate extends AbstractIndexAwarePredicate impl
         return index.getRecords(comparison, value);
     }
 
+    @Override
+    public double estimateSelectivity(QueryContext queryContext) {
+        IndexStatistics statistics = matchIndexStatistics(queryContext, QueryContext.IndexMatchHint.PREFER_ORDERED);
+        return statistics == null ? IndexStatistics.UNKNOWN_SELECTIVITY : statistics.estimateRangeSelectivity();
+    }
+
     @Override
     public void readData(ObjectDataInput in) throws IOException {
         super.readData(in);
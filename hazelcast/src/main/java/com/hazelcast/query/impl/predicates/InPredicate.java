@@ -19,8 +19,10 @@ package com.hazelcast.query.impl.predicates;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.BinaryInterface;
+import com.hazelcast.query.impl.AttributeColumn;
 import com.hazelcast.query.impl.Comparables;
 import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.IndexStatistics;
 import com.hazelcast.query.impl.QueryContext;
 import com.hazelcast.query.impl.QueryableEntry;
 
@@ -34,12 +36,13 @@ import static com.hazelcast.util.SetUtil.createHashSet;
  * In Predicate
  */
 @BinaryInterface
-public class InPredicate extends AbstractIndexAwarePredicate {
+public class InPredicate extends AbstractIndexAwarePredicate implements BatchEvaluablePredicate {
 
     private static final long serialVersionUID = 1L;
 
     Comparable[] values;
     private transient volatile Set<Comparable> convertedInValues;
+    private transient volatile long[] sortedLongInValues;
 
     public InPredicate() {
     }
@@ -59,6 +62,35 @@ public class InPredicate extends AbstractIndexAwarePredicate {
             return false;
         }
         attributeValue = (Comparable) convertEnumValue(attributeValue);
+        Set<Comparable> set = getConvertedInValues(attributeValue);
+        return set.contains(Comparables.canonicalizeForHashLookup(attributeValue));
+    }
+
+    @Override
+    public void applyBatch(AttributeColumn column) {
+        if (!column.isLongColumn()) {
+            applyForEachValue(column);
+            return;
+        }
+
+        long[] sortedValues = sortedLongInValues;
+        if (sortedValues == null) {
+            sortedValues = toSortedLongs(getConvertedInValues((Comparable) column.getValue(0)));
+            sortedLongInValues = sortedValues;
+        }
+        for (int i = 0; i < column.size(); i++) {
+            if (Arrays.binarySearch(sortedValues, column.getLong(i)) >= 0) {
+                column.setMatch(i);
+            }
+        }
+    }
+
+    @Override
+    public String getAttribute() {
+        return attributeName;
+    }
+
+    private Set<Comparable> getConvertedInValues(Comparable attributeValue) {
         Set<Comparable> set = convertedInValues;
         if (set == null) {
             set = createHashSet(values.length);
@@ -68,7 +100,24 @@ public class InPredicate extends AbstractIndexAwarePredicate {
             }
             convertedInValues = set;
         }
-        return set.contains(Comparables.canonicalizeForHashLookup(attributeValue));
+        return set;
+    }
+
+    /**
+     * Whole numbers are canonicalized to longs, so only the long members of
+     * the set can ever match a long-representable attribute value.
+     */
+    private static long[] toSortedLongs(Set<Comparable> canonicalValues) {
+        long[] longs = new long[canonicalValues.size()];
+        int count = 0;
+        for (Comparable value : canonicalValues) {
+            if (value instanceof Long) {
+                longs[count++] = (Long) value;
+            }
+        }
+        longs = Arrays.copyOf(longs, count);
+        Arrays.sort(longs);
+        return longs;
     }
 
     @Override
@@ -81,6 +130,12 @@ public class InPredicate extends AbstractIndexAwarePredicate {
         }
     }
 
+    @Override
+    public double estimateSelectivity(QueryContext queryContext) {
+        IndexStatistics statistics = matchIndexStatistics(queryContext, QueryContext.IndexMatchHint.PREFER_UNORDERED);
+        return statistics == null ? IndexStatistics.UNKNOWN_SELECTIVITY : statistics.estimateInSelectivity(values.length);
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         super.writeData(out);
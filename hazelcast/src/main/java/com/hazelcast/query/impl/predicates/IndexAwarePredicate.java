@@ -18,6 +18,7 @@ package com.hazelcast.query.impl.predicates;
 
 import com.hazelcast.nio.serialization.BinaryInterface;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.IndexStatistics;
 import com.hazelcast.query.impl.QueryContext;
 import com.hazelcast.query.impl.QueryableEntry;
 
@@ -76,4 +77,22 @@ public interface IndexAwarePredicate<K, V> extends Predicate<K, V> {
      * speed up the processing, {@code false} otherwise.
      */
     boolean isIndexed(QueryContext queryContext);
+
+    /**
+     * Estimates the fraction of the entries matching this predicate using the
+     * statistics of the indexes available in the given query context. The
+     * estimate is used by the query planner to order the evaluation of
+     * the children of an {@link AndPredicate}.
+     * <p>
+     * Invoked only if this predicate {@link #isIndexed is indexed}.
+     *
+     * @param queryContext the query context to consult for the available
+     *                     indexes.
+     * @return the estimated selectivity in the range from 0 to 1 or {@link
+     * IndexStatistics#UNKNOWN_SELECTIVITY} if the selectivity can't be
+     * estimated.
+     */
+    default double estimateSelectivity(QueryContext queryContext) {
+        return IndexStatistics.UNKNOWN_SELECTIVITY;
+    }
 }
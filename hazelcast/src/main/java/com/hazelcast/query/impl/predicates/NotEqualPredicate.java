@@ -21,10 +21,16 @@ import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.BinaryInterface;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.impl.Comparables;
+import com.hazelcast.query.impl.Comparison;
+import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.IndexStatistics;
+import com.hazelcast.query.impl.QueryContext;
+import com.hazelcast.query.impl.QueryableEntry;
 
 import java.io.IOException;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import static com.hazelcast.query.impl.predicates.PredicateUtils.isNull;
 
@@ -32,7 +38,7 @@ import static com.hazelcast.query.impl.predicates.PredicateUtils.isNull;
  * Not Equal Predicate
  */
 @BinaryInterface
-public class NotEqualPredicate extends AbstractPredicate implements NegatablePredicate {
+public class NotEqualPredicate extends AbstractIndexAwarePredicate implements NegatablePredicate {
 
     private static final long serialVersionUID = 1L;
 
@@ -46,6 +52,29 @@ public class NotEqualPredicate extends AbstractPredicate implements NegatablePre
         this.value = value;
     }
 
+    @Override
+    public Set<QueryableEntry> filter(QueryContext queryContext) {
+        Index index = matchBitmapIndex(queryContext);
+        return index.getRecords(Comparison.NOT_EQUAL, value);
+    }
+
+    @Override
+    public double estimateSelectivity(QueryContext queryContext) {
+        Index index = matchBitmapIndex(queryContext);
+        IndexStatistics statistics = index == null ? null : index.getStatistics();
+        return statistics == null ? IndexStatistics.UNKNOWN_SELECTIVITY : statistics.estimateNotEqualSelectivity();
+    }
+
+    /**
+     * Tells whether this predicate can be evaluated using an index. Only
+     * bitmap indexes are used, for other index types evaluating a negation
+     * would cost about the same as a full scan.
+     */
+    @Override
+    public boolean isIndexed(QueryContext queryContext) {
+        return matchBitmapIndex(queryContext) != null;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public boolean apply(Map.Entry mapEntry) {
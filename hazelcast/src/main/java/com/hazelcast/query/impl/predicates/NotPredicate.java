@@ -21,10 +21,16 @@ import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.BinaryInterface;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.BitmapResultSet;
+import com.hazelcast.query.impl.IndexStatistics;
 import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.QueryContext;
+import com.hazelcast.query.impl.QueryableEntry;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
 
 import static com.hazelcast.internal.serialization.impl.FactoryIdHelper.PREDICATE_DS_FACTORY_ID;
 
@@ -33,7 +39,7 @@ import static com.hazelcast.internal.serialization.impl.FactoryIdHelper.PREDICAT
  */
 @BinaryInterface
 public final class NotPredicate
-        implements Predicate, VisitablePredicate, NegatablePredicate, IdentifiedDataSerializable {
+        implements IndexAwarePredicate, VisitablePredicate, NegatablePredicate, IdentifiedDataSerializable {
 
     private static final long serialVersionUID = 1L;
 
@@ -51,6 +57,37 @@ public final class NotPredicate
         return !predicate.apply(mapEntry);
     }
 
+    @Override
+    public Set<QueryableEntry> filter(QueryContext queryContext) {
+        Set<QueryableEntry> result = ((IndexAwarePredicate) predicate).filter(queryContext);
+        if (result instanceof BitmapResultSet) {
+            return ((BitmapResultSet) result).complement();
+        }
+        // the index has no converter yet, it has never seen any entries
+        assert result.isEmpty();
+        return Collections.emptySet();
+    }
+
+    /**
+     * Tells whether this predicate can be evaluated using an index: that's
+     * the case if the negated predicate is on a single attribute having a
+     * bitmap index, the result of the negated predicate is complemented then.
+     */
+    @Override
+    public boolean isIndexed(QueryContext queryContext) {
+        if (!(predicate instanceof AbstractIndexAwarePredicate)) {
+            return false;
+        }
+        AbstractIndexAwarePredicate indexAwarePredicate = (AbstractIndexAwarePredicate) predicate;
+        return indexAwarePredicate.matchBitmapIndex(queryContext) != null && indexAwarePredicate.isIndexed(queryContext);
+    }
+
+    @Override
+    public double estimateSelectivity(QueryContext queryContext) {
+        double selectivity = ((IndexAwarePredicate) predicate).estimateSelectivity(queryContext);
+        return selectivity < 0.0 ? IndexStatistics.UNKNOWN_SELECTIVITY : 1.0 - selectivity;
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         out.writeObject(predicate);
@@ -21,6 +21,8 @@ import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.BinaryInterface;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.BitmapResultSet;
+import com.hazelcast.query.impl.IndexStatistics;
 import com.hazelcast.query.impl.Indexes;
 import com.hazelcast.query.impl.OrResultSet;
 import com.hazelcast.query.impl.QueryContext;
@@ -70,7 +72,35 @@ public final class OrPredicate
                 }
             }
         }
-        return indexedResults.isEmpty() ? null : new OrResultSet(indexedResults);
+        if (indexedResults.isEmpty()) {
+            return null;
+        }
+        indexedResults = uniteBitmapResultSets(indexedResults);
+        if (indexedResults.size() == 1 && indexedResults.get(0) instanceof BitmapResultSet) {
+            return indexedResults.get(0);
+        }
+        return new OrResultSet(indexedResults);
+    }
+
+    /**
+     * Unites the results of bitmap indexes with bitwise operations, so the
+     * entries matched by several of them are not deduplicated one by one.
+     */
+    private static List<Set<QueryableEntry>> uniteBitmapResultSets(List<Set<QueryableEntry>> resultSets) {
+        BitmapResultSet union = null;
+        List<Set<QueryableEntry>> result = new LinkedList<Set<QueryableEntry>>();
+        for (Set<QueryableEntry> resultSet : resultSets) {
+            if (resultSet instanceof BitmapResultSet && (union == null || union.isCombinableWith((BitmapResultSet) resultSet))) {
+                BitmapResultSet bitmapResultSet = (BitmapResultSet) resultSet;
+                union = union == null ? bitmapResultSet : union.or(bitmapResultSet);
+            } else {
+                result.add(resultSet);
+            }
+        }
+        if (union != null) {
+            result.add(union);
+        }
+        return result;
     }
 
     @Override
@@ -88,6 +118,24 @@ public final class OrPredicate
         return true;
     }
 
+    /**
+     * Estimates the selectivity of this predicate assuming its sub-predicates
+     * are independent, the estimate is unknown if any of the sub-predicates
+     * can't be estimated.
+     */
+    @Override
+    public double estimateSelectivity(QueryContext queryContext) {
+        double nonMatchingFraction = 1.0;
+        for (Predicate predicate : predicates) {
+            double predicateSelectivity = ((IndexAwarePredicate) predicate).estimateSelectivity(queryContext);
+            if (predicateSelectivity < 0.0) {
+                return IndexStatistics.UNKNOWN_SELECTIVITY;
+            }
+            nonMatchingFraction *= 1.0 - predicateSelectivity;
+        }
+        return 1.0 - nonMatchingFraction;
+    }
+
     @Override
     public boolean apply(Map.Entry mapEntry) {
         for (Predicate predicate : predicates) {
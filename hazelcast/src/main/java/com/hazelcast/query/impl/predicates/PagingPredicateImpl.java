@@ -22,6 +22,9 @@ import com.hazelcast.nio.serialization.BinaryInterface;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.AbstractIndex;
+import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.IndexStatistics;
 import com.hazelcast.query.impl.QueryContext;
 import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.util.IterationType;
@@ -31,6 +34,7 @@ import java.io.IOException;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -49,6 +53,9 @@ public class PagingPredicateImpl<K, V> implements PagingPredicate<K, V>, IndexAw
 
     private static final Map.Entry<Integer, Map.Entry> NULL_ANCHOR = new SimpleImmutableEntry(-1, null);
 
+    private static final Comparator<QueryableEntry> KEY_HASH_COMPARATOR =
+            (entry1, entry2) -> Integer.compare(entry1.getKey().hashCode(), entry2.getKey().hashCode());
+
     private List<Map.Entry<Integer, Map.Entry<K, V>>> anchorList;
     private Predicate<K, V> predicate;
     private Comparator<Map.Entry<K, V>> comparator;
@@ -139,15 +146,17 @@ public class PagingPredicateImpl<K, V> implements PagingPredicate<K, V>, IndexAw
     }
 
     /**
-     * Used if inner predicate is instanceof {@link IndexAwarePredicate} for filtering.
+     * Used if inner predicate is instanceof {@link IndexAwarePredicate} for filtering
+     * or if the results can be read in order from a sorted index.
      *
      * @param queryContext
      * @return
      */
     @Override
     public Set<QueryableEntry<K, V>> filter(QueryContext queryContext) {
-        if (!(predicate instanceof IndexAwarePredicate)) {
-            return null;
+        if (!isInnerPredicateIndexed(queryContext)) {
+            Index orderingIndex = matchOrderingIndex(queryContext);
+            return orderingIndex == null ? null : filterInIndexOrder(orderingIndex);
         }
 
         Set<QueryableEntry<K, V>> set = ((IndexAwarePredicate<K, V>) predicate).filter(queryContext);
@@ -167,18 +176,98 @@ public class PagingPredicateImpl<K, V> implements PagingPredicate<K, V>, IndexAw
         return new LinkedHashSet<QueryableEntry<K, V>>(sortedSubList);
     }
 
-
     /**
-     * Used if inner predicate is instanceof {@link IndexAwarePredicate} for checking if indexed.
+     * Used if inner predicate is instanceof {@link IndexAwarePredicate} for checking if indexed
+     * or if the results can be read in order from a sorted index.
      *
      * @param queryContext
      * @return
      */
     public boolean isIndexed(QueryContext queryContext) {
-        if (predicate instanceof IndexAwarePredicate) {
-            return ((IndexAwarePredicate) predicate).isIndexed(queryContext);
+        return isInnerPredicateIndexed(queryContext) || matchOrderingIndex(queryContext) != null;
+    }
+
+    /**
+     * Estimated by the inner predicate if it's indexed, pages read in order
+     * from a sorted index touch only the entries they return, so there is
+     * nothing to estimate for them.
+     */
+    @Override
+    public double estimateSelectivity(QueryContext queryContext) {
+        if (isInnerPredicateIndexed(queryContext)) {
+            return ((IndexAwarePredicate) predicate).estimateSelectivity(queryContext);
+        }
+        return IndexStatistics.UNKNOWN_SELECTIVITY;
+    }
+
+    private boolean isInnerPredicateIndexed(QueryContext queryContext) {
+        return predicate instanceof IndexAwarePredicate && ((IndexAwarePredicate) predicate).isIndexed(queryContext);
+    }
+
+    /**
+     * Matches a sorted index able to produce the entries in the order
+     * defined by the comparator, that is possible only for {@link
+     * AttributeComparator attribute comparators}.
+     */
+    private Index matchOrderingIndex(QueryContext queryContext) {
+        if (!(comparator instanceof AttributeComparator)) {
+            return null;
+        }
+
+        String attribute = ((AttributeComparator) comparator).getAttribute();
+        Index index = queryContext.matchIndex(attribute, QueryContext.IndexMatchHint.PREFER_ORDERED);
+        if (index == null || !index.isOrdered() || index.getComponents() != null) {
+            return null;
+        }
+        return index;
+    }
+
+    /**
+     * Reads the entries from the given sorted index in the order of the
+     * comparator starting at the nearest anchor and stops as soon as enough
+     * entries to fill up the requested page are collected. Entries sharing the
+     * same attribute value are ordered by their key hashes, the same way
+     * {@link SortingUtil} breaks the ties.
+     */
+    @SuppressWarnings("unchecked")
+    private Set<QueryableEntry<K, V>> filterInIndexOrder(Index index) {
+        AttributeComparator<K, V> attributeComparator = (AttributeComparator<K, V>) comparator;
+        Map.Entry<Integer, Map.Entry> nearestAnchorEntry = getNearestAnchorEntry();
+        Map.Entry<K, V> anchor = nearestAnchorEntry.getValue();
+
+        Comparable from = null;
+        if (anchor != null) {
+            from = attributeComparator.readAttribute(anchor);
+            from = from == null ? AbstractIndex.NULL : from;
+        }
+        Iterator<Set<QueryableEntry>> groups = index.getSortedRecords(from, attributeComparator.isDescending());
+        if (groups == null) {
+            return null;
+        }
+
+        long limit = pageSize * ((long) page - nearestAnchorEntry.getKey());
+        Set<QueryableEntry<K, V>> result = new LinkedHashSet<QueryableEntry<K, V>>();
+        boolean pastAnchor = anchor == null;
+        while (result.size() < limit && groups.hasNext()) {
+            List<QueryableEntry<K, V>> group = new ArrayList<QueryableEntry<K, V>>((Set) groups.next());
+            group.sort(KEY_HASH_COMPARATOR);
+            for (QueryableEntry<K, V> entry : group) {
+                if (!pastAnchor) {
+                    // once an entry goes after the anchor, all further entries do too
+                    pastAnchor = SortingUtil.compareAnchor(this, entry, nearestAnchorEntry);
+                    if (!pastAnchor) {
+                        continue;
+                    }
+                }
+                if (apply(entry)) {
+                    result.add(entry);
+                    if (result.size() == limit) {
+                        break;
+                    }
+                }
+            }
         }
-        return false;
+        return result;
     }
 
     /**
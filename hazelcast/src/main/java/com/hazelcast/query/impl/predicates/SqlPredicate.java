@@ -108,6 +108,11 @@ public class SqlPredicate
         return ((IndexAwarePredicate) predicate).filter(queryContext);
     }
 
+    @Override
+    public double estimateSelectivity(QueryContext queryContext) {
+        return ((IndexAwarePredicate) predicate).estimateSelectivity(queryContext);
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         out.writeUTF(sql);
@@ -16,6 +16,7 @@
 
 package com.hazelcast.spi.impl;
 
+import com.hazelcast.spi.partition.ChunkedMigrationAwareService;
 import com.hazelcast.spi.partition.FragmentedMigrationAwareService;
 import com.hazelcast.spi.partition.MigrationAwareService;
 import com.hazelcast.spi.partition.PartitionMigrationEvent;
@@ -24,13 +25,15 @@ import com.hazelcast.spi.impl.operationservice.Operation;
 import com.hazelcast.internal.services.ServiceNamespace;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A {@link MigrationAwareService} that delegates to another {@link MigrationAwareService} and keeps track of the number of
  * migrations concerning the partition owner (either as current or new replica index) currently in-flight.
  */
-public class CountingMigrationAwareService implements FragmentedMigrationAwareService {
+public class CountingMigrationAwareService implements ChunkedMigrationAwareService {
 
     static final int PRIMARY_REPLICA_INDEX = 0;
     static final int IN_FLIGHT_MIGRATION_STAMP = -1;
@@ -68,6 +71,18 @@ public class CountingMigrationAwareService implements FragmentedMigrationAwareSe
         return migrationAwareService.prepareReplicationOperation(event, namespaces);
     }
 
+    @Override
+    public Iterator<Operation> prepareReplicationChunks(PartitionReplicationEvent event, ServiceNamespace namespace,
+                                                        int maxChunkSize) {
+        if (migrationAwareService instanceof ChunkedMigrationAwareService) {
+            return ((ChunkedMigrationAwareService) migrationAwareService)
+                    .prepareReplicationChunks(event, namespace, maxChunkSize);
+        }
+        Operation operation = migrationAwareService.prepareReplicationOperation(event, Collections.singleton(namespace));
+        return operation != null
+                ? Collections.singleton(operation).iterator() : Collections.<Operation>emptyIterator();
+    }
+
     @Override
     public void beforeMigration(PartitionMigrationEvent event) {
         if (isPrimaryReplicaMigrationEvent(event)) {
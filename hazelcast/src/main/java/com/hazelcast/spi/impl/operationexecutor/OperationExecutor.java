@@ -16,6 +16,7 @@
 
 package com.hazelcast.spi.impl.operationexecutor;
 
+import com.hazelcast.internal.networking.nio.NioThread;
 import com.hazelcast.nio.Packet;
 import com.hazelcast.spi.impl.operationservice.LiveOperationsTracker;
 import com.hazelcast.spi.impl.operationservice.Operation;
@@ -195,6 +196,14 @@ public interface OperationExecutor extends Consumer<Packet>, LiveOperationsTrack
      */
     int getPartitionThreadId(int partitionId);
 
+    /**
+     * Returns the threads owning the partitions in the thread-per-core mode.
+     * The networking uses them as its input threads, so that partition
+     * operations run on the thread that decoded them. In the classic mode
+     * the returned array is empty.
+     */
+    NioThread[] getPartitionLoops();
+
     /**
      * Starts this OperationExecutor.
      */
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.impl;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.concurrent.MPSCQueue;
+import com.hazelcast.internal.util.counters.MwCounter;
+import com.hazelcast.internal.util.counters.SwCounter;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
+import static com.hazelcast.util.Preconditions.checkNotNegative;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
+
+/**
+ * An {@link OperationQueue} for a single consumer thread which drains the
+ * normal tasks in batches and idles adaptively.
+ * <p>
+ * Instead of taking the tasks one by one, the consumer moves up to
+ * {@code batchSize} tasks at once from the {@link MPSCQueue} into a local
+ * array and serves the next takes from that array. The priority queue is
+ * still checked before every task, so priority tasks never wait for a batch
+ * to complete.
+ * <p>
+ * When there is no work the consumer first busy-spins, then yields and only
+ * then parks. A producer only pays for an unpark when the consumer is
+ * actually parked, so under load the handoff doesn't involve any system
+ * call at all.
+ * <p>
+ * The priority-only take polls only the priority queue and idles the same
+ * way until a priority task arrives. Normal tasks already drained into the
+ * batch stay there for the next normal take.
+ */
+public final class BatchingOperationQueue implements OperationQueue {
+
+    private final MPSCQueue<Object> normalQueue = new MPSCQueue<Object>(null);
+    private final Queue<Object> priorityQueue = new ConcurrentLinkedQueue<Object>();
+    private final long maxSpins;
+    private final long maxYields;
+
+    // only accessed by the consumer thread
+    private final Object[] batch;
+    private int batchIndex;
+    private int batchLength;
+
+    // the number of tasks in the batch which haven't been taken yet
+    private final AtomicInteger batchRemaining = new AtomicInteger();
+    private volatile boolean parked;
+    private Thread consumerThread;
+
+    @Probe
+    private final SwCounter batchCount = newSwCounter();
+    @Probe
+    private final SwCounter batchedTaskCount = newSwCounter();
+    @Probe
+    private final SwCounter idleCount = newSwCounter();
+    @Probe
+    private final SwCounter idleTimeNanos = newSwCounter();
+    @Probe
+    private final SwCounter parkCount = newSwCounter();
+    @Probe
+    private final MwCounter wakeupCount = newMwCounter();
+
+    /**
+     * @param batchSize the maximum number of normal tasks drained at once
+     * @param maxSpins  the number of busy spins before the consumer starts to yield
+     * @param maxYields the number of yields before the consumer parks
+     */
+    public BatchingOperationQueue(int batchSize, long maxSpins, long maxYields) {
+        this.batch = new Object[checkPositive(batchSize, "batchSize should be positive")];
+        this.maxSpins = checkNotNegative(maxSpins, "maxSpins can't be negative");
+        this.maxYields = checkNotNegative(maxYields, "maxYields can't be negative");
+    }
+
+    /**
+     * Sets the consumer thread. Should be called before the queue is
+     * published to the producers.
+     *
+     * @param consumerThread the thread taking the tasks
+     */
+    public void setConsumerThread(Thread consumerThread) {
+        this.consumerThread = checkNotNull(consumerThread, "consumerThread can't be null");
+    }
+
+    @Probe
+    @Override
+    public int normalSize() {
+        return normalQueue.size() + batchRemaining.get();
+    }
+
+    @Probe
+    @Override
+    public int prioritySize() {
+        return priorityQueue.size();
+    }
+
+    @Override
+    public int size() {
+        return normalSize() + prioritySize();
+    }
+
+    @Override
+    public void add(Object task, boolean priority) {
+        checkNotNull(task, "task can't be null");
+
+        if (priority) {
+            priorityQueue.add(task);
+        } else {
+            normalQueue.offer(task);
+        }
+
+        if (parked) {
+            wakeupCount.inc();
+            LockSupport.unpark(consumerThread);
+        }
+    }
+
+    @Override
+    public Object take(boolean priorityOnly) throws InterruptedException {
+        if (priorityOnly) {
+            return takePriority();
+        }
+
+        for (; ; ) {
+            Object priorityItem = priorityQueue.poll();
+            if (priorityItem != null) {
+                return priorityItem;
+            }
+
+            if (batchIndex < batchLength) {
+                Object item = batch[batchIndex];
+                batch[batchIndex++] = null;
+                batchRemaining.lazySet(batchLength - batchIndex);
+                return item;
+            }
+
+            if (drainBatch() == 0) {
+                idle(false);
+            }
+        }
+    }
+
+    private Object takePriority() throws InterruptedException {
+        for (; ; ) {
+            Object priorityItem = priorityQueue.poll();
+            if (priorityItem != null) {
+                return priorityItem;
+            }
+
+            idle(true);
+        }
+    }
+
+    private int drainBatch() {
+        int length = 0;
+        while (length < batch.length) {
+            Object item = normalQueue.poll();
+            if (item == null) {
+                break;
+            }
+            batch[length++] = item;
+        }
+
+        batchIndex = 0;
+        batchLength = length;
+        if (length > 0) {
+            batchRemaining.lazySet(length);
+            batchCount.inc();
+            batchedTaskCount.inc(length);
+        }
+        return length;
+    }
+
+    private void idle(boolean priorityOnly) throws InterruptedException {
+        long startNanos = System.nanoTime();
+        idleCount.inc();
+        try {
+            for (long iteration = 0; isEmpty(priorityOnly); iteration++) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+
+                if (iteration < maxSpins) {
+                    continue;
+                } else if (iteration < maxSpins + maxYields) {
+                    Thread.yield();
+                    continue;
+                }
+
+                // the flag is written before the queues are checked again, and a
+                // producer checks the flag after its add, so no wakeup gets lost
+                parked = true;
+                if (isEmpty(priorityOnly)) {
+                    parkCount.inc();
+                    LockSupport.park(this);
+                }
+                parked = false;
+            }
+        } finally {
+            idleTimeNanos.inc(System.nanoTime() - startNanos);
+        }
+    }
+
+    private boolean isEmpty(boolean priorityOnly) {
+        return priorityQueue.isEmpty() && (priorityOnly || normalQueue.isEmpty());
+    }
+}
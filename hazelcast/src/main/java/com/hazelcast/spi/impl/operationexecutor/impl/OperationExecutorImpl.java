@@ -20,6 +20,8 @@ import com.hazelcast.instance.impl.NodeExtension;
 import com.hazelcast.internal.metrics.MetricsProvider;
 import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.networking.ChannelErrorHandler;
+import com.hazelcast.internal.networking.nio.SelectorMode;
 import com.hazelcast.internal.util.concurrent.MPSCQueue;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.LoggingService;
@@ -35,6 +37,7 @@ import com.hazelcast.spi.impl.operationservice.Operation;
 import com.hazelcast.spi.impl.operationservice.PartitionTaskFactory;
 import com.hazelcast.spi.impl.operationservice.UrgentSystemOperation;
 import com.hazelcast.spi.impl.operationservice.impl.operations.Backup;
+import com.hazelcast.spi.properties.GroupProperty;
 import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.spi.properties.HazelcastProperty;
 import com.hazelcast.util.concurrent.IdleStrategy;
@@ -44,7 +47,9 @@ import java.util.BitSet;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 
+import static com.hazelcast.instance.impl.OutOfMemoryErrorDispatcher.inspectOutOfMemoryError;
 import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
+import static com.hazelcast.internal.networking.nio.SelectorMode.SELECT_NOW_STRING;
 import static com.hazelcast.spi.impl.operationservice.impl.InboundResponseHandlerSupplier.getIdleStrategy;
 import static com.hazelcast.spi.properties.GroupProperty.GENERIC_OPERATION_THREAD_COUNT;
 import static com.hazelcast.spi.properties.GroupProperty.PARTITION_COUNT;
@@ -52,6 +57,7 @@ import static com.hazelcast.spi.properties.GroupProperty.PARTITION_OPERATION_THR
 import static com.hazelcast.spi.properties.GroupProperty.PRIORITY_GENERIC_OPERATION_THREAD_COUNT;
 import static com.hazelcast.util.Preconditions.checkNotNull;
 import static com.hazelcast.util.ThreadUtil.createThreadPoolName;
+import static com.hazelcast.util.concurrent.BackoffIdleStrategy.createBackoffIdleStrategy;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
@@ -74,17 +80,54 @@ import static java.util.concurrent.TimeUnit.SECONDS;
  * specific to a partition, e.g. a heart beat.
  * </li>
  * </ol>
+ * In the opt-in {@link #THREAD_PER_CORE thread-per-core} mode there are no
+ * partition operation threads. The partitions are owned by {@link
+ * PartitionLoopThread}s, which also serve the IO of the connections, so
+ * packets decoded by the thread owning their partition execute without any
+ * cross-thread handoff.
  */
-@SuppressWarnings("checkstyle:methodcount")
+@SuppressWarnings({"checkstyle:methodcount", "checkstyle:classfanoutcomplexity"})
 public final class OperationExecutorImpl implements OperationExecutor, MetricsProvider {
+
+    /**
+     * Enables the thread-per-core execution mode. There is a single loop per
+     * partition thread (see {@link GroupProperty#PARTITION_OPERATION_THREAD_COUNT})
+     * which owns a set of partitions as well as the inbound pipelines of the
+     * member connections; the IO input thread count is not used. Since the
+     * operations run on the IO threads, operations blocking for a long time
+     * stall the connections and this mode should only be used for workloads of
+     * short non-blocking operations.
+     */
+    public static final HazelcastProperty THREAD_PER_CORE
+            = new HazelcastProperty("hazelcast.operation.threadpercore.enabled", false);
+
+    /**
+     * Makes the partition operation threads use a {@link BatchingOperationQueue},
+     * which drains the queued operations in batches and spins and yields before
+     * parking when it runs out of work. This lowers the handoff latency under
+     * load at the price of CPU time burnt while idle. When enabled, the
+     * {@code hazelcast.operation.partitionthread.idlestrategy} is not used.
+     */
+    public static final HazelcastProperty BATCHING_QUEUE
+            = new HazelcastProperty("hazelcast.operation.partitionthread.batching.enabled", false);
+
     private static final HazelcastProperty IDLE_STRATEGY
             = new HazelcastProperty("hazelcast.operation.partitionthread.idlestrategy", "block");
+    private static final HazelcastProperty BATCHING_QUEUE_BATCH_SIZE
+            = new HazelcastProperty("hazelcast.operation.partitionthread.batching.size", 64);
+    private static final HazelcastProperty BATCHING_QUEUE_MAX_SPINS
+            = new HazelcastProperty("hazelcast.operation.partitionthread.batching.spins", 1000);
+    private static final HazelcastProperty BATCHING_QUEUE_MAX_YIELDS
+            = new HazelcastProperty("hazelcast.operation.partitionthread.batching.yields", 100);
     private static final int TERMINATION_TIMEOUT_SECONDS = 3;
 
     private final ILogger logger;
 
     // all operations for specific partitions will be executed on these threads, e.g. map.put(key, value)
     private final PartitionOperationThread[] partitionThreads;
+    // in the thread-per-core mode these threads are used instead of the partitionThreads
+    private final PartitionLoopThread[] partitionLoops;
+    private final int partitionThreadCount;
     private final OperationRunner[] partitionOperationRunners;
 
     private final OperationQueue genericQueue
@@ -111,7 +154,14 @@ public final class OperationExecutorImpl implements OperationExecutor, MetricsPr
         this.adHocOperationRunner = runnerFactory.createAdHocRunner();
 
         this.partitionOperationRunners = initPartitionOperationRunners(properties, runnerFactory);
-        this.partitionThreads = initPartitionThreads(properties, hzName, nodeExtension, configClassLoader);
+        this.partitionThreadCount = properties.getInteger(PARTITION_OPERATION_THREAD_COUNT);
+        if (properties.getBoolean(THREAD_PER_CORE)) {
+            this.partitionThreads = new PartitionOperationThread[0];
+            this.partitionLoops = initPartitionLoops(hzName, nodeExtension, configClassLoader);
+        } else {
+            this.partitionThreads = initPartitionThreads(properties, hzName, nodeExtension, configClassLoader);
+            this.partitionLoops = new PartitionLoopThread[0];
+        }
 
         this.priorityThreadCount = properties.getInteger(PRIORITY_GENERIC_OPERATION_THREAD_COUNT);
         this.genericOperationRunners = initGenericOperationRunners(properties, runnerFactory);
@@ -142,20 +192,29 @@ public final class OperationExecutorImpl implements OperationExecutor, MetricsPr
 
         int threadCount = properties.getInteger(PARTITION_OPERATION_THREAD_COUNT);
 
+        boolean batching = properties.getBoolean(BATCHING_QUEUE);
         IdleStrategy idleStrategy = getIdleStrategy(properties, IDLE_STRATEGY);
         PartitionOperationThread[] threads = new PartitionOperationThread[threadCount];
         for (int threadId = 0; threadId < threads.length; threadId++) {
             String threadName = createThreadPoolName(hzName, "partition-operation") + threadId;
-            // the normalQueue will be a blocking queue. We don't want to idle, because there are many operation threads.
-            MPSCQueue<Object> normalQueue = new MPSCQueue<Object>(idleStrategy);
-
-            OperationQueue operationQueue = new OperationQueueImpl(normalQueue, new ConcurrentLinkedQueue<Object>());
-
-            PartitionOperationThread partitionThread = new PartitionOperationThread(threadName, threadId, operationQueue, logger,
-                    nodeExtension, partitionOperationRunners, configClassLoader);
-
+            PartitionOperationThread partitionThread;
+            if (batching) {
+                BatchingOperationQueue operationQueue = new BatchingOperationQueue(
+                        properties.getInteger(BATCHING_QUEUE_BATCH_SIZE),
+                        properties.getLong(BATCHING_QUEUE_MAX_SPINS),
+                        properties.getLong(BATCHING_QUEUE_MAX_YIELDS));
+                partitionThread = new PartitionOperationThread(threadName, threadId, operationQueue, logger,
+                        nodeExtension, partitionOperationRunners, configClassLoader);
+                operationQueue.setConsumerThread(partitionThread);
+            } else {
+                // the normalQueue will be a blocking queue. We don't want to idle, because there are many operation threads.
+                MPSCQueue<Object> normalQueue = new MPSCQueue<Object>(idleStrategy);
+                OperationQueue operationQueue = new OperationQueueImpl(normalQueue, new ConcurrentLinkedQueue<Object>());
+                partitionThread = new PartitionOperationThread(threadName, threadId, operationQueue, logger,
+                        nodeExtension, partitionOperationRunners, configClassLoader);
+                normalQueue.setConsumerThread(partitionThread);
+            }
             threads[threadId] = partitionThread;
-            normalQueue.setConsumerThread(partitionThread);
         }
 
         // we need to assign the PartitionOperationThreads to all OperationRunners they own
@@ -169,6 +228,31 @@ public final class OperationExecutorImpl implements OperationExecutor, MetricsPr
         return threads;
     }
 
+    private PartitionLoopThread[] initPartitionLoops(String hzName, NodeExtension nodeExtension,
+                                                     ClassLoader configClassLoader) {
+        String selectorModeString = SelectorMode.getConfiguredString();
+        IdleStrategy idleStrategy = selectorModeString.startsWith(SELECT_NOW_STRING + ",")
+                ? createBackoffIdleStrategy(selectorModeString) : null;
+        ChannelErrorHandler errorHandler = (channel, error) -> {
+            inspectOutOfMemoryError(error);
+            logger.severe(error);
+        };
+
+        PartitionLoopThread[] loops = new PartitionLoopThread[partitionThreadCount];
+        for (int threadId = 0; threadId < loops.length; threadId++) {
+            String threadName = createThreadPoolName(hzName, "partition-loop") + threadId;
+            loops[threadId] = new PartitionLoopThread(threadName, threadId, logger, errorHandler,
+                    SelectorMode.getConfiguredValue(), idleStrategy, nodeExtension, partitionOperationRunners,
+                    configClassLoader);
+        }
+
+        for (int partitionId = 0; partitionId < partitionOperationRunners.length; partitionId++) {
+            partitionOperationRunners[partitionId].setCurrentThread(loops[getPartitionThreadId(partitionId, loops.length)]);
+        }
+
+        return loops;
+    }
+
     static int getPartitionThreadId(int partitionId, int partitionThreadCount) {
         return partitionId % partitionThreadCount;
     }
@@ -209,11 +293,18 @@ public final class OperationExecutorImpl implements OperationExecutor, MetricsPr
 
         registry.collectMetrics((Object[]) genericThreads);
         registry.collectMetrics((Object[]) partitionThreads);
+        registry.collectMetrics((Object[]) partitionLoops);
         registry.collectMetrics(adHocOperationRunner);
         registry.collectMetrics((Object[]) genericOperationRunners);
         registry.collectMetrics((Object[]) partitionOperationRunners);
     }
 
+    @SuppressFBWarnings("EI_EXPOSE_REP")
+    @Override
+    public PartitionLoopThread[] getPartitionLoops() {
+        return partitionLoops;
+    }
+
     @SuppressFBWarnings("EI_EXPOSE_REP")
     @Override
     public OperationRunner[] getPartitionOperationRunners() {
@@ -319,7 +410,7 @@ public final class OperationExecutorImpl implements OperationExecutor, MetricsPr
     @Override
     @Probe
     public int getPartitionThreadCount() {
-        return partitionThreads.length;
+        return partitionThreadCount;
     }
 
     @Override
@@ -330,7 +421,7 @@ public final class OperationExecutorImpl implements OperationExecutor, MetricsPr
 
     @Override
     public int getPartitionThreadId(int partitionId) {
-        return getPartitionThreadId(partitionId, partitionThreads.length);
+        return getPartitionThreadId(partitionId, partitionThreadCount);
     }
 
     @Override
@@ -346,9 +437,12 @@ public final class OperationExecutorImpl implements OperationExecutor, MetricsPr
         checkNotNull(partitions, "partitions can't be null");
 
         for (PartitionOperationThread partitionThread : partitionThreads) {
-            TaskBatch batch = new TaskBatch(taskFactory, partitions, partitionThread.threadId, partitionThreads.length);
+            TaskBatch batch = new TaskBatch(taskFactory, partitions, partitionThread.threadId, partitionThreadCount);
             partitionThread.queue.add(batch, false);
         }
+        for (PartitionLoopThread partitionLoop : partitionLoops) {
+            partitionLoop.execute(new TaskBatch(taskFactory, partitions, partitionLoop.threadId, partitionThreadCount));
+        }
     }
 
     @Override
@@ -366,6 +460,9 @@ public final class OperationExecutorImpl implements OperationExecutor, MetricsPr
     private void execute(Object task, int partitionId, boolean priority) {
         if (partitionId < 0) {
             genericQueue.add(task, priority);
+        } else if (partitionLoops.length > 0) {
+            // the loops don't prioritize, the urgent tasks are queued like any other
+            partitionLoops[toPartitionThreadIndex(partitionId)].execute(task);
         } else {
             OperationThread partitionThread = partitionThreads[toPartitionThreadIndex(partitionId)];
             partitionThread.queue.add(task, priority);
@@ -379,6 +476,9 @@ public final class OperationExecutorImpl implements OperationExecutor, MetricsPr
         for (OperationThread partitionThread : partitionThreads) {
             partitionThread.queue.add(task, true);
         }
+        for (PartitionLoopThread partitionLoop : partitionLoops) {
+            partitionLoop.execute(task);
+        }
     }
 
     @Override
@@ -430,6 +530,12 @@ public final class OperationExecutorImpl implements OperationExecutor, MetricsPr
 
         Thread currentThread = Thread.currentThread();
 
+        // a partition loop runs the operations of its own partitions only
+        if (currentThread instanceof PartitionLoopThread) {
+            int partitionId = op.getPartitionId();
+            return partitionId >= 0 && toPartitionThreadIndex(partitionId) == ((PartitionLoopThread) currentThread).threadId;
+        }
+
         // IO threads are not allowed to run any operation
         if (currentThread instanceof OperationHostileThread) {
             return false;
@@ -459,6 +565,10 @@ public final class OperationExecutorImpl implements OperationExecutor, MetricsPr
 
         Thread currentThread = Thread.currentThread();
 
+        if (currentThread instanceof PartitionLoopThread) {
+            return isInvocationAllowed(op, isAsync, (PartitionLoopThread) currentThread);
+        }
+
         // IO threads are not allowed to run any operation
         if (currentThread instanceof OperationHostileThread) {
             return false;
@@ -490,17 +600,39 @@ public final class OperationExecutorImpl implements OperationExecutor, MetricsPr
         return toPartitionThreadIndex(op.getPartitionId()) == partitionThread.threadId;
     }
 
+    private boolean isInvocationAllowed(Operation op, boolean isAsync, PartitionLoopThread partitionLoop) {
+        if (isAsync || op.getPartitionId() < 0) {
+            return true;
+        }
+
+        OperationRunner runner = partitionLoop.currentRunner;
+        if (runner != null) {
+            // a nested call, the partitionId of both inner and outer operations have to match
+            return runner.getPartitionId() == op.getPartitionId();
+        }
+
+        return toPartitionThreadIndex(op.getPartitionId()) == partitionLoop.threadId;
+    }
+
     // public for testing purposes
     public int toPartitionThreadIndex(int partitionId) {
-        return partitionId % partitionThreads.length;
+        return partitionId % partitionThreadCount;
     }
 
     @Override
     public void start() {
-        logger.info("Starting " + partitionThreads.length + " partition threads and "
-                + genericThreads.length + " generic threads (" + priorityThreadCount + " dedicated for priority tasks)");
+        if (partitionLoops.length > 0) {
+            logger.info("Starting " + partitionLoops.length + " partition loop threads (thread-per-core mode) and "
+                    + genericThreads.length + " generic threads (" + priorityThreadCount + " dedicated for priority tasks)");
+        } else {
+            logger.info("Starting " + partitionThreads.length + " partition threads and "
+                    + genericThreads.length + " generic threads (" + priorityThreadCount + " dedicated for priority tasks)");
+        }
         startAll(partitionThreads);
         startAll(genericThreads);
+        for (PartitionLoopThread partitionLoop : partitionLoops) {
+            partitionLoop.start();
+        }
     }
 
     private static void startAll(OperationThread[] operationThreads) {
@@ -513,8 +645,18 @@ public final class OperationExecutorImpl implements OperationExecutor, MetricsPr
     public void shutdown() {
         shutdownAll(partitionThreads);
         shutdownAll(genericThreads);
+        for (PartitionLoopThread partitionLoop : partitionLoops) {
+            partitionLoop.shutdown();
+        }
         awaitTermination(partitionThreads);
         awaitTermination(genericThreads);
+        for (PartitionLoopThread partitionLoop : partitionLoops) {
+            try {
+                partitionLoop.join(SECONDS.toMillis(TERMINATION_TIMEOUT_SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
     }
 
     private static void shutdownAll(OperationThread[] operationThreads) {
@@ -188,6 +188,8 @@ public abstract class OperationThread extends HazelcastManagedThread implements
     @Override
     public void provideMetrics(MetricsRegistry registry) {
         registry.scanAndRegister(this, "operation.thread[" + getName() + "]");
+        // only queues exposing probes, e.g. the BatchingOperationQueue, register anything
+        registry.scanAndRegister(queue, "operation.thread[" + getName() + "].queue");
     }
 
     public final void shutdown() {
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.impl;
+
+import com.hazelcast.instance.impl.NodeExtension;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.networking.ChannelErrorHandler;
+import com.hazelcast.internal.networking.nio.NioThread;
+import com.hazelcast.internal.networking.nio.SelectorMode;
+import com.hazelcast.internal.util.counters.SwCounter;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.nio.Packet;
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
+import com.hazelcast.spi.impl.operationexecutor.OperationRunner;
+import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.util.concurrent.IdleStrategy;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import static com.hazelcast.instance.impl.OutOfMemoryErrorDispatcher.inspectOutOfMemoryError;
+import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
+
+/**
+ * The thread of the thread-per-core execution mode: a {@link NioThread}
+ * which also owns a set of partitions.
+ * <p>
+ * Besides processing the IO events of the channels it serves, this thread
+ * executes all operations for the partitions it owns. A task for an owned
+ * partition submitted by this thread itself, e.g. a packet it has just
+ * decoded, is executed inline without any handoff. Tasks submitted by other
+ * threads are added to the task queue of the thread and the selector is
+ * woken up.
+ * <p>
+ * Operations run in between the IO events, so a blocking operation stalls
+ * all the channels served by the thread.
+ */
+public final class PartitionLoopThread extends NioThread {
+
+    final int threadId;
+
+    // only accessed by this thread
+    OperationRunner currentRunner;
+
+    @Probe
+    private final SwCounter completedInlineCount = newSwCounter();
+    @Probe
+    private final SwCounter completedQueuedCount = newSwCounter();
+    @Probe
+    private final SwCounter errorCount = newSwCounter();
+
+    private final OperationRunner[] partitionOperationRunners;
+    private final NodeExtension nodeExtension;
+    private final ILogger logger;
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    @SuppressWarnings("checkstyle:parameternumber")
+    public PartitionLoopThread(String name,
+                               int threadId,
+                               ILogger logger,
+                               ChannelErrorHandler errorHandler,
+                               SelectorMode selectorMode,
+                               IdleStrategy idleStrategy,
+                               NodeExtension nodeExtension,
+                               OperationRunner[] partitionOperationRunners,
+                               ClassLoader configClassLoader) {
+        super(name, logger, errorHandler, selectorMode, idleStrategy);
+        setContextClassLoader(configClassLoader);
+        this.id = threadId;
+        this.threadId = threadId;
+        this.logger = logger;
+        this.nodeExtension = nodeExtension;
+        this.partitionOperationRunners = partitionOperationRunners;
+    }
+
+    public int getThreadId() {
+        return threadId;
+    }
+
+    /**
+     * Executes the given task on this thread. The task is either a {@link
+     * Packet}, an {@link Operation}, a {@link PartitionSpecificRunnable}, a
+     * {@link Runnable} or a {@link TaskBatch}.
+     * <p>
+     * The task runs inline if this method is called by this thread while no
+     * other task is running. Otherwise it's queued, so the tasks never nest.
+     */
+    void execute(Object task) {
+        if (Thread.currentThread() != this) {
+            addTaskAndWakeup(new QueuedTask(task));
+        } else if (currentRunner != null) {
+            addTask(new QueuedTask(task));
+        } else {
+            process(task);
+            completedInlineCount.inc();
+        }
+    }
+
+    @Override
+    public void run() {
+        nodeExtension.onThreadStart(this);
+        try {
+            super.run();
+        } finally {
+            nodeExtension.onThreadStop(this);
+        }
+    }
+
+    @SuppressWarnings("checkstyle:npathcomplexity")
+    private void process(Object task) {
+        try {
+            if (task.getClass() == Packet.class) {
+                Packet packet = (Packet) task;
+                currentRunner = partitionOperationRunners[packet.getPartitionId()];
+                currentRunner.run(packet);
+            } else if (task instanceof Operation) {
+                Operation operation = (Operation) task;
+                currentRunner = partitionOperationRunners[operation.getPartitionId()];
+                currentRunner.run(operation);
+            } else if (task instanceof PartitionSpecificRunnable) {
+                PartitionSpecificRunnable runnable = (PartitionSpecificRunnable) task;
+                currentRunner = partitionOperationRunners[runnable.getPartitionId()];
+                currentRunner.run(runnable);
+            } else if (task instanceof Runnable) {
+                ((Runnable) task).run();
+            } else if (task instanceof TaskBatch) {
+                process((TaskBatch) task);
+            } else {
+                throw new IllegalStateException("Unhandled task:" + task);
+            }
+        } catch (Throwable t) {
+            errorCount.inc();
+            inspectOutOfMemoryError(t);
+            logger.severe("Failed to process: " + task + " on: " + getName(), t);
+        } finally {
+            currentRunner = null;
+        }
+    }
+
+    private void process(TaskBatch batch) {
+        Object task = batch.next();
+        if (task == null) {
+            return;
+        }
+
+        try {
+            process(task);
+        } finally {
+            // requeued, so the other queued tasks interleave with the batch items
+            addTask(new QueuedTask(batch));
+        }
+    }
+
+    private final class QueuedTask implements Runnable {
+
+        private final Object task;
+
+        QueuedTask(Object task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            process(task);
+            completedQueuedCount.inc();
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf(task);
+        }
+    }
+}
@@ -23,6 +23,7 @@ import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Address;
 import com.hazelcast.spi.impl.operationservice.Operation;
 import com.hazelcast.spi.impl.operationservice.OperationFactory;
+import com.hazelcast.spi.impl.operationexecutor.impl.PartitionLoopThread;
 import com.hazelcast.spi.impl.operationexecutor.impl.PartitionOperationThread;
 import com.hazelcast.spi.impl.operationservice.impl.operations.PartitionAwareOperationFactory;
 import com.hazelcast.spi.impl.operationservice.impl.operations.PartitionIteratingOperation;
@@ -101,7 +102,8 @@ final class InvokeOnPartitions {
     }
 
     private void ensureNotCallingFromPartitionOperationThread() {
-        if (Thread.currentThread() instanceof PartitionOperationThread) {
+        Thread currentThread = Thread.currentThread();
+        if (currentThread instanceof PartitionOperationThread || currentThread instanceof PartitionLoopThread) {
             throw new IllegalThreadStateException(Thread.currentThread() + " cannot make invocation on multiple partitions!");
         }
     }
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.partition;
+
+import com.hazelcast.internal.services.ServiceNamespace;
+import com.hazelcast.spi.impl.operationservice.Operation;
+
+import java.util.Iterator;
+
+/**
+ * {@code ChunkedMigrationAwareService} is an extension to the {@link FragmentedMigrationAwareService} which allows
+ * the data of a single replica fragment to be migrated in multiple bounded chunks instead of a single operation.
+ * <p>
+ * Chunks of a namespace are created lazily on the partition thread of the migration source, one chunk per
+ * migration shot, and the partition thread is released between the chunks. They are executed on the
+ * destination in the order they are created. No other operation is executed on a migrating partition, so the
+ * replica data does not change between the chunks.
+ * <p>
+ * Chunked migration can be enabled/disabled using configuration property
+ * {@link com.hazelcast.spi.properties.GroupProperty#PARTITION_CHUNKED_MIGRATION_ENABLED}. It is used only
+ * when fragmented migration is enabled. Anti-entropy replication does not use chunks.
+ *
+ * @see FragmentedMigrationAwareService
+ */
+public interface ChunkedMigrationAwareService extends FragmentedMigrationAwareService {
+
+    /**
+     * Returns an iterator of operations replicating the data of the given namespace in chunks. Each chunk
+     * should carry approximately at most {@code maxChunkSize} bytes of data. The first operation must
+     * clear any stale state on the destination and the last one must complete the replication of the namespace,
+     * as a single operation returned from
+     * {@link #prepareReplicationOperation(PartitionReplicationEvent, java.util.Collection)} would.
+     * <p>
+     * The iterator is advanced on the partition thread of the migration source. Returning an empty iterator is
+     * allowed and means service does not have anything to replicate for the namespace.
+     *
+     * @param event        replication event
+     * @param namespace    replica fragment namespace to replicate
+     * @param maxChunkSize approximate upper bound in bytes of the data carried by a single chunk
+     * @return iterator of the chunk replication operations
+     */
+    Iterator<Operation> prepareReplicationChunks(PartitionReplicationEvent event, ServiceNamespace namespace,
+                                                 int maxChunkSize);
+}
@@ -435,6 +435,15 @@ public final class GroupProperty {
     public static final HazelcastProperty SOCKET_BUFFER_DIRECT
             = new HazelcastProperty("hazelcast.socket.buffer.direct", false);
 
+    /**
+     * The minimum payload size in kilobytes of a member to member packet for it to be written to the socket
+     * using a gathering write. The payload is then written straight from its byte-array instead of first being
+     * copied into the send buffer, which reduces the memory copying done by the io threads for large values.
+     * <p>
+     * The default is 0, which disables gathering writes.
+     */
+    public static final HazelcastProperty SOCKET_GATHERING_WRITE_THRESHOLD
+            = new HazelcastProperty("hazelcast.socket.gathering.write.threshold", 0);
 
     /**
      * Overrides receive buffer size for connections opened by clients.
@@ -710,6 +719,27 @@ public final class GroupProperty {
             = new HazelcastProperty("hazelcast.partition.migration.timeout", 300, SECONDS);
     public static final HazelcastProperty PARTITION_FRAGMENTED_MIGRATION_ENABLED
             = new HazelcastProperty("hazelcast.partition.migration.fragments.enabled", true);
+    /**
+     * Enables streaming the data of large replica fragments in bounded chunks during a migration.
+     * Only used when fragmented migration is enabled and only for services implementing
+     * {@link com.hazelcast.spi.partition.ChunkedMigrationAwareService}. The partition thread
+     * is released between the chunks.
+     */
+    public static final HazelcastProperty PARTITION_CHUNKED_MIGRATION_ENABLED
+            = new HazelcastProperty("hazelcast.partition.migration.chunks.enabled", true);
+    /**
+     * Approximate upper bound in bytes of the data carried by a single migration chunk.
+     * See {@link #PARTITION_CHUNKED_MIGRATION_ENABLED}.
+     */
+    public static final HazelcastProperty PARTITION_MIGRATION_CHUNK_SIZE
+            = new HazelcastProperty("hazelcast.partition.migration.chunk.size", 4 * 1024 * 1024);
+    /**
+     * Upper bound of the rate of partition migration data sent by a member, in megabytes per second.
+     * A migration fragment is sent only after the previously sent fragments fit into this budget.
+     * Zero or a negative value disables the limit.
+     */
+    public static final HazelcastProperty PARTITION_MIGRATION_MAX_BANDWIDTH_MB
+            = new HazelcastProperty("hazelcast.partition.migration.max.bandwidth.mb", 0);
     public static final HazelcastProperty DISABLE_STALE_READ_ON_PARTITION_MIGRATION
             = new HazelcastProperty("hazelcast.partition.migration.stale.read.disabled", false);
 
@@ -907,6 +937,18 @@ public final class GroupProperty {
     public static final HazelcastProperty QUERY_PREDICATE_PARALLEL_EVALUATION
             = new HazelcastProperty("hazelcast.query.predicate.parallel.evaluation", false);
 
+    /**
+     * Number of entries evaluated at once by a full partition scan.
+     * <p>
+     * Predicates acting on a single attribute, such as equal, greater/less, between and in, are evaluated over
+     * the attribute values extracted for the whole batch, which allows numeric attributes to be compared as
+     * primitives in a tight loop. Set to 0 to evaluate such predicates entry by entry.
+     * <p>
+     * The default is 1024.
+     */
+    public static final HazelcastProperty QUERY_PARTITION_SCAN_BATCH_SIZE
+            = new HazelcastProperty("hazelcast.query.partition.scan.batch.size", 1024);
+
     /**
      * Run aggregation accumulation for multiple entries in parallel.
      * <p>
@@ -1099,6 +1141,16 @@ public final class GroupProperty {
     public static final HazelcastProperty SEARCH_DYNAMIC_CONFIG_FIRST
             = new HazelcastProperty("hazelcast.data.search.dynamic.config.first.enabled", false);
 
+    /**
+     * Period in milliseconds to batch the Raft messages that the CP groups
+     * of a CP member send to the same target member. Messages collected
+     * within a period are sent in a single operation, and heartbeats of
+     * the CP groups are aligned to be sent in the same period. If it is 0,
+     * each Raft message is sent in a separate operation.
+     */
+    public static final HazelcastProperty CP_RAFT_MESSAGE_BATCH_TICK_MILLIS
+            = new HazelcastProperty("hazelcast.cp.raft.message.batch.tick.millis", 0, MILLISECONDS);
+
     private GroupProperty() {
     }
 }
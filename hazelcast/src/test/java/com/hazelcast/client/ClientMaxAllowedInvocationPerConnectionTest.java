@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client;
+
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.impl.connection.nio.ClientConnection;
+import com.hazelcast.client.properties.ClientProperty;
+import com.hazelcast.client.test.ClientTestSupport;
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.HazelcastOverloadException;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.core.IExecutorService;
+import com.hazelcast.map.IMap;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.Future;
+
+import static com.hazelcast.client.impl.clientside.ClientTestUtil.getHazelcastClientInstanceImpl;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ClientMaxAllowedInvocationPerConnectionTest extends ClientTestSupport {
+
+    private final TestHazelcastFactory hazelcastFactory = new TestHazelcastFactory();
+
+    @After
+    public void cleanup() {
+        hazelcastFactory.terminateAll();
+    }
+
+    @Test(expected = HazelcastOverloadException.class)
+    public void testMaxAllowed_whenNoCreditLeft() {
+        int maxAllowed = 5;
+        hazelcastFactory.newHazelcastInstance();
+        ClientConfig clientConfig = new ClientConfig();
+        clientConfig.setProperty(ClientProperty.MAX_CONCURRENT_INVOCATIONS_PER_CONNECTION.getName(),
+                String.valueOf(maxAllowed));
+        HazelcastInstance client = hazelcastFactory.newHazelcastClient(clientConfig);
+        IMap<Integer, Integer> map = client.getMap(randomString());
+
+        IExecutorService executorService = client.getExecutorService(randomString());
+        for (int i = 0; i < maxAllowed; i++) {
+            executorService.submit(new ClientMaxAllowedInvocationTest.SleepyProcessor(Integer.MAX_VALUE));
+        }
+
+        map.get(1);
+    }
+
+    @Test
+    public void testMaxAllowed_whenCreditReturned_thenWaitingInvocationCompletes() throws Exception {
+        HazelcastInstance member = hazelcastFactory.newHazelcastInstance();
+        ClientConfig clientConfig = new ClientConfig();
+        clientConfig.setProperty(ClientProperty.MAX_CONCURRENT_INVOCATIONS_PER_CONNECTION.getName(), "1");
+        clientConfig.setProperty(ClientProperty.BACKPRESSURE_BACKOFF_TIMEOUT_MILLIS.getName(), "60000");
+        HazelcastInstance client = hazelcastFactory.newHazelcastClient(clientConfig);
+        String mapName = randomString();
+        IMap<Integer, Integer> map = client.getMap(mapName);
+
+        // the put blocks on the member till the key is unlocked, so it keeps holding the credit
+        member.getMap(mapName).lock(1);
+        ICompletableFuture<Integer> blockedPut = map.putAsync(1, 1);
+        Future waitingPut = spawn(() -> map.put(2, 2));
+
+        assertTrueAllTheTime(() -> assertFalse(waitingPut.isDone()), 2);
+
+        member.getMap(mapName).unlock(1);
+        assertCompletesEventually(blockedPut);
+        assertCompletesEventually(waitingPut);
+        waitingPut.get();
+
+        assertEquals(2, map.size());
+        assertTrueEventually(() -> {
+            for (ClientConnection connection : getHazelcastClientInstanceImpl(client)
+                    .getConnectionManager().getActiveConnections()) {
+                assertEquals(0, connection.getPendingInvocations());
+            }
+        });
+    }
+
+    @Test
+    public void testMaxAllowed_whenDisabled_thenNoCreditsTaken() {
+        HazelcastInstance member = hazelcastFactory.newHazelcastInstance();
+        HazelcastInstance client = hazelcastFactory.newHazelcastClient();
+        String mapName = randomString();
+        IMap<Integer, Integer> map = client.getMap(mapName);
+
+        member.getMap(mapName).lock(1);
+        ICompletableFuture<Integer> blockedPut = map.putAsync(1, 1);
+        map.put(2, 2);
+
+        for (ClientConnection connection : getHazelcastClientInstanceImpl(client)
+                .getConnectionManager().getActiveConnections()) {
+            assertEquals(0, connection.getPendingInvocations());
+        }
+        member.getMap(mapName).unlock(1);
+        assertCompletesEventually(blockedPut);
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.proxy;
+
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.impl.clientside.HazelcastClientInstanceImpl;
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.map.IMap;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.impl.InternalCompletableFuture;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.client.impl.clientside.ClientTestUtil.getHazelcastClientInstanceImpl;
+import static com.hazelcast.client.properties.ClientProperty.MAP_REQUEST_COALESCING_MAX_BATCH_SIZE;
+import static com.hazelcast.client.properties.ClientProperty.MAP_REQUEST_COALESCING_WINDOW_MICROS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ClientMapRequestCoalescerTest extends HazelcastTestSupport {
+
+    private TestHazelcastFactory factory;
+    private HazelcastInstance member;
+
+    @Before
+    public void setup() {
+        factory = new TestHazelcastFactory();
+        member = factory.newHazelcastInstance();
+    }
+
+    @After
+    public void tearDown() {
+        factory.terminateAll();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenZeroWindow() {
+        new ClientMapRequestCoalescer("map", newClient(), 0, 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenZeroMaxBatchSize() {
+        new ClientMapRequestCoalescer("map", newClient(), 100, 0);
+    }
+
+    @Test
+    public void whenBatchFull_thenSentBeforeWindowExpires() {
+        HazelcastClientInstanceImpl client = newClient();
+        ClientMapRequestCoalescer coalescer
+                = new ClientMapRequestCoalescer("map", client, SECONDS.toMicros(5), 3);
+        String key1 = generateKeyForPartition(member, 1);
+        String key2 = generateKeyForPartition(member, 1);
+        String key3 = generateKeyForPartition(member, 1);
+        member.getMap("map").put(key1, "value1");
+        member.getMap("map").put(key3, "value3");
+
+        InternalCompletableFuture<Data> future1 = coalescer.get(toData(client, key1), 1);
+        InternalCompletableFuture<Data> future2 = coalescer.get(toData(client, key2), 1);
+        assertTrueAllTheTime(() -> {
+            assertFalse(future1.isDone());
+            assertFalse(future2.isDone());
+        }, 1);
+
+        InternalCompletableFuture<Data> future3 = coalescer.get(toData(client, key3), 1);
+
+        assertEquals("value1", toObject(client, future1.join()));
+        assertNull(future2.join());
+        assertEquals("value3", toObject(client, future3.join()));
+    }
+
+    @Test
+    public void whenWindowExpires_thenSent() {
+        HazelcastClientInstanceImpl client = newClient();
+        ClientMapRequestCoalescer coalescer
+                = new ClientMapRequestCoalescer("map", client, MILLISECONDS.toMicros(100), 100);
+        member.getMap("map").put("key", "value");
+        Data key = toData(client, "key");
+
+        InternalCompletableFuture<Data> future = coalescer.get(key, getPartitionId(member, "key"));
+
+        assertEquals("value", toObject(client, future.join()));
+    }
+
+    @Test
+    public void whenSet_thenValuesWrittenInOrder() {
+        HazelcastClientInstanceImpl client = newClient();
+        ClientMapRequestCoalescer coalescer
+                = new ClientMapRequestCoalescer("map", client, MILLISECONDS.toMicros(100), 100);
+        Data key = toData(client, "key");
+        int partitionId = getPartitionId(member, "key");
+
+        List<Future<Data>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(coalescer.set(key, toData(client, "value" + i), partitionId));
+        }
+        for (Future<Data> future : futures) {
+            assertCompletesEventually(future);
+        }
+
+        assertEquals("value9", member.getMap("map").get("key"));
+    }
+
+    @Test
+    public void testMapProxy_whenCoalescingEnabled() throws Exception {
+        ClientConfig config = new ClientConfig();
+        config.setProperty(MAP_REQUEST_COALESCING_WINDOW_MICROS.getName(), "200");
+        config.setProperty(MAP_REQUEST_COALESCING_MAX_BATCH_SIZE.getName(), "16");
+        IMap<Integer, Integer> map = factory.newHazelcastClient(config).getMap("map");
+
+        int threadCount = 8;
+        int keysPerThread = 200;
+        List<Future> futures = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            int offset = t * keysPerThread;
+            futures.add(spawn(() -> {
+                for (int k = offset; k < offset + keysPerThread; k++) {
+                    map.set(k, k);
+                    assertEquals(k, (int) map.get(k));
+                    assertNull(map.get(-k - 1));
+                }
+            }));
+        }
+        for (Future future : futures) {
+            future.get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, TimeUnit.SECONDS);
+        }
+
+        IMap<Integer, Integer> memberMap = member.getMap("map");
+        assertEquals(threadCount * keysPerThread, memberMap.size());
+    }
+
+    @Test
+    public void testMapProxy_whenSetWithTtl_thenNotCoalesced() {
+        ClientConfig config = new ClientConfig();
+        config.setProperty(MAP_REQUEST_COALESCING_WINDOW_MICROS.getName(), "200");
+        IMap<String, String> map = factory.newHazelcastClient(config).getMap("map");
+
+        map.set("key", "value", 1, TimeUnit.HOURS);
+
+        assertEquals("value", map.get("key"));
+        long expirationTime = member.getMap("map").getEntryView("key").getExpirationTime();
+        assertFalse(expirationTime == Long.MAX_VALUE);
+    }
+
+    private HazelcastClientInstanceImpl newClient() {
+        return getHazelcastClientInstanceImpl(factory.newHazelcastClient());
+    }
+
+    private static Data toData(HazelcastClientInstanceImpl client, Object object) {
+        InternalSerializationService serializationService = client.getSerializationService();
+        return serializationService.toData(object);
+    }
+
+    private static Object toObject(HazelcastClientInstanceImpl client, Data data) {
+        return client.getSerializationService().toObject(data);
+    }
+}
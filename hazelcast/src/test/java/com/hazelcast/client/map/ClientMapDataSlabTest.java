@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.map;
+
+import com.hazelcast.client.impl.clientside.HazelcastClientProxy;
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DataSlab;
+import com.hazelcast.map.IMap;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the client map operations which serialize their key and value
+ * into a pooled {@link DataSlab}.
+ */
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ClientMapDataSlabTest extends HazelcastTestSupport {
+
+    private final TestHazelcastFactory hazelcastFactory = new TestHazelcastFactory();
+
+    private InternalSerializationService serializationService;
+    private IMap<String, byte[]> map;
+
+    @Before
+    public void setup() {
+        hazelcastFactory.newHazelcastInstance();
+        HazelcastClientProxy client = (HazelcastClientProxy) hazelcastFactory.newHazelcastClient();
+        serializationService = client.getSerializationService();
+        map = client.getMap(randomMapName());
+    }
+
+    @After
+    public void tearDown() {
+        hazelcastFactory.terminateAll();
+    }
+
+    @Test
+    public void testKeyBasedOperations() {
+        // larger than the initial slab buffer, so the slab grows while the key view is in use
+        byte[] value = new byte[10000];
+        Arrays.fill(value, (byte) 1);
+
+        assertNull(map.put("key", value));
+        map.set("key2", value);
+
+        assertArrayEquals(value, map.get("key"));
+        assertArrayEquals(value, map.get("key2"));
+        assertTrue(map.containsKey("key"));
+        assertArrayEquals(value, map.remove("key"));
+        map.delete("key2");
+        assertFalse(map.containsKey("key2"));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testSlabIsReturnedToPool() {
+        DataSlab slab = serializationService.takeDataSlab();
+        serializationService.returnDataSlab(slab);
+
+        map.put("key", new byte[1]);
+        map.get("key");
+        map.containsKey("key");
+        map.remove("key");
+
+        assertSame(slab, serializationService.takeDataSlab());
+    }
+
+    @Test
+    public void testSlabIsReturnedToPool_whenSerializationFails() {
+        IMap<String, Object> objectMap = (IMap) map;
+        DataSlab slab = serializationService.takeDataSlab();
+        serializationService.returnDataSlab(slab);
+
+        try {
+            objectMap.put("key", new Object());
+            fail();
+        } catch (HazelcastSerializationException expected) {
+            ignore(expected);
+        }
+
+        assertSame(slab, serializationService.takeDataSlab());
+    }
+}
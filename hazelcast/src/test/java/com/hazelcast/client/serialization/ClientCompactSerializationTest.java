@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.serialization;
+
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.impl.clientside.HazelcastClientInstanceImpl;
+import com.hazelcast.client.impl.spi.impl.ClientSchemaService;
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.impl.compact.FieldKind;
+import com.hazelcast.internal.serialization.impl.compact.LocalSchemaService;
+import com.hazelcast.internal.serialization.impl.compact.Schema;
+import com.hazelcast.internal.serialization.impl.compact.CompactTestSupport.Address;
+import com.hazelcast.internal.serialization.impl.compact.CompactTestSupport.Employee;
+import com.hazelcast.map.IMap;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.spi.impl.operationexecutor.OperationHostileThread;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.hazelcast.client.impl.clientside.ClientTestUtil.getHazelcastClientInstanceImpl;
+import static com.hazelcast.internal.serialization.impl.compact.CompactTestSupport.compactSerializationConfig;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ClientCompactSerializationTest extends HazelcastTestSupport {
+
+    private final TestHazelcastFactory factory = new TestHazelcastFactory();
+
+    @After
+    public void tearDown() {
+        factory.terminateAll();
+    }
+
+    @Test
+    public void testPutFromClient_queryOnMember() {
+        HazelcastInstance member = factory.newHazelcastInstance(memberConfig());
+        HazelcastInstance client = factory.newHazelcastClient(clientConfig());
+
+        IMap<Integer, Employee> clientMap = client.getMap(randomMapName());
+        for (int i = 0; i < 20; i++) {
+            clientMap.put(i, employee(i));
+        }
+
+        IMap<Integer, Employee> memberMap = member.getMap(clientMap.getName());
+        assertEquals(employee(7), memberMap.get(7));
+        assertEquals(2, memberMap.keySet(Predicates.equal("address.zip", 7)).size());
+        assertEquals(2, clientMap.values(Predicates.equal("address.city", "city-3")).size());
+    }
+
+    @Test
+    public void testPutFromMember_readOnClient() {
+        HazelcastInstance member = factory.newHazelcastInstance(memberConfig());
+        HazelcastInstance client = factory.newHazelcastClient(clientConfig());
+
+        IMap<Integer, Employee> memberMap = member.getMap(randomMapName());
+        memberMap.put(1, employee(1));
+
+        IMap<Integer, Employee> clientMap = client.getMap(memberMap.getName());
+        assertEquals(employee(1), clientMap.get(1));
+    }
+
+    @Test
+    public void testSchemasAreResentAfterClusterRestart() {
+        HazelcastInstance member = factory.newHazelcastInstance(memberConfig());
+        HazelcastInstance client = factory.newHazelcastClient(clientConfig());
+        String mapName = randomMapName();
+        client.getMap(mapName).put(1, employee(1));
+
+        member.shutdown();
+        member = factory.newHazelcastInstance(memberConfig());
+        final IMap<Integer, Employee> clientMap = client.getMap(mapName);
+        assertTrueEventually(() -> clientMap.put(2, employee(2)));
+
+        assertEquals(employee(2), member.getMap(mapName).get(2));
+    }
+
+    @Test
+    public void testMissingSchemaIsFetchedInBackground_whenReadOnOperationHostileThread() throws Exception {
+        HazelcastInstance member = factory.newHazelcastInstance(memberConfig());
+        HazelcastInstance client = factory.newHazelcastClient(clientConfig());
+        final Schema schema = new Schema("missing", Collections.singletonMap("field", FieldKind.INT));
+        ((LocalSchemaService) getSerializationService(member).getCompactStreamSerializer().getSchemaService())
+                .putLocal(schema);
+        final ClientSchemaService schemaService = getHazelcastClientInstanceImpl(client).getSchemaService();
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+        Thread thread = new OperationHostileTestThread(() -> {
+            try {
+                schemaService.get(schema.getSchemaId());
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        thread.start();
+        thread.join();
+
+        assertInstanceOf(HazelcastSerializationException.class, failure.get());
+        assertTrueEventually(() -> assertEquals(schema, schemaService.getLocal(schema.getSchemaId())));
+        assertEquals(schema, schemaService.get(schema.getSchemaId()));
+    }
+
+    @Test
+    public void testSchemaIsSentInBackground_whenSerializedOnClient() {
+        HazelcastInstance member = factory.newHazelcastInstance(memberConfig());
+        HazelcastInstance client = factory.newHazelcastClient(clientConfig());
+        HazelcastClientInstanceImpl clientImpl = getHazelcastClientInstanceImpl(client);
+        final LocalSchemaService memberSchemaService
+                = (LocalSchemaService) getSerializationService(member).getCompactStreamSerializer().getSchemaService();
+
+        clientImpl.getSerializationService().toData(employee(1));
+
+        for (final Schema schema : clientImpl.getSchemaService().getSchemas()) {
+            assertTrueEventually(() -> assertEquals(schema, memberSchemaService.getLocal(schema.getSchemaId())));
+        }
+    }
+
+    private static Config memberConfig() {
+        Config config = smallInstanceConfig();
+        config.setSerializationConfig(compactSerializationConfig());
+        return config;
+    }
+
+    private static ClientConfig clientConfig() {
+        ClientConfig config = new ClientConfig();
+        config.setSerializationConfig(compactSerializationConfig());
+        return config;
+    }
+
+    private static Employee employee(int i) {
+        return new Employee(i, "name-" + i, i, i * 10.5, i % 2 == 0, new Address("city-" + i % 10, i % 10));
+    }
+
+    private static class OperationHostileTestThread extends Thread implements OperationHostileThread {
+
+        OperationHostileTestThread(Runnable task) {
+            super(task);
+        }
+    }
+}
@@ -654,6 +654,9 @@ public class ConfigCompatibilityChecker {
                             && r1.getMaxMissedLeaderHeartbeatCount() == r2.getMaxMissedLeaderHeartbeatCount()
                             && r1.getCommitIndexAdvanceCountToSnapshot() == r2.getCommitIndexAdvanceCountToSnapshot()
                             && r1.getAppendRequestBackoffTimeoutInMillis() == r2.getAppendRequestBackoffTimeoutInMillis()
+                            && r1.getAppendRequestMaxInFlightCount() == r2.getAppendRequestMaxInFlightCount()
+                            && r1.getLeaderLeaseTimeoutInMillis() == r2.getLeaderLeaseTimeoutInMillis()
+                            && r1.getLeaderLeaseSafetyMarginInMillis() == r2.getLeaderLeaseSafetyMarginInMillis()
                             && r1.getUncommittedEntryCountToRejectNewAppends() == r2.getUncommittedEntryCountToRejectNewAppends());
 
             if (!raftAlgorithmConfigEqual) {
@@ -1036,6 +1036,22 @@ public class ConfigXmlGeneratorTest {
         assertEquals(expectedConfig, actualConfig);
     }
 
+    @Test
+    public void testMapIndexConfigs() {
+        MapConfig expectedConfig = new MapConfig()
+                .setName("people")
+                .addMapIndexConfig(new MapIndexConfig("name", false))
+                .addMapIndexConfig(new MapIndexConfig("age", true))
+                .addMapIndexConfig(new MapIndexConfig("status", IndexType.BITMAP));
+
+        Config config = new Config()
+                .addMapConfig(expectedConfig);
+
+        Config xmlConfig = getNewConfigViaXMLGenerator(config);
+
+        assertEquals(expectedConfig.getMapIndexConfigs(), xmlConfig.getMapConfig("people").getMapIndexConfigs());
+    }
+
     @Test
     public void testMapNearCacheConfig() {
         NearCacheConfig expectedConfig = new NearCacheConfig()
@@ -1344,7 +1360,10 @@ public class ConfigXmlGeneratorTest {
                 .setAppendRequestMaxEntryCount(25)
                 .setAppendRequestMaxEntryCount(250)
                 .setUncommittedEntryCountToRejectNewAppends(75)
-                .setAppendRequestBackoffTimeoutInMillis(50);
+                .setAppendRequestBackoffTimeoutInMillis(50)
+                .setAppendRequestMaxInFlightCount(4)
+                .setLeaderLeaseTimeoutInMillis(250)
+                .setLeaderLeaseSafetyMarginInMillis(40);
 
         config.getCPSubsystemConfig()
                 .addSemaphoreConfig(new CPSemaphoreConfig("sem1", true))
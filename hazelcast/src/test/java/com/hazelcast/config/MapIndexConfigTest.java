@@ -28,6 +28,8 @@ import org.junit.runner.RunWith;
 import static com.hazelcast.config.MapIndexConfig.validateIndexAttribute;
 import static com.hazelcast.test.HazelcastTestSupport.assumeDifferentHashCodes;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -48,6 +50,25 @@ public class MapIndexConfigTest {
         assertEquals("__key#value", validateIndexAttribute("__key#value"));
     }
 
+    @Test
+    public void testType() {
+        MapIndexConfig config = new MapIndexConfig("status", false);
+        assertEquals(IndexType.HASH, config.getType());
+
+        config.setOrdered(true);
+        assertEquals(IndexType.SORTED, config.getType());
+        assertTrue(config.isOrdered());
+
+        config.setType(IndexType.BITMAP);
+        assertFalse(config.isOrdered());
+        assertEquals(IndexType.BITMAP, new MapIndexConfig(config).getType());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testReadOnly_setType() {
+        new MapIndexConfig("status", IndexType.BITMAP).getAsReadOnly().setType(IndexType.HASH);
+    }
+
     @Test
     public void testEqualsAndHashCode() {
         assumeDifferentHashCodes();
@@ -2461,6 +2461,7 @@ public class XMLConfigBuilderTest extends AbstractConfigBuilderTest {
                 + "       <indexes>\n"
                 + "           <index ordered=\"false\">name</index>\n"
                 + "           <index ordered=\"true\">age</index>\n"
+                + "           <index type=\"BITMAP\">status</index>\n"
                 + "       </indexes>"
                 + "   </map>"
                 + HAZELCAST_END_TAG;
@@ -2471,6 +2472,8 @@ public class XMLConfigBuilderTest extends AbstractConfigBuilderTest {
         assertFalse(mapConfig.getMapIndexConfigs().isEmpty());
         assertIndexEqual("name", false, mapConfig.getMapIndexConfigs().get(0));
         assertIndexEqual("age", true, mapConfig.getMapIndexConfigs().get(1));
+        assertEquals("status", mapConfig.getMapIndexConfigs().get(2).getAttribute());
+        assertEquals(IndexType.BITMAP, mapConfig.getMapIndexConfigs().get(2).getType());
     }
 
     private static void assertIndexEqual(String expectedAttribute, boolean expectedOrdered, MapIndexConfig indexConfig) {
@@ -3077,6 +3080,9 @@ public class XMLConfigBuilderTest extends AbstractConfigBuilderTest {
                 + "    <commit-index-advance-count-to-snapshot>250</commit-index-advance-count-to-snapshot>\n"
                 + "    <uncommitted-entry-count-to-reject-new-appends>75</uncommitted-entry-count-to-reject-new-appends>\n"
                 + "    <append-request-backoff-timeout-in-millis>50</append-request-backoff-timeout-in-millis>\n"
+                + "    <append-request-max-in-flight-count>4</append-request-max-in-flight-count>\n"
+                + "    <leader-lease-timeout-in-millis>250</leader-lease-timeout-in-millis>\n"
+                + "    <leader-lease-safety-margin-in-millis>40</leader-lease-safety-margin-in-millis>\n"
                 + "  </raft-algorithm>\n"
                 + "  <semaphores>\n"
                 + "    <cp-semaphore>\n"
@@ -3116,6 +3122,9 @@ public class XMLConfigBuilderTest extends AbstractConfigBuilderTest {
         assertEquals(250, raftAlgorithmConfig.getCommitIndexAdvanceCountToSnapshot());
         assertEquals(75, raftAlgorithmConfig.getUncommittedEntryCountToRejectNewAppends());
         assertEquals(50, raftAlgorithmConfig.getAppendRequestBackoffTimeoutInMillis());
+        assertEquals(4, raftAlgorithmConfig.getAppendRequestMaxInFlightCount());
+        assertEquals(250, raftAlgorithmConfig.getLeaderLeaseTimeoutInMillis());
+        assertEquals(40, raftAlgorithmConfig.getLeaderLeaseSafetyMarginInMillis());
         CPSemaphoreConfig semaphoreConfig1 = cpSubsystemConfig.findSemaphoreConfig("sem1");
         CPSemaphoreConfig semaphoreConfig2 = cpSubsystemConfig.findSemaphoreConfig("sem2");
         assertNotNull(semaphoreConfig1);
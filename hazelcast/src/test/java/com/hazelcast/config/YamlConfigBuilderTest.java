@@ -2508,7 +2508,9 @@ public class YamlConfigBuilderTest extends AbstractConfigBuilderTest {
                 + "        name:\n"
                 + "          ordered: false\n"
                 + "        age:\n"
-                + "          ordered: true\n";
+                + "          ordered: true\n"
+                + "        status:\n"
+                + "          type: BITMAP\n";
 
         Config config = buildConfig(yaml);
         MapConfig mapConfig = config.getMapConfig("people");
@@ -2516,6 +2518,8 @@ public class YamlConfigBuilderTest extends AbstractConfigBuilderTest {
         assertFalse(mapConfig.getMapIndexConfigs().isEmpty());
         assertIndexEqual("name", false, mapConfig.getMapIndexConfigs().get(0));
         assertIndexEqual("age", true, mapConfig.getMapIndexConfigs().get(1));
+        assertEquals("status", mapConfig.getMapIndexConfigs().get(2).getAttribute());
+        assertEquals(IndexType.BITMAP, mapConfig.getMapIndexConfigs().get(2).getType());
     }
 
     @Override
@@ -3387,6 +3391,9 @@ public class YamlConfigBuilderTest extends AbstractConfigBuilderTest {
                 + "      commit-index-advance-count-to-snapshot: 250\n"
                 + "      uncommitted-entry-count-to-reject-new-appends: 75\n"
                 + "      append-request-backoff-timeout-in-millis: 50\n"
+                + "      append-request-max-in-flight-count: 4\n"
+                + "      leader-lease-timeout-in-millis: 250\n"
+                + "      leader-lease-safety-margin-in-millis: 40\n"
                 + "    semaphores:\n"
                 + "      sem1:\n"
                 + "        jdk-compatible: true\n"
@@ -3413,6 +3420,9 @@ public class YamlConfigBuilderTest extends AbstractConfigBuilderTest {
         assertEquals(250, raftAlgorithmConfig.getCommitIndexAdvanceCountToSnapshot());
         assertEquals(75, raftAlgorithmConfig.getUncommittedEntryCountToRejectNewAppends());
         assertEquals(50, raftAlgorithmConfig.getAppendRequestBackoffTimeoutInMillis());
+        assertEquals(4, raftAlgorithmConfig.getAppendRequestMaxInFlightCount());
+        assertEquals(250, raftAlgorithmConfig.getLeaderLeaseTimeoutInMillis());
+        assertEquals(40, raftAlgorithmConfig.getLeaderLeaseSafetyMarginInMillis());
         CPSemaphoreConfig semaphoreConfig1 = cpSubsystemConfig.findSemaphoreConfig("sem1");
         CPSemaphoreConfig semaphoreConfig2 = cpSubsystemConfig.findSemaphoreConfig("sem2");
         assertNotNull(semaphoreConfig1);
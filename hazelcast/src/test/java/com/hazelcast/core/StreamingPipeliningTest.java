@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.core;
+
+import com.hazelcast.map.IMap;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestThread;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.util.executor.CompletedFuture;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.hazelcast.util.ConcurrencyUtil.CALLER_RUNS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class StreamingPipeliningTest extends HazelcastTestSupport {
+
+    private HazelcastInstance hz;
+
+    @Before
+    public void before() {
+        hz = createHazelcastInstance();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_whenNegativeDepth() {
+        new StreamingPipelining<String>(0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void add_whenNull() throws InterruptedException {
+        new StreamingPipelining<String>(1).add(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void add_whenCallReturnsNull() throws InterruptedException {
+        new StreamingPipelining<String>(1).add(() -> null);
+    }
+
+    @Test
+    public void add_whenCallThrows_thenNotInFlight() throws InterruptedException {
+        StreamingPipelining<String> pipelining = new StreamingPipelining<String>(1);
+        IllegalStateException exception = new IllegalStateException();
+        try {
+            pipelining.add(() -> {
+                throw exception;
+            });
+            fail();
+        } catch (IllegalStateException e) {
+            assertSame(exception, e);
+        }
+
+        assertEquals(0, pipelining.inFlight());
+    }
+
+    @Test
+    public void testInterrupt() throws Exception {
+        StreamingPipelining<String> pipelining = new StreamingPipelining<String>(1);
+        pipelining.add(() -> mock(ICompletableFuture.class));
+
+        TestThread t = new TestThread() {
+            @Override
+            public void doRun() throws Throwable {
+                pipelining.add(() -> mock(ICompletableFuture.class));
+            }
+        };
+        t.start();
+        t.interrupt();
+        t.assertFailsEventually(InterruptedException.class);
+    }
+
+    @Test
+    public void testFailure() throws Exception {
+        StreamingPipelining<String> pipelining = new StreamingPipelining<String>(1);
+        IllegalStateException exception = new IllegalStateException();
+        CompletionStage<String> stage = pipelining.add(() -> new CompletedFuture<>(null, exception, CALLER_RUNS));
+
+        pipelining.awaitCompletion();
+
+        try {
+            stage.toCompletableFuture().get();
+            fail();
+        } catch (ExecutionException e) {
+            assertSame(exception, e.getCause());
+        }
+        assertEquals(0, pipelining.inFlight());
+    }
+
+    @Test
+    public void testStageIsCompletedOnDefaultExecutorOfCall() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "callback-executor"));
+        try {
+            CountDownLatch latch = new CountDownLatch(1);
+            executor.execute(() -> assertOpenEventually(latch));
+            StreamingPipelining<String> pipelining = new StreamingPipelining<String>(1);
+            CompletionStage<String> stage = pipelining.add(() -> new CompletedFuture<>(null, "value", executor));
+
+            AtomicReference<String> completingThread = new AtomicReference<String>();
+            stage.thenRun(() -> completingThread.set(Thread.currentThread().getName()));
+            latch.countDown();
+
+            assertTrueEventually(() -> assertEquals("callback-executor", completingThread.get()));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testPipelining() throws Exception {
+        IMap<Integer, Integer> map = hz.getMap("map");
+        int depth = 10;
+        StreamingPipelining<Void> pipelining = new StreamingPipelining<Void>(depth);
+        List<CompletionStage<Void>> stages = new ArrayList<CompletionStage<Void>>();
+        for (int k = 0; k < 1000; k++) {
+            int key = k;
+            stages.add(pipelining.add(() -> map.setAsync(key, key)));
+            assertTrue(pipelining.inFlight() <= depth);
+        }
+
+        pipelining.awaitCompletion();
+
+        assertEquals(0, pipelining.inFlight());
+        for (CompletionStage<Void> stage : stages) {
+            assertTrue(stage.toCompletableFuture().isDone());
+        }
+        assertEquals(1000, map.size());
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cp.internal;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.cp.IAtomicLong;
+import com.hazelcast.spi.properties.GroupProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class RaftMessageBatchingTest extends HazelcastRaftTestSupport {
+
+    private static final int GROUP_COUNT = 4;
+
+    @Override
+    protected Config createConfig(int cpNodeCount, int groupSize) {
+        Config config = super.createConfig(cpNodeCount, groupSize);
+        config.setProperty(GroupProperty.CP_RAFT_MESSAGE_BATCH_TICK_MILLIS.getName(), "10");
+        return config;
+    }
+
+    @Test
+    public void when_multipleRaftGroupsReplicateConcurrently_then_messagesAreBatched() {
+        HazelcastInstance[] instances = newInstances(3);
+
+        IAtomicLong[] longs = new IAtomicLong[GROUP_COUNT];
+        for (int i = 0; i < GROUP_COUNT; i++) {
+            longs[i] = instances[i % instances.length].getCPSubsystem().getAtomicLong("long" + i + "@group" + i);
+        }
+
+        int incrementCount = 100;
+        for (int j = 0; j < incrementCount; j++) {
+            for (IAtomicLong atomicLong : longs) {
+                atomicLong.incrementAndGetAsync();
+            }
+        }
+
+        for (IAtomicLong atomicLong : longs) {
+            assertTrueEventually(() -> assertEquals(incrementCount, atomicLong.get()));
+        }
+
+        assertTrueEventually(() -> {
+            long batchCount = 0;
+            for (HazelcastInstance instance : instances) {
+                batchCount += getRaftService(instance).getRaftMessageBatchCount();
+            }
+            assertTrue(batchCount > 0);
+        });
+    }
+}
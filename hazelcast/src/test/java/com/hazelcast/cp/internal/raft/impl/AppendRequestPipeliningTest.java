@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cp.internal.raft.impl;
+
+import com.hazelcast.config.cp.RaftAlgorithmConfig;
+import com.hazelcast.cp.internal.raft.impl.dataservice.ApplyRaftRunnable;
+import com.hazelcast.cp.internal.raft.impl.dataservice.RaftDataService;
+import com.hazelcast.cp.internal.raft.impl.dto.AppendRequest;
+import com.hazelcast.cp.internal.raft.impl.dto.AppendSuccessResponse;
+import com.hazelcast.cp.internal.raft.impl.testing.LocalRaftGroup;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import static com.hazelcast.cp.internal.raft.impl.RaftUtil.getCommitIndex;
+import static com.hazelcast.cp.internal.raft.impl.RaftUtil.getInFlightAppendRequestCount;
+import static com.hazelcast.cp.internal.raft.impl.RaftUtil.getLastLogOrSnapshotEntry;
+import static com.hazelcast.cp.internal.raft.impl.RaftUtil.getMatchIndex;
+import static com.hazelcast.cp.internal.raft.impl.RaftUtil.getNextIndex;
+import static com.hazelcast.cp.internal.raft.impl.RaftUtil.newGroupWithService;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class AppendRequestPipeliningTest extends HazelcastTestSupport {
+
+    private static final int MAX_IN_FLIGHT_COUNT = 4;
+
+    private LocalRaftGroup group;
+
+    @After
+    public void destroy() {
+        if (group != null) {
+            group.destroy();
+        }
+    }
+
+    @Test
+    public void when_entriesAreReplicatedConcurrently_then_allEntriesAreCommitted() throws Exception {
+        int entryCount = 100;
+        group = newGroupWithService(3, newPipeliningRaftConfig(entryCount));
+        group.start();
+        RaftNodeImpl leader = group.waitUntilLeaderElected();
+
+        List<Future> futures = new ArrayList<>(entryCount);
+        for (int i = 0; i < entryCount; i++) {
+            futures.add(leader.replicate(new ApplyRaftRunnable("val" + i)));
+        }
+
+        for (Future f : futures) {
+            f.get();
+        }
+
+        assertAllEntriesCommitted(entryCount);
+    }
+
+    @Test
+    public void when_followerDoesNotRespond_then_leaderPipelinesAppendRequestsUpToLimit() throws Exception {
+        int entryCount = 20;
+        group = newGroupWithService(3, newPipeliningRaftConfig(entryCount));
+        group.start();
+        RaftNodeImpl leader = group.waitUntilLeaderElected();
+        RaftNodeImpl follower = group.getAnyFollowerNode();
+
+        leader.replicate(new ApplyRaftRunnable("val0")).get();
+        assertTrueEventually(() -> assertEquals(1, getMatchIndex(leader, follower.getLocalMember())));
+
+        group.dropMessagesToMember(follower.getLocalMember(), leader.getLocalMember(), AppendSuccessResponse.class);
+
+        for (int i = 1; i < entryCount; i++) {
+            leader.replicate(new ApplyRaftRunnable("val" + i)).get();
+        }
+
+        assertTrueEventually(() -> assertEquals(entryCount, getLastLogOrSnapshotEntry(follower).index()));
+
+        int inFlightCount = getInFlightAppendRequestCount(leader, follower.getLocalMember());
+        assertThat(inFlightCount, greaterThan(0));
+        assertThat(inFlightCount, lessThanOrEqualTo(MAX_IN_FLIGHT_COUNT));
+        assertEquals(1, getMatchIndex(leader, follower.getLocalMember()));
+
+        group.resetAllRulesFrom(follower.getLocalMember());
+
+        assertAllEntriesCommitted(entryCount);
+        assertTrueEventually(() -> {
+            assertEquals(entryCount, getMatchIndex(leader, follower.getLocalMember()));
+            assertEquals(entryCount + 1, getNextIndex(leader, follower.getLocalMember()));
+            assertEquals(0, getInFlightAppendRequestCount(leader, follower.getLocalMember()));
+        });
+    }
+
+    @Test
+    public void when_pipelinedAppendRequestsAreLost_then_followerCatchesLeaderEventually() throws Exception {
+        int entryCount = 100;
+        group = newGroupWithService(3, newPipeliningRaftConfig(entryCount).setAppendRequestMaxEntryCount(10));
+        group.start();
+        RaftNodeImpl leader = group.waitUntilLeaderElected();
+        RaftNodeImpl slowFollower = group.getAnyFollowerNode();
+
+        leader.replicate(new ApplyRaftRunnable("val0")).get();
+        assertTrueEventually(() -> assertEquals(1, getMatchIndex(leader, slowFollower.getLocalMember())));
+
+        group.dropMessagesToMember(leader.getLocalMember(), slowFollower.getLocalMember(), AppendRequest.class);
+
+        for (int i = 1; i < entryCount; i++) {
+            leader.replicate(new ApplyRaftRunnable("val" + i)).get();
+        }
+
+        group.resetAllRulesFrom(leader.getLocalMember());
+
+        assertAllEntriesCommitted(entryCount);
+    }
+
+    private void assertAllEntriesCommitted(int entryCount) {
+        assertTrueEventually(() -> {
+            for (RaftNodeImpl raftNode : group.getNodes()) {
+                assertEquals(entryCount, getCommitIndex(raftNode));
+                RaftDataService service = group.getService(raftNode);
+                assertEquals(entryCount, service.size());
+                for (int i = 0; i < entryCount; i++) {
+                    assertEquals("val" + i, service.get(i + 1));
+                }
+            }
+        });
+    }
+
+    private static RaftAlgorithmConfig newPipeliningRaftConfig(int entryCount) {
+        return new RaftAlgorithmConfig()
+                .setCommitIndexAdvanceCountToSnapshot(entryCount * 2)
+                .setAppendRequestMaxInFlightCount(MAX_IN_FLIGHT_COUNT);
+    }
+}
@@ -41,6 +41,7 @@ import static com.hazelcast.cp.internal.raft.impl.RaftUtil.getLeaderMember;
 import static com.hazelcast.cp.internal.raft.impl.RaftUtil.getLeaderQueryRound;
 import static com.hazelcast.cp.internal.raft.impl.RaftUtil.newGroupWithService;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
@@ -50,6 +51,8 @@ import static org.junit.Assert.fail;
 @Category({QuickTest.class, ParallelJVMTest.class})
 public class LinearizableQueryTest extends HazelcastTestSupport {
 
+    private static final int LEADER_LEASE_TIMEOUT_MILLIS = 3000;
+
     private LocalRaftGroup group;
 
     @Before
@@ -231,8 +234,84 @@ public class LinearizableQueryTest extends HazelcastTestSupport {
         }
     }
 
+    @Test(timeout = 300_000)
+    public void when_leaderHoldsLease_then_linearizableQueryRunsLocally() throws Exception {
+        group = newGroupWithService(5, newLeaderLeaseRaftConfig(), true);
+        group.start();
+
+        RaftNodeImpl leader = group.waitUntilLeaderElected();
+        leader.replicate(new ApplyRaftRunnable("value1")).get();
+
+        // the first query completes a heartbeat round and the leader obtains its lease
+        assertEquals("value1", leader.query(new QueryRaftRunnable(), LINEARIZABLE).get());
+        long queryRound = getLeaderQueryRound(leader);
+
+        group.dropMessagesToAll(leader.getLocalMember(), AppendRequest.class);
+
+        assertEquals("value1", leader.query(new QueryRaftRunnable(), LINEARIZABLE).get());
+        assertEquals(queryRound, getLeaderQueryRound(leader));
+        assertEquals(1, leader.getLeaderLeaseQueryCount());
+        assertEquals(0, leader.getLeaderLeaseExpirationCount());
+    }
+
+    @Test(timeout = 300_000)
+    public void when_leaderLeaseExpires_then_linearizableQueryWaitsForHeartbeatRound() throws Exception {
+        group = newGroupWithService(5, newLeaderLeaseRaftConfig(), true);
+        group.start();
+
+        RaftNodeImpl leader = group.waitUntilLeaderElected();
+        leader.replicate(new ApplyRaftRunnable("value1")).get();
+        assertEquals("value1", leader.query(new QueryRaftRunnable(), LINEARIZABLE).get());
+
+        group.dropMessagesToAll(leader.getLocalMember(), AppendRequest.class);
+        sleepMillis(LEADER_LEASE_TIMEOUT_MILLIS);
+
+        ICompletableFuture queryFuture = leader.query(new QueryRaftRunnable(), LINEARIZABLE);
+
+        assertTrueAllTheTime(() -> assertFalse(queryFuture.isDone()), 2);
+        assertEquals(1, leader.getLeaderLeaseExpirationCount());
+
+        group.resetAllRulesFrom(leader.getLocalMember());
+
+        assertEquals("value1", queryFuture.get());
+        assertEquals(0, leader.getLeaderLeaseQueryCount());
+    }
+
+    @Test(timeout = 300_000)
+    public void when_leaderLeaseSafetyMarginElapses_then_linearizableQueryWaitsForHeartbeatRound() throws Exception {
+        int safetyMarginMillis = LEADER_LEASE_TIMEOUT_MILLIS - 500;
+        RaftAlgorithmConfig raftAlgorithmConfig = newLeaderLeaseRaftConfig()
+                .setLeaderLeaseSafetyMarginInMillis(safetyMarginMillis);
+        group = newGroupWithService(5, raftAlgorithmConfig, true);
+        group.start();
+
+        RaftNodeImpl leader = group.waitUntilLeaderElected();
+        leader.replicate(new ApplyRaftRunnable("value1")).get();
+        assertEquals("value1", leader.query(new QueryRaftRunnable(), LINEARIZABLE).get());
+
+        group.dropMessagesToAll(leader.getLocalMember(), AppendRequest.class);
+        // the lease timeout has not elapsed yet but the lease is shortened by the safety margin
+        sleepMillis(LEADER_LEASE_TIMEOUT_MILLIS - safetyMarginMillis);
+
+        ICompletableFuture queryFuture = leader.query(new QueryRaftRunnable(), LINEARIZABLE);
+
+        assertTrueEventually(() -> assertEquals(1, leader.getLeaderLeaseExpirationCount()));
+        assertFalse(queryFuture.isDone());
+
+        group.resetAllRulesFrom(leader.getLocalMember());
+
+        assertEquals("value1", queryFuture.get());
+        assertEquals(0, leader.getLeaderLeaseQueryCount());
+    }
+
     private LocalRaftGroup newGroup() {
         return newGroupWithService(5, new RaftAlgorithmConfig(), true);
     }
 
+    private static RaftAlgorithmConfig newLeaderLeaseRaftConfig() {
+        return new RaftAlgorithmConfig()
+                .setLeaderElectionTimeoutInMillis(LEADER_LEASE_TIMEOUT_MILLIS * 2)
+                .setLeaderLeaseTimeoutInMillis(LEADER_LEASE_TIMEOUT_MILLIS);
+    }
+
 }
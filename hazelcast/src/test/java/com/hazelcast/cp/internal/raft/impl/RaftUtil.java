@@ -83,6 +83,24 @@ public class RaftUtil {
         return readRaftState(leader, task);
     }
 
+    public static long getNextIndex(RaftNodeImpl leader, Endpoint follower) {
+        Callable<Long> task = () -> {
+            LeaderState leaderState = leader.state().leaderState();
+            return leaderState.getFollowerState(follower).nextIndex();
+        };
+
+        return readRaftState(leader, task);
+    }
+
+    public static int getInFlightAppendRequestCount(RaftNodeImpl leader, Endpoint follower) {
+        Callable<Integer> task = () -> {
+            LeaderState leaderState = leader.state().leaderState();
+            return leaderState.getFollowerState(follower).inFlightAppendRequestCount();
+        };
+
+        return readRaftState(leader, task);
+    }
+
     public static long getLeaderQueryRound(RaftNodeImpl leader) {
         Callable<Long> task = () -> {
             LeaderState leaderState = leader.state().leaderState();
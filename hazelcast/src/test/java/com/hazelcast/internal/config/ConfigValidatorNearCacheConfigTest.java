@@ -17,6 +17,7 @@
 package com.hazelcast.internal.config;
 
 import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.NativeMemoryConfig;
 import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
@@ -57,6 +58,22 @@ public class ConfigValidatorNearCacheConfigTest extends HazelcastTestSupport {
         checkNearCacheConfig(MAP_NAME, getNearCacheConfig(NATIVE), null, false);
     }
 
+    @Test
+    public void checkNearCacheConfig_NATIVE_onClient() {
+        NativeMemoryConfig nativeMemoryConfig = new NativeMemoryConfig()
+                .setEnabled(true);
+
+        checkNearCacheConfig(MAP_NAME, getNearCacheConfig(NATIVE).setCacheLocalEntries(false), nativeMemoryConfig, true);
+    }
+
+    /**
+     * Native memory is not enabled, so test is expected to throw exception.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void checkNearCacheConfig_NATIVE_onClient_withoutNativeMemoryConfig() {
+        checkNearCacheConfig(MAP_NAME, getNearCacheConfig(NATIVE).setCacheLocalEntries(false), null, true);
+    }
+
     /**
      * Not supported client configuration, so test is expected to throw exception.
      */
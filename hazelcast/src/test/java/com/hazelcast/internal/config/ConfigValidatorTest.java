@@ -82,13 +82,19 @@ public class ConfigValidatorTest extends HazelcastTestSupport {
     }
 
     /**
-     * Not supported in open source version, so test is expected to throw exception.
+     * Native memory is not enabled by default, so test is expected to throw exception.
      */
     @Test(expected = IllegalArgumentException.class)
     public void checkMapConfig_NATIVE() {
         checkMapConfig(getMapConfig(NATIVE), nativeMemoryConfig, splitBrainMergePolicyProvider, properties);
     }
 
+    @Test
+    public void checkMapConfig_NATIVE_withNativeMemoryEnabled() {
+        nativeMemoryConfig.setEnabled(true);
+        checkMapConfig(getMapConfig(NATIVE), nativeMemoryConfig, splitBrainMergePolicyProvider, properties);
+    }
+
     private MapConfig getMapConfig(InMemoryFormat inMemoryFormat) {
         return new MapConfig()
                 .setInMemoryFormat(inMemoryFormat);
@@ -178,4 +184,31 @@ public class ConfigValidatorTest extends HazelcastTestSupport {
 
         checkCPSubsystemConfig(config);
     }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testValidationFails_whenLeaderLeaseTimeoutNotSmallerThanLeaderElectionTimeout() {
+        CPSubsystemConfig config = new CPSubsystemConfig();
+        config.getRaftAlgorithmConfig()
+                .setLeaderElectionTimeoutInMillis(1000)
+                .setLeaderLeaseTimeoutInMillis(1000);
+
+        checkCPSubsystemConfig(config);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testValidationFails_whenLeaderLeaseSafetyMarginNotSmallerThanLeaderLeaseTimeout() {
+        CPSubsystemConfig config = new CPSubsystemConfig();
+        config.getRaftAlgorithmConfig()
+                .setLeaderLeaseTimeoutInMillis(500)
+                .setLeaderLeaseSafetyMarginInMillis(500);
+
+        checkCPSubsystemConfig(config);
+    }
+
+    @Test
+    public void testValidationSucceeds_whenLeaderLeaseDisabledWithDefaultSafetyMargin() {
+        CPSubsystemConfig config = new CPSubsystemConfig();
+
+        checkCPSubsystemConfig(config);
+    }
 }
@@ -18,6 +18,8 @@ package com.hazelcast.internal.nearcache;
 
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.memory.impl.UnsafeMallocMemoryManager;
+import com.hazelcast.internal.nearcache.impl.store.NativeNearCacheRecordStore;
 import com.hazelcast.internal.nearcache.impl.store.NearCacheDataRecordStore;
 import com.hazelcast.internal.nearcache.impl.store.NearCacheObjectRecordStore;
 import com.hazelcast.internal.serialization.InternalSerializationService;
@@ -37,10 +39,12 @@ public abstract class CommonNearCacheTestSupport extends HazelcastTestSupport {
 
     static final int DEFAULT_RECORD_COUNT = 100;
     static final String DEFAULT_NEAR_CACHE_NAME = "TestNearCache";
+    static final long DEFAULT_NATIVE_MEMORY_SIZE = 64 * 1024 * 1024;
 
     private List<ScheduledExecutorService> scheduledExecutorServices = new ArrayList<ScheduledExecutorService>();
     private SerializationService ss = new DefaultSerializationServiceBuilder()
             .setVersion(InternalSerializationService.VERSION_1).build();
+    private UnsafeMallocMemoryManager memoryManager;
 
     @After
     public final void shutdownExecutorServices() {
@@ -50,6 +54,20 @@ public abstract class CommonNearCacheTestSupport extends HazelcastTestSupport {
         scheduledExecutorServices.clear();
     }
 
+    @After
+    public final void disposeMemoryManager() {
+        if (memoryManager != null) {
+            memoryManager.dispose();
+        }
+    }
+
+    UnsafeMallocMemoryManager getMemoryManager() {
+        if (memoryManager == null) {
+            memoryManager = new UnsafeMallocMemoryManager(DEFAULT_NATIVE_MEMORY_SIZE);
+        }
+        return memoryManager;
+    }
+
     NearCacheConfig createNearCacheConfig(String name, InMemoryFormat inMemoryFormat) {
         return new NearCacheConfig()
                 .setName(name)
@@ -65,6 +83,10 @@ public abstract class CommonNearCacheTestSupport extends HazelcastTestSupport {
             case OBJECT:
                 recordStore = new NearCacheObjectRecordStore<K, V>(DEFAULT_NEAR_CACHE_NAME, nearCacheConfig, ss, null);
                 break;
+            case NATIVE:
+                recordStore = new NativeNearCacheRecordStore<K, V>(DEFAULT_NEAR_CACHE_NAME, nearCacheConfig, ss, null,
+                        getMemoryManager());
+                break;
             default:
                 throw new IllegalArgumentException("Unsupported in-memory format: " + inMemoryFormat);
         }
@@ -0,0 +1,305 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache;
+
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionConfig.MaxSizePolicy;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.memory.impl.UnsafeMallocMemoryManager;
+import com.hazelcast.internal.nearcache.impl.invalidation.MetaDataContainer;
+import com.hazelcast.internal.nearcache.impl.invalidation.StaleReadDetector;
+import com.hazelcast.internal.nearcache.impl.store.NativeNearCacheRecordStore;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.monitor.NearCacheStats;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import static com.hazelcast.config.InMemoryFormat.NATIVE;
+import static com.hazelcast.internal.nearcache.NearCache.CACHED_AS_NULL;
+import static com.hazelcast.internal.nearcache.NearCacheRecord.NOT_RESERVED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class NativeNearCacheRecordStoreTest extends NearCacheRecordStoreTestSupport {
+
+    @Test
+    public void putAndGetRecord() {
+        putAndGetRecord(NATIVE);
+    }
+
+    @Test
+    public void putAndRemoveRecord() {
+        putAndRemoveRecord(NATIVE);
+    }
+
+    @Test
+    public void clearRecords() {
+        clearRecordsOrDestroyStore(NATIVE, false);
+    }
+
+    @Test
+    public void destroyStore() {
+        clearRecordsOrDestroyStore(NATIVE, true);
+    }
+
+    @Test
+    public void statsCalculated() {
+        statsCalculated(NATIVE);
+    }
+
+    @Test
+    public void expiredRecordsCleanedUpSuccessfullyBecauseOfTTL() {
+        expiredRecordsCleanedUpSuccessfully(NATIVE, false);
+    }
+
+    @Test
+    public void canCreateWithNativeMemoryMaxSizePolicies() {
+        createNearCacheWithMaxSizePolicy(NATIVE, MaxSizePolicy.USED_NATIVE_MEMORY_SIZE, 1);
+        createNearCacheWithMaxSizePolicy(NATIVE, MaxSizePolicy.FREE_NATIVE_MEMORY_SIZE, 1);
+        createNearCacheWithMaxSizePolicy(NATIVE, MaxSizePolicy.USED_NATIVE_MEMORY_PERCENTAGE, 99);
+        createNearCacheWithMaxSizePolicy(NATIVE, MaxSizePolicy.FREE_NATIVE_MEMORY_PERCENTAGE, 1);
+    }
+
+    @Test
+    public void evictionTriggeredAndHandledSuccessfullyWithEntryCountMaxSizePolicy() {
+        int maxSize = DEFAULT_RECORD_COUNT / 2;
+        NearCacheRecordStore<Integer, String> nearCacheRecordStore = createNearCacheRecordStore(
+                new EvictionConfig()
+                        .setMaximumSizePolicy(MaxSizePolicy.ENTRY_COUNT)
+                        .setEvictionPolicy(EvictionPolicy.LRU)
+                        .setSize(maxSize));
+
+        for (int i = 0; i < DEFAULT_RECORD_COUNT; i++) {
+            nearCacheRecordStore.doEviction(false);
+            nearCacheRecordStore.put(i, null, "Record-" + i, null);
+            assertTrue(maxSize >= nearCacheRecordStore.size());
+        }
+        assertEquals(DEFAULT_RECORD_COUNT - maxSize, nearCacheRecordStore.getNearCacheStats().getEvictions());
+    }
+
+    @Test
+    public void putAndGet_withNullValue() {
+        NearCacheRecordStore<Integer, String> nearCacheRecordStore = createNearCacheRecordStore(new EvictionConfig());
+
+        nearCacheRecordStore.put(1, null, null, null);
+
+        assertEquals(CACHED_AS_NULL, nearCacheRecordStore.get(1));
+        assertEquals(1, nearCacheRecordStore.size());
+    }
+
+    @Test
+    public void reserveAndPublish() {
+        NearCacheRecordStore<Integer, String> nearCacheRecordStore = createNearCacheRecordStore(new EvictionConfig());
+
+        long reservationId = nearCacheRecordStore.tryReserveForUpdate(1, null);
+        assertNotEquals(NOT_RESERVED, reservationId);
+        assertEquals(NOT_RESERVED, nearCacheRecordStore.tryReserveForUpdate(1, null));
+        // reserved records are not readable
+        assertNull(nearCacheRecordStore.get(1));
+        assertEquals(0, nearCacheRecordStore.getNearCacheStats().getOwnedEntryCount());
+
+        assertEquals("value", nearCacheRecordStore.tryPublishReserved(1, "value", reservationId, true));
+
+        assertEquals("value", nearCacheRecordStore.get(1));
+        NearCacheStats nearCacheStats = nearCacheRecordStore.getNearCacheStats();
+        assertEquals(1, nearCacheStats.getOwnedEntryCount());
+        assertTrue(nearCacheStats.getOwnedEntryMemoryCost() > 0);
+    }
+
+    @Test
+    public void publish_withInvalidatedReservation_doesNotUpdateRecord() {
+        NearCacheRecordStore<Integer, String> nearCacheRecordStore = createNearCacheRecordStore(new EvictionConfig());
+
+        long reservationId = nearCacheRecordStore.tryReserveForUpdate(1, null);
+        nearCacheRecordStore.invalidate(1);
+
+        assertNull(nearCacheRecordStore.tryPublishReserved(1, "value", reservationId, true));
+        assertNull(nearCacheRecordStore.get(1));
+        assertEquals(0, nearCacheRecordStore.size());
+    }
+
+    @Test
+    public void put_replacesValueOfExistingKey() {
+        NearCacheRecordStore<Integer, String> nearCacheRecordStore = createNearCacheRecordStore(new EvictionConfig());
+
+        nearCacheRecordStore.put(1, null, "value", null);
+        long memoryCost = nearCacheRecordStore.getNearCacheStats().getOwnedEntryMemoryCost();
+        nearCacheRecordStore.put(1, null, "longer-value", null);
+
+        NearCacheStats nearCacheStats = nearCacheRecordStore.getNearCacheStats();
+        assertEquals("longer-value", nearCacheRecordStore.get(1));
+        assertEquals(1, nearCacheRecordStore.size());
+        assertEquals(1, nearCacheStats.getOwnedEntryCount());
+        assertTrue(nearCacheStats.getOwnedEntryMemoryCost() > memoryCost);
+    }
+
+    @Test
+    public void getRecord_returnsCopyOfRecord() {
+        NearCacheRecordStore<Integer, String> nearCacheRecordStore = createNearCacheRecordStore(new EvictionConfig());
+        nearCacheRecordStore.put(1, null, "value", null);
+        nearCacheRecordStore.get(1);
+
+        NearCacheRecord record = nearCacheRecordStore.getRecord(1);
+        nearCacheRecordStore.invalidate(1);
+
+        assertNotNull(record);
+        assertEquals(1, record.getAccessHit());
+        assertEquals(NearCacheRecord.READ_PERMITTED, record.getRecordState());
+    }
+
+    @Test
+    public void get_fromConcurrentReaders_countsEveryAccessHit() {
+        final NearCacheRecordStore<Integer, String> nearCacheRecordStore = createNearCacheRecordStore(new EvictionConfig());
+        nearCacheRecordStore.put(1, null, "value", null);
+        final int readsPerThread = 10000;
+        Thread[] readers = new Thread[4];
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = new Thread() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < readsPerThread; j++) {
+                        nearCacheRecordStore.get(1);
+                    }
+                }
+            };
+            readers[i].start();
+        }
+        assertJoinable(readers);
+
+        NearCacheRecord record = nearCacheRecordStore.getRecord(1);
+        assertEquals(readers.length * readsPerThread, record.getAccessHit());
+        assertTrue(record.getLastAccessTime() > 0);
+    }
+
+    @Test
+    public void get_returnsNull_whenReadIsStale() {
+        NearCacheRecordStore<Integer, String> nearCacheRecordStore = createNearCacheRecordStore(new EvictionConfig());
+        MetaDataContainer metaDataContainer = new MetaDataContainer();
+        metaDataContainer.setUuid(UUID.randomUUID());
+        metaDataContainer.setSequence(5);
+        nearCacheRecordStore.setStaleReadDetector(new TestStaleReadDetector(metaDataContainer));
+
+        nearCacheRecordStore.put(1, null, "value", null);
+        assertEquals("value", nearCacheRecordStore.get(1));
+
+        metaDataContainer.casStaleSequence(0, 6);
+
+        assertNull(nearCacheRecordStore.get(1));
+        assertEquals(0, nearCacheRecordStore.size());
+    }
+
+    @Test
+    public void put_evictsRecords_whenNativeMemoryIsExhausted() {
+        UnsafeMallocMemoryManager memoryManager = new UnsafeMallocMemoryManager(64 * 1024);
+        NearCacheRecordStore<Integer, byte[]> nearCacheRecordStore = createNativeNearCacheRecordStore(
+                createNearCacheConfig(DEFAULT_NEAR_CACHE_NAME, NATIVE), memoryManager);
+        byte[] value = new byte[1024];
+
+        for (int i = 0; i < DEFAULT_RECORD_COUNT; i++) {
+            nearCacheRecordStore.put(i, null, value, null);
+        }
+
+        NearCacheStats nearCacheStats = nearCacheRecordStore.getNearCacheStats();
+        assertTrue(nearCacheRecordStore.size() < DEFAULT_RECORD_COUNT);
+        assertTrue(nearCacheStats.getEvictions() > 0);
+        assertEquals(nearCacheRecordStore.size(), nearCacheStats.getOwnedEntryCount());
+        assertTrue(memoryManager.getUsedMemory() <= memoryManager.getMaxMemory());
+    }
+
+    @Test
+    public void destroy_freesNativeMemory() {
+        UnsafeMallocMemoryManager memoryManager = new UnsafeMallocMemoryManager(DEFAULT_NATIVE_MEMORY_SIZE);
+        NearCacheRecordStore<Integer, byte[]> nearCacheRecordStore = createNativeNearCacheRecordStore(
+                createNearCacheConfig(DEFAULT_NEAR_CACHE_NAME, NATIVE), memoryManager);
+        byte[] value = new byte[100];
+        Arrays.fill(value, (byte) 1);
+
+        for (int i = 0; i < DEFAULT_RECORD_COUNT; i++) {
+            nearCacheRecordStore.put(i, null, value, null);
+        }
+        for (int i = 0; i < DEFAULT_RECORD_COUNT; i += 2) {
+            nearCacheRecordStore.invalidate(i);
+        }
+        assertTrue(memoryManager.getUsedMemory() > 0);
+
+        nearCacheRecordStore.destroy();
+
+        assertEquals(0, memoryManager.getUsedMemory());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void put_afterDestroy_fails() {
+        NearCacheRecordStore<Integer, String> nearCacheRecordStore = createNearCacheRecordStore(new EvictionConfig());
+        nearCacheRecordStore.destroy();
+
+        nearCacheRecordStore.put(1, null, "value", null);
+    }
+
+    private NearCacheRecordStore<Integer, String> createNearCacheRecordStore(EvictionConfig evictionConfig) {
+        NearCacheConfig nearCacheConfig = createNearCacheConfig(DEFAULT_NEAR_CACHE_NAME, NATIVE)
+                .setEvictionConfig(evictionConfig);
+        return createNearCacheRecordStore(nearCacheConfig, NATIVE);
+    }
+
+    private static <V> NearCacheRecordStore<Integer, V> createNativeNearCacheRecordStore(NearCacheConfig nearCacheConfig,
+                                                                                      UnsafeMallocMemoryManager memoryManager) {
+        SerializationService ss = new DefaultSerializationServiceBuilder().build();
+        NearCacheRecordStore<Integer, V> recordStore = new NativeNearCacheRecordStore<Integer, V>(DEFAULT_NEAR_CACHE_NAME,
+                nearCacheConfig, ss, null, memoryManager);
+        recordStore.initialize();
+        return recordStore;
+    }
+
+    private static class TestStaleReadDetector implements StaleReadDetector {
+
+        private final MetaDataContainer metaDataContainer;
+
+        TestStaleReadDetector(MetaDataContainer metaDataContainer) {
+            this.metaDataContainer = metaDataContainer;
+        }
+
+        @Override
+        public boolean isStaleRead(Object key, NearCacheRecord record) {
+            return !record.hasSameUuid(metaDataContainer.getUuid())
+                    || record.getInvalidationSequence() < metaDataContainer.getStaleSequence();
+        }
+
+        @Override
+        public int getPartitionId(Object key) {
+            return 1;
+        }
+
+        @Override
+        public MetaDataContainer getMetaDataContainer(int partitionId) {
+            return metaDataContainer;
+        }
+    }
+}
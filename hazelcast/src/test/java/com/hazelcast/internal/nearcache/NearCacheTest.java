@@ -18,6 +18,8 @@ package com.hazelcast.internal.nearcache;
 
 import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.internal.nearcache.impl.DefaultNearCache;
+import com.hazelcast.internal.nearcache.impl.store.TinyLfuNearCacheRecordStore;
+import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.test.HazelcastSerialClassRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
@@ -26,6 +28,12 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.util.Properties;
+
+import static com.hazelcast.config.NearCacheConfig.DEFAULT_MEMORY_FORMAT;
+import static com.hazelcast.internal.nearcache.NearCache.PROP_TINY_LFU_ENABLED;
+import static org.junit.Assert.assertTrue;
+
 @RunWith(HazelcastSerialClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
 public class NearCacheTest extends NearCacheTestSupport {
@@ -98,4 +106,19 @@ public class NearCacheTest extends NearCacheTestSupport {
     public void putToNearCacheStatsAndSeeEvictionCheckIsDone() {
         doPutToNearCacheStatsAndSeeEvictionCheckIsDone();
     }
+
+    @Test
+    public void createNearCache_withTinyLfuEnabled() {
+        Properties tinyLfuProperties = new Properties();
+        tinyLfuProperties.setProperty(PROP_TINY_LFU_ENABLED, "true");
+        DefaultNearCache<Integer, String> nearCache = new DefaultNearCache<Integer, String>(DEFAULT_NEAR_CACHE_NAME,
+                createNearCacheConfig(DEFAULT_NEAR_CACHE_NAME, DEFAULT_MEMORY_FORMAT), ss,
+                executionService.getGlobalTaskScheduler(), null, new HazelcastProperties(tinyLfuProperties));
+        nearCache.initialize();
+        try {
+            assertTrue(nearCache.getNearCacheRecordStore() instanceof TinyLfuNearCacheRecordStore);
+        } finally {
+            nearCache.destroy();
+        }
+    }
 }
@@ -353,6 +353,10 @@ public abstract class NearCacheTestSupport extends CommonNearCacheTestSupport {
         public void storeKeys() {
         }
 
+        @Override
+        public void storeSnapshot() {
+        }
+
         @Override
         public void loadKeys(DataStructureAdapter adapter) {
         }
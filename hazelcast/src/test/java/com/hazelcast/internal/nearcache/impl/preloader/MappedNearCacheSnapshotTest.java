@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.preloader;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.hazelcast.internal.nearcache.NearCacheRecord.TIME_NOT_SET;
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.nio.IOUtil.closeResource;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MappedNearCacheSnapshotTest extends HazelcastTestSupport {
+
+    private static final int MAGIC_BYTES = 0xCAFEBABE;
+    private static final int FILE_FORMAT = 1;
+    private static final int ENTRY_COUNT = 1000;
+
+    private final InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+    private final UUID uuid = UUID.randomUUID();
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File file;
+
+    @Before
+    public void setUp() {
+        file = new File(tempFolder.getRoot(), randomName());
+    }
+
+    @Test
+    public void testGet() throws Exception {
+        writeSnapshot(ENTRY_COUNT);
+
+        MappedNearCacheSnapshot snapshot = MappedNearCacheSnapshot.map(file);
+
+        assertEquals(ENTRY_COUNT, snapshot.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            MappedNearCacheSnapshot.Entry entry = snapshot.get(serializationService.toData(i));
+            assertNotNull(entry);
+            assertEquals("value-" + i, serializationService.toObject(entry.getValue()));
+            assertEquals(i % 2 == 0 ? TIME_NOT_SET : i, entry.getExpirationTime());
+            assertEquals(i % 271, entry.getPartitionId());
+            assertEquals(uuid, entry.getUuid());
+            assertEquals(i * 2L, entry.getSequence());
+        }
+    }
+
+    @Test
+    public void testGet_whenKeyIsMissing_thenReturnNull() throws Exception {
+        writeSnapshot(ENTRY_COUNT);
+
+        MappedNearCacheSnapshot snapshot = MappedNearCacheSnapshot.map(file);
+
+        assertNull(snapshot.get(serializationService.toData(ENTRY_COUNT)));
+        assertNull(snapshot.get(serializationService.toData("0")));
+    }
+
+    @Test
+    public void testKeys() throws Exception {
+        writeSnapshot(ENTRY_COUNT);
+
+        Set<Object> keys = new HashSet<Object>();
+        Iterator<Data> iterator = MappedNearCacheSnapshot.map(file).keys();
+        while (iterator.hasNext()) {
+            keys.add(serializationService.toObject(iterator.next()));
+        }
+
+        assertEquals(ENTRY_COUNT, keys.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertContains(keys, i);
+        }
+    }
+
+    @Test
+    public void testMap_whenSnapshotIsEmpty() throws Exception {
+        writeSnapshot(0);
+
+        MappedNearCacheSnapshot snapshot = MappedNearCacheSnapshot.map(file);
+
+        assertEquals(0, snapshot.size());
+        assertNull(snapshot.get(serializationService.toData(1)));
+    }
+
+    @Test(expected = IOException.class)
+    public void testMap_whenFileIsTruncated_thenThrowIOException() throws Exception {
+        writeSnapshot(ENTRY_COUNT);
+        truncate(file.length() - 1);
+
+        MappedNearCacheSnapshot.map(file);
+    }
+
+    @Test(expected = IOException.class)
+    public void testMap_whenFileIsSmallerThanHeader_thenThrowIOException() throws Exception {
+        writeSnapshot(ENTRY_COUNT);
+        truncate(MappedNearCacheSnapshot.HEADER_SIZE - 1);
+
+        MappedNearCacheSnapshot.map(file);
+    }
+
+    @Test(expected = IOException.class)
+    public void testMap_whenValueSizeExceedsEntryRegion_thenThrowIOException() throws Exception {
+        writeSnapshot(ENTRY_COUNT);
+        // the value size of the first entry
+        writeInt(MappedNearCacheSnapshot.HEADER_SIZE + INT_SIZE_IN_BYTES, Integer.MAX_VALUE / 2);
+
+        MappedNearCacheSnapshot.map(file);
+    }
+
+    @Test(expected = IOException.class)
+    public void testMap_whenKeySizeIsNegative_thenThrowIOException() throws Exception {
+        writeSnapshot(ENTRY_COUNT);
+        writeInt(MappedNearCacheSnapshot.HEADER_SIZE, -1);
+
+        MappedNearCacheSnapshot.map(file);
+    }
+
+    @Test(expected = IOException.class)
+    public void testMap_whenIndexPointsIntoEntry_thenThrowIOException() throws Exception {
+        writeSnapshot(ENTRY_COUNT);
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            raf.seek(MappedNearCacheSnapshot.INDEX_OFFSET_OFFSET);
+            long indexOffset = raf.readLong();
+            for (long slotOffset = indexOffset; ; slotOffset += 2 * LONG_SIZE_IN_BYTES) {
+                raf.seek(slotOffset + LONG_SIZE_IN_BYTES);
+                long entryOffset = raf.readLong();
+                if (entryOffset != 0) {
+                    raf.seek(slotOffset + LONG_SIZE_IN_BYTES);
+                    raf.writeLong(entryOffset + 1);
+                    break;
+                }
+            }
+        } finally {
+            closeResource(raf);
+        }
+
+        MappedNearCacheSnapshot.map(file);
+    }
+
+    private void writeSnapshot(int entryCount) throws IOException {
+        NearCacheSnapshotWriter writer = new NearCacheSnapshotWriter(file, MAGIC_BYTES, FILE_FORMAT, 1024);
+        try {
+            for (int i = 0; i < entryCount; i++) {
+                long expirationTime = i % 2 == 0 ? TIME_NOT_SET : i;
+                writer.write(serializationService.toData(i), serializationService.toData("value-" + i), expirationTime,
+                        i % 271, uuid, i * 2L);
+            }
+            assertEquals(entryCount, writer.getEntryCount());
+            writer.finish();
+        } finally {
+            writer.close();
+        }
+    }
+
+    private void writeInt(long position, int value) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            raf.seek(position);
+            raf.writeInt(value);
+        } finally {
+            closeResource(raf);
+        }
+    }
+
+    private void truncate(long length) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            raf.setLength(length);
+        } finally {
+            closeResource(raf);
+        }
+    }
+}
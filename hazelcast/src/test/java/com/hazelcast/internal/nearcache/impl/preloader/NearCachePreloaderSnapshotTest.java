@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.preloader;
+
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.memory.impl.UnsafeMallocMemoryManager;
+import com.hazelcast.internal.nearcache.NearCacheRecord;
+import com.hazelcast.internal.nearcache.NearCacheRecordStore;
+import com.hazelcast.internal.nearcache.impl.invalidation.MetaDataContainer;
+import com.hazelcast.internal.nearcache.impl.invalidation.StaleReadDetector;
+import com.hazelcast.internal.nearcache.impl.store.NativeNearCacheRecordStore;
+import com.hazelcast.internal.nearcache.impl.store.NearCacheDataRecordStore;
+import com.hazelcast.internal.nearcache.impl.store.NearCacheObjectRecordStore;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelParametersRunnerFactory;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized.UseParametersRunnerFactory;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.Collection;
+import java.util.UUID;
+
+import static com.hazelcast.internal.nearcache.impl.invalidation.StaleReadDetector.ALWAYS_FRESH;
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.nio.IOUtil.closeResource;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Parameterized.class)
+@UseParametersRunnerFactory(HazelcastParallelParametersRunnerFactory.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class NearCachePreloaderSnapshotTest extends HazelcastTestSupport {
+
+    private static final int KEY_COUNT = 100;
+    private static final int PARTITION_ID = 1;
+    private static final long SEQUENCE = 5;
+
+    @Parameters(name = "inMemoryFormat:{0}")
+    public static Collection<Object[]> parameters() {
+        return asList(new Object[][]{
+                {InMemoryFormat.BINARY},
+                {InMemoryFormat.OBJECT},
+                {InMemoryFormat.NATIVE},
+        });
+    }
+
+    @Parameter
+    public InMemoryFormat inMemoryFormat;
+
+    private final SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+    private final UUID uuid = UUID.randomUUID();
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File directory;
+    private NearCacheConfig nearCacheConfig;
+    private UnsafeMallocMemoryManager memoryManager;
+
+    @Before
+    public void setUp() {
+        directory = new File(tempFolder.getRoot(), randomName());
+        assertTrue(directory.mkdirs());
+
+        nearCacheConfig = new NearCacheConfig(randomName())
+                .setInMemoryFormat(inMemoryFormat);
+        nearCacheConfig.getPreloaderConfig()
+                .setEnabled(true)
+                .setDirectory(directory.getAbsolutePath());
+
+        if (inMemoryFormat == InMemoryFormat.NATIVE) {
+            memoryManager = new UnsafeMallocMemoryManager(1024 * 1024);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        if (memoryManager != null) {
+            memoryManager.dispose();
+        }
+    }
+
+    @Test
+    public void testGet_whenSnapshotIsValid_thenServeValueFromSnapshot() {
+        storeSnapshot(newMetaDataContainer(uuid, SEQUENCE));
+
+        NearCacheRecordStore<Integer, String> recordStore = createRecordStore(newMetaDataContainer(uuid, SEQUENCE));
+        for (int i = 0; i < KEY_COUNT; i++) {
+            assertEquals("value-" + i, recordStore.get(i));
+        }
+
+        assertEquals(KEY_COUNT, recordStore.size());
+        assertEquals(KEY_COUNT, recordStore.getNearCacheStats().getHits());
+        assertEquals(0, recordStore.getNearCacheStats().getMisses());
+        recordStore.destroy();
+    }
+
+    @Test
+    public void testGet_whenPartitionWasInvalidatedAfterSnapshot_thenIgnoreSnapshot() {
+        storeSnapshot(newMetaDataContainer(uuid, SEQUENCE));
+
+        NearCacheRecordStore<Integer, String> recordStore = createRecordStore(newMetaDataContainer(uuid, SEQUENCE + 1));
+
+        assertNull(recordStore.get(1));
+        assertEquals(0, recordStore.size());
+        assertEquals(1, recordStore.getNearCacheStats().getMisses());
+        recordStore.destroy();
+    }
+
+    @Test
+    public void testGet_whenPartitionUuidHasChanged_thenIgnoreSnapshot() {
+        storeSnapshot(newMetaDataContainer(uuid, SEQUENCE));
+
+        NearCacheRecordStore<Integer, String> recordStore = createRecordStore(newMetaDataContainer(UUID.randomUUID(),
+                SEQUENCE));
+
+        assertNull(recordStore.get(1));
+        assertEquals(0, recordStore.size());
+        recordStore.destroy();
+    }
+
+    @Test
+    public void testGet_whenMetaDataIsNotInitialized_thenIgnoreSnapshot() {
+        storeSnapshot(newMetaDataContainer(uuid, SEQUENCE));
+
+        NearCacheRecordStore<Integer, String> recordStore = createRecordStore(new MetaDataContainer());
+
+        assertNull(recordStore.get(1));
+        assertEquals(0, recordStore.size());
+        recordStore.destroy();
+    }
+
+    @Test
+    public void testGet_whenRecordStoreDoesNotReceiveInvalidations_thenIgnoreSnapshot() {
+        storeSnapshot(newMetaDataContainer(uuid, SEQUENCE));
+
+        NearCacheRecordStore<Integer, String> recordStore = createRecordStore(null);
+
+        assertNull(recordStore.get(1));
+        assertEquals(0, recordStore.size());
+        recordStore.destroy();
+    }
+
+    @Test
+    public void testGet_whenSnapshotIsCorrupt_thenIgnoreSnapshot() throws Exception {
+        storeSnapshot(newMetaDataContainer(uuid, SEQUENCE));
+        File[] files = directory.listFiles();
+        assertNotNull(files);
+        for (File file : files) {
+            RandomAccessFile raf = new RandomAccessFile(file, "rw");
+            try {
+                // the value size of the first entry
+                raf.seek(MappedNearCacheSnapshot.HEADER_SIZE + INT_SIZE_IN_BYTES);
+                raf.writeInt(Integer.MAX_VALUE / 2);
+            } finally {
+                closeResource(raf);
+            }
+        }
+
+        NearCacheRecordStore<Integer, String> recordStore = createRecordStore(newMetaDataContainer(uuid, SEQUENCE));
+
+        assertNull(recordStore.get(1));
+        assertEquals(0, recordStore.size());
+        assertEquals(1, recordStore.getNearCacheStats().getMisses());
+        recordStore.destroy();
+    }
+
+    @Test
+    public void testStoreSnapshot_skipsStaleRecords() {
+        MetaDataContainer metaDataContainer = newMetaDataContainer(uuid, SEQUENCE);
+        NearCacheRecordStore<Integer, String> recordStore = createRecordStore(metaDataContainer);
+        for (int i = 0; i < KEY_COUNT; i++) {
+            recordStore.put(i, null, "value-" + i, null);
+        }
+        metaDataContainer.casStaleSequence(0, SEQUENCE + 1);
+        recordStore.storeSnapshot();
+
+        assertEquals(0, recordStore.getNearCacheStats().getLastPersistenceKeyCount());
+        recordStore.destroy();
+    }
+
+    private void storeSnapshot(MetaDataContainer metaDataContainer) {
+        NearCacheRecordStore<Integer, String> recordStore = createRecordStore(metaDataContainer);
+        for (int i = 0; i < KEY_COUNT; i++) {
+            recordStore.put(i, null, "value-" + i, null);
+        }
+        recordStore.storeSnapshot();
+
+        assertEquals(KEY_COUNT, recordStore.getNearCacheStats().getLastPersistenceKeyCount());
+        recordStore.destroy();
+    }
+
+    private NearCacheRecordStore<Integer, String> createRecordStore(MetaDataContainer metaDataContainer) {
+        NearCacheRecordStore<Integer, String> recordStore;
+        switch (inMemoryFormat) {
+            case BINARY:
+                recordStore = new NearCacheDataRecordStore<Integer, String>(nearCacheConfig.getName(), nearCacheConfig,
+                        serializationService, null);
+                break;
+            case OBJECT:
+                recordStore = new NearCacheObjectRecordStore<Integer, String>(nearCacheConfig.getName(), nearCacheConfig,
+                        serializationService, null);
+                break;
+            case NATIVE:
+                recordStore = new NativeNearCacheRecordStore<Integer, String>(nearCacheConfig.getName(), nearCacheConfig,
+                        serializationService, null, memoryManager);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported in-memory format: " + inMemoryFormat);
+        }
+        recordStore.initialize();
+        recordStore.setStaleReadDetector(metaDataContainer == null
+                ? ALWAYS_FRESH : new TestStaleReadDetector(metaDataContainer));
+        return recordStore;
+    }
+
+    private static MetaDataContainer newMetaDataContainer(UUID uuid, long sequence) {
+        MetaDataContainer metaDataContainer = new MetaDataContainer();
+        metaDataContainer.setUuid(uuid);
+        metaDataContainer.setSequence(sequence);
+        return metaDataContainer;
+    }
+
+    private static class TestStaleReadDetector implements StaleReadDetector {
+
+        private final MetaDataContainer metaDataContainer;
+
+        TestStaleReadDetector(MetaDataContainer metaDataContainer) {
+            this.metaDataContainer = metaDataContainer;
+        }
+
+        @Override
+        public boolean isStaleRead(Object key, NearCacheRecord record) {
+            return !record.hasSameUuid(metaDataContainer.getUuid())
+                    || record.getInvalidationSequence() < metaDataContainer.getStaleSequence();
+        }
+
+        @Override
+        public int getPartitionId(Object key) {
+            return PARTITION_ID;
+        }
+
+        @Override
+        public MetaDataContainer getMetaDataContainer(int partitionId) {
+            return metaDataContainer;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.store;
+
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.monitor.NearCacheStats;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.test.HazelcastParallelParametersRunnerFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized.UseParametersRunnerFactory;
+
+import java.util.Collection;
+
+import static com.hazelcast.config.EvictionConfig.MaxSizePolicy.ENTRY_COUNT;
+import static com.hazelcast.internal.nearcache.NearCacheRecord.NOT_RESERVED;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Parameterized.class)
+@UseParametersRunnerFactory(HazelcastParallelParametersRunnerFactory.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class TinyLfuNearCacheRecordStoreTest {
+
+    private static final int MAX_SIZE = 100;
+    private static final int HOT_KEY_COUNT = MAX_SIZE / 2;
+
+    @Parameters(name = "inMemoryFormat:{0}")
+    public static Collection<Object[]> parameters() {
+        return asList(new Object[][]{
+                {InMemoryFormat.BINARY},
+                {InMemoryFormat.OBJECT},
+        });
+    }
+
+    @Parameter
+    public InMemoryFormat inMemoryFormat;
+
+    private SerializationService serializationService;
+    private TinyLfuNearCacheRecordStore<Integer, String> store;
+
+    @Before
+    public void setUp() {
+        EvictionConfig evictionConfig = new EvictionConfig()
+                .setEvictionPolicy(EvictionPolicy.LRU)
+                .setMaximumSizePolicy(ENTRY_COUNT)
+                .setSize(MAX_SIZE);
+        NearCacheConfig config = new NearCacheConfig()
+                .setInMemoryFormat(inMemoryFormat)
+                .setEvictionConfig(evictionConfig);
+
+        serializationService = new DefaultSerializationServiceBuilder().build();
+
+        store = new TinyLfuNearCacheRecordStore<Integer, String>("name", config, serializationService,
+                getClass().getClassLoader());
+        store.initialize();
+    }
+
+    @After
+    public void tearDown() {
+        store.destroy();
+    }
+
+    @Test
+    public void testPutAndGet() {
+        put(1);
+
+        assertEquals("value-1", store.get(1));
+        assertEquals(1, store.size());
+        assertEquals(1, store.getNearCacheStats().getOwnedEntryCount());
+    }
+
+    @Test
+    public void testPut_keepsStoreWithinMaximumSize() {
+        for (int key = 0; key < 10 * MAX_SIZE; key++) {
+            put(key);
+        }
+
+        NearCacheStats stats = store.getNearCacheStats();
+        assertEquals(MAX_SIZE, store.size());
+        assertEquals(MAX_SIZE, stats.getOwnedEntryCount());
+        assertEquals(9 * MAX_SIZE, stats.getEvictions());
+        assertEquals(MAX_SIZE, store.getPolicy().size());
+    }
+
+    @Test
+    public void testFrequentlyReadKeysSurviveScan() {
+        for (int key = 0; key < HOT_KEY_COUNT; key++) {
+            put(key);
+        }
+        for (int i = 0; i < 5; i++) {
+            for (int key = 0; key < HOT_KEY_COUNT; key++) {
+                assertNotNull(store.get(key));
+            }
+        }
+
+        // a scan over keys which are read once and never again, mixed with reads of the hot keys
+        for (int key = 1000; key < 1000 + 10 * MAX_SIZE; key++) {
+            put(key);
+            store.get(key);
+            store.get(key % HOT_KEY_COUNT);
+        }
+
+        for (int key = 0; key < HOT_KEY_COUNT; key++) {
+            assertNotNull("hot key " + key + " has been evicted", store.get(key));
+        }
+        NearCacheStats stats = store.getNearCacheStats();
+        assertTrue(stats.getAdmissionRejections() > 0);
+        assertTrue(stats.getHitRatio() > 0.5);
+    }
+
+    @Test
+    public void testReservation_addsKeyToPolicy() {
+        Data keyData = serializationService.toData(1);
+        long reservationId = store.tryReserveForUpdate(1, keyData);
+        assertNotEquals(NOT_RESERVED, reservationId);
+
+        assertEquals("value", store.tryPublishReserved(1, "value", reservationId, true));
+        assertEquals("value", store.get(1));
+        assertTrue(store.getPolicy().contains(1));
+    }
+
+    @Test
+    public void testInvalidate_removesKeyFromPolicy() {
+        put(1);
+        store.invalidate(1);
+
+        assertNull(store.get(1));
+        assertEquals(0, store.getPolicy().size());
+        assertEquals(0, store.getNearCacheStats().getOwnedEntryCount());
+    }
+
+    @Test
+    public void testClear_removesAllKeysFromPolicy() {
+        for (int key = 0; key < MAX_SIZE; key++) {
+            put(key);
+        }
+        store.clear();
+
+        assertEquals(0, store.size());
+        assertEquals(0, store.getPolicy().size());
+    }
+
+    private void put(int key) {
+        store.put(key, serializationService.toData(key), "value-" + key, null);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.tinylfu;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.internal.nearcache.impl.tinylfu.FrequencySketch.MAX_FREQUENCY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class FrequencySketchTest {
+
+    private final FrequencySketch sketch = new FrequencySketch(512);
+
+    @Test
+    public void testFrequency_whenNeverIncremented() {
+        assertEquals(0, sketch.frequency(42));
+    }
+
+    @Test
+    public void testIncrement() {
+        sketch.increment(42);
+        sketch.increment(42);
+        sketch.increment(42);
+
+        assertEquals(3, sketch.frequency(42));
+    }
+
+    @Test
+    public void testIncrement_isSaturatedAtMaxFrequency() {
+        for (int i = 0; i < 2 * MAX_FREQUENCY; i++) {
+            sketch.increment(42);
+        }
+
+        assertEquals(MAX_FREQUENCY, sketch.frequency(42));
+    }
+
+    @Test
+    public void testFrequency_distinguishesHotAndColdKeys() {
+        for (int i = 0; i < 10; i++) {
+            sketch.increment(1);
+        }
+        for (int key = 100; key < 400; key++) {
+            sketch.increment(key);
+        }
+
+        assertTrue(sketch.frequency(1) > sketch.frequency(200));
+    }
+
+    @Test
+    public void testReset_halvesCountersWhenSampleSizeIsReached() {
+        FrequencySketch sketch = new FrequencySketch(8);
+        for (int i = 0; i < 8; i++) {
+            sketch.increment(42);
+        }
+        int frequency = sketch.frequency(42);
+
+        // the sample size is 80, so this ages the sketch at least once
+        for (int key = 1000; key < 1100; key++) {
+            sketch.increment(key);
+        }
+
+        assertTrue(sketch.frequency(42) <= frequency / 2);
+        assertTrue(sketch.size() < 80);
+    }
+
+    @Test
+    public void testClear() {
+        sketch.increment(42);
+        sketch.clear();
+
+        assertEquals(0, sketch.frequency(42));
+        assertEquals(0, sketch.size());
+    }
+}
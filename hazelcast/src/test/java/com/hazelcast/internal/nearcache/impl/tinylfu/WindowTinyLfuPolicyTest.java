@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.tinylfu;
+
+import com.hazelcast.monitor.impl.NearCacheStatsImpl;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class WindowTinyLfuPolicyTest {
+
+    private static final int MAXIMUM_SIZE = 100;
+
+    private final NearCacheStatsImpl nearCacheStats = new NearCacheStatsImpl();
+    private final WindowTinyLfuPolicy<Integer> policy = new WindowTinyLfuPolicy<Integer>(MAXIMUM_SIZE, nearCacheStats);
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_withZeroMaximumSize() {
+        new WindowTinyLfuPolicy<Integer>(0, nearCacheStats);
+    }
+
+    @Test
+    public void testOnAdd_doesNotEvictBelowMaximumSize() {
+        for (int key = 0; key < MAXIMUM_SIZE; key++) {
+            assertNull(policy.onAdd(key));
+        }
+
+        assertEquals(MAXIMUM_SIZE, policy.size());
+    }
+
+    @Test
+    public void testOnAdd_evictsAboveMaximumSize() {
+        for (int key = 0; key < 10 * MAXIMUM_SIZE; key++) {
+            Integer victim = policy.onAdd(key);
+            if (victim != null) {
+                assertFalse(policy.contains(victim));
+            }
+        }
+
+        assertEquals(MAXIMUM_SIZE, policy.size());
+    }
+
+    @Test
+    public void testOnAdd_withExistingKey() {
+        policy.onAdd(1);
+
+        assertNull(policy.onAdd(1));
+        assertEquals(1, policy.size());
+    }
+
+    @Test
+    public void testRecordAccess_promotesProbationKeyToProtected() {
+        // keys 0 and 1 are pushed from the window into the probation segment
+        policy.onAdd(0);
+        policy.onAdd(1);
+        policy.onAdd(2);
+        assertFalse(policy.isProtected(0));
+
+        policy.recordAccess(0);
+
+        assertTrue(policy.isProtected(0));
+    }
+
+    @Test
+    public void testFrequentKeysSurviveScan() {
+        fillWithHotKeys();
+
+        for (int key = 1000; key < 1000 + 10 * MAXIMUM_SIZE; key++) {
+            policy.onAdd(key);
+        }
+
+        int survivors = 0;
+        for (int key = 0; key < MAXIMUM_SIZE / 2; key++) {
+            if (policy.contains(key)) {
+                survivors++;
+            }
+        }
+        assertEquals(MAXIMUM_SIZE / 2, survivors);
+        assertTrue(nearCacheStats.getAdmissionRejections() > 0);
+    }
+
+    @Test
+    public void testOnRemove() {
+        policy.onAdd(1);
+        policy.onRemove(1);
+
+        assertFalse(policy.contains(1));
+        assertEquals(0, policy.size());
+    }
+
+    @Test
+    public void testClear() {
+        fillWithHotKeys();
+        policy.clear();
+
+        assertEquals(0, policy.size());
+    }
+
+    private void fillWithHotKeys() {
+        for (int key = 0; key < MAXIMUM_SIZE / 2; key++) {
+            policy.onAdd(key);
+        }
+        for (int i = 0; i < 5; i++) {
+            for (int key = 0; key < MAXIMUM_SIZE / 2; key++) {
+                policy.recordAccess(key);
+            }
+        }
+    }
+}
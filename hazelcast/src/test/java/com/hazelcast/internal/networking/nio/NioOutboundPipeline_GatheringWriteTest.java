@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.nio;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Random;
+
+import static com.hazelcast.spi.properties.GroupProperty.SOCKET_GATHERING_WRITE_THRESHOLD;
+import static com.hazelcast.spi.properties.GroupProperty.SOCKET_SEND_BUFFER_SIZE;
+import static org.junit.Assert.assertArrayEquals;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class NioOutboundPipeline_GatheringWriteTest extends HazelcastTestSupport {
+
+    @After
+    public void cleanUp() {
+        Hazelcast.shutdownAll();
+    }
+
+    @Test
+    public void whenLargeValues_thenTransferredIntact() {
+        HazelcastInstance instance1 = Hazelcast.newHazelcastInstance(getConfig());
+        HazelcastInstance instance2 = Hazelcast.newHazelcastInstance(getConfig());
+        assertClusterSizeEventually(2, instance1, instance2);
+
+        Random random = new Random();
+        byte[][] values = new byte[20][];
+        IMap<Integer, byte[]> map1 = instance1.getMap("map");
+        for (int k = 0; k < values.length; k++) {
+            // mix of values below and above the threshold and larger than the send buffer
+            values[k] = new byte[random.nextInt(300 * 1024)];
+            random.nextBytes(values[k]);
+            map1.put(k, values[k]);
+        }
+
+        IMap<Integer, byte[]> map2 = instance2.getMap("map");
+        for (int k = 0; k < values.length; k++) {
+            assertArrayEquals(values[k], map2.get(k));
+        }
+    }
+
+    @Override
+    protected Config getConfig() {
+        Config config = new Config();
+        config.setProperty(SOCKET_GATHERING_WRITE_THRESHOLD.getName(), "16");
+        config.setProperty(SOCKET_SEND_BUFFER_SIZE.getName(), "32");
+        JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getTcpIpConfig().addMember("127.0.0.1").setEnabled(true);
+        join.getMulticastConfig().setEnabled(false);
+        return config;
+    }
+}
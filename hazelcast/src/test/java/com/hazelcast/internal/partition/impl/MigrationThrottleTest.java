@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.partition.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.spi.properties.GroupProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MigrationThrottleTest extends HazelcastTestSupport {
+
+    @Test
+    public void test_noDelay_whenDisabled() {
+        MigrationThrottle throttle = new MigrationThrottle(0);
+        throttle.onSent(Integer.MAX_VALUE);
+
+        assertFalse(throttle.isEnabled());
+        assertEquals(0, throttle.getDelayNanos());
+    }
+
+    @Test
+    public void test_noDelay_beforeAnythingSent() {
+        MigrationThrottle throttle = new MigrationThrottle(1024);
+
+        assertTrue(throttle.isEnabled());
+        assertEquals(0, throttle.getDelayNanos());
+    }
+
+    @Test
+    public void test_delay_proportionalToSentBytes() {
+        MigrationThrottle throttle = new MigrationThrottle(1000);
+        throttle.onSent(10000);
+
+        long delayNanos = throttle.getDelayNanos();
+        assertTrue("delay: " + delayNanos, delayNanos > SECONDS.toNanos(9));
+        assertTrue("delay: " + delayNanos, delayNanos <= SECONDS.toNanos(10));
+    }
+
+    @Test
+    public void test_delay_accumulates() {
+        MigrationThrottle throttle = new MigrationThrottle(1000);
+        throttle.onSent(10000);
+        throttle.onSent(10000);
+
+        assertTrue(throttle.getDelayNanos() > SECONDS.toNanos(19));
+    }
+
+    @Test
+    public void test_delay_elapses() {
+        MigrationThrottle throttle = new MigrationThrottle(1000);
+        throttle.onSent(50);
+
+        sleepMillis(100);
+        assertEquals(0, throttle.getDelayNanos());
+    }
+
+    @Test
+    public void test_migrationStats_whenMigrationIsThrottled() {
+        Config config = smallInstanceConfig()
+                .setProperty(GroupProperty.PARTITION_MIGRATION_MAX_BANDWIDTH_MB.getName(), "1");
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance1 = factory.newHazelcastInstance(config);
+        IMap<Integer, byte[]> map = instance1.getMap("map");
+        for (int i = 0; i < 100; i++) {
+            map.put(i, new byte[10 * 1024]);
+        }
+
+        HazelcastInstance instance2 = factory.newHazelcastInstance(config);
+        waitAllForSafeState(instance1, instance2);
+
+        MigrationManager migrationManager = getNode(instance1).partitionService.getMigrationManager();
+        MigrationStats stats = migrationManager.getStats();
+        assertTrue(stats.getPlannedMigrations() > 0);
+        assertEquals(0, stats.getRemainingMigrations());
+        assertEquals(0, stats.getEstimatedRemainingMigrationTime());
+        // all replicas on the new member are migrated from the first one
+        assertTrue(stats.getTotalSentMigrationData() > 100 * 10 * 1024);
+        assertEquals(100, instance2.getMap("map").size());
+    }
+}
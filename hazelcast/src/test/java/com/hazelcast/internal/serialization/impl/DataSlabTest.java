@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.nio.BufferObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class DataSlabTest {
+
+    private InternalSerializationService serializationService;
+    private DataSlab slab;
+
+    @Before
+    public void setup() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        slab = serializationService.takeDataSlab();
+    }
+
+    @After
+    public void tearDown() {
+        serializationService.returnDataSlab(slab);
+    }
+
+    @Test
+    public void toData_whenNull() {
+        assertNull(serializationService.toData(null, slab));
+    }
+
+    @Test
+    public void toData_whenData() {
+        Data data = serializationService.toData("foo");
+
+        assertSame(data, serializationService.toData(data, slab));
+    }
+
+    @Test
+    public void toData_sameAsHeapData() {
+        Data heapData = serializationService.toData("foo");
+        Data slabData = serializationService.toData("foo", slab);
+
+        assertArrayEquals(heapData.toByteArray(), slabData.toByteArray());
+        assertEquals(heapData.getType(), slabData.getType());
+        assertEquals(heapData.totalSize(), slabData.totalSize());
+        assertEquals(heapData.dataSize(), slabData.dataSize());
+        assertEquals(heapData.getPartitionHash(), slabData.getPartitionHash());
+        assertEquals(heapData.hash64(), slabData.hash64());
+        assertEquals(heapData.hashCode(), slabData.hashCode());
+        assertEquals(heapData, slabData);
+        assertEquals(slabData, heapData);
+    }
+
+    @Test
+    public void toData_multipleObjectsInOneSlab() {
+        Data data1 = serializationService.toData("foo", slab);
+        Data data2 = serializationService.toData(42L, slab);
+
+        assertEquals(data1.totalSize() + data2.totalSize(), slab.size());
+        assertEquals("foo", serializationService.toObject(data1));
+        assertEquals(42L, (long) serializationService.<Long>toObject(data2));
+    }
+
+    @Test
+    public void toData_whenSlabGrows() {
+        Data data1 = serializationService.toData("foo", slab);
+        Data data2 = serializationService.toData(new byte[64 * 1024], slab);
+
+        assertEquals("foo", serializationService.toObject(data1));
+        assertEquals(64 * 1024, serializationService.<byte[]>toObject(data2).length);
+    }
+
+    @Test
+    public void writeData_copiesView() throws Exception {
+        Data data = serializationService.toData("foo", slab);
+        BufferObjectDataOutput out = serializationService.createObjectDataOutput();
+        out.writeData(data);
+
+        Data copy = serializationService.createObjectDataInput(out.toByteArray()).readData();
+        serializationService.returnDataSlab(slab);
+        slab = serializationService.takeDataSlab();
+
+        assertEquals("foo", serializationService.toObject(copy));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void access_afterSlabReturned() {
+        Data data = serializationService.toData("foo", slab);
+        serializationService.returnDataSlab(slab);
+        slab = serializationService.takeDataSlab();
+
+        data.getPartitionHash();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void toData_afterSlabReturned() {
+        DataSlab returned = serializationService.takeDataSlab();
+        serializationService.returnDataSlab(returned);
+
+        serializationService.toData("foo", returned);
+    }
+
+    @Test
+    public void heapCost_doesNotIncludeSlabBytes() {
+        Data data = serializationService.toData(new byte[1024], slab);
+
+        assertTrue(data.getHeapCost() < 1024);
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl;
+
+import com.hazelcast.config.JavaSerializationFilterConfig;
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.config.SerializerConfig;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.nio.BufferObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.hazelcast.internal.serialization.impl.SerializationConstants.JAVA_DEFAULT_TYPE_POJO;
+import static com.hazelcast.test.HazelcastTestSupport.assertInstanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PojoSerializerTest {
+
+    private InternalSerializationService serializationService;
+
+    @Before
+    public void setup() {
+        SerializationConfig config = new SerializationConfig()
+                .addSerializerConfig(new SerializerConfig()
+                        .setTypeClass(Person.class)
+                        .setClassName(PojoSerializer.class.getName()))
+                .addSerializerConfig(new SerializerConfig()
+                        .setTypeClass(Address.class)
+                        .setClassName(PojoSerializer.class.getName()));
+        serializationService = new DefaultSerializationServiceBuilder().setConfig(config).build();
+    }
+
+    @Test
+    public void testRoundTrip() {
+        Person person = new Person("joe", 42, 1.8, true, new Address("main street", 7));
+        person.tags = Arrays.asList("a", "b");
+
+        Data data = serializationService.toData(person);
+        Person found = serializationService.toObject(data);
+
+        assertEquals(JAVA_DEFAULT_TYPE_POJO, data.getType());
+        assertEquals(person, found);
+        assertEquals(0, found.cachedHash);
+    }
+
+    @Test
+    public void testRoundTrip_withNullFields() {
+        Person person = new Person(null, 1, 0, false, null);
+
+        Person found = serializationService.toObject(serializationService.toData(person));
+
+        assertEquals(person, found);
+        assertNull(found.name);
+    }
+
+    @Test
+    public void testRoundTrip_withSubclass() {
+        Employee employee = new Employee("joe", 42, "acme");
+
+        Employee found = serializationService.toObject(serializationService.toData(employee));
+
+        assertEquals("joe", found.name);
+        assertEquals(42, found.age);
+        assertEquals("acme", found.company);
+    }
+
+    @Test
+    public void testRead_whenReadingSerializerRegisteredForAnotherClass() {
+        // Person and Address share the type ID, the serializer of the first registration reads both
+        Address address = new Address("main street", 7);
+
+        Address found = serializationService.toObject(serializationService.toData(address));
+
+        assertEquals(address, found);
+    }
+
+    @Test(expected = HazelcastSerializationException.class)
+    public void testRegistration_whenNoDefaultConstructor() {
+        new PojoSerializer(NoDefaultConstructor.class);
+    }
+
+    @Test(expected = HazelcastSerializationException.class)
+    public void testRead_whenClassNotRegistered() throws Exception {
+        // a class that is not registered for the PojoSerializer must not be instantiated
+        PojoSerializer serializer = new PojoSerializer(NotRegistered.class);
+        BufferObjectDataOutput out = serializationService.createObjectDataOutput();
+        serializer.write(out, new NotRegistered());
+
+        PojoSerializer reader = new PojoSerializer(Person.class);
+        reader.read(serializationService.createObjectDataInput(out.toByteArray()));
+    }
+
+    @Test
+    public void testRead_whenClassIsBlacklisted() {
+        JavaSerializationFilterConfig filterConfig = new JavaSerializationFilterConfig();
+        filterConfig.getBlacklist().addClasses(Employee.class.getName());
+        SerializationConfig config = new SerializationConfig()
+                .setJavaSerializationFilterConfig(filterConfig)
+                .addSerializerConfig(new SerializerConfig()
+                        .setTypeClass(Person.class)
+                        .setClassName(PojoSerializer.class.getName()));
+        InternalSerializationService filteringSerializationService = new DefaultSerializationServiceBuilder()
+                .setConfig(config).build();
+        Data data = filteringSerializationService.toData(new Employee("joe", 42, "acme"));
+
+        try {
+            filteringSerializationService.toObject(data);
+            fail("The blacklisted class must not be loaded");
+        } catch (HazelcastSerializationException expected) {
+            assertInstanceOf(SecurityException.class, expected.getCause());
+        }
+    }
+
+    static class Person {
+
+        String name;
+        int age;
+        double height;
+        boolean active;
+        Address address;
+        List<String> tags;
+        transient int cachedHash;
+
+        Person() {
+        }
+
+        Person(String name, int age, double height, boolean active, Address address) {
+            this.name = name;
+            this.age = age;
+            this.height = height;
+            this.active = active;
+            this.address = address;
+            this.cachedHash = 1;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Person person = (Person) o;
+            return age == person.age
+                    && Double.compare(person.height, height) == 0
+                    && active == person.active
+                    && (name != null ? name.equals(person.name) : person.name == null)
+                    && (address != null ? address.equals(person.address) : person.address == null)
+                    && (tags != null ? tags.equals(person.tags) : person.tags == null);
+        }
+
+        @Override
+        public int hashCode() {
+            return age;
+        }
+    }
+
+    static class Employee extends Person {
+
+        String company;
+
+        Employee() {
+        }
+
+        Employee(String name, int age, String company) {
+            super(name, age, 0, true, null);
+            this.company = company;
+        }
+    }
+
+    static class Address {
+
+        private final String street;
+        private final int number;
+
+        private Address() {
+            this(null, 0);
+        }
+
+        Address(String street, int number) {
+            this.street = street;
+            this.number = number;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Address address = (Address) o;
+            return number == address.number && (street != null ? street.equals(address.street) : address.street == null);
+        }
+
+        @Override
+        public int hashCode() {
+            return number;
+        }
+    }
+
+    static class NoDefaultConstructor {
+
+        NoDefaultConstructor(int value) {
+        }
+    }
+
+    static class NotRegistered {
+    }
+}
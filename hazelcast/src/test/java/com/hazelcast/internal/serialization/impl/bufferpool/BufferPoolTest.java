@@ -18,6 +18,7 @@ package com.hazelcast.internal.serialization.impl.bufferpool;
 
 import com.hazelcast.internal.cluster.Versions;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DataSlab;
 import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
 import com.hazelcast.internal.serialization.impl.HeapData;
 import com.hazelcast.nio.BufferObjectDataInput;
@@ -180,4 +181,51 @@ public class BufferPoolTest extends HazelcastTestSupport {
         BufferObjectDataInput found2 = bufferPool.takeInputBuffer(data);
         assertEquals(Version.UNKNOWN, found2.getVersion());
     }
+
+    // ======================= slab ==========================================
+
+    @Test
+    public void takeDataSlab_whenPooledInstance() {
+        DataSlab found1 = bufferPool.takeDataSlab();
+        bufferPool.returnDataSlab(found1);
+        DataSlab found2 = bufferPool.takeDataSlab();
+
+        assertSame(found1, found2);
+    }
+
+    @Test
+    public void takeDataSlab_whenNestedInstance() {
+        DataSlab found1 = bufferPool.takeDataSlab();
+        DataSlab found2 = bufferPool.takeDataSlab();
+
+        assertNotSame(found1, found2);
+    }
+
+    @Test
+    public void returnDataSlab_clearsContent() {
+        DataSlab slab = bufferPool.takeDataSlab();
+        serializationService.toData("foo", slab);
+
+        bufferPool.returnDataSlab(slab);
+
+        assertEquals(1, bufferPool.slabQueue.size());
+        assertEquals(0, slab.size());
+    }
+
+    @Test
+    public void returnDataSlab_whenOverflowing() {
+        for (int k = 0; k < BufferPoolImpl.MAX_POOLED_ITEMS; k++) {
+            bufferPool.returnDataSlab(new DataSlab(serializationService.createObjectDataOutput()));
+        }
+
+        bufferPool.returnDataSlab(new DataSlab(serializationService.createObjectDataOutput()));
+
+        assertEquals(BufferPoolImpl.MAX_POOLED_ITEMS, bufferPool.slabQueue.size());
+    }
+
+    @Test
+    public void returnDataSlab_whenNull() {
+        bufferPool.returnDataSlab(null);
+        assertEquals(0, bufferPool.slabQueue.size());
+    }
 }
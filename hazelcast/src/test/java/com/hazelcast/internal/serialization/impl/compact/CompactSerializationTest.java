@@ -0,0 +1,299 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.internal.serialization.impl.compact.CompactTestSupport.Address;
+import com.hazelcast.internal.serialization.impl.compact.CompactTestSupport.Employee;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.MapEntries;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.operation.PutAllOperation;
+import com.hazelcast.nio.Bits;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.spi.exception.RetryableHazelcastException;
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
+import com.hazelcast.spi.impl.operationexecutor.OperationHostileThread;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteOrder;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.hazelcast.internal.serialization.impl.compact.CompactTestSupport.compactSerializationConfig;
+import static com.hazelcast.internal.serialization.impl.compact.CompactTestSupport.createSerializationService;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CompactSerializationTest extends HazelcastTestSupport {
+
+    private TestHazelcastInstanceFactory factory;
+    private Config config;
+
+    @Before
+    public void setUp() {
+        factory = createHazelcastInstanceFactory(3);
+        config = smallInstanceConfig();
+        config.setSerializationConfig(compactSerializationConfig());
+    }
+
+    @Test
+    public void testSchemaIsReplicatedOnPut() {
+        HazelcastInstance instance1 = factory.newHazelcastInstance(config);
+        HazelcastInstance instance2 = factory.newHazelcastInstance(config);
+
+        IMap<Integer, Employee> map = instance1.getMap(randomMapName());
+        map.put(1, employee(1));
+        final long schemaId = schemaIdOf(instance1, employee(1));
+        final LocalSchemaService schemaService = schemaService(instance2);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertNotNull(schemaService.getLocal(schemaId));
+            }
+        });
+    }
+
+    @Test
+    public void testSchemaIsSentToJoiningMember() {
+        HazelcastInstance instance1 = factory.newHazelcastInstance(config);
+        String mapName = randomMapName();
+        instance1.getMap(mapName).put(1, employee(1));
+        long schemaId = schemaIdOf(instance1, employee(1));
+
+        HazelcastInstance instance2 = factory.newHazelcastInstance(config);
+
+        assertNotNull(schemaService(instance2).getLocal(schemaId));
+        assertEquals(employee(1), instance2.getMap(mapName).get(1));
+    }
+
+    @Test
+    public void testMissingSchemaIsFetched() {
+        HazelcastInstance instance1 = factory.newHazelcastInstance(config);
+        HazelcastInstance instance2 = factory.newHazelcastInstance(config);
+        Schema schema = new Schema("missing", Collections.singletonMap("field", FieldKind.INT));
+        schemaService(instance1).putLocal(schema);
+
+        assertEquals(schema, schemaService(instance2).get(schema.getSchemaId()));
+        assertNotNull(schemaService(instance2).getLocal(schema.getSchemaId()));
+    }
+
+    @Test
+    public void testMissingSchemaIsFetchedInBackground_whenReadOnOperationThread() {
+        HazelcastInstance instance1 = factory.newHazelcastInstance(config);
+        HazelcastInstance instance2 = factory.newHazelcastInstance(config);
+        final Schema schema = new Schema("missing", Collections.singletonMap("field", FieldKind.INT));
+        schemaService(instance1).putLocal(schema);
+        final LocalSchemaService schemaService = schemaService(instance2);
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        getNodeEngineImpl(instance2).getOperationService().execute(new PartitionSpecificRunnable() {
+            @Override
+            public int getPartitionId() {
+                return 0;
+            }
+
+            @Override
+            public void run() {
+                try {
+                    schemaService.get(schema.getSchemaId());
+                } catch (Throwable t) {
+                    failure.set(t);
+                }
+                latch.countDown();
+            }
+        });
+
+        assertOpenEventually(latch);
+        assertInstanceOf(RetryableHazelcastException.class, failure.get());
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertEquals(schema, schemaService.getLocal(schema.getSchemaId()));
+            }
+        });
+    }
+
+    @Test
+    public void testMissingSchemaIsFetchedInBackground_whenReadOnOperationHostileThread() throws Exception {
+        HazelcastInstance instance1 = factory.newHazelcastInstance(config);
+        HazelcastInstance instance2 = factory.newHazelcastInstance(config);
+        final Schema schema = new Schema("missing", Collections.singletonMap("field", FieldKind.INT));
+        schemaService(instance1).putLocal(schema);
+        final LocalSchemaService schemaService = schemaService(instance2);
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+        Thread thread = new OperationHostileTestThread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    schemaService.get(schema.getSchemaId());
+                } catch (Throwable t) {
+                    failure.set(t);
+                }
+            }
+        });
+        thread.start();
+        thread.join();
+
+        assertInstanceOf(RetryableHazelcastException.class, failure.get());
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertEquals(schema, schemaService.getLocal(schema.getSchemaId()));
+            }
+        });
+    }
+
+    @Test
+    public void testIsSchemaKnown_fetchesMissingNestedSchema() {
+        HazelcastInstance instance1 = factory.newHazelcastInstance(config);
+        HazelcastInstance instance2 = factory.newHazelcastInstance(config);
+        InternalSerializationService serializationService = createSerializationService(ByteOrder.BIG_ENDIAN);
+        final Data data = serializationService.toData(employee(1));
+        Schema employeeSchema = null;
+        for (Schema schema : standaloneSchemas(serializationService)) {
+            schemaService(instance1).putLocal(schema);
+            if (schema.getTypeName().equals("employee")) {
+                employeeSchema = schema;
+            }
+        }
+        final MemberSchemaService schemaService = (MemberSchemaService) schemaService(instance2);
+        schemaService.putLocal(employeeSchema);
+
+        assertFalse(schemaService.isSchemaKnown(data));
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertTrue(schemaService.isSchemaKnown(data));
+            }
+        });
+    }
+
+    @Test
+    public void testPutAll_isRetriedBeforeAnyEntryIsPut_whenSchemasAreMissing() {
+        HazelcastInstance instance1 = factory.newHazelcastInstance(config);
+        HazelcastInstance instance2 = factory.newHazelcastInstance(config);
+        warmUpPartitions(instance1, instance2);
+        InternalSerializationService serializationService = createSerializationService(ByteOrder.BIG_ENDIAN);
+        int partitionId = getPartitionService(instance2).getPartitionId(generateKeyOwnedBy(instance2));
+        MapEntries entries = new MapEntries(2);
+        String key1 = generateKeyForPartition(instance2, partitionId);
+        String key2 = generateKeyForPartition(instance2, partitionId);
+        entries.add(serializationService.toData(key1), serializationService.toData(employee(1)));
+        entries.add(serializationService.toData(key2), serializationService.toData(employee(2)));
+        // only the member which does not own the partition knows the schemas
+        for (Schema schema : standaloneSchemas(serializationService)) {
+            schemaService(instance1).putLocal(schema);
+        }
+        String mapName = randomMapName();
+
+        getNodeEngineImpl(instance1).getOperationService()
+                .invokeOnPartition(MapService.SERVICE_NAME, new PutAllOperation(mapName, entries), partitionId)
+                .join();
+
+        // the owner fetched the schemas before putting the entries
+        for (Schema schema : standaloneSchemas(serializationService)) {
+            assertNotNull(schemaService(instance2).getLocal(schema.getSchemaId()));
+        }
+        IMap<String, Employee> map = instance2.getMap(mapName);
+        assertEquals(2, map.size());
+        assertEquals(employee(1), map.get(key1));
+        assertEquals(employee(2), map.get(key2));
+    }
+
+    @Test
+    public void testQuery() {
+        HazelcastInstance instance1 = factory.newHazelcastInstance(config);
+        HazelcastInstance instance2 = factory.newHazelcastInstance(config);
+        IMap<Integer, Employee> map = instance1.getMap(randomMapName());
+        for (int i = 0; i < 100; i++) {
+            map.put(i, employee(i));
+        }
+
+        IMap<Integer, Employee> otherMap = instance2.getMap(map.getName());
+        Collection<Employee> result = otherMap.values(Predicates.and(
+                Predicates.greaterEqual("age", 90), Predicates.equal("address.city", "city-0")));
+
+        assertEquals(1, result.size());
+        for (Employee employee : result) {
+            assertTrue(employee.age >= 90);
+            assertEquals("city-0", employee.address.city);
+        }
+    }
+
+    @Test
+    public void testQueryWithIndex() {
+        HazelcastInstance instance1 = factory.newHazelcastInstance(config);
+        factory.newHazelcastInstance(config);
+        IMap<Integer, Employee> map = instance1.getMap(randomMapName());
+        map.addIndex("age", true);
+        map.addIndex("address.zip", false);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, employee(i));
+        }
+
+        assertEquals(10, map.keySet(Predicates.lessThan("age", 10)).size());
+        assertEquals(10, map.keySet(Predicates.equal("address.zip", 3)).size());
+        assertEquals(employee(42), map.values(Predicates.equal("id", 42L)).iterator().next());
+    }
+
+    private static Collection<Schema> standaloneSchemas(InternalSerializationService serializationService) {
+        return ((LocalSchemaService) serializationService.getCompactStreamSerializer().getSchemaService()).getSchemas();
+    }
+
+    private static class OperationHostileTestThread extends Thread implements OperationHostileThread {
+
+        OperationHostileTestThread(Runnable task) {
+            super(task);
+        }
+    }
+
+    static Employee employee(int i) {
+        return new Employee(i, "name-" + i, i, i * 10.5, i % 2 == 0, new Address("city-" + i % 10, i % 10));
+    }
+
+    static LocalSchemaService schemaService(HazelcastInstance instance) {
+        return (LocalSchemaService) getSerializationService(instance).getCompactStreamSerializer().getSchemaService();
+    }
+
+    static long schemaIdOf(HazelcastInstance instance, Object object) {
+        byte[] bytes = getSerializationService(instance).toData(object).toByteArray();
+        return Bits.readLong(bytes, HeapData.DATA_OFFSET, true);
+    }
+}
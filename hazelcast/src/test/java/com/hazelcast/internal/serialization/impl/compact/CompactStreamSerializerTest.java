@@ -0,0 +1,380 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.internal.serialization.impl.ObjectDataInputStream;
+import com.hazelcast.internal.serialization.impl.ObjectDataOutputStream;
+import com.hazelcast.internal.serialization.impl.SerializationConstants;
+import com.hazelcast.internal.serialization.impl.compact.CompactTestSupport.Address;
+import com.hazelcast.internal.serialization.impl.compact.CompactTestSupport.AllKinds;
+import com.hazelcast.internal.serialization.impl.compact.CompactTestSupport.Employee;
+import com.hazelcast.nio.Bits;
+import com.hazelcast.nio.BufferObjectDataOutput;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.serialization.CompactReader;
+import com.hazelcast.nio.serialization.CompactSerializer;
+import com.hazelcast.nio.serialization.CompactWriter;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.hazelcast.internal.serialization.impl.compact.CompactTestSupport.createSerializationService;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CompactStreamSerializerTest {
+
+    private InternalSerializationService ss;
+
+    @Before
+    public void setUp() {
+        ss = createSerializationService(ByteOrder.BIG_ENDIAN);
+    }
+
+    @Test
+    public void testAllKinds_roundTrip() {
+        AllKinds object = newAllKinds();
+
+        Data data = ss.toData(object);
+
+        assertTrue(data.isCompact());
+        assertEquals(SerializationConstants.CONSTANT_TYPE_COMPACT, data.getType());
+        assertEquals(object, ss.toObject(data));
+    }
+
+    @Test
+    public void testAllKinds_roundTrip_littleEndian() {
+        InternalSerializationService littleEndian = createSerializationService(ByteOrder.LITTLE_ENDIAN);
+        AllKinds object = newAllKinds();
+
+        assertEquals(object, littleEndian.toObject(littleEndian.toData(object)));
+    }
+
+    @Test
+    public void testNullVariableSizeFields() {
+        AllKinds object = new AllKinds();
+        object.anInt = 42;
+
+        AllKinds read = ss.toObject(ss.toData(object));
+
+        assertEquals(object, read);
+        assertNull(read.aString);
+        assertNull(read.ints);
+    }
+
+    @Test
+    public void testNestedCompact() {
+        Employee employee = new Employee(1, "john", 42, 1000.5, true, new Address("london", 1234));
+
+        assertEquals(employee, ss.toObject(ss.toData(employee)));
+    }
+
+    @Test
+    public void testNullNestedCompact() {
+        Employee employee = new Employee(1, "john", 42, 1000.5, true, null);
+
+        Employee read = ss.toObject(ss.toData(employee));
+
+        assertEquals(employee, read);
+        assertNull(read.address);
+    }
+
+    @Test
+    public void testCompactInsideOtherSerializedObject() {
+        List<Object> list = new ArrayList<Object>();
+        list.add(new Employee(1, "john", 42, 1000.5, true, new Address("london", 1234)));
+        list.add("after");
+        list.add(new Address("paris", 75000));
+
+        assertEquals(list, ss.toObject(ss.toData(list)));
+    }
+
+    @Test
+    public void testStreamInputAndOutput() throws IOException {
+        Employee employee = new Employee(1, "john", 42, 1000.5, true, new Address("london", 1234));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectDataOutputStream out = new ObjectDataOutputStream(bytes, ss);
+        out.writeObject(employee);
+        out.writeUTF("after");
+        out.flush();
+
+        ObjectDataInput in = new ObjectDataInputStream(new ByteArrayInputStream(bytes.toByteArray()), ss);
+
+        assertEquals(employee, in.readObject());
+        assertEquals("after", in.readUTF());
+    }
+
+    @Test
+    public void testFixedSizeFieldsAtFixedOffsets() throws IOException {
+        Employee employee = new Employee(1, "john", 42, 1000.5, true, null);
+        BufferObjectDataOutput out = ss.createObjectDataOutput();
+        out.writeObject(employee);
+        byte[] bytes = out.toByteArray();
+        // type id precedes the compact binary
+        int base = 4;
+
+        Schema schema = ss.getCompactStreamSerializer().getSchemaService().get(readLong(bytes, base));
+        FieldDescriptor age = schema.getField("age");
+
+        assertEquals("employee", schema.getTypeName());
+        assertEquals(42, readInt(bytes, base + schema.getFixedFieldPosition(age)));
+    }
+
+    @Test
+    public void testSchema_sameForEqualFieldsInAnyOrder() {
+        Schema schema = schema("type", "b", FieldKind.INT, "a", FieldKind.UTF);
+        Schema sameSchema = schema("type", "a", FieldKind.UTF, "b", FieldKind.INT);
+
+        assertEquals(schema, sameSchema);
+        assertEquals(schema.getSchemaId(), sameSchema.getSchemaId());
+    }
+
+    @Test
+    public void testSchema_differsForDifferentFieldKind() {
+        Schema schema = schema("type", "a", FieldKind.INT, "b", FieldKind.UTF);
+        Schema otherSchema = schema("type", "a", FieldKind.LONG, "b", FieldKind.UTF);
+
+        assertNotEquals(schema, otherSchema);
+        assertNotEquals(schema.getSchemaId(), otherSchema.getSchemaId());
+    }
+
+    @Test
+    public void testSchema_serialization() {
+        Schema schema = schema("type", "a", FieldKind.INT, "b", FieldKind.UTF);
+
+        Schema read = ss.toObject(ss.toData(schema));
+
+        assertEquals(schema, read);
+        assertEquals(schema.getSchemaId(), read.getSchemaId());
+        assertEquals(0, read.getField("a").getOffset());
+        assertEquals(0, read.getField("b").getIndex());
+    }
+
+    @Test
+    public void testSchemaEvolution_newFieldIsMissingInOldBinary() {
+        InternalSerializationService oldService = new DefaultSerializationServiceBuilder()
+                .setConfig(new SerializationConfig().addCompactSerializer(new PointSerializer(false)))
+                .build();
+        InternalSerializationService newService = new DefaultSerializationServiceBuilder()
+                .setConfig(new SerializationConfig().addCompactSerializer(new PointSerializer(true)))
+                .build();
+        newService.getCompactStreamSerializer().setSchemaService(oldService.getCompactStreamSerializer().getSchemaService());
+
+        Point point = newService.toObject(oldService.toData(new Point(1, 2, 3)));
+
+        assertEquals(1, point.x);
+        assertEquals(2, point.y);
+        assertEquals(-1, point.z);
+    }
+
+    @Test(expected = HazelcastSerializationException.class)
+    public void testUnknownSchema() {
+        Data data = ss.toData(new Address("london", 1234));
+
+        InternalSerializationService otherService = createSerializationService(ByteOrder.BIG_ENDIAN);
+        otherService.toObject(data);
+    }
+
+    @Test(expected = HazelcastSerializationException.class)
+    public void testNoSerializerForTypeName() {
+        Data data = ss.toData(new Address("london", 1234));
+
+        InternalSerializationService otherService = new DefaultSerializationServiceBuilder().build();
+        otherService.getCompactStreamSerializer().setSchemaService(ss.getCompactStreamSerializer().getSchemaService());
+        otherService.toObject(data);
+    }
+
+    @Test(expected = HazelcastSerializationException.class)
+    public void testReadWithWrongKind() {
+        InternalSerializationService service = new DefaultSerializationServiceBuilder()
+                .setConfig(new SerializationConfig().addCompactSerializer(new PointSerializer(false)))
+                .build();
+        Data data = service.toData(new Point(1, 2, 3));
+
+        InternalSerializationService wrongService = new DefaultSerializationServiceBuilder()
+                .setConfig(new SerializationConfig().addCompactSerializer(new WrongKindPointSerializer()))
+                .build();
+        wrongService.getCompactStreamSerializer().setSchemaService(service.getCompactStreamSerializer().getSchemaService());
+        wrongService.toObject(data);
+    }
+
+    @Test(expected = HazelcastSerializationException.class)
+    public void testDuplicateField() {
+        InternalSerializationService service = new DefaultSerializationServiceBuilder()
+                .setConfig(new SerializationConfig().addCompactSerializer(new DuplicateFieldPointSerializer()))
+                .build();
+        service.toData(new Point(1, 2, 3));
+    }
+
+    @Test(expected = HazelcastSerializationException.class)
+    public void testDuplicateTypeName() {
+        new DefaultSerializationServiceBuilder()
+                .setConfig(new SerializationConfig()
+                        .addCompactSerializer(new PointSerializer(false))
+                        .addCompactSerializer(new CompactTestSupport.AddressSerializer() {
+                            @Override
+                            public String getTypeName() {
+                                return "point";
+                            }
+                        }))
+                .build();
+    }
+
+    @Test
+    public void testSetSchemaService_transfersKnownSchemas() {
+        Address address = new Address("london", 1234);
+        Data data = ss.toData(address);
+        LocalSchemaService newSchemaService = new LocalSchemaService();
+
+        ss.getCompactStreamSerializer().setSchemaService(newSchemaService);
+
+        assertEquals(1, newSchemaService.getSchemas().size());
+        assertEquals(address, ss.toObject(data));
+    }
+
+    private static long readLong(byte[] bytes, int position) {
+        return Bits.readLong(bytes, position, true);
+    }
+
+    private static int readInt(byte[] bytes, int position) {
+        return Bits.readInt(bytes, position, true);
+    }
+
+    private static Schema schema(String typeName, String field1, FieldKind kind1, String field2, FieldKind kind2) {
+        Map<String, FieldKind> fields = new HashMap<String, FieldKind>();
+        fields.put(field1, kind1);
+        fields.put(field2, kind2);
+        return new Schema(typeName, fields);
+    }
+
+    private static AllKinds newAllKinds() {
+        AllKinds object = new AllKinds();
+        object.aBoolean = true;
+        object.aByte = 1;
+        object.aChar = 'c';
+        object.aShort = 2;
+        object.anInt = 3;
+        object.aLong = 4;
+        object.aFloat = 5.5f;
+        object.aDouble = 6.5;
+        object.aString = "string";
+        object.bytes = new byte[]{1, 2};
+        object.booleans = new boolean[]{true, false};
+        object.chars = new char[]{'a', 'b'};
+        object.shorts = new short[]{3, 4};
+        object.ints = new int[]{5, 6};
+        object.longs = new long[]{7, 8};
+        object.floats = new float[]{9.5f, 10.5f};
+        object.doubles = new double[]{11.5, 12.5};
+        object.strings = new String[]{"a", null, "c"};
+        return object;
+    }
+
+    static class Point {
+
+        final int x;
+        final int y;
+        final int z;
+
+        Point(int x, int y, int z) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+    }
+
+    static class PointSerializer implements CompactSerializer<Point> {
+
+        private final boolean withZ;
+
+        PointSerializer(boolean withZ) {
+            this.withZ = withZ;
+        }
+
+        @Override
+        public String getTypeName() {
+            return "point";
+        }
+
+        @Override
+        public Class<Point> getCompactClass() {
+            return Point.class;
+        }
+
+        @Override
+        public void write(CompactWriter writer, Point object) throws IOException {
+            writer.writeInt("x", object.x);
+            writer.writeInt("y", object.y);
+            if (withZ) {
+                writer.writeInt("z", object.z);
+            }
+        }
+
+        @Override
+        public Point read(CompactReader reader) throws IOException {
+            int z = reader.hasField("z") ? reader.readInt("z") : -1;
+            return new Point(reader.readInt("x"), reader.readInt("y"), z);
+        }
+    }
+
+    static class WrongKindPointSerializer extends PointSerializer {
+
+        WrongKindPointSerializer() {
+            super(false);
+        }
+
+        @Override
+        public Point read(CompactReader reader) throws IOException {
+            return new Point((int) reader.readLong("x"), reader.readInt("y"), 0);
+        }
+    }
+
+    static class DuplicateFieldPointSerializer extends PointSerializer {
+
+        DuplicateFieldPointSerializer() {
+            super(false);
+        }
+
+        @Override
+        public void write(CompactWriter writer, Point object) throws IOException {
+            writer.writeInt("x", object.x);
+            writer.writeInt("x", object.y);
+        }
+    }
+}
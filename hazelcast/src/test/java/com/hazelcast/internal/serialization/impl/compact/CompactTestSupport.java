@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.CompactReader;
+import com.hazelcast.nio.serialization.CompactSerializer;
+import com.hazelcast.nio.serialization.CompactWriter;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Compact classes and serializers shared by the compact serialization tests.
+ */
+public final class CompactTestSupport {
+
+    private CompactTestSupport() {
+    }
+
+    public static SerializationConfig compactSerializationConfig() {
+        return new SerializationConfig()
+                .addCompactSerializer(new EmployeeSerializer())
+                .addCompactSerializer(new AddressSerializer())
+                .addCompactSerializer(new AllKindsSerializer());
+    }
+
+    public static InternalSerializationService createSerializationService(ByteOrder byteOrder) {
+        return new DefaultSerializationServiceBuilder()
+                .setConfig(compactSerializationConfig())
+                .setByteOrder(byteOrder)
+                .build();
+    }
+
+    public static class Address {
+
+        public final String city;
+        public final int zip;
+
+        public Address(String city, int zip) {
+            this.city = city;
+            this.zip = zip;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Address address = (Address) o;
+            return zip == address.zip && (city != null ? city.equals(address.city) : address.city == null);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (city != null ? city.hashCode() : 0) + zip;
+        }
+    }
+
+    public static class Employee {
+
+        public final long id;
+        public final String name;
+        public final int age;
+        public final double salary;
+        public final boolean active;
+        public final Address address;
+
+        public Employee(long id, String name, int age, double salary, boolean active, Address address) {
+            this.id = id;
+            this.name = name;
+            this.age = age;
+            this.salary = salary;
+            this.active = active;
+            this.address = address;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Employee that = (Employee) o;
+            return id == that.id && age == that.age && Double.compare(that.salary, salary) == 0
+                    && active == that.active
+                    && (name != null ? name.equals(that.name) : that.name == null)
+                    && (address != null ? address.equals(that.address) : that.address == null);
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) id;
+        }
+
+        @Override
+        public String toString() {
+            return "Employee{id=" + id + ", name='" + name + "', age=" + age + '}';
+        }
+    }
+
+    public static class AddressSerializer implements CompactSerializer<Address> {
+
+        @Override
+        public String getTypeName() {
+            return "address";
+        }
+
+        @Override
+        public Class<Address> getCompactClass() {
+            return Address.class;
+        }
+
+        @Override
+        public void write(CompactWriter writer, Address object) throws IOException {
+            writer.writeUTF("city", object.city);
+            writer.writeInt("zip", object.zip);
+        }
+
+        @Override
+        public Address read(CompactReader reader) throws IOException {
+            return new Address(reader.readUTF("city"), reader.readInt("zip"));
+        }
+    }
+
+    public static class EmployeeSerializer implements CompactSerializer<Employee> {
+
+        @Override
+        public String getTypeName() {
+            return "employee";
+        }
+
+        @Override
+        public Class<Employee> getCompactClass() {
+            return Employee.class;
+        }
+
+        @Override
+        public void write(CompactWriter writer, Employee object) throws IOException {
+            writer.writeLong("id", object.id);
+            writer.writeUTF("name", object.name);
+            writer.writeInt("age", object.age);
+            writer.writeDouble("salary", object.salary);
+            writer.writeBoolean("active", object.active);
+            writer.writeCompact("address", object.address);
+        }
+
+        @Override
+        public Employee read(CompactReader reader) throws IOException {
+            return new Employee(reader.readLong("id"), reader.readUTF("name"), reader.readInt("age"),
+                    reader.readDouble("salary"), reader.readBoolean("active"), reader.<Address>readCompact("address"));
+        }
+    }
+
+    public static class AllKinds {
+
+        public boolean aBoolean;
+        public byte aByte;
+        public char aChar;
+        public short aShort;
+        public int anInt;
+        public long aLong;
+        public float aFloat;
+        public double aDouble;
+        public String aString;
+        public byte[] bytes;
+        public boolean[] booleans;
+        public char[] chars;
+        public short[] shorts;
+        public int[] ints;
+        public long[] longs;
+        public float[] floats;
+        public double[] doubles;
+        public String[] strings;
+
+        @Override
+        @SuppressWarnings({"checkstyle:cyclomaticcomplexity", "checkstyle:npathcomplexity"})
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            AllKinds that = (AllKinds) o;
+            return aBoolean == that.aBoolean && aByte == that.aByte && aChar == that.aChar && aShort == that.aShort
+                    && anInt == that.anInt && aLong == that.aLong && Float.compare(that.aFloat, aFloat) == 0
+                    && Double.compare(that.aDouble, aDouble) == 0
+                    && (aString != null ? aString.equals(that.aString) : that.aString == null)
+                    && Arrays.equals(bytes, that.bytes) && Arrays.equals(booleans, that.booleans)
+                    && Arrays.equals(chars, that.chars) && Arrays.equals(shorts, that.shorts)
+                    && Arrays.equals(ints, that.ints) && Arrays.equals(longs, that.longs)
+                    && Arrays.equals(floats, that.floats) && Arrays.equals(doubles, that.doubles)
+                    && Arrays.equals(strings, that.strings);
+        }
+
+        @Override
+        public int hashCode() {
+            return anInt;
+        }
+    }
+
+    public static class AllKindsSerializer implements CompactSerializer<AllKinds> {
+
+        @Override
+        public String getTypeName() {
+            return "allKinds";
+        }
+
+        @Override
+        public Class<AllKinds> getCompactClass() {
+            return AllKinds.class;
+        }
+
+        @Override
+        public void write(CompactWriter writer, AllKinds object) throws IOException {
+            writer.writeBoolean("aBoolean", object.aBoolean);
+            writer.writeByte("aByte", object.aByte);
+            writer.writeChar("aChar", object.aChar);
+            writer.writeShort("aShort", object.aShort);
+            writer.writeInt("anInt", object.anInt);
+            writer.writeLong("aLong", object.aLong);
+            writer.writeFloat("aFloat", object.aFloat);
+            writer.writeDouble("aDouble", object.aDouble);
+            writer.writeUTF("aString", object.aString);
+            writer.writeByteArray("bytes", object.bytes);
+            writer.writeBooleanArray("booleans", object.booleans);
+            writer.writeCharArray("chars", object.chars);
+            writer.writeShortArray("shorts", object.shorts);
+            writer.writeIntArray("ints", object.ints);
+            writer.writeLongArray("longs", object.longs);
+            writer.writeFloatArray("floats", object.floats);
+            writer.writeDoubleArray("doubles", object.doubles);
+            writer.writeUTFArray("strings", object.strings);
+        }
+
+        @Override
+        public AllKinds read(CompactReader reader) throws IOException {
+            AllKinds object = new AllKinds();
+            object.aBoolean = reader.readBoolean("aBoolean");
+            object.aByte = reader.readByte("aByte");
+            object.aChar = reader.readChar("aChar");
+            object.aShort = reader.readShort("aShort");
+            object.anInt = reader.readInt("anInt");
+            object.aLong = reader.readLong("aLong");
+            object.aFloat = reader.readFloat("aFloat");
+            object.aDouble = reader.readDouble("aDouble");
+            object.aString = reader.readUTF("aString");
+            object.bytes = reader.readByteArray("bytes");
+            object.booleans = reader.readBooleanArray("booleans");
+            object.chars = reader.readCharArray("chars");
+            object.shorts = reader.readShortArray("shorts");
+            object.ints = reader.readIntArray("ints");
+            object.longs = reader.readLongArray("longs");
+            object.floats = reader.readFloatArray("floats");
+            object.doubles = reader.readDoubleArray("doubles");
+            object.strings = reader.readUTFArray("strings");
+            return object;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.spi.properties.GroupProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ChunkedMigrationTest extends HazelcastTestSupport {
+
+    private static final int PARTITION_COUNT = 3;
+    private static final int ENTRY_COUNT = 3000;
+
+    @Test
+    public void testMigration_whenAddingInstances_withSmallChunks() {
+        testMigration(chunkedConfig(true));
+    }
+
+    @Test
+    public void testMigration_whenAddingInstances_withChunksDisabled() {
+        testMigration(chunkedConfig(false));
+    }
+
+    @Test
+    public void testMigration_whenOwnersLeave_backupsAreComplete() {
+        Config config = chunkedConfig(true);
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(3);
+        HazelcastInstance instance1 = factory.newHazelcastInstance(config);
+        IMap<Integer, Integer> map = instance1.getMap("map");
+        fill(map);
+
+        HazelcastInstance instance2 = factory.newHazelcastInstance(config);
+        HazelcastInstance instance3 = factory.newHazelcastInstance(config);
+        waitAllForSafeState(instance1, instance2, instance3);
+
+        instance1.getLifecycleService().terminate();
+        waitAllForSafeState(instance2, instance3);
+        instance2.getLifecycleService().terminate();
+        waitAllForSafeState(instance3);
+
+        assertEntries(instance3.<Integer, Integer>getMap("map"));
+    }
+
+    private void testMigration(Config config) {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(3);
+        HazelcastInstance instance1 = factory.newHazelcastInstance(config);
+        IMap<Integer, Integer> map = instance1.getMap("map");
+        map.addIndex("this", true);
+        fill(map);
+        map.lock(0);
+
+        HazelcastInstance instance2 = factory.newHazelcastInstance(config);
+        waitAllForSafeState(instance1, instance2);
+        assertEntries(instance2.<Integer, Integer>getMap("map"));
+
+        HazelcastInstance instance3 = factory.newHazelcastInstance(config);
+        waitAllForSafeState(instance1, instance2, instance3);
+        IMap<Integer, Integer> map3 = instance3.getMap("map");
+        assertEntries(map3);
+        assertEquals(ENTRY_COUNT / 2, map3.keySet(Predicates.lessThan("this", ENTRY_COUNT / 2)).size());
+        assertTrue(map3.isLocked(0));
+    }
+
+    private static Config chunkedConfig(boolean chunksEnabled) {
+        return smallInstanceConfig()
+                .setProperty(GroupProperty.PARTITION_COUNT.getName(), String.valueOf(PARTITION_COUNT))
+                .setProperty(GroupProperty.PARTITION_CHUNKED_MIGRATION_ENABLED.getName(), String.valueOf(chunksEnabled))
+                // a single fetch of records fills a chunk
+                .setProperty(GroupProperty.PARTITION_MIGRATION_CHUNK_SIZE.getName(), "1");
+    }
+
+    private static void fill(IMap<Integer, Integer> map) {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+    }
+
+    private static void assertEntries(IMap<Integer, Integer> map) {
+        assertEquals(ENTRY_COUNT, map.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals(i, (int) map.get(i));
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MaxSizeConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class NativeMapTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    @Test
+    public void testBasicOperations() {
+        IMap<Integer, String> map = createHazelcastInstance(getConfig()).getMap("native");
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, "value-" + i);
+        }
+        map.set(0, "newValue");
+        map.remove(1);
+        map.delete(2);
+
+        assertEquals(ENTRY_COUNT - 2, map.size());
+        assertEquals("newValue", map.get(0));
+        assertNull(map.get(1));
+        assertFalse(map.containsKey(2));
+        assertEquals("value-3", map.get(3));
+        assertTrue(map.getLocalMapStats().getOwnedEntryMemoryCost() > 0);
+    }
+
+    @Test
+    public void testQueryAndEntryProcessor() {
+        IMap<Integer, Integer> map = createHazelcastInstance(getConfig()).getMap("native");
+        map.addIndex("this", true);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+
+        assertEquals(10, map.values(Predicates.lessThan("this", 10)).size());
+
+        map.executeOnEntries(entry -> {
+            entry.setValue(entry.getValue() + 1);
+            return null;
+        });
+
+        assertEquals(9, map.values(Predicates.lessThan("this", 10)).size());
+        assertEquals(ENTRY_COUNT, map.keySet().size());
+    }
+
+    @Test
+    public void testIteration() {
+        HazelcastInstance instance = createHazelcastInstance(getConfig());
+        MapProxyImpl<Integer, String> map = (MapProxyImpl<Integer, String>) instance.<Integer, String>getMap("native");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, "value-" + i);
+        }
+
+        int count = 0;
+        int partitionCount = getPartitionService(instance).getPartitionCount();
+        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+            Iterator<Map.Entry<Integer, String>> iterator = map.iterator(10, partitionId, true);
+            while (iterator.hasNext()) {
+                Map.Entry<Integer, String> entry = iterator.next();
+                assertEquals("value-" + entry.getKey(), entry.getValue());
+                count++;
+            }
+        }
+        assertEquals(ENTRY_COUNT, count);
+    }
+
+    @Test
+    public void testMigration() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance1 = factory.newHazelcastInstance(getConfig());
+        IMap<Integer, String> map = instance1.getMap("native");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, "value-" + i);
+        }
+
+        HazelcastInstance instance2 = factory.newHazelcastInstance(getConfig());
+        waitAllForSafeState(instance1, instance2);
+        instance1.shutdown();
+
+        IMap<Integer, String> migratedMap = instance2.getMap("native");
+        assertEquals(ENTRY_COUNT, migratedMap.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals("value-" + i, migratedMap.get(i));
+        }
+    }
+
+    @Test
+    public void testEviction() {
+        Config config = getConfig();
+        config.getMapConfig("native")
+              .setEvictionPolicy(EvictionPolicy.LRU)
+              .getMaxSizeConfig()
+              .setMaxSizePolicy(MaxSizeConfig.MaxSizePolicy.PER_PARTITION)
+              .setSize(5);
+        HazelcastInstance instance = createHazelcastInstance(config);
+        IMap<Integer, String> map = instance.getMap("native");
+
+        for (int i = 0; i < ENTRY_COUNT * 10; i++) {
+            map.put(i, "value-" + i);
+        }
+
+        int partitionCount = getPartitionService(instance).getPartitionCount();
+        assertTrue(map.size() <= partitionCount * 5);
+    }
+
+    @Test
+    public void testReplaceLoadedEntry_updatesStoredRecord() {
+        Config config = getConfig();
+        config.getMapConfig("native").getMapStoreConfig()
+              .setEnabled(true)
+              .setImplementation(new MapStoreAdapter<Integer, String>() {
+                  @Override
+                  public String load(Integer key) {
+                      return "stored-" + key;
+                  }
+              });
+        IMap<Integer, String> map = createHazelcastInstance(config).getMap("native");
+
+        assertEquals("stored-1", map.replace(1, "value-1"));
+
+        assertEquals("value-1", map.get(1));
+        assertTrue(map.getEntryView(1).getLastStoredTime() > 0);
+    }
+
+    @Override
+    protected Config getConfig() {
+        Config config = super.getConfig();
+        config.getNativeMemoryConfig().setEnabled(true);
+        config.addMapConfig(new MapConfig("native").setInMemoryFormat(InMemoryFormat.NATIVE));
+        return config;
+    }
+}
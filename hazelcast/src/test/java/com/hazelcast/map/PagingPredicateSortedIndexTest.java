@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.impl.predicates.AttributeComparator;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.util.IterationType;
+import com.hazelcast.util.SortingUtil;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PagingPredicateSortedIndexTest extends HazelcastTestSupport {
+
+    private static final int SIZE = 200;
+    private static final int PAGE_SIZE = 7;
+
+    private IMap<Integer, Person> indexedMap;
+    private IMap<Integer, Person> map;
+
+    @Before
+    public void setup() {
+        Config config = getConfig();
+        TestHazelcastInstanceFactory nodeFactory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance = nodeFactory.newHazelcastInstance(config);
+        nodeFactory.newHazelcastInstance(config);
+
+        indexedMap = instance.getMap(randomName());
+        indexedMap.addIndex("age", true);
+        map = instance.getMap(randomName());
+        for (int i = 0; i < SIZE; i++) {
+            // few distinct ages to have plenty of ties, every 10th age is null
+            Person person = new Person(i % 10 == 0 ? null : i % 23);
+            indexedMap.put(i, person);
+            map.put(i, person);
+        }
+    }
+
+    @Test
+    public void testAscendingPages() {
+        assertPages(null, Predicates.attributeComparator("age", false));
+    }
+
+    @Test
+    public void testDescendingPages() {
+        assertPages(null, Predicates.attributeComparator("age", true));
+    }
+
+    @Test
+    public void testPagesWithInnerPredicate() {
+        Predicate<Integer, Person> odd = entry -> entry.getKey() % 2 == 1;
+        assertPages(odd, Predicates.attributeComparator("this.age", true));
+    }
+
+    @Test
+    public void testIndexIsUsed() {
+        long indexedQueries = indexedMap.getLocalMapStats().getIndexedQueryCount();
+        Comparator<Map.Entry<Integer, Person>> comparator = Predicates.attributeComparator("age", false);
+        indexedMap.entrySet(Predicates.pagingPredicate(comparator, PAGE_SIZE));
+        assertEquals(indexedQueries + 1, indexedMap.getLocalMapStats().getIndexedQueryCount());
+    }
+
+    @Test
+    public void testJumpToPageWithoutAnchor() {
+        Comparator<Map.Entry<Integer, Person>> comparator = Predicates.attributeComparator("age", false);
+        PagingPredicate<Integer, Person> indexedPredicate = Predicates.pagingPredicate(comparator, PAGE_SIZE);
+        PagingPredicate<Integer, Person> predicate = Predicates.pagingPredicate(comparator, PAGE_SIZE);
+        indexedPredicate.setPage(10);
+        predicate.setPage(10);
+
+        List<Integer> expected = keys(map.entrySet(predicate));
+        assertEquals(PAGE_SIZE, expected.size());
+        assertEquals(expected, keys(indexedMap.entrySet(indexedPredicate)));
+    }
+
+    @Test
+    public void testComparatorSerialization() {
+        InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+        AttributeComparator<Integer, Person> comparator = new AttributeComparator<>("this.age", true);
+
+        AttributeComparator<Integer, Person> copy = serializationService.toObject(serializationService.toData(comparator));
+        assertEquals(comparator, copy);
+        assertEquals("age", copy.getAttribute());
+    }
+
+    private void assertPages(Predicate<Integer, Person> innerPredicate, Comparator<Map.Entry<Integer, Person>> comparator) {
+        List<Map.Entry> expected = new ArrayList<>();
+        for (Map.Entry<Integer, Person> entry : map.entrySet()) {
+            if (innerPredicate == null || innerPredicate.apply(entry)) {
+                expected.add(new SimpleImmutableEntry<>(entry.getKey(), entry.getValue()));
+            }
+        }
+        expected.sort(SortingUtil.newComparator((Comparator) comparator, IterationType.ENTRY));
+
+        PagingPredicate<Integer, Person> indexedPredicate = Predicates.pagingPredicate(innerPredicate, comparator, PAGE_SIZE);
+        PagingPredicate<Integer, Person> predicate = Predicates.pagingPredicate(innerPredicate, comparator, PAGE_SIZE);
+        List<Integer> indexedKeys = new ArrayList<>();
+        List<Integer> pageKeys = keys(indexedMap.entrySet(indexedPredicate));
+        while (!pageKeys.isEmpty()) {
+            assertEquals(pageKeys, keys(map.entrySet(predicate)));
+            indexedKeys.addAll(pageKeys);
+            indexedPredicate.nextPage();
+            predicate.nextPage();
+            pageKeys = keys(indexedMap.entrySet(indexedPredicate));
+        }
+
+        assertEquals(keys(expected), indexedKeys);
+    }
+
+    private static List<Integer> keys(Iterable<? extends Map.Entry> entries) {
+        List<Integer> keys = new ArrayList<>();
+        for (Map.Entry entry : entries) {
+            keys.add((Integer) entry.getKey());
+        }
+        return keys;
+    }
+
+    public static class Person implements Serializable {
+
+        private final Integer age;
+
+        Person(Integer age) {
+            this.age = age;
+        }
+
+        public Integer getAge() {
+            return age;
+        }
+
+    }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.aggregation.Aggregators;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.hazelcast.spi.properties.GroupProperty.PARTITION_COUNT;
+import static com.hazelcast.spi.properties.GroupProperty.QUERY_PARTITION_SCAN_BATCH_SIZE;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class QueryPartitionScanBatchTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private IMap<Integer, Value> map;
+
+    @Before
+    public void setUp() {
+        Config config = getConfig()
+                .setProperty(PARTITION_COUNT.getName(), "3")
+                // small enough to have several full batches and a partial one per partition
+                .setProperty(QUERY_PARTITION_SCAN_BATCH_SIZE.getName(), "64");
+        HazelcastInstance instance = createHazelcastInstance(config);
+        map = instance.getMap(randomMapName());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, new Value(i, i % 2 == 0 ? i * 0.5 : Double.NaN, i % 3 == 0 ? null : "name" + i));
+        }
+    }
+
+    @Test
+    public void testEqual() {
+        assertKeys(Predicates.equal("id", 10), 10);
+        assertKeys(Predicates.equal("price", 10.0), 20);
+        assertKeys(Predicates.equal("name", "name10"), 10);
+    }
+
+    @Test
+    public void testGreaterLess() {
+        assertKeys(Predicates.greaterEqual("id", ENTRY_COUNT - 3), ENTRY_COUNT - 3, ENTRY_COUNT - 2, ENTRY_COUNT - 1);
+        assertKeys(Predicates.lessThan("id", 2), 0, 1);
+        assertKeys(Predicates.lessEqual("price", 1.0), 0, 2);
+    }
+
+    @Test
+    public void testBetween() {
+        assertKeys(Predicates.between("id", 5, 8), 5, 6, 7, 8);
+        assertKeys(Predicates.between("price", 1.0, 2.0), 2, 4);
+    }
+
+    @Test
+    public void testIn() {
+        assertKeys(Predicates.in("id", 1, 500L, 999, ENTRY_COUNT), 1, 500, 999);
+        assertKeys(Predicates.in("name", "name1", "name3"), 1);
+    }
+
+    @Test
+    public void testAggregation() {
+        long expectedSum = 0;
+        for (int i = 100; i < ENTRY_COUNT; i++) {
+            expectedSum += i;
+        }
+
+        assertEquals(ENTRY_COUNT - 100, (long) map.aggregate(Aggregators.<Map.Entry<Integer, Value>>count(),
+                Predicates.greaterEqual("id", 100)));
+        assertEquals(expectedSum, (long) map.aggregate(Aggregators.<Map.Entry<Integer, Value>>integerSum("id"),
+                Predicates.greaterEqual("id", 100)));
+    }
+
+    private void assertKeys(Predicate<Integer, Value> predicate, Integer... expectedKeys) {
+        Set<Integer> expected = new HashSet<Integer>(asList(expectedKeys));
+        Collection<Value> values = map.values(predicate);
+        Set<Integer> actual = new HashSet<Integer>();
+        for (Value value : values) {
+            actual.add(value.id);
+        }
+        assertEquals(predicate.toString(), expected, actual);
+        assertEquals(expected, map.keySet(predicate));
+    }
+
+    public static class Value implements Serializable {
+
+        private final int id;
+        private final double price;
+        private final String name;
+
+        Value(int id, double price, String name) {
+            this.id = id;
+            this.price = price;
+            this.name = name;
+        }
+    }
+}
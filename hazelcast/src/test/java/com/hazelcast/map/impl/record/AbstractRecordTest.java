@@ -96,6 +96,22 @@ public class AbstractRecordTest {
         assertEquals(AbstractRecord.NOT_AVAILABLE, record.getSequence());
     }
 
+    @Test
+    public void testSetHits_saturatesAtIntegerMaxValue() {
+        record.setHits(Long.MAX_VALUE);
+
+        assertEquals(Integer.MAX_VALUE, record.getHits());
+    }
+
+    @Test
+    public void testOnAccess_doesNotOverflowHits() {
+        record.setHits(Integer.MAX_VALUE);
+
+        record.onAccess(Clock.currentTimeMillis());
+
+        assertEquals(Integer.MAX_VALUE, record.getHits());
+    }
+
     @Test
     public void testEquals() {
         assertEquals(record, record);
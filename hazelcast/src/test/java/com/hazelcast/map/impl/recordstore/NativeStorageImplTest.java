@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.memory.impl.UnsafeMallocMemoryManager;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.DataRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.RecordFactory;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class NativeStorageImplTest {
+
+    private static final int ENTRY_COUNT = 10000;
+
+    private SerializationService serializationService;
+    private RecordFactory<Data> recordFactory;
+    private UnsafeMallocMemoryManager memoryManager;
+    private NativeStorageImpl storage;
+
+    @Before
+    public void setUp() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        recordFactory = new DataRecordFactory(new MapConfig(), serializationService, null);
+        memoryManager = new UnsafeMallocMemoryManager(1 << 30);
+        storage = new NativeStorageImpl(recordFactory, memoryManager, true, serializationService);
+    }
+
+    @After
+    public void tearDown() {
+        storage.destroy(false);
+        memoryManager.dispose();
+    }
+
+    @Test
+    public void testPutAndGet() {
+        Record record = newRecord(1, "value");
+        record.setVersion(3);
+        record.setHits(5);
+        storage.put(toData(1), record);
+
+        Record stored = storage.get(toData(1));
+
+        assertNotNull(stored);
+        assertEquals(toData(1), stored.getKey());
+        assertEquals("value", serializationService.toObject(stored.getValue()));
+        assertEquals(3, stored.getVersion());
+        assertEquals(5, stored.getHits());
+        assertEquals(1, storage.size());
+        assertTrue(storage.containsKey(toData(1)));
+        assertNull(storage.get(toData(2)));
+    }
+
+    @Test
+    public void testRecordMutationsAreWrittenThrough() {
+        storage.put(toData(1), newRecord(1, "value"));
+
+        Record record = storage.get(toData(1));
+        record.onAccess(1000);
+        record.onUpdate(2000);
+        record.setTtl(42);
+        storage.updateRecordValue(toData(1), record, "newValue");
+
+        Record stored = storage.get(toData(1));
+        assertEquals(1, stored.getHits());
+        assertEquals(1000, stored.getLastAccessTime());
+        assertEquals(2000, stored.getLastUpdateTime());
+        assertEquals(1, stored.getVersion());
+        assertEquals(42, stored.getTtl());
+        assertEquals("newValue", serializationService.toObject(stored.getValue()));
+    }
+
+    @Test
+    public void testPutOverridesExistingMapping() {
+        storage.put(toData(1), newRecord(1, "value"));
+        storage.put(toData(1), newRecord(1, "otherValue"));
+
+        assertEquals(1, storage.size());
+        assertEquals("otherValue", serializationService.toObject(storage.get(toData(1)).getValue()));
+    }
+
+    @Test
+    public void testManyEntries_putGetRemove() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            storage.put(toData(i), newRecord(i, "value-" + i));
+        }
+        assertEquals(ENTRY_COUNT, storage.size());
+
+        for (int i = 0; i < ENTRY_COUNT; i += 2) {
+            storage.removeRecord(storage.get(toData(i)));
+        }
+        storage.disposeDeferredBlocks();
+
+        assertEquals(ENTRY_COUNT / 2, storage.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            Record record = storage.get(toData(i));
+            if (i % 2 == 0) {
+                assertNull(record);
+            } else {
+                assertEquals("value-" + i, serializationService.toObject(record.getValue()));
+            }
+        }
+    }
+
+    @Test
+    public void testRemovedRecordReadableUntilDeferredBlocksDisposed() {
+        storage.put(toData(1), newRecord(1, "value"));
+        Record record = storage.get(toData(1));
+
+        storage.removeRecord(record);
+
+        assertFalse(storage.containsKey(toData(1)));
+        assertEquals("value", serializationService.toObject(record.getValue()));
+    }
+
+    @Test
+    public void testClear_freesAllMemory() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            storage.put(toData(i), newRecord(i, "value-" + i));
+        }
+        // the estimate counts one table slot per entry instead of the whole table
+        long estimate = storage.getEntryCostEstimator().getEstimate();
+        assertEquals(memoryManager.getUsedMemory() - tableSize() + ENTRY_COUNT * 8L, estimate);
+
+        storage.clear(false);
+
+        assertEquals(0, storage.size());
+        assertEquals(0, memoryManager.getUsedMemory());
+        assertEquals(0, storage.getEntryCostEstimator().getEstimate());
+    }
+
+    @Test
+    public void testRemoveAll_freesAllRecordMemory() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            storage.put(toData(i), newRecord(i, "value-" + i));
+        }
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            storage.removeRecord(storage.get(toData(i)));
+        }
+        storage.disposeDeferredBlocks();
+
+        assertEquals(tableSize(), memoryManager.getUsedMemory());
+        assertEquals(0, storage.getEntryCostEstimator().getEstimate());
+    }
+
+    @Test
+    public void testFetchKeys_iteratesAllKeys() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            storage.put(toData(i), newRecord(i, "value-" + i));
+        }
+
+        Set<Data> keys = new HashSet<>();
+        int tableIndex = Integer.MAX_VALUE;
+        do {
+            MapKeysWithCursor cursor = storage.fetchKeys(tableIndex, 100);
+            keys.addAll(cursor.getBatch());
+            tableIndex = cursor.getNextTableIndexToReadFrom();
+        } while (tableIndex >= 0);
+
+        assertEquals(ENTRY_COUNT, keys.size());
+    }
+
+    @Test
+    public void testFetchEntries_iteratesAllEntries() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            storage.put(toData(i), newRecord(i, "value-" + i));
+        }
+
+        int count = 0;
+        int tableIndex = Integer.MAX_VALUE;
+        do {
+            MapEntriesWithCursor cursor = storage.fetchEntries(tableIndex, 100, serializationService);
+            for (Map.Entry<Data, Data> entry : cursor.getBatch()) {
+                int key = serializationService.toObject(entry.getKey());
+                assertEquals("value-" + key, serializationService.toObject(entry.getValue()));
+                count++;
+            }
+            tableIndex = cursor.getNextTableIndexToReadFrom();
+        } while (tableIndex >= 0);
+
+        assertEquals(ENTRY_COUNT, count);
+    }
+
+    @Test
+    public void testGetRandomSamples() {
+        for (int i = 0; i < 100; i++) {
+            storage.put(toData(i), newRecord(i, "value-" + i));
+        }
+
+        int count = 0;
+        for (EntryView entryView : storage.getRandomSamples(15)) {
+            Record record = storage.extractRecordFromLazy(entryView);
+            assertTrue(storage.containsKey(record.getKey()));
+            count++;
+        }
+        assertEquals(15, count);
+    }
+
+    @Test
+    public void testMutationTolerantIterator_toleratesRemovals() {
+        for (int i = 0; i < 100; i++) {
+            storage.put(toData(i), newRecord(i, "value-" + i));
+        }
+
+        int count = 0;
+        Iterator<Record> iterator = storage.mutationTolerantIterator();
+        while (iterator.hasNext()) {
+            storage.removeRecord(iterator.next());
+            count++;
+        }
+
+        assertEquals(100, count);
+        assertEquals(0, storage.size());
+    }
+
+    @Test
+    public void testMutationTolerantIterator_endsWhenTableIsResized() {
+        for (int i = 0; i < 5; i++) {
+            storage.put(toData(i), newRecord(i, "value-" + i));
+        }
+
+        Iterator<Record> iterator = storage.mutationTolerantIterator();
+        iterator.next();
+        for (int i = 5; i < 100; i++) {
+            storage.put(toData(i), newRecord(i, "value-" + i));
+        }
+
+        assertFalse(iterator.hasNext());
+    }
+
+    private Record newRecord(int key, String value) {
+        return recordFactory.newRecord(toData(key), value);
+    }
+
+    private Data toData(Object object) {
+        return serializationService.toData(object);
+    }
+
+    private long tableSize() {
+        int capacity = 16;
+        while (capacity * 0.6f < ENTRY_COUNT) {
+            capacity <<= 1;
+        }
+        return capacity * 8L;
+    }
+}
@@ -69,6 +69,9 @@ public class NearCacheStatsImplTest extends HazelcastTestSupport {
         nearCacheStats.incrementExpirations();
         nearCacheStats.incrementExpirations();
 
+        nearCacheStats.incrementAdmissionRejections();
+        nearCacheStats.incrementAdmissionRejections();
+
         nearCacheStats.incrementInvalidations(23);
         nearCacheStats.incrementInvalidations();
 
@@ -132,6 +135,20 @@ public class NearCacheStatsImplTest extends HazelcastTestSupport {
         assertEquals(100d, nearCacheStats.getRatio(), 0.0001);
     }
 
+    @Test
+    public void testGetHitRatio_NaN() {
+        NearCacheStatsImpl nearCacheStats = new NearCacheStatsImpl();
+        assertEquals(Double.NaN, nearCacheStats.getHitRatio(), 0.0001);
+    }
+
+    @Test
+    public void testGetHitRatio() {
+        NearCacheStatsImpl nearCacheStats = new NearCacheStatsImpl();
+        nearCacheStats.setHits(3);
+        nearCacheStats.setMisses(1);
+        assertEquals(0.75d, nearCacheStats.getHitRatio(), 0.0001);
+    }
+
     @Test
     public void testConcurrentModification() {
         int incThreads = 40;
@@ -184,6 +201,7 @@ public class NearCacheStatsImplTest extends HazelcastTestSupport {
         assertEquals(305, stats.getMisses());
         assertEquals(4, stats.getEvictions());
         assertEquals(3, stats.getExpirations());
+        assertEquals(2, stats.getAdmissionRejections());
         assertEquals(24, stats.getInvalidations());
         assertEquals(2, stats.getInvalidationRequests());
         assertEquals(expectedPersistenceCount, stats.getPersistenceCount());
@@ -38,6 +38,9 @@ import java.util.function.Supplier;
 import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
 import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -90,6 +93,118 @@ public class PacketEncoderTest extends HazelcastTestSupport {
         assertEquals(DIRTY, result);
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void whenNegativeGatheringWriteThreshold() {
+        new PacketEncoder(-1);
+    }
+
+    @Test
+    public void whenGatheringWrite_thenOnlyHeaderCopied() {
+        Packet packet = new Packet(serializationService.toBytes(new byte[5000]));
+        ByteBuffer dst = ByteBuffer.allocate(1000);
+        dst.flip();
+
+        PacketSupplier src = new PacketSupplier();
+        src.queue.add(packet);
+
+        encoder = new PacketEncoder(1000);
+        encoder.setGatheringWriteAllowed(true);
+        encoder.dst(dst);
+        encoder.src(src);
+
+        HandlerStatus result = encoder.onWrite();
+
+        assertEquals(DIRTY, result);
+        assertEquals(packet.getFrameLength() - packet.totalSize(), dst.remaining());
+        ByteBuffer payload = encoder.pendingPayload();
+        assertNotNull(payload);
+        assertSame(packet.toByteArray(), payload.array());
+        // the payload is exposed in chunks of at most the dst capacity
+        assertEquals(1000, payload.remaining());
+    }
+
+    @Test
+    public void whenGatheringWriteNotAllowed_thenPayloadCopied() {
+        Packet packet = new Packet(serializationService.toBytes(new byte[2000]));
+        ByteBuffer dst = ByteBuffer.allocate(5000);
+        dst.flip();
+
+        PacketSupplier src = new PacketSupplier();
+        src.queue.add(packet);
+
+        encoder = new PacketEncoder(1000);
+        encoder.dst(dst);
+        encoder.src(src);
+
+        HandlerStatus result = encoder.onWrite();
+
+        assertEquals(CLEAN, result);
+        assertNull(encoder.pendingPayload());
+        assertEquals(packet, new PacketIOHelper().readFrom(dst));
+    }
+
+    @Test
+    public void whenBelowGatheringWriteThreshold_thenPayloadCopied() {
+        Packet packet = new Packet(serializationService.toBytes("foobar"));
+        ByteBuffer dst = ByteBuffer.allocate(1000);
+        dst.flip();
+
+        PacketSupplier src = new PacketSupplier();
+        src.queue.add(packet);
+
+        encoder = new PacketEncoder(1000);
+        encoder.setGatheringWriteAllowed(true);
+        encoder.dst(dst);
+        encoder.src(src);
+
+        HandlerStatus result = encoder.onWrite();
+
+        assertEquals(CLEAN, result);
+        assertNull(encoder.pendingPayload());
+        assertEquals(packet, new PacketIOHelper().readFrom(dst));
+    }
+
+    @Test
+    public void whenGatheringWrite_thenPacketOrderPreserved() {
+        Packet small1 = new Packet(serializationService.toBytes("foo"));
+        Packet large1 = new Packet(serializationService.toBytes(new byte[3500]));
+        Packet small2 = new Packet(serializationService.toBytes("bar"));
+        Packet large2 = new Packet(serializationService.toBytes(new byte[1200]));
+        ByteBuffer dst = ByteBuffer.allocate(1000);
+        dst.flip();
+
+        PacketSupplier src = new PacketSupplier();
+        src.queue.add(small1);
+        src.queue.add(large1);
+        src.queue.add(small2);
+        src.queue.add(large2);
+
+        encoder = new PacketEncoder(1000);
+        encoder.setGatheringWriteAllowed(true);
+        encoder.dst(dst);
+        encoder.src(src);
+
+        // mimics the pipeline; the dst is written first and then the pending payload
+        ByteBuffer socket = ByteBuffer.allocate(10000);
+        HandlerStatus result;
+        do {
+            result = encoder.onWrite();
+            socket.put(dst);
+            ByteBuffer payload = encoder.pendingPayload();
+            if (payload != null) {
+                socket.put(payload);
+            }
+        } while (result != CLEAN);
+        socket.flip();
+
+        PacketIOHelper reader = new PacketIOHelper();
+        assertEquals(small1, reader.readFrom(socket));
+        assertEquals(large1, reader.readFrom(socket));
+        assertEquals(small2, reader.readFrom(socket));
+        assertEquals(large2, reader.readFrom(socket));
+        assertEquals(0, socket.remaining());
+    }
+
     static class PacketSupplier implements Supplier<Packet> {
         Queue<Packet> queue = new LinkedBlockingQueue<Packet>();
 
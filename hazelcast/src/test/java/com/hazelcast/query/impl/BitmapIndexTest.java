@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.config.MapIndexConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.Set;
+
+import static com.hazelcast.query.Predicates.and;
+import static com.hazelcast.query.Predicates.between;
+import static com.hazelcast.query.Predicates.equal;
+import static com.hazelcast.query.Predicates.greaterThan;
+import static com.hazelcast.query.Predicates.in;
+import static com.hazelcast.query.Predicates.lessEqual;
+import static com.hazelcast.query.Predicates.not;
+import static com.hazelcast.query.Predicates.notEqual;
+import static com.hazelcast.query.Predicates.or;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class BitmapIndexTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+    private static final String[] STATUSES = {"NEW", "ACTIVE", "SUSPENDED", "CLOSED"};
+
+    private HazelcastInstance instance;
+    private IMap<Integer, Account> indexedMap;
+    private IMap<Integer, Account> plainMap;
+
+    @Before
+    public void setUp() {
+        Config config = getConfig();
+        config.getMapConfig("indexed*")
+              .addMapIndexConfig(new MapIndexConfig("status", IndexType.BITMAP))
+              .addMapIndexConfig(new MapIndexConfig("region", IndexType.BITMAP))
+              .addMapIndexConfig(new MapIndexConfig("tier", IndexType.BITMAP))
+              .addMapIndexConfig(new MapIndexConfig("tags[any]", IndexType.BITMAP))
+              .addMapIndexConfig(new MapIndexConfig("balance", IndexType.SORTED));
+        instance = createHazelcastInstance(config);
+        indexedMap = instance.getMap("indexed" + randomMapName());
+        plainMap = instance.getMap("plain" + randomMapName());
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            put(i, newAccount(i));
+        }
+    }
+
+    @Test
+    public void testIndexType() {
+        assertEquals(IndexType.BITMAP, getIndexes().getIndex("status").getType());
+        assertEquals(IndexType.SORTED, getIndexes().getIndex("balance").getType());
+    }
+
+    @Test
+    public void testPointQueries() {
+        assertQuery(equal("status", "ACTIVE"));
+        assertQuery(equal("tier", 2));
+        assertQuery(equal("tier", 2L));
+        assertQuery(equal("region", null));
+        assertQuery(in("status", "NEW", "CLOSED", "UNKNOWN"));
+        assertQuery(equal("tags[any]", "vip"));
+    }
+
+    @Test
+    public void testRangeQueries() {
+        assertQuery(greaterThan("tier", 1));
+        assertQuery(lessEqual("tier", 1));
+        assertQuery(between("tier", 1, 2));
+    }
+
+    @Test
+    public void testNegations() {
+        assertBitmapQuery(notEqual("status", "ACTIVE"));
+        assertBitmapQuery(notEqual("region", null));
+        assertBitmapQuery(notEqual("tags[any]", "vip"));
+        assertBitmapQuery(not(in("status", "NEW", "ACTIVE")));
+        assertBitmapQuery(not(between("tier", 1, 2)));
+    }
+
+    @Test
+    public void testConjunctionsAndDisjunctions() {
+        assertBitmapQuery(and(equal("status", "ACTIVE"), equal("region", "EU")));
+        assertBitmapQuery(or(equal("status", "NEW"), equal("region", "US"), equal("tier", 0)));
+        assertBitmapQuery(and(or(equal("status", "NEW"), equal("status", "ACTIVE")), notEqual("region", "EU")));
+        assertBitmapQuery(or(and(equal("status", "NEW"), equal("tags[any]", "vip")), not(in("tier", 0, 1))));
+    }
+
+    @Test
+    public void testMixedWithOtherIndexes() {
+        Predicate predicate = and(equal("status", "ACTIVE"), greaterThan("balance", 500L), equal("name", "account10"));
+        assertQuery(predicate);
+        assertNotNull(getIndexes().query(predicate));
+
+        // negation on a non-bitmap index falls back to a scan
+        assertNull(getIndexes().query(notEqual("balance", 500L)));
+        assertQuery(and(equal("status", "ACTIVE"), notEqual("balance", 500L)));
+    }
+
+    @Test
+    public void testUpdatesAndRemovals() {
+        for (int i = 0; i < ENTRY_COUNT; i += 3) {
+            put(i, newAccount(i + 1));
+        }
+        for (int i = 0; i < ENTRY_COUNT; i += 7) {
+            indexedMap.remove(i);
+            plainMap.remove(i);
+        }
+
+        assertBitmapQuery(and(equal("status", "ACTIVE"), equal("region", "EU")));
+        assertBitmapQuery(notEqual("status", "NEW"));
+        assertBitmapQuery(not(equal("tags[any]", "vip")));
+        assertQuery(equal("tags[any]", "new"));
+    }
+
+    @Test
+    public void testClear() {
+        indexedMap.clear();
+        assertEquals(0, indexedMap.keySet(notEqual("status", "ACTIVE")).size());
+
+        put(1, newAccount(1));
+        assertEquals(1, indexedMap.keySet(notEqual("status", "UNKNOWN")).size());
+    }
+
+    private void put(int key, Account account) {
+        indexedMap.put(key, account);
+        plainMap.put(key, account);
+    }
+
+    private void assertQuery(Predicate<Integer, Account> predicate) {
+        Set<Integer> expected = plainMap.keySet(predicate);
+        assertEquals(predicate.toString(), expected, indexedMap.keySet(predicate));
+        assertEquals(predicate.toString(), expected.size(), indexedMap.values(predicate).size());
+    }
+
+    private void assertBitmapQuery(Predicate<Integer, Account> predicate) {
+        Set<Integer> expected = plainMap.keySet(predicate);
+        assertFalse(predicate.toString(), expected.isEmpty());
+        assertQuery(predicate);
+        assertThat(predicate.toString(), getIndexes().query(predicate), instanceOf(BitmapResultSet.class));
+    }
+
+    private Indexes getIndexes() {
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        MapServiceContext mapServiceContext = mapService.getMapServiceContext();
+        return mapServiceContext.getMapContainer(indexedMap.getName()).getIndexes();
+    }
+
+    private static Account newAccount(int i) {
+        String region = i % 5 == 0 ? null : i % 5 == 1 ? "US" : "EU";
+        String[] tags = i % 4 == 0 ? new String[]{"vip", "new"} : i % 4 == 1 ? new String[]{"new"} : new String[0];
+        return new Account("account" + i, STATUSES[i % STATUSES.length], region, i % 3, i, tags);
+    }
+
+    public static class Account implements Serializable {
+
+        private final String name;
+        private final String status;
+        private final String region;
+        private final int tier;
+        private final long balance;
+        private final String[] tags;
+
+        Account(String name, String status, String region, int tier, long balance, String[] tags) {
+            this.name = name;
+            this.status = status;
+            this.region = region;
+            this.tier = tier;
+            this.balance = balance;
+            this.tags = tags;
+        }
+
+    }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.query.impl.getters.MultiResult;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.query.impl.IndexStatistics.MIN_ESTIMATED_ENTRY_COUNT;
+import static com.hazelcast.query.impl.IndexStatistics.RANGE_SELECTIVITY;
+import static com.hazelcast.query.impl.IndexStatistics.UNKNOWN_SELECTIVITY;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class IndexStatisticsTest {
+
+    private static final double DELTA = 0.05;
+
+    private final IndexStatistics statistics = new IndexStatistics();
+
+    @Test
+    public void testEmpty() {
+        assertEquals(0, statistics.getEntryCount());
+        assertEquals(0, statistics.getDistinctValueCount());
+        assertEquals(UNKNOWN_SELECTIVITY, statistics.estimateEqualSelectivity(), 0.0);
+        assertEquals(UNKNOWN_SELECTIVITY, statistics.estimateNotEqualSelectivity(), 0.0);
+        assertEquals(UNKNOWN_SELECTIVITY, statistics.estimateRangeSelectivity(), 0.0);
+    }
+
+    @Test
+    public void testSmallIndexIsNotEstimated() {
+        for (int i = 0; i < MIN_ESTIMATED_ENTRY_COUNT - 1; ++i) {
+            statistics.onInsert(i);
+        }
+        assertEquals(MIN_ESTIMATED_ENTRY_COUNT - 1, statistics.getEntryCount());
+        assertEquals(UNKNOWN_SELECTIVITY, statistics.estimateEqualSelectivity(), 0.0);
+
+        statistics.onInsert(-1);
+        assertEquals(1.0 / MIN_ESTIMATED_ENTRY_COUNT, statistics.estimateEqualSelectivity(), 0.001);
+    }
+
+    @Test
+    public void testSelectivities() {
+        for (int i = 0; i < 10000; ++i) {
+            statistics.onInsert(i % 10);
+        }
+        assertEquals(10000, statistics.getEntryCount());
+        assertEquals(10, statistics.getDistinctValueCount());
+        assertEquals(0.1, statistics.estimateEqualSelectivity(), DELTA);
+        assertEquals(0.3, statistics.estimateInSelectivity(3), DELTA);
+        assertEquals(1.0, statistics.estimateInSelectivity(30), 0.0);
+        assertEquals(0.9, statistics.estimateNotEqualSelectivity(), DELTA);
+        assertEquals(RANGE_SELECTIVITY, statistics.estimateRangeSelectivity(), 0.0);
+    }
+
+    @Test
+    public void testNumbersOfDifferentTypesAreSameValues() {
+        for (int i = 0; i < 500; ++i) {
+            statistics.onInsert(i % 5);
+            statistics.onInsert((long) (i % 5));
+            statistics.onInsert((double) (i % 5));
+        }
+        assertEquals(5, statistics.getDistinctValueCount());
+    }
+
+    @Test
+    public void testDistinctValueCountIsBoundedByEntryCount() {
+        for (int i = 0; i < 1000; ++i) {
+            statistics.onInsert(i);
+        }
+        for (int i = 0; i < 900; ++i) {
+            statistics.onRemove();
+        }
+        assertEquals(100, statistics.getEntryCount());
+        assertEquals(100, statistics.getDistinctValueCount());
+    }
+
+    @Test
+    public void testMultiValuesAndNulls() {
+        for (int i = 0; i < 100; ++i) {
+            MultiResult<Integer> multiResult = new MultiResult<>();
+            multiResult.add(i % 3);
+            multiResult.add(3 + i % 3);
+            statistics.onInsert(multiResult);
+            statistics.onInsert(null);
+        }
+        assertEquals(200, statistics.getEntryCount());
+        assertEquals(7, statistics.getDistinctValueCount());
+    }
+
+    @Test
+    public void testUpdateAndClear() {
+        for (int i = 0; i < 200; ++i) {
+            statistics.onInsert(0);
+        }
+        assertEquals(1, statistics.getDistinctValueCount());
+
+        statistics.onUpdate(1);
+        assertEquals(200, statistics.getEntryCount());
+        assertEquals(2, statistics.getDistinctValueCount());
+
+        statistics.clear();
+        assertEquals(0, statistics.getEntryCount());
+        assertEquals(0, statistics.getDistinctValueCount());
+    }
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.config.MapIndexConfig;
+import com.hazelcast.map.IMap;
+import com.hazelcast.monitor.LocalMapStats;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class QueryPlanningTest extends HazelcastTestSupport {
+
+    private static final int COUNT = 1000;
+    private static final int CATEGORIES = 10;
+    private static final int REGIONS = 2;
+
+    private IMap<Integer, Item> map;
+
+    @Before
+    public void before() {
+        String mapName = randomMapName();
+        Config config = getConfig();
+        config.getMapConfig(mapName)
+              .addMapIndexConfig(new MapIndexConfig("id", IndexType.HASH))
+              .addMapIndexConfig(new MapIndexConfig("category", IndexType.BITMAP))
+              .addMapIndexConfig(new MapIndexConfig("region", IndexType.HASH));
+        map = createHazelcastInstance(config).getMap(mapName);
+        for (int i = 0; i < COUNT; ++i) {
+            map.put(i, new Item(i, i % CATEGORIES, i % REGIONS));
+        }
+    }
+
+    @Test
+    public void testSelectivePredicateUsesIndex() {
+        long indexedQueryCount = stats().getIndexedQueryCount();
+
+        assertEquals(COUNT / CATEGORIES, map.keySet(Predicates.equal("category", 3)).size());
+        assertEquals(indexedQueryCount + 1, stats().getIndexedQueryCount());
+    }
+
+    @Test
+    public void testUnselectiveBitmapPredicateUsesIndex() {
+        long indexedQueryCount = stats().getIndexedQueryCount();
+
+        assertEquals(COUNT - COUNT / CATEGORIES, map.keySet(Predicates.notEqual("category", 3)).size());
+        assertEquals(indexedQueryCount + 1, stats().getIndexedQueryCount());
+    }
+
+    @Test
+    public void testUnselectiveAndPredicateChildIsNotLookedUp() {
+        long idHits = hitCount("id");
+        long regionHits = hitCount("region");
+        Predicate predicate = Predicates.and(Predicates.in("region", 0, 1), Predicates.equal("id", 14));
+
+        assertEquals(1, map.keySet(predicate).size());
+        assertEquals(0, map.keySet(Predicates.and(Predicates.in("region", 0, 1), Predicates.equal("id", COUNT))).size());
+        assertEquals(idHits + 2, hitCount("id"));
+        assertEquals(regionHits, hitCount("region"));
+    }
+
+    @Test
+    public void testUnselectiveBitmapAndPredicateChildIsLookedUp() {
+        long categoryHits = hitCount("category");
+        Predicate predicate = Predicates.and(Predicates.notEqual("category", 3), Predicates.equal("id", 14));
+
+        assertEquals(1, map.keySet(predicate).size());
+        assertEquals(categoryHits + 1, hitCount("category"));
+    }
+
+    @Test
+    public void testSelectiveAndPredicateChildrenAreLookedUp() {
+        long idHits = hitCount("id");
+        long categoryHits = hitCount("category");
+        Predicate predicate = Predicates.and(Predicates.equal("category", 3), Predicates.in("id", 3, 4, 13));
+
+        assertEquals(2, map.keySet(predicate).size());
+        assertEquals(idHits + 1, hitCount("id"));
+        assertEquals(categoryHits + 1, hitCount("category"));
+    }
+
+    private LocalMapStats stats() {
+        return map.getLocalMapStats();
+    }
+
+    private long hitCount(String index) {
+        return stats().getIndexStats().get(index).getHitCount();
+    }
+
+    public static class Item implements Serializable {
+
+        private final int id;
+        private final int category;
+        private final int region;
+
+        Item(int id, int category, int region) {
+            this.id = id;
+            this.category = category;
+            this.region = region;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public int getCategory() {
+            return category;
+        }
+
+        public int getRegion() {
+            return region;
+        }
+
+    }
+
+}
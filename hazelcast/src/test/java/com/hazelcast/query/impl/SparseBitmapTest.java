@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SparseBitmapTest {
+
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    private final Random random = new Random(42);
+
+    @Test
+    public void testAddRemoveContains() {
+        SparseBitmap bitmap = new SparseBitmap();
+        assertTrue(bitmap.isEmpty());
+
+        assertTrue(bitmap.add(5));
+        assertFalse(bitmap.add(5));
+        assertTrue(bitmap.add(CHUNK_SIZE * 3L + 7));
+        assertEquals(2, bitmap.cardinality());
+        assertTrue(bitmap.contains(5));
+        assertTrue(bitmap.contains(CHUNK_SIZE * 3L + 7));
+        assertFalse(bitmap.contains(6));
+        assertFalse(bitmap.contains(CHUNK_SIZE + 5));
+
+        assertTrue(bitmap.remove(5));
+        assertFalse(bitmap.remove(5));
+        assertFalse(bitmap.contains(5));
+        assertEquals(1, bitmap.cardinality());
+
+        bitmap.clear();
+        assertTrue(bitmap.isEmpty());
+        assertFalse(bitmap.contains(CHUNK_SIZE * 3L + 7));
+    }
+
+    @Test
+    public void testDenseChunk_convertsBackAndForth() {
+        SparseBitmap bitmap = new SparseBitmap();
+        Set<Long> expected = new TreeSet<>();
+        // well above the array chunk capacity
+        for (long id = 0; id < 10000; id++) {
+            bitmap.add(id * 3);
+            expected.add(id * 3);
+        }
+        assertContent(expected, bitmap);
+
+        for (long id = 0; id < 10000; id++) {
+            if (id % 10 != 0) {
+                bitmap.remove(id * 3);
+                expected.remove(id * 3);
+            }
+        }
+        assertContent(expected, bitmap);
+    }
+
+    @Test
+    public void testRandomOperations() {
+        SparseBitmap bitmap = new SparseBitmap();
+        Set<Long> expected = new TreeSet<>();
+        for (int i = 0; i < 100000; i++) {
+            long id = randomId();
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(id), bitmap.remove(id));
+            } else {
+                assertEquals(expected.add(id), bitmap.add(id));
+            }
+        }
+        assertContent(expected, bitmap);
+    }
+
+    @Test
+    public void testAnd() {
+        for (int i = 0; i < 10; i++) {
+            Set<Long> left = randomIds();
+            Set<Long> right = randomIds();
+
+            Set<Long> expected = new TreeSet<>(left);
+            expected.retainAll(right);
+            assertContent(expected, toBitmap(left).and(toBitmap(right)));
+        }
+    }
+
+    @Test
+    public void testOr() {
+        for (int i = 0; i < 10; i++) {
+            Set<Long> left = randomIds();
+            Set<Long> right = randomIds();
+
+            Set<Long> expected = new TreeSet<>(left);
+            expected.addAll(right);
+            assertContent(expected, toBitmap(left).or(toBitmap(right)));
+        }
+    }
+
+    @Test
+    public void testAndNot() {
+        for (int i = 0; i < 10; i++) {
+            Set<Long> left = randomIds();
+            Set<Long> right = randomIds();
+
+            Set<Long> expected = new TreeSet<>(left);
+            expected.removeAll(right);
+            assertContent(expected, toBitmap(left).andNot(toBitmap(right)));
+        }
+    }
+
+    @Test
+    public void testCopy_isIndependent() {
+        SparseBitmap bitmap = toBitmap(randomIds());
+        SparseBitmap copy = bitmap.copy();
+        long id = CHUNK_SIZE * 10L;
+        copy.add(id);
+
+        assertFalse(bitmap.contains(id));
+        assertEquals(bitmap.cardinality() + 1, copy.cardinality());
+    }
+
+    private Set<Long> randomIds() {
+        Set<Long> ids = new TreeSet<>();
+        // mix of sparse and dense chunks
+        int count = random.nextInt(20000);
+        for (int i = 0; i < count; i++) {
+            ids.add(randomId());
+        }
+        return ids;
+    }
+
+    private long randomId() {
+        return random.nextBoolean() ? random.nextInt(3 * CHUNK_SIZE) : random.nextInt(CHUNK_SIZE / 4);
+    }
+
+    private static SparseBitmap toBitmap(Set<Long> ids) {
+        SparseBitmap bitmap = new SparseBitmap();
+        for (long id : ids) {
+            bitmap.add(id);
+        }
+        return bitmap;
+    }
+
+    private static void assertContent(Set<Long> expected, SparseBitmap actual) {
+        assertEquals(expected.size(), actual.cardinality());
+        Set<Long> actualIds = new TreeSet<>();
+        SparseBitmap.IdIterator iterator = actual.iterator();
+        while (iterator.hasNext()) {
+            actualIds.add(iterator.next());
+        }
+        assertEquals(expected, actualIds);
+        for (long id : expected) {
+            assertTrue(actual.contains(id));
+        }
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.getters;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.compact.CompactTestSupport.Address;
+import com.hazelcast.internal.serialization.impl.compact.CompactTestSupport.AllKinds;
+import com.hazelcast.internal.serialization.impl.compact.CompactTestSupport.Employee;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.test.HazelcastParallelParametersRunnerFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized.UseParametersRunnerFactory;
+
+import java.nio.ByteOrder;
+import java.util.Collection;
+
+import static com.hazelcast.internal.serialization.impl.compact.CompactTestSupport.createSerializationService;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+@RunWith(Parameterized.class)
+@UseParametersRunnerFactory(HazelcastParallelParametersRunnerFactory.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CompactGetterTest {
+
+    @Parameters(name = "byteOrder:{0}")
+    public static Collection<Object[]> parameters() {
+        return asList(new Object[][]{
+                {ByteOrder.BIG_ENDIAN},
+                {ByteOrder.LITTLE_ENDIAN},
+        });
+    }
+
+    @Parameter
+    public ByteOrder byteOrder;
+
+    private InternalSerializationService ss;
+    private Extractors extractors;
+
+    @Before
+    public void setUp() {
+        ss = createSerializationService(byteOrder);
+        extractors = Extractors.newBuilder(ss).build();
+    }
+
+    @Test
+    public void testFixedSizeFields() {
+        Data data = ss.toData(allKinds());
+
+        assertEquals(true, extractors.extract(data, "aBoolean", null));
+        assertEquals((byte) 1, extractors.extract(data, "aByte", null));
+        assertEquals('c', extractors.extract(data, "aChar", null));
+        assertEquals((short) 2, extractors.extract(data, "aShort", null));
+        assertEquals(3, extractors.extract(data, "anInt", null));
+        assertEquals(4L, extractors.extract(data, "aLong", null));
+        assertEquals(5.5f, extractors.extract(data, "aFloat", null));
+        assertEquals(6.5, extractors.extract(data, "aDouble", null));
+    }
+
+    @Test
+    public void testVariableSizeFields() {
+        Data data = ss.toData(allKinds());
+
+        assertEquals("string", extractors.extract(data, "aString", null));
+        assertArrayEquals(new int[]{5, 6}, (int[]) extractors.extract(data, "ints", null));
+        assertNull(extractors.extract(data, "strings", null));
+    }
+
+    @Test
+    public void testNestedFields() {
+        Data data = ss.toData(new Employee(1, "john", 42, 1000.5, true, new Address("london", 1234)));
+
+        assertEquals(1234, extractors.extract(data, "address.zip", null));
+        assertEquals("london", extractors.extract(data, "address.city", null));
+        assertEquals(new Address("london", 1234), extractors.extract(data, "address", null));
+    }
+
+    @Test
+    public void testNullNestedField() {
+        Data data = ss.toData(new Employee(1, "john", 42, 1000.5, true, null));
+
+        assertNull(extractors.extract(data, "address.zip", null));
+        assertNull(extractors.extract(data, "address", null));
+    }
+
+    @Test
+    public void testUnknownField() {
+        Data data = ss.toData(new Employee(1, "john", 42, 1000.5, true, new Address("london", 1234)));
+
+        assertNull(extractors.extract(data, "unknown", null));
+        assertNull(extractors.extract(data, "address.unknown", null));
+        assertNull(extractors.extract(data, "name.length", null));
+    }
+
+    @Test
+    public void testGetterIsSharedSingleton() {
+        Data employee = ss.toData(new Employee(1, "john", 42, 1000.5, true, null));
+        Data address = ss.toData(new Address("london", 1234));
+
+        Getter getter = extractors.getGetter(employee, "age");
+
+        assertSame(getter, extractors.getGetter(address, "zip"));
+    }
+
+    private static AllKinds allKinds() {
+        AllKinds object = new AllKinds();
+        object.aBoolean = true;
+        object.aByte = 1;
+        object.aChar = 'c';
+        object.aShort = 2;
+        object.anInt = 3;
+        object.aLong = 4;
+        object.aFloat = 5.5f;
+        object.aDouble = 6.5;
+        object.aString = "string";
+        object.ints = new int[]{5, 6};
+        return object;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.query.impl.AttributeColumn;
+import com.hazelcast.query.impl.Extractable;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Map;
+
+import static com.hazelcast.query.QueryConstants.THIS_ATTRIBUTE_NAME;
+import static com.hazelcast.query.impl.predicates.PredicateTestUtils.entry;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class BatchEvaluablePredicateTest {
+
+    private static final String ATTRIBUTE = THIS_ATTRIBUTE_NAME.value();
+
+    private static final Object[] INTS = {-5, 0, 1, 2, 3, 5, 7, Integer.MIN_VALUE, Integer.MAX_VALUE};
+    private static final Object[] LONGS = {-5L, 0L, 1L, 2L, 3L, 5L, 7L, Long.MIN_VALUE, Long.MAX_VALUE};
+    private static final Object[] DOUBLES = {-5.0, -0.0, 0.0, 1.5, 2.0, 3.0, 5.0, Double.NaN, Double.NEGATIVE_INFINITY,
+                                             Double.POSITIVE_INFINITY};
+    private static final Object[] MIXED = {-5, 0L, 1.5, 2, 3L, 5.0, 7, (short) 2, (byte) 3};
+    private static final Object[] WITH_NULLS = {1, null, 2, 3, null, 5};
+    private static final Object[] STRINGS = {"a", "b", "c", "2", "3"};
+
+    @Test
+    public void testEqual() {
+        assertBatchMatchesEntryByEntry(new EqualPredicate(ATTRIBUTE, 2), new EqualPredicate(ATTRIBUTE, 2));
+        assertBatchMatchesEntryByEntry(new EqualPredicate(ATTRIBUTE, 2.0), new EqualPredicate(ATTRIBUTE, 2.0));
+        assertBatchMatchesEntryByEntry(new EqualPredicate(ATTRIBUTE, "3"), new EqualPredicate(ATTRIBUTE, "3"));
+        assertBatchMatchesEntryByEntry(new EqualPredicate(ATTRIBUTE, 0.0), new EqualPredicate(ATTRIBUTE, 0.0));
+        assertBatchMatchesEntryByEntry(new EqualPredicate(ATTRIBUTE, Double.NaN), new EqualPredicate(ATTRIBUTE, Double.NaN));
+        assertBatchMatchesEntryByEntry(new EqualPredicate(ATTRIBUTE, null), new EqualPredicate(ATTRIBUTE, null));
+    }
+
+    @Test
+    public void testGreaterLess() {
+        for (boolean equal : new boolean[]{true, false}) {
+            for (boolean less : new boolean[]{true, false}) {
+                assertBatchMatchesEntryByEntry(new GreaterLessPredicate(ATTRIBUTE, 3, equal, less),
+                        new GreaterLessPredicate(ATTRIBUTE, 3, equal, less));
+                assertBatchMatchesEntryByEntry(new GreaterLessPredicate(ATTRIBUTE, 2.0, equal, less),
+                        new GreaterLessPredicate(ATTRIBUTE, 2.0, equal, less));
+                assertBatchMatchesEntryByEntry(new GreaterLessPredicate(ATTRIBUTE, "b", equal, less),
+                        new GreaterLessPredicate(ATTRIBUTE, "b", equal, less));
+            }
+        }
+    }
+
+    @Test
+    public void testBetween() {
+        assertBatchMatchesEntryByEntry(new BetweenPredicate(ATTRIBUTE, 0, 5), new BetweenPredicate(ATTRIBUTE, 0, 5));
+        assertBatchMatchesEntryByEntry(new BetweenPredicate(ATTRIBUTE, -0.0, 3.0), new BetweenPredicate(ATTRIBUTE, -0.0, 3.0));
+        assertBatchMatchesEntryByEntry(new BetweenPredicate(ATTRIBUTE, 5, 0), new BetweenPredicate(ATTRIBUTE, 5, 0));
+        assertBatchMatchesEntryByEntry(new BetweenPredicate(ATTRIBUTE, "a", "b"), new BetweenPredicate(ATTRIBUTE, "a", "b"));
+    }
+
+    @Test
+    public void testIn() {
+        assertBatchMatchesEntryByEntry(new InPredicate(ATTRIBUTE, 7, 2, -5), new InPredicate(ATTRIBUTE, 7, 2, -5));
+        assertBatchMatchesEntryByEntry(new InPredicate(ATTRIBUTE, 2.0, 1.5, 3L), new InPredicate(ATTRIBUTE, 2.0, 1.5, 3L));
+        assertBatchMatchesEntryByEntry(new InPredicate(ATTRIBUTE, "c", "3"), new InPredicate(ATTRIBUTE, "c", "3"));
+    }
+
+    @Test
+    public void testColumnKinds() {
+        assertTrue(fill(INTS).isLongColumn());
+        assertTrue(fill(LONGS).isLongColumn());
+        assertTrue(fill(DOUBLES).isDoubleColumn());
+        assertFalse(fill(MIXED).isLongColumn());
+        assertFalse(fill(MIXED).isDoubleColumn());
+        assertFalse(fill(WITH_NULLS).isLongColumn());
+        assertFalse(fill(STRINGS).isLongColumn());
+        assertFalse(fill(STRINGS).isDoubleColumn());
+    }
+
+    private static void assertBatchMatchesEntryByEntry(BatchEvaluablePredicate batchPredicate,
+                                                       BatchEvaluablePredicate entryPredicate) {
+        for (Object[] values : new Object[][]{INTS, LONGS, DOUBLES, MIXED, WITH_NULLS, STRINGS}) {
+            Extractable[] entries = entries(values);
+            AttributeColumn column = new AttributeColumn(entries.length);
+            column.fill(entries, entries.length, batchPredicate.getAttribute());
+            try {
+                batchPredicate.applyBatch(column);
+            } catch (RuntimeException e) {
+                // mismatching types must fail the same way in both modes
+                assertEntryByEntryFails(entryPredicate, entries);
+                continue;
+            }
+
+            for (int i = 0; i < entries.length; i++) {
+                assertEquals(batchPredicate + " on " + values[i], entryPredicate.apply((Map.Entry) entries[i]),
+                        column.isMatch(i));
+            }
+        }
+    }
+
+    private static void assertEntryByEntryFails(BatchEvaluablePredicate predicate, Extractable[] entries) {
+        try {
+            for (Extractable entry : entries) {
+                predicate.apply((Map.Entry) entry);
+            }
+        } catch (RuntimeException expected) {
+            return;
+        }
+        throw new AssertionError(predicate + " was expected to fail");
+    }
+
+    private static AttributeColumn fill(Object[] values) {
+        Extractable[] entries = entries(values);
+        AttributeColumn column = new AttributeColumn(entries.length);
+        column.fill(entries, entries.length, ATTRIBUTE);
+        return column;
+    }
+
+    private static Extractable[] entries(Object[] values) {
+        Extractable[] entries = new Extractable[values.length];
+        for (int i = 0; i < values.length; i++) {
+            entries[i] = (Extractable) entry(values[i]);
+        }
+        return entries;
+    }
+}
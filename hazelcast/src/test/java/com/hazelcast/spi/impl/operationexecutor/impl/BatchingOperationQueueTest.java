@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.impl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category(QuickTest.class)
+public class BatchingOperationQueueTest extends HazelcastTestSupport {
+
+    private static final int BATCH_SIZE = 4;
+
+    private BatchingOperationQueue operationQueue;
+
+    @Before
+    public void setup() {
+        operationQueue = new BatchingOperationQueue(BATCH_SIZE, 10, 10);
+        operationQueue.setConsumerThread(Thread.currentThread());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void add_whenNull() {
+        operationQueue.add(null, false);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void construct_whenBatchSizeNotPositive() {
+        new BatchingOperationQueue(0, 10, 10);
+    }
+
+    @Test
+    public void take_whenPriorityOnly_thenNormalTasksSkipped() throws InterruptedException {
+        operationQueue.add("normal", false);
+        operationQueue.add("priority", true);
+
+        assertEquals("priority", operationQueue.take(true));
+        assertEquals("normal", operationQueue.take(false));
+    }
+
+    @Test
+    public void take_whenPriorityOnlyAndEmpty_thenWokenUpByPriorityProducer() throws Exception {
+        final BatchingOperationQueue queue = new BatchingOperationQueue(BATCH_SIZE, 0, 0);
+        final AtomicReference<Object> taken = new AtomicReference<Object>();
+        Thread consumer = new Thread(() -> {
+            try {
+                taken.set(queue.take(true));
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        queue.setConsumerThread(consumer);
+        consumer.start();
+
+        queue.add("normal", false);
+        // give the consumer the chance to park
+        sleepMillis(100);
+        queue.add("priority", true);
+
+        assertJoinable(consumer);
+        assertEquals("priority", taken.get());
+        assertEquals(1, queue.normalSize());
+    }
+
+    @Test
+    public void add() {
+        operationQueue.add("normal", false);
+        operationQueue.add("priority", true);
+
+        assertEquals(1, operationQueue.normalSize());
+        assertEquals(1, operationQueue.prioritySize());
+        assertEquals(2, operationQueue.size());
+    }
+
+    @Test
+    public void take_inOrder() throws InterruptedException {
+        for (int k = 0; k < BATCH_SIZE * 3; k++) {
+            operationQueue.add(k, false);
+        }
+
+        for (int k = 0; k < BATCH_SIZE * 3; k++) {
+            assertEquals(k, operationQueue.take(false));
+            assertEquals(BATCH_SIZE * 3 - k - 1, operationQueue.normalSize());
+        }
+    }
+
+    @Test
+    public void take_priorityBeforeRemainderOfBatch() throws InterruptedException {
+        operationQueue.add("normal1", false);
+        operationQueue.add("normal2", false);
+
+        assertEquals("normal1", operationQueue.take(false));
+        operationQueue.add("priority", true);
+
+        assertEquals("priority", operationQueue.take(false));
+        assertEquals("normal2", operationQueue.take(false));
+    }
+
+    @Test
+    public void take_whenEmpty_thenWokenUpByProducer() throws Exception {
+        final BatchingOperationQueue queue = new BatchingOperationQueue(BATCH_SIZE, 0, 0);
+        final CountDownLatch consumerStarted = new CountDownLatch(1);
+        final AtomicReference<Object> taken = new AtomicReference<Object>();
+        Thread consumer = new Thread(() -> {
+            consumerStarted.countDown();
+            try {
+                taken.set(queue.take(false));
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        queue.setConsumerThread(consumer);
+        consumer.start();
+
+        consumerStarted.await();
+        // give the consumer the chance to park
+        sleepMillis(100);
+        Object task = new Object();
+        queue.add(task, false);
+
+        assertJoinable(consumer);
+        assertSame(task, taken.get());
+    }
+
+    @Test
+    public void take_whenInterrupted() throws Exception {
+        final BatchingOperationQueue queue = new BatchingOperationQueue(BATCH_SIZE, 0, 0);
+        final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+        Thread consumer = new Thread(() -> {
+            try {
+                queue.take(false);
+            } catch (Throwable t) {
+                error.set(t);
+            }
+        });
+        queue.setConsumerThread(consumer);
+        consumer.start();
+
+        consumer.interrupt();
+
+        assertJoinable(consumer);
+        assertTrue(error.get() instanceof InterruptedException);
+    }
+
+    @Test
+    public void concurrentProducers() throws Exception {
+        final int producerCount = 4;
+        final int itemsPerProducer = 10000;
+        final BatchingOperationQueue queue = new BatchingOperationQueue(BATCH_SIZE, 10, 10);
+        queue.setConsumerThread(Thread.currentThread());
+
+        Future[] producers = new Future[producerCount];
+        for (int k = 0; k < producerCount; k++) {
+            producers[k] = spawn(() -> {
+                for (int i = 0; i < itemsPerProducer; i++) {
+                    queue.add(i, i % 100 == 0);
+                }
+            });
+        }
+
+        for (int k = 0; k < producerCount * itemsPerProducer; k++) {
+            queue.take(false);
+        }
+
+        for (Future producer : producers) {
+            assertCompletesEventually(producer);
+        }
+        assertEquals(0, queue.size());
+    }
+}
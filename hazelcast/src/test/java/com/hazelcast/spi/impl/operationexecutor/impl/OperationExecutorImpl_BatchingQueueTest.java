@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.impl;
+
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.spi.properties.GroupProperty.PARTITION_COUNT;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class OperationExecutorImpl_BatchingQueueTest extends OperationExecutorImpl_AbstractTest {
+
+    @Before
+    public void enableBatchingQueue() {
+        config.setProperty(OperationExecutorImpl.BATCHING_QUEUE.getName(), "true");
+    }
+
+    @Test
+    public void test_partitionThreadsUseBatchingQueue() {
+        initExecutor();
+
+        PartitionSpecificCallable<Boolean> task = new PartitionSpecificCallable<Boolean>(0) {
+            @Override
+            public Boolean call() {
+                return ((PartitionOperationThread) Thread.currentThread()).queue instanceof BatchingOperationQueue;
+            }
+        };
+        executor.execute(task);
+
+        assertEqualsEventually(task, Boolean.TRUE);
+    }
+
+    @Test
+    public void test_partitionOperationsExecuted() {
+        initExecutor();
+
+        final int taskCount = 1000;
+        int partitionCount = props.getInteger(PARTITION_COUNT);
+        final AtomicInteger executed = new AtomicInteger();
+        for (int k = 0; k < taskCount; k++) {
+            executor.execute(new PartitionSpecificCallable<Object>(k % partitionCount) {
+                @Override
+                public Object call() {
+                    executed.incrementAndGet();
+                    return null;
+                }
+            });
+        }
+
+        assertTrueEventually(() -> assertEquals(taskCount, executed.get()));
+    }
+}
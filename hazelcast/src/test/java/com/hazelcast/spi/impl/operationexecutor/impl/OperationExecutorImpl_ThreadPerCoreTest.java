@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.impl;
+
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.lang.Boolean.FALSE;
+import static java.lang.Boolean.TRUE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class OperationExecutorImpl_ThreadPerCoreTest extends OperationExecutorImpl_AbstractTest {
+
+    private static final int THREAD_COUNT = 2;
+
+    @Before
+    public void enableThreadPerCore() {
+        config.setProperty(OperationExecutorImpl.THREAD_PER_CORE.getName(), "true");
+        config.setProperty("hazelcast.operation.thread.count", String.valueOf(THREAD_COUNT));
+    }
+
+    @Test
+    public void test_partitionLoopsReplacePartitionThreads() {
+        initExecutor();
+
+        assertEquals(THREAD_COUNT, executor.getPartitionThreadCount());
+        assertEquals(THREAD_COUNT, executor.getPartitionLoops().length);
+    }
+
+    @Test
+    public void test_whenPartitionOperation_thenExecutedByOwningLoop() {
+        initExecutor();
+
+        final AtomicReference<Thread> executingThread = new AtomicReference<Thread>();
+        executor.execute(new PartitionSpecificCallable<Object>(1) {
+            @Override
+            public Object call() {
+                executingThread.set(Thread.currentThread());
+                return null;
+            }
+        });
+
+        assertTrueEventually(() -> assertEquals(executor.getPartitionLoops()[1], executingThread.get()));
+    }
+
+    @Test
+    public void test_whenSubmittedByOwningLoop_thenExecutedInline() {
+        initExecutor();
+
+        final AtomicBoolean executed = new AtomicBoolean();
+        final AtomicBoolean executedInline = new AtomicBoolean();
+        executor.getPartitionLoops()[0].addTaskAndWakeup(() -> {
+            executor.execute(new PartitionSpecificCallable<Object>(0) {
+                @Override
+                public Object call() {
+                    executed.set(true);
+                    return null;
+                }
+            });
+            executedInline.set(executed.get());
+        });
+
+        assertTrueEventually(() -> assertTrue(executedInline.get()));
+    }
+
+    @Test
+    public void test_whenSubmittedByRunningTask_thenQueued() {
+        initExecutor();
+
+        final AtomicBoolean nestedExecuted = new AtomicBoolean();
+        PartitionSpecificCallable<Boolean> task = new PartitionSpecificCallable<Boolean>(0) {
+            @Override
+            public Boolean call() {
+                executor.execute(new PartitionSpecificCallable<Object>(0) {
+                    @Override
+                    public Object call() {
+                        nestedExecuted.set(true);
+                        return null;
+                    }
+                });
+                return nestedExecuted.get();
+            }
+        };
+        executor.execute(task);
+
+        assertEqualsEventually(task, FALSE);
+        assertTrueEventually(() -> assertTrue(nestedExecuted.get()));
+    }
+
+    @Test
+    public void test_isRunAllowed_onlyForOwnedPartitions() {
+        initExecutor();
+
+        PartitionSpecificCallable<Boolean> task = new PartitionSpecificCallable<Boolean>(0) {
+            @Override
+            public Boolean call() {
+                return executor.isRunAllowed(new DummyPartitionOperation(2))
+                        && !executor.isRunAllowed(new DummyPartitionOperation(1))
+                        && !executor.isRunAllowed(new DummyGenericOperation());
+            }
+        };
+        executor.execute(task);
+
+        assertEqualsEventually(task, TRUE);
+    }
+
+    @Test
+    public void test_isRunAllowed_fromUserThread() {
+        initExecutor();
+
+        assertFalse(executor.isRunAllowed(new DummyPartitionOperation(0)));
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2008-2019, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.networking.nio.NioNetworking;
+import com.hazelcast.map.IMap;
+import com.hazelcast.nio.tcp.TcpIpNetworkingService;
+import com.hazelcast.spi.impl.operationservice.impl.OperationServiceImpl;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class ThreadPerCoreIntegrationTest extends HazelcastTestSupport {
+
+    @After
+    public void cleanUp() {
+        Hazelcast.shutdownAll();
+    }
+
+    @Test
+    public void testMapOperations() {
+        Config config = getConfig();
+        config.setProperty(OperationExecutorImpl.THREAD_PER_CORE.getName(), "true");
+        config.setProperty("hazelcast.operation.thread.count", "2");
+        HazelcastInstance instance1 = Hazelcast.newHazelcastInstance(config);
+        HazelcastInstance instance2 = Hazelcast.newHazelcastInstance(config);
+        assertClusterSizeEventually(2, instance1, instance2);
+
+        IMap<Integer, Integer> map = instance1.getMap(randomMapName());
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+
+        IMap<Integer, Integer> otherMap = instance2.getMap(map.getName());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, (int) otherMap.get(i));
+        }
+        assertEquals(1000, otherMap.size());
+    }
+
+    @Test
+    public void testNetworkingUsesPartitionLoops() {
+        Config config = getConfig();
+        config.setProperty(OperationExecutorImpl.THREAD_PER_CORE.getName(), "true");
+        HazelcastInstance instance = Hazelcast.newHazelcastInstance(config);
+
+        OperationServiceImpl operationService = getNodeEngineImpl(instance).getOperationService();
+        OperationExecutorImpl executor = (OperationExecutorImpl) operationService.getOperationExecutor();
+        TcpIpNetworkingService networkingService = (TcpIpNetworkingService) getNode(instance).getNetworkingService();
+        NioNetworking networking = (NioNetworking) networkingService.getNetworking();
+
+        assertSame(executor.getPartitionLoops(), networking.getInputThreads());
+    }
+}
@@ -20,6 +20,8 @@ import com.hazelcast.core.ManagedContext;
 import com.hazelcast.partition.PartitioningStrategy;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.PortableContext;
+import com.hazelcast.internal.serialization.impl.DataSlab;
+import com.hazelcast.internal.serialization.impl.compact.CompactStreamSerializer;
 import com.hazelcast.nio.BufferObjectDataInput;
 import com.hazelcast.nio.BufferObjectDataOutput;
 import com.hazelcast.nio.ObjectDataInput;
@@ -118,6 +120,23 @@ public class SamplingSerializationService implements InternalSerializationServic
         return bytes;
     }
 
+    @Override
+    public <B extends Data> B toData(Object obj, DataSlab slab) {
+        B data = delegate.toData(obj, slab);
+        sampleObject(obj, data == null ? null : data.toByteArray());
+        return data;
+    }
+
+    @Override
+    public DataSlab takeDataSlab() {
+        return delegate.takeDataSlab();
+    }
+
+    @Override
+    public void returnDataSlab(DataSlab slab) {
+        delegate.returnDataSlab(slab);
+    }
+
     @Override
     public <B extends Data> B toData(Object obj, DataType type) {
         return toData(obj);
@@ -169,6 +188,11 @@ public class SamplingSerializationService implements InternalSerializationServic
         return delegate.getPortableContext();
     }
 
+    @Override
+    public CompactStreamSerializer getCompactStreamSerializer() {
+        return delegate.getCompactStreamSerializer();
+    }
+
     @Override
     public void disposeData(Data data) {
         delegate.disposeData(data);